@@ -0,0 +1,105 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import javax.measure.unit.SI;
+
+import org.jscience.physics.amount.Amount;
+import org.junit.Test;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkResult;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.MethodID;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeBatch;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeBatcher;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeMeasurement;
+
+/**
+ * Measures batching response time measurements of {@value #METHODS} methods into batches of a
+ * second and computing the mean response time of each method per batch, as the BatchFilter and
+ * MeanFilter did before (see {@link LegacyBatching}) and with a {@link ResponseTimeBatcher}. An
+ * operation is a single measurement, including its creation by the ComputeResponseTimeFilter. In
+ * full mode, the batcher has to handle at least ten times as many measurements per second.
+ */
+public class BatchFilterBenchmarkTest {
+
+	private static final int MEASUREMENTS = 100000;
+	private static final int METHODS = 4;
+	private static final long BATCH_SIZE = 1000000000L;
+
+	@Test
+	public void testBatching() throws Exception {
+		final BenchmarkRunner runner = BenchmarkRunner.getDefault();
+		final BenchmarkResult legacy = runner.run(new BatchingBenchmark(false));
+		final BenchmarkResult streaming = runner.run(new BatchingBenchmark(true));
+		if (!runner.getSettings().isSmokeMode()) {
+			assertTrue(legacy + " vs. " + streaming, streaming.getScore() >= 10 * legacy.getScore());
+		}
+	}
+
+	private static final class BatchingBenchmark extends Benchmark {
+
+		private final boolean streaming;
+		private final String[] methods = new String[METHODS];
+		private final String[] hosts = new String[METHODS];
+		private final MethodID[] methodIDs = new MethodID[METHODS];
+		private final int[] methodIndices = new int[MEASUREMENTS];
+		private final long[] timestamps = new long[MEASUREMENTS];
+		private final long[] responseTimes = new long[MEASUREMENTS];
+
+		private BatchingBenchmark(final boolean streaming) {
+			super("BatchFilter.inputEvent");
+			this.streaming = streaming;
+			this.addParameter("streaming", streaming);
+			for (int i = 0; i < METHODS; i++) {
+				this.methods[i] = "entpacke" + i;
+				this.hosts[i] = i == 0 ? "LOADBALANCER" : "SERVER" + i;
+				this.methodIDs[i] = new MethodID(this.methods[i], this.hosts[i]);
+			}
+			// about 1000 measurements per batch, never exactly on a batch bound
+			final Random random = new Random(42);
+			long timestamp = 1349974591000000000L;
+			for (int i = 0; i < MEASUREMENTS; i++) {
+				timestamp += 1000003L;
+				this.methodIndices[i] = random.nextInt(METHODS);
+				this.timestamps[i] = timestamp;
+				this.responseTimes[i] = 100000000L + random.nextInt(1000000000);
+			}
+		}
+
+		@Override
+		public int getOperationsPerInvocation() {
+			return MEASUREMENTS;
+		}
+
+		@Override
+		public Object invoke() throws Exception {
+			return this.streaming ? this.invokeStreaming() : this.invokeLegacy();
+		}
+
+		private Object invokeLegacy() {
+			final LegacyBatching batching = new LegacyBatching();
+			for (int i = 0; i < MEASUREMENTS; i++) {
+				final int method = this.methodIndices[i];
+				batching.inputEvent(new LegacyBatching.Measurement(this.methods[method], this.hosts[method],
+						Amount.valueOf(this.responseTimes[i], SI.NANO(SI.SECOND)), this.timestamps[i]));
+			}
+			return batching.getBatches();
+		}
+
+		private Object invokeStreaming() {
+			final double[] meanSum = new double[1];
+			final ResponseTimeBatcher batcher = new ResponseTimeBatcher(BATCH_SIZE, 0, 1, false,
+					(final ResponseTimeBatch batch) -> meanSum[0] += batch.getSummaries().get(0).getMean());
+			for (int i = 0; i < MEASUREMENTS; i++) {
+				final ResponseTimeMeasurement measurement = new ResponseTimeMeasurement(
+						this.methodIDs[this.methodIndices[i]], this.responseTimes[i], this.timestamps[i]);
+				batcher.add(measurement.getMethodID(), measurement.getTimestamp(), measurement.getResponseTimeNanos());
+			}
+			return meanSum[0];
+		}
+	}
+}
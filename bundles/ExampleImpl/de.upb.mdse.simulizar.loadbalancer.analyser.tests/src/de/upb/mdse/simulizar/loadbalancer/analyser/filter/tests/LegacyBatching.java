@@ -0,0 +1,89 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter.tests;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.measure.quantity.Duration;
+import javax.measure.unit.SI;
+
+import org.jscience.physics.amount.Amount;
+
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.Identifiable;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.MethodID;
+
+/**
+ * The batching and mean computation of the BatchFilter and MeanFilter before they were streamed,
+ * as baseline for the benchmark: timestamps are converted into amounts, the measurements of a batch
+ * are collected into a new map of sets, and the means are computed from the collected sets.
+ */
+public class LegacyBatching {
+
+	/**
+	 * A response time measurement as created by the ComputeResponseTimeFilter before.
+	 */
+	public static final class Measurement {
+
+		private final long timestamp;
+		private final MethodID methodID;
+		private final Amount<Duration> responseTime;
+
+		public Measurement(String method, String host, Amount<Duration> responseTime, long timestamp) {
+			this.methodID = new MethodID(method, host);
+			this.responseTime = responseTime;
+			this.timestamp = timestamp;
+		}
+	}
+
+	private static final Amount<Duration> BATCH_SIZE = Amount.valueOf(1, SI.SECOND);
+
+	private Amount<Duration> lowerBound = null;
+	private Amount<Duration> upperBound = null;
+	private Map<Identifiable, Set<Measurement>> mappedValues = new HashMap<Identifiable, Set<Measurement>>();
+	private int batches = 0;
+
+	public void inputEvent(Measurement measurement) {
+		if (lowerBound == null) {
+			lowerBound = Amount.valueOf(measurement.timestamp, SI.NANO(SI.SECOND));
+			upperBound = lowerBound.plus(BATCH_SIZE);
+		} else {
+			Amount<Duration> timestamp = Amount.valueOf(measurement.timestamp, SI.NANO(SI.SECOND));
+			if (lowerBound.isGreaterThan(timestamp)) {
+				return;
+			}
+			if (upperBound.isLessThan(timestamp)) {
+				while (!(lowerBound.isLessThan(timestamp) && upperBound.isGreaterThan(timestamp))) {
+					lowerBound = lowerBound.plus(BATCH_SIZE);
+					upperBound = upperBound.plus(BATCH_SIZE);
+				}
+				computeMeans(mappedValues);
+				mappedValues = new HashMap<Identifiable, Set<Measurement>>();
+			}
+			if (!mappedValues.containsKey(measurement.methodID)) {
+				mappedValues.put(measurement.methodID, new HashSet<Measurement>());
+			}
+			mappedValues.get(measurement.methodID).add(measurement);
+		}
+	}
+
+	/**
+	 * @return the number of completed batches.
+	 */
+	public int getBatches() {
+		return batches;
+	}
+
+	private void computeMeans(Map<Identifiable, Set<Measurement>> map) {
+		Map<Identifiable, Amount<Duration>> result = new HashMap<Identifiable, Amount<Duration>>();
+		for (Map.Entry<Identifiable, Set<Measurement>> entry : map.entrySet()) {
+			Amount<Duration> mean = Amount.valueOf(0, SI.SECOND);
+			for (Measurement measurement : entry.getValue()) {
+				mean = mean.plus(measurement.responseTime);
+			}
+			mean = mean.divide(entry.getValue().size());
+			result.put(entry.getKey(), mean);
+		}
+		batches += result.isEmpty() ? 0 : 1;
+	}
+}
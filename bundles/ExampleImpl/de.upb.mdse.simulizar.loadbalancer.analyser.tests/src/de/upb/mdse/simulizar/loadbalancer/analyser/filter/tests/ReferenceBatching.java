@@ -0,0 +1,128 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.MethodID;
+
+/**
+ * Brute-force reference for the batching: keeps all measurements, sorts them by timestamp and
+ * computes the statistics of each batch from the materialised response times.
+ */
+public class ReferenceBatching {
+
+	/**
+	 * The exact statistics of a method within a batch.
+	 */
+	public static final class Statistics {
+
+		public final long count;
+		public final long sum;
+		public final double mean;
+		public final double standardDeviation;
+		public final long min;
+		public final long max;
+		public final long median;
+		public final long percentile90;
+		public final long percentile99;
+
+		private Statistics(long[] responseTimes) {
+			Arrays.sort(responseTimes);
+			long sum = 0;
+			for (long responseTime : responseTimes) {
+				sum += responseTime;
+			}
+			double mean = (double) sum / responseTimes.length;
+			double squaredDeviations = 0;
+			for (long responseTime : responseTimes) {
+				squaredDeviations += (responseTime - mean) * (responseTime - mean);
+			}
+			this.count = responseTimes.length;
+			this.sum = sum;
+			this.mean = mean;
+			this.standardDeviation = Math.sqrt(squaredDeviations / responseTimes.length);
+			this.min = responseTimes[0];
+			this.max = responseTimes[responseTimes.length - 1];
+			this.median = nearestRank(responseTimes, 0.5);
+			this.percentile90 = nearestRank(responseTimes, 0.9);
+			this.percentile99 = nearestRank(responseTimes, 0.99);
+		}
+
+		private static long nearestRank(long[] sortedValues, double quantile) {
+			int rank = (int) Math.max(1, Math.min(sortedValues.length, Math.ceil(quantile * sortedValues.length)));
+			return sortedValues[rank - 1];
+		}
+	}
+
+	/**
+	 * A batch of the reference, without empty batches.
+	 */
+	public static final class Batch {
+
+		public final long start;
+		public final long end;
+		public final Map<MethodID, Statistics> statistics;
+
+		private Batch(long start, long end, Map<MethodID, Statistics> statistics) {
+			this.start = start;
+			this.end = end;
+			this.statistics = statistics;
+		}
+	}
+
+	private static final class Measurement {
+
+		private final MethodID methodID;
+		private final long timestamp;
+		private final long responseTime;
+
+		private Measurement(MethodID methodID, long timestamp, long responseTime) {
+			this.methodID = methodID;
+			this.timestamp = timestamp;
+			this.responseTime = responseTime;
+		}
+	}
+
+	private final long batchSize;
+	private final List<Measurement> measurements = new ArrayList<Measurement>();
+
+	public ReferenceBatching(long batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public void add(MethodID methodID, long timestamp, long responseTime) {
+		measurements.add(new Measurement(methodID, timestamp, responseTime));
+	}
+
+	/**
+	 * @return the batches, starting at the earliest timestamp.
+	 */
+	public List<Batch> getBatches() {
+		List<Measurement> sorted = new ArrayList<Measurement>(measurements);
+		sorted.sort((first, second) -> Long.compare(first.timestamp, second.timestamp));
+		List<Batch> batches = new ArrayList<Batch>();
+		int from = 0;
+		while (from < sorted.size()) {
+			long origin = sorted.get(0).timestamp;
+			long start = origin + (sorted.get(from).timestamp - origin) / batchSize * batchSize;
+			int to = from;
+			Map<MethodID, List<Long>> responseTimes = new LinkedHashMap<MethodID, List<Long>>();
+			while (to < sorted.size() && sorted.get(to).timestamp < start + batchSize) {
+				responseTimes.computeIfAbsent(sorted.get(to).methodID, methodID -> new ArrayList<Long>())
+						.add(sorted.get(to).responseTime);
+				to++;
+			}
+			Map<MethodID, Statistics> statistics = new LinkedHashMap<MethodID, Statistics>();
+			for (Map.Entry<MethodID, List<Long>> entry : responseTimes.entrySet()) {
+				statistics.put(entry.getKey(),
+						new Statistics(entry.getValue().stream().mapToLong(Long::longValue).toArray()));
+			}
+			batches.add(new Batch(start, start + batchSize, statistics));
+			from = to;
+		}
+		return batches;
+	}
+}
@@ -0,0 +1,188 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.MethodID;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeBatch;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeBatcher;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeSummary;
+
+public class ResponseTimeBatcherTest {
+
+	private static final long BATCH_SIZE = 1000L;
+	private static final MethodID LOADBALANCER = new MethodID("entpacke0", "LOADBALANCER");
+	private static final MethodID SERVER = new MethodID("entpacke0", "SERVER1");
+
+	private final List<ResponseTimeBatch> batches = new ArrayList<ResponseTimeBatch>();
+
+	@Test
+	public void testMeasurementAtBatchEndStartsNextBatch() {
+		ResponseTimeBatcher batcher = createBatcher(0, false);
+		batcher.add(LOADBALANCER, 5000, 10);
+		batcher.add(LOADBALANCER, 5999, 20);
+		batcher.add(LOADBALANCER, 6000, 30);
+		batcher.flush();
+
+		assertEquals(2, batches.size());
+		assertBatch(batches.get(0), 5000, 6000);
+		assertEquals(2, batches.get(0).getSummary(LOADBALANCER).getCount());
+		assertEquals(15d, batches.get(0).getSummary(LOADBALANCER).getMean(), 0d);
+		assertBatch(batches.get(1), 6000, 7000);
+		assertEquals(1, batches.get(1).getSummary(LOADBALANCER).getCount());
+	}
+
+	@Test
+	public void testIdleGapIsSkipped() {
+		ResponseTimeBatcher batcher = createBatcher(0, false);
+		batcher.add(LOADBALANCER, 0, 10);
+		batcher.add(LOADBALANCER, Long.MAX_VALUE / 2, 20);
+		batcher.flush();
+
+		assertEquals(2, batches.size());
+		assertBatch(batches.get(0), 0, BATCH_SIZE);
+		long start = Long.MAX_VALUE / 2 / BATCH_SIZE * BATCH_SIZE;
+		assertBatch(batches.get(1), start, start + BATCH_SIZE);
+		assertEquals(20L, batches.get(1).getSummary(LOADBALANCER).getSum());
+	}
+
+	@Test
+	public void testIdleGapIsEmittedAsSingleEmptyBatch() {
+		ResponseTimeBatcher batcher = createBatcher(0, true);
+		batcher.add(LOADBALANCER, 0, 10);
+		batcher.add(LOADBALANCER, 1500, 20);
+		batcher.add(LOADBALANCER, 100000, 30);
+		batcher.flush();
+
+		assertEquals(4, batches.size());
+		assertBatch(batches.get(0), 0, 1000);
+		assertBatch(batches.get(1), 1000, 2000);
+		assertBatch(batches.get(2), 2000, 100000);
+		assertTrue(batches.get(2).isEmpty());
+		assertBatch(batches.get(3), 100000, 101000);
+	}
+
+	@Test
+	public void testDuplicateMeasurementsAreCounted() {
+		ResponseTimeBatcher batcher = createBatcher(0, false);
+		for (int i = 0; i < 3; i++) {
+			batcher.add(LOADBALANCER, 100, 40);
+		}
+		batcher.add(SERVER, 100, 40);
+		batcher.flush();
+
+		assertEquals(1, batches.size());
+		ResponseTimeSummary summary = batches.get(0).getSummary(LOADBALANCER);
+		assertEquals(3, summary.getCount());
+		assertEquals(120L, summary.getSum());
+		assertEquals(0d, summary.getStandardDeviation(), 0d);
+		assertEquals(1, batches.get(0).getSummary(SERVER).getCount());
+	}
+
+	@Test
+	public void testOutOfOrderMeasurementWithinReorderWindow() {
+		ResponseTimeBatcher batcher = createBatcher(500, false);
+		batcher.add(LOADBALANCER, 900, 10);
+		batcher.add(LOADBALANCER, 1950, 20);
+		batcher.add(LOADBALANCER, 950, 30);
+		batcher.add(LOADBALANCER, 2000, 40);
+		batcher.flush();
+
+		assertEquals(2, batches.size());
+		assertBatch(batches.get(0), 900, 1900);
+		assertEquals(40L, batches.get(0).getSummary(LOADBALANCER).getSum());
+		assertBatch(batches.get(1), 1900, 2900);
+		assertEquals(60L, batches.get(1).getSummary(LOADBALANCER).getSum());
+		assertEquals(0, batcher.getLateMeasurements());
+	}
+
+	@Test
+	public void testOutOfOrderMeasurementBeyondReorderWindowIsLate() {
+		ResponseTimeBatcher batcher = createBatcher(100, false);
+		batcher.add(LOADBALANCER, 0, 10);
+		batcher.add(LOADBALANCER, 1300, 20);
+		batcher.add(LOADBALANCER, 1500, 30);
+		batcher.add(LOADBALANCER, 950, 40);
+		batcher.flush();
+
+		assertEquals(1, batcher.getLateMeasurements());
+		assertEquals(2, batches.size());
+		assertEquals(10L, batches.get(0).getSummary(LOADBALANCER).getSum());
+		assertEquals(50L, batches.get(1).getSummary(LOADBALANCER).getSum());
+		assertNull(batches.get(1).getSummary(SERVER));
+	}
+
+	@Test
+	public void testAgreesWithBruteForceReference() {
+		final long reorderWindow = 300;
+		ResponseTimeBatcher batcher = new ResponseTimeBatcher(BATCH_SIZE, reorderWindow, 4096, false, batches::add);
+		ReferenceBatching reference = new ReferenceBatching(BATCH_SIZE);
+		MethodID[] methods = { LOADBALANCER, SERVER, new MethodID("entpacke0", "SERVER2"),
+				new MethodID("verteile", "LOADBALANCER") };
+		Random random = new Random(42);
+
+		// arrival = timestamp + jitter, so that a measurement arrives at most the window after a later one
+		int measurements = 20000;
+		long[][] arrivals = new long[measurements][];
+		long timestamp = 1000000L;
+		for (int i = 0; i < measurements; i++) {
+			timestamp += random.nextInt(100) < 1 ? 10 * BATCH_SIZE + random.nextInt(5000) : random.nextInt(20);
+			long responseTime = (long) Math.exp(random.nextGaussian() * 3 + 10);
+			arrivals[i] = new long[] { timestamp + random.nextInt((int) reorderWindow), timestamp, responseTime,
+					random.nextInt(methods.length) };
+			reference.add(methods[(int) arrivals[i][3]], timestamp, responseTime);
+		}
+		Arrays.sort(arrivals, (first, second) -> Long.compare(first[0], second[0]));
+		for (long[] arrival : arrivals) {
+			batcher.add(methods[(int) arrival[3]], arrival[1], arrival[2]);
+		}
+		batcher.flush();
+
+		assertEquals(0, batcher.getLateMeasurements());
+		List<ReferenceBatching.Batch> expectedBatches = reference.getBatches();
+		assertEquals(expectedBatches.size(), batches.size());
+		for (int i = 0; i < batches.size(); i++) {
+			ReferenceBatching.Batch expected = expectedBatches.get(i);
+			ResponseTimeBatch actual = batches.get(i);
+			assertBatch(actual, expected.start, expected.end);
+			assertEquals(expected.statistics.size(), actual.getSummaries().size());
+			for (ResponseTimeSummary summary : actual.getSummaries()) {
+				ReferenceBatching.Statistics statistics = expected.statistics.get(summary.getMethodID());
+				assertEquals(statistics.count, summary.getCount());
+				assertEquals(statistics.sum, summary.getSum());
+				assertEquals(statistics.min, summary.getMin());
+				assertEquals(statistics.max, summary.getMax());
+				assertEquals(statistics.mean, summary.getMean(), 1e-9 * statistics.mean);
+				assertEquals(statistics.standardDeviation, summary.getStandardDeviation(),
+						1e-6 * statistics.mean + 1e-6);
+				assertQuantile(statistics.median, summary.getMedian());
+				assertQuantile(statistics.percentile90, summary.getPercentile90());
+				assertQuantile(statistics.percentile99, summary.getPercentile99());
+			}
+		}
+	}
+
+	private ResponseTimeBatcher createBatcher(long reorderWindow, boolean emitEmptyBatches) {
+		return new ResponseTimeBatcher(BATCH_SIZE, reorderWindow, 16, emitEmptyBatches, batches::add);
+	}
+
+	private static void assertBatch(ResponseTimeBatch batch, long start, long end) {
+		assertEquals(start, batch.getStart());
+		assertEquals(end, batch.getEnd());
+	}
+
+	/**
+	 * The sketch is off by less than the width of a bucket, i.e., 1/128 of the exact value.
+	 */
+	private static void assertQuantile(long expected, long actual) {
+		assertEquals(expected, actual, expected / 128d + 1);
+	}
+}
@@ -0,0 +1,63 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.replay.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.MethodID;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeBatch;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeBatcher;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeSummary;
+import de.upb.mdse.simulizar.loadbalancer.analyser.replay.MonitoringLogReplay;
+
+/**
+ * Replays a recorded monitoring log of the load balancer example: two data files with operation
+ * executions of the load balancer and a server within the first 40 seconds and after an idle minute,
+ * interspersed with CPU utilization records.
+ */
+public class MonitoringLogReplayTest {
+
+	private static final String MONITORING_LOG = "testdata/replay";
+	private static final long START = 1349974591000000000L;
+	private static final long BATCH_SIZE = 20000000000L;
+	private static final long MILLISECOND = 1000000L;
+
+	private static final MethodID LOADBALANCER = new MethodID(
+			"public de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe defaultrepository.impl.ports.ILastverteiler_lastverteiler.entpacke0(de.uka.ipd.sdq.simucomframework.variables.StackContext)",
+			"LOADBALANCER");
+	private static final MethodID SERVER = new MethodID(
+			"public de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe defaultrepository.impl.ports.IServer_server.entpacke0(de.uka.ipd.sdq.simucomframework.variables.StackContext)",
+			"SERVER1");
+
+	@Test
+	public void testReplay() throws Exception {
+		final List<ResponseTimeBatch> batches = new ArrayList<ResponseTimeBatch>();
+		final ResponseTimeBatcher batcher = new ResponseTimeBatcher(BATCH_SIZE, 1000 * MILLISECOND, 1024, false,
+				batches::add);
+
+		assertEquals(11, new MonitoringLogReplay(new File(MONITORING_LOG)).replay(batcher));
+
+		assertEquals(3, batches.size());
+		assertEquals(START, batches.get(0).getStart());
+		assertSummary(batches.get(0).getSummary(LOADBALANCER), 4, 750, 400, 1100);
+		assertSummary(batches.get(0).getSummary(SERVER), 2, 400, 300, 500);
+		assertEquals(START + BATCH_SIZE, batches.get(1).getStart());
+		assertSummary(batches.get(1).getSummary(LOADBALANCER), 2, 1100, 1000, 1200);
+		assertSummary(batches.get(1).getSummary(SERVER), 1, 700, 700, 700);
+		assertEquals(START + 4 * BATCH_SIZE, batches.get(2).getStart());
+		assertEquals(1, batches.get(2).getSummaries().size());
+		assertSummary(batches.get(2).getSummary(LOADBALANCER), 2, 400, 300, 500);
+	}
+
+	private static void assertSummary(ResponseTimeSummary summary, long count, long meanMillis, long minMillis,
+			long maxMillis) {
+		assertEquals(count, summary.getCount());
+		assertEquals(meanMillis * MILLISECOND, summary.getMean(), 1d);
+		assertEquals(minMillis * MILLISECOND, summary.getMin());
+		assertEquals(maxMillis * MILLISECOND, summary.getMax());
+	}
+}
@@ -68,8 +68,9 @@ public final class JMSAnalysisStarter {
 			analysisInstance.connect(rtFilter, ComputeResponseTimeFilter.OUTPUT_PORT_RESPONSE_TIMES, sensorWriterFilter, SensorFrameWorkWriterFilter.INPUT_RESPONSE_TIME_MEASUREMENTS);
 			analysisInstance.connect(rtFilter, ComputeResponseTimeFilter.OUTPUT_PORT_RESPONSE_TIMES, jFreeChartFilter, JFreeChartFilter.INPUT_RESPONSE_TIME_MEASUREMENTS);
 			analysisInstance.connect(measurementsFilter, MeasurementsFilter.OUTPUT_MEASUREMENTS, batchFilter, BatchFilter.INPUT_RESPONSE_TIME_MEASUREMENTS);
-			analysisInstance.connect(batchFilter, BatchFilter.OUTPUT_BATCH_MAP, meanFilter, MeanFilter.INPUT_BATCH_MAP);
-			analysisInstance.connect(meanFilter, MeanFilter.OUTPUT_MEAN_MAP, thresholdFilter, ThresholdFilter.INPUT_MEAN_RT_MAP);
+			analysisInstance.connect(batchFilter, BatchFilter.OUTPUT_BATCH, meanFilter, MeanFilter.INPUT_BATCH);
+			analysisInstance.connect(batchFilter, BatchFilter.OUTPUT_BATCH, thresholdFilter, ThresholdFilter.INPUT_BATCH);
+			analysisInstance.connect(meanFilter, MeanFilter.OUTPUT_MEAN_MAP, teeFilter, TeeFilter.INPUT_PORT_NAME_EVENTS);
 			analysisInstance.connect(thresholdFilter, ThresholdFilter.OUTPUT_THRESHOLD_VIOLATED_IDS, reconfFilter, ReconfigurationExecutorFilter.INPUT_VIOLATED_IDS);
 			analysisInstance.connect(thresholdFilter, ThresholdFilter.OUTPUT_THRESHOLD_VIOLATED_IDS, teeFilter, TeeFilter.INPUT_PORT_NAME_EVENTS);
 			analysisInstance.run();
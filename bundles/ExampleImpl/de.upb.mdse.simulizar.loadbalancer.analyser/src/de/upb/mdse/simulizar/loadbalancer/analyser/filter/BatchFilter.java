@@ -1,83 +1,107 @@
 package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-
-import javax.measure.quantity.Duration;
-import javax.measure.unit.SI;
-
 import kieker.analysis.plugin.annotation.InputPort;
 import kieker.analysis.plugin.annotation.OutputPort;
 import kieker.analysis.plugin.annotation.Plugin;
 import kieker.analysis.plugin.filter.AbstractFilterPlugin;
 import kieker.common.configuration.Configuration;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
 
-import org.jscience.physics.amount.Amount;
-
-@Plugin(outputPorts = @OutputPort(name = BatchFilter.OUTPUT_BATCH_MAP, 
-		description = "Provides batched values as map", 
-		eventTypes = { Map.class }))
+/**
+ * Batches response time measurements, see {@link ResponseTimeBatcher}, and provides a
+ * {@link ResponseTimeBatch} of response time summaries per batch.
+ */
+@Plugin(outputPorts = @OutputPort(name = BatchFilter.OUTPUT_BATCH,
+		description = "Provides the response time summaries of each batch",
+		eventTypes = { ResponseTimeBatch.class }))
 public class BatchFilter extends AbstractFilterPlugin {
 
-	private static final Amount<Duration> DEFAULT_BATCH_SIZE = Amount.valueOf(20, SI.SECOND);
-	
-	public static final String OUTPUT_BATCH_MAP = "batchMap";
+	public static final String OUTPUT_BATCH = "batch";
 	public static final String INPUT_RESPONSE_TIME_MEASUREMENTS = "rtMeasurements";
 
-	private TimeIntervall intervall = null;
-	
-	private Map<Identifiable,Set<ResponseTimeMeasurement>> mappedValues = new HashMap<Identifiable, Set<ResponseTimeMeasurement>>();
-	
+	/** The length of a batch in nanoseconds. */
+	public static final String CONFIG_PROPERTY_NAME_BATCH_SIZE = "batchSize";
+	/** How many nanoseconds a measurement may arrive after a later one without being dropped. */
+	public static final String CONFIG_PROPERTY_NAME_REORDER_WINDOW = "reorderWindow";
+	/** The number of measurements held back at most to put them in order. */
+	public static final String CONFIG_PROPERTY_NAME_REORDER_BUFFER_CAPACITY = "reorderBufferCapacity";
+	/** Whether batches without measurements are provided. */
+	public static final String CONFIG_PROPERTY_NAME_EMIT_EMPTY_BATCHES = "emitEmptyBatches";
+
+	private static final long DEFAULT_BATCH_SIZE = 20000000000L;
+	private static final long DEFAULT_REORDER_WINDOW = 1000000000L;
+	private static final int DEFAULT_REORDER_BUFFER_CAPACITY = 1024;
+
+	private static final Log LOG = LogFactory.getLog(BatchFilter.class);
+
+	private final long batchSize;
+	private final long reorderWindow;
+	private final int reorderBufferCapacity;
+	private final boolean emitEmptyBatches;
+	private final ResponseTimeBatcher batcher;
+
 	public BatchFilter(Configuration configuration) {
 		super(configuration);
+		batchSize = getLongProperty(configuration, CONFIG_PROPERTY_NAME_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+		reorderWindow = getLongProperty(configuration, CONFIG_PROPERTY_NAME_REORDER_WINDOW, DEFAULT_REORDER_WINDOW);
+		reorderBufferCapacity = (int) getLongProperty(configuration, CONFIG_PROPERTY_NAME_REORDER_BUFFER_CAPACITY,
+				DEFAULT_REORDER_BUFFER_CAPACITY);
+		emitEmptyBatches = Boolean.parseBoolean(configuration.getProperty(CONFIG_PROPERTY_NAME_EMIT_EMPTY_BATCHES));
+		batcher = new ResponseTimeBatcher(batchSize, reorderWindow, reorderBufferCapacity, emitEmptyBatches,
+				new ResponseTimeBatcher.BatchListener() {
+
+					@Override
+					public void batchCompleted(ResponseTimeBatch batch) {
+						deliverBatch(batch);
+					}
+				});
 	}
 
 	@Override
 	public Configuration getCurrentConfiguration() {
 		final Configuration configuration = new Configuration();
+		configuration.setProperty(CONFIG_PROPERTY_NAME_BATCH_SIZE, Long.toString(batchSize));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_REORDER_WINDOW, Long.toString(reorderWindow));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_REORDER_BUFFER_CAPACITY, Integer.toString(reorderBufferCapacity));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_EMIT_EMPTY_BATCHES, Boolean.toString(emitEmptyBatches));
 		return configuration;
 	}
 
 	@Override
 	protected Configuration getDefaultConfiguration() {
 		final Configuration configuration = new Configuration();
+		configuration.setProperty(CONFIG_PROPERTY_NAME_BATCH_SIZE, Long.toString(DEFAULT_BATCH_SIZE));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_REORDER_WINDOW, Long.toString(DEFAULT_REORDER_WINDOW));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_REORDER_BUFFER_CAPACITY,
+				Integer.toString(DEFAULT_REORDER_BUFFER_CAPACITY));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_EMIT_EMPTY_BATCHES, Boolean.toString(false));
 		return configuration;
 	}
 
 	@InputPort(name = INPUT_RESPONSE_TIME_MEASUREMENTS, description = "Receives incoming execution records", eventTypes = { ResponseTimeMeasurement.class })
 	public final void inputEvent(final Object inEvent) {
 		ResponseTimeMeasurement rtMeasurement = (ResponseTimeMeasurement) inEvent;
-		if (isFirstMeasurement()) {
-			initialiseBounds(rtMeasurement);
-		} else {
-			Amount<Duration> timestamp = Amount.valueOf(rtMeasurement.getTimestamp(), SI.NANO(SI.SECOND));
-			if (intervall.isTimestampBefore(timestamp)) {
-				// Old measurement, drop it
-				return;
-			}
-			if (intervall.isTimestampAfter(timestamp)) {
-				while (!intervall.isIn(timestamp)) {
-					intervall = intervall.shift(DEFAULT_BATCH_SIZE);				
-				}
-				super.deliver(OUTPUT_BATCH_MAP, mappedValues);
-				mappedValues = new HashMap<Identifiable, Set<ResponseTimeMeasurement>>();
-			}
-			if (!mappedValues.containsKey(rtMeasurement.getMethodID())) {
-				mappedValues.put(rtMeasurement.getMethodID(), new HashSet<ResponseTimeMeasurement>());
-			}
-			mappedValues.get(rtMeasurement.getMethodID()).add(rtMeasurement);
-		}
+		batcher.add(rtMeasurement.getMethodID(), rtMeasurement.getTimestamp(), rtMeasurement.getResponseTimeNanos());
 	}
 
-	private void initialiseBounds(ResponseTimeMeasurement rtMeasurement) {
-		Amount<Duration> lowerBatchIntervalBound = Amount.valueOf(rtMeasurement.getTimestamp(), SI.NANO(SI.SECOND));
-		Amount<Duration> upperBatchIntervalBound = lowerBatchIntervalBound.plus(DEFAULT_BATCH_SIZE);
-		intervall = new TimeIntervall(lowerBatchIntervalBound, upperBatchIntervalBound);
+	private void deliverBatch(ResponseTimeBatch batch) {
+		if (LOG.isDebugEnabled()) {
+			LOG.debug(batch + ", " + batcher.getLateMeasurements() + " late measurements so far");
+		}
+		super.deliver(OUTPUT_BATCH, batch);
 	}
 
-	private boolean isFirstMeasurement() {
-		return intervall == null;
+	private static long getLongProperty(Configuration configuration, String key, long defaultValue) {
+		String value = configuration.getProperty(key);
+		if (value == null || value.trim().isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			LOG.warn("Invalid value " + value + " of " + key + ", using " + defaultValue, e);
+			return defaultValue;
+		}
 	}
 }
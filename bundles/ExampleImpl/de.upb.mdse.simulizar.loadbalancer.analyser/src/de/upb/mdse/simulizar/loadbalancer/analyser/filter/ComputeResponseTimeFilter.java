@@ -1,6 +1,8 @@
 package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
 
-import javax.measure.quantity.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.measure.unit.SI;
 
 import kieker.analysis.plugin.annotation.InputPort;
@@ -28,6 +30,9 @@ public class ComputeResponseTimeFilter extends AbstractFilterPlugin {
 	
 	//private final JFreeChartObserver display = new JFreeChartObserver("Measurements");
 
+	/** The method IDs by host and method, so that measurements of the same method share one. */
+	private final Map<String, Map<String, MethodID>> methodIDs = new HashMap<String, Map<String, MethodID>>();
+
 	public ComputeResponseTimeFilter(Configuration configuration) {
 		super(configuration);
 		
@@ -51,12 +56,28 @@ public class ComputeResponseTimeFilter extends AbstractFilterPlugin {
 	public final void inputEvent(final Object inEvent) {
 		OperationExecutionRecord record = (OperationExecutionRecord) inEvent;
 		long diff = record.getTout() - record.getTin();
-		Amount<Duration> result = Amount.valueOf(diff, SI.NANO(SI.SECOND));
-		LOG.debug(MeasureHelper.formatDuration(result));
+		if (LOG.isDebugEnabled()) {
+			LOG.debug(MeasureHelper.formatDuration(Amount.valueOf(diff, SI.NANO(SI.SECOND))));
+		}
 		
 		//this.display.displayMeasurement(record.getLoggingTimestamp(), diff);
 		
-		super.deliver(OUTPUT_PORT_RESPONSE_TIMES, new ResponseTimeMeasurement(record.getOperationSignature(), record.getHostname(), result, record.getLoggingTimestamp()));
+		MethodID methodID = getMethodID(record.getOperationSignature(), record.getHostname());
+		super.deliver(OUTPUT_PORT_RESPONSE_TIMES, new ResponseTimeMeasurement(methodID, diff, record.getLoggingTimestamp()));
+	}
+
+	private MethodID getMethodID(String method, String host) {
+		Map<String, MethodID> hostMethodIDs = methodIDs.get(host);
+		if (hostMethodIDs == null) {
+			hostMethodIDs = new HashMap<String, MethodID>();
+			methodIDs.put(host, hostMethodIDs);
+		}
+		MethodID methodID = hostMethodIDs.get(method);
+		if (methodID == null) {
+			methodID = new MethodID(method, host);
+			hostMethodIDs.put(method, methodID);
+		}
+		return methodID;
 	}
 
 }
@@ -2,8 +2,8 @@ package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
+import javax.measure.quantity.Duration;
 import javax.measure.unit.SI;
 
 import kieker.analysis.plugin.annotation.InputPort;
@@ -14,13 +14,16 @@ import kieker.common.configuration.Configuration;
 
 import org.jscience.physics.amount.Amount;
 
+/**
+ * Provides the mean response times of each batch as map, taken from the batch summaries.
+ */
 @Plugin(outputPorts = @OutputPort(name = MeanFilter.OUTPUT_MEAN_MAP, 
 		description = "Provides batched mean values as map", 
 		eventTypes = { Map.class }))
 public class MeanFilter extends AbstractFilterPlugin {
 
 	public static final String OUTPUT_MEAN_MAP = "batchMeanMap";
-	public static final String INPUT_BATCH_MAP = "batchMap";
+	public static final String INPUT_BATCH = "batch";
 
 	public MeanFilter(Configuration configuration) {
 		super(configuration);
@@ -38,18 +41,12 @@ public class MeanFilter extends AbstractFilterPlugin {
 		return configuration;
 	}
 	
-	@SuppressWarnings("unchecked")
-	@InputPort(name = INPUT_BATCH_MAP, description = "Receives incoming batches", eventTypes = { Map.class })
+	@InputPort(name = INPUT_BATCH, description = "Receives incoming batches", eventTypes = { ResponseTimeBatch.class })
 	public final void inputEvent(final Object inEvent) {
-		Map<Identifiable,Set<Measurement<?>>> map = (Map<Identifiable, Set<Measurement<?>>>) inEvent;
-		Map<Identifiable,Amount<?>> result = new HashMap<Identifiable, Amount<?>>();
-		for (Map.Entry<Identifiable, Set<Measurement<?>>> entry : map.entrySet()) {
-			Amount<?> mean = Amount.valueOf(0, SI.SECOND);
-			for (Measurement<?> measurement : entry.getValue()) {
-				mean = mean.plus(measurement.getMeasurement());
-			}
-			mean = mean.divide(entry.getValue().size());
-			result.put(entry.getKey(), mean);
+		ResponseTimeBatch batch = (ResponseTimeBatch) inEvent;
+		Map<Identifiable,Amount<Duration>> result = new HashMap<Identifiable, Amount<Duration>>();
+		for (ResponseTimeSummary summary : batch.getSummaries()) {
+			result.put(summary.getMethodID(), Amount.valueOf(summary.getMean(), SI.NANO(SI.SECOND)));
 		}
 		super.deliver(OUTPUT_MEAN_MAP, result);
 	}
@@ -0,0 +1,119 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
+
+import java.util.Arrays;
+
+/**
+ * Streaming quantile estimation for non-negative long values, e.g., response times in
+ * nanoseconds. Values are counted in log-linear buckets: values below {@value #SUB_BUCKETS} have a
+ * bucket of their own, larger values share a bucket with values differing by less than 1/
+ * {@value #SUB_BUCKETS}. An estimated quantile is the middle of the bucket holding the exact one,
+ * hence off by less than 1/{@value #BUCKET_HALF_WIDTH_DIVISOR} of it.
+ * <p>
+ * The buckets are allocated once; {@link #reset()} only clears the ones counted into, so that a
+ * sketch can be reused from batch to batch without allocating.
+ *
+ * @author snowball
+ */
+public final class QuantileSketch {
+
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_HALF_WIDTH_DIVISOR = 2 * SUB_BUCKETS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final long[] counts = new long[BUCKETS];
+	private long count = 0;
+	private int lowestBucket = BUCKETS;
+	private int highestBucket = -1;
+
+	/**
+	 * @param value
+	 *            the value to count; negative values are counted as 0.
+	 */
+	public void add(long value) {
+		int bucket = bucketOf(Math.max(value, 0));
+		counts[bucket]++;
+		count++;
+		if (bucket < lowestBucket) {
+			lowestBucket = bucket;
+		}
+		if (bucket > highestBucket) {
+			highestBucket = bucket;
+		}
+	}
+
+	/**
+	 * @return the number of values counted since the last {@link #reset()}.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @param quantile
+	 *            the quantile, between 0 and 1.
+	 * @return the estimated value of the quantile, using the nearest rank; 0 if nothing was
+	 *         counted.
+	 */
+	public long getQuantile(double quantile) {
+		return getQuantiles(quantile)[0];
+	}
+
+	/**
+	 * Estimates several quantiles at once, with a single pass over the buckets.
+	 *
+	 * @param quantiles
+	 *            the quantiles in ascending order, each between 0 and 1.
+	 * @return the estimated values of the quantiles, using the nearest rank; 0 if nothing was
+	 *         counted.
+	 */
+	public long[] getQuantiles(double... quantiles) {
+		long[] values = new long[quantiles.length];
+		if (count == 0) {
+			return values;
+		}
+		int quantile = 0;
+		long seen = 0;
+		for (int bucket = lowestBucket; bucket <= highestBucket && quantile < quantiles.length; bucket++) {
+			seen += counts[bucket];
+			while (quantile < quantiles.length && seen >= rankOf(quantiles[quantile])) {
+				values[quantile++] = middleOf(bucket);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Forgets all counted values.
+	 */
+	public void reset() {
+		if (count > 0) {
+			Arrays.fill(counts, lowestBucket, highestBucket + 1, 0);
+			count = 0;
+			lowestBucket = BUCKETS;
+			highestBucket = -1;
+		}
+	}
+
+	private long rankOf(double quantile) {
+		return Math.max(1, Math.min(count, (long) Math.ceil(quantile * count)));
+	}
+
+	private static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	private static long middleOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lowerBound + ((1L << shift) - 1) / 2;
+	}
+}
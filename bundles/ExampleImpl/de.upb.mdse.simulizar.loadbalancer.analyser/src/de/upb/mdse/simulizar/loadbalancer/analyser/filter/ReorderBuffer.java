@@ -0,0 +1,119 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
+
+/**
+ * Bounded buffer handing out measurements by ascending timestamp, so that measurements arriving
+ * slightly out of order can be put back in order. The measurements are kept in a binary heap of
+ * primitive arrays, so that buffering does not allocate.
+ *
+ * @author snowball
+ */
+public final class ReorderBuffer {
+
+	private final long[] timestamps;
+	private final int[] methodIndices;
+	private final long[] responseTimes;
+	private int size = 0;
+
+	/**
+	 * @param capacity
+	 *            the number of measurements the buffer can hold
+	 */
+	public ReorderBuffer(int capacity) {
+		super();
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity has to be positive, but was " + capacity);
+		}
+		this.timestamps = new long[capacity];
+		this.methodIndices = new int[capacity];
+		this.responseTimes = new long[capacity];
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean isFull() {
+		return size == timestamps.length;
+	}
+
+	/**
+	 * @param timestamp
+	 * @param methodIndex
+	 * @param responseTime
+	 * @throws IllegalStateException
+	 *             if the buffer is full
+	 */
+	public void add(long timestamp, int methodIndex, long responseTime) {
+		if (isFull()) {
+			throw new IllegalStateException("The reorder buffer is full");
+		}
+		int index = size++;
+		set(index, timestamp, methodIndex, responseTime);
+		while (index > 0) {
+			int parent = (index - 1) / 2;
+			if (timestamps[parent] <= timestamps[index]) {
+				break;
+			}
+			swap(index, parent);
+			index = parent;
+		}
+	}
+
+	/**
+	 * @return the earliest timestamp in the buffer
+	 */
+	public long peekTimestamp() {
+		return timestamps[0];
+	}
+
+	/**
+	 * @return the method index of the earliest measurement in the buffer
+	 */
+	public int peekMethodIndex() {
+		return methodIndices[0];
+	}
+
+	/**
+	 * @return the response time of the earliest measurement in the buffer
+	 */
+	public long peekResponseTime() {
+		return responseTimes[0];
+	}
+
+	/**
+	 * Removes the earliest measurement from the buffer.
+	 */
+	public void remove() {
+		size--;
+		set(0, timestamps[size], methodIndices[size], responseTimes[size]);
+		int index = 0;
+		while (true) {
+			int child = 2 * index + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && timestamps[child + 1] < timestamps[child]) {
+				child++;
+			}
+			if (timestamps[index] <= timestamps[child]) {
+				break;
+			}
+			swap(index, child);
+			index = child;
+		}
+	}
+
+	private void set(int index, long timestamp, int methodIndex, long responseTime) {
+		timestamps[index] = timestamp;
+		methodIndices[index] = methodIndex;
+		responseTimes[index] = responseTime;
+	}
+
+	private void swap(int first, int second) {
+		long timestamp = timestamps[first];
+		int methodIndex = methodIndices[first];
+		long responseTime = responseTimes[first];
+		set(first, timestamps[second], methodIndices[second], responseTimes[second]);
+		set(second, timestamp, methodIndex, responseTime);
+	}
+}
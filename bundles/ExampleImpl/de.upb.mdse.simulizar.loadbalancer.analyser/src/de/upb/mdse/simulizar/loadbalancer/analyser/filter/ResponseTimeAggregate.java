@@ -0,0 +1,83 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
+
+/**
+ * Running aggregate of the response times of a method, in nanoseconds. An aggregate is kept per
+ * method and reused from batch to batch, see {@link #reset()}.
+ *
+ * @author snowball
+ */
+public final class ResponseTimeAggregate {
+
+	private final MethodID methodID;
+	private final QuantileSketch sketch = new QuantileSketch();
+	private long count;
+	private long sum;
+	private double sumOfSquares;
+	private long min;
+	private long max;
+
+	/**
+	 * @param methodID
+	 */
+	public ResponseTimeAggregate(MethodID methodID) {
+		super();
+		this.methodID = methodID;
+		reset();
+	}
+
+	/**
+	 * @return the method
+	 */
+	public MethodID getMethodID() {
+		return methodID;
+	}
+
+	/**
+	 * @return the number of response times added since the last {@link #reset()}
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @param responseTime
+	 *            the response time in nanoseconds
+	 */
+	public void add(long responseTime) {
+		count++;
+		sum += responseTime;
+		sumOfSquares += (double) responseTime * responseTime;
+		if (responseTime < min) {
+			min = responseTime;
+		}
+		if (responseTime > max) {
+			max = responseTime;
+		}
+		sketch.add(responseTime);
+	}
+
+	/**
+	 * @return the response times added since the last {@link #reset()}; the quantiles are
+	 *         limited to the shortest and longest response time
+	 */
+	public ResponseTimeSummary toSummary() {
+		long[] quantiles = sketch.getQuantiles(0.5, 0.9, 0.99);
+		for (int i = 0; i < quantiles.length; i++) {
+			quantiles[i] = Math.max(min, Math.min(max, quantiles[i]));
+		}
+		return new ResponseTimeSummary(methodID, count, sum, sumOfSquares, min, max, quantiles[0], quantiles[1],
+				quantiles[2]);
+	}
+
+	/**
+	 * Forgets all added response times.
+	 */
+	public void reset() {
+		count = 0;
+		sum = 0;
+		sumOfSquares = 0;
+		min = Long.MAX_VALUE;
+		max = Long.MIN_VALUE;
+		sketch.reset();
+	}
+}
@@ -0,0 +1,81 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The response time summaries of all methods measured within a batch, i.e., the time interval
+ * [start, end) in nanoseconds. Batches are immutable.
+ *
+ * @author snowball
+ */
+public final class ResponseTimeBatch {
+
+	private final long start;
+	private final long end;
+	private final List<ResponseTimeSummary> summaries;
+
+	/**
+	 * @param start
+	 *            the first timestamp of the batch
+	 * @param end
+	 *            the first timestamp after the batch
+	 * @param summaries
+	 *            the summaries of the batch; the list must not be changed afterwards
+	 */
+	public ResponseTimeBatch(long start, long end, List<ResponseTimeSummary> summaries) {
+		super();
+		this.start = start;
+		this.end = end;
+		this.summaries = Collections.unmodifiableList(summaries);
+	}
+
+	/**
+	 * @return the first timestamp of the batch
+	 */
+	public long getStart() {
+		return start;
+	}
+
+	/**
+	 * @return the first timestamp after the batch
+	 */
+	public long getEnd() {
+		return end;
+	}
+
+	/**
+	 * @return whether nothing was measured within the batch
+	 */
+	public boolean isEmpty() {
+		return summaries.isEmpty();
+	}
+
+	/**
+	 * @return the summaries of the measured methods, in the order they were first measured
+	 */
+	public List<ResponseTimeSummary> getSummaries() {
+		return summaries;
+	}
+
+	/**
+	 * @param methodID
+	 * @return the summary of the method, or <code>null</code> if it was not measured
+	 */
+	public ResponseTimeSummary getSummary(MethodID methodID) {
+		for (ResponseTimeSummary summary : summaries) {
+			if (summary.getMethodID().equals(methodID)) {
+				return summary;
+			}
+		}
+		return null;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ResponseTimeBatch [start=" + start + ", end=" + end + ", summaries=" + summaries + "]";
+	}
+}
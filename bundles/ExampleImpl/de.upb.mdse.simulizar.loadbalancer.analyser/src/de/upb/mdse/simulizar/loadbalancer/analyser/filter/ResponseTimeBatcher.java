@@ -0,0 +1,207 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batches a stream of response time measurements by their timestamps. The first measurement
+ * starts the first batch; batches are intervals [start, start + batch size) of nanoseconds, one
+ * directly following the other. A batch is completed by the first measurement after it, which
+ * makes the batcher emit a {@link ResponseTimeBatch} summarising the response times of each method
+ * measured within it.
+ * <p>
+ * Measurements are aggregated as they come, into an aggregate per method which is reused for every
+ * batch, so that adding a measurement does not allocate. Methods are identified by a compact index,
+ * see {@link #getMethodIndex(MethodID)}. Batches without any measurement are skipped in constant
+ * time; if empty batches are to be emitted, a single one spans all of them.
+ * <p>
+ * Measurements may arrive out of order by up to the reorder window: they are held back in a
+ * {@link ReorderBuffer} until a measurement at least that much later arrives, or until the buffer is
+ * full. Measurements before the current batch are late; they are counted and dropped.
+ *
+ * @author snowball
+ */
+public final class ResponseTimeBatcher {
+
+	/**
+	 * Receives the completed batches of a {@link ResponseTimeBatcher}.
+	 */
+	public interface BatchListener {
+
+		/**
+		 * @param batch
+		 *            the completed batch
+		 */
+		void batchCompleted(ResponseTimeBatch batch);
+	}
+
+	private static final int INITIAL_METHODS = 8;
+
+	private final long batchSize;
+	private final long reorderWindow;
+	private final boolean emitEmptyBatches;
+	private final BatchListener listener;
+	private final ReorderBuffer reorderBuffer;
+
+	private final Map<MethodID, Integer> methodIndices = new HashMap<MethodID, Integer>();
+	private ResponseTimeAggregate[] aggregates = new ResponseTimeAggregate[INITIAL_METHODS];
+	private int[] measuredMethods = new int[INITIAL_METHODS];
+	private int measuredMethodCount = 0;
+
+	private boolean started = false;
+	private long batchStart;
+	private long batchEnd;
+	private long latestTimestamp = Long.MIN_VALUE;
+	private long lateMeasurements = 0;
+
+	/**
+	 * @param batchSize
+	 *            the length of a batch in nanoseconds
+	 * @param reorderWindow
+	 *            how many nanoseconds a measurement may arrive after a later one; 0 if measurements
+	 *            arrive in order
+	 * @param reorderBufferCapacity
+	 *            the number of measurements held back at most, for a reorder window other than 0
+	 * @param emitEmptyBatches
+	 *            whether batches without measurements are emitted
+	 * @param listener
+	 *            the listener receiving the completed batches
+	 */
+	public ResponseTimeBatcher(long batchSize, long reorderWindow, int reorderBufferCapacity,
+			boolean emitEmptyBatches, BatchListener listener) {
+		super();
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("The batch size has to be positive, but was " + batchSize);
+		}
+		if (reorderWindow < 0) {
+			throw new IllegalArgumentException("The reorder window must not be negative, but was " + reorderWindow);
+		}
+		this.batchSize = batchSize;
+		this.reorderWindow = reorderWindow;
+		this.emitEmptyBatches = emitEmptyBatches;
+		this.listener = listener;
+		this.reorderBuffer = reorderWindow > 0 ? new ReorderBuffer(reorderBufferCapacity) : null;
+	}
+
+	/**
+	 * @param methodID
+	 * @return the compact index of the method, assigned on the first call for the method
+	 */
+	public int getMethodIndex(MethodID methodID) {
+		Integer index = methodIndices.get(methodID);
+		if (index == null) {
+			index = methodIndices.size();
+			if (index == aggregates.length) {
+				aggregates = Arrays.copyOf(aggregates, 2 * index);
+				measuredMethods = Arrays.copyOf(measuredMethods, 2 * index);
+			}
+			aggregates[index] = new ResponseTimeAggregate(methodID);
+			methodIndices.put(methodID, index);
+		}
+		return index;
+	}
+
+	/**
+	 * @param methodID
+	 * @param timestamp
+	 *            the time of the measurement in nanoseconds
+	 * @param responseTime
+	 *            the response time in nanoseconds
+	 */
+	public void add(MethodID methodID, long timestamp, long responseTime) {
+		add(getMethodIndex(methodID), timestamp, responseTime);
+	}
+
+	/**
+	 * @param methodIndex
+	 *            the index of the method, see {@link #getMethodIndex(MethodID)}
+	 * @param timestamp
+	 *            the time of the measurement in nanoseconds
+	 * @param responseTime
+	 *            the response time in nanoseconds
+	 */
+	public void add(int methodIndex, long timestamp, long responseTime) {
+		if (reorderBuffer == null) {
+			process(methodIndex, timestamp, responseTime);
+			return;
+		}
+		if (reorderBuffer.isFull()) {
+			release();
+		}
+		reorderBuffer.add(timestamp, methodIndex, responseTime);
+		latestTimestamp = Math.max(latestTimestamp, timestamp);
+		while (!reorderBuffer.isEmpty() && reorderBuffer.peekTimestamp() <= latestTimestamp - reorderWindow) {
+			release();
+		}
+	}
+
+	/**
+	 * Ends the stream: processes the held back measurements and emits the current batch. Later
+	 * measurements within the current batch are late.
+	 */
+	public void flush() {
+		while (reorderBuffer != null && !reorderBuffer.isEmpty()) {
+			release();
+		}
+		if (started) {
+			completeBatch();
+			batchStart = batchEnd;
+			batchEnd = batchStart + batchSize;
+		}
+	}
+
+	/**
+	 * @return the number of measurements dropped because their batch was already completed
+	 */
+	public long getLateMeasurements() {
+		return lateMeasurements;
+	}
+
+	private void release() {
+		process(reorderBuffer.peekMethodIndex(), reorderBuffer.peekTimestamp(), reorderBuffer.peekResponseTime());
+		reorderBuffer.remove();
+	}
+
+	private void process(int methodIndex, long timestamp, long responseTime) {
+		if (!started) {
+			started = true;
+			batchStart = timestamp;
+			batchEnd = timestamp + batchSize;
+		} else if (timestamp < batchStart) {
+			lateMeasurements++;
+			return;
+		} else if (timestamp >= batchEnd) {
+			completeBatch();
+			long gapEnd = batchEnd + (timestamp - batchEnd) / batchSize * batchSize;
+			if (gapEnd > batchEnd && emitEmptyBatches) {
+				listener.batchCompleted(
+						new ResponseTimeBatch(batchEnd, gapEnd, Collections.<ResponseTimeSummary> emptyList()));
+			}
+			batchStart = gapEnd;
+			batchEnd = gapEnd + batchSize;
+		}
+		ResponseTimeAggregate aggregate = aggregates[methodIndex];
+		if (aggregate.getCount() == 0) {
+			measuredMethods[measuredMethodCount++] = methodIndex;
+		}
+		aggregate.add(responseTime);
+	}
+
+	private void completeBatch() {
+		if (measuredMethodCount == 0 && !emitEmptyBatches) {
+			return;
+		}
+		List<ResponseTimeSummary> summaries = new ArrayList<ResponseTimeSummary>(measuredMethodCount);
+		for (int i = 0; i < measuredMethodCount; i++) {
+			ResponseTimeAggregate aggregate = aggregates[measuredMethods[i]];
+			summaries.add(aggregate.toSummary());
+			aggregate.reset();
+		}
+		measuredMethodCount = 0;
+		listener.batchCompleted(new ResponseTimeBatch(batchStart, batchEnd, summaries));
+	}
+}
@@ -1,6 +1,7 @@
 package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
 
 import javax.measure.quantity.Duration;
+import javax.measure.unit.SI;
 
 import org.jscience.physics.amount.Amount;
 
@@ -14,7 +15,8 @@ public class ResponseTimeMeasurement implements Measurement<Duration> {
 	
 	private final long timestamp;
 	private final MethodID methodID;
-	private final Amount<Duration> responseTime;
+	private final long responseTimeNanos;
+	private Amount<Duration> responseTime;
 	
 	/**
 	 * @param method
@@ -27,6 +29,19 @@ public class ResponseTimeMeasurement implements Measurement<Duration> {
 		super();
 		this.methodID = new MethodID(method, host);
 		this.responseTime = responseTime;
+		this.responseTimeNanos = responseTime.longValue(SI.NANO(SI.SECOND));
+		this.timestamp = timestamp;
+	}
+
+	/**
+	 * @param methodID
+	 * @param responseTimeNanos the response time in nanoseconds, converted to an amount on demand
+	 * @param timestamp
+	 */
+	public ResponseTimeMeasurement(MethodID methodID, long responseTimeNanos, long timestamp) {
+		super();
+		this.methodID = methodID;
+		this.responseTimeNanos = responseTimeNanos;
 		this.timestamp = timestamp;
 	}
 
@@ -48,15 +63,25 @@ public class ResponseTimeMeasurement implements Measurement<Duration> {
 	 * @return the responseTime
 	 */
 	public final Amount<Duration> getResponseTime() {
+		if (responseTime == null) {
+			responseTime = Amount.valueOf(responseTimeNanos, SI.NANO(SI.SECOND));
+		}
 		return responseTime;
 	}
 
+	/**
+	 * @return the responseTime in nanoseconds
+	 */
+	public final long getResponseTimeNanos() {
+		return responseTimeNanos;
+	}
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	@Override
 	public String toString() {
-		return ">" + MeasureHelper.formatDuration(responseTime) + "<";
+		return ">" + MeasureHelper.formatDuration(getResponseTime()) + "<";
 	}
 
 	@Override
@@ -0,0 +1,125 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
+
+/**
+ * The response times of a method within a batch, see {@link ResponseTimeBatch}. All times are in
+ * nanoseconds.
+ *
+ * @author snowball
+ */
+public final class ResponseTimeSummary {
+
+	private final MethodID methodID;
+	private final long count;
+	private final long sum;
+	private final double sumOfSquares;
+	private final long min;
+	private final long max;
+	private final long median;
+	private final long percentile90;
+	private final long percentile99;
+
+	/**
+	 * @param methodID
+	 * @param count
+	 * @param sum
+	 * @param sumOfSquares
+	 * @param min
+	 * @param max
+	 * @param median
+	 * @param percentile90
+	 * @param percentile99
+	 */
+	public ResponseTimeSummary(MethodID methodID, long count, long sum, double sumOfSquares, long min, long max,
+			long median, long percentile90, long percentile99) {
+		super();
+		this.methodID = methodID;
+		this.count = count;
+		this.sum = sum;
+		this.sumOfSquares = sumOfSquares;
+		this.min = min;
+		this.max = max;
+		this.median = median;
+		this.percentile90 = percentile90;
+		this.percentile99 = percentile99;
+	}
+
+	/**
+	 * @return the method
+	 */
+	public MethodID getMethodID() {
+		return methodID;
+	}
+
+	/**
+	 * @return the number of measurements
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the sum of the response times
+	 */
+	public long getSum() {
+		return sum;
+	}
+
+	/**
+	 * @return the arithmetic mean of the response times
+	 */
+	public double getMean() {
+		return (double) sum / count;
+	}
+
+	/**
+	 * @return the population standard deviation of the response times
+	 */
+	public double getStandardDeviation() {
+		double mean = getMean();
+		return Math.sqrt(Math.max(0, sumOfSquares / count - mean * mean));
+	}
+
+	/**
+	 * @return the shortest response time
+	 */
+	public long getMin() {
+		return min;
+	}
+
+	/**
+	 * @return the longest response time
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * @return the estimated median of the response times, see {@link QuantileSketch}
+	 */
+	public long getMedian() {
+		return median;
+	}
+
+	/**
+	 * @return the estimated 90th percentile of the response times, see {@link QuantileSketch}
+	 */
+	public long getPercentile90() {
+		return percentile90;
+	}
+
+	/**
+	 * @return the estimated 99th percentile of the response times, see {@link QuantileSketch}
+	 */
+	public long getPercentile99() {
+		return percentile99;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ResponseTimeSummary [methodID=" + methodID + ", count=" + count + ", mean=" + getMean() + ", min="
+				+ min + ", max=" + max + ", median=" + median + "]";
+	}
+}
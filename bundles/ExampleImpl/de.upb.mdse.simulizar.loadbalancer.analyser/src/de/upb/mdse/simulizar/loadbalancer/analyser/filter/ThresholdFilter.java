@@ -1,7 +1,5 @@
 package de.upb.mdse.simulizar.loadbalancer.analyser.filter;
 
-import java.util.Map;
-
 import javax.measure.quantity.Duration;
 import javax.measure.unit.SI;
 
@@ -18,8 +16,12 @@ import org.jscience.physics.amount.Amount;
 
 import de.upb.mdse.simulizar.loadbalancer.analyser.helper.MeasureHelper;
 
+/**
+ * Provides the ID of the load balancer method whenever its mean response time within a batch
+ * exceeds the threshold, taken from the batch summaries.
+ */
 @Plugin(outputPorts = @OutputPort(name = ThresholdFilter.OUTPUT_THRESHOLD_VIOLATED_IDS, 
-		description = "Provides batched values as map", 
+		description = "Provides the IDs of methods violating their SLA", 
 		eventTypes = { Identifiable.class }))
 public class ThresholdFilter extends AbstractFilterPlugin {
 
@@ -33,8 +35,10 @@ public class ThresholdFilter extends AbstractFilterPlugin {
 	}
 
 	public static final String OUTPUT_THRESHOLD_VIOLATED_IDS = "violatedIDs";
-	public static final String INPUT_MEAN_RT_MAP = "mean_Rt_Measurements";
+	public static final String INPUT_BATCH = "batch";
 	private static final Amount<Duration> THRESHOLD = Amount.valueOf(0.8,SI.SECOND);
+	private static final double THRESHOLD_NANOS = THRESHOLD.doubleValue(SI.NANO(SI.SECOND));
+	private static final MethodID METHOD_ID = new MethodID(METHOD, HOSTID);
 
 	@Override
 	public Configuration getCurrentConfiguration() {
@@ -48,21 +52,22 @@ public class ThresholdFilter extends AbstractFilterPlugin {
 		return configuration;
 	}
 	
-	@SuppressWarnings("unchecked")
-	@InputPort(name = INPUT_MEAN_RT_MAP, description = "Receives incoming execution records", eventTypes = { Map.class })
+	@InputPort(name = INPUT_BATCH, description = "Receives incoming batches", eventTypes = { ResponseTimeBatch.class })
 	public final void inputEvent(final Object inEvent) {
-		Map<Identifiable,Amount<Duration>> means = (Map<Identifiable, Amount<Duration>>) inEvent;
-		MethodID methodID = new MethodID(METHOD, HOSTID);
-		if (!means.containsKey(methodID)) {
-			LOG.error("Tried to find method measurements for "+methodID+", but failed...");
+		ResponseTimeBatch batch = (ResponseTimeBatch) inEvent;
+		ResponseTimeSummary summary = batch.getSummary(METHOD_ID);
+		if (summary == null) {
+			if (!batch.isEmpty()) {
+				LOG.error("Tried to find method measurements for "+METHOD_ID+", but failed...");
+			}
 			return;
 		}
-		Amount<Duration> timeToCheck = means.get(methodID);
+		double timeToCheck = summary.getMean();
 		if (LOG.isDebugEnabled()) {
-			LOG.debug(MeasureHelper.formatDuration(timeToCheck) + " < " + MeasureHelper.formatDuration(THRESHOLD) + "? "+timeToCheck.isGreaterThan(THRESHOLD));
+			LOG.debug(MeasureHelper.formatDuration(Amount.valueOf(timeToCheck, SI.NANO(SI.SECOND))) + " < " + MeasureHelper.formatDuration(THRESHOLD) + "? "+(timeToCheck > THRESHOLD_NANOS));
 		}
-		if (timeToCheck.isGreaterThan(THRESHOLD)) {
-			super.deliver(OUTPUT_THRESHOLD_VIOLATED_IDS, methodID);
+		if (timeToCheck > THRESHOLD_NANOS) {
+			super.deliver(OUTPUT_THRESHOLD_VIOLATED_IDS, METHOD_ID);
 		}
 	}
 	
@@ -0,0 +1,130 @@
+package de.upb.mdse.simulizar.loadbalancer.analyser.replay;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.MethodID;
+import de.upb.mdse.simulizar.loadbalancer.analyser.filter.ResponseTimeBatcher;
+
+/**
+ * Replays a monitoring log recorded by the Kieker filesystem writer into a
+ * {@link ResponseTimeBatcher}, e.g., for testing the batching without a running JMS queue. The log
+ * is a directory with the mapping file {@value #MAPPING_FILE_NAME} and data files ending with
+ * {@value #DATA_FILE_SUFFIX}, which are replayed in the order of their names. Of the records, only
+ * operation executions are replayed; as in the ComputeResponseTimeFilter, their logging timestamp
+ * is taken as timestamp and tout - tin as response time.
+ *
+ * @author snowball
+ */
+public final class MonitoringLogReplay {
+
+	public static final String MAPPING_FILE_NAME = "kieker.map";
+	public static final String DATA_FILE_SUFFIX = ".dat";
+
+	private static final String OPERATION_EXECUTION_RECORD = "kieker.common.record.controlflow.OperationExecutionRecord";
+	private static final String CHARSET = "UTF-8";
+
+	// $id;loggingTimestamp;operationSignature;sessionId;traceId;tin;tout;hostname;eoi;ess
+	private static final int LOGGING_TIMESTAMP = 1;
+	private static final int OPERATION_SIGNATURE = 2;
+	private static final int TIN = 5;
+	private static final int TOUT = 6;
+	private static final int HOSTNAME = 7;
+
+	private final File directory;
+
+	/**
+	 * @param directory
+	 *            the directory of the monitoring log
+	 */
+	public MonitoringLogReplay(File directory) {
+		super();
+		this.directory = directory;
+	}
+
+	/**
+	 * Adds the operation executions of the log to the batcher and flushes it afterwards.
+	 *
+	 * @param batcher
+	 * @return the number of replayed operation executions
+	 * @throws IOException
+	 *             if the log cannot be read or a record is malformed
+	 */
+	public long replay(ResponseTimeBatcher batcher) throws IOException {
+		Set<String> recordIDs = readOperationExecutionRecordIDs();
+		File[] dataFiles = directory.listFiles(new FileFilter() {
+
+			@Override
+			public boolean accept(File file) {
+				return file.isFile() && file.getName().endsWith(DATA_FILE_SUFFIX);
+			}
+		});
+		if (dataFiles == null) {
+			throw new IOException("Cannot list the monitoring log " + directory);
+		}
+		Arrays.sort(dataFiles);
+		long replayed = 0;
+		for (File dataFile : dataFiles) {
+			replayed += replay(dataFile, recordIDs, batcher);
+		}
+		batcher.flush();
+		return replayed;
+	}
+
+	private long replay(File dataFile, Set<String> recordIDs, ResponseTimeBatcher batcher) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(dataFile), CHARSET));
+		try {
+			long replayed = 0;
+			int lineNumber = 0;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				int separator = line.indexOf(';');
+				if (separator < 0 || !recordIDs.contains(line.substring(0, separator))) {
+					continue;
+				}
+				String[] fields = line.split(";");
+				if (fields.length <= HOSTNAME) {
+					throw new IOException("Malformed operation execution in " + dataFile + ":" + lineNumber);
+				}
+				try {
+					long timestamp = Long.parseLong(fields[LOGGING_TIMESTAMP]);
+					long responseTime = Long.parseLong(fields[TOUT]) - Long.parseLong(fields[TIN]);
+					batcher.add(new MethodID(fields[OPERATION_SIGNATURE], fields[HOSTNAME]), timestamp, responseTime);
+				} catch (NumberFormatException e) {
+					throw new IOException("Malformed operation execution in " + dataFile + ":" + lineNumber + ": "
+							+ e.getMessage());
+				}
+				replayed++;
+			}
+			return replayed;
+		} finally {
+			reader.close();
+		}
+	}
+
+	private Set<String> readOperationExecutionRecordIDs() throws IOException {
+		File mappingFile = new File(directory, MAPPING_FILE_NAME);
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(mappingFile), CHARSET));
+		try {
+			Set<String> recordIDs = new HashSet<String>();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int separator = line.indexOf('=');
+				if (separator > 0 && line.substring(separator + 1).trim().equals(OPERATION_EXECUTION_RECORD)) {
+					recordIDs.add(line.substring(0, separator).trim());
+				}
+			}
+			return recordIDs;
+		} finally {
+			reader.close();
+		}
+	}
+}
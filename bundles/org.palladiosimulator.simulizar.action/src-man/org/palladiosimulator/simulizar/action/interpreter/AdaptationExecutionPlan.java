@@ -0,0 +1,109 @@
+package org.palladiosimulator.simulizar.action.interpreter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.simulizar.action.core.AdaptationBehavior;
+import org.palladiosimulator.simulizar.action.core.EnactAdaptationStep;
+import org.palladiosimulator.simulizar.action.core.GuardedTransition;
+import org.palladiosimulator.simulizar.action.core.ResourceDemandingStep;
+import org.palladiosimulator.simulizar.action.core.StateTransformingStep;
+import org.palladiosimulator.simulizar.action.interpreter.util.TransientEffectRuntimeStateCache;
+import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
+
+/**
+ * Execution plan of an {@link AdaptationBehavior} within a Simulizar run. When the plan is
+ * compiled, the QVTo transformations of all steps of the behavior (including nested ones) are
+ * loaded and validated and the factories of the state transformations are resolved, so that
+ * repeated executions of the behavior only execute the transformations. State transformations may
+ * keep state, so each execution of a state transforming step gets a new one.
+ * 
+ * @see TransientEffectRuntimeStateCache#getExecutionPlan(AdaptationBehavior,
+ *      java.util.function.Function)
+ */
+public final class AdaptationExecutionPlan {
+
+	private final AdaptationBehavior adaptationBehavior;
+	private final AbstractSimuLizarRuntimeState state;
+	private final Map<StateTransformingStep, Supplier<AbstractStateTransformation>> stateTransformationFactories;
+
+	private AdaptationExecutionPlan(AdaptationBehavior adaptationBehavior, AbstractSimuLizarRuntimeState state,
+			Map<StateTransformingStep, Supplier<AbstractStateTransformation>> stateTransformationFactories) {
+		this.adaptationBehavior = adaptationBehavior;
+		this.state = state;
+		this.stateTransformationFactories = Collections.unmodifiableMap(stateTransformationFactories);
+	}
+
+	/**
+	 * Compiles the execution plan of the given adaptation behavior.
+	 * 
+	 * @param adaptationBehavior
+	 *            The {@link AdaptationBehavior} to compile.
+	 * @param state
+	 *            The runtime state of the Simulizar run the behavior is executed in.
+	 * @param cache
+	 *            The caches of the given runtime state.
+	 * @return The execution plan.
+	 * @throws RuntimeException
+	 *             In case a transformation of the behavior is not available or has invalid
+	 *             parameters.
+	 */
+	static AdaptationExecutionPlan compile(AdaptationBehavior adaptationBehavior, AbstractSimuLizarRuntimeState state,
+			TransientEffectRuntimeStateCache cache) {
+		TransientEffectQVTOExecutor validatingExecutor = new TransientEffectQVTOExecutor(
+				cache.getTransformationCache(), cache.snapshotAvailableModels());
+		Map<StateTransformingStep, Supplier<AbstractStateTransformation>> stateTransformationFactories = new HashMap<>();
+
+		TreeIterator<EObject> contents = Objects.requireNonNull(adaptationBehavior).eAllContents();
+		while (contents.hasNext()) {
+			EObject element = contents.next();
+			if (element instanceof GuardedTransition) {
+				GuardedTransition guardedTransition = (GuardedTransition) element;
+				validatingExecutor.enableForTransformationExecution(guardedTransition);
+				TransientEffectQVTOExecutorUtil.validateGuardedTransition(validatingExecutor, guardedTransition);
+			} else if (element instanceof EnactAdaptationStep) {
+				EnactAdaptationStep enactAdaptationStep = (EnactAdaptationStep) element;
+				validatingExecutor.enableForTransformationExecution(enactAdaptationStep);
+				TransientEffectQVTOExecutorUtil.validateEnactAdaptationStep(validatingExecutor, enactAdaptationStep);
+			} else if (element instanceof ResourceDemandingStep) {
+				ResourceDemandingStep resourceDemandingStep = (ResourceDemandingStep) element;
+				validatingExecutor.enableForTransformationExecution(resourceDemandingStep);
+				TransientEffectQVTOExecutorUtil.validateResourceDemandingStep(validatingExecutor,
+						resourceDemandingStep);
+			} else if (element instanceof StateTransformingStep) {
+				StateTransformingStep stateTransformingStep = (StateTransformingStep) element;
+				stateTransformationFactories.put(stateTransformingStep, cache.getStateTransformationRegistry()
+						.getStateTransformationFactory(stateTransformingStep.getId()));
+			}
+		}
+		return new AdaptationExecutionPlan(adaptationBehavior, state, stateTransformationFactories);
+	}
+
+	public AdaptationBehavior getAdaptationBehavior() {
+		return this.adaptationBehavior;
+	}
+
+	/**
+	 * @param stateTransformingStep
+	 *            A {@link StateTransformingStep} of the adaptation behavior.
+	 * @return A new instance of the state transformation resolved for the step, set up for the
+	 *         runtime state of the plan.
+	 * @throws IllegalArgumentException
+	 *             In case the step is not part of the adaptation behavior.
+	 */
+	AbstractStateTransformation getStateTransformation(StateTransformingStep stateTransformingStep) {
+		Supplier<AbstractStateTransformation> factory = this.stateTransformationFactories.get(stateTransformingStep);
+		if (factory == null) {
+			throw new IllegalArgumentException("State Transforming Step " + stateTransformingStep.getId()
+					+ " is not part of adaptation behavior " + this.adaptationBehavior.getEntityName());
+		}
+		AbstractStateTransformation transformation = factory.get();
+		transformation.setSimulationState(this.state);
+		return transformation;
+	}
+}
@@ -0,0 +1,31 @@
+package org.palladiosimulator.simulizar.action.interpreter;
+
+import java.util.Objects;
+
+import org.eclipse.emf.common.util.EList;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
+import org.palladiosimulator.simulizar.action.interpreter.util.ControllerScenarioTemplates;
+import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
+import org.palladiosimulator.simulizar.interpreter.UsageScenarioSwitch;
+
+/**
+ * Switch interpreting the shared usage scenario of a controller call. The input variable usages
+ * of the call are not part of the scenario, they are supplied by this switch instead.
+ * 
+ * @see ControllerScenarioTemplates
+ */
+class ControllerScenarioSwitch extends UsageScenarioSwitch<Object> {
+
+	private final EList<VariableUsage> inputVariableUsages;
+
+	ControllerScenarioSwitch(InterpreterDefaultContext context, EList<VariableUsage> inputVariableUsages) {
+		super(context);
+		this.inputVariableUsages = Objects.requireNonNull(inputVariableUsages);
+	}
+
+	@Override
+	protected EList<VariableUsage> getInputParameterUsages(EntryLevelSystemCall entryLevelSystemCall) {
+		return this.inputVariableUsages;
+	}
+}
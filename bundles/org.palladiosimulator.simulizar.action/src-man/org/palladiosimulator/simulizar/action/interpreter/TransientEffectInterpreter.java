@@ -1,34 +1,19 @@
 package org.palladiosimulator.simulizar.action.interpreter;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.mapping;
-import static java.util.stream.Collectors.toList;
-
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.log4j.Logger;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IConfigurationElement;
-import org.eclipse.core.runtime.IExtension;
-import org.eclipse.core.runtime.Platform;
 import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
 import org.palladiosimulator.pcm.parameter.VariableUsage;
 import org.palladiosimulator.pcm.repository.Repository;
-import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
-import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
-import org.palladiosimulator.pcm.usagemodel.ScenarioBehaviour;
-import org.palladiosimulator.pcm.usagemodel.Start;
-import org.palladiosimulator.pcm.usagemodel.Stop;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
-import org.palladiosimulator.pcm.usagemodel.UsagemodelFactory;
 import org.palladiosimulator.probeframework.probes.Probe;
 import org.palladiosimulator.simulizar.action.context.ContextFactory;
 import org.palladiosimulator.simulizar.action.context.ExecutionContext;
@@ -47,23 +32,21 @@ import org.palladiosimulator.simulizar.action.core.util.CoreSwitch;
 import org.palladiosimulator.simulizar.action.instance.RoleSet;
 import org.palladiosimulator.simulizar.action.interpreter.notifications.AdaptationStepExecutedNotification;
 import org.palladiosimulator.simulizar.action.interpreter.notifications.AdaptationBehaviorExecutedNotification;
+import org.palladiosimulator.simulizar.action.interpreter.util.TransientEffectRuntimeStateCache;
 import org.palladiosimulator.simulizar.action.interpreter.util.TransientEffectTransformationCacheKeeper;
 import org.palladiosimulator.simulizar.action.mapping.ControllerMapping;
 import org.palladiosimulator.simulizar.action.mapping.Mapping;
 import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsage;
 import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsageCollection;
 import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
-import org.palladiosimulator.simulizar.interpreter.UsageScenarioSwitch;
 import org.palladiosimulator.simulizar.interpreter.listener.EventResult;
 import org.palladiosimulator.simulizar.reconfiguration.ReconfigurationProcess;
 import org.palladiosimulator.simulizar.reconfiguration.qvto.QvtoModelTransformation;
-import org.palladiosimulator.simulizar.reconfiguration.qvto.util.QVToModelCache;
 import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
 import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
 
 import de.uka.ipd.sdq.simucomframework.SimuComSimProcess;
 import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
-import de.uka.ipd.sdq.simucomframework.probes.TakeCurrentSimulationTimeProbe;
 import de.uka.ipd.sdq.simucomframework.usage.IScenarioRunner;
 import de.uka.ipd.sdq.simucomframework.usage.OpenWorkloadUser;
 import de.uka.ipd.sdq.simulation.abstractsimengine.ISimProcess;
@@ -76,11 +59,9 @@ import de.uka.ipd.sdq.simulation.abstractsimengine.ISimProcessListener;
  * 
  * @author Florian Rosenthal
  *
- */
+ */
 public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecutionResult> {
 	private static final Logger LOGGER = Logger.getLogger(TransientEffectInterpreter.class);
-	private static final String STATE_TRANSFORMING_EXT_POINT_ID = "org.palladiosimulator.simulizar.action.stratetransformation";
-	private static final String STATE_TRANSFORMING_CLASS_NAME = "class";
 
 	private static final ExecutionContext DEFAULT_EXECUTION_CONTEXT = ContextFactory.eINSTANCE.createExecutionContext();
 
@@ -89,6 +70,7 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 	private final RoleSet roleSet;
 	private final ControllerCallInputVariableUsageCollection controllerCallsInputVariableUsages;
 	private final boolean isAsync;
+	private final TransientEffectRuntimeStateCache cache;
 
 	private Optional<ExecutionContext> executionContext;
 
@@ -123,11 +105,14 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 		this.isAsync = executeAsync;
 		this.controllerCallsInputVariableUsages = Objects.requireNonNull(controllerCallsInputVariableUsages);
 		this.executionContext = executionContext;
+		this.cache = Objects.requireNonNull(
+				TransientEffectTransformationCacheKeeper.getCacheForRuntimeState(this.state),
+				"No transient effect caches available for the runtime state");
 	}
 
-	private AsyncInterpretationProcess createAsyncProcess(AdaptationBehavior behaviorToInterpret) {
+	private AsyncInterpretationProcess createAsyncProcess(AdaptationExecutionPlan plan) {
 		AsyncInterpretationProcess asyncInterpretationProcess = new AsyncInterpretationProcess(this.executionContext,
-				behaviorToInterpret);
+				plan);
 		asyncInterpretationProcess.addProcessListener(new ISimProcessListener() {
 
 			@Override
@@ -167,10 +152,12 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 	@Override
 	public TransientEffectExecutionResult caseAdaptationBehavior(AdaptationBehavior adaptationBehavior) {
 		TransientEffectExecutionResult result;
+		AdaptationExecutionPlan plan = this.cache.getExecutionPlan(adaptationBehavior,
+				behavior -> AdaptationExecutionPlan.compile(behavior, this.state, this.cache));
 
 		if (this.isAsync) {
 			// spawn an async process for interpretation and return immediately
-			AsyncInterpretationProcess asyncProcess = createAsyncProcess(adaptationBehavior);
+			AsyncInterpretationProcess asyncProcess = createAsyncProcess(plan);
 			ExecutionContextKeeper.getInstance().addContextProcessMapping(asyncProcess.getCorrespondingContext(),
 					asyncProcess);
 					TransientEffectInterpreter.this.executionContext = 
@@ -180,7 +167,7 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 			result = new TransientEffectExecutionResult(EventResult.SUCCESS, asyncProcess.getCorrespondingContext());
 		} else {
 			LOGGER.debug("Synchronous execution of adaptation behavior \"" + adaptationBehavior.getEntityName() + "\" is taking place.");
-			boolean successful = executeAdaptationSteps(adaptationBehavior.getAdaptationSteps(),
+			boolean successful = executeAdaptationSteps(plan, adaptationBehavior.getAdaptationSteps(),
 					obtainExecutingProcessForContext());
 			if (successful) {
 				this.forwardReconfigurationNotification(new AdaptationBehaviorExecutedNotification(adaptationBehavior));
@@ -196,10 +183,10 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 		return result;
 	}
 
-	private Boolean executeAdaptationSteps(Collection<AdaptationStep> adaptationSteps,
+	private Boolean executeAdaptationSteps(AdaptationExecutionPlan plan, Collection<AdaptationStep> adaptationSteps,
 			SimuComSimProcess executingProcess) {
-		assert adaptationSteps != null && executingProcess != null;
-		InternalSwitch executingSwitch = new InternalSwitch(executingProcess);
+		assert plan != null && adaptationSteps != null && executingProcess != null;
+		InternalSwitch executingSwitch = new InternalSwitch(plan, executingProcess);
 		// no short-circuit evaluation: ensure that all actions be executed
 		return adaptationSteps.stream().reduce(true, (result, action) -> executingSwitch.doSwitch(action),
 				Boolean::logicalAnd);
@@ -207,24 +194,6 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 
 	private void forwardReconfigurationNotification(Notification notification) {
 		this.associatedReconfigurationProcess.appendReconfigurationNotification(notification);
-	}
-
-	private static AbstractStateTransformation getStateTransformation(String extensionId) {
-		Optional<IExtension> stateTransformingExtension = Arrays
-				.stream(Platform.getExtensionRegistry().getExtensionPoint(STATE_TRANSFORMING_EXT_POINT_ID)
-						.getExtensions())
-				.filter(extension -> extension.getUniqueIdentifier().equals(extensionId)).findAny();
-		IExtension extension = stateTransformingExtension.orElseThrow(() -> new IllegalStateException(
-				"No state transformation registered for State Transforming Step " + extensionId));
-		for (IConfigurationElement element : extension.getConfigurationElements()) {
-			try {
-				return (AbstractStateTransformation) element.createExecutableExtension(STATE_TRANSFORMING_CLASS_NAME);
-			} catch (CoreException e) {
-				LOGGER.error(e.getStackTrace());
-			}
-		}
-		throw new IllegalStateException(
-				"No state transformation registered for State Transforming Step " + extensionId);
 	}
 
 	private final class InternalSwitch extends CoreSwitch<Boolean> {
@@ -240,25 +209,23 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 		 * 
 		 * @see #spawnAsyncInterpreterProcess(AdaptationBehavior)
 		 * @see #caseResourceDemandingAction(ResourceDemandingAction)
-		 * @see #createAndScheduleControllerScenarioRunner(ControllerMapping)
+		 * @see #createControllerScenarioRunner(ControllerMapping)
 		 */
 		private final SimuComSimProcess executingProcess;
+		private final AdaptationExecutionPlan plan;
 		private final TransientEffectQVTOExecutor qvtoExecutor;
-		private final Map<ControllerCall, List<VariableUsage>> inputVariableUsagesPerControllerCall;
+		private final Map<ControllerCall, EList<VariableUsage>> inputVariableUsagesPerControllerCall;
 
-		private InternalSwitch(SimuComSimProcess executingProcess) {
+		private InternalSwitch(AdaptationExecutionPlan plan, SimuComSimProcess executingProcess) {
 			this.executingProcess = executingProcess;
-			QVToModelCache availableModels = new QVToModelCache(
-					Objects.requireNonNull(TransientEffectInterpreter.this.state.getModelAccess()));
-
-			this.qvtoExecutor = new TransientEffectQVTOExecutor(
-					TransientEffectTransformationCacheKeeper.getTransformationCacheForRuntimeState(
-							TransientEffectInterpreter.this.state), 
-					availableModels.snapshot());
-			this.inputVariableUsagesPerControllerCall = TransientEffectInterpreter.this.controllerCallsInputVariableUsages
-					.getControllerCallInputVariableUsages().stream()
-					.collect(groupingBy(ControllerCallInputVariableUsage::getCorrespondingControllerCall,
-							mapping(ControllerCallInputVariableUsage::getVariableUsage, toList())));
+			this.plan = plan;
+			TransientEffectRuntimeStateCache cache = TransientEffectInterpreter.this.cache;
+
+			this.qvtoExecutor = new TransientEffectQVTOExecutor(cache.getTransformationCache(),
+					cache.snapshotAvailableModels());
+			this.inputVariableUsagesPerControllerCall = cache.getControllerScenarioTemplates()
+					.getInputVariableUsagesPerControllerCall(
+					TransientEffectInterpreter.this.controllerCallsInputVariableUsages);
 
 			this.qvtoExecutor.addTransformationParameters(TransientEffectInterpreter.this.roleSet,
 					TransientEffectInterpreter.this.executionContext.orElse(DEFAULT_EXECUTION_CONTEXT));
@@ -266,13 +233,14 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 
 		@Override
 		public Boolean caseNestedAdaptationBehavior(NestedAdaptationBehavior nestedAdaptationBehavior) {
-			return executeAdaptationSteps(nestedAdaptationBehavior.getAdaptationSteps(), this.executingProcess);
+			return executeAdaptationSteps(this.plan, nestedAdaptationBehavior.getAdaptationSteps(),
+					this.executingProcess);
 		}
 
 		@Override
 		public Boolean caseGuardedTransition(GuardedTransition guardedTransition) {
+			// the transformation has already been validated when the plan was compiled
 			this.qvtoExecutor.enableForTransformationExecution(guardedTransition);
-			TransientEffectQVTOExecutorUtil.validateGuardedTransition(this.qvtoExecutor, guardedTransition);
 
 			return this.qvtoExecutor.executeGuardedTransition(guardedTransition);
 		}
@@ -294,9 +262,7 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 		public Boolean caseStateTransformingStep(StateTransformingStep stateTransformingStep) {
 			this.qvtoExecutor.enableForTransformationExecution(stateTransformingStep);
 
-			String extensionId = stateTransformingStep.getId();
-			AbstractStateTransformation transformation = TransientEffectInterpreter.getStateTransformation(extensionId);
-			transformation.setSimulationState(TransientEffectInterpreter.this.state);
+			AbstractStateTransformation transformation = this.plan.getStateTransformation(stateTransformingStep);
 			return transformation.execute(TransientEffectInterpreter.this.roleSet);
 		};
 
@@ -318,19 +284,20 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 			Mapping mapping = executeResourceDemandingStep(resourceDemandingStep)
 					.orElseThrow(() -> new RuntimeException("Controller Completion transformation failed!"));
 
-			List<OpenWorkloadUser> users = new LinkedList<OpenWorkloadUser>();
 			SimuComModel model = TransientEffectInterpreter.this.state.getMainContext().getModel();
+			List<Probe> usageStartStopProbes = TransientEffectInterpreter.this.cache
+					.getControllerUsageStartStopProbes(model);
+			// the last terminating user reschedules the executing process
+			RunningControllerUsers runningUsers = new RunningControllerUsers(this.executingProcess,
+					mapping.getControllerMappings().size());
 
 			// consume resources
 			for (ControllerMapping controllerMapping : mapping.getControllerMappings()) {
 				ControllerCall call = controllerMapping.getMappedCall();
-				List<Probe> usageStartStopProbes = Collections.unmodifiableList(
-						Arrays.asList((Probe) new TakeCurrentSimulationTimeProbe(model.getSimulationControl()),
-								(Probe) new TakeCurrentSimulationTimeProbe(model.getSimulationControl())));
 				OpenWorkloadUser user = new OpenWorkloadUser(model,
 						resourceDemandingStep.getEntityName() + " " + call.getEntityName(),
-						createAndScheduleControllerScenarioRunner(controllerMapping), usageStartStopProbes);
-				users.add(user);
+						createControllerScenarioRunner(controllerMapping), usageStartStopProbes);
+				user.addProcessListener(runningUsers);
 				user.startUserLife();
 			}
 			// wait until all users have finished executing by passivating the
@@ -338,7 +305,7 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 			// if this is the underlying reconfiguration process, this ensures
 			// that no other
 			// reconfigurations can take place concurrently
-			while (checkIfUsersRun(users)) {
+			while (runningUsers.isAnyRunning()) {
 				this.executingProcess.passivate();
 			}
 			return true;
@@ -347,9 +314,8 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 		@Override
 		public Boolean caseEnactAdaptationStep(EnactAdaptationStep enactAdaptationStep) {
 			this.qvtoExecutor.enableForTransformationExecution(enactAdaptationStep);
-
+
 			// execute adaptation
-			TransientEffectQVTOExecutorUtil.validateEnactAdaptationStep(this.qvtoExecutor, enactAdaptationStep);
 			URI adaptationStepUri = URI.createURI(enactAdaptationStep.getAdaptationStepURI());
 			QvtoModelTransformation adaptationStep = this.qvtoExecutor.getTransformationByUri(adaptationStepUri).get();
 			final boolean result = this.qvtoExecutor
@@ -359,48 +325,27 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 						new AdaptationStepExecutedNotification(enactAdaptationStep));
 			}
 			return result;
-		}
+		}
 
-		private IScenarioRunner createAndScheduleControllerScenarioRunner(ControllerMapping controllerMapping) {
+		private IScenarioRunner createControllerScenarioRunner(ControllerMapping controllerMapping) {
 
 			ControllerCall mappedCall = controllerMapping.getMappedCall();
-			Collection<VariableUsage> variableUsages = this.inputVariableUsagesPerControllerCall
-					.getOrDefault(mappedCall, Collections.emptyList());
+			EList<VariableUsage> variableUsages = this.inputVariableUsagesPerControllerCall.getOrDefault(mappedCall,
+					ECollections.emptyEList());
+			UsageScenario usageScenario = TransientEffectInterpreter.this.cache.getControllerScenarioTemplates()
+					.getTemplate(mappedCall, controllerMapping.getControllerRole());
 
 			return process -> {
 				LOGGER.info("Start executing the controller scenario ('" + mappedCall.getEntityName() + "')!");
 
 				InterpreterDefaultContext newContext = new InterpreterDefaultContext(state.getMainContext(), process);
-				UsageScenario usageScenario = UsagemodelFactory.eINSTANCE.createUsageScenario();
-				ScenarioBehaviour behaviour = UsagemodelFactory.eINSTANCE.createScenarioBehaviour();
-				usageScenario.setScenarioBehaviour_UsageScenario(behaviour);
-				List<AbstractUserAction> actions = behaviour.getActions_ScenarioBehaviour();
-				Start start = UsagemodelFactory.eINSTANCE.createStart();
-				EntryLevelSystemCall sysCall = UsagemodelFactory.eINSTANCE.createEntryLevelSystemCall();
-				Stop stop = UsagemodelFactory.eINSTANCE.createStop();
-				actions.add(start);
-				actions.add(sysCall);
-				actions.add(stop);
-				sysCall.setOperationSignature__EntryLevelSystemCall(mappedCall.getCalledSignature());
-				sysCall.setProvidedRole_EntryLevelSystemCall(controllerMapping.getControllerRole());
-				// insert the input variable usages now
-				sysCall.getInputParameterUsages_EntryLevelSystemCall().addAll(variableUsages);
-				start.setSuccessor(sysCall);
-				sysCall.setSuccessor(stop);
-				new UsageScenarioSwitch<Object>(newContext).doSwitch(usageScenario);
-				// finally, reschedule the executing process (this is crucial!)
-				// as it is passivated in caseResourceDemandingAction if mapped
-				// calls are running
-				this.executingProcess.scheduleAt(0);
+				// the input variable usages are put on the stack, the shared scenario is not modified
+				new ControllerScenarioSwitch(newContext, variableUsages).doSwitch(usageScenario);
 
 				LOGGER.info("Execution of the controller scenario ('" + mappedCall.getEntityName() + "') finished!");
 			};
 		}
 
-		private boolean checkIfUsersRun(Collection<OpenWorkloadUser> users) {
-			return users.stream().anyMatch(u -> !u.isTerminated());
-		}
-
 		private Optional<Mapping> executeResourceDemandingStep(ResourceDemandingStep resourceDemandingStep) {
 			assert resourceDemandingStep != null;
 
@@ -412,22 +357,58 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 			 */
 			Repository repository = resourceDemandingStep.getControllerCalls().get(0).getComponent()
 					.getRepository__RepositoryComponent();
-			TransientEffectQVTOExecutorUtil.validateResourceDemandingStep(this.qvtoExecutor, resourceDemandingStep);
 			return this.qvtoExecutor.executeControllerCompletion(repository,
 					resourceDemandingStep.getControllerCompletionURI());
 		}
 	}
 
+	/**
+	 * Counts the running users of the controller calls of a {@link ResourceDemandingStep} and
+	 * reschedules the executing process once the last one terminates. Simulated processes never run
+	 * concurrently, so the counter needs no synchronization.
+	 */
+	private static final class RunningControllerUsers implements ISimProcessListener {
+
+		private final SimuComSimProcess executingProcess;
+		private int runningUsers;
+
+		private RunningControllerUsers(SimuComSimProcess executingProcess, int runningUsers) {
+			this.executingProcess = executingProcess;
+			this.runningUsers = runningUsers;
+		}
+
+		private boolean isAnyRunning() {
+			return this.runningUsers > 0;
+		}
+
+		@Override
+		public void notifyTerminated(ISimProcess process) {
+			if (--this.runningUsers == 0) {
+				this.executingProcess.scheduleAt(0);
+			}
+		}
+
+		@Override
+		public void notifySuspending(ISimProcess process) {
+		}
+
+		@Override
+		public void notifyResuming(ISimProcess process) {
+		}
+	}
+
 	private final class AsyncInterpretationProcess extends SimuComSimProcess {
 
+		private final AdaptationExecutionPlan plan;
 		private final AdaptationBehavior behaviorToInterpret;
 		private final ExecutionContext correspondingContext;
 
-		private AsyncInterpretationProcess(Optional<ExecutionContext> context, AdaptationBehavior behaviorToInterpret) {
+		private AsyncInterpretationProcess(Optional<ExecutionContext> context, AdaptationExecutionPlan plan) {
 			super(TransientEffectInterpreter.this.state.getModel(),
 					"SimuComSimProcess For Async Action Interpretation");
 			this.correspondingContext = context.orElseGet(ContextFactory.eINSTANCE::createExecutionContext);
-			this.behaviorToInterpret = behaviorToInterpret;
+			this.plan = plan;
+			this.behaviorToInterpret = plan.getAdaptationBehavior();
 		}
 
 		@Override
@@ -438,8 +419,8 @@ public class TransientEffectInterpreter extends CoreSwitch<TransientEffectExecut
 			// as usual, that is: with the async process, everything is
 			// processed
 			// synchronously
-			boolean result = TransientEffectInterpreter.this.executeAdaptationSteps(this.behaviorToInterpret.getAdaptationSteps(),
-					this);
+			boolean result = TransientEffectInterpreter.this.executeAdaptationSteps(this.plan,
+					this.behaviorToInterpret.getAdaptationSteps(), this);
 			if (result) {
 				LOGGER.debug("Async execution of adaptation behavior \"" + this.behaviorToInterpret.getEntityName() + "\" successfully done.");
 			} else{
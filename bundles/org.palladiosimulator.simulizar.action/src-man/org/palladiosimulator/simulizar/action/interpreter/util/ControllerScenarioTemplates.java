@@ -0,0 +1,115 @@
+package org.palladiosimulator.simulizar.action.interpreter.util;
+
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toCollection;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
+import org.palladiosimulator.pcm.usagemodel.ScenarioBehaviour;
+import org.palladiosimulator.pcm.usagemodel.Start;
+import org.palladiosimulator.pcm.usagemodel.Stop;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.pcm.usagemodel.UsagemodelFactory;
+import org.palladiosimulator.simulizar.action.core.ControllerCall;
+import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsage;
+import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsageCollection;
+
+/**
+ * Cache of the usage scenarios which execute controller calls. A scenario consists of a single
+ * {@link EntryLevelSystemCall} and is created once per controller call and controller role. The
+ * scenarios do not contain the input variable usages of the calls, these are supplied when the
+ * scenario is interpreted. Hence, the variable usages remain contained in their
+ * {@link ControllerCallInputVariableUsage}s.
+ */
+public class ControllerScenarioTemplates {
+
+	private final Map<ControllerCallInputVariableUsageCollection, Map<ControllerCall, EList<VariableUsage>>> inputVariableUsages = new HashMap<>();
+	private final Map<ControllerCall, Map<OperationProvidedRole, UsageScenario>> templates = new HashMap<>();
+	private long numberOfCreatedTemplates = 0;
+
+	/**
+	 * Gets the {@link VariableUsage}s of the given collection grouped by the {@link ControllerCall}
+	 * they are input of. The grouping is computed once per collection.
+	 * 
+	 * @param controllerCallsInputVariableUsages
+	 *            The {@link ControllerCallInputVariableUsageCollection} model element which
+	 *            contains the {@link ControllerCallInputVariableUsage}s.
+	 * @return The unmodifiable variable usages per controller call.
+	 */
+	public Map<ControllerCall, EList<VariableUsage>> getInputVariableUsagesPerControllerCall(
+			ControllerCallInputVariableUsageCollection controllerCallsInputVariableUsages) {
+		return this.inputVariableUsages.computeIfAbsent(Objects.requireNonNull(controllerCallsInputVariableUsages),
+				collection -> collection.getControllerCallInputVariableUsages().stream()
+						.collect(groupingBy(ControllerCallInputVariableUsage::getCorrespondingControllerCall,
+								mapping(ControllerCallInputVariableUsage::getVariableUsage,
+										collectingAndThen(toCollection(BasicEList<VariableUsage>::new),
+												ECollections::unmodifiableEList)))));
+	}
+
+	/**
+	 * Gets the usage scenario executing the given controller call via the given role. The scenario
+	 * is shared by all executions of the call and must not be modified.
+	 * 
+	 * @param controllerCall
+	 *            The {@link ControllerCall} to execute.
+	 * @param controllerRole
+	 *            The role providing the called signature.
+	 * @return The usage scenario.
+	 */
+	public UsageScenario getTemplate(ControllerCall controllerCall, OperationProvidedRole controllerRole) {
+		Map<OperationProvidedRole, UsageScenario> templatesPerRole = this.templates
+				.computeIfAbsent(Objects.requireNonNull(controllerCall), call -> new HashMap<>());
+		UsageScenario template = templatesPerRole.get(Objects.requireNonNull(controllerRole));
+		if (template == null) {
+			template = createTemplate(controllerCall, controllerRole);
+			templatesPerRole.put(controllerRole, template);
+			this.numberOfCreatedTemplates++;
+		}
+		return template;
+	}
+
+	/**
+	 * @return The number of usage scenarios created so far.
+	 */
+	public long getNumberOfCreatedTemplates() {
+		return this.numberOfCreatedTemplates;
+	}
+
+	/**
+	 * Removes all cached usage scenarios and variable usages.
+	 */
+	public void clear() {
+		this.inputVariableUsages.clear();
+		this.templates.clear();
+	}
+
+	private static UsageScenario createTemplate(ControllerCall controllerCall, OperationProvidedRole controllerRole) {
+		UsageScenario usageScenario = UsagemodelFactory.eINSTANCE.createUsageScenario();
+		ScenarioBehaviour behaviour = UsagemodelFactory.eINSTANCE.createScenarioBehaviour();
+		usageScenario.setScenarioBehaviour_UsageScenario(behaviour);
+		List<AbstractUserAction> actions = behaviour.getActions_ScenarioBehaviour();
+		Start start = UsagemodelFactory.eINSTANCE.createStart();
+		EntryLevelSystemCall sysCall = UsagemodelFactory.eINSTANCE.createEntryLevelSystemCall();
+		Stop stop = UsagemodelFactory.eINSTANCE.createStop();
+		actions.add(start);
+		actions.add(sysCall);
+		actions.add(stop);
+		sysCall.setOperationSignature__EntryLevelSystemCall(controllerCall.getCalledSignature());
+		sysCall.setProvidedRole_EntryLevelSystemCall(controllerRole);
+		start.setSuccessor(sysCall);
+		sysCall.setSuccessor(stop);
+		return usageScenario;
+	}
+}
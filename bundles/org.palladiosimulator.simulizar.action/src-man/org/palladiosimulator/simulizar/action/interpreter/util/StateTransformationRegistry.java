@@ -0,0 +1,139 @@
+package org.palladiosimulator.simulizar.action.interpreter.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.Platform;
+import org.palladiosimulator.simulizar.action.core.StateTransformingStep;
+import org.palladiosimulator.simulizar.action.interpreter.AbstractStateTransformation;
+
+/**
+ * Registry of the {@link AbstractStateTransformation}s of {@link StateTransformingStep}s. The
+ * factory of each state transformation is resolved only once, when it is requested for the first
+ * time, and is reused afterwards. State transformations may keep state between the calls of
+ * {@link AbstractStateTransformation#execute(org.palladiosimulator.simulizar.action.instance.RoleSet)},
+ * so each request creates a new instance, as the extension registry would.
+ */
+public class StateTransformationRegistry {
+	private static final Logger LOGGER = Logger.getLogger(StateTransformationRegistry.class);
+	private static final String STATE_TRANSFORMING_EXT_POINT_ID = "org.palladiosimulator.simulizar.action.stratetransformation";
+	private static final String STATE_TRANSFORMING_CLASS_NAME = "class";
+
+	private final Function<String, Supplier<AbstractStateTransformation>> resolver;
+	private final Map<String, Supplier<AbstractStateTransformation>> stateTransformationFactories = new HashMap<>();
+	private long numberOfResolutions = 0;
+	private long numberOfLookups = 0;
+
+	/**
+	 * Initializes a new instance of the {@link StateTransformationRegistry} class which resolves
+	 * state transformations via the extension registry.
+	 */
+	public StateTransformationRegistry() {
+		this(StateTransformationRegistry::resolveFromExtensionRegistry);
+	}
+
+	/**
+	 * Initializes a new instance of the {@link StateTransformationRegistry} class.
+	 * 
+	 * @param resolver
+	 *            The function used to resolve the factory of the state transformation of an
+	 *            extension id.
+	 */
+	public StateTransformationRegistry(Function<String, Supplier<AbstractStateTransformation>> resolver) {
+		this.resolver = Objects.requireNonNull(resolver);
+	}
+
+	/**
+	 * Creates the state transformation registered for the given extension id.
+	 * 
+	 * @param extensionId
+	 *            The id of the extension contributing the state transformation, i.e., the id of a
+	 *            {@link StateTransformingStep}.
+	 * @return A new instance of the state transformation.
+	 * @throws IllegalStateException
+	 *             In case no state transformation is registered for the given id or it cannot be
+	 *             instantiated.
+	 */
+	public AbstractStateTransformation getStateTransformation(String extensionId) {
+		return this.getStateTransformationFactory(extensionId).get();
+	}
+
+	/**
+	 * Gets the factory of the state transformation registered for the given extension id.
+	 * 
+	 * @param extensionId
+	 *            The id of the extension contributing the state transformation, i.e., the id of a
+	 *            {@link StateTransformingStep}.
+	 * @return The factory, creating a new instance of the state transformation on each call.
+	 * @throws IllegalStateException
+	 *             In case no state transformation is registered for the given id.
+	 */
+	public Supplier<AbstractStateTransformation> getStateTransformationFactory(String extensionId) {
+		this.numberOfLookups++;
+		Supplier<AbstractStateTransformation> factory = this.stateTransformationFactories.get(extensionId);
+		if (factory == null) {
+			factory = this.resolver.apply(extensionId);
+			this.numberOfResolutions++;
+			this.stateTransformationFactories.put(extensionId, factory);
+		}
+		return factory;
+	}
+
+	/**
+	 * @return The number of times a state transformation has been resolved, i.e., the extension
+	 *         registry has been queried.
+	 */
+	public long getNumberOfResolutions() {
+		return this.numberOfResolutions;
+	}
+
+	/**
+	 * @return The number of times a state transformation has been requested.
+	 */
+	public long getNumberOfLookups() {
+		return this.numberOfLookups;
+	}
+
+	/**
+	 * Removes all resolved state transformation factories.
+	 */
+	public void clear() {
+		this.stateTransformationFactories.clear();
+	}
+
+	private static Supplier<AbstractStateTransformation> resolveFromExtensionRegistry(String extensionId) {
+		Optional<IExtension> stateTransformingExtension = Arrays
+				.stream(Platform.getExtensionRegistry().getExtensionPoint(STATE_TRANSFORMING_EXT_POINT_ID)
+						.getExtensions())
+				.filter(extension -> extension.getUniqueIdentifier().equals(extensionId)).findAny();
+		IExtension extension = stateTransformingExtension.orElseThrow(() -> new IllegalStateException(
+				"No state transformation registered for State Transforming Step " + extensionId));
+		for (IConfigurationElement element : extension.getConfigurationElements()) {
+			if (element.getAttribute(STATE_TRANSFORMING_CLASS_NAME) != null) {
+				return () -> createStateTransformation(element, extensionId);
+			}
+		}
+		throw new IllegalStateException(
+				"No state transformation registered for State Transforming Step " + extensionId);
+	}
+
+	private static AbstractStateTransformation createStateTransformation(IConfigurationElement element,
+			String extensionId) {
+		try {
+			return (AbstractStateTransformation) element.createExecutableExtension(STATE_TRANSFORMING_CLASS_NAME);
+		} catch (CoreException e) {
+			LOGGER.error("Cannot create the state transformation of State Transforming Step " + extensionId, e);
+			throw new IllegalStateException(
+					"Cannot create the state transformation of State Transforming Step " + extensionId, e);
+		}
+	}
+}
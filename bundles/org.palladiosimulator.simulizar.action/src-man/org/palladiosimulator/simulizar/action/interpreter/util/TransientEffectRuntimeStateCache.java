@@ -0,0 +1,171 @@
+package org.palladiosimulator.simulizar.action.interpreter.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.palladiosimulator.probeframework.probes.Probe;
+import org.palladiosimulator.simulizar.access.IModelAccess;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.action.core.AdaptationBehavior;
+import org.palladiosimulator.simulizar.action.interpreter.AdaptationExecutionPlan;
+import org.palladiosimulator.simulizar.reconfiguration.qvto.util.ModelTransformationCache;
+import org.palladiosimulator.simulizar.reconfiguration.qvto.util.QVToModelCache;
+
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+import de.uka.ipd.sdq.simucomframework.probes.TakeCurrentSimulationTimeProbe;
+
+/**
+ * Caches everything the interpretation of adaptation behaviors within a single Simulizar run can
+ * reuse across executions: the QVTo transformations, the factories of the state transformations,
+ * the models available to the transformations, the controller scenarios, and the
+ * {@link AdaptationExecutionPlan}s.
+ * 
+ * @see TransientEffectTransformationCacheKeeper
+ */
+public class TransientEffectRuntimeStateCache {
+
+	private final IModelAccess modelAccess;
+	private final ModelTransformationCache transformationCache = new ModelTransformationCache();
+	private final StateTransformationRegistry stateTransformationRegistry;
+	private final ControllerScenarioTemplates controllerScenarioTemplates = new ControllerScenarioTemplates();
+	private final Map<AdaptationBehavior, AdaptationExecutionPlan> executionPlans = new HashMap<>();
+
+	private QVToModelCache availableModels;
+	private long availableModelsRevision;
+	private List<Probe> controllerUsageStartStopProbes;
+	private long numberOfModelCacheRefreshes = 0;
+	private long numberOfPlanCompilations = 0;
+	private long numberOfPlanReuses = 0;
+
+	/**
+	 * Initializes a new instance of the {@link TransientEffectRuntimeStateCache} class.
+	 * 
+	 * @param modelAccess
+	 *            The {@link IModelAccess} of the Simulizar run.
+	 * @param stateTransformationRegistry
+	 *            The registry to use for the resolution of state transformations.
+	 */
+	public TransientEffectRuntimeStateCache(IModelAccess modelAccess,
+			StateTransformationRegistry stateTransformationRegistry) {
+		this.modelAccess = Objects.requireNonNull(modelAccess);
+		this.stateTransformationRegistry = Objects.requireNonNull(stateTransformationRegistry);
+	}
+
+	public ModelTransformationCache getTransformationCache() {
+		return this.transformationCache;
+	}
+
+	public StateTransformationRegistry getStateTransformationRegistry() {
+		return this.stateTransformationRegistry;
+	}
+
+	/**
+	 * Creates a snapshot of the models available to transformations. The underlying
+	 * {@link QVToModelCache} is only rebuilt if the global PCM model has changed since it has been
+	 * built last.
+	 * 
+	 * @return A {@link QVToModelCache} which may be modified by the caller.
+	 * @see ModelAccess#getGlobalModelRevision()
+	 */
+	public QVToModelCache snapshotAvailableModels() {
+		if (this.availableModels == null || !(this.modelAccess instanceof ModelAccess)
+				|| ((ModelAccess) this.modelAccess).getGlobalModelRevision() != this.availableModelsRevision) {
+			if (this.modelAccess instanceof ModelAccess) {
+				this.availableModelsRevision = ((ModelAccess) this.modelAccess).getGlobalModelRevision();
+			}
+			this.availableModels = new QVToModelCache(this.modelAccess);
+			this.numberOfModelCacheRefreshes++;
+		}
+		return this.availableModels.snapshot();
+	}
+
+	public ControllerScenarioTemplates getControllerScenarioTemplates() {
+		return this.controllerScenarioTemplates;
+	}
+
+	/**
+	 * Gets the probes taking the start and stop time of controller calls. The probes are shared by
+	 * all controller calls of the run.
+	 * 
+	 * @param model
+	 *            The {@link SimuComModel} of the run.
+	 * @return The unmodifiable list of the start probe and the stop probe.
+	 */
+	public List<Probe> getControllerUsageStartStopProbes(SimuComModel model) {
+		if (this.controllerUsageStartStopProbes == null) {
+			this.controllerUsageStartStopProbes = Collections.unmodifiableList(
+					Arrays.asList((Probe) new TakeCurrentSimulationTimeProbe(model.getSimulationControl()),
+							(Probe) new TakeCurrentSimulationTimeProbe(model.getSimulationControl())));
+		}
+		return this.controllerUsageStartStopProbes;
+	}
+
+	/**
+	 * Gets the execution plan of the given adaptation behavior, compiling it on first request.
+	 * 
+	 * @param adaptationBehavior
+	 *            The {@link AdaptationBehavior} to execute.
+	 * @param compiler
+	 *            The function compiling the plan, if none is cached yet.
+	 * @return The cached or newly compiled plan.
+	 */
+	public AdaptationExecutionPlan getExecutionPlan(AdaptationBehavior adaptationBehavior,
+			Function<AdaptationBehavior, AdaptationExecutionPlan> compiler) {
+		AdaptationExecutionPlan plan = this.executionPlans.get(Objects.requireNonNull(adaptationBehavior));
+		if (plan == null) {
+			plan = compiler.apply(adaptationBehavior);
+			this.executionPlans.put(adaptationBehavior, plan);
+			this.numberOfPlanCompilations++;
+		} else {
+			this.numberOfPlanReuses++;
+		}
+		return plan;
+	}
+
+	/**
+	 * @return The number of times the models available to transformations have been collected.
+	 */
+	public long getNumberOfModelCacheRefreshes() {
+		return this.numberOfModelCacheRefreshes;
+	}
+
+	/**
+	 * @return The number of compiled execution plans.
+	 */
+	public long getNumberOfPlanCompilations() {
+		return this.numberOfPlanCompilations;
+	}
+
+	/**
+	 * @return The number of times a cached execution plan has been reused.
+	 */
+	public long getNumberOfPlanReuses() {
+		return this.numberOfPlanReuses;
+	}
+
+	/**
+	 * Invalidates all caches.
+	 */
+	public void clear() {
+		this.transformationCache.clear();
+		this.stateTransformationRegistry.clear();
+		this.controllerScenarioTemplates.clear();
+		this.controllerUsageStartStopProbes = null;
+		this.executionPlans.clear();
+		this.availableModels = null;
+	}
+
+	@Override
+	public String toString() {
+		return "execution plans compiled: " + this.numberOfPlanCompilations + ", reused: " + this.numberOfPlanReuses
+				+ "; model cache refreshes: " + this.numberOfModelCacheRefreshes + "; state transformations resolved: "
+				+ this.stateTransformationRegistry.getNumberOfResolutions() + ", looked up: "
+				+ this.stateTransformationRegistry.getNumberOfLookups() + "; controller scenarios created: "
+				+ this.controllerScenarioTemplates.getNumberOfCreatedTemplates();
+	}
+}
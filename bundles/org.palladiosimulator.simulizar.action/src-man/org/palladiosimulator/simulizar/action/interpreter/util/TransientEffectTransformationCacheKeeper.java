@@ -3,27 +3,36 @@ package org.palladiosimulator.simulizar.action.interpreter.util;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.log4j.Logger;
 import org.palladiosimulator.simulizar.modelobserver.IModelObserver;
 import org.palladiosimulator.simulizar.reconfiguration.qvto.util.ModelTransformationCache;
 import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
 
 public class TransientEffectTransformationCacheKeeper implements IModelObserver {
-	protected static Map<AbstractSimuLizarRuntimeState, ModelTransformationCache> CACHE_MAP = new HashMap<>();
+	private static final Logger LOGGER = Logger.getLogger(TransientEffectTransformationCacheKeeper.class);
+	protected static Map<AbstractSimuLizarRuntimeState, TransientEffectRuntimeStateCache> CACHE_MAP = new HashMap<>();
 	protected AbstractSimuLizarRuntimeState runtimeState = null;
 
 	public static ModelTransformationCache getTransformationCacheForRuntimeState(AbstractSimuLizarRuntimeState state) {
+		TransientEffectRuntimeStateCache cache = getCacheForRuntimeState(state);
+		return cache == null ? null : cache.getTransformationCache();
+	}
+
+	public static TransientEffectRuntimeStateCache getCacheForRuntimeState(AbstractSimuLizarRuntimeState state) {
 		return TransientEffectTransformationCacheKeeper.CACHE_MAP.get(state);
 	}
 	
 	@Override
 	public void initialize(AbstractSimuLizarRuntimeState runtimeState) {
 		this.runtimeState = runtimeState;
-		TransientEffectTransformationCacheKeeper.CACHE_MAP.put(runtimeState, new ModelTransformationCache());
+		TransientEffectTransformationCacheKeeper.CACHE_MAP.put(runtimeState,
+				new TransientEffectRuntimeStateCache(runtimeState.getModelAccess(), new StateTransformationRegistry()));
 	}
 
 	@Override
 	public void unregister() {
-		ModelTransformationCache cache = TransientEffectTransformationCacheKeeper.CACHE_MAP.remove(this.runtimeState);
+		TransientEffectRuntimeStateCache cache = TransientEffectTransformationCacheKeeper.CACHE_MAP.remove(this.runtimeState);
+		LOGGER.debug("Transient effect caches: " + cache);
 		cache.clear();
 	}
 
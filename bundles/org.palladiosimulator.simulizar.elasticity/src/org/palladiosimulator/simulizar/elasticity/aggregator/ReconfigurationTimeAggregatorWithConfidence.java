@@ -1,134 +1,229 @@
 package org.palladiosimulator.simulizar.elasticity.aggregator;
 
+import java.util.List;
+import java.util.Objects;
+
 import javax.measure.Measure;
 import javax.measure.quantity.Duration;
 import javax.measure.unit.SI;
 
-import org.apache.log4j.Level;
-import org.apache.log4j.Logger;
 import org.palladiosimulator.measurementframework.MeasuringValue;
 import org.palladiosimulator.measurementframework.listener.IMeasurementSourceListener;
+import org.palladiosimulator.metricspec.NumericalBaseMetricDescription;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.simulizar.confidence.ConfidenceProgress;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStatistic;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStopCondition;
+import org.palladiosimulator.simulizar.confidence.ConfidenceTarget;
+import org.palladiosimulator.simulizar.confidence.IOnlineEstimator;
+import org.palladiosimulator.simulizar.warmup.IWarmupDetector;
 
 import de.uka.ipd.sdq.statistics.IBatchAlgorithm;
 import de.uka.ipd.sdq.statistics.estimation.ConfidenceInterval;
 import de.uka.ipd.sdq.statistics.estimation.IConfidenceEstimator;
 
+/**
+ * Aggregates the reconfiguration times of the runs of an elasticity analysis until the confidence
+ * interval of their mean is narrow enough. Adapts a {@link ConfidenceStopCondition} estimating the
+ * mean by batch means; unlike the condition, the reached confidence is kept once reached, as the
+ * analysis decides between runs whether to start another one. Reconfiguration times of 0, i.e.
+ * rounds without reconfiguration, are skipped. As before, the confidence is not decided before
+ * {@value #MINIMUM_BATCHES} batches of initially {@value #BATCH_SIZE} reconfiguration times are
+ * complete. If a warm-up detector is given, reconfiguration times are only estimated from once the
+ * steady state has been detected.
+ */
 public class ReconfigurationTimeAggregatorWithConfidence implements IMeasurementSourceListener {
 
-	private static final Logger LOGGER = Logger.getLogger(ReconfigurationTimeAggregatorWithConfidence.class);
-
-    /** mean of the observations and the corresponding confidence interval */
-    private ConfidenceInterval confidence;
-
-    private boolean confidenceReached = false;
-
-    private final IBatchAlgorithm batchAlgorithm;
-
-    private final IConfidenceEstimator estimator;
-
-    private final double confidenceLevel;
-
-    private final double halfWidth;
-
-    private int minBatches;
-
-    /**
-     *
-     */
-    public ReconfigurationTimeAggregatorWithConfidence(final IBatchAlgorithm batchAlgorithm,
-            final IConfidenceEstimator estimator, final double confidenceLevel, final double halfWidth) {
-        this.batchAlgorithm = batchAlgorithm;
-        this.estimator = estimator;
-        this.confidenceLevel = confidenceLevel;
-        this.halfWidth = halfWidth;
-        this.minBatches = 0;
-    }
-
-    /*
-     * (non-Javadoc)
-     *
-     * @see
-     * org.palladiosimulator.measurementframework.IMeasurementSourceListener#newMeasurementAvailable
-     * (org.palladiosimulator.measurementframework.AbstractMeasureProvider)
-     */
-    @Override
-    public void newMeasurementAvailable(final MeasuringValue measurement) {
-    	final Measure<Double, Duration> responseTimeMeasure = measurement
-                .getMeasureForMetric(MetricDescriptionConstants.RECONFIGURATION_TIME_METRIC);
-        final double responseTime = responseTimeMeasure.doubleValue(SI.SECOND);
-        if(responseTime == 0.0){
-        	return;
-        }
-
-        batchAlgorithm.offerSample(responseTime);
-        if (batchAlgorithm.hasValidBatches() && batchAlgorithm.getBatchMeans().size() >= minBatches) {
-            // estimate actual confidence interval
-            final ConfidenceInterval ci = estimator.estimateConfidence(batchAlgorithm.getBatchMeans(), confidenceLevel);
-
-            if (ci != null) {
-                // construct target confidence interval
-                final ConfidenceInterval targetCI = new ConfidenceInterval(ci.getMean(), halfWidth, confidenceLevel);
-                StringBuilder sb = new StringBuilder();
-                sb.append("\n\tLevel:\t\t" + ci.getLevel());
-                sb.append("\n\tTarget level:\t" + targetCI.getLevel());
-                sb.append("\n\n\tMean:\t\t" + ci.getMean());
-                sb.append("\n\tTarget mean:\t" + targetCI.getMean());
-                sb.append("\n\n\tTarget lower bound:\t" + targetCI.getLowerBound());
-                sb.append("\n\tLower bound:\t\t" + ci.getLowerBound());
-                sb.append("\n\tDifference:\t\t" + (ci.getLowerBound() - targetCI.getLowerBound()));
-                sb.append("\n\n\tUpper bound: \t\t" + ci.getUpperBound());
-                sb.append("\n\tTarget upper bound: \t" + targetCI.getUpperBound());
-                sb.append("\n\tDifference:\t\t" + (targetCI.getUpperBound() - ci.getUpperBound()));
-                LOGGER.info(sb.toString());
-                if (targetCI.contains(ci)) {
-                    if (LOGGER.isEnabledFor(Level.INFO)) {
-                        LOGGER.info("Requested confidence reached.");
-                    }
-                    confidenceReached = true;
-                    this.confidence = ci;
-
-                    // request another batch in order to proceed with improving
-                    // confidence interval's half-width until the simulation
-                    // actually stops.
-                    minBatches = batchAlgorithm.getBatchMeans().size() + 1;
-                } else {
-                    if (LOGGER.isEnabledFor(Level.INFO)) {
-                        LOGGER.info("Requested confidence not yet reached.");
-                    }
-
-                    // request another batch in order to reduce the confidence
-                    // interval's half-width
-                    minBatches = batchAlgorithm.getBatchMeans().size() + 1;
-                }
-                if (LOGGER.isEnabledFor(Level.INFO)) {
-                    LOGGER.info("Current confidence interval: Mean " + ci.getMean() + ", " + confidenceLevel * 100
-                            + "% Confidence Interval " + "[" + ci.getLowerBound() + "," + ci.getUpperBound() + "]");
-                }
-            }
-        }
-    }
-
-    /*
-     * (non-Javadoc)
-     *
-     * @see org.palladiosimulator.measurementframework.IMeasurementSourceListener#preUnregister()
-     */
-    @Override
-    public void preUnregister() {
-        // Nothing to do
-    }
+	/** Initial number of reconfiguration times per batch. */
+	public static final int BATCH_SIZE = 5;
+
+	/** Number of batches below which the confidence is never reached. */
+	public static final int MINIMUM_BATCHES = 5;
+
+	private final ConfidenceStopCondition condition;
+
+	/** mean of the observations and the corresponding confidence interval */
+	private ConfidenceInterval confidence;
+
+	private boolean confidenceReached = false;
+
+	/**
+	 * Creates an aggregator considering all reconfiguration times.
+	 *
+	 * @param confidenceLevel
+	 *            the confidence level. Use values between 0 and 1.
+	 * @param halfWidth
+	 *            the relative half width of the target confidence interval. Use values between 0
+	 *            and 1.
+	 */
+	public ReconfigurationTimeAggregatorWithConfidence(final double confidenceLevel, final double halfWidth) {
+		this(confidenceLevel, halfWidth, null);
+	}
+
+	/**
+	 * @param confidenceLevel
+	 *            the confidence level. Use values between 0 and 1.
+	 * @param halfWidth
+	 *            the relative half width of the target confidence interval. Use values between 0
+	 *            and 1.
+	 * @param warmupDetector
+	 *            the detector of the end of the warm-up of the reconfiguration times, or
+	 *            <code>null</code> if all reconfiguration times are considered.
+	 */
+	public ReconfigurationTimeAggregatorWithConfidence(final double confidenceLevel, final double halfWidth,
+			final IWarmupDetector warmupDetector) {
+		final ConfidenceTarget target = createTarget(confidenceLevel, halfWidth);
+		this.condition = new ConfidenceStopCondition(target, getMetric(), target.createEstimator(), MINIMUM_BATCHES,
+				warmupDetector);
+		this.condition.addProgressListener(this::progressUpdated);
+	}
+
+	/**
+	 * Creates an aggregator batching the reconfiguration times by the given batch algorithm and
+	 * estimating the confidence interval of their mean by the given estimator from the batch means.
+	 * The confidence is decided as soon as the batch algorithm has valid batches.
+	 *
+	 * @param batchAlgorithm
+	 *            the batch algorithm the reconfiguration times are offered to.
+	 * @param estimator
+	 *            the estimator of the confidence interval from the batch means.
+	 * @param confidenceLevel
+	 *            the confidence level. Use values between 0 and 1.
+	 * @param halfWidth
+	 *            the relative half width of the target confidence interval. Use values between 0
+	 *            and 1.
+	 * @throws NullPointerException
+	 *             if the batch algorithm or the estimator is <code>null</code>.
+	 * @deprecated Use {@link #ReconfigurationTimeAggregatorWithConfidence(double, double, IWarmupDetector)},
+	 *             which batches and estimates in constant time per reconfiguration time.
+	 */
+	@Deprecated
+	public ReconfigurationTimeAggregatorWithConfidence(final IBatchAlgorithm batchAlgorithm,
+			final IConfidenceEstimator estimator, final double confidenceLevel, final double halfWidth) {
+		this.condition = new ConfidenceStopCondition(createTarget(confidenceLevel, halfWidth), getMetric(),
+				new BatchAlgorithmEstimator(batchAlgorithm, estimator), 1, null);
+		this.condition.addProgressListener(this::progressUpdated);
+	}
+
+	private static NumericalBaseMetricDescription getMetric() {
+		return (NumericalBaseMetricDescription) MetricDescriptionConstants.RECONFIGURATION_TIME_METRIC;
+	}
+
+	private static ConfidenceTarget createTarget(final double confidenceLevel, final double halfWidth) {
+		return new ConfidenceTarget("Reconfiguration Time", getMetric().getName(), ConfidenceStatistic.MEAN, 0.5,
+				confidenceLevel, halfWidth, true, BATCH_SIZE);
+	}
+
+	@Override
+	public void newMeasurementAvailable(final MeasuringValue measurement) {
+		final Measure<Double, Duration> reconfigurationTimeMeasure = measurement
+				.getMeasureForMetric(MetricDescriptionConstants.RECONFIGURATION_TIME_METRIC);
+		final double reconfigurationTime = reconfigurationTimeMeasure.doubleValue(SI.SECOND);
+		if (reconfigurationTime == 0.0) {
+			return;
+		}
+		this.condition.offerSample(reconfigurationTime);
+	}
+
+	private void progressUpdated(final ConfidenceProgress progress) {
+		if (progress.isConfidenceReached()) {
+			this.confidenceReached = true;
+			// the half width of the interval is relative to its mean
+			this.confidence = new ConfidenceInterval(progress.getEstimate(),
+					progress.getHalfWidth() / Math.abs(progress.getEstimate()),
+					progress.getTarget().getConfidenceLevel());
+		}
+	}
+
+	@Override
+	public void preUnregister() {
+		// Nothing to do
+	}
 
 	public boolean isConfidenceReached() {
 		return confidenceReached;
 	}
 
-    public ConfidenceInterval getConfidence() {
-        return confidence;
-    }
-	
+	/**
+	 * @return the confidence interval of the mean reconfiguration time when the requested
+	 *         confidence was last reached, or <code>null</code> if it has not been reached.
+	 */
+	public ConfidenceInterval getConfidence() {
+		return confidence;
+	}
+
 	public void setConfidenceReached(boolean confidenceReached) {
 		this.confidenceReached = confidenceReached;
 	}
-    
+
+	/**
+	 * @return the adapted condition, e.g. to add progress listeners.
+	 */
+	public ConfidenceStopCondition getCondition() {
+		return this.condition;
+	}
+
+	/**
+	 * Adapts a batch algorithm and a confidence estimator of the statistics framework. The batch
+	 * algorithm decides when its batches are valid; the batches are counted from then on.
+	 */
+	private static final class BatchAlgorithmEstimator implements IOnlineEstimator {
+
+		private final IBatchAlgorithm batchAlgorithm;
+		private final IConfidenceEstimator estimator;
+		private long samples = 0;
+		private double sum = 0.0;
+		private int batches = 0;
+
+		private BatchAlgorithmEstimator(final IBatchAlgorithm batchAlgorithm, final IConfidenceEstimator estimator) {
+			this.batchAlgorithm = Objects.requireNonNull(batchAlgorithm, "batchAlgorithm");
+			this.estimator = Objects.requireNonNull(estimator, "estimator");
+		}
+
+		@Override
+		public boolean offerSample(final double value) {
+			this.samples++;
+			this.sum += value;
+			this.batchAlgorithm.offerSample(value);
+			final int validBatches = this.batchAlgorithm.hasValidBatches() ? this.batchAlgorithm.getBatchMeans().size()
+					: 0;
+			final boolean completed = validBatches != this.batches;
+			this.batches = validBatches;
+			return completed;
+		}
+
+		@Override
+		public double getPointEstimate() {
+			return this.samples == 0 ? Double.NaN : this.sum / this.samples;
+		}
+
+		@Override
+		public double getHalfWidth(final double confidenceLevel) {
+			if (this.batches < 2) {
+				return Double.NaN;
+			}
+			final List<Double> batchMeans = this.batchAlgorithm.getBatchMeans();
+			final ConfidenceInterval interval = this.estimator.estimateConfidence(batchMeans, confidenceLevel);
+			return interval == null ? Double.NaN : (interval.getUpperBound() - interval.getLowerBound()) / 2;
+		}
+
+		@Override
+		public int getBatchCount() {
+			return this.batches;
+		}
+
+		/**
+		 * @return the average number of samples per batch, as batch algorithms do not tell their
+		 *         batch size.
+		 */
+		@Override
+		public int getBatchSize() {
+			return this.batches == 0 ? 0 : (int) (this.samples / this.batches);
+		}
+
+		@Override
+		public long getSampleCount() {
+			return this.samples;
+		}
+	}
 }
@@ -0,0 +1,149 @@
+package org.palladiosimulator.simulizar.elasticity.configuration;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
+import org.eclipse.debug.ui.AbstractLaunchConfigurationTab;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Text;
+import org.palladiosimulator.simulizar.elasticity.doe.DesignOfExperimentsConfiguration;
+
+/**
+ * Tab configuring the parameters and the design of a design of experiments.
+ */
+public class DesignOfExperimentsTab extends AbstractLaunchConfigurationTab {
+
+    private static final String[] DESIGNS = { DesignOfExperimentsConfiguration.FULL_FACTORIAL_DESIGN,
+            DesignOfExperimentsConfiguration.LATIN_HYPERCUBE_DESIGN };
+
+    private Text parameters;
+    private Combo design;
+    private Text numberOfDesignPoints;
+    private Text seed;
+    private Text parallelism;
+
+    @Override
+    public void createControl(final Composite parent) {
+        final ModifyListener modifyListener = e -> {
+            DesignOfExperimentsTab.this.setDirty(true);
+            DesignOfExperimentsTab.this.updateLaunchConfigurationDialog();
+        };
+
+        final Composite container = new Composite(parent, SWT.NONE);
+        setControl(container);
+        container.setLayout(new GridLayout());
+
+        final Group parameterGroup = new Group(container, SWT.NONE);
+        parameterGroup.setText("Parameters (name;config:<attribute> or model:<id>#<feature path>;template;levels)");
+        parameterGroup.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+        parameterGroup.setLayout(new GridLayout());
+        this.parameters = new Text(parameterGroup, SWT.MULTI | SWT.BORDER | SWT.V_SCROLL | SWT.H_SCROLL);
+        this.parameters.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+        this.parameters.addModifyListener(modifyListener);
+
+        final Group designGroup = new Group(container, SWT.NONE);
+        designGroup.setText("Design");
+        designGroup.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        designGroup.setLayout(new GridLayout(2, false));
+        new Label(designGroup, SWT.NONE).setText("Design:");
+        this.design = new Combo(designGroup, SWT.READ_ONLY);
+        this.design.setItems(DESIGNS);
+        this.design.addModifyListener(modifyListener);
+        new Label(designGroup, SWT.NONE).setText("Design points (Latin hypercube):");
+        this.numberOfDesignPoints = this.createText(designGroup, modifyListener);
+        new Label(designGroup, SWT.NONE).setText("Seed (Latin hypercube):");
+        this.seed = this.createText(designGroup, modifyListener);
+        new Label(designGroup, SWT.NONE).setText("Concurrent simulations:");
+        this.parallelism = this.createText(designGroup, modifyListener);
+    }
+
+    private Text createText(final Composite parent, final ModifyListener modifyListener) {
+        final Text result = new Text(parent, SWT.SINGLE | SWT.BORDER);
+        result.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        result.addModifyListener(modifyListener);
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return "Design of Experiments";
+    }
+
+    @Override
+    public void initializeFrom(final ILaunchConfiguration configuration) {
+        try {
+            this.parameters.setText(configuration.getAttribute(DesignOfExperimentsConfiguration.PARAMETERS, ""));
+            this.design.setText(configuration.getAttribute(DesignOfExperimentsConfiguration.DESIGN,
+                    DesignOfExperimentsConfiguration.DEFAULT_DESIGN));
+            this.numberOfDesignPoints
+                    .setText(configuration.getAttribute(DesignOfExperimentsConfiguration.NUMBER_OF_DESIGN_POINTS,
+                            Integer.toString(DesignOfExperimentsConfiguration.DEFAULT_NUMBER_OF_DESIGN_POINTS)));
+            this.seed.setText(configuration.getAttribute(DesignOfExperimentsConfiguration.SEED,
+                    Long.toString(DesignOfExperimentsConfiguration.DEFAULT_SEED)));
+            this.parallelism.setText(configuration.getAttribute(DesignOfExperimentsConfiguration.PARALLELISM,
+                    Integer.toString(DesignOfExperimentsConfiguration.DEFAULT_PARALLELISM)));
+        } catch (final CoreException e) {
+            this.parameters.setText("");
+            this.design.setText(DesignOfExperimentsConfiguration.DEFAULT_DESIGN);
+            this.numberOfDesignPoints
+                    .setText(Integer.toString(DesignOfExperimentsConfiguration.DEFAULT_NUMBER_OF_DESIGN_POINTS));
+            this.seed.setText(Long.toString(DesignOfExperimentsConfiguration.DEFAULT_SEED));
+            this.parallelism.setText(Integer.toString(DesignOfExperimentsConfiguration.DEFAULT_PARALLELISM));
+        }
+    }
+
+    @Override
+    public boolean isValid(final ILaunchConfiguration launchConfig) {
+        setErrorMessage(null);
+        try {
+            DesignOfExperimentsConfiguration.parseParameters(this.parameters.getText());
+            if (Integer.parseInt(this.numberOfDesignPoints.getText().trim()) <= 0) {
+                setErrorMessage("The number of design points must be positive.");
+                return false;
+            }
+            Long.parseLong(this.seed.getText().trim());
+            if (Integer.parseInt(this.parallelism.getText().trim()) <= 0) {
+                setErrorMessage("The number of concurrent simulations must be positive.");
+                return false;
+            }
+        } catch (final IllegalArgumentException e) {
+            setErrorMessage(e.getMessage());
+            return false;
+        }
+        if (this.parameters.getText().trim().isEmpty()) {
+            setErrorMessage("At least one design parameter is required.");
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void performApply(final ILaunchConfigurationWorkingCopy configuration) {
+        configuration.setAttribute(DesignOfExperimentsConfiguration.PARAMETERS, this.parameters.getText());
+        configuration.setAttribute(DesignOfExperimentsConfiguration.DESIGN, this.design.getText());
+        configuration.setAttribute(DesignOfExperimentsConfiguration.NUMBER_OF_DESIGN_POINTS,
+                this.numberOfDesignPoints.getText().trim());
+        configuration.setAttribute(DesignOfExperimentsConfiguration.SEED, this.seed.getText().trim());
+        configuration.setAttribute(DesignOfExperimentsConfiguration.PARALLELISM, this.parallelism.getText().trim());
+    }
+
+    @Override
+    public void setDefaults(final ILaunchConfigurationWorkingCopy configuration) {
+        configuration.setAttribute(DesignOfExperimentsConfiguration.PARAMETERS, "");
+        configuration.setAttribute(DesignOfExperimentsConfiguration.DESIGN,
+                DesignOfExperimentsConfiguration.DEFAULT_DESIGN);
+        configuration.setAttribute(DesignOfExperimentsConfiguration.NUMBER_OF_DESIGN_POINTS,
+                Integer.toString(DesignOfExperimentsConfiguration.DEFAULT_NUMBER_OF_DESIGN_POINTS));
+        configuration.setAttribute(DesignOfExperimentsConfiguration.SEED,
+                Long.toString(DesignOfExperimentsConfiguration.DEFAULT_SEED));
+        configuration.setAttribute(DesignOfExperimentsConfiguration.PARALLELISM,
+                Integer.toString(DesignOfExperimentsConfiguration.DEFAULT_PARALLELISM));
+    }
+}
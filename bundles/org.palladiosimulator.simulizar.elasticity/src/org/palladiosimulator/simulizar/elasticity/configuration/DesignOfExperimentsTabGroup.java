@@ -0,0 +1,23 @@
+package org.palladiosimulator.simulizar.elasticity.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.debug.ui.ILaunchConfigurationDialog;
+import org.eclipse.debug.ui.ILaunchConfigurationTab;
+
+/**
+ * Configuration tabs of a design of experiments: the SimuLizar tabs followed by the
+ * {@link DesignOfExperimentsTab}.
+ */
+public class DesignOfExperimentsTabGroup extends InterpreterConfigurationTab {
+
+    @Override
+    public void createTabs(final ILaunchConfigurationDialog dialog, final String mode) {
+        super.createTabs(dialog, mode);
+        final List<ILaunchConfigurationTab> tabs = new ArrayList<ILaunchConfigurationTab>(Arrays.asList(getTabs()));
+        tabs.add(1, new DesignOfExperimentsTab());
+        setTabs(tabs.toArray(new ILaunchConfigurationTab[] {}));
+    }
+}
@@ -0,0 +1,37 @@
+package org.palladiosimulator.simulizar.elasticity.doe;
+
+import java.util.Map;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+/**
+ * Design parameter varying a launch configuration attribute, e.g. the maximum simulation time or a
+ * configuration option read by a reconfiguration engine.
+ */
+public class ConfigurationDesignParameter extends DesignParameter {
+
+    private final String attributeKey;
+
+    /**
+     * @param attributeKey
+     *            key of the launch configuration attribute to vary.
+     * @param valueTemplate
+     *            format template with exactly one argument rendering a numeric value.
+     * @param levels
+     *            the levels of the parameter.
+     */
+    public ConfigurationDesignParameter(final String attributeKey, final String valueTemplate,
+            final double... levels) {
+        super(attributeKey, valueTemplate, levels);
+        this.attributeKey = attributeKey;
+    }
+
+    public String getAttributeKey() {
+        return this.attributeKey;
+    }
+
+    @Override
+    public void apply(final Map<String, Object> attributes, final ResourceSet models, final String value) {
+        attributes.put(this.attributeKey, value);
+    }
+}
@@ -0,0 +1,147 @@
+package org.palladiosimulator.simulizar.elasticity.doe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Design of experiments as configured by the attributes of a launch configuration.
+ * <p>
+ * The parameters are given one per line, each line consisting of four fields separated by
+ * semicolons: the name of the parameter, its target, the value template and the comma-separated
+ * levels. The target is either <code>config:</code> followed by the key of a launch configuration
+ * attribute (see {@link ConfigurationDesignParameter}), or <code>model:</code> followed by the id of
+ * a model element, a <code>#</code> and the feature path (see {@link ModelDesignParameter}), e.g.
+ *
+ * <pre>
+ * arrivals;model:_workload#interArrivalTime_OpenWorkload.specification;Exp(%s);0.5,1,2
+ * </pre>
+ */
+public class DesignOfExperimentsConfiguration {
+
+    public static final String PARAMETERS = "designOfExperimentsParameters";
+    public static final String DESIGN = "designOfExperimentsDesign";
+    public static final String NUMBER_OF_DESIGN_POINTS = "designOfExperimentsDesignPoints";
+    public static final String SEED = "designOfExperimentsSeed";
+    public static final String PARALLELISM = "designOfExperimentsParallelism";
+
+    public static final String FULL_FACTORIAL_DESIGN = "fullFactorial";
+    public static final String LATIN_HYPERCUBE_DESIGN = "latinHypercube";
+
+    public static final String DEFAULT_DESIGN = FULL_FACTORIAL_DESIGN;
+    public static final int DEFAULT_NUMBER_OF_DESIGN_POINTS = 10;
+    public static final long DEFAULT_SEED = 0;
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    private static final String CONFIGURATION_TARGET = "config:";
+    private static final String MODEL_TARGET = "model:";
+
+    private final List<DesignParameter> parameters;
+    private final IExperimentDesign design;
+    private final int parallelism;
+
+    /**
+     * Reads the design of experiments from launch configuration attributes; missing attributes
+     * take their default values.
+     *
+     * @param attributes
+     *            the launch configuration attributes.
+     * @throws IllegalArgumentException
+     *             if an attribute is malformed.
+     */
+    public DesignOfExperimentsConfiguration(final Map<String, Object> attributes) {
+        super();
+        this.parameters = parseParameters(getString(attributes, PARAMETERS, ""));
+        if (this.parameters.isEmpty()) {
+            throw new IllegalArgumentException("A design of experiments requires at least one parameter");
+        }
+        final String design = getString(attributes, DESIGN, DEFAULT_DESIGN);
+        if (FULL_FACTORIAL_DESIGN.equals(design)) {
+            this.design = new FullFactorialDesign();
+        } else if (LATIN_HYPERCUBE_DESIGN.equals(design)) {
+            this.design = new LatinHypercubeDesign(
+                    Integer.parseInt(getString(attributes, NUMBER_OF_DESIGN_POINTS,
+                            Integer.toString(DEFAULT_NUMBER_OF_DESIGN_POINTS))),
+                    Long.parseLong(getString(attributes, SEED, Long.toString(DEFAULT_SEED))));
+        } else {
+            throw new IllegalArgumentException("Unknown design " + design);
+        }
+        this.parallelism = Integer
+                .parseInt(getString(attributes, PARALLELISM, Integer.toString(DEFAULT_PARALLELISM)));
+        if (this.parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+    }
+
+    /**
+     * Parses parameters in the format described in the class comment; empty lines are skipped.
+     *
+     * @param specification
+     *            the parameters, one per line.
+     * @return the parsed parameters.
+     * @throws IllegalArgumentException
+     *             if a line is malformed.
+     */
+    public static List<DesignParameter> parseParameters(final String specification) {
+        final List<DesignParameter> result = new ArrayList<>();
+        for (final String line : specification.split("\\r?\\n")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            final String[] fields = line.split(";");
+            if (fields.length != 4) {
+                throw new IllegalArgumentException(
+                        "Design parameter \"" + line + "\" does not consist of name;target;template;levels");
+            }
+            final String name = fields[0].trim();
+            final String target = fields[1].trim();
+            final String template = fields[2].trim();
+            final double[] levels = parseLevels(name, fields[3]);
+            if (target.startsWith(CONFIGURATION_TARGET)) {
+                result.add(new ConfigurationDesignParameter(target.substring(CONFIGURATION_TARGET.length()),
+                        template, levels));
+            } else if (target.startsWith(MODEL_TARGET) && target.indexOf('#') > MODEL_TARGET.length()) {
+                final int separator = target.indexOf('#');
+                result.add(new ModelDesignParameter(name, target.substring(MODEL_TARGET.length(), separator),
+                        target.substring(separator + 1), template, levels));
+            } else {
+                throw new IllegalArgumentException("Target " + target + " of design parameter " + name
+                        + " is neither config:<attribute> nor model:<id>#<feature path>");
+            }
+        }
+        return result;
+    }
+
+    private static double[] parseLevels(final String name, final String levels) {
+        final String[] values = levels.split(",");
+        final double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                result[i] = Double.parseDouble(values[i].trim());
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException("Level " + values[i] + " of design parameter " + name
+                        + " is not a number", e);
+            }
+        }
+        return result;
+    }
+
+    private static String getString(final Map<String, Object> attributes, final String key,
+            final String defaultValue) {
+        final Object value = attributes.get(key);
+        return value == null ? defaultValue : value.toString().trim();
+    }
+
+    public List<DesignParameter> getParameters() {
+        return Collections.unmodifiableList(this.parameters);
+    }
+
+    public IExperimentDesign getDesign() {
+        return this.design;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+}
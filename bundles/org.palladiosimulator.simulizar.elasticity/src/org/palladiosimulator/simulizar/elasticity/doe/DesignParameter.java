@@ -0,0 +1,87 @@
+package org.palladiosimulator.simulizar.elasticity.doe;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+/**
+ * Factor varied by a design of experiments. A parameter has a set of numeric levels which are used
+ * as is by a {@link FullFactorialDesign}; designs sampling a continuous range (e.g.,
+ * {@link LatinHypercubeDesign}) use the smallest and largest level as bounds. Numeric values are
+ * rendered into the value applied to a simulation run by means of a {@link String#format(String,
+ * Object...) format} template, e.g. <code>Exp(%s)</code> for the inter-arrival time of an open
+ * workload.
+ */
+public abstract class DesignParameter {
+
+    /** Template rendering the numeric value as it is. */
+    public static final String DEFAULT_VALUE_TEMPLATE = "%s";
+
+    private final String name;
+    private final String valueTemplate;
+    private final double[] levels;
+
+    /**
+     * @param name
+     *            the name of the parameter, used to report design points.
+     * @param valueTemplate
+     *            format template with exactly one argument rendering a numeric value.
+     * @param levels
+     *            the levels of the parameter; at least one.
+     */
+    protected DesignParameter(final String name, final String valueTemplate, final double... levels) {
+        if (levels == null || levels.length == 0) {
+            throw new IllegalArgumentException("Design parameter " + name + " requires at least one level");
+        }
+        this.name = name;
+        this.valueTemplate = valueTemplate;
+        this.levels = levels.clone();
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public double[] getLevels() {
+        return this.levels.clone();
+    }
+
+    public double getLowerBound() {
+        return Arrays.stream(this.levels).min().getAsDouble();
+    }
+
+    public double getUpperBound() {
+        return Arrays.stream(this.levels).max().getAsDouble();
+    }
+
+    /**
+     * Renders a numeric value of this parameter.
+     *
+     * @param value
+     *            the numeric value.
+     * @return the value to apply to a simulation run.
+     */
+    public String format(final double value) {
+        return String.format(Locale.US, this.valueTemplate, value);
+    }
+
+    /**
+     * Applies a value of this parameter to the configuration or models of a single simulation run.
+     * Both are private copies of the run.
+     *
+     * @param attributes
+     *            the launch configuration attributes of the run.
+     * @param models
+     *            the copied PCM models of the run.
+     * @param value
+     *            the value as rendered by {@link #format(double)}.
+     */
+    public abstract void apply(Map<String, Object> attributes, ResourceSet models, String value);
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
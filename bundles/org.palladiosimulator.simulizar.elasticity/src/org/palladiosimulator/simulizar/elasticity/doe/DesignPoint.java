@@ -0,0 +1,44 @@
+package org.palladiosimulator.simulizar.elasticity.doe;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Single combination of parameter values of a design of experiments, i.e., a single simulation
+ * run.
+ */
+public class DesignPoint {
+
+    private final int index;
+    private final Map<DesignParameter, Double> values;
+
+    /**
+     * @param index
+     *            the index of the design point within its design.
+     * @param values
+     *            the numeric value of each parameter.
+     */
+    public DesignPoint(final int index, final Map<DesignParameter, Double> values) {
+        this.index = index;
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public Map<DesignParameter, Double> getValues() {
+        return this.values;
+    }
+
+    @Override
+    public String toString() {
+        return "Design point " + this.index + " ["
+                + this.values.entrySet().stream()
+                        .map(entry -> entry.getKey().getName() + "=" + entry.getKey().format(entry.getValue()))
+                        .collect(Collectors.joining(", "))
+                + "]";
+    }
+}
@@ -0,0 +1,41 @@
+package org.palladiosimulator.simulizar.elasticity.doe;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Design simulating every combination of the levels of all parameters.
+ */
+public class FullFactorialDesign implements IExperimentDesign {
+
+    @Override
+    public List<DesignPoint> createDesignPoints(final List<DesignParameter> parameters) {
+        final List<DesignPoint> result = new ArrayList<>();
+        final int[] levelIndices = new int[parameters.size()];
+        do {
+            final Map<DesignParameter, Double> values = new LinkedHashMap<>();
+            for (int i = 0; i < levelIndices.length; i++) {
+                values.put(parameters.get(i), parameters.get(i).getLevels()[levelIndices[i]]);
+            }
+            result.add(new DesignPoint(result.size(), values));
+        } while (next(levelIndices, parameters));
+        return result;
+    }
+
+    /**
+     * Advances the level indices like an odometer.
+     *
+     * @return <code>false</code> if all combinations have been enumerated.
+     */
+    private static boolean next(final int[] levelIndices, final List<DesignParameter> parameters) {
+        for (int i = levelIndices.length - 1; i >= 0; i--) {
+            if (++levelIndices[i] < parameters.get(i).getLevels().length) {
+                return true;
+            }
+            levelIndices[i] = 0;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package org.palladiosimulator.simulizar.elasticity.doe;
+
+import java.util.List;
+
+/**
+ * Strategy selecting the design points of a design of experiments.
+ */
+public interface IExperimentDesign {
+
+    /**
+     * @param parameters
+     *            the parameters to vary.
+     * @return the design points to simulate.
+     */
+    List<DesignPoint> createDesignPoints(List<DesignParameter> parameters);
+}
@@ -0,0 +1,72 @@
+package org.palladiosimulator.simulizar.elasticity.doe;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Latin hypercube sample of the parameter space. The range of each parameter, bounded by its
+ * smallest and largest level, is divided into as many equally wide strata as there are design
+ * points; each stratum of each parameter is sampled exactly once.
+ */
+public class LatinHypercubeDesign implements IExperimentDesign {
+
+    private final int numberOfDesignPoints;
+    private final long seed;
+
+    /**
+     * @param numberOfDesignPoints
+     *            the number of design points to sample.
+     * @param seed
+     *            seed of the sampling, so that a design can be reproduced.
+     */
+    public LatinHypercubeDesign(final int numberOfDesignPoints, final long seed) {
+        if (numberOfDesignPoints <= 0) {
+            throw new IllegalArgumentException("At least one design point is required");
+        }
+        this.numberOfDesignPoints = numberOfDesignPoints;
+        this.seed = seed;
+    }
+
+    @Override
+    public List<DesignPoint> createDesignPoints(final List<DesignParameter> parameters) {
+        final Random random = new Random(this.seed);
+        final double[][] samples = new double[parameters.size()][];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = this.sample(parameters.get(i), random);
+        }
+
+        final List<DesignPoint> result = new ArrayList<>(this.numberOfDesignPoints);
+        for (int point = 0; point < this.numberOfDesignPoints; point++) {
+            final Map<DesignParameter, Double> values = new LinkedHashMap<>();
+            for (int i = 0; i < samples.length; i++) {
+                values.put(parameters.get(i), samples[i][point]);
+            }
+            result.add(new DesignPoint(point, values));
+        }
+        return result;
+    }
+
+    private double[] sample(final DesignParameter parameter, final Random random) {
+        final double lowerBound = parameter.getLowerBound();
+        final double stratumWidth = (parameter.getUpperBound() - lowerBound) / this.numberOfDesignPoints;
+        final int[] strata = new int[this.numberOfDesignPoints];
+        for (int i = 0; i < strata.length; i++) {
+            strata[i] = i;
+        }
+        // Fisher-Yates shuffle of the strata
+        for (int i = strata.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int stratum = strata[i];
+            strata[i] = strata[j];
+            strata[j] = stratum;
+        }
+        final double[] result = new double[this.numberOfDesignPoints];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = lowerBound + (strata[i] + random.nextDouble()) * stratumWidth;
+        }
+        return result;
+    }
+}
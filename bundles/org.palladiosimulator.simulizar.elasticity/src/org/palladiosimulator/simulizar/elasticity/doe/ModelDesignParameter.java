@@ -0,0 +1,80 @@
+package org.palladiosimulator.simulizar.elasticity.doe;
+
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Design parameter varying an attribute of a model element, e.g. the inter-arrival time of an open
+ * workload (<code>interArrivalTime_OpenWorkload.specification</code>), the population of a closed
+ * workload (<code>population</code>, rendered by <code>%.0f</code>) or a threshold of a service
+ * level objective. The element is identified by its id; the attribute by a path of single-valued
+ * features separated by dots.
+ */
+public class ModelDesignParameter extends DesignParameter {
+
+    private final String elementId;
+    private final String[] featurePath;
+
+    /**
+     * @param name
+     *            the name of the parameter.
+     * @param elementId
+     *            the id of the model element to modify.
+     * @param featurePath
+     *            dot-separated path of features, starting at the model element and ending at the
+     *            attribute to set.
+     * @param valueTemplate
+     *            format template with exactly one argument rendering a numeric value.
+     * @param levels
+     *            the levels of the parameter.
+     */
+    public ModelDesignParameter(final String name, final String elementId, final String featurePath,
+            final String valueTemplate, final double... levels) {
+        super(name, valueTemplate, levels);
+        this.elementId = elementId;
+        this.featurePath = featurePath.split("\\.");
+    }
+
+    @Override
+    public void apply(final Map<String, Object> attributes, final ResourceSet models, final String value) {
+        EObject target = this.findElement(models);
+        for (int i = 0; i < this.featurePath.length - 1; i++) {
+            final Object next = target.eGet(this.getFeature(target, this.featurePath[i]));
+            if (!(next instanceof EObject)) {
+                throw new IllegalArgumentException("Feature " + this.featurePath[i] + " of " + target
+                        + " does not refer to a single model element");
+            }
+            target = (EObject) next;
+        }
+        final EStructuralFeature feature = this.getFeature(target, this.featurePath[this.featurePath.length - 1]);
+        if (!(feature instanceof EAttribute) || feature.isMany()) {
+            throw new IllegalArgumentException(
+                    "Feature " + feature.getName() + " of " + target + " is not a single-valued attribute");
+        }
+        target.eSet(feature, EcoreUtil.createFromString(((EAttribute) feature).getEAttributeType(), value));
+    }
+
+    private EObject findElement(final ResourceSet models) {
+        for (final Resource resource : models.getResources()) {
+            final EObject element = resource.getEObject(this.elementId);
+            if (element != null) {
+                return element;
+            }
+        }
+        throw new IllegalArgumentException("No model element with id " + this.elementId + " found");
+    }
+
+    private EStructuralFeature getFeature(final EObject eObject, final String featureName) {
+        final EStructuralFeature feature = eObject.eClass().getEStructuralFeature(featureName);
+        if (feature == null) {
+            throw new IllegalArgumentException(eObject.eClass().getName() + " has no feature " + featureName);
+        }
+        return feature;
+    }
+}
@@ -0,0 +1,275 @@
+package org.palladiosimulator.simulizar.elasticity.jobs;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.analyzer.workflow.configurations.AbstractPCMWorkflowRunConfiguration;
+import org.palladiosimulator.analyzer.workflow.jobs.LoadPCMModelsIntoBlackboardJob;
+import org.palladiosimulator.commons.eclipseutils.ExtensionHelper;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.elasticity.doe.DesignParameter;
+import org.palladiosimulator.simulizar.elasticity.doe.DesignPoint;
+import org.palladiosimulator.simulizar.elasticity.doe.IExperimentDesign;
+import org.palladiosimulator.simulizar.launcher.IConfigurator;
+import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
+import org.palladiosimulator.simulizar.launcher.jobs.LoadSimuLizarModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.runtimestate.IRuntimeStateAccessor;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+
+import de.uka.ipd.sdq.simucomframework.SimuComConfig;
+import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
+import de.uka.ipd.sdq.workflow.jobs.IBlackboardInteractingJob;
+import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
+import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.ResourceSetPartition;
+
+/**
+ * Job simulating the design points of a design of experiments concurrently. The models loaded into
+ * the blackboard are parsed once and serve as a read-only base: each design point simulates
+ * private copies of the PCM partition, to which its parameter values are applied, and of the
+ * analyzed PCM partition. Each design point gets its own configuration, and thereby its own
+ * experiment run, all grouped under a common variation id.
+ * <p>
+ * Design points are simulated by a fixed number of worker threads. Extensions contributing
+ * listeners or recorders which are not safe for concurrent simulations require a parallelism of 1.
+ */
+public class RunDesignOfExperimentsJob implements IBlackboardInteractingJob<MDSDBlackboard> {
+
+    private static final Logger LOGGER = Logger.getLogger(RunDesignOfExperimentsJob.class.getName());
+
+    private static final String VARIATION_ID_ATTRIBUTE = "variationId";
+
+    private final SimuLizarWorkflowConfiguration configuration;
+    private final List<DesignParameter> parameters;
+    private final IExperimentDesign design;
+    private final int parallelism;
+
+    private MDSDBlackboard blackboard;
+    private final List<DesignPoint> executedDesignPoints = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * @param configuration
+     *            the configuration shared by all design points.
+     * @param parameters
+     *            the parameters to vary.
+     * @param design
+     *            the design selecting the combinations of parameter values to simulate.
+     * @param parallelism
+     *            the maximum number of design points simulated at the same time.
+     */
+    public RunDesignOfExperimentsJob(final SimuLizarWorkflowConfiguration configuration,
+            final List<DesignParameter> parameters, final IExperimentDesign design, final int parallelism) {
+        super();
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.configuration = configuration;
+        this.parameters = new ArrayList<>(parameters);
+        this.design = design;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @see de.uka.ipd.sdq.workflow.IJob#execute(org.eclipse.core.runtime.IProgressMonitor)
+     */
+    @Override
+    public void execute(final IProgressMonitor monitor) throws JobFailedException, UserCanceledException {
+        final PCMResourceSetPartition basePartition = (PCMResourceSetPartition) this.blackboard
+                .getPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID);
+        final ResourceSetPartition baseAnalyzedPartition = this.getAnalyzedPartition();
+        // resolve all proxies up front, so that copying does not modify the shared base models
+        EcoreUtil.resolveAll(basePartition.getResourceSet());
+        if (baseAnalyzedPartition != null) {
+            EcoreUtil.resolveAll(baseAnalyzedPartition.getResourceSet());
+        }
+
+        final List<DesignPoint> designPoints = this.design.createDesignPoints(this.parameters);
+        final String variationId = Calendar.getInstance().getTime().toString();
+        LOGGER.info("Simulating " + designPoints.size() + " design points with up to " + this.parallelism
+                + " concurrent simulations");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+        final List<Future<?>> results = new ArrayList<>(designPoints.size());
+        for (final DesignPoint designPoint : designPoints) {
+            results.add(executor.submit(() -> {
+                if (!monitor.isCanceled()) {
+                    this.simulate(designPoint, basePartition, baseAnalyzedPartition, variationId, monitor);
+                }
+                return null;
+            }));
+        }
+        executor.shutdown();
+
+        int failures = 0;
+        Throwable firstFailure = null;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).get();
+            } catch (final ExecutionException e) {
+                LOGGER.error("Simulation of " + designPoints.get(i) + " failed", e.getCause());
+                failures++;
+                if (firstFailure == null) {
+                    firstFailure = e.getCause();
+                }
+            } catch (final InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new UserCanceledException();
+            }
+        }
+        if (monitor.isCanceled()) {
+            throw new UserCanceledException();
+        }
+        if (failures > 0) {
+            throw new JobFailedException(failures + " of " + designPoints.size() + " design points failed",
+                    firstFailure);
+        }
+    }
+
+    private void simulate(final DesignPoint designPoint, final PCMResourceSetPartition basePartition,
+            final ResourceSetPartition baseAnalyzedPartition, final String variationId,
+            final IProgressMonitor monitor) {
+        LOGGER.info("Start simulation of " + designPoint);
+
+        final Map<String, Object> attributes = new TreeMap<String, Object>(this.configuration.getAttributes());
+        attributes.put(VARIATION_ID_ATTRIBUTE, variationId);
+        final PCMResourceSetPartition pcmPartition = copyPartition(basePartition);
+        for (final Entry<DesignParameter, Double> value : designPoint.getValues().entrySet()) {
+            final DesignParameter parameter = value.getKey();
+            parameter.apply(attributes, pcmPartition.getResourceSet(), parameter.format(value.getValue()));
+        }
+
+        final MDSDBlackboard designPointBlackboard = new MDSDBlackboard();
+        designPointBlackboard.addPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID, pcmPartition);
+        if (baseAnalyzedPartition != null) {
+            designPointBlackboard.addPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID,
+                    copyPartition(baseAnalyzedPartition));
+        }
+
+        /*
+         * A new SimuComConfig per design point results in a separate ExperimentRun in the EDP2
+         * repository and keeps simulation listeners of concurrent design points apart.
+         */
+        final SimuLizarWorkflowConfiguration designPointConfiguration = new SimuLizarWorkflowConfiguration(
+                attributes);
+        designPointConfiguration.setMonitorRepositoryFile(this.configuration.getMonitorRepositoryFile());
+        designPointConfiguration.setReconfigurationRulesFolder(this.configuration.getReconfigurationRulesFolder());
+        designPointConfiguration.setUsageEvolutionFile(this.configuration.getUsageEvolutionFile());
+        designPointConfiguration.setServiceLevelObjectivesFile(this.configuration.getServiceLevelObjectivesFile());
+        designPointConfiguration.setSimuComConfiguration(new SimuComConfig(attributes, this.configuration.isDebug()));
+
+        final List<IConfigurator> configurators = ExtensionHelper.getExecutableExtensions(
+                SimulizarConstants.CONFIGURATOR_EXTENSION_POINT_ID,
+                SimulizarConstants.CONFIGURATOR_EXTENSION_POINT_ATTRIBUTE);
+        for (final IConfigurator configurator : configurators) {
+            configurator.configure(designPointConfiguration, designPointBlackboard);
+        }
+
+        final SimuLizarRuntimeState runtimeState = new SimuLizarRuntimeState(designPointConfiguration,
+                new ModelAccess(designPointBlackboard), new SimulationCancelationDelegate(monitor::isCanceled));
+        this.initializeRuntimeStateAccessors(runtimeState);
+        try {
+            runtimeState.runSimulation();
+        } finally {
+            runtimeState.cleanUp();
+        }
+
+        this.executedDesignPoints.add(designPoint);
+        LOGGER.info("Finished simulation of " + designPoint);
+    }
+
+    /**
+     * @return the analyzed PCM partition of the blackboard, or <code>null</code> if there is none.
+     */
+    private ResourceSetPartition getAnalyzedPartition() {
+        if (!this.blackboard.hasPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID)) {
+            return null;
+        }
+        return this.blackboard.getPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID);
+    }
+
+    /**
+     * Copies all models of the given partition, keeping the URIs of their resources. The base
+     * partitions are shared by all design points, so copies are taken one at a time.
+     */
+    private static PCMResourceSetPartition copyPartition(final ResourceSetPartition basePartition) {
+        final PCMResourceSetPartition result = new PCMResourceSetPartition();
+        result.initialiseResourceSetEPackages(AbstractPCMWorkflowRunConfiguration.PCM_EPACKAGES);
+        final ResourceSet baseResourceSet = basePartition.getResourceSet();
+        synchronized (baseResourceSet) {
+            final EcoreUtil.Copier copier = new EcoreUtil.Copier();
+            final List<Resource> baseResources = new ArrayList<>(baseResourceSet.getResources());
+            final List<List<EObject>> copiedContents = new ArrayList<>(baseResources.size());
+            for (final Resource baseResource : baseResources) {
+                copiedContents.add(new ArrayList<>(copier.copyAll(baseResource.getContents())));
+            }
+            copier.copyReferences();
+            for (int i = 0; i < baseResources.size(); i++) {
+                result.getResourceSet().createResource(baseResources.get(i).getURI()).getContents()
+                        .addAll(copiedContents.get(i));
+            }
+        }
+        return result;
+    }
+
+    private void initializeRuntimeStateAccessors(final SimuLizarRuntimeState runtimeState) {
+        final Iterable<IRuntimeStateAccessor> stateAccessors = ExtensionHelper.getExecutableExtensions(
+                SimulizarConstants.RUNTIME_STATE_ACCESS_EXTENSION_POINT_ID,
+                SimulizarConstants.RUNTIME_STATE_ACCESS_EXTENSION_POINT_ACCESSOR_ATTRIBUTE);
+
+        for (final IRuntimeStateAccessor accessor : stateAccessors) {
+            accessor.setRuntimeStateModel(runtimeState);
+        }
+    }
+
+    /**
+     * @return the design points simulated so far, in order of completion.
+     */
+    public List<DesignPoint> getExecutedDesignPoints() {
+        synchronized (this.executedDesignPoints) {
+            return new ArrayList<>(this.executedDesignPoints);
+        }
+    }
+
+    /**
+     * @see de.uka.ipd.sdq.workflow.IJob#getName()
+     */
+    @Override
+    public String getName() {
+        return "Run SimuLizar Design of Experiments";
+    }
+
+    /**
+     * @see de.uka.ipd.sdq.workflow.IJob#rollback(org.eclipse.core.runtime.IProgressMonitor)
+     */
+    @Override
+    public void cleanup(final IProgressMonitor monitor) throws CleanupFailedException {
+    }
+
+    /**
+     * @see de.uka.ipd.sdq.workflow.IBlackboardInteractingJob#setBlackboard(de.uka.ipd.sdq.workflow.Blackboard)
+     */
+    @Override
+    public void setBlackboard(final MDSDBlackboard blackboard) {
+        this.blackboard = blackboard;
+    }
+}
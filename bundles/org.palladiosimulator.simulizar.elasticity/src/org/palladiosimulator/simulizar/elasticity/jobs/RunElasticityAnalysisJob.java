@@ -27,11 +27,11 @@ import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
 import org.palladiosimulator.simulizar.runtimestate.IRuntimeStateAccessor;
 import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
 import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+import org.palladiosimulator.simulizar.warmup.IWarmupDetector;
+import org.palladiosimulator.simulizar.warmup.WarmupDetectorType;
 
 import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
 import de.uka.ipd.sdq.simucomframework.resources.CalculatorHelper;
-import de.uka.ipd.sdq.statistics.StaticBatchAlgorithm;
-import de.uka.ipd.sdq.statistics.estimation.SampleMeanEstimator;
 import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
 import de.uka.ipd.sdq.workflow.jobs.IBlackboardInteractingJob;
 import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
@@ -177,16 +177,27 @@ public class RunElasticityAnalysisJob implements IBlackboardInteractingJob<MDSDB
 					final Calculator calculator = this.getCalculatorFactory()
 							.buildReconfigurationTimeCalculator(measuringPoint, probe);
 					calculator.addObserver(RunElasticityAnalysisJob.aggregatorWithConfidence == null ? RunElasticityAnalysisJob.aggregatorWithConfidence = new ReconfigurationTimeAggregatorWithConfidence(
-																								new StaticBatchAlgorithm(5, 5),
-																								new SampleMeanEstimator(), 
 																								this.getSimuComModel().getConfiguration().getConfidenceLevel() / ONE_HUNDERT_PERCENT,
-																								this.getSimuComModel().getConfiguration().getConfidenceHalfWidth() / ONE_HUNDERT_PERCENT) 
+																								this.getSimuComModel().getConfiguration().getConfidenceHalfWidth() / ONE_HUNDERT_PERCENT,
+																								createWarmupDetector())
 																			: RunElasticityAnalysisJob.aggregatorWithConfidence);
 				} catch (IllegalArgumentException iae) {
 					LOGGER.info("Tried to add a calculator that already exists");
 				}
 			}
 		}
+
+		/**
+		 * @return the configured detector of the end of the warm-up of the reconfiguration times,
+		 *         or <code>null</code> if no warm-up detection is configured.
+		 */
+		private IWarmupDetector createWarmupDetector() {
+			final SimuLizarWorkflowConfiguration configuration = RunElasticityAnalysisJob.this.configuration;
+			final WarmupDetectorType warmupDetector = configuration.getWarmupDetector();
+			return warmupDetector == null ? null
+					: warmupDetector.createDetector(configuration.getWarmupBatchSize(),
+							configuration.getWarmupMinimumSamples());
+		}
 	}
 	
 }
@@ -0,0 +1,38 @@
+package org.palladiosimulator.simulizar.elasticity.jobs;
+
+import java.util.List;
+
+import org.palladiosimulator.simulizar.elasticity.doe.DesignParameter;
+import org.palladiosimulator.simulizar.elasticity.doe.IExperimentDesign;
+import org.palladiosimulator.simulizar.launcher.jobs.LoadSimuLizarModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+
+import de.uka.ipd.sdq.workflow.jobs.IBlackboardInteractingJob;
+import de.uka.ipd.sdq.workflow.jobs.SequentialBlackboardInteractingJob;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+
+/**
+ * Loads the models once and simulates all design points of a design of experiments on copies of
+ * them.
+ */
+public class SimuLizarDesignOfExperimentsCompositeJob extends SequentialBlackboardInteractingJob<MDSDBlackboard>
+        implements IBlackboardInteractingJob<MDSDBlackboard> {
+
+    /**
+     * @param configuration
+     *            the configuration shared by all design points.
+     * @param parameters
+     *            the parameters to vary.
+     * @param design
+     *            the design selecting the combinations of parameter values to simulate.
+     * @param parallelism
+     *            the maximum number of design points simulated at the same time.
+     */
+    public SimuLizarDesignOfExperimentsCompositeJob(final SimuLizarWorkflowConfiguration configuration,
+            final List<DesignParameter> parameters, final IExperimentDesign design, final int parallelism) {
+        super(false);
+
+        this.addJob(new LoadSimuLizarModelsIntoBlackboardJob(configuration));
+        this.addJob(new RunDesignOfExperimentsJob(configuration, parameters, design, parallelism));
+    }
+}
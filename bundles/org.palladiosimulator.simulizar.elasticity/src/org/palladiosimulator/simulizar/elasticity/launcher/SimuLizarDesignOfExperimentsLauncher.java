@@ -0,0 +1,31 @@
+package org.palladiosimulator.simulizar.elasticity.launcher;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunch;
+import org.palladiosimulator.simulizar.elasticity.doe.DesignOfExperimentsConfiguration;
+import org.palladiosimulator.simulizar.elasticity.jobs.SimuLizarDesignOfExperimentsCompositeJob;
+import org.palladiosimulator.simulizar.launcher.PCMInterpreterLauncher;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+
+import de.uka.ipd.sdq.codegen.simucontroller.runconfig.SimuComWorkflowConfiguration;
+import de.uka.ipd.sdq.workflow.jobs.IJob;
+
+/**
+ * Launches a design of experiments, i.e., one SimuLizar run per design point, as configured by the
+ * {@link DesignOfExperimentsConfiguration} attributes of the launch configuration.
+ */
+public class SimuLizarDesignOfExperimentsLauncher extends PCMInterpreterLauncher {
+    @Override
+    protected IJob createWorkflowJob(final SimuComWorkflowConfiguration config, final ILaunch launch)
+            throws CoreException {
+        if (!(config instanceof SimuLizarWorkflowConfiguration)) {
+            throw new IllegalArgumentException("SimuLizarWorkflowConfiguration expected for PCMInterpreterLauncher");
+        }
+
+        final SimuLizarWorkflowConfiguration configuration = (SimuLizarWorkflowConfiguration) config;
+        final DesignOfExperimentsConfiguration designOfExperiments = new DesignOfExperimentsConfiguration(
+                configuration.getAttributes());
+        return new SimuLizarDesignOfExperimentsCompositeJob(configuration, designOfExperiments.getParameters(),
+                designOfExperiments.getDesign(), designOfExperiments.getParallelism());
+    }
+}
@@ -0,0 +1,445 @@
+package org.palladiosimulator.simulizar.events;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.palladiosimulator.pcm.allocation.AllocationPackage;
+import org.palladiosimulator.pcm.repository.RepositoryPackage;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceenvironmentPackage;
+import org.palladiosimulator.pcm.resourcetype.ResourcetypePackage;
+import org.palladiosimulator.pcm.system.SystemPackage;
+
+/**
+ * An on-disk cache of the models produced by the events transformation, in the binary resource
+ * format of EMF.
+ * <p>
+ * Entries are kept by a content key over the models the transformation reads: the repositories,
+ * the system, the allocation and the resource environment of the PCM partition, and the event
+ * middleware repository. The key is computed from a canonical form of the models, in which all
+ * objects are sorted by their ids, so that it neither depends on the formatting of the model files
+ * nor on edits of other models, e.g., of the usage model. An entry holds the models the
+ * transformation read or created, which replace the ones of the partition on a hit.
+ * <p>
+ * Models with XMI ids are not cached, because the binary format does not keep them. If the cache
+ * exceeds its size limit, the least recently used entries are deleted.
+ */
+public class EventsTransformationCache {
+
+	private static final Logger LOGGER = Logger.getLogger(EventsTransformationCache.class);
+
+	/** Changed whenever the transformation or the format of the entries changes. */
+	private static final String VERSION = "1";
+	private static final String INDEX_FILE = "models.index";
+	private static final String ENTRY_FILE_EXTENSION = ".bin";
+	private static final List<EPackage> TRANSFORMED_PACKAGES = Arrays.asList(RepositoryPackage.eINSTANCE,
+			SystemPackage.eINSTANCE, AllocationPackage.eINSTANCE, ResourceenvironmentPackage.eINSTANCE,
+			ResourcetypePackage.eINSTANCE);
+
+	private final File folder;
+	private final long sizeLimit;
+
+	/**
+	 * @param folder
+	 *            the folder the cache entries are kept in; it is created if necessary.
+	 * @param sizeLimit
+	 *            the maximum size of all entries in bytes.
+	 */
+	public EventsTransformationCache(final File folder, final long sizeLimit) {
+		this.folder = folder;
+		this.sizeLimit = sizeLimit;
+	}
+
+	public File getFolder() {
+		return this.folder;
+	}
+
+	/**
+	 * @return whether the given model is read by the events transformation, i.e., whether it is
+	 *         part of the key of the cache entries.
+	 */
+	public static boolean isTransformationInput(final Resource resource) {
+		return !resource.getContents().isEmpty()
+				&& TRANSFORMED_PACKAGES.contains(resource.getContents().get(0).eClass().getEPackage());
+	}
+
+	/**
+	 * @param resourceSet
+	 *            the resource set of the PCM partition, after the transformation.
+	 * @param previousURIs
+	 *            the URIs of the models of the resource set before the transformation.
+	 * @return the models the transformation read or created, i.e., the models of a cache entry.
+	 */
+	public static List<Resource> getTransformedModels(final ResourceSet resourceSet,
+			final Collection<URI> previousURIs) {
+		final List<Resource> resources = new ArrayList<Resource>();
+		for (final Resource resource : resourceSet.getResources()) {
+			if (isTransformationInput(resource) || !previousURIs.contains(resource.getURI())) {
+				resources.add(resource);
+			}
+		}
+		return resources;
+	}
+
+	/**
+	 * Computes the key of the entry holding the result of transforming the given models.
+	 *
+	 * @param resourceSet
+	 *            the resource set of the PCM partition, before the transformation.
+	 * @param eventMiddlewareFile
+	 *            the file or URI of the event middleware repository.
+	 * @return the key, a hexadecimal SHA-256 hash.
+	 * @throws IOException
+	 *             if the event middleware repository cannot be loaded.
+	 */
+	public String computeKey(final ResourceSet resourceSet, final String eventMiddlewareFile) throws IOException {
+		final MessageDigest digest = createDigest();
+		update(digest, VERSION);
+		final List<Resource> inputs = new ArrayList<Resource>();
+		for (final Resource resource : resourceSet.getResources()) {
+			if (isTransformationInput(resource)) {
+				inputs.add(resource);
+			}
+		}
+		digest(inputs, digest);
+
+		final ResourceSet middlewareResourceSet = new ResourceSetImpl();
+		middlewareResourceSet.getPackageRegistry().putAll(resourceSet.getPackageRegistry());
+		middlewareResourceSet.setURIConverter(resourceSet.getURIConverter());
+		try {
+			final Resource middleware = middlewareResourceSet.getResource(toURI(eventMiddlewareFile), true);
+			digest(Collections.singletonList(middleware), digest);
+		} catch (final RuntimeException e) {
+			throw new IOException("Event middleware repository " + eventMiddlewareFile + " cannot be loaded", e);
+		} finally {
+			for (final Resource resource : middlewareResourceSet.getResources()) {
+				resource.unload();
+			}
+		}
+
+		final StringBuilder result = new StringBuilder();
+		for (final byte b : digest.digest()) {
+			result.append(String.format("%02x", b));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Replaces the models of the given resource set by the ones of an entry, if there is one.
+	 *
+	 * @param key
+	 *            the key of the entry.
+	 * @param resourceSet
+	 *            the resource set of the PCM partition.
+	 * @return whether the models have been replaced; the resource set is not changed otherwise.
+	 */
+	public boolean restore(final String key, final ResourceSet resourceSet) {
+		final File entry = new File(this.folder, key);
+		final File index = new File(entry, INDEX_FILE);
+		if (!index.isFile()) {
+			return false;
+		}
+
+		// all models are read before any model is replaced, so that a broken entry changes nothing
+		final List<Resource> cachedResources = new ArrayList<Resource>();
+		try {
+			final List<String> uris = Files.readAllLines(index.toPath(), StandardCharsets.UTF_8);
+			for (int i = 0; i < uris.size(); i++) {
+				final Resource cachedResource = new ResourceImpl(URI.createURI(uris.get(i)));
+				try (InputStream input = new BufferedInputStream(
+						Files.newInputStream(new File(entry, i + ENTRY_FILE_EXTENSION).toPath()))) {
+					new BinaryResourceImpl.EObjectInputStream(input, Collections.emptyMap())
+							.loadResource(cachedResource);
+				}
+				cachedResources.add(cachedResource);
+			}
+		} catch (final IOException | RuntimeException e) {
+			LOGGER.warn("Cache entry " + key + " could not be read, deleting it", e);
+			delete(entry);
+			return false;
+		}
+
+		for (final Resource cachedResource : cachedResources) {
+			final Resource resource = getOrCreateResource(resourceSet, cachedResource.getURI());
+			resource.unload();
+			resource.getContents().addAll(cachedResource.getContents());
+		}
+		EcoreUtil.resolveAll(resourceSet);
+		if (!entry.setLastModified(System.currentTimeMillis())) {
+			LOGGER.debug("Could not mark cache entry " + key + " as used");
+		}
+		return true;
+	}
+
+	/**
+	 * Stores the transformed models in an entry, unless they are not cached. Deletes the least
+	 * recently used entries afterwards if the cache exceeds its size limit.
+	 *
+	 * @param key
+	 *            the key computed before the transformation.
+	 * @param resourceSet
+	 *            the resource set of the PCM partition, after the transformation.
+	 * @param previousURIs
+	 *            the URIs of the models of the resource set before the transformation.
+	 */
+	public void store(final String key, final ResourceSet resourceSet, final Collection<URI> previousURIs) {
+		final List<Resource> resources = getTransformedModels(resourceSet, previousURIs);
+		for (final Resource resource : resources) {
+			if (resource instanceof XMLResource && !((XMLResource) resource).getEObjectToIDMap().isEmpty()) {
+				LOGGER.info("Transformed models are not cached, " + resource.getURI() + " uses XMI ids");
+				return;
+			}
+		}
+
+		final File entry = new File(this.folder, key);
+		Path temporaryEntry = null;
+		try {
+			Files.createDirectories(this.folder.toPath());
+			// written to a folder of its own first, so that concurrent runs never read a partial entry
+			temporaryEntry = Files.createTempDirectory(this.folder.toPath(), key + ".");
+			final StringBuilder index = new StringBuilder();
+			for (int i = 0; i < resources.size(); i++) {
+				index.append(resources.get(i).getURI()).append('\n');
+				try (OutputStream output = new BufferedOutputStream(
+						Files.newOutputStream(temporaryEntry.resolve(i + ENTRY_FILE_EXTENSION)))) {
+					final BinaryResourceImpl.EObjectOutputStream eObjectOutput =
+							new BinaryResourceImpl.EObjectOutputStream(output, Collections.emptyMap());
+					eObjectOutput.saveResource(resources.get(i));
+					eObjectOutput.flush();
+				}
+			}
+			Files.write(temporaryEntry.resolve(INDEX_FILE), index.toString().getBytes(StandardCharsets.UTF_8));
+			Files.move(temporaryEntry, entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (final FileAlreadyExistsException | DirectoryNotEmptyException e) {
+			LOGGER.debug("Cache entry " + key + " has been written by another run");
+		} catch (final IOException | RuntimeException e) {
+			LOGGER.warn("Cache entry " + key + " could not be written", e);
+		} finally {
+			if (temporaryEntry != null) {
+				delete(temporaryEntry.toFile());
+			}
+		}
+		this.cleanUp(key);
+	}
+
+	/**
+	 * Deletes the least recently used entries until the cache does not exceed its size limit. The
+	 * given entry is kept in any case.
+	 */
+	private void cleanUp(final String keptKey) {
+		final File[] entries = this.folder.listFiles(file -> file.isDirectory() && file.getName().indexOf('.') < 0);
+		if (entries == null) {
+			return;
+		}
+		final Map<File, Long> sizes = new IdentityHashMap<File, Long>();
+		long size = 0;
+		for (final File entry : entries) {
+			final long entrySize = size(entry);
+			sizes.put(entry, entrySize);
+			size += entrySize;
+		}
+		Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+		for (int i = 0; i < entries.length && size > this.sizeLimit; i++) {
+			if (!entries[i].getName().equals(keptKey)) {
+				LOGGER.debug("Deleting least recently used cache entry " + entries[i].getName());
+				delete(entries[i]);
+				size -= sizes.get(entries[i]);
+			}
+		}
+	}
+
+	private static void digest(final List<Resource> resources, final MessageDigest digest) {
+		final Map<EObject, String> keys = new IdentityHashMap<EObject, String>();
+		for (final Resource resource : resources) {
+			for (int i = 0; i < resource.getContents().size(); i++) {
+				final EObject root = resource.getContents().get(i);
+				assignKeys(root, keyOf(root, "/" + i), keys);
+			}
+		}
+		final List<Resource> sortedResources = new ArrayList<Resource>(resources);
+		sortedResources.sort(Comparator.comparing(resource -> resource.getURI().toString()));
+		for (final Resource resource : sortedResources) {
+			final SortedMap<String, String> objects = new TreeMap<String, String>();
+			for (final EObject root : resource.getContents()) {
+				describeAll(root, keys, objects);
+			}
+			update(digest, "resource " + resource.getURI());
+			for (final Map.Entry<String, String> object : objects.entrySet()) {
+				update(digest, object.getKey());
+				update(digest, object.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Assigns a key to the given object and its contents: its id, or its containment path if it
+	 * does not have one.
+	 */
+	private static void assignKeys(final EObject object, final String key, final Map<EObject, String> keys) {
+		keys.put(object, key);
+		for (final EReference containment : object.eClass().getEAllContainments()) {
+			if (containment.isTransient() || !object.eIsSet(containment)) {
+				continue;
+			}
+			if (containment.isMany()) {
+				final List<?> children = (List<?>) object.eGet(containment);
+				for (int i = 0; i < children.size(); i++) {
+					final EObject child = (EObject) children.get(i);
+					assignKeys(child, keyOf(child, key + "/" + containment.getName() + "." + i), keys);
+				}
+			} else {
+				final EObject child = (EObject) object.eGet(containment);
+				assignKeys(child, keyOf(child, key + "/" + containment.getName()), keys);
+			}
+		}
+	}
+
+	private static String keyOf(final EObject object, final String path) {
+		final String id = EcoreUtil.getID(object);
+		return id == null ? path : id;
+	}
+
+	private static void describeAll(final EObject object, final Map<EObject, String> keys,
+			final SortedMap<String, String> objects) {
+		objects.put(keys.get(object), describe(object, keys));
+		for (final EObject child : object.eContents()) {
+			if (keys.containsKey(child)) {
+				describeAll(child, keys, objects);
+			}
+		}
+	}
+
+	private static String describe(final EObject object, final Map<EObject, String> keys) {
+		final StringBuilder result = new StringBuilder();
+		result.append(object.eClass().getEPackage().getNsURI()).append('#').append(object.eClass().getName());
+		final List<EStructuralFeature> features = new ArrayList<EStructuralFeature>(
+				object.eClass().getEAllStructuralFeatures());
+		features.sort(Comparator.comparing(EStructuralFeature::getName));
+		for (final EStructuralFeature feature : features) {
+			if (feature.isTransient() || feature.isDerived() || feature.isVolatile() || !object.eIsSet(feature)
+					|| feature instanceof EReference && ((EReference) feature).isContainer()) {
+				continue;
+			}
+			result.append('|').append(feature.getName()).append('=');
+			final List<?> values = feature.isMany() ? (List<?>) object.eGet(feature)
+					: Collections.singletonList(object.eGet(feature));
+			final List<String> strings = new ArrayList<String>(values.size());
+			for (final Object value : values) {
+				strings.add(feature instanceof EAttribute ? String.valueOf(value)
+						: referenceTo((EObject) value, keys));
+			}
+			if (!feature.isOrdered()) {
+				Collections.sort(strings);
+			}
+			result.append(strings);
+		}
+		return result.toString();
+	}
+
+	private static String referenceTo(final EObject target, final Map<EObject, String> keys) {
+		if (target == null) {
+			return "null";
+		}
+		if (target.eIsProxy()) {
+			return ((InternalEObject) target).eProxyURI().toString();
+		}
+		final String key = keys.get(target);
+		if (key == null || target.eResource() == null) {
+			return EcoreUtil.getURI(target).toString();
+		}
+		return target.eResource().getURI() + "#" + key;
+	}
+
+	private static Resource getOrCreateResource(final ResourceSet resourceSet, final URI uri) {
+		Resource resource = resourceSet.getResource(uri, false);
+		if (resource == null) {
+			resource = resourceSet.createResource(uri);
+		}
+		if (resource == null) {
+			resource = new XMIResourceImpl(uri);
+			resourceSet.getResources().add(resource);
+		}
+		return resource;
+	}
+
+	private static URI toURI(final String file) {
+		final URI uri = URI.createURI(file);
+		return uri.isRelative() ? URI.createFileURI(new File(file).getAbsolutePath()) : uri;
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private static void update(final MessageDigest digest, final String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+	}
+
+	private static long size(final File file) {
+		if (file.isFile()) {
+			return file.length();
+		}
+		long size = 0;
+		final File[] children = file.listFiles();
+		if (children != null) {
+			for (final File child : children) {
+				size += size(child);
+			}
+		}
+		return size;
+	}
+
+	private static void delete(final File file) {
+		final File[] children = file.listFiles();
+		if (children != null) {
+			for (final File child : children) {
+				delete(child);
+			}
+		}
+		if (file.exists() && !file.delete()) {
+			LOGGER.warn("Could not delete " + file);
+		}
+	}
+}
@@ -4,25 +4,51 @@ import de.uka.ipd.sdq.workflow.extension.AbstractExtensionJobConfiguration;
 
 public class EventsTransformationConfiguration extends AbstractExtensionJobConfiguration {
 
+	final public boolean simulateEvents;
+	/**
+	 * @deprecated the flag enables the events transformation, use {@link #simulateEvents}.
+	 */
+	@Deprecated
 	final public boolean simulateFailures;
 	final public String eventMiddlewareFile;
 	final public String storeTransformedModelsProject;
 	final public boolean storeTransformedModels;
+	/**
+	 * Folder of the {@link EventsTransformationCache}; transformed models are not cached if it is
+	 * empty.
+	 */
+	final public String cacheFolder;
+	/**
+	 * Maximum size of the {@link EventsTransformationCache} in megabytes.
+	 */
+	final public long cacheSize;
 
-	public EventsTransformationConfiguration(boolean simulateFailures, String eventMiddlewareFile, String storeTransformedModelsProject, boolean storeTransformedModels) {
-		this.simulateFailures = simulateFailures;
+	public EventsTransformationConfiguration(boolean simulateEvents, String eventMiddlewareFile, String storeTransformedModelsProject, boolean storeTransformedModels) {
+		this(simulateEvents, eventMiddlewareFile, storeTransformedModelsProject, storeTransformedModels, "",
+				EventsTransformationWorkflowExtensionJob.DEFAULT_CACHE_SIZE);
+	}
+
+	public EventsTransformationConfiguration(boolean simulateEvents, String eventMiddlewareFile,
+			String storeTransformedModelsProject, boolean storeTransformedModels, String cacheFolder, long cacheSize) {
+		this.simulateEvents = simulateEvents;
+		this.simulateFailures = simulateEvents;
 		this.eventMiddlewareFile = eventMiddlewareFile;
 		this.storeTransformedModelsProject = storeTransformedModelsProject;
 		this.storeTransformedModels = storeTransformedModels;
+		this.cacheFolder = cacheFolder;
+		this.cacheSize = cacheSize;
 	}
-	
+
 	@Override
 	public String getErrorMessage() {
+		if (this.cacheSize < 0) {
+			return "The size of the events transformation cache must not be negative";
+		}
 		return null;
 	}
 
 	@Override
 	public void setDefaults() {
-		
+
 	}
-}
\ No newline at end of file
+}
@@ -12,11 +12,18 @@ public class EventsTransformationConfigurationBuilder extends AbstractWorkflowEx
 	@Override
 	public AbstractExtensionJobConfiguration buildConfiguration(Map<String, Object> attributes) {
 		String eventMiddlewareFile = (String) attributes.get(EventsTransformationWorkflowExtensionJob.EVENT_MIDDLEWARE_FILE);
-		Boolean simulateFailures = (Boolean) attributes.get(EventsTransformationWorkflowExtensionJob.SIMULATE_EVENTS);
+		boolean simulateEvents = Boolean.TRUE.equals(attributes.get(EventsTransformationWorkflowExtensionJob.SIMULATE_EVENTS));
 		String storeTransformedModelsProject = (String) attributes.get(EventsTransformationWorkflowExtensionJob.STORE_TRANSFORMED_MODELS_PROJECT);
-		Boolean storeTransformedModels = (Boolean) attributes.get(EventsTransformationWorkflowExtensionJob.STORE_TRANSFORMED_MODELS);
-		
-		return new EventsTransformationConfiguration(simulateFailures, eventMiddlewareFile, storeTransformedModelsProject, storeTransformedModels);
+		boolean storeTransformedModels = Boolean.TRUE.equals(attributes.get(EventsTransformationWorkflowExtensionJob.STORE_TRANSFORMED_MODELS));
+		// launch configurations created before the cache was introduced lack its attributes
+		Object cacheFolder = attributes.get(EventsTransformationWorkflowExtensionJob.CACHE_FOLDER);
+		Object cacheSize = attributes.get(EventsTransformationWorkflowExtensionJob.CACHE_SIZE);
+
+		return new EventsTransformationConfiguration(simulateEvents, eventMiddlewareFile, storeTransformedModelsProject,
+				storeTransformedModels,
+				cacheFolder == null ? "" : cacheFolder.toString(),
+				cacheSize == null ? EventsTransformationWorkflowExtensionJob.DEFAULT_CACHE_SIZE
+						: Long.parseLong(cacheSize.toString().trim()));
 	}
 
 }
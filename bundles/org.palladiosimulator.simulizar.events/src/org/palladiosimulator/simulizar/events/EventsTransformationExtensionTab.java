@@ -17,6 +17,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
 import org.palladiosimulator.analyzer.workflow.ConstantsContainer;
 
@@ -27,11 +28,14 @@ public class EventsTransformationExtensionTab extends AbstractLaunchConfiguratio
 
 	private Image infoImage;
 	
-	private Button simulateFailuresButton;
+	private Button simulateEventsButton;
 	private Text eventMiddlewareRepository;
 	
 	private Button storeTransformedModelsButton;
 	private Text storeTransformedModelsProject;
+
+	private Text cacheFolder;
+	private Text cacheSize;
 	
 	@Override
 	public final void createControl(final Composite parent) {
@@ -73,11 +77,11 @@ public class EventsTransformationExtensionTab extends AbstractLaunchConfiguratio
 		final GridData gdReliabilityGroup = new GridData(SWT.FILL, SWT.CENTER, true, false);
 		eventGroup.setLayoutData(gdReliabilityGroup);
 		eventGroup.setLayout(new GridLayout());
-		simulateFailuresButton = new Button(eventGroup, SWT.CHECK);
+		simulateEventsButton = new Button(eventGroup, SWT.CHECK);
 		final GridData gdSimulateEventsButton = new GridData(SWT.FILL, SWT.CENTER, true, false);
-		simulateFailuresButton.setLayoutData(gdSimulateEventsButton);
-		simulateFailuresButton.setText("Simulate Events");
-		simulateFailuresButton.addSelectionListener(selectionListener);
+		simulateEventsButton.setLayoutData(gdSimulateEventsButton);
+		simulateEventsButton.setText("Simulate Events");
+		simulateEventsButton.addSelectionListener(selectionListener);
 
 		eventMiddlewareRepository = new Text(container, SWT.SINGLE | SWT.BORDER);
 		TabHelper.createFileInputSection(container, modifyListener, "Event Middleware Repository File",
@@ -96,6 +100,19 @@ public class EventsTransformationExtensionTab extends AbstractLaunchConfiguratio
 		storeTransformedModelsProject = new Text(temporaryGroup, SWT.SINGLE | SWT.BORDER);
 		storeTransformedModelsProject.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
 		storeTransformedModelsProject.addModifyListener(modifyListener);
+
+		final Group cacheGroup = new Group(container, SWT.NONE);
+		cacheGroup.setText("Cache (leave the folder empty to always transform the models)");
+		cacheGroup.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+		cacheGroup.setLayout(new GridLayout(2, false));
+		new Label(cacheGroup, SWT.NONE).setText("Folder:");
+		cacheFolder = new Text(cacheGroup, SWT.SINGLE | SWT.BORDER);
+		cacheFolder.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+		cacheFolder.addModifyListener(modifyListener);
+		new Label(cacheGroup, SWT.NONE).setText("Maximum size (MB):");
+		cacheSize = new Text(cacheGroup, SWT.SINGLE | SWT.BORDER);
+		cacheSize.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+		cacheSize.addModifyListener(modifyListener);
 	}
 	
 	private static Image getImage(String file) {
@@ -110,7 +127,7 @@ public class EventsTransformationExtensionTab extends AbstractLaunchConfiguratio
 	@Override
 	public final void initializeFrom(final ILaunchConfiguration configuration) {
 		try {
-			simulateFailuresButton.setSelection(
+			simulateEventsButton.setSelection(
 					configuration.getAttribute(EventsTransformationWorkflowExtensionJob.SIMULATE_EVENTS, true));
 			eventMiddlewareRepository.setText(
 					configuration.getAttribute(EventsTransformationWorkflowExtensionJob.EVENT_MIDDLEWARE_FILE, ConstantsContainer.DEFAULT_EVENT_MIDDLEWARE_FILE));
@@ -118,22 +135,44 @@ public class EventsTransformationExtensionTab extends AbstractLaunchConfiguratio
 					configuration.getAttribute(EventsTransformationWorkflowExtensionJob.STORE_TRANSFORMED_MODELS, true));
 			storeTransformedModelsProject.setText(
 					configuration.getAttribute(EventsTransformationWorkflowExtensionJob.STORE_TRANSFORMED_MODELS_PROJECT, ConstantsContainer.DEFAULT_TEMPORARY_DATA_LOCATION));
+			cacheFolder.setText(configuration.getAttribute(EventsTransformationWorkflowExtensionJob.CACHE_FOLDER, ""));
+			cacheSize.setText(configuration.getAttribute(EventsTransformationWorkflowExtensionJob.CACHE_SIZE,
+					Long.toString(EventsTransformationWorkflowExtensionJob.DEFAULT_CACHE_SIZE)));
 		} catch (CoreException e) {
-			simulateFailuresButton.setSelection(false);
+			simulateEventsButton.setSelection(false);
 			eventMiddlewareRepository.setText(ConstantsContainer.DEFAULT_EVENT_MIDDLEWARE_FILE);
 			storeTransformedModelsButton.setSelection(true);
 			storeTransformedModelsProject.setText(ConstantsContainer.DEFAULT_TEMPORARY_DATA_LOCATION);
+			cacheFolder.setText("");
+			cacheSize.setText(Long.toString(EventsTransformationWorkflowExtensionJob.DEFAULT_CACHE_SIZE));
+		}
+	}
+
+	@Override
+	public boolean isValid(final ILaunchConfiguration launchConfig) {
+		setErrorMessage(null);
+		try {
+			if (Long.parseLong(cacheSize.getText().trim()) < 0) {
+				setErrorMessage("The maximum size of the cache must not be negative.");
+				return false;
+			}
+		} catch (NumberFormatException e) {
+			setErrorMessage("The maximum size of the cache must be a number of megabytes.");
+			return false;
 		}
+		return true;
 	}
 
 	@Override
 	public final void performApply(final ILaunchConfigurationWorkingCopy configuration) {
 		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.SIMULATE_EVENTS,
-				this.simulateFailuresButton.getSelection());
+				this.simulateEventsButton.getSelection());
 		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.EVENT_MIDDLEWARE_FILE,
 				this.eventMiddlewareRepository.getText());
 		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.STORE_TRANSFORMED_MODELS, storeTransformedModelsButton.getSelection());
 		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.STORE_TRANSFORMED_MODELS_PROJECT, storeTransformedModelsProject.getText());
+		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.CACHE_FOLDER, cacheFolder.getText());
+		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.CACHE_SIZE, cacheSize.getText().trim());
 	}
 
 	@Override
@@ -143,6 +182,18 @@ public class EventsTransformationExtensionTab extends AbstractLaunchConfiguratio
 				ConstantsContainer.DEFAULT_EVENT_MIDDLEWARE_FILE);
 		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.STORE_TRANSFORMED_MODELS, true);
 		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.STORE_TRANSFORMED_MODELS_PROJECT, ConstantsContainer.DEFAULT_TEMPORARY_DATA_LOCATION);
+		// new launch configurations use the cache, existing ones without the attribute do not
+		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.CACHE_FOLDER, getDefaultCacheFolder());
+		configuration.setAttribute(EventsTransformationWorkflowExtensionJob.CACHE_SIZE,
+				Long.toString(EventsTransformationWorkflowExtensionJob.DEFAULT_CACHE_SIZE));
+	}
+
+	/**
+	 * @return the cache folder of new launch configurations, within the state location of this
+	 *         plug-in in the workspace.
+	 */
+	private static String getDefaultCacheFolder() {
+		return Activator.getDefault().getStateLocation().append("eventsTransformationCache").toOSString();
 	}
 
 }
@@ -1,7 +1,26 @@
 package org.palladiosimulator.simulizar.events;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
 import org.palladiosimulator.analyzer.workflow.jobs.EventsTransformationJob;
+import org.palladiosimulator.analyzer.workflow.jobs.LoadPCMModelsIntoBlackboardJob;
 
 import de.uka.ipd.sdq.workflow.extension.AbstractWorkflowExtensionJob;
 import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
@@ -13,6 +32,14 @@ public class EventsTransformationWorkflowExtensionJob extends AbstractWorkflowEx
 	public static final String EVENT_MIDDLEWARE_FILE = "eventMiddleware";
 	public static final String STORE_TRANSFORMED_MODELS = "storeTransformedModels";
 	public static final String STORE_TRANSFORMED_MODELS_PROJECT = "storageProject";
+	public static final String CACHE_FOLDER = "eventsTransformationCacheFolder";
+	public static final String CACHE_SIZE = "eventsTransformationCacheSize";
+
+	/** Default maximum size of the cache in megabytes. */
+	public static final long DEFAULT_CACHE_SIZE = 256;
+
+	private static final Logger LOGGER = Logger.getLogger(EventsTransformationWorkflowExtensionJob.class);
+	private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
 
 	public EventsTransformationWorkflowExtensionJob() {
 
@@ -23,13 +50,124 @@ public class EventsTransformationWorkflowExtensionJob extends AbstractWorkflowEx
 		super.execute(monitor);
 
 		EventsTransformationConfiguration configuration = (EventsTransformationConfiguration) getJobConfiguration();
-		
-		if (configuration.simulateFailures) {
-			EventsTransformationJob delegate = new EventsTransformationJob(configuration.storeTransformedModelsProject,
-					configuration.eventMiddlewareFile, configuration.storeTransformedModels);
-	
-			delegate.setBlackboard(myBlackboard);
-			delegate.execute(monitor);
+
+		if (!configuration.simulateEvents) {
+			return;
+		}
+		if (configuration.cacheFolder == null || configuration.cacheFolder.isEmpty()) {
+			transform(configuration, monitor);
+			return;
+		}
+
+		final long start = System.nanoTime();
+		final ResourceSet resourceSet = ((PCMResourceSetPartition) myBlackboard
+				.getPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID)).getResourceSet();
+		final EventsTransformationCache cache = new EventsTransformationCache(new File(configuration.cacheFolder),
+				configuration.cacheSize * BYTES_PER_MEGABYTE);
+		final String key;
+		try {
+			key = cache.computeKey(resourceSet, configuration.eventMiddlewareFile);
+		} catch (final IOException e) {
+			LOGGER.warn("Transformed models are not cached, their key could not be computed", e);
+			transform(configuration, monitor);
+			return;
+		}
+		final List<URI> previousURIs = new ArrayList<URI>();
+		for (final Resource resource : resourceSet.getResources()) {
+			previousURIs.add(resource.getURI());
+		}
+		if (cache.restore(key, resourceSet)) {
+			LOGGER.info("Events transformation cache hit for " + key + ", restored the transformed models in "
+					+ millisecondsSince(start) + " ms");
+		} else {
+			final long transformationStart = System.nanoTime();
+			// the models are stored below, whether they are transformed or taken from the cache
+			transform(withoutStoring(configuration), monitor);
+			final long storeStart = System.nanoTime();
+			cache.store(key, resourceSet, previousURIs);
+			LOGGER.info("Events transformation cache miss for " + key + ", transformed the models in "
+					+ (storeStart - transformationStart) / 1000000 + " ms and cached them in "
+					+ millisecondsSince(storeStart) + " ms");
+		}
+		if (configuration.storeTransformedModels) {
+			storeTransformedModels(configuration.storeTransformedModelsProject,
+					EventsTransformationCache.getTransformedModels(resourceSet, previousURIs));
+		}
+	}
+
+	/**
+	 * Rewrites the models of the blackboard, replacing event-based communication by components of
+	 * the event middleware. Not called if the transformed models are taken from the cache. If the
+	 * cache is used, the transformed models are not stored by the transformation but by
+	 * {@link #execute(IProgressMonitor)}, as they are on a cache hit.
+	 */
+	protected void transform(EventsTransformationConfiguration configuration, IProgressMonitor monitor)
+			throws JobFailedException, UserCanceledException {
+		EventsTransformationJob delegate = new EventsTransformationJob(configuration.storeTransformedModelsProject,
+				configuration.eventMiddlewareFile, configuration.storeTransformedModels);
+
+		delegate.setBlackboard(myBlackboard);
+		delegate.execute(monitor);
+	}
+
+	private static EventsTransformationConfiguration withoutStoring(
+			final EventsTransformationConfiguration configuration) {
+		return new EventsTransformationConfiguration(configuration.simulateEvents, configuration.eventMiddlewareFile,
+				configuration.storeTransformedModelsProject, false, configuration.cacheFolder, configuration.cacheSize);
+	}
+
+	/**
+	 * Saves copies of the given transformed models into the storage project, one file per model
+	 * named like the model. The copies refer to each other, so the stored models are complete
+	 * together with the models which have not been transformed.
+	 *
+	 * @param storageProject
+	 *            the name of a workspace project, or the URI or the absolute path of a folder.
+	 */
+	private static void storeTransformedModels(final String storageProject, final List<Resource> models)
+			throws JobFailedException {
+		final URI folder = toFolderURI(storageProject);
+		final EcoreUtil.Copier copier = new EcoreUtil.Copier();
+		final List<Collection<EObject>> copiedContents = new ArrayList<Collection<EObject>>(models.size());
+		for (final Resource model : models) {
+			copiedContents.add(copier.copyAll(model.getContents()));
+		}
+		copier.copyReferences();
+
+		final ResourceSet storageResourceSet = new ResourceSetImpl();
+		final Set<String> names = new HashSet<String>();
+		for (int i = 0; i < models.size(); i++) {
+			String name = models.get(i).getURI().lastSegment();
+			if (name == null || name.isEmpty() || !names.add(name)) {
+				name = "model" + i + (name == null ? "" : "_" + name);
+			}
+			final Resource storedModel = new XMIResourceImpl(folder.appendSegment(name));
+			storageResourceSet.getResources().add(storedModel);
+			storedModel.getContents().addAll(copiedContents.get(i));
 		}
+		try {
+			for (final Resource storedModel : storageResourceSet.getResources()) {
+				storedModel.save(Collections.emptyMap());
+			}
+		} catch (final IOException e) {
+			throw new JobFailedException("The transformed models could not be stored in " + folder, e);
+		}
+		LOGGER.info("Stored " + models.size() + " transformed models in " + folder);
+	}
+
+	private static URI toFolderURI(final String storageProject) {
+		final URI folder;
+		if (new File(storageProject).isAbsolute()) {
+			folder = URI.createFileURI(storageProject);
+		} else if (URI.createURI(storageProject).scheme() == null) {
+			folder = URI.createPlatformResourceURI(storageProject, true);
+		} else {
+			folder = URI.createURI(storageProject);
+		}
+		return folder.hasTrailingPathSeparator() ? folder.trimSegments(1) : folder;
+	}
+
+	private static long millisecondsSince(final long start) {
+		return (System.nanoTime() - start) / 1000000;
 	}
 }
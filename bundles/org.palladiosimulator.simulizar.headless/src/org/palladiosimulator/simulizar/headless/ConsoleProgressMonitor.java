@@ -0,0 +1,75 @@
+package org.palladiosimulator.simulizar.headless;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Reports the progress of a headless run to the log, i.e., to the console. Tasks are logged on
+ * info level, every {@value #REPORTING_STEP} percent of progress as well; sub-tasks are logged on
+ * debug level.
+ */
+public class ConsoleProgressMonitor implements IProgressMonitor {
+
+    private static final Logger LOGGER = Logger.getLogger(ConsoleProgressMonitor.class);
+    private static final int REPORTING_STEP = 10;
+
+    private volatile boolean canceled = false;
+    private String taskName = "";
+    private double totalWork = UNKNOWN;
+    private double worked = 0;
+    private int reportedPercentage = 0;
+
+    @Override
+    public synchronized void beginTask(final String name, final int totalWork) {
+        this.taskName = name == null ? "" : name;
+        this.totalWork = totalWork;
+        this.worked = 0;
+        this.reportedPercentage = 0;
+        LOGGER.info("Started " + this.taskName);
+    }
+
+    @Override
+    public synchronized void done() {
+        LOGGER.info("Finished " + this.taskName);
+    }
+
+    @Override
+    public synchronized void internalWorked(final double work) {
+        this.worked += work;
+        if (this.totalWork <= 0) {
+            return;
+        }
+        final int percentage = (int) Math.min(100, this.worked * 100 / this.totalWork);
+        if (percentage >= this.reportedPercentage + REPORTING_STEP) {
+            this.reportedPercentage = percentage - percentage % REPORTING_STEP;
+            LOGGER.info(this.taskName + ": " + this.reportedPercentage + "%");
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return this.canceled;
+    }
+
+    @Override
+    public void setCanceled(final boolean canceled) {
+        this.canceled = canceled;
+    }
+
+    @Override
+    public synchronized void setTaskName(final String name) {
+        this.taskName = name == null ? "" : name;
+    }
+
+    @Override
+    public void subTask(final String name) {
+        if (name != null && !name.isEmpty()) {
+            LOGGER.debug(name);
+        }
+    }
+
+    @Override
+    public void worked(final int work) {
+        this.internalWorked(work);
+    }
+}
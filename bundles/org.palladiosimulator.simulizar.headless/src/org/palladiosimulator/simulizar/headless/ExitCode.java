@@ -0,0 +1,55 @@
+package org.palladiosimulator.simulizar.headless;
+
+/**
+ * The exit codes of the headless runner. The exit code of a batch is the highest exit code of its
+ * runs, i.e., failures outweigh service level objective violations.
+ */
+public enum ExitCode {
+
+    /**
+     * The simulation finished, and no service level objective was violated.
+     */
+    SUCCESS(0),
+
+    /**
+     * The simulation finished, but service level objectives were violated.
+     */
+    SLO_VIOLATION(1),
+
+    /**
+     * The models could not be loaded.
+     */
+    MODEL_LOAD_FAILURE(2),
+
+    /**
+     * The simulation or the evaluation of its results failed.
+     */
+    SIMULATION_FAILURE(3),
+
+    /**
+     * The command line or a run specification is invalid.
+     */
+    USAGE_ERROR(64);
+
+    private final int code;
+
+    private ExitCode(final int code) {
+        this.code = code;
+    }
+
+    /**
+     * @return the exit code of the process.
+     */
+    public int getCode() {
+        return this.code;
+    }
+
+    /**
+     * @param other
+     *            another exit code.
+     * @return the exit code which is higher, i.e., more severe.
+     */
+    public ExitCode max(final ExitCode other) {
+        return other.code > this.code ? other : this;
+    }
+}
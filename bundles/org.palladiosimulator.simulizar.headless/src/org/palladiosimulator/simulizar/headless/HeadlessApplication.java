@@ -0,0 +1,28 @@
+package org.palladiosimulator.simulizar.headless;
+
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+/**
+ * The headless runner as Eclipse application, e.g., for an installation of the headless product:
+ *
+ * <pre>
+ * simulizar -application org.palladiosimulator.simulizar.headless.application
+ *     [--workers n] [--output folder] [--summary file] [--verbose] specification.properties...
+ * </pre>
+ *
+ * The exit code of the application is the one of {@link SimuLizarHeadless#run(String[])}.
+ */
+public class HeadlessApplication implements IApplication {
+
+    @Override
+    public Object start(final IApplicationContext context) {
+        final String[] args = (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+        return SimuLizarHeadless.run(args == null ? new String[0] : args).getCode();
+    }
+
+    @Override
+    public void stop() {
+        // runs cannot be stopped from outside
+    }
+}
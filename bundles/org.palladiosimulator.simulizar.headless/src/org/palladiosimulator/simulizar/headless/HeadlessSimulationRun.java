@@ -0,0 +1,222 @@
+package org.palladiosimulator.simulizar.headless;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.apache.log4j.Logger;
+import org.apache.log4j.MDC;
+import org.eclipse.core.runtime.CoreException;
+import org.palladiosimulator.analyzer.workflow.ConstantsContainer;
+import org.palladiosimulator.edp2.impl.RepositoryManager;
+import org.palladiosimulator.edp2.models.Repository.Repository;
+import org.palladiosimulator.edp2.repository.local.LocalDirectoryRepositoryHelper;
+import org.palladiosimulator.recorderframework.edp2.config.AbstractEDP2RecorderConfigurationFactory;
+import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
+import org.palladiosimulator.simulizar.launcher.jobs.EvaluateResultsJob;
+import org.palladiosimulator.simulizar.launcher.jobs.LoadSimuLizarModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.launcher.jobs.PCMInterpreterRootCompositeJob;
+import org.palladiosimulator.simulizar.launcher.jobs.PCMStartInterpretationJob;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarLaunchConfigurationBasedConfigBuilder;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+
+import de.uka.ipd.sdq.simucomframework.SimuComConfig;
+import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
+import de.uka.ipd.sdq.workflow.jobs.IJob;
+import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
+import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+
+/**
+ * Runs the simulation of a {@link RunSpecification} without a launch configuration. The jobs of
+ * {@link PCMInterpreterRootCompositeJob} are run one after the other on a blackboard of their own,
+ * so that a failure to load the models can be told apart from a failure of the simulation.
+ * Measurements are recorded into a local EDP2 repository in the output folder of the run.
+ * <p>
+ * The name of the run is put into the log4j {@link MDC} under {@value #RUN_KEY} while it runs, so
+ * that the log of runs executed in parallel can be told apart.
+ */
+public class HeadlessSimulationRun implements Callable<RunResult> {
+
+    /**
+     * The key of the name of the run in the log4j {@link MDC}.
+     */
+    public static final String RUN_KEY = "run";
+
+    private static final Logger LOGGER = Logger.getLogger(HeadlessSimulationRun.class);
+    private static final String SIMULATOR_ID = "de.uka.ipd.sdq.codegen.simucontroller.simulizar";
+
+    private final RunSpecification specification;
+
+    /**
+     * @param specification
+     *            the specification of the run.
+     */
+    public HeadlessSimulationRun(final RunSpecification specification) {
+        this.specification = specification;
+    }
+
+    /**
+     * Runs the simulation; failures are reported by the exit code of the result rather than
+     * thrown.
+     */
+    @Override
+    public RunResult call() {
+        MDC.put(RUN_KEY, this.specification.getName());
+        try {
+            return this.run(System.currentTimeMillis());
+        } finally {
+            MDC.remove(RUN_KEY);
+        }
+    }
+
+    private RunResult run(final long start) {
+        final File outputFolder = this.specification.getOutputFolder();
+        final Repository repository;
+        try {
+            Files.createDirectories(outputFolder.toPath());
+            repository = LocalDirectoryRepositoryHelper.initializeLocalDirectoryRepository(outputFolder);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Output folder " + outputFolder + " cannot be used", e);
+            return this.result(ExitCode.USAGE_ERROR, start, null, e);
+        }
+        RepositoryManager.addRepository(RepositoryManager.getCentralRepository(), repository);
+
+        final ConsoleProgressMonitor monitor = new ConsoleProgressMonitor();
+        final MDSDBlackboard blackboard = new MDSDBlackboard();
+        final Deque<IJob> executedJobs = new ArrayDeque<>();
+        try {
+            final SimuLizarWorkflowConfiguration configuration;
+            try {
+                configuration = this.createConfiguration(repository.getId());
+            } catch (CoreException | IllegalArgumentException e) {
+                LOGGER.error("Run specification " + this.specification + " is invalid", e);
+                return this.result(ExitCode.USAGE_ERROR, start, null, e);
+            }
+
+            final LoadSimuLizarModelsIntoBlackboardJob loadJob = new LoadSimuLizarModelsIntoBlackboardJob(
+                    configuration);
+            loadJob.setBlackboard(blackboard);
+            try {
+                this.execute(loadJob, monitor, executedJobs);
+            } catch (JobFailedException | UserCanceledException | RuntimeException e) {
+                LOGGER.error("Models of " + this.specification + " could not be loaded", e);
+                return this.result(ExitCode.MODEL_LOAD_FAILURE, start, null, e);
+            }
+
+            final PCMStartInterpretationJob interpretationJob = new PCMStartInterpretationJob(configuration);
+            interpretationJob.setBlackboard(blackboard);
+            EvaluateResultsJob evaluationJob = null;
+            try {
+                this.execute(interpretationJob, monitor, executedJobs);
+                if (!this.specification.getServiceLevelObjectivesFile().isEmpty()) {
+                    evaluationJob = new EvaluateResultsJob(configuration);
+                    evaluationJob.setBlackboard(blackboard);
+                    this.execute(evaluationJob, monitor, executedJobs);
+                }
+            } catch (JobFailedException | UserCanceledException | RuntimeException e) {
+                LOGGER.error("Simulation of " + this.specification + " failed", e);
+                return this.result(ExitCode.SIMULATION_FAILURE, start, evaluationJob, e);
+            }
+
+            final boolean violated = evaluationJob != null && evaluationJob.getNumberOfSloViolations() > 0;
+            return this.result(violated ? ExitCode.SLO_VIOLATION : ExitCode.SUCCESS, start, evaluationJob, null);
+        } finally {
+            this.cleanup(executedJobs, monitor);
+            RepositoryManager.removeRepository(RepositoryManager.getCentralRepository(), repository);
+        }
+    }
+
+    /**
+     * Creates the configuration the way a launch configuration of the run specification would be
+     * turned into one.
+     */
+    private SimuLizarWorkflowConfiguration createConfiguration(final String repositoryId) throws CoreException {
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(SimuComConfig.SIMULATE_FAILURES, false);
+        properties.put(SimuComConfig.SIMULATE_LINKING_RESOURCES, false);
+        properties.put(SimuComConfig.VERBOSE_LOGGING, false);
+        properties.put(SimuComConfig.SIMULATOR_ID, SIMULATOR_ID);
+        properties.put(SimuComConfig.EXPERIMENT_RUN, this.specification.getName());
+        properties.put(SimuComConfig.VARIATION_ID, SimuComConfig.DEFAULT_VARIATION_NAME);
+        properties.put(SimuComConfig.SIMULATION_TIME, this.specification.getSimulationTime() != null
+                ? this.specification.getSimulationTime()
+                : String.valueOf(SimuComConfig.DEFAULT_SIMULATION_TIME));
+        properties.put(SimuComConfig.MAXIMUM_MEASUREMENT_COUNT, this.specification.getMaxMeasurements() != null
+                ? this.specification.getMaxMeasurements()
+                : String.valueOf(SimuComConfig.DEFAULT_MAXIMUM_MEASUREMENT_COUNT));
+
+        final long[] seeds = this.specification.getSeeds();
+        properties.put(SimuComConfig.USE_FIXED_SEED, seeds != null);
+        if (seeds != null) {
+            for (int i = 0; i < seeds.length; i++) {
+                properties.put(SimuComConfig.FIXED_SEED_PREFIX + i, Long.toString(seeds[i]));
+            }
+        }
+
+        properties.put(SimuComConfig.PERSISTENCE_RECORDER_NAME, this.specification.getRecorder().isEmpty()
+                ? org.palladiosimulator.recorderframework.edp2.Activator.EDP2_ID
+                : this.specification.getRecorder());
+        properties.put(AbstractEDP2RecorderConfigurationFactory.REPOSITORY_ID, repositoryId);
+
+        properties.put(ConstantsContainer.ANALYSE_ACCURACY, false);
+        properties.put(ConstantsContainer.ACCURACY_QUALITY_ANNOTATION_FILE, "");
+        properties.put(SimulizarConstants.MONITOR_REPOSITORY_FILE, this.specification.getMonitorRepositoryFile());
+        properties.put(SimulizarConstants.USAGEEVOLUTION_FILE, this.specification.getUsageEvolutionFile());
+        properties.put(SimulizarConstants.SERVICELEVELOBJECTIVEREPOSITORY_FILE,
+                this.specification.getServiceLevelObjectivesFile());
+        properties.put(SimulizarConstants.RECONFIGURATION_RULES_FOLDER,
+                this.specification.getReconfigurationRulesFolder());
+
+        // attributes of the specification take precedence; booleans are passed as booleans
+        for (final Map.Entry<String, String> attribute : this.specification.getAttributes().entrySet()) {
+            final String value = attribute.getValue();
+            properties.put(attribute.getKey(),
+                    "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value) ? Boolean.valueOf(value)
+                            : value);
+        }
+
+        final SimuLizarWorkflowConfiguration configuration = new SimuLizarWorkflowConfiguration(properties);
+        configuration.setAllocationFiles(this.specification.getAllocationFiles());
+        configuration.setUsageModelFile(this.specification.getUsageModelFile());
+        SimuLizarLaunchConfigurationBasedConfigBuilder.fillFromProperties(configuration, properties);
+        return configuration;
+    }
+
+    private void execute(final IJob job, final ConsoleProgressMonitor monitor, final Deque<IJob> executedJobs)
+            throws JobFailedException, UserCanceledException {
+        LOGGER.info("Running " + job.getName());
+        executedJobs.push(job);
+        job.execute(monitor);
+    }
+
+    private void cleanup(final Deque<IJob> executedJobs, final ConsoleProgressMonitor monitor) {
+        for (final IJob job : executedJobs) {
+            try {
+                job.cleanup(monitor);
+            } catch (CleanupFailedException | RuntimeException e) {
+                LOGGER.warn("Cleanup of " + job.getName() + " failed", e);
+            }
+        }
+    }
+
+    private RunResult result(final ExitCode exitCode, final long start, final EvaluateResultsJob evaluationJob,
+            final Exception failure) {
+        final long measurements = evaluationJob == null ? -1L : evaluationJob.getNumberOfMeasurements();
+        final long sloViolations = evaluationJob == null ? -1L : evaluationJob.getNumberOfSloViolations();
+        String message = "";
+        if (failure != null) {
+            message = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+        }
+        final RunResult result = new RunResult(this.specification.getName(), exitCode,
+                System.currentTimeMillis() - start, measurements, sloViolations, this.specification.getOutputFolder(),
+                message);
+        LOGGER.info("Finished " + result);
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package org.palladiosimulator.simulizar.headless;
+
+import java.io.File;
+
+/**
+ * The result of a headless simulation run, as listed in the summary of a batch.
+ */
+public class RunResult {
+
+    /**
+     * The header of the summary lines of {@link #toCsvLine()}.
+     */
+    public static final String CSV_HEADER = "name,exitCode,status,durationMillis,measurements,sloViolations,output,"
+            + "message";
+
+    private final String name;
+    private final ExitCode exitCode;
+    private final long durationMillis;
+    private final long measurements;
+    private final long sloViolations;
+    private final File outputFolder;
+    private final String message;
+
+    /**
+     * @param name
+     *            the name of the run.
+     * @param exitCode
+     *            the outcome of the run.
+     * @param durationMillis
+     *            the wall-clock duration of the run.
+     * @param measurements
+     *            the number of measurements the service level objectives were evaluated on, or -1
+     *            if they were not evaluated.
+     * @param sloViolations
+     *            the number of measurements violating a service level objective, or -1 if they
+     *            were not evaluated.
+     * @param outputFolder
+     *            the folder the results were written to.
+     * @param message
+     *            the error message if the run failed, or an empty string.
+     */
+    public RunResult(final String name, final ExitCode exitCode, final long durationMillis, final long measurements,
+            final long sloViolations, final File outputFolder, final String message) {
+        this.name = name;
+        this.exitCode = exitCode;
+        this.durationMillis = durationMillis;
+        this.measurements = measurements;
+        this.sloViolations = sloViolations;
+        this.outputFolder = outputFolder;
+        this.message = message == null ? "" : message;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public ExitCode getExitCode() {
+        return this.exitCode;
+    }
+
+    public long getDurationMillis() {
+        return this.durationMillis;
+    }
+
+    public long getMeasurements() {
+        return this.measurements;
+    }
+
+    public long getSloViolations() {
+        return this.sloViolations;
+    }
+
+    public File getOutputFolder() {
+        return this.outputFolder;
+    }
+
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * @return the summary line of the run, with the columns of {@link #CSV_HEADER}.
+     */
+    public String toCsvLine() {
+        return String.join(",", escape(this.name), Integer.toString(this.exitCode.getCode()),
+                this.exitCode.name(), Long.toString(this.durationMillis), Long.toString(this.measurements),
+                Long.toString(this.sloViolations),
+                escape(this.outputFolder == null ? "" : this.outputFolder.getAbsolutePath()), escape(this.message));
+    }
+
+    @Override
+    public String toString() {
+        return this.name + ": " + this.exitCode + (this.message.isEmpty() ? "" : " (" + this.message + ")");
+    }
+
+    private static String escape(final String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,315 @@
+package org.palladiosimulator.simulizar.headless;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * The specification of a headless simulation run, read from a properties file:
+ *
+ * <pre>
+ * name = server
+ * allocation = server.allocation
+ * usageModel = server.usagemodel
+ * monitorRepository = monitors/server.monitorrepository
+ * usageEvolution = usageevolution/server.usageevolution
+ * slo = slo/server.slo
+ * reconfigurationRules = rules/
+ * simulationTime = 1000
+ * maxMeasurements = 10000
+ * seeds = 1, 2, 3, 4, 5, 6
+ * recorder = edp2
+ * output = results/server
+ * attribute.warmupDetector = MSER5
+ * </pre>
+ *
+ * Only the allocation and usage model are required; several allocations are separated by commas.
+ * Without an output folder, the results are written to a folder named like the run in the
+ * {@value #DEFAULT_OUTPUT_FOLDER} folder. Relative paths are resolved against the folder of the
+ * specification file, URIs such as
+ * {@code platform:/plugin/...} are taken as they are. A single seed is expanded to the six seeds
+ * of the random number generator. Properties prefixed by {@value #ATTRIBUTE_PREFIX} are passed to
+ * the configuration unchanged, like the attributes of a launch configuration, e.g., to configure
+ * warm-up detection or confidence stop conditions.
+ */
+public class RunSpecification {
+
+    public static final String NAME = "name";
+    public static final String ALLOCATION = "allocation";
+    public static final String USAGE_MODEL = "usageModel";
+    public static final String MONITOR_REPOSITORY = "monitorRepository";
+    public static final String USAGE_EVOLUTION = "usageEvolution";
+    public static final String SLO = "slo";
+    public static final String RECONFIGURATION_RULES = "reconfigurationRules";
+    public static final String SIMULATION_TIME = "simulationTime";
+    public static final String MAX_MEASUREMENTS = "maxMeasurements";
+    public static final String SEEDS = "seeds";
+    public static final String RECORDER = "recorder";
+    public static final String OUTPUT = "output";
+    public static final String ATTRIBUTE_PREFIX = "attribute.";
+
+    /**
+     * The number of seeds of the random number generator of SimuCom.
+     */
+    public static final int NUMBER_OF_SEEDS = 6;
+
+    /**
+     * The folder the output folders of runs are created in, unless a run specifies its output
+     * folder or another folder is given.
+     */
+    public static final String DEFAULT_OUTPUT_FOLDER = "results";
+
+    private static final String SPECIFICATION_FILE_EXTENSION = ".properties";
+
+    private final String name;
+    private final List<String> allocationFiles;
+    private final String usageModelFile;
+    private final String monitorRepositoryFile;
+    private final String usageEvolutionFile;
+    private final String serviceLevelObjectivesFile;
+    private final String reconfigurationRulesFolder;
+    private final String simulationTime;
+    private final String maxMeasurements;
+    private final long[] seeds;
+    private final String recorder;
+    private final File outputFolder;
+    private final Map<String, String> attributes;
+
+    private RunSpecification(final Properties properties, final File baseFolder, final String defaultName,
+            final File outputBaseFolder) {
+        this.name = properties.getProperty(NAME, defaultName).trim();
+        this.allocationFiles = new ArrayList<>();
+        for (final String allocationFile : required(properties, ALLOCATION).split(",")) {
+            this.allocationFiles.add(toURI(allocationFile.trim(), baseFolder));
+        }
+        this.usageModelFile = toURI(required(properties, USAGE_MODEL), baseFolder);
+        this.monitorRepositoryFile = optionalURI(properties, MONITOR_REPOSITORY, baseFolder);
+        this.usageEvolutionFile = optionalURI(properties, USAGE_EVOLUTION, baseFolder);
+        this.serviceLevelObjectivesFile = optionalURI(properties, SLO, baseFolder);
+        final String rules = optionalURI(properties, RECONFIGURATION_RULES, baseFolder);
+        this.reconfigurationRulesFolder = rules.isEmpty() || rules.endsWith("/") ? rules : rules + "/";
+        this.simulationTime = number(properties, SIMULATION_TIME);
+        this.maxMeasurements = number(properties, MAX_MEASUREMENTS);
+        this.seeds = seeds(properties.getProperty(SEEDS));
+        this.recorder = properties.getProperty(RECORDER, "").trim();
+        final String output = properties.getProperty(OUTPUT, "").trim();
+        if (!output.isEmpty()) {
+            this.outputFolder = resolve(output, baseFolder);
+        } else if (outputBaseFolder != null) {
+            this.outputFolder = new File(outputBaseFolder, this.name);
+        } else {
+            this.outputFolder = new File(new File(baseFolder, DEFAULT_OUTPUT_FOLDER), this.name);
+        }
+        final Map<String, String> attributes = new HashMap<>();
+        for (final String key : properties.stringPropertyNames()) {
+            if (key.startsWith(ATTRIBUTE_PREFIX)) {
+                attributes.put(key.substring(ATTRIBUTE_PREFIX.length()), properties.getProperty(key).trim());
+            }
+        }
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    /**
+     * @param file
+     *            the properties file of the specification.
+     * @return the specification; its name defaults to the name of the file.
+     * @throws IOException
+     *             if the file cannot be read.
+     * @throws IllegalArgumentException
+     *             if the specification is invalid.
+     */
+    public static RunSpecification load(final Path file) throws IOException {
+        return load(file, null);
+    }
+
+    /**
+     * @param file
+     *            the properties file of the specification.
+     * @param outputBaseFolder
+     *            the folder to create the output folder in if the specification does not specify
+     *            one, or {@code null} for the {@value #DEFAULT_OUTPUT_FOLDER} folder next to the
+     *            file.
+     * @return the specification; its name defaults to the name of the file.
+     * @throws IOException
+     *             if the file cannot be read.
+     * @throws IllegalArgumentException
+     *             if the specification is invalid.
+     */
+    public static RunSpecification load(final Path file, final File outputBaseFolder) throws IOException {
+        final Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        }
+        String defaultName = file.getFileName().toString();
+        if (defaultName.endsWith(SPECIFICATION_FILE_EXTENSION)) {
+            defaultName = defaultName.substring(0, defaultName.length() - SPECIFICATION_FILE_EXTENSION.length());
+        }
+        final Path folder = file.toAbsolutePath().getParent();
+        return new RunSpecification(properties, folder.toFile(), defaultName, outputBaseFolder);
+    }
+
+    /**
+     * @param properties
+     *            the properties of the specification.
+     * @param baseFolder
+     *            the folder relative paths are resolved against.
+     * @return the specification.
+     * @throws IllegalArgumentException
+     *             if the specification is invalid, e.g., has no name.
+     */
+    public static RunSpecification fromProperties(final Properties properties, final File baseFolder) {
+        return new RunSpecification(properties, baseFolder, required(properties, NAME), null);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public List<String> getAllocationFiles() {
+        return Collections.unmodifiableList(this.allocationFiles);
+    }
+
+    public String getUsageModelFile() {
+        return this.usageModelFile;
+    }
+
+    /**
+     * @return the URI of the monitor repository, or an empty string if there is none; the same
+     *         applies to the other optional models.
+     */
+    public String getMonitorRepositoryFile() {
+        return this.monitorRepositoryFile;
+    }
+
+    public String getUsageEvolutionFile() {
+        return this.usageEvolutionFile;
+    }
+
+    public String getServiceLevelObjectivesFile() {
+        return this.serviceLevelObjectivesFile;
+    }
+
+    public String getReconfigurationRulesFolder() {
+        return this.reconfigurationRulesFolder;
+    }
+
+    /**
+     * @return the simulation time, or {@code null} to use the default of SimuCom.
+     */
+    public String getSimulationTime() {
+        return this.simulationTime;
+    }
+
+    /**
+     * @return the maximum number of measurements, or {@code null} to use the default of SimuCom.
+     */
+    public String getMaxMeasurements() {
+        return this.maxMeasurements;
+    }
+
+    /**
+     * @return the {@value #NUMBER_OF_SEEDS} seeds of the random number generator, or {@code null}
+     *         if the seeds are not fixed.
+     */
+    public long[] getSeeds() {
+        return this.seeds == null ? null : this.seeds.clone();
+    }
+
+    /**
+     * @return the name of the recorder, or an empty string to record into the EDP2 repository in
+     *         the output folder.
+     */
+    public String getRecorder() {
+        return this.recorder;
+    }
+
+    public File getOutputFolder() {
+        return this.outputFolder;
+    }
+
+    /**
+     * @return the attributes passed to the configuration unchanged.
+     */
+    public Map<String, String> getAttributes() {
+        return this.attributes;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    private static String required(final Properties properties, final String key) {
+        final String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Property " + key + " is missing");
+        }
+        return value.trim();
+    }
+
+    private static String optionalURI(final Properties properties, final String key, final File baseFolder) {
+        final String value = properties.getProperty(key, "").trim();
+        return value.isEmpty() ? value : toURI(value, baseFolder);
+    }
+
+    private static String number(final Properties properties, final String key) {
+        final String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.toString(Long.parseLong(value.trim()));
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + key + " is not a number: " + value, e);
+        }
+    }
+
+    private static long[] seeds(final String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        final String[] values = value.split(",");
+        if (values.length != 1 && values.length != NUMBER_OF_SEEDS) {
+            throw new IllegalArgumentException(
+                    "Property " + SEEDS + " needs 1 or " + NUMBER_OF_SEEDS + " seeds: " + value);
+        }
+        final long[] result = new long[NUMBER_OF_SEEDS];
+        try {
+            for (int i = 0; i < NUMBER_OF_SEEDS; i++) {
+                result[i] = values.length == 1 ? Long.parseLong(values[0].trim()) + i
+                        : Long.parseLong(values[i].trim());
+            }
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + SEEDS + " contains invalid seeds: " + value, e);
+        }
+        return result;
+    }
+
+    /**
+     * Keeps URIs and turns paths into file URIs; a single letter before the colon is taken as a
+     * drive letter rather than a scheme.
+     */
+    private static String toURI(final String location, final File baseFolder) {
+        final int colon = location.indexOf(':');
+        if (colon > 1 && URI.validScheme(location.substring(0, colon))) {
+            return location;
+        }
+        final String uri = URI.createFileURI(resolve(location, baseFolder).getAbsolutePath()).toString();
+        return location.endsWith("/") && !uri.endsWith("/") ? uri + "/" : uri;
+    }
+
+    private static File resolve(final String path, final File baseFolder) {
+        final File file = new File(path);
+        return file.isAbsolute() ? file : new File(baseFolder, path);
+    }
+}
@@ -0,0 +1,236 @@
+package org.palladiosimulator.simulizar.headless;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.ConsoleAppender;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.eclipse.emf.ecore.plugin.EcorePlugin;
+
+/**
+ * Command line entry point running SimuLizar simulations without a workbench, workspace or launch
+ * configuration:
+ *
+ * <pre>
+ * java -cp ... org.palladiosimulator.simulizar.headless.SimuLizarHeadless
+ *     [--workers n] [--output folder] [--summary file] [--verbose] specification.properties...
+ * </pre>
+ *
+ * Runs whose specification has no output folder write their results to a folder named like the
+ * run in the given output folder. Each {@link RunSpecification} is run on a blackboard of its
+ * own; with more than one worker, up to that many runs are executed in parallel. Note that
+ * parallel runs share the static registries of EMF, EDP2 and SimuCom of the JVM. A summary of
+ * all runs is written to a CSV file at the end. The process exits with the highest
+ * {@link ExitCode} of the runs.
+ * <p>
+ * Run from a plain class path, the plugin.xml files on the class path are processed first, so
+ * that the EMF packages, URI mappings and extensions of the bundles are available without OSGi.
+ */
+public final class SimuLizarHeadless {
+
+    /**
+     * The layout of the log: time, level, name of the run and logger.
+     */
+    public static final String LOG_PATTERN = "%d{ISO8601} %-5p [%X{" + HeadlessSimulationRun.RUN_KEY
+            + "}] %c{1} - %m%n";
+
+    /**
+     * The summary file written if none is given.
+     */
+    public static final String DEFAULT_SUMMARY_FILE = "simulizar-summary.csv";
+
+    private static final String USAGE = "Usage: SimuLizarHeadless [--workers <n>] [--output <folder>]"
+            + " [--summary <file>] [--verbose] <run specification>...";
+    private static final Logger LOGGER = Logger.getLogger(SimuLizarHeadless.class);
+
+    private SimuLizarHeadless() {
+    }
+
+    /**
+     * @param args
+     *            the command line arguments.
+     */
+    public static void main(final String[] args) {
+        if (!EcorePlugin.IS_ECLIPSE_RUNNING) {
+            EcorePlugin.ExtensionProcessor.process(null);
+        }
+        System.exit(run(args).getCode());
+    }
+
+    /**
+     * Runs the run specifications given by command line arguments.
+     *
+     * @param args
+     *            the command line arguments.
+     * @return the highest exit code of the runs, or {@link ExitCode#USAGE_ERROR} if the arguments
+     *         or a run specification are invalid; nothing is run in that case.
+     */
+    public static ExitCode run(final String[] args) {
+        int workers = 1;
+        File outputFolder = null;
+        Path summaryFile = Paths.get(DEFAULT_SUMMARY_FILE);
+        boolean verbose = false;
+        final List<Path> specificationFiles = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if ("--workers".equals(args[i]) && i + 1 < args.length) {
+                    workers = Integer.parseInt(args[++i]);
+                } else if ("--output".equals(args[i]) && i + 1 < args.length) {
+                    outputFolder = new File(args[++i]);
+                } else if ("--summary".equals(args[i]) && i + 1 < args.length) {
+                    summaryFile = Paths.get(args[++i]);
+                } else if ("--verbose".equals(args[i])) {
+                    verbose = true;
+                } else if (args[i].startsWith("--")) {
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+                } else {
+                    specificationFiles.add(Paths.get(args[i]));
+                }
+            }
+            if (workers < 1) {
+                throw new IllegalArgumentException("The number of workers has to be positive");
+            }
+            if (specificationFiles.isEmpty()) {
+                throw new IllegalArgumentException("No run specification given");
+            }
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return ExitCode.USAGE_ERROR;
+        }
+
+        configureLogging(verbose ? Level.DEBUG : Level.INFO);
+
+        final List<RunSpecification> specifications = new ArrayList<>();
+        final Set<File> outputFolders = new HashSet<>();
+        for (final Path specificationFile : specificationFiles) {
+            try {
+                final RunSpecification specification = RunSpecification.load(specificationFile, outputFolder);
+                if (!outputFolders.add(specification.getOutputFolder().getAbsoluteFile())) {
+                    throw new IllegalArgumentException(
+                            "Output folder " + specification.getOutputFolder() + " is used by another run");
+                }
+                specifications.add(specification);
+            } catch (IOException | IllegalArgumentException e) {
+                LOGGER.error("Run specification " + specificationFile + " is invalid: " + e.getMessage());
+                return ExitCode.USAGE_ERROR;
+            }
+        }
+
+        final List<RunResult> results = runBatch(specifications, workers);
+        ExitCode exitCode = ExitCode.SUCCESS;
+        for (final RunResult result : results) {
+            exitCode = exitCode.max(result.getExitCode());
+        }
+        try {
+            writeSummary(summaryFile, results);
+        } catch (final IOException e) {
+            LOGGER.error("Summary " + summaryFile + " could not be written", e);
+            exitCode = exitCode.max(ExitCode.USAGE_ERROR);
+        }
+        LOGGER.info("Finished " + results.size() + " runs with exit code " + exitCode.getCode());
+        return exitCode;
+    }
+
+    /**
+     * Runs the simulations of run specifications.
+     *
+     * @param specifications
+     *            the run specifications.
+     * @param workers
+     *            the maximum number of runs executed in parallel; with 1, the runs are executed one
+     *            after the other in the calling thread.
+     * @return the results in the order of the specifications.
+     */
+    public static List<RunResult> runBatch(final List<RunSpecification> specifications, final int workers) {
+        final List<RunResult> results = new ArrayList<>();
+        if (workers == 1 || specifications.size() == 1) {
+            for (final RunSpecification specification : specifications) {
+                results.add(new HeadlessSimulationRun(specification).call());
+            }
+            return results;
+        }
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, specifications.size()),
+                runnable -> new Thread(runnable, "simulizar-run-" + threadNumber.incrementAndGet()));
+        try {
+            final List<Future<RunResult>> futures = new ArrayList<>();
+            for (final RunSpecification specification : specifications) {
+                futures.add(executor.submit(new HeadlessSimulationRun(specification)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(getResult(futures.get(i), specifications.get(i)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Writes a summary line per run to a CSV file.
+     *
+     * @param summaryFile
+     *            the file to write; it is replaced if it exists.
+     * @param results
+     *            the results of the runs.
+     * @throws IOException
+     *             if the file cannot be written.
+     */
+    public static void writeSummary(final Path summaryFile, final List<RunResult> results) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        lines.add(RunResult.CSV_HEADER);
+        for (final RunResult result : results) {
+            lines.add(result.toCsvLine());
+        }
+        final Path folder = summaryFile.toAbsolutePath().getParent();
+        if (folder != null) {
+            Files.createDirectories(folder);
+        }
+        Files.write(summaryFile, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Logs to the console by {@link #LOG_PATTERN}, unless log4j is configured already.
+     *
+     * @param level
+     *            the level of the SimuLizar loggers.
+     */
+    public static void configureLogging(final Level level) {
+        final Logger rootLogger = Logger.getRootLogger();
+        if (!rootLogger.getAllAppenders().hasMoreElements()) {
+            rootLogger.addAppender(new ConsoleAppender(new PatternLayout(LOG_PATTERN)));
+            rootLogger.setLevel(Level.WARN);
+        }
+        Logger.getLogger("org.palladiosimulator.simulizar").setLevel(level);
+    }
+
+    private static RunResult getResult(final Future<RunResult> future, final RunSpecification specification) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new RunResult(specification.getName(), ExitCode.SIMULATION_FAILURE, 0L, -1L, -1L,
+                    specification.getOutputFolder(), "Interrupted");
+        } catch (final ExecutionException e) {
+            return new RunResult(specification.getName(), ExitCode.SIMULATION_FAILURE, 0L, -1L, -1L,
+                    specification.getOutputFolder(), String.valueOf(e.getCause()));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.palladiosimulator.simulizar.measuringpoint.create;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * The {@link MeasuringPointWorkspace} of the Eclipse workspace. Files are read from the file
+ * system, like the listener did before, so that files which are out of sync can be read too.
+ */
+public class EclipseMeasuringPointWorkspace implements MeasuringPointWorkspace {
+
+	private final IWorkspaceRoot root;
+
+	/**
+	 * @param root
+	 *            the root of the workspace.
+	 */
+	public EclipseMeasuringPointWorkspace(IWorkspaceRoot root) {
+		this.root = root;
+	}
+
+	@Override
+	public Collection<String> getProjectNames() {
+		List<String> projectNames = new ArrayList<>();
+		for (IProject project : this.root.getProjects()) {
+			if (project.isOpen()) {
+				projectNames.add(project.getName());
+			}
+		}
+		return projectNames;
+	}
+
+	@Override
+	public List<String> getFiles(String projectName) throws IOException {
+		final List<String> files = new ArrayList<>();
+		IProject project = this.root.getProject(projectName);
+		if (!project.isOpen()) {
+			return files;
+		}
+		try {
+			project.accept(new IResourceProxyVisitor() {
+				@Override
+				public boolean visit(IResourceProxy proxy) {
+					if (proxy.getType() == IResource.FILE) {
+						files.add(proxy.requestFullPath().toString());
+					}
+					return true;
+				}
+			}, IResource.NONE);
+		} catch (CoreException e) {
+			throw new IOException("The project " + projectName + " could not be traversed", e);
+		}
+		return files;
+	}
+
+	@Override
+	public InputStream read(String path) throws IOException {
+		return new FileInputStream(this.getFile(path).getLocation().toFile());
+	}
+
+	@Override
+	public void write(String path, byte[] contents) throws IOException {
+		try {
+			this.getFile(path).setContents(new ByteArrayInputStream(contents), IResource.FORCE | IResource.KEEP_HISTORY,
+					null);
+		} catch (CoreException e) {
+			throw new IOException("The file " + path + " could not be written", e);
+		}
+	}
+
+	@Override
+	public void createMeasuringPoint(String path, String resourceURI) throws IOException {
+		MeasuringPointFiles.createMeasuringPoint(URI.createPlatformResourceURI(path, true), resourceURI);
+	}
+
+	@Override
+	public void delete(String path) throws IOException {
+		try {
+			this.getFile(path).delete(true, null);
+		} catch (CoreException e) {
+			throw new IOException("The file " + path + " could not be deleted", e);
+		}
+	}
+
+	private IFile getFile(String path) {
+		return this.root.getFile(new Path(path));
+	}
+}
@@ -0,0 +1,102 @@
+package org.palladiosimulator.simulizar.measuringpoint.create;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * A {@link MeasuringPointWorkspace} of a directory of the file system whose subdirectories are
+ * the projects, for synchronising measuring points without a running Eclipse workspace.
+ */
+public class FileSystemMeasuringPointWorkspace implements MeasuringPointWorkspace {
+
+	private final Path root;
+
+	/**
+	 * @param root
+	 *            the directory containing the projects.
+	 */
+	public FileSystemMeasuringPointWorkspace(Path root) {
+		this.root = root;
+	}
+
+	@Override
+	public Collection<String> getProjectNames() {
+		List<String> projectNames = new ArrayList<>();
+		try (DirectoryStream<Path> projects = Files.newDirectoryStream(this.root)) {
+			for (Path project : projects) {
+				if (Files.isDirectory(project)) {
+					projectNames.add(project.getFileName().toString());
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("The projects in " + this.root + " could not be listed", e);
+		}
+		return projectNames;
+	}
+
+	@Override
+	public List<String> getFiles(String projectName) throws IOException {
+		final List<String> files = new ArrayList<>();
+		Files.walkFileTree(this.root.resolve(projectName), new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+				files.add(getPath(file));
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return files;
+	}
+
+	@Override
+	public InputStream read(String path) throws IOException {
+		return Files.newInputStream(this.resolve(path));
+	}
+
+	@Override
+	public void write(String path, byte[] contents) throws IOException {
+		Files.write(this.resolve(path), contents);
+	}
+
+	@Override
+	public void createMeasuringPoint(String path, String resourceURI) throws IOException {
+		MeasuringPointFiles.createMeasuringPoint(URI.createFileURI(this.resolve(path).toString()), resourceURI);
+	}
+
+	@Override
+	public void delete(String path) throws IOException {
+		Files.deleteIfExists(this.resolve(path));
+	}
+
+	/**
+	 * @param path
+	 *            the workspace-relative path of a file.
+	 * @return the file in the file system.
+	 */
+	public Path resolve(String path) {
+		return this.root.resolve(path.startsWith("/") ? path.substring(1) : path);
+	}
+
+	/**
+	 * @param file
+	 *            a file in the file system.
+	 * @return the workspace-relative path of the file.
+	 */
+	public String getPath(Path file) {
+		StringBuilder path = new StringBuilder();
+		for (Path segment : this.root.relativize(file)) {
+			path.append('/').append(segment.toString());
+		}
+		return path.toString();
+	}
+}
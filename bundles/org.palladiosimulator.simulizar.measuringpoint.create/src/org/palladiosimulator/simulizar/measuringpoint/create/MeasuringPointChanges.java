@@ -0,0 +1,115 @@
+package org.palladiosimulator.simulizar.measuringpoint.create;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The measuring point files to create and delete, and the stereotype applications to remove, to
+ * synchronise the measuring points with the stereotype applications after a change of the
+ * workspace.
+ */
+public class MeasuringPointChanges {
+
+	private final Map<String, String> measuringPointsToCreate = new LinkedHashMap<>();
+	private final Set<String> measuringPointsToDelete = new LinkedHashSet<>();
+	private final Map<String, Set<String>> stereotypeApplicationsToRemove = new LinkedHashMap<>();
+
+	void createMeasuringPoint(String path, String resourceURI) {
+		this.measuringPointsToCreate.put(path, resourceURI);
+	}
+
+	void deleteMeasuringPoint(String path) {
+		this.measuringPointsToDelete.add(path);
+	}
+
+	void removeStereotypeApplication(String applicationFile, String resourceURI) {
+		Set<String> resourceURIs = this.stereotypeApplicationsToRemove.get(applicationFile);
+		if (resourceURIs == null) {
+			resourceURIs = new LinkedHashSet<>();
+			this.stereotypeApplicationsToRemove.put(applicationFile, resourceURIs);
+		}
+		resourceURIs.add(resourceURI);
+	}
+
+	/**
+	 * @return the resourceURIs of the measuring point files to create, by their paths.
+	 */
+	public Map<String, String> getMeasuringPointsToCreate() {
+		return Collections.unmodifiableMap(this.measuringPointsToCreate);
+	}
+
+	/**
+	 * @return the paths of the measuring point files to delete.
+	 */
+	public Set<String> getMeasuringPointsToDelete() {
+		return Collections.unmodifiableSet(this.measuringPointsToDelete);
+	}
+
+	/**
+	 * @return the resourceURIs whose stereotype applications are removed, by the paths of the
+	 *         stereotype application files.
+	 */
+	public Map<String, Set<String>> getStereotypeApplicationsToRemove() {
+		return Collections.unmodifiableMap(this.stereotypeApplicationsToRemove);
+	}
+
+	/**
+	 * @return the names of the projects containing the files to change.
+	 */
+	public Set<String> getAffectedProjects() {
+		Set<String> projects = new LinkedHashSet<>();
+		for (String path : this.measuringPointsToCreate.keySet()) {
+			projects.add(MeasuringPointFiles.getProjectName(path));
+		}
+		for (String path : this.measuringPointsToDelete) {
+			projects.add(MeasuringPointFiles.getProjectName(path));
+		}
+		for (String path : this.stereotypeApplicationsToRemove.keySet()) {
+			projects.add(MeasuringPointFiles.getProjectName(path));
+		}
+		return projects;
+	}
+
+	/**
+	 * @return whether no file has to be changed.
+	 */
+	public boolean isEmpty() {
+		return this.measuringPointsToCreate.isEmpty() && this.measuringPointsToDelete.isEmpty()
+				&& this.stereotypeApplicationsToRemove.isEmpty();
+	}
+
+	/**
+	 * Changes the files of the workspace.
+	 *
+	 * @param workspace
+	 *            the workspace containing the files.
+	 * @param files
+	 *            the access to the contents of the files.
+	 * @throws IOException
+	 *             if a file could not be changed; the remaining files are not changed.
+	 */
+	public void applyTo(MeasuringPointWorkspace workspace, MeasuringPointFiles files) throws IOException {
+		for (Map.Entry<String, String> entry : this.measuringPointsToCreate.entrySet()) {
+			workspace.createMeasuringPoint(entry.getKey(), entry.getValue());
+		}
+		for (String path : this.measuringPointsToDelete) {
+			workspace.delete(path);
+		}
+		for (Map.Entry<String, Set<String>> entry : this.stereotypeApplicationsToRemove.entrySet()) {
+			byte[] contents = files.removeStereotypeApplications(workspace.read(entry.getKey()), entry.getValue());
+			if (contents != null) {
+				workspace.write(entry.getKey(), contents);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "create " + this.measuringPointsToCreate.keySet() + ", delete " + this.measuringPointsToDelete
+				+ ", remove stereotype applications " + this.stereotypeApplicationsToRemove;
+	}
+}
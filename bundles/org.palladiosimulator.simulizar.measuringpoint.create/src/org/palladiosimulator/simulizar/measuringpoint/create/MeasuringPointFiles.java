@@ -0,0 +1,235 @@
+package org.palladiosimulator.simulizar.measuringpoint.create;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointPackage;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads and writes measuring point files and MeasuringPoint stereotype application files. The
+ * resourceURIs are extracted by streaming over the files, without building their documents; only
+ * removing stereotype applications parses the whole document.
+ */
+public class MeasuringPointFiles {
+
+	public static final String RESOURCE_URI_ATTRIBUTE_NAME = "resourceURI";
+	public static final String APPLIED_TO_ELEMENT_TAG_NAME = "appliedTo";
+	public static final String HREF_ATTRIBUTE_NAME = "href";
+	public static final String MEASURING_POINT_FILE_EXTENSION = ".measuringpoint";
+	public static final String MEASURING_POINT_STEREOTYPE_APPLICATION_FILE_EXTENSION = ".SimulizarProfile.pa.xmi";
+	private static final String ELEMENT_ID_PREFIX = "platform:/resource";
+	private static final String REPOSITORY_FILE_EXTENSION = ".repository#";
+	private static final String UTF8_ENCODING = "UTF-8";
+
+	private final XMLInputFactory inputFactory;
+
+	public MeasuringPointFiles() {
+		this.inputFactory = XMLInputFactory.newInstance();
+		this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		this.inputFactory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+	}
+
+	/**
+	 * @param path
+	 *            the path of a file.
+	 * @return whether the file is a measuring point file.
+	 */
+	public static boolean isMeasuringPoint(String path) {
+		return path.endsWith(MEASURING_POINT_FILE_EXTENSION);
+	}
+
+	/**
+	 * @param path
+	 *            the path of a file.
+	 * @return whether the file is a MeasuringPoint stereotype application file.
+	 */
+	public static boolean isStereotypeApplication(String path) {
+		return path.endsWith(MEASURING_POINT_STEREOTYPE_APPLICATION_FILE_EXTENSION);
+	}
+
+	/**
+	 * @param path
+	 *            the path of a file.
+	 * @return the name of the project containing the file.
+	 */
+	public static String getProjectName(String path) {
+		int start = path.startsWith("/") ? 1 : 0;
+		int end = path.indexOf('/', start);
+		return end < 0 ? path.substring(start) : path.substring(start, end);
+	}
+
+	/**
+	 * Given a resourceURI in a form
+	 * "platform:/resource/ui/loadbalancer.repository#_7FXSsAEma34" it extracts
+	 * the path of the measuring point file. In this case it would be
+	 * "/ui/loadbalancer_7FXSsAEma34.measuringpoint".
+	 *
+	 * @param resourceURI
+	 *            resourceURI from which the measuring point file name should be
+	 *            extracted.
+	 * @return path of the measuring point file.
+	 */
+	public static String getMeasuringPointPath(String resourceURI) {
+		String fileName = resourceURI.replace(ELEMENT_ID_PREFIX, ""); //$NON-NLS-1$
+		fileName = fileName.replace(REPOSITORY_FILE_EXTENSION, ""); //$NON-NLS-1$
+		return fileName + MEASURING_POINT_FILE_EXTENSION;
+	}
+
+	/**
+	 * @param contents
+	 *            the contents of a stereotype application file, closed by this method.
+	 * @return the resourceURIs of the elements the MeasuringPoint stereotype is applied to.
+	 * @throws IOException
+	 *             if the file could not be read.
+	 */
+	public Set<String> readAppliedResourceURIs(InputStream contents) throws IOException {
+		Set<String> resourceURIs = new LinkedHashSet<>();
+		try {
+			XMLStreamReader reader = this.inputFactory.createXMLStreamReader(contents);
+			try {
+				while (reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT
+							&& APPLIED_TO_ELEMENT_TAG_NAME.equals(reader.getLocalName())) {
+						String href = reader.getAttributeValue(null, HREF_ATTRIBUTE_NAME);
+						if (href != null) {
+							resourceURIs.add(href);
+						}
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException("The stereotype application file could not be parsed", e);
+		} finally {
+			contents.close();
+		}
+		return resourceURIs;
+	}
+
+	/**
+	 * @param contents
+	 *            the contents of a measuring point file, closed by this method.
+	 * @return the resourceURI of the measuring point, or <code>null</code> if it has none.
+	 * @throws IOException
+	 *             if the file could not be read.
+	 */
+	public String readResourceURI(InputStream contents) throws IOException {
+		try {
+			XMLStreamReader reader = this.inputFactory.createXMLStreamReader(contents);
+			try {
+				// the resourceURI is an attribute of the root element
+				while (reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+						return reader.getAttributeValue(null, RESOURCE_URI_ATTRIBUTE_NAME);
+					}
+				}
+				return null;
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException("The measuring point file could not be parsed", e);
+		} finally {
+			contents.close();
+		}
+	}
+
+	/**
+	 * Removes the stereotype applications of elements from a stereotype application file.
+	 *
+	 * @param contents
+	 *            the contents of the stereotype application file, closed by this method.
+	 * @param resourceURIs
+	 *            the resourceURIs of the elements whose stereotype applications are removed.
+	 * @return the new contents of the file, or <code>null</code> if no stereotype application
+	 *         was removed.
+	 * @throws IOException
+	 *             if the file could not be read or transformed.
+	 */
+	public byte[] removeStereotypeApplications(InputStream contents, Set<String> resourceURIs) throws IOException {
+		try {
+			DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+			Document doc = builder.parse(contents);
+			NodeList appliedToList = doc.getElementsByTagName(APPLIED_TO_ELEMENT_TAG_NAME);
+			boolean removed = false;
+			// the node list is live, so iterate backwards while removing
+			for (int i = appliedToList.getLength() - 1; i >= 0; i--) {
+				Element appliedTo = (Element) appliedToList.item(i);
+				if (resourceURIs.contains(appliedTo.getAttribute(HREF_ATTRIBUTE_NAME))) {
+					Node stereotypeApplication = appliedTo.getParentNode();
+					stereotypeApplication.getParentNode().removeChild(stereotypeApplication);
+					removed = true;
+				}
+			}
+			if (!removed) {
+				return null;
+			}
+			ByteArrayOutputStream result = new ByteArrayOutputStream();
+			TransformerFactory.newInstance().newTransformer().transform(new DOMSource(doc),
+					new StreamResult(result));
+			return result.toByteArray();
+		} catch (ParserConfigurationException | SAXException | TransformerException e) {
+			throw new IOException("The stereotype application file could not be transformed", e);
+		} finally {
+			contents.close();
+		}
+	}
+
+	/**
+	 * Creates a ResourceURIMeasuringPoint file.
+	 *
+	 * @param fileURI
+	 *            the URI of the file to create.
+	 * @param resourceURI
+	 *            resourceURI of the element for which we create a measuring point.
+	 * @throws IOException
+	 *             indicates that there was a problem with saving the resource.
+	 */
+	public static void createMeasuringPoint(URI fileURI, String resourceURI) throws IOException {
+		Resource resource = new ResourceSetImpl().createResource(fileURI);
+		if (resource == null) {
+			// no resource factory is registered outside of a running platform
+			resource = new XMIResourceImpl(fileURI);
+		}
+
+		MeasuringpointPackage measuringpointPackage = MeasuringpointPackage.eINSTANCE;
+		MeasuringpointFactory measuringpointFactory = measuringpointPackage.getMeasuringpointFactory();
+		EObject rootObject = measuringpointFactory.create(measuringpointPackage.getResourceURIMeasuringPoint());
+		rootObject.eSet(measuringpointPackage.getResourceURIMeasuringPoint_ResourceURI(), resourceURI);
+		resource.getContents().add(rootObject);
+
+		Map<Object, Object> options = new HashMap<Object, Object>();
+		options.put(XMLResource.OPTION_ENCODING, UTF8_ENCODING);
+		resource.save(options);
+	}
+}
@@ -0,0 +1,183 @@
+package org.palladiosimulator.simulizar.measuringpoint.create;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bidirectional index of the stereotype application files, the resourceURIs of the elements the
+ * MeasuringPoint stereotype is applied to, and the measuring point files of these resourceURIs.
+ */
+public class MeasuringPointIndex {
+
+	private final Map<String, Set<String>> resourceURIsByApplicationFile = new HashMap<>();
+	private final Map<String, Set<String>> applicationFilesByResourceURI = new HashMap<>();
+	private final Map<String, String> resourceURIsByMeasuringPoint = new HashMap<>();
+	private final Map<String, Set<String>> measuringPointsByResourceURI = new HashMap<>();
+
+	/**
+	 * @param applicationFile
+	 *            the path of a stereotype application file.
+	 * @param resourceURIs
+	 *            the resourceURIs of the elements the file applies the stereotype to.
+	 * @return the resourceURIs the file applied the stereotype to before.
+	 */
+	public Set<String> putApplications(String applicationFile, Set<String> resourceURIs) {
+		Set<String> previous = this.removeApplicationFile(applicationFile);
+		if (!resourceURIs.isEmpty()) {
+			this.resourceURIsByApplicationFile.put(applicationFile, new HashSet<>(resourceURIs));
+			for (String resourceURI : resourceURIs) {
+				addValue(this.applicationFilesByResourceURI, resourceURI, applicationFile);
+			}
+		}
+		return previous;
+	}
+
+	/**
+	 * @param applicationFile
+	 *            the path of a stereotype application file.
+	 * @return the resourceURIs the file applied the stereotype to.
+	 */
+	public Set<String> removeApplicationFile(String applicationFile) {
+		Set<String> previous = this.resourceURIsByApplicationFile.remove(applicationFile);
+		if (previous == null) {
+			return Collections.emptySet();
+		}
+		for (String resourceURI : previous) {
+			removeValue(this.applicationFilesByResourceURI, resourceURI, applicationFile);
+		}
+		return previous;
+	}
+
+	/**
+	 * @param applicationFile
+	 *            the path of a stereotype application file.
+	 * @param resourceURI
+	 *            the resourceURI whose stereotype application is removed from the file.
+	 */
+	public void removeApplication(String applicationFile, String resourceURI) {
+		removeValue(this.resourceURIsByApplicationFile, applicationFile, resourceURI);
+		removeValue(this.applicationFilesByResourceURI, resourceURI, applicationFile);
+	}
+
+	/**
+	 * @param resourceURI
+	 *            the resourceURI of an element.
+	 * @return the paths of the stereotype application files applying the stereotype to the
+	 *         element.
+	 */
+	public Set<String> getApplicationFiles(String resourceURI) {
+		return getValues(this.applicationFilesByResourceURI, resourceURI);
+	}
+
+	/**
+	 * @param resourceURI
+	 *            the resourceURI of an element.
+	 * @return whether a stereotype application file applies the stereotype to the element.
+	 */
+	public boolean isApplied(String resourceURI) {
+		return this.applicationFilesByResourceURI.containsKey(resourceURI);
+	}
+
+	/**
+	 * @param measuringPoint
+	 *            the path of a measuring point file.
+	 * @param resourceURI
+	 *            the resourceURI of the measuring point.
+	 * @return the resourceURI the file had before, or <code>null</code> if it was not indexed.
+	 */
+	public String putMeasuringPoint(String measuringPoint, String resourceURI) {
+		String previous = this.removeMeasuringPoint(measuringPoint);
+		this.resourceURIsByMeasuringPoint.put(measuringPoint, resourceURI);
+		addValue(this.measuringPointsByResourceURI, resourceURI, measuringPoint);
+		return previous;
+	}
+
+	/**
+	 * @param measuringPoint
+	 *            the path of a measuring point file.
+	 * @return the resourceURI of the measuring point, or <code>null</code> if it was not indexed.
+	 */
+	public String removeMeasuringPoint(String measuringPoint) {
+		String previous = this.resourceURIsByMeasuringPoint.remove(measuringPoint);
+		if (previous != null) {
+			removeValue(this.measuringPointsByResourceURI, previous, measuringPoint);
+		}
+		return previous;
+	}
+
+	/**
+	 * @param resourceURI
+	 *            the resourceURI of an element.
+	 * @return the paths of the measuring point files of the element.
+	 */
+	public Set<String> getMeasuringPoints(String resourceURI) {
+		return getValues(this.measuringPointsByResourceURI, resourceURI);
+	}
+
+	/**
+	 * @param resourceURI
+	 *            the resourceURI of an element.
+	 * @return whether a measuring point file of the element exists.
+	 */
+	public boolean hasMeasuringPoint(String resourceURI) {
+		return this.measuringPointsByResourceURI.containsKey(resourceURI);
+	}
+
+	/**
+	 * @param projectName
+	 *            the name of a project.
+	 * @return the paths of the indexed files in the project.
+	 */
+	public Set<String> getFiles(String projectName) {
+		Set<String> files = new HashSet<>();
+		for (String path : this.resourceURIsByApplicationFile.keySet()) {
+			if (MeasuringPointFiles.getProjectName(path).equals(projectName)) {
+				files.add(path);
+			}
+		}
+		for (String path : this.resourceURIsByMeasuringPoint.keySet()) {
+			if (MeasuringPointFiles.getProjectName(path).equals(projectName)) {
+				files.add(path);
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * @return the resourceURIs each stereotype application file applies the stereotype to.
+	 */
+	public Map<String, Set<String>> getApplications() {
+		return Collections.unmodifiableMap(this.resourceURIsByApplicationFile);
+	}
+
+	/**
+	 * @return the resourceURI of each measuring point file.
+	 */
+	public Map<String, String> getMeasuringPoints() {
+		return Collections.unmodifiableMap(this.resourceURIsByMeasuringPoint);
+	}
+
+	private static void addValue(Map<String, Set<String>> map, String key, String value) {
+		Set<String> values = map.get(key);
+		if (values == null) {
+			values = new HashSet<>();
+			map.put(key, values);
+		}
+		values.add(value);
+	}
+
+	private static void removeValue(Map<String, Set<String>> map, String key, String value) {
+		Set<String> values = map.get(key);
+		if (values != null && values.remove(value) && values.isEmpty()) {
+			map.remove(key);
+		}
+	}
+
+	private static Set<String> getValues(Map<String, Set<String>> map, String key) {
+		Set<String> values = map.get(key);
+		return values == null ? Collections.<String> emptySet() : Collections.unmodifiableSet(values);
+	}
+}
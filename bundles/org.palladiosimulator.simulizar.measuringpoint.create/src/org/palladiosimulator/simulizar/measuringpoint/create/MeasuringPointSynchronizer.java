@@ -0,0 +1,274 @@
+package org.palladiosimulator.simulizar.measuringpoint.create;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the measuring point files of a workspace in line with the MeasuringPoint stereotype
+ * applications:
+ * <ul>
+ * <li>applying the stereotype to an element creates a measuring point file for it,</li>
+ * <li>removing the last application of the stereotype to an element deletes its measuring point
+ * files,</li>
+ * <li>deleting the last measuring point file of an element removes the applications of the
+ * stereotype to it,</li>
+ * <li>applying the stereotype to an element in a second stereotype application file removes the
+ * second application.</li>
+ * </ul>
+ * The workspace is scanned once by {@link #initialize()}; afterwards, only the changed files are
+ * read, and the {@link MeasuringPointIndex} tells which other files are concerned.
+ */
+public class MeasuringPointSynchronizer {
+
+	/**
+	 * The change of a file.
+	 */
+	public static final class FileChange {
+
+		/**
+		 * The kinds of changes of a file.
+		 */
+		public enum Kind {
+			ADDED, REMOVED, CHANGED
+		}
+
+		private final String path;
+		private final Kind kind;
+
+		/**
+		 * @param path
+		 *            the path of the file.
+		 * @param kind
+		 *            the kind of the change.
+		 */
+		public FileChange(String path, Kind kind) {
+			this.path = path;
+			this.kind = kind;
+		}
+
+		public String getPath() {
+			return this.path;
+		}
+
+		public Kind getKind() {
+			return this.kind;
+		}
+
+		@Override
+		public String toString() {
+			return this.kind + " " + this.path;
+		}
+	}
+
+	private final MeasuringPointWorkspace workspace;
+	private final MeasuringPointFiles files;
+	private final MeasuringPointIndex index = new MeasuringPointIndex();
+
+	/**
+	 * @param workspace
+	 *            the workspace whose measuring points are synchronised.
+	 */
+	public MeasuringPointSynchronizer(MeasuringPointWorkspace workspace) {
+		this.workspace = workspace;
+		this.files = new MeasuringPointFiles();
+	}
+
+	/**
+	 * Indexes the stereotype application and measuring point files of all open projects. The
+	 * files are not changed, i.e. elements the stereotype is applied to but which have no
+	 * measuring points yet do not get one.
+	 *
+	 * @throws IOException
+	 *             if a file could not be read.
+	 */
+	public synchronized void initialize() throws IOException {
+		for (String projectName : this.workspace.getProjectNames()) {
+			for (String path : this.workspace.getFiles(projectName)) {
+				this.indexFile(path);
+			}
+		}
+	}
+
+	/**
+	 * @param projectName
+	 *            the name of a project which was opened or closed.
+	 * @param open
+	 *            whether the project is open now.
+	 * @return the changes of its stereotype application and measuring point files: all files are
+	 *         added if the project was opened, all indexed files are removed if it was closed.
+	 * @throws IOException
+	 *             if the project could not be traversed.
+	 */
+	public synchronized List<FileChange> getProjectChanges(String projectName, boolean open) throws IOException {
+		List<FileChange> changes = new ArrayList<>();
+		if (open) {
+			for (String path : this.workspace.getFiles(projectName)) {
+				if (isRelevant(path)) {
+					changes.add(new FileChange(path, FileChange.Kind.ADDED));
+				}
+			}
+		} else {
+			for (String path : this.index.getFiles(projectName)) {
+				changes.add(new FileChange(path, FileChange.Kind.REMOVED));
+			}
+		}
+		return changes;
+	}
+
+	/**
+	 * Updates the index by the changed files and determines the files to change in turn. The
+	 * index already reflects the returned changes, so that the changes of the workspace made
+	 * when applying them do not lead to further changes.
+	 *
+	 * @param changes
+	 *            the changed files; files which are neither stereotype application nor
+	 *            measuring point files are ignored.
+	 * @return the changes to apply to the workspace.
+	 * @throws IOException
+	 *             if a changed file could not be read.
+	 */
+	public synchronized MeasuringPointChanges process(Collection<FileChange> changes) throws IOException {
+		MeasuringPointChanges result = new MeasuringPointChanges();
+		// whether the stereotype was applied to the concerned resourceURIs before the changes
+		Map<String, Boolean> appliedBefore = new HashMap<>();
+		Set<String> deletedMeasuringPoints = new HashSet<>();
+
+		for (FileChange change : changes) {
+			String path = change.getPath();
+			if (MeasuringPointFiles.isStereotypeApplication(path)) {
+				Set<String> resourceURIs = new LinkedHashSet<>();
+				if (change.getKind() != FileChange.Kind.REMOVED) {
+					resourceURIs = this.files.readAppliedResourceURIs(this.workspace.read(path));
+					this.removeDuplicateApplications(path, resourceURIs, result);
+				}
+				for (String resourceURI : resourceURIs) {
+					this.rememberApplied(appliedBefore, resourceURI);
+				}
+				Set<String> previous = this.index.getApplications().get(path);
+				if (previous != null) {
+					for (String resourceURI : previous) {
+						this.rememberApplied(appliedBefore, resourceURI);
+					}
+				}
+				this.index.putApplications(path, resourceURIs);
+			} else if (MeasuringPointFiles.isMeasuringPoint(path)) {
+				String previous = this.index.removeMeasuringPoint(path);
+				if (previous != null) {
+					this.rememberApplied(appliedBefore, previous);
+					deletedMeasuringPoints.add(previous);
+				}
+				if (change.getKind() != FileChange.Kind.REMOVED) {
+					String resourceURI = this.files.readResourceURI(this.workspace.read(path));
+					if (resourceURI != null) {
+						this.index.putMeasuringPoint(path, resourceURI);
+					}
+				}
+			}
+		}
+
+		for (Map.Entry<String, Boolean> entry : appliedBefore.entrySet()) {
+			String resourceURI = entry.getKey();
+			boolean applied = this.index.isApplied(resourceURI);
+			if (applied && !entry.getValue()) {
+				this.createMeasuringPoint(resourceURI, result);
+			} else if (!applied && entry.getValue()) {
+				this.deleteMeasuringPoints(resourceURI, result);
+			} else if (applied && deletedMeasuringPoints.contains(resourceURI)
+					&& !this.index.hasMeasuringPoint(resourceURI)) {
+				this.removeApplications(resourceURI, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the index of the files; changes made to the files after {@link #initialize()} are
+	 *         reflected only if they were passed to {@link #process(Collection)}.
+	 */
+	public MeasuringPointIndex getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * @return the access to the contents of the files.
+	 */
+	public MeasuringPointFiles getFiles() {
+		return this.files;
+	}
+
+	/**
+	 * @param path
+	 *            the path of a file.
+	 * @return whether the file is a stereotype application or measuring point file.
+	 */
+	public static boolean isRelevant(String path) {
+		return MeasuringPointFiles.isStereotypeApplication(path) || MeasuringPointFiles.isMeasuringPoint(path);
+	}
+
+	private void indexFile(String path) throws IOException {
+		if (MeasuringPointFiles.isStereotypeApplication(path)) {
+			this.index.putApplications(path, this.files.readAppliedResourceURIs(this.workspace.read(path)));
+		} else if (MeasuringPointFiles.isMeasuringPoint(path)) {
+			String resourceURI = this.files.readResourceURI(this.workspace.read(path));
+			if (resourceURI != null) {
+				this.index.putMeasuringPoint(path, resourceURI);
+			}
+		}
+	}
+
+	private void rememberApplied(Map<String, Boolean> appliedBefore, String resourceURI) {
+		if (!appliedBefore.containsKey(resourceURI)) {
+			appliedBefore.put(resourceURI, this.index.isApplied(resourceURI));
+		}
+	}
+
+	/**
+	 * Removes the resourceURIs which another file already applies the stereotype to from a
+	 * stereotype application file.
+	 */
+	private void removeDuplicateApplications(String path, Set<String> resourceURIs, MeasuringPointChanges result) {
+		Set<String> duplicates = new HashSet<>();
+		for (String resourceURI : resourceURIs) {
+			for (String applicationFile : this.index.getApplicationFiles(resourceURI)) {
+				if (!applicationFile.equals(path)) {
+					duplicates.add(resourceURI);
+				}
+			}
+		}
+		for (String resourceURI : duplicates) {
+			if (!this.index.getApplicationFiles(resourceURI).contains(path)) {
+				result.removeStereotypeApplication(path, resourceURI);
+				resourceURIs.remove(resourceURI);
+			}
+		}
+	}
+
+	private void createMeasuringPoint(String resourceURI, MeasuringPointChanges result) {
+		if (!this.index.hasMeasuringPoint(resourceURI)) {
+			String path = MeasuringPointFiles.getMeasuringPointPath(resourceURI);
+			result.createMeasuringPoint(path, resourceURI);
+			this.index.putMeasuringPoint(path, resourceURI);
+		}
+	}
+
+	private void deleteMeasuringPoints(String resourceURI, MeasuringPointChanges result) {
+		for (String path : new ArrayList<>(this.index.getMeasuringPoints(resourceURI))) {
+			result.deleteMeasuringPoint(path);
+			this.index.removeMeasuringPoint(path);
+		}
+	}
+
+	private void removeApplications(String resourceURI, MeasuringPointChanges result) {
+		for (String applicationFile : new ArrayList<>(this.index.getApplicationFiles(resourceURI))) {
+			result.removeStereotypeApplication(applicationFile, resourceURI);
+			this.index.removeApplication(applicationFile, resourceURI);
+		}
+	}
+}
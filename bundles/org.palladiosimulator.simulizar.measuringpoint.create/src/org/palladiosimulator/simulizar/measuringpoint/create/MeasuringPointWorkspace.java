@@ -0,0 +1,69 @@
+package org.palladiosimulator.simulizar.measuringpoint.create;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The files the {@link MeasuringPointSynchronizer} reads and writes. Files are addressed by their
+ * workspace-relative paths, e.g. "/ui/loadbalancer.measuringpoint", whose first segment is the
+ * name of the project containing the file.
+ */
+public interface MeasuringPointWorkspace {
+
+	/**
+	 * @return the names of the open projects.
+	 */
+	Collection<String> getProjectNames();
+
+	/**
+	 * @param projectName
+	 *            the name of an open project.
+	 * @return the paths of all files in the project.
+	 * @throws IOException
+	 *             if the project could not be traversed.
+	 */
+	List<String> getFiles(String projectName) throws IOException;
+
+	/**
+	 * @param path
+	 *            the path of a file.
+	 * @return a stream of the contents of the file, to be closed by the caller.
+	 * @throws IOException
+	 *             if the file could not be opened.
+	 */
+	InputStream read(String path) throws IOException;
+
+	/**
+	 * Replaces the contents of an existing file.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @param contents
+	 *            the new contents of the file.
+	 * @throws IOException
+	 *             if the file could not be written.
+	 */
+	void write(String path, byte[] contents) throws IOException;
+
+	/**
+	 * Creates a file containing a resourceURI measuring point.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @param resourceURI
+	 *            the resourceURI of the measured element.
+	 * @throws IOException
+	 *             if the file could not be created.
+	 */
+	void createMeasuringPoint(String path, String resourceURI) throws IOException;
+
+	/**
+	 * @param path
+	 *            the path of the file to delete.
+	 * @throws IOException
+	 *             if the file could not be deleted.
+	 */
+	void delete(String path) throws IOException;
+}
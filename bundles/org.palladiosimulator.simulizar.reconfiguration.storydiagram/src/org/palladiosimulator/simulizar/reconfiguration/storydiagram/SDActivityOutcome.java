@@ -0,0 +1,56 @@
+package org.palladiosimulator.simulizar.reconfiguration.storydiagram;
+
+import java.util.List;
+
+/**
+ * The outcome of executing the activity of a story diagram reconfiguration rule for a monitored
+ * element.
+ */
+public final class SDActivityOutcome {
+
+    private final SDModelTransformation transformation;
+    private final boolean applied;
+
+    public SDActivityOutcome(final SDModelTransformation transformation, final boolean applied) {
+        super();
+        this.transformation = transformation;
+        this.applied = applied;
+    }
+
+    public SDModelTransformation getTransformation() {
+        return this.transformation;
+    }
+
+    /**
+     * @return the name of the executed activity.
+     */
+    public String getActivityName() {
+        return this.transformation.getModelTransformation().getName();
+    }
+
+    /**
+     * @return true if all story patterns of the activity were matched, i.e., the rule fired.
+     */
+    public boolean isApplied() {
+        return this.applied;
+    }
+
+    /**
+     * @param outcomes
+     *            the outcomes of the activities executed for a monitored element.
+     * @return true if at least one of the rules fired.
+     */
+    public static boolean anyApplied(final List<SDActivityOutcome> outcomes) {
+        for (final SDActivityOutcome outcome : outcomes) {
+            if (outcome.isApplied()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return this.getActivityName() + (this.applied ? " applied" : " not applied");
+    }
+}
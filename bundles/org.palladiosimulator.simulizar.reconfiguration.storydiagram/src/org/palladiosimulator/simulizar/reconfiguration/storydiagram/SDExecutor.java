@@ -1,36 +1,18 @@
 package org.palladiosimulator.simulizar.reconfiguration.storydiagram;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.log4j.Logger;
-import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.emf.ecore.EStructuralFeature;
-import org.eclipse.emf.ecore.EcoreFactory;
-import org.eclipse.emf.ecore.EcorePackage;
 import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
-import org.palladiosimulator.pcm.allocation.AllocationPackage;
-import org.palladiosimulator.pcm.resourceenvironment.ResourceenvironmentPackage;
-import org.palladiosimulator.pcm.system.SystemPackage;
-import org.palladiosimulator.pcm.usagemodel.UsagemodelPackage;
+import org.palladiosimulator.pcm.allocation.Allocation;
 import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementModel;
-import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementPackage;
 import org.palladiosimulator.simulizar.access.IModelAccess;
-import org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess.StoryDiagramModelAccess;
-import org.storydriven.core.expressions.Expression;
-import org.storydriven.storydiagrams.activities.Activity;
-import org.storydriven.storydiagrams.activities.ActivityEdge;
-import org.storydriven.storydiagrams.activities.ActivityNode;
-import org.storydriven.storydiagrams.interpreter.eclipse.StoryDrivenEclipseInterpreter;
-import org.storydriven.storydiagrams.patterns.AbstractLinkVariable;
-import org.storydriven.storydiagrams.patterns.AbstractVariable;
-import org.storydriven.storydiagrams.patterns.StoryPattern;
 
 import de.mdelab.sdm.interpreter.core.SDMException;
-import de.mdelab.sdm.interpreter.core.notifications.OutputStreamNotificationReceiver;
 import de.mdelab.sdm.interpreter.core.variables.Variable;
 
 /**
@@ -40,6 +22,10 @@ import de.mdelab.sdm.interpreter.core.variables.Variable;
  * 
  *         Story Diagram executor helper class that supports executing StoryDiagram reconfiguration
  *         rules.
+ *         <p>
+ *         The PCM roots passed to the StoryDiagrams are resolved on each execution, so that roots
+ *         replaced by a reconfiguration are seen by the next one. The interpreters are taken from
+ *         a process-wide pool for the duration of an execution.
  *
  */
 public class SDExecutor {
@@ -49,174 +35,92 @@ public class SDExecutor {
      */
     private static final Logger LOGGER = Logger.getLogger(SDExecutor.class);
 
-    private static final String USAGE_MODEL = "usageModel";
-	private static final EClass USAGE_MODEL_ECLASS = UsagemodelPackage.eINSTANCE.getUsageModel();
-	private static final String SYSTEM_MODEL = "systemModel";
-	private static final EClass SYSTEM_MODEL_ECLASS = SystemPackage.eINSTANCE.getSystem();
-	private static final String ALLOCATION_MODEL = "allocationModel";
-	private static final EClass ALLOCATION_MODEL_ECLASS = AllocationPackage.eINSTANCE.getAllocation();
-	private static final String RESOURCE_ENVIRONMENT_MODEL = "resourceEnvironmentModel";
-	private static final EClass RESOURCE_ENVIRONMENT_MODEL_ECLASS = ResourceenvironmentPackage.eINSTANCE
-            .getResourceEnvironment();
-	private static final String PRM_MODEL = "runtimeMeasurementModel";
-	private static final String MONITORED_ELEMENT = "monitoredElement";
-	private static final EClass PALLADIO_RUNTIME_MEASUREMENT_MODEL_ECLASS = RuntimeMeasurementPackage.eINSTANCE
-            .getRuntimeMeasurementModel();
-	private static final EClass EOBJECT_ECLASS = EcorePackage.eINSTANCE.getEObject();
-    
-    private static final String RETURN_VALUE = "returnValue";
-    private static final EClass BOOLEAN_ECLASS = EcorePackage.eINSTANCE.getEBoolean().eClass();
-
-    private final List<Variable<EClassifier>> staticParameters;
-
-    private final StoryDrivenEclipseInterpreter sdmInterpreter;
     private final PCMResourceSetPartition globalPcmResourceSetPartition;
     private final RuntimeMeasurementModel runtimeMeasurementModel;
-    private final SDReconfigurationNotificationReceiver<Activity, ActivityNode, ActivityEdge, StoryPattern, AbstractVariable, AbstractLinkVariable, EClassifier, EStructuralFeature, Expression> sdNotificationReceiver;
 
-    /**
-     * Constructor of the SD Executor.
-     * 
-     * @param modelAccessFactory
-     *            the model access factory used to access the SD, PCM@runtime and RuntimeMeasurement
-     *            models.
-     */
-    public SDExecutor(final StoryDiagramModelAccess modelAccessFactory) {
+    private SDExecutor(final PCMResourceSetPartition globalPcmResourceSetPartition,
+            final RuntimeMeasurementModel runtimeMeasurementModel) {
         super();
-        this.globalPcmResourceSetPartition = modelAccessFactory.getGlobalPCMModel();
-        this.runtimeMeasurementModel = modelAccessFactory.getRuntimeMeasurementModel();
-        try {
-            this.sdmInterpreter = new StoryDrivenEclipseInterpreter(this.getClass().getClassLoader());
-        } catch (final SDMException e) {
-            throw new RuntimeException("Unable to inialise SD interpreter engine", e);
-        }
-        this.sdNotificationReceiver = new SDReconfigurationNotificationReceiver<Activity, ActivityNode, ActivityEdge, StoryPattern, AbstractVariable, AbstractLinkVariable, EClassifier, EStructuralFeature, Expression>(
-                this.sdmInterpreter.getFacadeFactory());
-        this.sdmInterpreter.getNotificationEmitter().addNotificationReceiver(this.sdNotificationReceiver);
-
-        if (LOGGER.isDebugEnabled()) {
-            this.sdmInterpreter
-                    .getNotificationEmitter()
-                    .addNotificationReceiver(
-                            new OutputStreamNotificationReceiver<Activity, ActivityNode, ActivityEdge, StoryPattern, AbstractVariable, AbstractLinkVariable, EClassifier, EStructuralFeature, Expression>(
-                                    this.sdmInterpreter.getFacadeFactory()));
-        }
+        this.globalPcmResourceSetPartition = globalPcmResourceSetPartition;
+        this.runtimeMeasurementModel = runtimeMeasurementModel;
+    }
 
-        this.staticParameters = this.createParameter();
-    }
-    
     /**
-     * Constructor of the SD Executor.
+     * Creates an SD Executor.
      * 
      * @param modelAccess
-     *            the model access factory used to access the SD, PCM@runtime and RuntimeMeasurement
-     *            models.
+     *            the model access used to access the PCM@runtime and RuntimeMeasurement models,
+     *            e.g., a
+     *            {@link org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess.StoryDiagramModelAccess}.
+     * @return the executor.
      */
-    public SDExecutor(final IModelAccess modelAccess) {
-        super();
-        this.globalPcmResourceSetPartition = modelAccess.getGlobalPCMModel();
-        this.runtimeMeasurementModel = modelAccess.getRuntimeMeasurementModel();
-        try {
-            this.sdmInterpreter = new StoryDrivenEclipseInterpreter(this.getClass().getClassLoader());
-        } catch (final SDMException e) {
-            throw new RuntimeException("Unable to inialise SD interpreter engine", e);
-        }
-        this.sdNotificationReceiver = new SDReconfigurationNotificationReceiver<Activity, ActivityNode, ActivityEdge, StoryPattern, AbstractVariable, AbstractLinkVariable, EClassifier, EStructuralFeature, Expression>(
-                this.sdmInterpreter.getFacadeFactory());
-        this.sdmInterpreter.getNotificationEmitter().addNotificationReceiver(this.sdNotificationReceiver);
-
-        if (LOGGER.isDebugEnabled()) {
-            this.sdmInterpreter
-                    .getNotificationEmitter()
-                    .addNotificationReceiver(
-                            new OutputStreamNotificationReceiver<Activity, ActivityNode, ActivityEdge, StoryPattern, AbstractVariable, AbstractLinkVariable, EClassifier, EStructuralFeature, Expression>(
-                                    this.sdmInterpreter.getFacadeFactory()));
-        }
-
-        this.staticParameters = this.createParameter();
+    public static SDExecutor create(final IModelAccess modelAccess) {
+        return new SDExecutor(modelAccess.getGlobalPCMModel(), modelAccess.getRuntimeMeasurementModel());
     }
 
     /**
-     * Created the parameters used within the StoryDiagrams
+     * Executes all activities for the given monitored element.
      * 
-     * @return List<Variable<EClassifier>> list of variables and their according EClassifiers
+     * @param transformations
+     *            the transformations whose activities are executed, in order.
+     * @param monitoredElement
+     *            the pcm model element to be monitored.
+     * @return the outcome of each activity, in the order of the transformations.
      */
-    private List<Variable<EClassifier>> createParameter() {
-        final List<Variable<EClassifier>> parameters = new ArrayList<Variable<EClassifier>>();
-        final Variable<EClassifier> usageModelParameter = new Variable<EClassifier>(USAGE_MODEL, USAGE_MODEL_ECLASS,
-                this.globalPcmResourceSetPartition.getUsageModel());
-        final Variable<EClassifier> systemModelParameter = new Variable<EClassifier>(SYSTEM_MODEL, SYSTEM_MODEL_ECLASS,
-                this.globalPcmResourceSetPartition.getAllocation().getSystem_Allocation());
-        // final Variable<EClassifier> repositoryModelParameter = new
-        // Variable<EClassifier>(REPOSITORY_MODEL,
-        // REPOSITORY_MODEL_ECLASS, globalPCMModel.getRepository());
-        final Variable<EClassifier> allocationModelParameter = new Variable<EClassifier>(ALLOCATION_MODEL,
-                ALLOCATION_MODEL_ECLASS, this.globalPcmResourceSetPartition.getAllocation());
-        final Variable<EClassifier> resourceEnvironmentModelParameter = new Variable<EClassifier>(
-                RESOURCE_ENVIRONMENT_MODEL, RESOURCE_ENVIRONMENT_MODEL_ECLASS, this.globalPcmResourceSetPartition
-                        .getAllocation().getTargetResourceEnvironment_Allocation());
-        final Variable<EClassifier> prmModelParameter = new Variable<EClassifier>(PRM_MODEL,
-                PALLADIO_RUNTIME_MEASUREMENT_MODEL_ECLASS, this.runtimeMeasurementModel);
-        parameters.add(usageModelParameter);
-        parameters.add(systemModelParameter);
-        // parameters.add(repositoryModelParameter);
-        parameters.add(allocationModelParameter);
-        parameters.add(resourceEnvironmentModelParameter);
-        parameters.add(prmModelParameter);
-        return parameters;
+    public List<SDActivityOutcome> executeTransformations(final List<SDModelTransformation> transformations,
+            final EObject monitoredElement) {
+        final SDInterpreterSession session = acquireSession();
+        try {
+            this.bind(session, monitoredElement);
+            final List<SDActivityOutcome> outcomes = new ArrayList<SDActivityOutcome>(transformations.size());
+            for (final SDModelTransformation transformation : transformations) {
+                try {
+                    LOGGER.debug("Trying to execute Story Diagram " + transformation.getModelTransformation().getName()
+                            + ".");
+                    outcomes.add(new SDActivityOutcome(transformation,
+                            session.executeActivity(transformation.getModelTransformation())));
+                } catch (final SDMException e) {
+                    LOGGER.error("SD failed", e);
+                    throw new RuntimeException("SD interpretation failed", e);
+                }
+            }
+            return outcomes;
+        } finally {
+            SDInterpreterSessionPool.release(session);
+        }
     }
 
     /**
-     * Executes one activities for the given monitored element.
-     * 
-     * @param activity
-     *            Activities in the StoryDiagram
-     * @param parameters
-     *            Parameters for the StoryDiagram execution
-     * @return always returns false
-     * @throws SDMException
-     *             in case the SD Activity could not be executed
+     * @param monitoredElement
+     *            the pcm model element to be monitored.
+     * @return a copy of the parameters the activities are executed with for the monitored element
+     *         if executed now.
      */
-    private boolean executeActivity(final Activity activity, final List<Variable<EClassifier>> parameters) throws SDMException {
-        this.sdNotificationReceiver.reset();
-        final Map<String, Variable<EClassifier>> result = this.sdmInterpreter.executeActivity(activity, parameters);
-        // TODO: Get info on activity success?
-        if (this.sdNotificationReceiver.applicationSuccessful()) {
-            return true;
-        } else {
-            return false;
+    public List<Variable<EClassifier>> getParameters(final EObject monitoredElement) {
+        final SDInterpreterSession session = acquireSession();
+        try {
+            return Collections
+                    .unmodifiableList(new ArrayList<Variable<EClassifier>>(this.bind(session, monitoredElement)));
+        } finally {
+            SDInterpreterSessionPool.release(session);
         }
     }
 
     /**
-     * Executes all activities for the given monitored element.
-     * 
-     * @param monitoredElement
-     *            the pcm model element to be monitored.
-     * @return true if at least one reconfiguration's check was positive and it reconfigured the
-     *         model.
+     * Binds the parameters used within the StoryDiagrams to the current PCM roots.
      */
-    public boolean executeTransformations(List<SDModelTransformation> transformations, final EObject monitoredElement) {
-        final EObject returnvalue = EcoreFactory.eINSTANCE.create(BOOLEAN_ECLASS);
-        final Variable<EClassifier> monitoredElementParameter = new Variable<EClassifier>(MONITORED_ELEMENT,
-                EOBJECT_ECLASS, monitoredElement);
-        final Variable<EClassifier> returnValueParameter = new Variable<EClassifier>(RETURN_VALUE, BOOLEAN_ECLASS,
-                returnvalue);
-        final List<Variable<EClassifier>> paramterList = new ArrayList<Variable<EClassifier>>();
-        paramterList.addAll(this.staticParameters);
-        paramterList.add(monitoredElementParameter);
-        paramterList.add(returnValueParameter);
-        boolean result = false;
-        for (final SDModelTransformation transformation : transformations) {
-            try {
-                LOGGER.debug("Trying to execute Story Diagram " + transformation.getModelTransformation().getName() + ".");
-                result |= this.executeActivity(transformation.getModelTransformation(), paramterList);
+    private List<Variable<EClassifier>> bind(final SDInterpreterSession session, final EObject monitoredElement) {
+        final Allocation allocation = this.globalPcmResourceSetPartition.getAllocation();
+        return session.bind(this.globalPcmResourceSetPartition.getUsageModel(), allocation.getSystem_Allocation(),
+                allocation, allocation.getTargetResourceEnvironment_Allocation(), this.runtimeMeasurementModel,
+                monitoredElement);
+    }
 
-            } catch (final SDMException e) {
-                LOGGER.error("SD failed", e);
-                throw new RuntimeException("SD interpretation failed", e);
-            }
+    private static SDInterpreterSession acquireSession() {
+        try {
+            return SDInterpreterSessionPool.acquire();
+        } catch (final SDMException e) {
+            throw new RuntimeException("Unable to inialise SD interpreter engine", e);
         }
-        return result;
     }
 }
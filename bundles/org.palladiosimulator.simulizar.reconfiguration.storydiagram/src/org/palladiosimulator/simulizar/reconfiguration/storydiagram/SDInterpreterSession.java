@@ -0,0 +1,138 @@
+package org.palladiosimulator.simulizar.reconfiguration.storydiagram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.palladiosimulator.pcm.allocation.AllocationPackage;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceenvironmentPackage;
+import org.palladiosimulator.pcm.system.SystemPackage;
+import org.palladiosimulator.pcm.usagemodel.UsagemodelPackage;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementPackage;
+import org.storydriven.core.expressions.Expression;
+import org.storydriven.storydiagrams.activities.Activity;
+import org.storydriven.storydiagrams.activities.ActivityEdge;
+import org.storydriven.storydiagrams.activities.ActivityNode;
+import org.storydriven.storydiagrams.interpreter.eclipse.StoryDrivenEclipseInterpreter;
+import org.storydriven.storydiagrams.patterns.AbstractLinkVariable;
+import org.storydriven.storydiagrams.patterns.AbstractVariable;
+import org.storydriven.storydiagrams.patterns.StoryPattern;
+
+import de.mdelab.sdm.interpreter.core.SDMException;
+import de.mdelab.sdm.interpreter.core.notifications.OutputStreamNotificationReceiver;
+import de.mdelab.sdm.interpreter.core.variables.Variable;
+
+/**
+ * A story diagram interpreter together with its notification receiver and the parameter list its
+ * activities are executed with. Sessions are not thread-safe: a session is used by one
+ * execution at a time, see {@link SDInterpreterSessionPool}.
+ * <p>
+ * The parameter list is kept between executions; a parameter is bound again only if its value
+ * changed since the last execution, which usually is the monitored element only.
+ */
+final class SDInterpreterSession {
+
+    private static final Logger LOGGER = Logger.getLogger(SDInterpreterSession.class);
+
+    private static final String USAGE_MODEL = "usageModel";
+    private static final EClass USAGE_MODEL_ECLASS = UsagemodelPackage.eINSTANCE.getUsageModel();
+    private static final String SYSTEM_MODEL = "systemModel";
+    private static final EClass SYSTEM_MODEL_ECLASS = SystemPackage.eINSTANCE.getSystem();
+    private static final String ALLOCATION_MODEL = "allocationModel";
+    private static final EClass ALLOCATION_MODEL_ECLASS = AllocationPackage.eINSTANCE.getAllocation();
+    private static final String RESOURCE_ENVIRONMENT_MODEL = "resourceEnvironmentModel";
+    private static final EClass RESOURCE_ENVIRONMENT_MODEL_ECLASS = ResourceenvironmentPackage.eINSTANCE
+            .getResourceEnvironment();
+    private static final String PRM_MODEL = "runtimeMeasurementModel";
+    private static final EClass PALLADIO_RUNTIME_MEASUREMENT_MODEL_ECLASS = RuntimeMeasurementPackage.eINSTANCE
+            .getRuntimeMeasurementModel();
+    private static final String MONITORED_ELEMENT = "monitoredElement";
+    private static final EClass EOBJECT_ECLASS = EcorePackage.eINSTANCE.getEObject();
+    private static final String RETURN_VALUE = "returnValue";
+    private static final EClass BOOLEAN_ECLASS = EcorePackage.eINSTANCE.getEBoolean().eClass();
+
+    private static final String[] PARAMETER_NAMES = { USAGE_MODEL, SYSTEM_MODEL, ALLOCATION_MODEL,
+            RESOURCE_ENVIRONMENT_MODEL, PRM_MODEL, MONITORED_ELEMENT };
+    private static final EClass[] PARAMETER_ECLASSES = { USAGE_MODEL_ECLASS, SYSTEM_MODEL_ECLASS,
+            ALLOCATION_MODEL_ECLASS, RESOURCE_ENVIRONMENT_MODEL_ECLASS, PALLADIO_RUNTIME_MEASUREMENT_MODEL_ECLASS,
+            EOBJECT_ECLASS };
+
+    private final StoryDrivenEclipseInterpreter sdmInterpreter;
+    private final SDReconfigurationNotificationReceiver<Activity, ActivityNode, ActivityEdge, StoryPattern, AbstractVariable, AbstractLinkVariable, EClassifier, EStructuralFeature, Expression> sdNotificationReceiver;
+    private final List<Variable<EClassifier>> parameters;
+    private final EObject[] boundValues = new EObject[PARAMETER_NAMES.length];
+
+    /**
+     * @throws SDMException
+     *             in case the SD interpreter could not be initialised.
+     */
+    SDInterpreterSession() throws SDMException {
+        this.sdmInterpreter = new StoryDrivenEclipseInterpreter(this.getClass().getClassLoader());
+        this.sdNotificationReceiver = new SDReconfigurationNotificationReceiver<Activity, ActivityNode, ActivityEdge, StoryPattern, AbstractVariable, AbstractLinkVariable, EClassifier, EStructuralFeature, Expression>(
+                this.sdmInterpreter.getFacadeFactory());
+        this.sdmInterpreter.getNotificationEmitter().addNotificationReceiver(this.sdNotificationReceiver);
+
+        if (LOGGER.isDebugEnabled()) {
+            this.sdmInterpreter
+                    .getNotificationEmitter()
+                    .addNotificationReceiver(
+                            new OutputStreamNotificationReceiver<Activity, ActivityNode, ActivityEdge, StoryPattern, AbstractVariable, AbstractLinkVariable, EClassifier, EStructuralFeature, Expression>(
+                                    this.sdmInterpreter.getFacadeFactory()));
+        }
+
+        this.parameters = new ArrayList<Variable<EClassifier>>(PARAMETER_NAMES.length + 1);
+        for (int i = 0; i < PARAMETER_NAMES.length; i++) {
+            this.parameters.add(new Variable<EClassifier>(PARAMETER_NAMES[i], PARAMETER_ECLASSES[i], null));
+        }
+        this.parameters.add(new Variable<EClassifier>(RETURN_VALUE, BOOLEAN_ECLASS,
+                EcoreFactory.eINSTANCE.create(BOOLEAN_ECLASS)));
+    }
+
+    /**
+     * Binds the parameters of the next executions.
+     * 
+     * @return the parameter list of this session, in the order of the arguments followed by the
+     *         return value.
+     */
+    List<Variable<EClassifier>> bind(final EObject usageModel, final EObject systemModel,
+            final EObject allocationModel, final EObject resourceEnvironmentModel,
+            final EObject runtimeMeasurementModel, final EObject monitoredElement) {
+        this.bind(0, usageModel);
+        this.bind(1, systemModel);
+        this.bind(2, allocationModel);
+        this.bind(3, resourceEnvironmentModel);
+        this.bind(4, runtimeMeasurementModel);
+        this.bind(5, monitoredElement);
+        return Collections.unmodifiableList(this.parameters);
+    }
+
+    private void bind(final int index, final EObject value) {
+        if (this.boundValues[index] != value) {
+            this.parameters.set(index, new Variable<EClassifier>(PARAMETER_NAMES[index], PARAMETER_ECLASSES[index],
+                    value));
+            this.boundValues[index] = value;
+        }
+    }
+
+    /**
+     * Executes one activity with the bound parameters.
+     * 
+     * @param activity
+     *            Activities in the StoryDiagram
+     * @return true if all story patterns of the activity were matched.
+     * @throws SDMException
+     *             in case the SD Activity could not be executed
+     */
+    boolean executeActivity(final Activity activity) throws SDMException {
+        this.sdNotificationReceiver.reset();
+        this.sdmInterpreter.executeActivity(activity, this.parameters);
+        return this.sdNotificationReceiver.applicationSuccessful();
+    }
+}
@@ -0,0 +1,45 @@
+package org.palladiosimulator.simulizar.reconfiguration.storydiagram;
+
+import java.lang.ref.SoftReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import de.mdelab.sdm.interpreter.core.SDMException;
+
+/**
+ * Process-wide pool of {@link SDInterpreterSession sessions}. A session is taken by one execution
+ * and returned when the execution finished, so that simulations running in parallel, and
+ * executions started while another one is in progress, each use a session of their own. Idle
+ * sessions are only softly referenced.
+ */
+final class SDInterpreterSessionPool {
+
+    private static final Queue<SoftReference<SDInterpreterSession>> AVAILABLE_SESSIONS = new ConcurrentLinkedQueue<SoftReference<SDInterpreterSession>>();
+
+    private SDInterpreterSessionPool() {
+    }
+
+    /**
+     * @return an idle session, or a new one if there is none.
+     * @throws SDMException
+     *             in case a new SD interpreter could not be initialised.
+     */
+    static SDInterpreterSession acquire() throws SDMException {
+        for (SoftReference<SDInterpreterSession> ref = AVAILABLE_SESSIONS.poll(); ref != null; ref = AVAILABLE_SESSIONS
+                .poll()) {
+            final SDInterpreterSession session = ref.get();
+            if (session != null) {
+                return session;
+            }
+        }
+        return new SDInterpreterSession();
+    }
+
+    /**
+     * @param session
+     *            a session taken by {@link #acquire()}, which must not be used afterwards.
+     */
+    static void release(final SDInterpreterSession session) {
+        AVAILABLE_SESSIONS.offer(new SoftReference<SDInterpreterSession>(session));
+    }
+}
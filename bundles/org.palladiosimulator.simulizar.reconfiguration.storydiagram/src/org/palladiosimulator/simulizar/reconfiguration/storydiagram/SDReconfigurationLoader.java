@@ -30,8 +30,8 @@ public class SDReconfigurationLoader implements IReconfigurationLoader {
 	@Override
 	public List<ModelTransformation<? extends Object>> getTransformations() {
 		if(this.transformations == null){
-			this.transformations = new ArrayList<ModelTransformation<? extends Object>>();
-			this.modelAccess.getStoryDiagrams().forEach(a -> this.transformations.add(new SDModelTransformation(a)));
+			this.transformations = new ArrayList<ModelTransformation<? extends Object>>(
+					this.modelAccess.getTransformations());
 		}
 		return this.transformations;
 	}
@@ -1,6 +1,8 @@
 package org.palladiosimulator.simulizar.reconfiguration.storydiagram;
 
 import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
@@ -96,9 +98,15 @@ public class SDReconfigurator extends AbstractReconfigurator {
 	private boolean executeTransformations(final EObject monitoredElement, ArrayList<SDModelTransformation> transformations) {
 		if (!transformations.isEmpty()) {
 			LOGGER.info("Checking reconfiguration rules due to RuntimeMeasurement change");
-			final boolean result = this.getSDExecutor().executeTransformations(transformations, monitoredElement);
-			LOGGER.info(result ? "Reconfigured system by a matching rule"
-					: "No reconfiguration rule was executed, all conditions were false");
+			final List<SDActivityOutcome> outcomes = this.getSDExecutor().executeTransformations(transformations,
+					monitoredElement);
+			final boolean result = SDActivityOutcome.anyApplied(outcomes);
+			if (result) {
+				outcomes.stream().filter(SDActivityOutcome::isApplied).forEach(outcome -> LOGGER
+						.info("Reconfigured system by matching rule " + outcome.getActivityName()));
+			} else {
+				LOGGER.info("No reconfiguration rule was executed, all conditions were false");
+			}
 			return result;
 		} else {
 			return false;
@@ -107,7 +115,7 @@ public class SDReconfigurator extends AbstractReconfigurator {
 
 	private SDExecutor getSDExecutor() {
 		if (this.sdExecutor == null) {
-			this.sdExecutor = new SDExecutor(this.modelAccessFactory);
+			this.sdExecutor = SDExecutor.create(this.modelAccessFactory);
 		}
 		return this.sdExecutor;
 	}
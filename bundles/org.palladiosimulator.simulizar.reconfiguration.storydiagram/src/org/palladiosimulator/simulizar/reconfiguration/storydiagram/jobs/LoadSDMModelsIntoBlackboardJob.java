@@ -10,6 +10,7 @@ import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.util.URI;
 import org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess.SDMResourceSetPartition;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess.StoryDiagramCache;
 import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
 
 import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
@@ -19,7 +20,8 @@ import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
 import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
 
 /**
- * Job for loading all sdm models in a specific folder into the blackboard.
+ * Job for loading all sdm models in a specific folder into the blackboard. The models are taken
+ * from the {@link StoryDiagramCache} if they did not change since they were loaded last.
  * 
  * @author Joachim Meyer
  * @author Matthias Becker
@@ -52,10 +54,10 @@ public class LoadSDMModelsIntoBlackboardJob extends SequentialBlackboardInteract
      */
     @Override
     public void execute(final IProgressMonitor monitor) throws JobFailedException, UserCanceledException {
+        this.blackboard.addPartition(SDM_MODEL_PARTITION_ID, this.loadPartition());
+    }
 
-        final SDMResourceSetPartition sdmPartition = new SDMResourceSetPartition();
-        this.blackboard.addPartition(SDM_MODEL_PARTITION_ID, sdmPartition);
-
+    private SDMResourceSetPartition loadPartition() {
         if (this.path != null && !(this.path.equals(""))) {
 
             // add file protocol only if necessary
@@ -74,13 +76,13 @@ public class LoadSDMModelsIntoBlackboardJob extends SequentialBlackboardInteract
                     folder = new File(folderString);
                 } catch (final IOException e) {
                     LOGGER.warn("Folder " + folderString + " cannot be accessed.", e);
-                    return;
+                    return new SDMResourceSetPartition();
                 }
             }
 
             if (!folder.exists()) {
                 LOGGER.warn("Folder " + folder + " does not exist. No reconfiguration rules will be loaded.");
-                return;
+                return new SDMResourceSetPartition();
             }
             final File[] files = folder.listFiles(new FilenameFilter() {
 
@@ -90,14 +92,12 @@ public class LoadSDMModelsIntoBlackboardJob extends SequentialBlackboardInteract
                 }
             });
             if (files != null && files.length > 0) {
-                for (final File file : files) {
-                    sdmPartition.loadModel(URI.createFileURI(file.getPath()));
-                }
+                return StoryDiagramCache.getInstance().getPartition(folder, files);
             } else {
                 LOGGER.info("No SDM models found, SD reconfigurations disabled.");
             }
         }
-
+        return new SDMResourceSetPartition();
     }
 
     /**
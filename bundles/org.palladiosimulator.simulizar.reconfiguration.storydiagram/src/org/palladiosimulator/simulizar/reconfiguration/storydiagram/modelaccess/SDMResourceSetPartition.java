@@ -1,9 +1,11 @@
 package org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Vector;
 
 import org.eclipse.emf.ecore.resource.Resource;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.SDModelTransformation;
 import org.storydriven.storydiagrams.activities.ActivitiesPackage;
 import org.storydriven.storydiagrams.activities.Activity;
 
@@ -19,23 +21,49 @@ import de.uka.ipd.sdq.workflow.mdsd.blackboard.ResourceSetPartition;
  */
 public class SDMResourceSetPartition extends ResourceSetPartition {
 
+    private List<Activity> activities = null;
+    private List<SDModelTransformation> transformations = null;
+    private int indexedResourceCount = -1;
+
     /**
-     * Gets all activities of all loaded sdm models.
+     * Gets all activities of all loaded sdm models. The activities are searched again only after
+     * models were loaded into the partition.
      * 
      * @return a list of activities.
      */
-    public List<Activity> getActivities() {
-        final List<Activity> activities = new Vector<Activity>();
-        for (final Resource resource : this.rs.getResources()) {
-            if (resource != null && resource.getContents().size() > 0
-                    && resource.getContents().get(0).eClass() == ActivitiesPackage.eINSTANCE.getActivity()) {
-                Activity activity = (Activity) resource.getContents().get(0);
-                activities.add(activity);
+    public synchronized List<Activity> getActivities() {
+        if (this.activities == null || this.indexedResourceCount != this.rs.getResources().size()) {
+            final List<Activity> result = new ArrayList<Activity>();
+            for (final Resource resource : this.rs.getResources()) {
+                if (resource != null && resource.getContents().size() > 0
+                        && resource.getContents().get(0).eClass() == ActivitiesPackage.eINSTANCE.getActivity()) {
+                    Activity activity = (Activity) resource.getContents().get(0);
+                    result.add(activity);
+                }
             }
+            resolveAllProxies();
+            this.activities = Collections.unmodifiableList(result);
+            this.transformations = null;
+            this.indexedResourceCount = this.rs.getResources().size();
         }
-        resolveAllProxies();
-        return activities;
+        return this.activities;
+
+    }
 
+    /**
+     * Gets the transformations of all activities, with their parameters bound once, see
+     * {@link SDModelTransformation}.
+     * 
+     * @return a list of transformations, in the order of {@link #getActivities()}.
+     */
+    public synchronized List<SDModelTransformation> getTransformations() {
+        final List<Activity> currentActivities = this.getActivities();
+        if (this.transformations == null) {
+            final List<SDModelTransformation> result = new ArrayList<SDModelTransformation>();
+            currentActivities.forEach(a -> result.add(new SDModelTransformation(a)));
+            this.transformations = Collections.unmodifiableList(result);
+        }
+        return this.transformations;
     }
 
 }
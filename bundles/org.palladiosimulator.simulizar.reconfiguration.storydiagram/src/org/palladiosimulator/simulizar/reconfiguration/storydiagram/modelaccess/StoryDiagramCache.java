@@ -0,0 +1,97 @@
+package org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * Process-wide cache of the story diagrams loaded from reconfiguration rule folders, so that
+ * runtime states of the same rules share one {@link SDMResourceSetPartition} instead of reading
+ * the rules from disk again. The partition of a folder is kept together with the URIs and
+ * modification timestamps of its story diagram files; it is loaded again as soon as a file was
+ * added, removed or modified.
+ * <p>
+ * The cached partitions, their activities and their prepared transformations are shared by all
+ * runs and must not be modified.
+ */
+public final class StoryDiagramCache {
+
+    private static final Logger LOGGER = Logger.getLogger(StoryDiagramCache.class);
+
+    private static final StoryDiagramCache INSTANCE = new StoryDiagramCache();
+
+    private final Map<String, CachedFolder> folders = new HashMap<String, CachedFolder>();
+    private final AtomicLong loadedFiles = new AtomicLong();
+
+    private StoryDiagramCache() {
+        super();
+    }
+
+    /**
+     * @return the cache of this process.
+     */
+    public static StoryDiagramCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param folder
+     *            the folder of the story diagrams.
+     * @param files
+     *            the story diagram files in the folder.
+     * @return the partition of the story diagrams, loaded from disk only if the files changed
+     *         since the last call for the folder.
+     */
+    public synchronized SDMResourceSetPartition getPartition(final File folder, final File[] files) {
+        final Map<URI, Long> timestamps = new LinkedHashMap<URI, Long>();
+        for (final File file : files) {
+            timestamps.put(URI.createFileURI(file.getPath()), file.lastModified());
+        }
+        final String key = folder.getAbsolutePath();
+        final CachedFolder cached = this.folders.get(key);
+        if (cached != null && cached.timestamps.equals(timestamps)) {
+            return cached.partition;
+        }
+
+        if (cached != null) {
+            LOGGER.info("Story diagrams in " + folder + " changed, loading them again.");
+        }
+        final SDMResourceSetPartition partition = new SDMResourceSetPartition();
+        for (final URI uri : timestamps.keySet()) {
+            partition.loadModel(uri);
+            this.loadedFiles.incrementAndGet();
+        }
+        this.folders.put(key, new CachedFolder(timestamps, partition));
+        return partition;
+    }
+
+    /**
+     * @return the number of story diagram files loaded from disk by this cache.
+     */
+    public long getLoadedFileCount() {
+        return this.loadedFiles.get();
+    }
+
+    /**
+     * Discards all cached partitions.
+     */
+    public synchronized void clear() {
+        this.folders.clear();
+    }
+
+    private static final class CachedFolder {
+
+        private final Map<URI, Long> timestamps;
+        private final SDMResourceSetPartition partition;
+
+        private CachedFolder(final Map<URI, Long> timestamps, final SDMResourceSetPartition partition) {
+            this.timestamps = timestamps;
+            this.partition = partition;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartitio
 import org.palladiosimulator.monitorrepository.MonitorRepository;
 import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementModel;
 import org.palladiosimulator.simulizar.access.IModelAccess;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.SDModelTransformation;
 import org.palladiosimulator.simulizar.reconfiguration.storydiagram.jobs.LoadSDMModelsIntoBlackboardJob;
 import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
 import org.scaledl.usageevolution.UsageEvolution;
@@ -34,17 +35,24 @@ public class StoryDiagramModelAccess implements IModelAccess {
     private final SDMResourceSetPartition sdmPartition;
     private final IModelAccess modelAccess;
 
+    /**
+     * Loads the sdm models into the blackboard of the given model access, unless they are already
+     * there, e.g., because the reconfiguration loader and the reconfigurator of a run share the
+     * blackboard.
+     */
     public StoryDiagramModelAccess(IModelAccess modelAccess, final SimuLizarWorkflowConfiguration configuration) {
         this.modelAccess = modelAccess;
-        IProgressMonitor monitor = new NullProgressMonitor();
-        try {
-            LoadSDMModelsIntoBlackboardJob loadSDMModelsJob = new LoadSDMModelsIntoBlackboardJob(configuration);
-            loadSDMModelsJob.setBlackboard(this.modelAccess.getBlackboard());
-            loadSDMModelsJob.execute(monitor);
-        } catch (JobFailedException e) {
-            LOGGER.error("Failed loading StoryDiagram reconfiguration rules into Blackboard.", e);
-        } catch (UserCanceledException e) {
-            LOGGER.error("Loading StoryDiagram reconfiguration rules into Blackboard was aborted.", e);
+        if (!modelAccess.getBlackboard().hasPartition(LoadSDMModelsIntoBlackboardJob.SDM_MODEL_PARTITION_ID)) {
+            IProgressMonitor monitor = new NullProgressMonitor();
+            try {
+                LoadSDMModelsIntoBlackboardJob loadSDMModelsJob = new LoadSDMModelsIntoBlackboardJob(configuration);
+                loadSDMModelsJob.setBlackboard(this.modelAccess.getBlackboard());
+                loadSDMModelsJob.execute(monitor);
+            } catch (JobFailedException e) {
+                LOGGER.error("Failed loading StoryDiagram reconfiguration rules into Blackboard.", e);
+            } catch (UserCanceledException e) {
+                LOGGER.error("Loading StoryDiagram reconfiguration rules into Blackboard was aborted.", e);
+            }
         }
         this.sdmPartition = getResourceSetPartition(modelAccess.getBlackboard(),
                 LoadSDMModelsIntoBlackboardJob.SDM_MODEL_PARTITION_ID);
@@ -62,6 +70,18 @@ public class StoryDiagramModelAccess implements IModelAccess {
         }
     }
 
+    /**
+     * 
+     * @return the transformations of the sdm models, prepared once per loaded model.
+     */
+    public List<SDModelTransformation> getTransformations() {
+        if (!(sdmPartition == null)) {
+            return sdmPartition.getTransformations();
+        } else {
+            return new LinkedList<SDModelTransformation>();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <T extends ResourceSetPartition> T getResourceSetPartition(final MDSDBlackboard blackboard, final String id) {
         return (T) blackboard.getPartition(id);
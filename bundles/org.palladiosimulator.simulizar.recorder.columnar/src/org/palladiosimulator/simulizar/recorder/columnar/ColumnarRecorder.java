@@ -0,0 +1,194 @@
+package org.palladiosimulator.simulizar.recorder.columnar;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.measure.Measure;
+import javax.measure.quantity.Quantity;
+
+import org.palladiosimulator.edp2.util.MetricDescriptionUtility;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.metricspec.BaseMetricDescription;
+import org.palladiosimulator.metricspec.CaptureType;
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.metricspec.NumericalBaseMetricDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.recorderframework.IRecorder;
+import org.palladiosimulator.recorderframework.config.IRecorderConfiguration;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnDescriptor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnEncoding;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnType;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentHeader;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentWriter;
+
+/**
+ * Recorder writing the measurements of a single measuring point and metric to a segment file, see
+ * {@link SegmentWriter}. Each base metric of the accepted metric becomes a column: integral
+ * metrics are stored as {@code long}s, all others as {@code double}s, in the default unit of the
+ * metric. Points in time are quantized to ticks of
+ * {@link ColumnarRecorderConfiguration#TICKS_PER_SECOND}, so that they are stored as {@code long}s
+ * as well; use {@link #getTicksPerSecond(SegmentHeader)} to convert them back to seconds.
+ * <p>
+ * Integral values, including points in time, are delta-of-delta encoded: simulation time only
+ * increases, mostly by similar steps. Real values are XOR encoded unless disabled by
+ * {@link ColumnarRecorderConfiguration#COMPRESS_VALUES}; the difference of the raw bits of two
+ * doubles is no meaningful delta.
+ */
+public class ColumnarRecorder implements IRecorder {
+
+    private NumericalBaseMetricDescription[] metrics;
+    private boolean[] integral;
+    private int timeColumn;
+    private double ticksPerSecond;
+    private SegmentWriter writer;
+
+    /**
+     * @param header
+     *            the header of a segment written by this recorder.
+     * @return the number of ticks per second of the point-in-time column of the segment.
+     * @throws IllegalArgumentException
+     *             In case the segment has no quantized point-in-time column.
+     */
+    public static long getTicksPerSecond(final SegmentHeader header) {
+        final String ticksPerSecond = header.getMetadata().get(ColumnarRecorderConfiguration.TICKS_PER_SECOND);
+        if (ticksPerSecond == null) {
+            throw new IllegalArgumentException("Segment of " + header.getMeasuringPoint()
+                    + " has no quantized point in time");
+        }
+        return Long.parseLong(ticksPerSecond);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Creates the segment file.
+     *
+     * @throws IllegalArgumentException
+     *             In case the configuration is not a {@link ColumnarRecorderConfiguration} or the
+     *             accepted metric has non-numerical base metrics.
+     * @throws IllegalStateException
+     *             In case the segment file cannot be created.
+     */
+    @Override
+    public void initialize(final IRecorderConfiguration recorderConfiguration) {
+        if (!(recorderConfiguration instanceof ColumnarRecorderConfiguration)) {
+            throw new IllegalArgumentException("Expected a " + ColumnarRecorderConfiguration.class.getSimpleName()
+                    + ", but got " + recorderConfiguration);
+        }
+        final ColumnarRecorderConfiguration configuration = (ColumnarRecorderConfiguration) recorderConfiguration;
+        final MetricDescription metric = configuration.getRecorderAcceptedMetric();
+        final BaseMetricDescription[] baseMetrics = MetricDescriptionUtility.toBaseMetricDescriptions(metric);
+
+        this.metrics = new NumericalBaseMetricDescription[baseMetrics.length];
+        this.integral = new boolean[baseMetrics.length];
+        this.timeColumn = -1;
+        this.ticksPerSecond = configuration.getTicksPerSecond();
+        final List<ColumnDescriptor> columns = new ArrayList<ColumnDescriptor>(baseMetrics.length);
+        for (int i = 0; i < baseMetrics.length; i++) {
+            if (!(baseMetrics[i] instanceof NumericalBaseMetricDescription)) {
+                throw new IllegalArgumentException(
+                        "Only numerical metrics can be recorded in columns, but got " + baseMetrics[i].getName());
+            }
+            this.metrics[i] = (NumericalBaseMetricDescription) baseMetrics[i];
+            this.integral[i] = this.metrics[i].getCaptureType() == CaptureType.INTEGER_NUMBER;
+            String unit = String.valueOf(this.metrics[i].getDefaultUnit());
+            if (MetricDescriptionConstants.POINT_IN_TIME_METRIC.getId().equals(this.metrics[i].getId())) {
+                this.timeColumn = i;
+                unit = String.valueOf(this.metrics[i].getDefaultUnit().divide(configuration.getTicksPerSecond()));
+            }
+            final boolean storedAsLong = this.integral[i] || i == this.timeColumn;
+            columns.add(new ColumnDescriptor(this.metrics[i].getId(), unit,
+                    storedAsLong ? ColumnType.LONG : ColumnType.DOUBLE,
+                    this.getEncoding(storedAsLong, configuration.isCompressValues())));
+        }
+
+        final Map<String, String> metadata = new LinkedHashMap<String, String>(configuration.getRunMetadata());
+        if (this.timeColumn >= 0) {
+            metadata.put(ColumnarRecorderConfiguration.TICKS_PER_SECOND,
+                    String.valueOf(configuration.getTicksPerSecond()));
+        }
+        final SegmentHeader header = new SegmentHeader(configuration.getMeasuringPoint().getStringRepresentation(),
+                metric.getId(), metadata, columns);
+        try {
+            this.writer = configuration.createSegmentWriter(header);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot create segment " + configuration.getSegmentFile(), e);
+        }
+    }
+
+    private ColumnEncoding getEncoding(final boolean storedAsLong, final boolean compressValues) {
+        if (storedAsLong) {
+            return ColumnEncoding.DELTA_OF_DELTA;
+        }
+        return compressValues ? ColumnEncoding.XOR : ColumnEncoding.PLAIN;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException
+     *             In case the recorder is not initialized or already unregistered, or the segment
+     *             cannot be written.
+     */
+    @Override
+    public void writeData(final MeasuringValue measurement) {
+        if (this.writer == null) {
+            throw new IllegalStateException("Recorder is not initialized or already unregistered");
+        }
+        for (int i = 0; i < this.metrics.length; i++) {
+            final Measure<Double, Quantity> measure = measurement.getMeasureForMetric(this.metrics[i]);
+            if (i == this.timeColumn) {
+                this.writer.writeLong(i,
+                        Math.round(measure.doubleValue(this.metrics[i].getDefaultUnit()) * this.ticksPerSecond));
+            } else if (this.integral[i]) {
+                this.writer.writeLong(i, measure.longValue(this.metrics[i].getDefaultUnit()));
+            } else {
+                this.writer.writeDouble(i, measure.doubleValue(this.metrics[i].getDefaultUnit()));
+            }
+        }
+        try {
+            this.writer.endSample();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot write segment " + this.writer.getFile(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * This implementation writes the samples of the current block to the segment file.
+     */
+    @Override
+    public void flush() {
+        if (this.writer != null) {
+            try {
+                this.writer.flush();
+            } catch (final IOException e) {
+                throw new IllegalStateException("Cannot write segment " + this.writer.getFile(), e);
+            }
+        }
+    }
+
+    @Override
+    public void newMeasurementAvailable(final MeasuringValue newMeasurement) {
+        this.writeData(newMeasurement);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * This implementation closes the segment file.
+     */
+    @Override
+    public void preUnregister() {
+        if (this.writer != null) {
+            try {
+                this.writer.close();
+            } catch (final IOException e) {
+                throw new IllegalStateException("Cannot close segment " + this.writer.getFile(), e);
+            } finally {
+                this.writer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.palladiosimulator.simulizar.recorder.columnar;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.palladiosimulator.recorderframework.config.AbstractRecorderConfiguration;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentHeader;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentWriter;
+
+/**
+ * Configuration of a {@link ColumnarRecorder}: in addition to the accepted metric and the
+ * measuring point, it defines the segment file to write and the metadata of the run.
+ */
+public class ColumnarRecorderConfiguration extends AbstractRecorderConfiguration {
+
+    /**
+     * Key of the segment file ({@link File}).
+     */
+    public static final String SEGMENT_FILE = "segmentFile";
+
+    /**
+     * Key of the run metadata ({@link Map} of strings), optional.
+     */
+    public static final String RUN_METADATA = "runMetadata";
+
+    /**
+     * Key of the flag whether real-valued columns are XOR encoded ({@link Boolean}), optional and
+     * {@code true} by default.
+     */
+    public static final String COMPRESS_VALUES = "compressValues";
+
+    /**
+     * Key of the number of ticks per second points in time are quantized to ({@link Long}),
+     * optional and {@value #DEFAULT_TICKS_PER_SECOND}, i.e., microseconds, by default.
+     */
+    public static final String TICKS_PER_SECOND = "ticksPerSecond";
+
+    public static final long DEFAULT_TICKS_PER_SECOND = 1000000;
+
+    private final ColumnarRecorderConfigurationFactory factory;
+
+    private File segmentFile;
+    private Map<String, String> runMetadata;
+    private boolean compressValues;
+    private long ticksPerSecond;
+
+    public ColumnarRecorderConfiguration() {
+        this(null);
+    }
+
+    ColumnarRecorderConfiguration(final ColumnarRecorderConfigurationFactory factory) {
+        super();
+        this.factory = factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void setConfiguration(final Map<String, Object> configuration) {
+        super.setConfiguration(configuration);
+        final Object file = configuration.get(SEGMENT_FILE);
+        if (!(file instanceof File)) {
+            throw new IllegalArgumentException("Missing segment file in recorder configuration");
+        }
+        this.segmentFile = (File) file;
+        final Object metadata = configuration.get(RUN_METADATA);
+        this.runMetadata = metadata == null ? Collections.<String, String> emptyMap()
+                : Collections.unmodifiableMap(new LinkedHashMap<String, String>((Map<String, String>) metadata));
+        final Object compress = configuration.get(COMPRESS_VALUES);
+        this.compressValues = compress == null || Boolean.parseBoolean(compress.toString());
+        final Object ticks = configuration.get(TICKS_PER_SECOND);
+        this.ticksPerSecond = ticks == null ? DEFAULT_TICKS_PER_SECOND : Long.parseLong(ticks.toString());
+        if (this.ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Ticks per second must be positive, but got " + ticks);
+        }
+    }
+
+    public File getSegmentFile() {
+        return this.segmentFile;
+    }
+
+    public Map<String, String> getRunMetadata() {
+        return this.runMetadata;
+    }
+
+    public boolean isCompressValues() {
+        return this.compressValues;
+    }
+
+    public long getTicksPerSecond() {
+        return this.ticksPerSecond;
+    }
+
+    /**
+     * Creates the segment file. If this configuration was created by a
+     * {@link ColumnarRecorderConfigurationFactory}, the factory closes the writer at the end of the
+     * run at the latest.
+     */
+    SegmentWriter createSegmentWriter(final SegmentHeader header) throws IOException {
+        final SegmentWriter writer = new SegmentWriter(this.segmentFile, header);
+        if (this.factory != null) {
+            this.factory.register(writer);
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,129 @@
+package org.palladiosimulator.simulizar.recorder.columnar;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.recorderframework.config.AbstractRecorderConfiguration;
+import org.palladiosimulator.recorderframework.config.IRecorderConfiguration;
+import org.palladiosimulator.recorderframework.config.IRecorderConfigurationFactory;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentWriter;
+
+/**
+ * Creates the configurations of the {@link ColumnarRecorder}s of a run. Every run writes its
+ * segments to a directory of its own, below the directory given by {@link #OUTPUT_DIRECTORY};
+ * every measurement gets a segment file of its own within this directory.
+ * <p>
+ * The simple attributes of the run configuration (strings, numbers and booleans) are stored as
+ * run metadata in the header of every segment.
+ */
+public class ColumnarRecorderConfigurationFactory implements IRecorderConfigurationFactory {
+
+    /**
+     * Key of the directory the run directories are created in. Defaults to
+     * <code>simulizar-segments</code> in the working directory.
+     */
+    public static final String OUTPUT_DIRECTORY = "columnarRecorderOutputDirectory";
+
+    /**
+     * Key of the metadata entry holding the start time of the run.
+     */
+    public static final String START_TIME_METADATA = "startTime";
+
+    private static final String DEFAULT_OUTPUT_DIRECTORY = "simulizar-segments";
+    private static final int MAX_FILE_NAME_LENGTH = 100;
+    private static final Logger LOGGER = Logger.getLogger(ColumnarRecorderConfigurationFactory.class);
+
+    private final List<SegmentWriter> writers = new ArrayList<SegmentWriter>();
+    private File runDirectory;
+    private Map<String, String> runMetadata;
+    private Object compressValues;
+    private int segmentCount;
+
+    @Override
+    public void initialize(final Map<String, Object> configuration) {
+        final Object outputDirectory = configuration.get(OUTPUT_DIRECTORY);
+        final File baseDirectory = outputDirectory == null || outputDirectory.toString().isEmpty()
+                ? new File(DEFAULT_OUTPUT_DIRECTORY) : new File(outputDirectory.toString());
+        final Date startTime = new Date();
+        this.runDirectory = new File(baseDirectory,
+                "run-" + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(startTime));
+        if (!this.runDirectory.isDirectory() && !this.runDirectory.mkdirs()) {
+            throw new IllegalStateException("Cannot create segment directory " + this.runDirectory);
+        }
+
+        this.runMetadata = new LinkedHashMap<String, String>();
+        this.runMetadata.put(START_TIME_METADATA,
+                new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ").format(startTime));
+        for (final Entry<String, Object> entry : configuration.entrySet()) {
+            final Object value = entry.getValue();
+            if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+                this.runMetadata.put(entry.getKey(), value.toString());
+            }
+        }
+        this.compressValues = configuration.get(ColumnarRecorderConfiguration.COMPRESS_VALUES);
+        this.segmentCount = 0;
+        LOGGER.info("Recording measurements to " + this.runDirectory.getAbsolutePath());
+    }
+
+    @Override
+    public IRecorderConfiguration createRecorderConfiguration(final Map<String, Object> configuration) {
+        if (this.runDirectory == null) {
+            throw new IllegalStateException("Factory has not been initialized");
+        }
+        final Map<String, Object> segmentConfiguration = new HashMap<String, Object>(configuration);
+        segmentConfiguration.put(ColumnarRecorderConfiguration.SEGMENT_FILE,
+                new File(this.runDirectory, this.createFileName(configuration)));
+        segmentConfiguration.put(ColumnarRecorderConfiguration.RUN_METADATA, this.runMetadata);
+        if (this.compressValues != null) {
+            segmentConfiguration.put(ColumnarRecorderConfiguration.COMPRESS_VALUES, this.compressValues);
+        }
+        final ColumnarRecorderConfiguration result = new ColumnarRecorderConfiguration(this);
+        result.setConfiguration(segmentConfiguration);
+        return result;
+    }
+
+    private synchronized String createFileName(final Map<String, Object> configuration) {
+        final Object measuringPoint = configuration.get(AbstractRecorderConfiguration.MEASURING_POINT);
+        final Object metric = configuration.get(AbstractRecorderConfiguration.RECORDER_ACCEPTED_METRIC);
+        final String name = ((measuringPoint instanceof MeasuringPoint
+                ? ((MeasuringPoint) measuringPoint).getStringRepresentation() : "measurement")
+                + (metric instanceof MetricDescription ? "-" + ((MetricDescription) metric).getName() : ""))
+                        .replaceAll("[^A-Za-z0-9._-]+", "_");
+        return String.format("%05d-%s.segment", this.segmentCount++,
+                name.length() > MAX_FILE_NAME_LENGTH ? name.substring(0, MAX_FILE_NAME_LENGTH) : name);
+    }
+
+    synchronized void register(final SegmentWriter writer) {
+        this.writers.add(writer);
+    }
+
+    /**
+     * Closes the segments of the run that are still open.
+     */
+    @Override
+    public synchronized void finalizeRecorderConfigurationFactory() {
+        for (final SegmentWriter writer : this.writers) {
+            try {
+                writer.close();
+            } catch (final IOException e) {
+                LOGGER.error("Could not close segment " + writer.getFile(), e);
+            }
+        }
+        this.writers.clear();
+    }
+
+    public File getRunDirectory() {
+        return this.runDirectory;
+    }
+}
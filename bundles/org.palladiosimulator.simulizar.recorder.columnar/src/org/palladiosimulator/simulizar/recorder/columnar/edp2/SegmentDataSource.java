@@ -0,0 +1,56 @@
+package org.palladiosimulator.simulizar.recorder.columnar.edp2;
+
+import java.io.File;
+
+import org.eclipse.ui.IPersistableElement;
+import org.palladiosimulator.edp2.datastream.AbstractDataSource;
+import org.palladiosimulator.edp2.datastream.IDataStream;
+import org.palladiosimulator.edp2.datastream.configurable.EmptyPropertyConfigurable;
+import org.palladiosimulator.edp2.datastream.configurable.PropertyConfigurable;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.metricspec.MetricDescription;
+
+/**
+ * Exposes a segment file as EDP2 data source, so that consumers of EDP2 data sources, e.g., the
+ * SLO violation filter used by the <code>EvaluateResultsJob</code>, can process recorded segments.
+ */
+public class SegmentDataSource extends AbstractDataSource {
+
+    private final File segment;
+
+    /**
+     * @param segment
+     *            the segment file.
+     * @param metricDescription
+     *            the metric of the recorded measurements, e.g., the metric accepted by the
+     *            recorder that wrote the segment.
+     */
+    public SegmentDataSource(final File segment, final MetricDescription metricDescription) {
+        super(metricDescription);
+        this.segment = segment;
+    }
+
+    public File getSegment() {
+        return this.segment;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <M extends MeasuringValue> IDataStream<M> getDataStream() {
+        return (IDataStream<M>) new SegmentDataStream(this.segment, this.getMetricDesciption());
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Segments live outside of EDP2 repositories, so the data source is not persisted.
+     */
+    @Override
+    public IPersistableElement getPersistable() {
+        return null;
+    }
+
+    @Override
+    protected PropertyConfigurable createProperties() {
+        return new EmptyPropertyConfigurable();
+    }
+}
@@ -0,0 +1,191 @@
+package org.palladiosimulator.simulizar.recorder.columnar.edp2;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.measure.Measure;
+import javax.measure.quantity.Quantity;
+import javax.measure.unit.Unit;
+
+import org.palladiosimulator.edp2.datastream.AbstractDataStream;
+import org.palladiosimulator.edp2.util.MetricDescriptionUtility;
+import org.palladiosimulator.measurementframework.BasicMeasurement;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.measurementframework.TupleMeasurement;
+import org.palladiosimulator.metricspec.BaseMetricDescription;
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.metricspec.MetricSetDescription;
+import org.palladiosimulator.metricspec.NumericalBaseMetricDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorder;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnType;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentCursor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentHeader;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+
+/**
+ * Data stream over the samples of a segment file. The samples are decoded lazily while iterating;
+ * each iteration reads the file anew. Iterators keep the file open until they are exhausted or
+ * the stream is closed. Points in time quantized by the {@link ColumnarRecorder} are converted
+ * back to seconds.
+ */
+public class SegmentDataStream extends AbstractDataStream<MeasuringValue> {
+
+    private final File segment;
+    private final List<SegmentReader> openReaders = new ArrayList<SegmentReader>();
+
+    /**
+     * @param segment
+     *            the segment file.
+     * @param metricDescription
+     *            the metric of the recorded measurements, whose base metrics must be columns of the
+     *            segment.
+     */
+    public SegmentDataStream(final File segment, final MetricDescription metricDescription) {
+        super(metricDescription);
+        this.segment = segment;
+    }
+
+    @Override
+    public Iterator<MeasuringValue> iterator() {
+        final SegmentReader reader = this.open();
+        synchronized (this.openReaders) {
+            this.openReaders.add(reader);
+        }
+        return new SegmentIterator(reader, this.getMetricDesciption());
+    }
+
+    @Override
+    public int size() {
+        try (final SegmentReader reader = this.open()) {
+            return (int) Math.min(reader.countSamples(), Integer.MAX_VALUE);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot read segment " + this.segment, e);
+        }
+    }
+
+    @Override
+    public boolean isCountKnown() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this.openReaders) {
+            for (final SegmentReader reader : this.openReaders) {
+                closeQuietly(reader);
+            }
+            this.openReaders.clear();
+        }
+    }
+
+    private SegmentReader open() {
+        try {
+            return new SegmentReader(this.segment);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot read segment " + this.segment, e);
+        }
+    }
+
+    private static void closeQuietly(final SegmentReader reader) {
+        try {
+            reader.close();
+        } catch (final IOException e) {
+            // nothing left to do for a read-only file
+        }
+    }
+
+    /**
+     * Creates a measuring value per sample, built from the columns of the base metrics.
+     */
+    private static final class SegmentIterator implements Iterator<MeasuringValue> {
+
+        private final SegmentReader reader;
+        private final SegmentCursor cursor;
+        private final MetricDescription metricDescription;
+        private final NumericalBaseMetricDescription[] metrics;
+        private final int[] columns;
+        private final boolean[] integral;
+        private final double[] ticksPerUnit;
+        private boolean hasNext;
+
+        private SegmentIterator(final SegmentReader reader, final MetricDescription metricDescription) {
+            super();
+            this.reader = reader;
+            this.cursor = reader.cursor();
+            this.metricDescription = metricDescription;
+            final SegmentHeader header = reader.getHeader();
+            final BaseMetricDescription[] baseMetrics = MetricDescriptionUtility
+                    .toBaseMetricDescriptions(metricDescription);
+            this.metrics = new NumericalBaseMetricDescription[baseMetrics.length];
+            this.columns = new int[baseMetrics.length];
+            this.integral = new boolean[baseMetrics.length];
+            this.ticksPerUnit = new double[baseMetrics.length];
+            for (int i = 0; i < baseMetrics.length; i++) {
+                this.columns[i] = header.indexOf(baseMetrics[i].getId());
+                if (this.columns[i] < 0 || !(baseMetrics[i] instanceof NumericalBaseMetricDescription)) {
+                    closeQuietly(reader);
+                    throw new IllegalArgumentException(
+                            "Segment " + reader.getFile() + " has no column for " + baseMetrics[i].getName());
+                }
+                this.metrics[i] = (NumericalBaseMetricDescription) baseMetrics[i];
+                this.integral[i] = header.getColumns().get(this.columns[i]).getType() == ColumnType.LONG;
+                if (this.integral[i]
+                        && MetricDescriptionConstants.POINT_IN_TIME_METRIC.getId().equals(baseMetrics[i].getId())) {
+                    try {
+                        this.ticksPerUnit[i] = ColumnarRecorder.getTicksPerSecond(header);
+                    } catch (final IllegalArgumentException e) {
+                        closeQuietly(reader);
+                        throw e;
+                    }
+                }
+            }
+            this.advance();
+        }
+
+        private void advance() {
+            try {
+                this.hasNext = this.cursor.next();
+            } catch (final IOException e) {
+                closeQuietly(this.reader);
+                throw new IllegalStateException("Cannot read segment " + this.reader.getFile(), e);
+            }
+            if (!this.hasNext) {
+                closeQuietly(this.reader);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.hasNext;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        @Override
+        public MeasuringValue next() {
+            if (!this.hasNext) {
+                throw new NoSuchElementException();
+            }
+            final Measure<?, ?>[] measures = new Measure<?, ?>[this.metrics.length];
+            for (int i = 0; i < this.metrics.length; i++) {
+                final Unit<Quantity> unit = this.metrics[i].getDefaultUnit();
+                if (this.ticksPerUnit[i] > 0) {
+                    measures[i] = Measure.valueOf(this.cursor.getLong(this.columns[i]) / this.ticksPerUnit[i], unit);
+                } else if (this.integral[i]) {
+                    measures[i] = Measure.valueOf(this.cursor.getLong(this.columns[i]), unit);
+                } else {
+                    measures[i] = Measure.valueOf(this.cursor.getDouble(this.columns[i]), unit);
+                }
+            }
+            this.advance();
+            if (this.metricDescription instanceof MetricSetDescription) {
+                return new TupleMeasurement((MetricSetDescription) this.metricDescription, measures);
+            }
+            return new BasicMeasurement((Measure) measures[0], this.metrics[0]);
+        }
+    }
+}
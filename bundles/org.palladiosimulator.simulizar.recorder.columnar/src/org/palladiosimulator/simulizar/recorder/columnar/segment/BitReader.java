@@ -0,0 +1,73 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads bits written by a {@link BitWriter}.
+ */
+final class BitReader {
+
+    private long[] words = new long[0];
+    private int wordCount;
+    private int nextWord;
+    private long current;
+    private int availableBits;
+
+    /**
+     * Reads the given number of bytes from the buffer and starts reading bits from them.
+     *
+     * @param buffer
+     *            the buffer, positioned at the first word.
+     * @param byteLength
+     *            the number of bytes, a multiple of 8.
+     */
+    void reset(final ByteBuffer buffer, final int byteLength) {
+        this.wordCount = byteLength / Long.BYTES;
+        if (this.words.length < this.wordCount) {
+            this.words = new long[this.wordCount];
+        }
+        buffer.asLongBuffer().get(this.words, 0, this.wordCount);
+        buffer.position(buffer.position() + byteLength);
+        this.nextWord = 0;
+        this.current = 0;
+        this.availableBits = 0;
+    }
+
+    boolean readBit() {
+        if (this.availableBits == 0) {
+            this.loadWord();
+        }
+        this.availableBits--;
+        return ((this.current >>> this.availableBits) & 1L) != 0;
+    }
+
+    /**
+     * @param bits
+     *            the number of bits to read, between 1 and 64.
+     * @return the bits as the lowest bits of the result.
+     */
+    long read(final int bits) {
+        if (bits <= this.availableBits) {
+            this.availableBits -= bits;
+            return (this.current >>> this.availableBits) & mask(bits);
+        }
+        final int remainingBits = bits - this.availableBits;
+        final long high = this.current & mask(this.availableBits);
+        this.loadWord();
+        this.availableBits = Long.SIZE - remainingBits;
+        final long low = this.current >>> this.availableBits;
+        return remainingBits == Long.SIZE ? low : (high << remainingBits) | low;
+    }
+
+    private void loadWord() {
+        if (this.nextWord == this.wordCount) {
+            throw new IllegalStateException("Column data exhausted");
+        }
+        this.current = this.words[this.nextWord++];
+        this.availableBits = Long.SIZE;
+    }
+
+    private static long mask(final int bits) {
+        return bits == Long.SIZE ? -1L : (1L << bits) - 1;
+    }
+}
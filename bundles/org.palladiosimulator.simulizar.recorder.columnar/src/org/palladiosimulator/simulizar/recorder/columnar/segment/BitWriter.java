@@ -0,0 +1,72 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Collects bits, most significant bit first, in 64 bit words.
+ */
+final class BitWriter {
+
+    private long[] words;
+    private int wordCount;
+    private long current;
+    private int usedBits;
+
+    BitWriter(final int initialWords) {
+        super();
+        this.words = new long[Math.max(initialWords, 1)];
+    }
+
+    /**
+     * Appends the lowest bits of the given value.
+     *
+     * @param value
+     *            the value; higher bits are ignored.
+     * @param bits
+     *            the number of bits to write, between 1 and 64.
+     */
+    void write(final long value, final int bits) {
+        final long masked = bits == Long.SIZE ? value : value & ((1L << bits) - 1);
+        final int freeBits = Long.SIZE - this.usedBits;
+        if (bits < freeBits) {
+            this.current |= masked << (freeBits - bits);
+            this.usedBits += bits;
+        } else {
+            final int remainingBits = bits - freeBits;
+            this.current |= masked >>> remainingBits;
+            this.appendWord();
+            this.current = remainingBits == 0 ? 0 : masked << (Long.SIZE - remainingBits);
+            this.usedBits = remainingBits;
+        }
+    }
+
+    private void appendWord() {
+        if (this.wordCount == this.words.length) {
+            this.words = Arrays.copyOf(this.words, this.words.length * 2);
+        }
+        this.words[this.wordCount++] = this.current;
+    }
+
+    /**
+     * @return the number of bytes {@link #copyTo(ByteBuffer)} writes, always a multiple of 8.
+     */
+    int getByteLength() {
+        return (this.wordCount + (this.usedBits > 0 ? 1 : 0)) * Long.BYTES;
+    }
+
+    void copyTo(final ByteBuffer buffer) {
+        for (int i = 0; i < this.wordCount; i++) {
+            buffer.putLong(this.words[i]);
+        }
+        if (this.usedBits > 0) {
+            buffer.putLong(this.current);
+        }
+    }
+
+    void reset() {
+        this.wordCount = 0;
+        this.current = 0;
+        this.usedBits = 0;
+    }
+}
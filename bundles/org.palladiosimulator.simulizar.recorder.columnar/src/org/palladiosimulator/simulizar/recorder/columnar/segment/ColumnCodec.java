@@ -0,0 +1,15 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+/**
+ * Encodes or decodes the 64 bit words of a column. A codec is stateful and used either for
+ * encoding or for decoding a single column; {@link #reset()} is called at the start of every
+ * block.
+ */
+abstract class ColumnCodec {
+
+    abstract void encode(long value, BitWriter output);
+
+    abstract long decode(BitReader input);
+
+    abstract void reset();
+}
@@ -0,0 +1,74 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+import java.util.Objects;
+
+/**
+ * Describes a column of a segment, i.e., a metric of the recorded measurement.
+ */
+public final class ColumnDescriptor {
+
+    private final String metricId;
+    private final String unit;
+    private final ColumnType type;
+    private final ColumnEncoding encoding;
+
+    /**
+     * @param metricId
+     *            the id of the metric whose values are stored in the column.
+     * @param unit
+     *            the unit of the values, or an empty string for dimensionless values.
+     * @param type
+     *            the type of the values.
+     * @param encoding
+     *            the encoding of the values.
+     * @throws NullPointerException
+     *             In case any argument is {@code null}.
+     */
+    public ColumnDescriptor(final String metricId, final String unit, final ColumnType type,
+            final ColumnEncoding encoding) {
+        super();
+        this.metricId = Objects.requireNonNull(metricId);
+        this.unit = Objects.requireNonNull(unit);
+        this.type = Objects.requireNonNull(type);
+        this.encoding = Objects.requireNonNull(encoding);
+    }
+
+    public String getMetricId() {
+        return this.metricId;
+    }
+
+    public String getUnit() {
+        return this.unit;
+    }
+
+    public ColumnType getType() {
+        return this.type;
+    }
+
+    public ColumnEncoding getEncoding() {
+        return this.encoding;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ColumnDescriptor)) {
+            return false;
+        }
+        final ColumnDescriptor other = (ColumnDescriptor) obj;
+        return this.metricId.equals(other.metricId) && this.unit.equals(other.unit) && this.type == other.type
+                && this.encoding == other.encoding;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.metricId, this.unit, this.type, this.encoding);
+    }
+
+    @Override
+    public String toString() {
+        return this.metricId + " [" + this.unit + ", " + this.type + ", " + this.encoding + "]";
+    }
+}
@@ -0,0 +1,42 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+/**
+ * The encodings of the 64 bit words of a column. All encodings are lossless. The encoders are
+ * reset at the start of every block, so that blocks can be decoded independently of each other.
+ */
+public enum ColumnEncoding {
+
+    /**
+     * Every word is stored as is.
+     */
+    PLAIN {
+        @Override
+        ColumnCodec createCodec() {
+            return new PlainCodec();
+        }
+    },
+
+    /**
+     * Words are stored as the difference of consecutive differences, using as few bits as
+     * possible. Suited for timestamps and counters: equidistant values take a single bit each.
+     */
+    DELTA_OF_DELTA {
+        @Override
+        ColumnCodec createCodec() {
+            return new DeltaOfDeltaCodec();
+        }
+    },
+
+    /**
+     * Words are stored as the meaningful bits of their XOR with the previous word, as proposed by
+     * Gorilla for floating point values. Repeated values take a single bit each.
+     */
+    XOR {
+        @Override
+        ColumnCodec createCodec() {
+            return new XorCodec();
+        }
+    };
+
+    abstract ColumnCodec createCodec();
+}
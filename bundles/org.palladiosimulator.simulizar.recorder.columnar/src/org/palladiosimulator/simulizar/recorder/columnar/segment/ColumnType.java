@@ -0,0 +1,19 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+/**
+ * The primitive type of the values of a column. Internally, every value is stored as 64 bits;
+ * double values are stored with their raw IEEE 754 bit pattern, so that they are read back
+ * bit-exactly.
+ */
+public enum ColumnType {
+
+    /**
+     * Values are {@code long}s, written by {@link SegmentWriter#writeLong(int, long)}.
+     */
+    LONG,
+
+    /**
+     * Values are {@code double}s, written by {@link SegmentWriter#writeDouble(int, double)}.
+     */
+    DOUBLE
+}
@@ -0,0 +1,106 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+/**
+ * Codec of {@link ColumnEncoding#DELTA_OF_DELTA}. The first word of a block is stored as is, the
+ * second as its difference to the first. Every further word is stored as the difference of its
+ * delta to the previous delta, prefixed by a code for the number of bits used:
+ * <ul>
+ * <li>{@code 0}: the delta did not change,</li>
+ * <li>{@code 10}: 7 bits,</li>
+ * <li>{@code 110}: 12 bits,</li>
+ * <li>{@code 1110}: 20 bits,</li>
+ * <li>{@code 11110}: 40 bits,</li>
+ * <li>{@code 11111}: 64 bits.</li>
+ * </ul>
+ * Arithmetic overflows cancel out on decoding, so arbitrary words are supported.
+ */
+final class DeltaOfDeltaCodec extends ColumnCodec {
+
+    private static final long OFFSET_7 = (1L << 6) - 1;
+    private static final long OFFSET_12 = (1L << 11) - 1;
+    private static final long OFFSET_20 = (1L << 19) - 1;
+    private static final long OFFSET_40 = (1L << 39) - 1;
+
+    private int count;
+    private long previous;
+    private long previousDelta;
+
+    @Override
+    void encode(final long value, final BitWriter output) {
+        if (this.count > 1) {
+            final long delta = value - this.previous;
+            final long deltaOfDelta = delta - this.previousDelta;
+            if (deltaOfDelta == 0) {
+                output.write(0, 1);
+            } else if (fits(deltaOfDelta, OFFSET_7)) {
+                output.write(0b10L << 7 | (deltaOfDelta + OFFSET_7), 9);
+            } else if (fits(deltaOfDelta, OFFSET_12)) {
+                output.write(0b110L << 12 | (deltaOfDelta + OFFSET_12), 15);
+            } else if (fits(deltaOfDelta, OFFSET_20)) {
+                output.write(0b1110L << 20 | (deltaOfDelta + OFFSET_20), 24);
+            } else if (fits(deltaOfDelta, OFFSET_40)) {
+                output.write(0b11110L, 5);
+                output.write(deltaOfDelta + OFFSET_40, 40);
+            } else {
+                output.write(0b11111L, 5);
+                output.write(deltaOfDelta, Long.SIZE);
+            }
+            this.previousDelta = delta;
+        } else if (this.count == 1) {
+            this.previousDelta = value - this.previous;
+            output.write(this.previousDelta, Long.SIZE);
+            this.count++;
+        } else {
+            output.write(value, Long.SIZE);
+            this.count++;
+        }
+        this.previous = value;
+    }
+
+    /**
+     * @return whether the value lies within [-offset, offset + 1], i.e., whether value + offset
+     *         can be stored with the bits of the offset plus one.
+     */
+    private static boolean fits(final long value, final long offset) {
+        return value >= -offset && value <= offset + 1;
+    }
+
+    @Override
+    long decode(final BitReader input) {
+        final long value;
+        if (this.count > 1) {
+            final long deltaOfDelta;
+            if (!input.readBit()) {
+                deltaOfDelta = 0;
+            } else if (!input.readBit()) {
+                deltaOfDelta = input.read(7) - OFFSET_7;
+            } else if (!input.readBit()) {
+                deltaOfDelta = input.read(12) - OFFSET_12;
+            } else if (!input.readBit()) {
+                deltaOfDelta = input.read(20) - OFFSET_20;
+            } else if (!input.readBit()) {
+                deltaOfDelta = input.read(40) - OFFSET_40;
+            } else {
+                deltaOfDelta = input.read(Long.SIZE);
+            }
+            this.previousDelta += deltaOfDelta;
+            value = this.previous + this.previousDelta;
+        } else if (this.count == 1) {
+            this.previousDelta = input.read(Long.SIZE);
+            value = this.previous + this.previousDelta;
+            this.count++;
+        } else {
+            value = input.read(Long.SIZE);
+            this.count++;
+        }
+        this.previous = value;
+        return value;
+    }
+
+    @Override
+    void reset() {
+        this.count = 0;
+        this.previous = 0;
+        this.previousDelta = 0;
+    }
+}
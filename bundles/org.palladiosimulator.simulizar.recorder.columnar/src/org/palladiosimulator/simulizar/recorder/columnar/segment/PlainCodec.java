@@ -0,0 +1,21 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+/**
+ * Codec of {@link ColumnEncoding#PLAIN}.
+ */
+final class PlainCodec extends ColumnCodec {
+
+    @Override
+    void encode(final long value, final BitWriter output) {
+        output.write(value, Long.SIZE);
+    }
+
+    @Override
+    long decode(final BitReader input) {
+        return input.read(Long.SIZE);
+    }
+
+    @Override
+    void reset() {
+    }
+}
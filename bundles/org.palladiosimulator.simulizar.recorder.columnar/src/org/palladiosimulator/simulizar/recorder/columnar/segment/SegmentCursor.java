@@ -0,0 +1,109 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Iterates over the samples of a segment. The cursor decodes one block at a time; the values of
+ * the current sample are accessed by column without creating any objects:
+ *
+ * <pre>
+ * final SegmentCursor cursor = reader.cursor();
+ * while (cursor.next()) {
+ *     final double time = cursor.getDouble(0);
+ *     ...
+ * }
+ * </pre>
+ */
+public final class SegmentCursor {
+
+    private final SegmentReader reader;
+    private final ColumnCodec[] codecs;
+    private final BitReader[] columns;
+    private final long[] values;
+
+    private long nextBlockPosition;
+    private int remainingInBlock;
+    private boolean exhausted;
+    private boolean truncated;
+
+    SegmentCursor(final SegmentReader reader) {
+        super();
+        this.reader = reader;
+        final int columnCount = reader.getHeader().getColumns().size();
+        this.codecs = new ColumnCodec[columnCount];
+        this.columns = new BitReader[columnCount];
+        this.values = new long[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            this.codecs[i] = reader.getHeader().getColumns().get(i).getEncoding().createCodec();
+            this.columns[i] = new BitReader();
+        }
+        this.nextBlockPosition = reader.getFirstBlockPosition();
+    }
+
+    /**
+     * Moves to the next sample.
+     *
+     * @return {@code true} if there is a next sample, {@code false} if the end of the segment is
+     *         reached.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    public boolean next() throws IOException {
+        if (this.remainingInBlock == 0 && !this.loadBlock()) {
+            return false;
+        }
+        for (int i = 0; i < this.values.length; i++) {
+            this.values[i] = this.codecs[i].decode(this.columns[i]);
+        }
+        this.remainingInBlock--;
+        return true;
+    }
+
+    private boolean loadBlock() throws IOException {
+        if (this.exhausted) {
+            return false;
+        }
+        final ByteBuffer block = this.reader.readBlock(this.nextBlockPosition);
+        if (block == null) {
+            this.exhausted = true;
+            this.truncated = this.nextBlockPosition < this.reader.size();
+            return false;
+        }
+        this.nextBlockPosition += block.limit();
+        this.remainingInBlock = block.getInt(Integer.BYTES);
+        for (int i = 0; i < this.columns.length; i++) {
+            final int columnLength = block.getInt((2 + i) * Integer.BYTES);
+            this.columns[i].reset(block, columnLength);
+            this.codecs[i].reset();
+        }
+        return true;
+    }
+
+    /**
+     * @param column
+     *            the index of a {@link ColumnType#LONG} column.
+     * @return the value of the column in the current sample.
+     */
+    public long getLong(final int column) {
+        return this.values[column];
+    }
+
+    /**
+     * @param column
+     *            the index of a {@link ColumnType#DOUBLE} column.
+     * @return the value of the column in the current sample.
+     */
+    public double getDouble(final int column) {
+        return Double.longBitsToDouble(this.values[column]);
+    }
+
+    /**
+     * @return whether the segment ended with bytes that do not form an intact block, e.g.,
+     *         because the writer crashed. Only meaningful once {@link #next()} returned
+     *         {@code false}.
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+}
@@ -0,0 +1,33 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+/**
+ * Constants of the segment file format. A segment file consists of
+ * <ol>
+ * <li>the file header: {@link #MAGIC}, {@link #VERSION}, the length of the serialized
+ * {@link SegmentHeader}, the serialized header and the CRC-32 of the serialized header,</li>
+ * <li>any number of blocks: {@link #BLOCK_MAGIC}, the number of samples of the block, the length
+ * in bytes of each encoded column, the encoded columns and the CRC-32 of the block from its number
+ * of samples to its last column.</li>
+ * </ol>
+ * All numbers are big-endian {@code int}s. A block is appended with a single write once it is
+ * complete, so that a crash can only leave a truncated or partially written last block, which
+ * readers detect and ignore.
+ */
+final class SegmentFormat {
+
+    static final int MAGIC = 0x534C5A43;
+    static final int VERSION = 1;
+    static final int BLOCK_MAGIC = 0x424C4B31;
+
+    static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    private SegmentFormat() {
+    }
+
+    /**
+     * @return the length of the block header preceding the encoded columns.
+     */
+    static int blockHeaderLength(final int columnCount) {
+        return (2 + columnCount) * Integer.BYTES;
+    }
+}
@@ -0,0 +1,126 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * The self-describing header of a segment: which measurement the segment holds, how its columns
+ * are stored, and metadata of the run that recorded it.
+ */
+public final class SegmentHeader {
+
+    private final String measuringPoint;
+    private final String metricId;
+    private final Map<String, String> metadata;
+    private final List<ColumnDescriptor> columns;
+
+    /**
+     * @param measuringPoint
+     *            the string representation of the measuring point of the measurement.
+     * @param metricId
+     *            the id of the metric (set) of the measurement.
+     * @param metadata
+     *            metadata of the run, e.g., the experiment name or the start time.
+     * @param columns
+     *            the columns, at least one.
+     * @throws NullPointerException
+     *             In case any argument is {@code null}.
+     * @throws IllegalArgumentException
+     *             In case no column is given.
+     */
+    public SegmentHeader(final String measuringPoint, final String metricId, final Map<String, String> metadata,
+            final List<ColumnDescriptor> columns) {
+        super();
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("A segment needs at least one column");
+        }
+        this.measuringPoint = Objects.requireNonNull(measuringPoint);
+        this.metricId = Objects.requireNonNull(metricId);
+        this.metadata = Collections.unmodifiableMap(new LinkedHashMap<String, String>(metadata));
+        this.columns = Collections.unmodifiableList(new ArrayList<ColumnDescriptor>(columns));
+    }
+
+    public String getMeasuringPoint() {
+        return this.measuringPoint;
+    }
+
+    public String getMetricId() {
+        return this.metricId;
+    }
+
+    public Map<String, String> getMetadata() {
+        return this.metadata;
+    }
+
+    public List<ColumnDescriptor> getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * @param metricId
+     *            the id of a metric.
+     * @return the index of the column holding the given metric, or -1 if there is none.
+     */
+    public int indexOf(final String metricId) {
+        for (int i = 0; i < this.columns.size(); i++) {
+            if (this.columns.get(i).getMetricId().equals(metricId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    void write(final DataOutput output) throws IOException {
+        output.writeUTF(this.measuringPoint);
+        output.writeUTF(this.metricId);
+        output.writeInt(this.metadata.size());
+        for (final Entry<String, String> entry : this.metadata.entrySet()) {
+            output.writeUTF(entry.getKey());
+            output.writeUTF(entry.getValue());
+        }
+        output.writeInt(this.columns.size());
+        for (final ColumnDescriptor column : this.columns) {
+            output.writeUTF(column.getMetricId());
+            output.writeUTF(column.getUnit());
+            output.writeByte(column.getType().ordinal());
+            output.writeByte(column.getEncoding().ordinal());
+        }
+    }
+
+    static SegmentHeader read(final DataInput input) throws IOException {
+        final String measuringPoint = input.readUTF();
+        final String metricId = input.readUTF();
+        final int metadataSize = input.readInt();
+        final Map<String, String> metadata = new LinkedHashMap<String, String>();
+        for (int i = 0; i < metadataSize; i++) {
+            metadata.put(input.readUTF(), input.readUTF());
+        }
+        final int columnCount = input.readInt();
+        if (columnCount <= 0) {
+            throw new IOException("Invalid column count " + columnCount);
+        }
+        final List<ColumnDescriptor> columns = new ArrayList<ColumnDescriptor>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            final String columnMetricId = input.readUTF();
+            final String unit = input.readUTF();
+            columns.add(new ColumnDescriptor(columnMetricId, unit, valueOf(ColumnType.values(), input.readByte()),
+                    valueOf(ColumnEncoding.values(), input.readByte())));
+        }
+        return new SegmentHeader(measuringPoint, metricId, metadata, columns);
+    }
+
+    private static <T> T valueOf(final T[] values, final int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Unknown column type or encoding " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
@@ -0,0 +1,168 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a segment file written by a {@link SegmentWriter}. The samples are read lazily, one block
+ * at a time, through {@link SegmentCursor}s. A truncated or corrupted last block, as left by a
+ * crash of the writer, ends the segment.
+ */
+public final class SegmentReader implements Closeable {
+
+    private final File file;
+    private final FileChannel channel;
+    private final SegmentHeader header;
+    private final long firstBlockPosition;
+
+    /**
+     * Opens the given segment file and reads its header.
+     *
+     * @param file
+     *            the file.
+     * @throws IOException
+     *             if the file cannot be read or is not a segment file.
+     */
+    public SegmentReader(final File file) throws IOException {
+        super();
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            final ByteBuffer prefix = this.read(0, 3 * Integer.BYTES);
+            if (prefix == null || prefix.getInt() != SegmentFormat.MAGIC) {
+                throw new IOException(file + " is not a segment file");
+            }
+            final int version = prefix.getInt();
+            if (version != SegmentFormat.VERSION) {
+                throw new IOException("Unsupported segment version " + version + " of " + file);
+            }
+            final int headerLength = prefix.getInt();
+            final ByteBuffer serializedHeader = headerLength < 0 ? null
+                    : this.read(3 * Integer.BYTES, headerLength + Integer.BYTES);
+            if (serializedHeader == null) {
+                throw new IOException("Truncated header of " + file);
+            }
+            final byte[] headerBytes = new byte[headerLength];
+            serializedHeader.get(headerBytes);
+            final CRC32 checksum = new CRC32();
+            checksum.update(headerBytes, 0, headerBytes.length);
+            if (serializedHeader.getInt() != (int) checksum.getValue()) {
+                throw new IOException("Corrupted header of " + file);
+            }
+            this.header = SegmentHeader.read(new DataInputStream(new ByteArrayInputStream(headerBytes)));
+            this.firstBlockPosition = 4 * Integer.BYTES + headerLength;
+        } catch (final IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    public SegmentHeader getHeader() {
+        return this.header;
+    }
+
+    /**
+     * @return a new cursor positioned before the first sample of the segment.
+     */
+    public SegmentCursor cursor() {
+        return new SegmentCursor(this);
+    }
+
+    /**
+     * Counts the samples of the segment by reading the block headers. The columns are not
+     * decoded, but the checksums of the blocks are verified.
+     *
+     * @return the number of samples.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    public long countSamples() throws IOException {
+        long count = 0;
+        long position = this.firstBlockPosition;
+        ByteBuffer block;
+        while ((block = this.readBlock(position)) != null) {
+            count += block.getInt(Integer.BYTES);
+            position += block.limit();
+        }
+        return count;
+    }
+
+    long getFirstBlockPosition() {
+        return this.firstBlockPosition;
+    }
+
+    /**
+     * Reads the block at the given position.
+     *
+     * @return the complete block, including its magic number and checksum, with the position set
+     *         to the first encoded column; or {@code null} if there is no intact block at the
+     *         position.
+     */
+    ByteBuffer readBlock(final long position) throws IOException {
+        final int columnCount = this.header.getColumns().size();
+        final int headerLength = SegmentFormat.blockHeaderLength(columnCount);
+        final ByteBuffer blockHeader = this.read(position, headerLength);
+        if (blockHeader == null || blockHeader.getInt() != SegmentFormat.BLOCK_MAGIC) {
+            return null;
+        }
+        final int samples = blockHeader.getInt();
+        long length = headerLength + Integer.BYTES;
+        for (int i = 0; i < columnCount; i++) {
+            final int columnLength = blockHeader.getInt();
+            if (columnLength < 0 || columnLength % Long.BYTES != 0) {
+                return null;
+            }
+            length += columnLength;
+        }
+        if (samples <= 0 || length > Integer.MAX_VALUE) {
+            return null;
+        }
+        final ByteBuffer block = this.read(position, (int) length);
+        if (block == null) {
+            return null;
+        }
+        final ByteBuffer checksummed = block.duplicate();
+        checksummed.position(Integer.BYTES).limit(block.limit() - Integer.BYTES);
+        final CRC32 checksum = new CRC32();
+        checksum.update(checksummed);
+        if (block.getInt(block.limit() - Integer.BYTES) != (int) checksum.getValue()) {
+            return null;
+        }
+        block.position(headerLength);
+        return block;
+    }
+
+    long size() throws IOException {
+        return this.channel.size();
+    }
+
+    /**
+     * @return the bytes at the given position, or {@code null} if the file ends before.
+     */
+    private ByteBuffer read(final long position, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -0,0 +1,221 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Appends samples to a segment file, see {@link SegmentFormat}. A sample consists of a value per
+ * column; it is written by calling {@link #writeLong(int, long)} or
+ * {@link #writeDouble(int, double)} once for every column, in any order, followed by
+ * {@link #endSample()}. Writing a sample does not create any objects: values are encoded right
+ * away into per-column bit buffers, which are written to the file as a block once the block size
+ * is reached.
+ */
+public final class SegmentWriter implements Closeable, Flushable {
+
+    private static final int INITIAL_BUFFER_SIZE = 1 << 20;
+
+    private final File file;
+    private final FileChannel channel;
+    private final int blockSize;
+    private final ColumnCodec[] codecs;
+    private final BitWriter[] columns;
+    private final CRC32 checksum = new CRC32();
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+    private int samplesInBlock;
+    private long sampleCount;
+    private boolean closed;
+
+    /**
+     * Creates a new segment file with the default block size, replacing an existing file.
+     *
+     * @param file
+     *            the file.
+     * @param header
+     *            the header of the segment.
+     * @throws IOException
+     *             if the file cannot be created.
+     */
+    public SegmentWriter(final File file, final SegmentHeader header) throws IOException {
+        this(file, header, SegmentFormat.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a new segment file, replacing an existing file.
+     *
+     * @param file
+     *            the file.
+     * @param header
+     *            the header of the segment.
+     * @param blockSize
+     *            the number of samples per block. Larger blocks compress slightly better, smaller
+     *            blocks lose less data in case of a crash.
+     * @throws IOException
+     *             if the file cannot be created.
+     * @throws IllegalArgumentException
+     *             In case the block size is not positive.
+     */
+    public SegmentWriter(final File file, final SegmentHeader header, final int blockSize) throws IOException {
+        super();
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.file = file;
+        this.blockSize = blockSize;
+        final int columnCount = header.getColumns().size();
+        this.codecs = new ColumnCodec[columnCount];
+        this.columns = new BitWriter[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            this.codecs[i] = header.getColumns().get(i).getEncoding().createCodec();
+            this.columns[i] = new BitWriter(blockSize);
+        }
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            this.writeFileHeader(header);
+        } catch (final IOException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    private void writeFileHeader(final SegmentHeader header) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream output = new DataOutputStream(bytes)) {
+            header.write(output);
+        }
+        final byte[] serializedHeader = bytes.toByteArray();
+        this.checksum.reset();
+        this.checksum.update(serializedHeader, 0, serializedHeader.length);
+        final ByteBuffer headerBuffer = ByteBuffer.allocate(4 * Integer.BYTES + serializedHeader.length);
+        headerBuffer.putInt(SegmentFormat.MAGIC).putInt(SegmentFormat.VERSION).putInt(serializedHeader.length)
+                .put(serializedHeader).putInt((int) this.checksum.getValue());
+        headerBuffer.flip();
+        this.writeFully(headerBuffer);
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * @return the number of samples written so far, including samples not yet flushed.
+     */
+    public long getSampleCount() {
+        return this.sampleCount;
+    }
+
+    /**
+     * Sets the value of the given {@link ColumnType#LONG} column for the current sample.
+     *
+     * @param column
+     *            the index of the column.
+     * @param value
+     *            the value.
+     */
+    public void writeLong(final int column, final long value) {
+        this.codecs[column].encode(value, this.columns[column]);
+    }
+
+    /**
+     * Sets the value of the given {@link ColumnType#DOUBLE} column for the current sample.
+     *
+     * @param column
+     *            the index of the column.
+     * @param value
+     *            the value.
+     */
+    public void writeDouble(final int column, final double value) {
+        this.codecs[column].encode(Double.doubleToRawLongBits(value), this.columns[column]);
+    }
+
+    /**
+     * Completes the current sample. Every column must have been written exactly once since the
+     * previous sample.
+     *
+     * @throws IOException
+     *             if a completed block cannot be written.
+     */
+    public void endSample() throws IOException {
+        this.sampleCount++;
+        if (++this.samplesInBlock == this.blockSize) {
+            this.writeBlock();
+        }
+    }
+
+    /**
+     * Writes the samples of the current block to the file, even if the block is not full.
+     *
+     * @throws IOException
+     *             if the block cannot be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (this.samplesInBlock > 0) {
+            this.writeBlock();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        int length = SegmentFormat.blockHeaderLength(this.columns.length) + Integer.BYTES;
+        for (final BitWriter column : this.columns) {
+            length += column.getByteLength();
+        }
+        if (this.buffer.capacity() < length) {
+            this.buffer = ByteBuffer.allocateDirect(Math.max(length, this.buffer.capacity() * 2));
+        }
+        this.buffer.clear();
+        this.buffer.putInt(SegmentFormat.BLOCK_MAGIC).putInt(this.samplesInBlock);
+        for (final BitWriter column : this.columns) {
+            this.buffer.putInt(column.getByteLength());
+        }
+        for (int i = 0; i < this.columns.length; i++) {
+            this.columns[i].copyTo(this.buffer);
+            this.columns[i].reset();
+            this.codecs[i].reset();
+        }
+        final ByteBuffer checksummed = this.buffer.duplicate();
+        checksummed.flip().position(Integer.BYTES);
+        this.checksum.reset();
+        this.checksum.update(checksummed);
+        this.buffer.putInt((int) this.checksum.getValue());
+        this.buffer.flip();
+        this.writeFully(this.buffer);
+        this.samplesInBlock = 0;
+    }
+
+    private void writeFully(final ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            this.channel.write(source);
+        }
+    }
+
+    /**
+     * Flushes the current block and closes the file. Closing a closed writer has no effect.
+     *
+     * @throws IOException
+     *             if the block cannot be written or the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.flush();
+            this.channel.force(false);
+        } finally {
+            this.channel.close();
+        }
+    }
+}
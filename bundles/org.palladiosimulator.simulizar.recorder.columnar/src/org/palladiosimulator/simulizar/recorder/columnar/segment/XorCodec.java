@@ -0,0 +1,77 @@
+package org.palladiosimulator.simulizar.recorder.columnar.segment;
+
+/**
+ * Codec of {@link ColumnEncoding#XOR}. The first word of a block is stored as is. Every further
+ * word is XORed with its predecessor and stored as
+ * <ul>
+ * <li>{@code 0} if it equals its predecessor,</li>
+ * <li>{@code 10} followed by the meaningful bits if they fit into the window of leading and
+ * trailing zeros of the previously stored XOR,</li>
+ * <li>{@code 11} followed by the number of leading zeros (5 bits), the number of meaningful bits
+ * minus one (6 bits) and the meaningful bits otherwise.</li>
+ * </ul>
+ */
+final class XorCodec extends ColumnCodec {
+
+    private static final int MAX_LEADING_ZEROS = 31;
+
+    private boolean first = true;
+    private long previous;
+    private int leadingZeros = -1;
+    private int trailingZeros;
+
+    @Override
+    void encode(final long value, final BitWriter output) {
+        if (this.first) {
+            output.write(value, Long.SIZE);
+            this.first = false;
+        } else {
+            final long xor = value ^ this.previous;
+            if (xor == 0) {
+                output.write(0, 1);
+            } else {
+                final int leading = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+                final int trailing = Long.numberOfTrailingZeros(xor);
+                if (this.leadingZeros >= 0 && leading >= this.leadingZeros && trailing >= this.trailingZeros) {
+                    output.write(0b10L, 2);
+                    output.write(xor >>> this.trailingZeros, Long.SIZE - this.leadingZeros - this.trailingZeros);
+                } else {
+                    final int meaningfulBits = Long.SIZE - leading - trailing;
+                    output.write(0b11L << 11 | leading << 6 | (meaningfulBits - 1), 13);
+                    output.write(xor >>> trailing, meaningfulBits);
+                    this.leadingZeros = leading;
+                    this.trailingZeros = trailing;
+                }
+            }
+        }
+        this.previous = value;
+    }
+
+    @Override
+    long decode(final BitReader input) {
+        final long value;
+        if (this.first) {
+            value = input.read(Long.SIZE);
+            this.first = false;
+        } else if (!input.readBit()) {
+            value = this.previous;
+        } else {
+            if (input.readBit()) {
+                this.leadingZeros = (int) input.read(5);
+                this.trailingZeros = Long.SIZE - this.leadingZeros - ((int) input.read(6) + 1);
+            }
+            final int meaningfulBits = Long.SIZE - this.leadingZeros - this.trailingZeros;
+            value = this.previous ^ (input.read(meaningfulBits) << this.trailingZeros);
+        }
+        this.previous = value;
+        return value;
+    }
+
+    @Override
+    void reset() {
+        this.first = true;
+        this.previous = 0;
+        this.leadingZeros = -1;
+        this.trailingZeros = 0;
+    }
+}
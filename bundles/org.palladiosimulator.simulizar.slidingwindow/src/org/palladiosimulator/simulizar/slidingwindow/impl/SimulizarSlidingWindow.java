@@ -11,7 +11,8 @@ import org.palladiosimulator.experimentanalysis.ISlidingWindowMoveOnStrategy;
 import org.palladiosimulator.experimentanalysis.SlidingWindow;
 import org.palladiosimulator.experimentanalysis.windowaggregators.SlidingWindowAggregator;
 import org.palladiosimulator.metricspec.MetricDescription;
-import org.palladiosimulator.simulizar.simulationevents.PeriodicallyTriggeredSimulationEntity;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicTask;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicTaskScheduler;
 
 import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
 import de.uka.ipd.sdq.simulation.ISimulationListener;
@@ -23,6 +24,8 @@ import de.uka.ipd.sdq.simulation.ISimulationListener;
  * length, the window moves forward by a fixed increment and the collected measurements are
  * propagated to all connected {@link ISlidingWindowListener}s, e.g., certain
  * {@link SlidingWindowAggregator}s.<br>
+ * The windows of a model are moved on by its {@link PeriodicTaskScheduler}, so that windows of the
+ * same length and increment move on with a single simulation event.<br>
  * 
  * 
  * @author Florian Rosenthal
@@ -31,7 +34,7 @@ public class SimulizarSlidingWindow extends SlidingWindow {
     
 	private SimuComModel model;
 	
-    private PeriodicallyTriggeredSimulationEntity simulationEntity = null;
+    private PeriodicTask moveOnTask = null;
     private ISimulationListener simulationListener = null;
     
 
@@ -129,22 +132,15 @@ public class SimulizarSlidingWindow extends SlidingWindow {
             throw new IllegalArgumentException("Sliding window must be initialized with a valid SimComModel instance.");
         }
         this.model = model;
-        initializeTriggeredSimulationEntity(model);
+        initializeMoveOnTask(model);
 
     }
 
-    private void initializeTriggeredSimulationEntity(SimuComModel model) {
+    private void initializeMoveOnTask(SimuComModel model) {
         // ensure that point in times are given in seconds, as the simulation is
         // in sec
-    	simulationEntity = new PeriodicallyTriggeredSimulationEntity(model,
-                SimulizarSlidingWindow.this.getSpecifiedWindowLength().doubleValue(SI.SECOND),
-                SimulizarSlidingWindow.this.getIncrement().doubleValue(SI.SECOND)) {
-
-            @Override
-            protected void triggerInternal() {
-                onWindowFullEvent();
-            }
-        };
+        moveOnTask = PeriodicTaskScheduler.getScheduler(model).register(this::onWindowFullEvent,
+                getSpecifiedWindowLength().doubleValue(SI.SECOND), getIncrement().doubleValue(SI.SECOND));
         simulationListener = new ISimulationListener() {
 
             @Override
@@ -219,7 +215,7 @@ public class SimulizarSlidingWindow extends SlidingWindow {
     }
     
     public void flushAndStopAggregation() {
-    	this.simulationEntity.stopScheduling();
+    	this.moveOnTask.cancel();
     	this.model.getConfiguration().getListeners().remove(this.simulationListener);
     	this.onSimulationStop();
     }
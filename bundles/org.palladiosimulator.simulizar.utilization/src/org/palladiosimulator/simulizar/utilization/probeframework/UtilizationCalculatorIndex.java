@@ -0,0 +1,138 @@
+package org.palladiosimulator.simulizar.utilization.probeframework;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.pcmmeasuringpoint.ActiveResourceMeasuringPoint;
+import org.palladiosimulator.probeframework.calculator.Calculator;
+
+/**
+ * Index of the calculators observing active resources, keyed by the id of the processing resource,
+ * the replica id of the measuring point and the metric of the calculator. Calculators are added by
+ * scanning the registered calculators once per batch of changes, so that looking up the
+ * calculators of a measurement specification does not scan all registered calculators.
+ */
+final class UtilizationCalculatorIndex {
+
+    private final Collection<MetricDescription> indexedMetrics;
+    private final Map<Key, Calculator> calculators = new HashMap<>();
+    private final Map<String, List<Key>> keysByProcessingResource = new HashMap<>();
+    private final Set<Calculator> scannedCalculators = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param indexedMetrics
+     *            the metrics of the calculators to index; a calculator compatible with several of
+     *            them is indexed for each.
+     */
+    UtilizationCalculatorIndex(final Collection<? extends MetricDescription> indexedMetrics) {
+        this.indexedMetrics = new ArrayList<>(indexedMetrics);
+    }
+
+    /**
+     * Indexes the calculators of the given ones that observe an active resource and have not been
+     * scanned before.
+     */
+    void addAll(final Collection<Calculator> registeredCalculators) {
+        for (final Calculator calculator : registeredCalculators) {
+            if (this.scannedCalculators.add(calculator)
+                    && calculator.getMeasuringPoint() instanceof ActiveResourceMeasuringPoint) {
+                final ActiveResourceMeasuringPoint measuringPoint = (ActiveResourceMeasuringPoint) calculator
+                        .getMeasuringPoint();
+                if (measuringPoint.getActiveResource() != null) {
+                    this.add(calculator, measuringPoint);
+                }
+            }
+        }
+    }
+
+    private void add(final Calculator calculator, final ActiveResourceMeasuringPoint measuringPoint) {
+        final String processingResourceId = measuringPoint.getActiveResource().getId();
+        for (final MetricDescription metric : this.indexedMetrics) {
+            if (calculator.isCompatibleWith(metric)) {
+                final Key key = new Key(processingResourceId, measuringPoint.getReplicaID(), metric.getId());
+                if (this.calculators.putIfAbsent(key, calculator) == null) {
+                    this.keysByProcessingResource.computeIfAbsent(processingResourceId, id -> new ArrayList<>())
+                            .add(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the calculator, or {@code null} if none is indexed for the given key.
+     */
+    Calculator get(final String processingResourceId, final int replicaId, final MetricDescription metric) {
+        return this.calculators.get(new Key(processingResourceId, replicaId, metric.getId()));
+    }
+
+    /**
+     * @return a calculator of the given metric observing any replica of the processing resource,
+     *         or {@code null} if none is indexed.
+     */
+    Calculator find(final String processingResourceId, final MetricDescription metric) {
+        for (final Key key : this.keysByProcessingResource.getOrDefault(processingResourceId,
+                Collections.emptyList())) {
+            if (key.metricId.equals(metric.getId())) {
+                return this.calculators.get(key);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the calculators of a removed processing resource from the index.
+     *
+     * @return the removed calculators.
+     */
+    Collection<Calculator> remove(final String processingResourceId) {
+        final List<Key> keys = this.keysByProcessingResource.remove(processingResourceId);
+        if (keys == null) {
+            return Collections.emptyList();
+        }
+        final Set<Calculator> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Key key : keys) {
+            result.add(this.calculators.remove(key));
+        }
+        return result;
+    }
+
+    private static final class Key {
+
+        private final String processingResourceId;
+        private final int replicaId;
+        private final String metricId;
+
+        private Key(final String processingResourceId, final int replicaId, final String metricId) {
+            this.processingResourceId = processingResourceId;
+            this.replicaId = replicaId;
+            this.metricId = metricId;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.replicaId == other.replicaId
+                    && this.processingResourceId.equals(other.processingResourceId)
+                    && this.metricId.equals(other.metricId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.processingResourceId, this.replicaId, this.metricId);
+        }
+    }
+}
@@ -5,14 +5,24 @@ import static org.palladiosimulator.edp2.util.MeasurementsUtility.SLIDING_WINDOW
 import static org.palladiosimulator.edp2.util.MeasurementsUtility.SLIDING_WINDOW_BASED_MEASUREMENT_TAG_VALUE;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import org.eclipse.emf.ecore.EClass;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.palladiosimulator.edp2.models.ExperimentData.Measurement;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.edp2.models.measuringpoint.StringMeasuringPoint;
 import org.palladiosimulator.experimentanalysis.ISlidingWindowMoveOnStrategy;
 import org.palladiosimulator.experimentanalysis.KeepLastElementPriorToLowerBoundStrategy;
 import org.palladiosimulator.experimentanalysis.SlidingWindowRecorder;
@@ -25,8 +35,11 @@ import org.palladiosimulator.monitorrepository.ProcessingType;
 import org.palladiosimulator.monitorrepository.TimeDriven;
 import org.palladiosimulator.monitorrepository.util.MonitorRepositorySwitch;
 import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceenvironmentPackage;
 import org.palladiosimulator.pcmmeasuringpoint.ActiveResourceMeasuringPoint;
-import org.palladiosimulator.pcmmeasuringpoint.PcmmeasuringpointPackage;
+import org.palladiosimulator.pcmmeasuringpoint.PcmmeasuringpointFactory;
 import org.palladiosimulator.pcmmeasuringpoint.util.PcmmeasuringpointSwitch;
 import org.palladiosimulator.probeframework.calculator.Calculator;
 import org.palladiosimulator.probeframework.calculator.RegisterCalculatorFactoryDecorator;
@@ -37,24 +50,37 @@ import org.palladiosimulator.simulizar.interpreter.listener.AbstractProbeFramewo
 import org.palladiosimulator.simulizar.interpreter.listener.AbstractRecordingProbeFrameworkListenerDecorator;
 import org.palladiosimulator.simulizar.slidingwindow.impl.SimulizarSlidingWindow;
 import org.palladiosimulator.simulizar.slidingwindow.runtimemeasurement.SlidingWindowRuntimeMeasurementsRecorder;
+import org.palladiosimulator.simulizar.utilization.runtimemeasurement.GroupUtilizationRecorder;
+import org.palladiosimulator.simulizar.warmup.WarmupFilteringRecorderConfiguration;
 
 import de.uka.ipd.sdq.simucomframework.SimuComConfig;
 import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+import de.uka.ipd.sdq.simucomframework.resources.AbstractSimulatedResourceContainer;
+import de.uka.ipd.sdq.simucomframework.resources.CalculatorHelper;
+import de.uka.ipd.sdq.simucomframework.resources.ScheduledResource;
 
 /**
  * Implementation of the {@link AbstractRecordingProbeFrameworkListenerDecorator} class dedicated to
  * initialize sliding-window based (i.e., {@link TimeDriven}) computations of utilization of active
- * resources.
- * 
+ * resources.<br>
+ * Utilization measurement specifications of active resources also serve as templates for
+ * processing resources added during the simulation, e.g., by scale-out reconfigurations: an added
+ * processing resource of the same resource type in a resource container with the same entity name
+ * as the measured one gets utilization windows as specified by the template. If a specification
+ * triggers self-adaptations, the mean utilization of all resources of its group (i.e., of the same
+ * resource type in resource containers with the same entity name) is forwarded to the
+ * RuntimeMeasurementModel as well, see {@link GroupUtilizationRecorder}.
+ *
  * @author Florian Rosenthal
  *
  */
 public class UtilizationProbeFrameworkListenerDecorator extends AbstractRecordingProbeFrameworkListenerDecorator {
 
+    private static final Logger LOGGER = Logger.getLogger(UtilizationProbeFrameworkListenerDecorator.class);
+
     private static final MetricSetDescription UTILIZATION_TUPLE_METRIC_DESC = MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE;
     private static final BaseMetricDescription UTILIZATION_METRIC_DESC = MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE;
     private static final MetricSetDescription STATE_TUPLE_METRIC_DESC = MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC_TUPLE;
-    private static final EClass ACTIVE_RESOURCE_MP_ECLASS = PcmmeasuringpointPackage.Literals.ACTIVE_RESOURCE_MEASURING_POINT;
 
     private static final MonitorRepositorySwitch<Optional<TimeDriven>> PROCESSING_TYPE_SWITCH = new MonitorRepositorySwitch<Optional<TimeDriven>>() {
         @Override
@@ -87,6 +113,48 @@ public class UtilizationProbeFrameworkListenerDecorator extends AbstractRecordin
     private RuntimeMeasurementModel rmModel;
     private RegisterCalculatorFactoryDecorator calculatorFactory = null;
 
+    private final UtilizationCalculatorIndex calculatorIndex = new UtilizationCalculatorIndex(
+            Arrays.asList(STATE_TUPLE_METRIC_DESC, UTILIZATION_TUPLE_METRIC_DESC));
+
+    /**
+     * Sliding windows keyed by the id of the processing resource they observe. The windows of a
+     * processing resource are stopped once it or its resource container is removed from the
+     * resource environment, so that they do not keep triggering for resources no longer simulated.
+     */
+    private final Map<String, List<ResourceWindow>> slidingWindowsByProcessingResource = new HashMap<>();
+
+    /**
+     * Utilization measurement specifications of active resources keyed by their group (see
+     * {@link #getGroupKey(ProcessingResourceSpecification)}) and replica id, which serve as
+     * templates for processing resources added to the group.
+     */
+    private final Map<String, Map<Integer, MeasurementSpecification>> templatesByGroup = new HashMap<>();
+    private final Map<String, GroupUtilizationRecorder> groupUtilizations = new HashMap<>();
+    private ResourceEnvironment observedResourceEnvironment = null;
+
+    private final Adapter resourceEnvironmentListener = new EContentAdapter() {
+
+        @Override
+        public void notifyChanged(final Notification notification) {
+            super.notifyChanged(notification);
+            final ResourceenvironmentPackage resourceenvironmentPackage = ResourceenvironmentPackage.eINSTANCE;
+            if (notification.getFeature() == resourceenvironmentPackage
+                    .getResourceEnvironment_ResourceContainer_ResourceEnvironment()) {
+                addSlidingWindows(UtilizationProbeFrameworkListenerDecorator.<ResourceContainer> getAddedValues(
+                        notification).stream()
+                        .flatMap(container -> container.getActiveResourceSpecifications_ResourceContainer().stream())
+                        .collect(toList()));
+                UtilizationProbeFrameworkListenerDecorator.<ResourceContainer> getRemovedValues(notification)
+                        .forEach(UtilizationProbeFrameworkListenerDecorator.this::stopSlidingWindows);
+            } else if (notification.getFeature() == resourceenvironmentPackage
+                    .getResourceContainer_ActiveResourceSpecifications_ResourceContainer()) {
+                addSlidingWindows(getAddedValues(notification));
+                UtilizationProbeFrameworkListenerDecorator.<ProcessingResourceSpecification> getRemovedValues(
+                        notification).forEach(UtilizationProbeFrameworkListenerDecorator.this::stopSlidingWindows);
+            }
+        }
+    };
+
     @Override
     public void registerMeasurements() {
         super.registerMeasurements();
@@ -114,97 +182,128 @@ public class UtilizationProbeFrameworkListenerDecorator extends AbstractRecordin
 
         if (!utilMeasurementSpecs.isEmpty()) {
             this.moveOnStrategy = new KeepLastElementPriorToLowerBoundStrategy();
-            Collection<Calculator> overallUtilizationCalculators = getAvailableOverallUtilizationCalculators();
+            this.calculatorIndex.addAll(this.calculatorFactory.getRegisteredCalculators());
 
+            final Map<MeasurementSpecification, Calculator> stateOfActiveResourceCalculators = new LinkedHashMap<>();
+            final List<String> errors = new ArrayList<>();
             for (MeasurementSpecification spec : utilMeasurementSpecs) {
                 MeasuringPoint mp = spec.getMonitor().getMeasuringPoint();
+                Calculator stateOfActiveResourceCalculator = findStateOfActiveResourceCalculator(mp);
+                errors.addAll(checkValidity(spec, PROCESSING_TYPE_SWITCH.doSwitch(spec.getProcessingType()),
+                        stateOfActiveResourceCalculator, mp));
+                stateOfActiveResourceCalculators.put(spec, stateOfActiveResourceCalculator);
+            }
+            // report all invalid measurement specifications at once, not only the first one
+            if (!errors.isEmpty()) {
+                throw new IllegalStateException("Utilization measurements (sliding window based) cannot be "
+                        + "initialized, " + errors.size() + " error(s):\n" + String.join("\n", errors));
+            }
 
-                Optional<ActiveResourceMeasuringPoint> activeResourceMp = ACTIVE_RESOURCE_MP_SWITCH.doSwitch(mp);
-
-                Optional<Calculator> overallUtilizationCalculator = activeResourceMp.filter(a -> a.getReplicaID() == 0)
-                        .map(ActiveResourceMeasuringPoint::getActiveResource)
-                        .filter(proc -> proc.getNumberOfReplicas() > 1)
-                        .flatMap(proc -> findOverallUtilizationCalculatorForProcessingResource(proc,
-                                overallUtilizationCalculators));
-
-                Optional<TimeDriven> timeDrivenProcessingType = PROCESSING_TYPE_SWITCH
-                        .doSwitch(spec.getProcessingType());
-
-                Calculator stateOfActiveResourceCalculator = this.calculatorFactory
-                        .getCalculatorByMeasuringPointAndMetricDescription(mp, STATE_TUPLE_METRIC_DESC);
-
-                // this call crashes in case measurement specification is invalid
-                // or if the required 'state of Active Resource' calculator is not present (i.e.,
-                // null)
-                checkValidity(spec, timeDrivenProcessingType, stateOfActiveResourceCalculator, mp);
+            for (Map.Entry<MeasurementSpecification, Calculator> entry : stateOfActiveResourceCalculators
+                    .entrySet()) {
+                MeasurementSpecification spec = entry.getKey();
+                MeasuringPoint mp = spec.getMonitor().getMeasuringPoint();
 
-                setupUtilizationRecorder(stateOfActiveResourceCalculator, spec, timeDrivenProcessingType.get(),
-                        overallUtilizationCalculator);
+                Optional<ActiveResourceMeasuringPoint> activeResourceMp = ACTIVE_RESOURCE_MP_SWITCH.doSwitch(mp)
+                        .filter(a -> a.getActiveResource() != null);
+                Optional<ProcessingResourceSpecification> processingResource = activeResourceMp
+                        .map(ActiveResourceMeasuringPoint::getActiveResource);
+                Optional<Calculator> overallUtilizationCalculator = activeResourceMp
+                        .filter(a -> a.getReplicaID() == 0).map(ActiveResourceMeasuringPoint::getActiveResource)
+                        .flatMap(this::findOverallUtilizationCalculator);
+
+                activeResourceMp.ifPresent(a -> this.templatesByGroup
+                        .computeIfAbsent(getGroupKey(a.getActiveResource()), key -> new HashMap<>())
+                        .putIfAbsent(a.getReplicaID(), spec));
+
+                setupUtilizationRecorder(entry.getValue(), spec, PROCESSING_TYPE_SWITCH
+                        .doSwitch(spec.getProcessingType()).get(), overallUtilizationCalculator, mp,
+                        processingResource);
             }
+            observeResourceEnvironment();
         }
     }
 
-    private Collection<Calculator> getAvailableOverallUtilizationCalculators() {
-        Collection<Calculator> overallUtilizationCalculators = this.calculatorFactory.getRegisteredCalculators()
-                .stream().filter(calc -> calc.isCompatibleWith(UTILIZATION_TUPLE_METRIC_DESC)
-                        && ACTIVE_RESOURCE_MP_ECLASS.isInstance(calc.getMeasuringPoint()))
-                .collect(toList());
-        return overallUtilizationCalculators;
+    private Calculator findStateOfActiveResourceCalculator(final MeasuringPoint mp) {
+        return ACTIVE_RESOURCE_MP_SWITCH.doSwitch(mp).filter(a -> a.getActiveResource() != null)
+                .map(a -> this.calculatorIndex.get(a.getActiveResource().getId(), a.getReplicaID(),
+                        STATE_TUPLE_METRIC_DESC))
+                .orElseGet(() -> this.calculatorFactory.getCalculatorByMeasuringPointAndMetricDescription(mp,
+                        STATE_TUPLE_METRIC_DESC));
     }
 
-    private static Optional<Calculator> findOverallUtilizationCalculatorForProcessingResource(
-            final ProcessingResourceSpecification proc, final Collection<Calculator> overallUtilizationCalculators) {
-        String processingResourceId = proc.getId();
-        return overallUtilizationCalculators.stream()
-                .filter(calc -> ((ActiveResourceMeasuringPoint) calc.getMeasuringPoint()).getActiveResource().getId()
-                        .equals(processingResourceId))
-                .findAny();
+    /**
+     * Gets the overall utilization calculator of a processing resource with more than one replica,
+     * i.e., core.
+     */
+    private Optional<Calculator> findOverallUtilizationCalculator(final ProcessingResourceSpecification proc) {
+        if (proc.getNumberOfReplicas() <= 1) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.calculatorIndex.find(proc.getId(), UTILIZATION_TUPLE_METRIC_DESC));
     }
 
-    private static void checkValidity(final MeasurementSpecification utilizationMeasurementSpec,
+    /**
+     * @return the errors of the given measurement specification; empty if it is valid.
+     */
+    private static List<String> checkValidity(final MeasurementSpecification utilizationMeasurementSpec,
             final Optional<TimeDriven> aggregation, final Calculator stateOfActiveResourceCalculator,
             final MeasuringPoint mp) {
 
+        final List<String> errors = new ArrayList<>(2);
         if (stateOfActiveResourceCalculator == null) {
-            throw new IllegalStateException("Utilization measurements (sliding window based) cannot be initialized.\n"
-                    + "No state of active resource calculator available for: " + mp.getStringRepresentation() + "\n"
-                    + "Ensure that initializeModelSyncers() in SimulizarRuntimeState is called prior "
+            errors.add("No state of active resource calculator available for: " + mp.getStringRepresentation()
+                    + ". Ensure that initializeModelSyncers() in SimulizarRuntimeState is called prior "
                     + "to initializeInterpreterListeners()!");
         }
 
         if (!aggregation.isPresent()) {
-            throw new IllegalStateException(
-                    "MetricDescription (" + utilizationMeasurementSpec.getMetricDescription().getName() + ") '"
-                            + utilizationMeasurementSpec.getName() + "' of Monitor '"
-                            + utilizationMeasurementSpec.getMonitor().getEntityName() + "' must provide a "
-                            + ProcessingType.class.getName() + " of Type '" + TimeDriven.class.getName() + "'!");
+            errors.add("MetricDescription (" + utilizationMeasurementSpec.getMetricDescription().getName() + ") '"
+                    + utilizationMeasurementSpec.getName() + "' of Monitor '"
+                    + utilizationMeasurementSpec.getMonitor().getEntityName() + "' must provide a "
+                    + ProcessingType.class.getName() + " of Type '" + TimeDriven.class.getName() + "'!");
         }
+        return errors;
     }
 
     private void setupUtilizationRecorder(final Calculator stateOfActiveResourceCalculator,
             final MeasurementSpecification utilizationMeasurementSpec, final TimeDriven timeDrivenProcessingType,
-            final Optional<Calculator> overallUtilizationCalculator) {
+            final Optional<Calculator> overallUtilizationCalculator, final MeasuringPoint measuringPoint,
+            final Optional<ProcessingResourceSpecification> processingResource) {
 
         setupSlidingWindowAggregatorAndRecorder(stateOfActiveResourceCalculator, timeDrivenProcessingType,
-                utilizationMeasurementSpec, STATE_TUPLE_METRIC_DESC,
-                utilizationMeasurementSpec.getMonitor().getMeasuringPoint());
+                utilizationMeasurementSpec, STATE_TUPLE_METRIC_DESC, measuringPoint, processingResource);
 
-        overallUtilizationCalculator
-                .ifPresent(calc -> setupSlidingWindowAggregatorAndRecorder(calc, timeDrivenProcessingType,
-                        utilizationMeasurementSpec, UTILIZATION_TUPLE_METRIC_DESC, calc.getMeasuringPoint()));
+        overallUtilizationCalculator.ifPresent(calc -> setupSlidingWindowAggregatorAndRecorder(calc,
+                timeDrivenProcessingType, utilizationMeasurementSpec, UTILIZATION_TUPLE_METRIC_DESC,
+                calc.getMeasuringPoint(), processingResource));
     }
 
     private void setupSlidingWindowAggregatorAndRecorder(final Calculator calc,
             final TimeDriven timeDrivenProcessingType, final MeasurementSpecification spec,
-            final MetricSetDescription desc, final MeasuringPoint measuringPoint) {
+            final MetricSetDescription desc, final MeasuringPoint measuringPoint,
+            final Optional<ProcessingResourceSpecification> processingResource) {
         final SlidingWindowUtilizationAggregator aggregator = createSlidingWindowAggregator(calc, desc);
+        final SimulizarSlidingWindow slidingWindow = createSlidingWindow(timeDrivenProcessingType, aggregator);
         // register recorder at calculator
-        registerMeasurementsRecorder(calc, createSlidingWindowRecorder(timeDrivenProcessingType, aggregator));
+        registerMeasurementsRecorder(calc, new SlidingWindowRecorder(slidingWindow, aggregator));
         // forward utilization measurements to RuntimeMeasurementModel (the
-        // former PRM)
+        // former PRM), of the resource and of its group
+        SlidingWindowRuntimeMeasurementsRecorder runtimeMeasurementsRecorder = null;
+        GroupUtilizationRecorder.Member groupMember = null;
         if (spec.isTriggersSelfAdaptations()) {
-            aggregator.addRecorder(new SlidingWindowRuntimeMeasurementsRecorder(this.rmModel, spec, measuringPoint));
+            runtimeMeasurementsRecorder = new SlidingWindowRuntimeMeasurementsRecorder(this.rmModel, spec,
+                    measuringPoint);
+            aggregator.addRecorder(runtimeMeasurementsRecorder);
+            if (processingResource.isPresent()) {
+                groupMember = getGroupUtilization(processingResource.get(), spec).addMember();
+                aggregator.addRecorder(groupMember);
+            }
         }
+        final ResourceWindow resourceWindow = new ResourceWindow(slidingWindow, runtimeMeasurementsRecorder,
+                groupMember);
+        processingResource.ifPresent(proc -> this.slidingWindowsByProcessingResource
+                .computeIfAbsent(proc.getId(), id -> new ArrayList<>()).add(resourceWindow));
     }
 
     private SlidingWindowUtilizationAggregator createSlidingWindowAggregator(final Calculator baseCalculator,
@@ -216,16 +315,182 @@ public class UtilizationProbeFrameworkListenerDecorator extends AbstractRecordin
                 super.initializeRecorder(recorderConfigMap));
     }
 
-    private SlidingWindowRecorder createSlidingWindowRecorder(final TimeDriven timeDrivenProcessingType,
+    private SimulizarSlidingWindow createSlidingWindow(final TimeDriven timeDrivenProcessingType,
             final SlidingWindowUtilizationAggregator utilizationAggregator) {
         assert this.model != null && this.rmModel != null && timeDrivenProcessingType != null
                 && utilizationAggregator != null;
 
-        return new SlidingWindowRecorder(
-                new SimulizarSlidingWindow(timeDrivenProcessingType.getWindowLengthAsMeasure(),
-                        timeDrivenProcessingType.getWindowIncrementAsMeasure(),
-                        utilizationAggregator.getExpectedWindowDataMetric(), this.moveOnStrategy, this.model),
-                utilizationAggregator);
+        return new SimulizarSlidingWindow(timeDrivenProcessingType.getWindowLengthAsMeasure(),
+                timeDrivenProcessingType.getWindowIncrementAsMeasure(),
+                utilizationAggregator.getExpectedWindowDataMetric(), this.moveOnStrategy, this.model);
+    }
+
+    /**
+     * Resources of the same resource type in resource containers with the same entity name form a
+     * group, e.g., the replicas of a service created by scale-out reconfigurations.
+     */
+    private static String getGroupKey(final ProcessingResourceSpecification proc) {
+        return proc.getResourceContainer_ProcessingResourceSpecification().getEntityName() + "/"
+                + proc.getActiveResourceType_ActiveResourceSpecification().getId();
+    }
+
+    private GroupUtilizationRecorder getGroupUtilization(final ProcessingResourceSpecification proc,
+            final MeasurementSpecification spec) {
+        return this.groupUtilizations.computeIfAbsent(getGroupKey(proc), key -> {
+            final StringMeasuringPoint groupMeasuringPoint = MeasuringpointFactory.eINSTANCE
+                    .createStringMeasuringPoint();
+            groupMeasuringPoint.setMeasuringPoint(
+                    proc.getActiveResourceType_ActiveResourceSpecification().getEntityName() + " of "
+                            + proc.getResourceContainer_ProcessingResourceSpecification().getEntityName()
+                            + " (group)");
+            return new GroupUtilizationRecorder(this.rmModel, spec, groupMeasuringPoint);
+        });
+    }
+
+    private void observeResourceEnvironment() {
+        if (this.observedResourceEnvironment == null
+                && getProbeFrameworkListener().getModelAccess().getGlobalPCMModel().getAllocation() != null) {
+            this.observedResourceEnvironment = getProbeFrameworkListener().getModelAccess().getGlobalPCMModel()
+                    .getAllocation().getTargetResourceEnvironment_Allocation();
+            if (this.observedResourceEnvironment != null) {
+                // added after the adapter of the ResourceEnvironmentSyncer, so added resources are
+                // already simulated when notified
+                this.observedResourceEnvironment.eAdapters().add(this.resourceEnvironmentListener);
+            }
+        }
+    }
+
+    /**
+     * Sets up the utilization windows of added processing resources that belong to the group of a
+     * template. The state of active resource calculators of the resources are created unless the
+     * ResourceEnvironmentSyncer attached them for monitors of the resources. The registered
+     * calculators are scanned at most twice per batch of added resources.
+     */
+    private void addSlidingWindows(final Collection<ProcessingResourceSpecification> processingResources) {
+        final List<ProcessingResourceSpecification> templatedResources = processingResources.stream()
+                .filter(proc -> this.templatesByGroup.containsKey(getGroupKey(proc))
+                        && !this.slidingWindowsByProcessingResource.containsKey(proc.getId()))
+                .collect(toList());
+        if (templatedResources.isEmpty()) {
+            return;
+        }
+        this.calculatorIndex.addAll(this.calculatorFactory.getRegisteredCalculators());
+        boolean calculatorsCreated = false;
+        for (final ProcessingResourceSpecification proc : templatedResources) {
+            for (final Integer replicaId : this.templatesByGroup.get(getGroupKey(proc)).keySet()) {
+                calculatorsCreated |= createMissingCalculators(proc, replicaId);
+            }
+        }
+        if (calculatorsCreated) {
+            this.calculatorIndex.addAll(this.calculatorFactory.getRegisteredCalculators());
+        }
+
+        for (final ProcessingResourceSpecification proc : templatedResources) {
+            for (final Map.Entry<Integer, MeasurementSpecification> template : this.templatesByGroup
+                    .get(getGroupKey(proc)).entrySet()) {
+                final int replicaId = template.getKey();
+                final MeasurementSpecification spec = template.getValue();
+                final Calculator stateOfActiveResourceCalculator = this.calculatorIndex.get(proc.getId(), replicaId,
+                        STATE_TUPLE_METRIC_DESC);
+                if (stateOfActiveResourceCalculator == null) {
+                    LOGGER.warn("No state of active resource calculator available for replica " + replicaId
+                            + " of added resource " + proc.getId() + ", its utilization is not measured");
+                    continue;
+                }
+                setupUtilizationRecorder(stateOfActiveResourceCalculator, spec,
+                        PROCESSING_TYPE_SWITCH.doSwitch(spec.getProcessingType()).get(),
+                        replicaId == 0 ? findOverallUtilizationCalculator(proc) : Optional.empty(),
+                        stateOfActiveResourceCalculator.getMeasuringPoint(), Optional.of(proc));
+            }
+        }
+    }
+
+    /**
+     * Creates the state of active resource calculator of the given replica of an added processing
+     * resource and, for replica 0 of a resource with several replicas, its overall utilization
+     * calculator, unless they are indexed already.
+     *
+     * @return whether a calculator has been created.
+     */
+    private boolean createMissingCalculators(final ProcessingResourceSpecification proc, final int replicaId) {
+        final boolean stateMissing = this.calculatorIndex.get(proc.getId(), replicaId,
+                STATE_TUPLE_METRIC_DESC) == null;
+        final boolean overallMissing = replicaId == 0 && proc.getNumberOfReplicas() > 1
+                && this.calculatorIndex.find(proc.getId(), UTILIZATION_TUPLE_METRIC_DESC) == null;
+        if (!stateMissing && !overallMissing) {
+            return false;
+        }
+        final ScheduledResource scheduledResource = findScheduledResource(proc);
+        if (scheduledResource == null) {
+            LOGGER.warn("No simulated resource found for added resource " + proc.getId());
+            return false;
+        }
+        if (stateMissing) {
+            final ActiveResourceMeasuringPoint measuringPoint = PcmmeasuringpointFactory.eINSTANCE
+                    .createActiveResourceMeasuringPoint();
+            measuringPoint.setActiveResource(proc);
+            measuringPoint.setReplicaID(replicaId);
+            // resources with a single instance (e.g., DELAY and FCFS) report their state as replica 0
+            CalculatorHelper.setupActiveResourceStateCalculator(scheduledResource, this.model, measuringPoint,
+                    scheduledResource.getNumberOfInstances() > 1 ? replicaId : 0);
+        }
+        if (overallMissing) {
+            final MeasuringPoint utilization = CalculatorHelper.createMeasuringPoint(scheduledResource,
+                    scheduledResource.getNumberOfInstances());
+            CalculatorHelper.setupOverallUtilizationCalculator(scheduledResource, this.model, utilization);
+        }
+        return true;
+    }
+
+    private ScheduledResource findScheduledResource(final ProcessingResourceSpecification proc) {
+        final AbstractSimulatedResourceContainer simulatedResourceContainer = this.model.getResourceRegistry()
+                .getResourceContainer(proc.getResourceContainer_ProcessingResourceSpecification().getId());
+        if (simulatedResourceContainer == null) {
+            return null;
+        }
+        final String typeId = proc.getActiveResourceType_ActiveResourceSpecification().getId();
+        return simulatedResourceContainer.getActiveResources().stream()
+                .filter(resource -> resource instanceof ScheduledResource
+                        && resource.getResourceTypeId().equals(typeId))
+                .findFirst().map(resource -> (ScheduledResource) resource).orElse(null);
+    }
+
+    /**
+     * Stops the sliding windows of the resources of a removed resource container.
+     */
+    private void stopSlidingWindows(final ResourceContainer resourceContainer) {
+        resourceContainer.getActiveResourceSpecifications_ResourceContainer().forEach(this::stopSlidingWindows);
+    }
+
+    /**
+     * Flushes and stops the sliding windows of a removed processing resource, removes it from its
+     * group and detaches its calculators.
+     */
+    private void stopSlidingWindows(final ProcessingResourceSpecification processingResource) {
+        this.slidingWindowsByProcessingResource.getOrDefault(processingResource.getId(), Collections.emptyList())
+                .forEach(ResourceWindow::stop);
+        this.slidingWindowsByProcessingResource.remove(processingResource.getId());
+        this.calculatorIndex.remove(processingResource.getId()).forEach(Calculator::removeAllObserver);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Collection<T> getAddedValues(final Notification notification) {
+        if (notification.getEventType() == Notification.ADD) {
+            return Collections.singletonList((T) notification.getNewValue());
+        } else if (notification.getEventType() == Notification.ADD_MANY) {
+            return (Collection<T>) notification.getNewValue();
+        }
+        return Collections.emptyList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Collection<T> getRemovedValues(final Notification notification) {
+        if (notification.getEventType() == Notification.REMOVE) {
+            return Collections.singletonList((T) notification.getOldValue());
+        } else if (notification.getEventType() == Notification.REMOVE_MANY) {
+            return (Collection<T>) notification.getOldValue();
+        }
+        return Collections.emptyList();
     }
 
     @Override
@@ -233,8 +498,11 @@ public class UtilizationProbeFrameworkListenerDecorator extends AbstractRecordin
             final Map<String, Object> recorderConfigMap) {
 
         final IRecorderConfiguration recorderConfig = super.createRecorderConfiguration(config, recorderConfigMap);
-        if (recorderConfig instanceof EDP2RecorderConfiguration) {
-            tagMeasurement((EDP2RecorderConfiguration) recorderConfig);
+        // the warm-up filter passes the measurements on to the configured recorder
+        final IRecorderConfiguration persistedConfig = recorderConfig instanceof WarmupFilteringRecorderConfiguration
+                ? ((WarmupFilteringRecorderConfiguration) recorderConfig).getDelegateConfiguration() : recorderConfig;
+        if (persistedConfig instanceof EDP2RecorderConfiguration) {
+            tagMeasurement((EDP2RecorderConfiguration) persistedConfig);
         }
         return recorderConfig;
     }
@@ -250,4 +518,33 @@ public class UtilizationProbeFrameworkListenerDecorator extends AbstractRecordin
         measurement.getAdditionalInformation().put(SLIDING_WINDOW_BASED_MEASUREMENT_TAG_KEY,
                 SLIDING_WINDOW_BASED_MEASUREMENT_TAG_VALUE);
     }
+
+    /**
+     * A sliding window of a processing resource along with the recorders forwarding its
+     * utilization to the RuntimeMeasurementModel, if any.
+     */
+    private static final class ResourceWindow {
+
+        private final SimulizarSlidingWindow slidingWindow;
+        private final SlidingWindowRuntimeMeasurementsRecorder runtimeMeasurementsRecorder;
+        private final GroupUtilizationRecorder.Member groupMember;
+
+        private ResourceWindow(final SimulizarSlidingWindow slidingWindow,
+                final SlidingWindowRuntimeMeasurementsRecorder runtimeMeasurementsRecorder,
+                final GroupUtilizationRecorder.Member groupMember) {
+            this.slidingWindow = slidingWindow;
+            this.runtimeMeasurementsRecorder = runtimeMeasurementsRecorder;
+            this.groupMember = groupMember;
+        }
+
+        private void stop() {
+            this.slidingWindow.flushAndStopAggregation();
+            if (this.runtimeMeasurementsRecorder != null) {
+                this.runtimeMeasurementsRecorder.preUnregister();
+            }
+            if (this.groupMember != null) {
+                this.groupMember.remove();
+            }
+        }
+    }
 }
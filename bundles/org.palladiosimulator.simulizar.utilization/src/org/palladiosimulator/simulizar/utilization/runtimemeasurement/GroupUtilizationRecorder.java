@@ -0,0 +1,191 @@
+package org.palladiosimulator.simulizar.utilization.runtimemeasurement;
+
+import java.util.Objects;
+
+import javax.measure.Measure;
+import javax.measure.quantity.Quantity;
+
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.metricspec.NumericalBaseMetricDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.recorderframework.IRecorder;
+import org.palladiosimulator.recorderframework.config.IRecorderConfiguration;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurement;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementModel;
+import org.palladiosimulator.simulizar.metrics.PRMRecorder;
+
+/**
+ * This class propagates the utilization of a group of resources, e.g., of all replicas of a
+ * service, to the RuntimeMeasurementModel. The group utilization is the arithmetic mean of the
+ * last utilization reported by each {@link Member} of the group. It is updated incrementally
+ * whenever a member reports a new utilization or leaves the group, i.e., in constant time
+ * regardless of the size of the group.<br>
+ * Members are typically fed by the aggregators of the utilization sliding windows of the grouped
+ * resources. Members that have not reported a utilization yet are not part of the mean.
+ */
+public class GroupUtilizationRecorder extends PRMRecorder {
+
+    private static final NumericalBaseMetricDescription UTILIZATION_METRIC = (NumericalBaseMetricDescription) MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE;
+
+    private double utilizationSum = 0;
+    private int reportingMembers = 0;
+    private int members = 0;
+
+    /**
+     * Initializes a new instance of the {@link GroupUtilizationRecorder} class with the given
+     * arguments.
+     *
+     * @param rmModel
+     *            The {@link RuntimeMeasurementModel} the group utilization shall be forwarded to.
+     * @param measurementSpecification
+     *            The {@link MeasurementSpecification} of the group utilization, which has to
+     *            trigger self-adaptations.
+     * @param groupMeasuringPoint
+     *            The {@link MeasuringPoint} identifying the group in the {@link RuntimeMeasurement}.
+     * @throws NullPointerException
+     *             In case any argument is {@code null}.
+     */
+    public GroupUtilizationRecorder(final RuntimeMeasurementModel rmModel,
+            final MeasurementSpecification measurementSpecification, final MeasuringPoint groupMeasuringPoint) {
+        super(Objects.requireNonNull(rmModel), Objects.requireNonNull(measurementSpecification),
+                Objects.requireNonNull(groupMeasuringPoint));
+    }
+
+    /**
+     * Adds a member to the group.
+     *
+     * @return The {@link Member} to pass the utilization measurements of the member resource to.
+     */
+    public Member addMember() {
+        this.members++;
+        return new Member();
+    }
+
+    /**
+     * @return The number of members of the group, including the ones that have not reported a
+     *         utilization yet.
+     */
+    public int getNumberOfMembers() {
+        return this.members;
+    }
+
+    /**
+     * @return The current group utilization, or {@link Double#NaN} if no member has reported a
+     *         utilization yet.
+     */
+    public double getGroupUtilization() {
+        return this.reportingMembers > 0 ? this.utilizationSum / this.reportingMembers : Double.NaN;
+    }
+
+    /**
+     * Detaches the group utilization from the RuntimeMeasurementModel.
+     */
+    public void detach() {
+        detachFromPRM();
+    }
+
+    private void update(final double previousUtilization, final double utilization) {
+        if (Double.isNaN(previousUtilization)) {
+            this.reportingMembers++;
+            this.utilizationSum += utilization;
+        } else {
+            this.utilizationSum += utilization - previousUtilization;
+        }
+        updateMeasurementValue(getGroupUtilization());
+    }
+
+    private void remove(final double lastUtilization) {
+        this.members--;
+        if (!Double.isNaN(lastUtilization)) {
+            this.reportingMembers--;
+            this.utilizationSum -= lastUtilization;
+            if (this.reportingMembers == 0) {
+                // discard rounding errors accumulated by the incremental updates
+                this.utilizationSum = 0;
+            } else {
+                updateMeasurementValue(getGroupUtilization());
+            }
+        }
+    }
+
+    /**
+     * A member of a {@link GroupUtilizationRecorder}, which passes the utilization measurements of
+     * the member resource on to its group. The measurements have to provide the
+     * {@link MetricDescriptionConstants#UTILIZATION_OF_ACTIVE_RESOURCE} metric.
+     */
+    public final class Member implements IRecorder {
+
+        private double utilization = Double.NaN;
+        private boolean removed = false;
+
+        private Member() {
+        }
+
+        /**
+         * @return The last utilization reported by the member, or {@link Double#NaN} if it has
+         *         not reported a utilization yet.
+         */
+        public double getUtilization() {
+            return this.utilization;
+        }
+
+        /**
+         * Removes the member from the group. Further measurements of the member are ignored. Does
+         * nothing if the member has already been removed.
+         */
+        public void remove() {
+            if (!this.removed) {
+                this.removed = true;
+                GroupUtilizationRecorder.this.remove(this.utilization);
+            }
+        }
+
+        /**
+         * {@inheritDoc}<br>
+         * This implementation does nothing.
+         */
+        @Override
+        public void initialize(final IRecorderConfiguration recorderConfiguration) {
+        }
+
+        @Override
+        public void writeData(final MeasuringValue measurement) {
+            newMeasurementAvailable(measurement);
+        }
+
+        /**
+         * {@inheritDoc}<br>
+         * This implementation does nothing.
+         */
+        @Override
+        public void flush() {
+        }
+
+        /**
+         * {@inheritDoc}<br>
+         * This implementation updates the group utilization with the utilization obtained from the
+         * given {@link MeasuringValue}.
+         *
+         * @throws NullPointerException
+         *             In case {@code newMeasurement == null}.
+         */
+        @Override
+        public void newMeasurementAvailable(final MeasuringValue newMeasurement) {
+            if (this.removed) {
+                return;
+            }
+            final Measure<Double, Quantity> measure = Objects.requireNonNull(newMeasurement)
+                    .getMeasureForMetric(UTILIZATION_METRIC);
+            final double previousUtilization = this.utilization;
+            this.utilization = measure.doubleValue(UTILIZATION_METRIC.getDefaultUnit());
+            update(previousUtilization, this.utilization);
+        }
+
+        @Override
+        public void preUnregister() {
+            remove();
+        }
+    }
+}
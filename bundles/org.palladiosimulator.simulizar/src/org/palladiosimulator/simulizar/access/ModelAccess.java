@@ -1,6 +1,9 @@
 package org.palladiosimulator.simulizar.access;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.notify.Adapter;
@@ -19,6 +22,9 @@ import org.palladiosimulator.commons.emfutils.EMFCopyHelper;
 import org.palladiosimulator.monitorrepository.MonitorRepository;
 import org.palladiosimulator.monitorrepository.MonitorRepositoryPackage;
 import org.palladiosimulator.pcm.PcmPackage;
+import org.palladiosimulator.pcm.core.PCMRandomVariable;
+import org.palladiosimulator.pcm.usagemodel.ClosedWorkload;
+import org.palladiosimulator.pcm.usagemodel.UsagemodelPackage;
 import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementFactory;
 import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementModel;
 import org.palladiosimulator.servicelevelobjective.ServiceLevelObjectiveRepository;
@@ -46,9 +52,12 @@ public class ModelAccess implements IModelAccess {
     private boolean isObservingPcmChanges = false;
     private PCMResourceSetPartition currentPCMCopy;
     private boolean modelsDirty = false;
+    private String invalidationCause;
+    private long numberOfSnapshots = 0;
+    private long numberOfIgnoredWorkloadChanges = 0;
+    private long globalModelRevision = 0;
+    private final Map<String, Long> snapshotInvalidationCauses = new HashMap<String, Long>();
 
-
-    
     /**
      * A log listener which logs all changes in the global PCM model.
      */
@@ -61,12 +70,49 @@ public class ModelAccess implements IModelAccess {
             // not references (i.e. wiring) has changed.
             if (isPCMModel(notification.getFeature())
                     && notification.getEventType() != Notification.REMOVING_ADAPTER) {
+                if (isWorkloadChange(notification)) {
+                    // Workload changes are applied to the workload drivers by the usage model
+                    // syncer, simulated users never read them from their local copy.
+                    ModelAccess.this.numberOfIgnoredWorkloadChanges++;
+                    return;
+                }
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("Detected change in global PCM model. Changed object: " + notification.getNotifier());
                     LOGGER.debug(notification.toString());
                 }
+                if (!ModelAccess.this.modelsDirty) {
+                    final EStructuralFeature feature = (EStructuralFeature) notification.getFeature();
+                    ModelAccess.this.invalidationCause = feature.getEContainingClass().getName() + "."
+                            + feature.getName();
+                }
                 ModelAccess.this.modelsDirty = true;
+                ModelAccess.this.globalModelRevision++;
+            }
+        }
+
+        /**
+         * Checks whether the notification is a change of the population, think time or
+         * inter-arrival time of a workload.
+         */
+        private boolean isWorkloadChange(final Notification notification) {
+            final Object notifier = notification.getNotifier();
+            if (notifier instanceof ClosedWorkload) {
+                return notification.getEventType() == Notification.SET && notification
+                        .getFeature() == UsagemodelPackage.eINSTANCE.getClosedWorkload_Population();
+            }
+            // Changes of a workload's random variables may also be reported by the elements of
+            // their parsed expressions.
+            EObject element = (EObject) notifier;
+            while (element != null && !(element instanceof PCMRandomVariable)) {
+                element = element.eContainer();
             }
+            if (element == null) {
+                return false;
+            }
+            final EStructuralFeature containingFeature = element.eContainingFeature();
+            return containingFeature == UsagemodelPackage.eINSTANCE.getClosedWorkload_ThinkTime_ClosedWorkload()
+                    || containingFeature == UsagemodelPackage.eINSTANCE
+                            .getOpenWorkload_InterArrivalTime_OpenWorkload();
         }
 
         private boolean isPCMModel(Object feature) {
@@ -121,11 +167,54 @@ public class ModelAccess implements IModelAccess {
 
     private void checkAndHandleDeferredChanges() {
         if (this.modelsDirty) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Regenerating local PCM copy due to change of " + this.invalidationCause);
+            }
             ModelAccess.this.currentPCMCopy = ModelAccess.this.copyPCMPartition();
             modelsDirty = false;
+            this.numberOfSnapshots++;
+            this.snapshotInvalidationCauses.merge(this.invalidationCause, 1L, Long::sum);
         }
     }
 
+    /**
+     * @return the number of times the local PCM copy has been regenerated due to changes of the
+     *         global PCM model.
+     */
+    public long getNumberOfSnapshots() {
+        return this.numberOfSnapshots;
+    }
+
+    /**
+     * @return the number of workload changes (population, think time, inter-arrival time) which
+     *         did not invalidate the local PCM copy, as they are synced to the workload drivers.
+     */
+    public long getNumberOfIgnoredWorkloadChanges() {
+        return this.numberOfIgnoredWorkloadChanges;
+    }
+
+    /**
+     * Gets the revision of the global PCM model. The revision is incremented on every change of the
+     * global PCM model which invalidates the local PCM copy, so that clients holding data derived
+     * from the global model can detect whether it is outdated.
+     *
+     * @return the current revision of the global PCM model.
+     */
+    public long getGlobalModelRevision() {
+        return this.globalModelRevision;
+    }
+
+    /**
+     * Gets why the local PCM copy has been regenerated. Each regeneration is attributed to the
+     * first change of the global PCM model after the previous copy has been taken.
+     *
+     * @return the number of regenerations, keyed by the changed feature (
+     *         <code>ClassName.featureName</code>).
+     */
+    public Map<String, Long> getSnapshotInvalidationCauses() {
+        return Collections.unmodifiableMap(this.snapshotInvalidationCauses);
+    }
+
     /**
      * Calling this method has the current instance observe the {@link PCMResourceSetPartition} in
      * order to keep track of model changes.
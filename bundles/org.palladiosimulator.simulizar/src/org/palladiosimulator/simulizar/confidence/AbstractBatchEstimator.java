@@ -0,0 +1,156 @@
+package org.palladiosimulator.simulizar.confidence;
+
+import java.util.Arrays;
+
+import org.apache.commons.math.MathException;
+import org.apache.commons.math.distribution.TDistributionImpl;
+
+/**
+ * Base class of the batch estimators. The samples are grouped into consecutive batches of equal
+ * size; the statistic is estimated per batch, and the confidence interval is derived from the mean
+ * and the variance of the batch estimates by Student's t distribution. Mean and variance are kept
+ * by Welford's algorithm.
+ * <p>
+ * At most {@value #MAXIMUM_BATCHES} batches are kept. When they are complete, consecutive pairs of
+ * batches are merged and the batch size is doubled, so that memory is bounded and the batches get
+ * longer, and thus less correlated, as the run goes on. Merging takes time linear in the number of
+ * batches, but happens only once per {@value #MAXIMUM_BATCHES} / 2 batches, so that offering a
+ * sample takes amortized constant time.
+ */
+public abstract class AbstractBatchEstimator implements IOnlineEstimator {
+
+    /** Maximum number of batches; merging halves it. */
+    public static final int MAXIMUM_BATCHES = 64;
+
+    private final double[] batchEstimates = new double[MAXIMUM_BATCHES];
+    private final double[] studentQuantiles = new double[MAXIMUM_BATCHES];
+    private double studentQuantilesLevel = Double.NaN;
+
+    private int batchSize;
+    private int batchCount;
+    private int samplesInBatch;
+    private long sampleCount;
+
+    private double batchEstimatesMean;
+    private double batchEstimatesSquaredDeviations;
+
+    /**
+     * @param batchSize
+     *            the initial number of samples per batch.
+     * @throws IllegalArgumentException
+     *             if the batch size is not positive.
+     */
+    protected AbstractBatchEstimator(final int batchSize) {
+        super();
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but was " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public final boolean offerSample(final double value) {
+        this.sampleCount++;
+        this.offerToBatch(value);
+        if (++this.samplesInBatch < this.batchSize) {
+            return false;
+        }
+        this.samplesInBatch = 0;
+        this.addBatch(this.completeBatch());
+        if (this.batchCount == MAXIMUM_BATCHES) {
+            this.mergeBatches();
+        }
+        return true;
+    }
+
+    /**
+     * Offers a sample to the estimator of the current batch.
+     *
+     * @param value
+     *            the value of the sample.
+     */
+    protected abstract void offerToBatch(double value);
+
+    /**
+     * Completes the current batch; the next sample starts a new one.
+     *
+     * @return the estimate of the statistic over the samples of the completed batch.
+     */
+    protected abstract double completeBatch();
+
+    private void addBatch(final double estimate) {
+        this.batchEstimates[this.batchCount++] = estimate;
+        final double deviation = estimate - this.batchEstimatesMean;
+        this.batchEstimatesMean += deviation / this.batchCount;
+        this.batchEstimatesSquaredDeviations += deviation * (estimate - this.batchEstimatesMean);
+    }
+
+    /**
+     * Merges consecutive pairs of batches by averaging their estimates, and doubles the batch
+     * size. Averaging is exact for means; for other statistics it is an approximation whose bias
+     * vanishes with the batch size.
+     */
+    private void mergeBatches() {
+        this.batchCount = 0;
+        this.batchEstimatesMean = 0;
+        this.batchEstimatesSquaredDeviations = 0;
+        for (int i = 0; i < MAXIMUM_BATCHES; i += 2) {
+            this.addBatch((this.batchEstimates[i] + this.batchEstimates[i + 1]) / 2);
+        }
+        if (this.batchSize <= Integer.MAX_VALUE / 2) {
+            this.batchSize *= 2;
+        }
+    }
+
+    @Override
+    public double getHalfWidth(final double confidenceLevel) {
+        if (this.batchCount < 2) {
+            return Double.NaN;
+        }
+        final double variance = this.batchEstimatesSquaredDeviations / (this.batchCount - 1);
+        return this.getStudentQuantile(confidenceLevel, this.batchCount - 1) * Math.sqrt(variance / this.batchCount);
+    }
+
+    /**
+     * Returns the quantile of Student's t distribution bounding a two-sided interval of the given
+     * level. The quantiles are cached, as the level rarely changes.
+     */
+    private double getStudentQuantile(final double confidenceLevel, final int degreesOfFreedom) {
+        if (confidenceLevel != this.studentQuantilesLevel) {
+            Arrays.fill(this.studentQuantiles, Double.NaN);
+            this.studentQuantilesLevel = confidenceLevel;
+        }
+        if (Double.isNaN(this.studentQuantiles[degreesOfFreedom])) {
+            try {
+                this.studentQuantiles[degreesOfFreedom] = new TDistributionImpl(degreesOfFreedom)
+                        .inverseCumulativeProbability((1 + confidenceLevel) / 2);
+            } catch (final MathException e) {
+                throw new IllegalStateException("Cannot compute the quantile of Student's t distribution with "
+                        + degreesOfFreedom + " degrees of freedom for level " + confidenceLevel, e);
+            }
+        }
+        return this.studentQuantiles[degreesOfFreedom];
+    }
+
+    /**
+     * @return the mean of the estimates of the completed batches, or 0 if there is none.
+     */
+    protected final double getBatchEstimatesMean() {
+        return this.batchEstimatesMean;
+    }
+
+    @Override
+    public int getBatchCount() {
+        return this.batchCount;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public long getSampleCount() {
+        return this.sampleCount;
+    }
+}
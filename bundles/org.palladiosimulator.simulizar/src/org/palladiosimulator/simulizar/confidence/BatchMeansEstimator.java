@@ -0,0 +1,39 @@
+package org.palladiosimulator.simulizar.confidence;
+
+/**
+ * Estimates the mean of a series by the method of batch means. The point estimate is the mean of
+ * all samples, including those of the incomplete batch.
+ */
+public class BatchMeansEstimator extends AbstractBatchEstimator {
+
+    private double mean = Double.NaN;
+    private double batchMean;
+    private int samplesInBatch;
+
+    /**
+     * @param batchSize
+     *            the initial number of samples per batch.
+     */
+    public BatchMeansEstimator(final int batchSize) {
+        super(batchSize);
+    }
+
+    @Override
+    protected void offerToBatch(final double value) {
+        this.mean = this.getSampleCount() == 1 ? value : this.mean + (value - this.mean) / this.getSampleCount();
+        this.batchMean += (value - this.batchMean) / ++this.samplesInBatch;
+    }
+
+    @Override
+    protected double completeBatch() {
+        final double result = this.batchMean;
+        this.batchMean = 0;
+        this.samplesInBatch = 0;
+        return result;
+    }
+
+    @Override
+    public double getPointEstimate() {
+        return this.mean;
+    }
+}
@@ -0,0 +1,51 @@
+package org.palladiosimulator.simulizar.confidence;
+
+/**
+ * Estimates a quantile of a series by the P2 algorithm. The point estimate covers all samples;
+ * the confidence interval around it is derived from the quantiles of the batches, which are
+ * estimated by the P2 algorithm as well.
+ */
+public class BatchQuantileEstimator extends AbstractBatchEstimator {
+
+    private final P2QuantileEstimator quantile;
+    private final P2QuantileEstimator batchQuantile;
+
+    /**
+     * @param probability
+     *            the probability of the quantile, between 0 and 1.
+     * @param batchSize
+     *            the initial number of samples per batch. The quantile of a batch is only
+     *            meaningful if the batch contains a number of samples above and below it, so the
+     *            batch size should be large compared to 1 / min(probability, 1 - probability).
+     */
+    public BatchQuantileEstimator(final double probability, final int batchSize) {
+        super(batchSize);
+        this.quantile = new P2QuantileEstimator(probability);
+        this.batchQuantile = new P2QuantileEstimator(probability);
+    }
+
+    @Override
+    protected void offerToBatch(final double value) {
+        this.quantile.offerSample(value);
+        this.batchQuantile.offerSample(value);
+    }
+
+    @Override
+    protected double completeBatch() {
+        final double result = this.batchQuantile.getQuantile();
+        this.batchQuantile.reset();
+        return result;
+    }
+
+    @Override
+    public double getPointEstimate() {
+        return this.quantile.getQuantile();
+    }
+
+    /**
+     * @return the probability of the estimated quantile.
+     */
+    public double getProbability() {
+        return this.quantile.getProbability();
+    }
+}
@@ -0,0 +1,77 @@
+package org.palladiosimulator.simulizar.confidence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.SimCondition;
+
+/**
+ * Stop condition combining the {@link ConfidenceStopCondition}s of several series: it holds once
+ * the confidence of all or of any of them is reached, depending on its {@link ConfidenceStopMode}.
+ * It never holds if it does not combine any condition.
+ */
+public class CompositeConfidenceStopCondition implements SimCondition {
+
+    private static final Logger LOGGER = Logger.getLogger(CompositeConfidenceStopCondition.class);
+
+    private final ConfidenceStopMode mode;
+    private final List<ConfidenceStopCondition> conditions;
+    private boolean reported = false;
+
+    /**
+     * @param mode
+     *            how the conditions are combined.
+     * @param conditions
+     *            the combined conditions.
+     */
+    public CompositeConfidenceStopCondition(final ConfidenceStopMode mode,
+            final List<ConfidenceStopCondition> conditions) {
+        super();
+        this.mode = mode;
+        this.conditions = Collections.unmodifiableList(new ArrayList<ConfidenceStopCondition>(conditions));
+    }
+
+    @Override
+    public boolean check() {
+        if (this.conditions.isEmpty()) {
+            return false;
+        }
+        // checked after each simulation event, so avoid allocating
+        final boolean all = this.mode == ConfidenceStopMode.ALL_OF;
+        boolean result = all;
+        for (final ConfidenceStopCondition condition : this.conditions) {
+            if (condition.check() != all) {
+                result = !all;
+                break;
+            }
+        }
+        if (result && !this.reported) {
+            LOGGER.info("Requested confidence reached for " + (all ? "all" : "any")
+                    + " of " + this.conditions.size() + " series, stopping the simulation");
+            this.reported = true;
+        }
+        return result;
+    }
+
+    /**
+     * @param listener
+     *            the listener to notify whenever a batch of any series has been completed.
+     */
+    public void addProgressListener(final IConfidenceProgressListener listener) {
+        this.conditions.forEach(condition -> condition.addProgressListener(listener));
+    }
+
+    public ConfidenceStopMode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * @return the combined conditions, in the order of their targets.
+     */
+    public List<ConfidenceStopCondition> getConditions() {
+        return this.conditions;
+    }
+}
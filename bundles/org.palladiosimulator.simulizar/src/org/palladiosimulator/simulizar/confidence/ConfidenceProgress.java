@@ -0,0 +1,74 @@
+package org.palladiosimulator.simulizar.confidence;
+
+/**
+ * The state of a {@link ConfidenceStopCondition} after a batch has been completed: the current
+ * estimate and the half-width of its confidence interval compared to the half-width to be reached.
+ */
+public class ConfidenceProgress {
+
+    private final ConfidenceTarget target;
+    private final double estimate;
+    private final double halfWidth;
+    private final double targetHalfWidth;
+    private final int batchCount;
+    private final long sampleCount;
+    private final boolean confidenceReached;
+
+    ConfidenceProgress(final ConfidenceTarget target, final double estimate, final double halfWidth,
+            final double targetHalfWidth, final int batchCount, final long sampleCount,
+            final boolean confidenceReached) {
+        super();
+        this.target = target;
+        this.estimate = estimate;
+        this.halfWidth = halfWidth;
+        this.targetHalfWidth = targetHalfWidth;
+        this.batchCount = batchCount;
+        this.sampleCount = sampleCount;
+        this.confidenceReached = confidenceReached;
+    }
+
+    public ConfidenceTarget getTarget() {
+        return this.target;
+    }
+
+    /**
+     * @return the current estimate of the statistic.
+     */
+    public double getEstimate() {
+        return this.estimate;
+    }
+
+    /**
+     * @return the current half-width of the confidence interval, or {@link Double#NaN} if there
+     *         are not enough batches yet.
+     */
+    public double getHalfWidth() {
+        return this.halfWidth;
+    }
+
+    /**
+     * @return the absolute half-width to be reached for the current estimate.
+     */
+    public double getTargetHalfWidth() {
+        return this.targetHalfWidth;
+    }
+
+    public int getBatchCount() {
+        return this.batchCount;
+    }
+
+    public long getSampleCount() {
+        return this.sampleCount;
+    }
+
+    public boolean isConfidenceReached() {
+        return this.confidenceReached;
+    }
+
+    @Override
+    public String toString() {
+        return this.target.getDescription() + ": " + this.estimate + " +/- " + this.halfWidth + " at level "
+                + this.target.getConfidenceLevel() + ", target half-width " + this.targetHalfWidth + " ("
+                + this.sampleCount + " samples in " + this.batchCount + " batches)";
+    }
+}
@@ -0,0 +1,38 @@
+package org.palladiosimulator.simulizar.confidence;
+
+/**
+ * Statistic of a series whose confidence interval decides a {@link ConfidenceStopCondition}.
+ */
+public enum ConfidenceStatistic {
+
+    /**
+     * The mean of the series, estimated by batch means.
+     */
+    MEAN,
+
+    /**
+     * A quantile of the series, estimated by the P2 algorithm; its confidence interval is derived
+     * from the quantiles of the batches.
+     */
+    QUANTILE;
+
+    /**
+     * Creates an estimator of this statistic.
+     *
+     * @param probability
+     *            the probability of the quantile, ignored for the mean.
+     * @param batchSize
+     *            the initial number of samples per batch.
+     * @return the new estimator.
+     */
+    public IOnlineEstimator createEstimator(final double probability, final int batchSize) {
+        switch (this) {
+        case MEAN:
+            return new BatchMeansEstimator(batchSize);
+        case QUANTILE:
+            return new BatchQuantileEstimator(probability, batchSize);
+        default:
+            throw new IllegalStateException("Unknown statistic " + this);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.palladiosimulator.simulizar.confidence;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.measure.unit.SI;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.edp2.util.MetricDescriptionUtility;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.measurementframework.listener.IMeasurementSourceListener;
+import org.palladiosimulator.metricspec.NumericalBaseMetricDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.simulizar.warmup.IWarmupDetector;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.SimCondition;
+
+/**
+ * Stop condition which holds while the confidence interval of a statistic of a series is not
+ * wider than configured by its {@link ConfidenceTarget}. The condition observes the calculator of
+ * the series; the statistic is estimated online by an {@link IOnlineEstimator}, and the condition
+ * is only re-evaluated when a batch has been completed. It is not decided before a minimum number
+ * of batches, by default {@value #MINIMUM_BATCHES}, is complete. If a warm-up detector is given,
+ * samples are only offered to the estimator once the steady state of the series has been detected.
+ * <p>
+ * Once reached, the confidence may get lost again by later batches, so that conditions combined by
+ * a {@link CompositeConfidenceStopCondition} reflect the latest estimates.
+ */
+public class ConfidenceStopCondition implements SimCondition, IMeasurementSourceListener {
+
+    /** Default number of batches below which the confidence is never reached. */
+    public static final int MINIMUM_BATCHES = 10;
+
+    private static final Logger LOGGER = Logger.getLogger(ConfidenceStopCondition.class);
+
+    private final ConfidenceTarget target;
+    private final NumericalBaseMetricDescription valueMetric;
+    private final IOnlineEstimator estimator;
+    private final int minimumBatches;
+    private final IWarmupDetector warmupDetector;
+    private final List<IConfidenceProgressListener> progressListeners = new CopyOnWriteArrayList<IConfidenceProgressListener>();
+    private ConfidenceProgress progress;
+    private boolean confidenceReached = false;
+    private long samples = 0;
+
+    /**
+     * @param target
+     *            the precision to be reached.
+     * @param valueMetric
+     *            the metric of the value taken from the measurements of the series.
+     */
+    public ConfidenceStopCondition(final ConfidenceTarget target, final NumericalBaseMetricDescription valueMetric) {
+        this(target, valueMetric, target.createEstimator());
+    }
+
+    /**
+     * @param target
+     *            the precision to be reached.
+     * @param valueMetric
+     *            the metric of the value taken from the measurements of the series, or
+     *            <code>null</code> if the samples are only offered by {@link #offerSample(double)}.
+     * @param estimator
+     *            the estimator of the statistic of the target.
+     */
+    public ConfidenceStopCondition(final ConfidenceTarget target, final NumericalBaseMetricDescription valueMetric,
+            final IOnlineEstimator estimator) {
+        this(target, valueMetric, estimator, MINIMUM_BATCHES, null);
+    }
+
+    /**
+     * @param target
+     *            the precision to be reached.
+     * @param valueMetric
+     *            the metric of the value taken from the measurements of the series, or
+     *            <code>null</code> if the samples are only offered by {@link #offerSample(double)}.
+     * @param estimator
+     *            the estimator of the statistic of the target.
+     * @param minimumBatches
+     *            the number of batches below which the confidence is never reached.
+     * @param warmupDetector
+     *            the detector of the end of the warm-up period, or <code>null</code> if all
+     *            samples are offered to the estimator.
+     */
+    public ConfidenceStopCondition(final ConfidenceTarget target, final NumericalBaseMetricDescription valueMetric,
+            final IOnlineEstimator estimator, final int minimumBatches, final IWarmupDetector warmupDetector) {
+        super();
+        this.target = target;
+        this.valueMetric = valueMetric;
+        this.estimator = estimator;
+        this.minimumBatches = minimumBatches;
+        this.warmupDetector = warmupDetector;
+    }
+
+    @Override
+    public boolean check() {
+        return this.confidenceReached;
+    }
+
+    @Override
+    public void newMeasurementAvailable(final MeasuringValue measurement) {
+        final double value = measurement.getMeasureForMetric(this.valueMetric)
+                .doubleValue(this.valueMetric.getDefaultUnit());
+        if (MetricDescriptionUtility.isBaseMetricDescriptionSubsumedByMetricDescription(
+                MetricDescriptionConstants.POINT_IN_TIME_METRIC, measurement.getMetricDesciption())) {
+            this.offerSample(measurement.getMeasureForMetric(MetricDescriptionConstants.POINT_IN_TIME_METRIC)
+                    .doubleValue(SI.SECOND), value);
+        } else {
+            this.offerSample(value);
+        }
+    }
+
+    /**
+     * Offers the next sample of the series, and re-evaluates the condition if the sample completed
+     * a batch. The warm-up detector, if any, orders the sample by its arrival.
+     *
+     * @param value
+     *            the value of the sample.
+     */
+    public void offerSample(final double value) {
+        this.offerSample(this.samples, value);
+    }
+
+    /**
+     * Offers the next sample of the series, and re-evaluates the condition if the sample completed
+     * a batch.
+     *
+     * @param pointInTime
+     *            the simulation time of the sample, as offered to the warm-up detector.
+     * @param value
+     *            the value of the sample.
+     */
+    public void offerSample(final double pointInTime, final double value) {
+        this.samples++;
+        if (this.warmupDetector != null && !this.warmupDetector.isSteadyStateDetected()) {
+            this.warmupDetector.offerSample(pointInTime, value);
+            if (!this.warmupDetector.isSteadyStateDetected()) {
+                return;
+            }
+            LOGGER.info("Steady state of " + this.target + " detected at "
+                    + this.warmupDetector.getTruncationPoint() + ", estimating from now on");
+        }
+        if (this.estimator.offerSample(value)) {
+            this.update();
+        }
+    }
+
+    private void update() {
+        final double estimate = this.estimator.getPointEstimate();
+        final double halfWidth = this.estimator.getHalfWidth(this.target.getConfidenceLevel());
+        final double targetHalfWidth = this.target.getTargetHalfWidth(estimate);
+        final boolean reached = this.estimator.getBatchCount() >= this.minimumBatches
+                && halfWidth <= targetHalfWidth;
+
+        this.progress = new ConfidenceProgress(this.target, estimate, halfWidth, targetHalfWidth,
+                this.estimator.getBatchCount(), this.estimator.getSampleCount(), reached);
+        if (reached != this.confidenceReached) {
+            LOGGER.info((reached ? "Requested confidence reached for " : "Requested confidence lost for ")
+                    + this.progress);
+        } else if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(this.progress);
+        }
+        this.confidenceReached = reached;
+        for (final IConfidenceProgressListener listener : this.progressListeners) {
+            listener.progressUpdated(this.progress);
+        }
+    }
+
+    /**
+     * @param listener
+     *            the listener to notify whenever a batch has been completed.
+     */
+    public void addProgressListener(final IConfidenceProgressListener listener) {
+        this.progressListeners.add(listener);
+    }
+
+    public void removeProgressListener(final IConfidenceProgressListener listener) {
+        this.progressListeners.remove(listener);
+    }
+
+    /**
+     * @return the state of the condition after the last completed batch, or <code>null</code> if
+     *         no batch has been completed yet.
+     */
+    public ConfidenceProgress getProgress() {
+        return this.progress;
+    }
+
+    public ConfidenceTarget getTarget() {
+        return this.target;
+    }
+
+    public IOnlineEstimator getEstimator() {
+        return this.estimator;
+    }
+
+    /**
+     * @return the detector of the end of the warm-up period, or <code>null</code> if all samples
+     *         are offered to the estimator.
+     */
+    public IWarmupDetector getWarmupDetector() {
+        return this.warmupDetector;
+    }
+
+    @Override
+    public void preUnregister() {
+        // nothing to release
+    }
+}
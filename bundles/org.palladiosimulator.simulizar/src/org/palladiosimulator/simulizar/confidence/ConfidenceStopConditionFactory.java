@@ -0,0 +1,137 @@
+package org.palladiosimulator.simulizar.confidence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.edp2.util.MetricDescriptionUtility;
+import org.palladiosimulator.metricspec.BaseMetricDescription;
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.metricspec.NumericalBaseMetricDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.Monitor;
+import org.palladiosimulator.monitorrepository.MonitorRepository;
+import org.palladiosimulator.probeframework.calculator.Calculator;
+import org.palladiosimulator.probeframework.calculator.RegisterCalculatorFactoryDecorator;
+import org.palladiosimulator.simulizar.warmup.IWarmupDetector;
+
+/**
+ * Creates the {@link ConfidenceStopCondition}s of a run and attaches them to the calculators of
+ * their series.
+ */
+public final class ConfidenceStopConditionFactory {
+
+    private ConfidenceStopConditionFactory() {
+        // static helper
+    }
+
+    /**
+     * Creates a condition per target and registers it as observer of the calculator of the
+     * measurement specification of the target.
+     *
+     * @param targets
+     *            the precision to be reached per series.
+     * @param mode
+     *            how the conditions are combined.
+     * @param monitorRepository
+     *            the monitor repository containing the measurement specifications.
+     * @param calculatorFactory
+     *            the calculator factory of the run.
+     * @param warmupDetectors
+     *            creates the warm-up detector of each condition, or <code>null</code> if the
+     *            conditions consider all samples.
+     * @return the combined conditions.
+     * @throws IllegalStateException
+     *             if the measurement specification of a target or its calculator cannot be found.
+     */
+    public static CompositeConfidenceStopCondition createStopCondition(final List<ConfidenceTarget> targets,
+            final ConfidenceStopMode mode, final MonitorRepository monitorRepository,
+            final RegisterCalculatorFactoryDecorator calculatorFactory,
+            final Supplier<IWarmupDetector> warmupDetectors) {
+        final List<ConfidenceStopCondition> conditions = new ArrayList<ConfidenceStopCondition>(targets.size());
+        for (final ConfidenceTarget target : targets) {
+            final MeasurementSpecification measurementSpecification = findMeasurementSpecification(target,
+                    monitorRepository);
+            final MeasuringPoint measuringPoint = measurementSpecification.getMonitor().getMeasuringPoint();
+            final Calculator calculator = getCalculator(calculatorFactory, measurementSpecification.getMetricDescription(),
+                    measuringPoint).orElseThrow(() -> new IllegalStateException(
+                            "Confidence stop condition cannot be initialized.\n" + "No '"
+                                    + measurementSpecification.getMetricDescription().getName()
+                                    + "' calculator available for: " + "MeasuringPoint '"
+                                    + measuringPoint.getStringRepresentation() + "'.\n" + "Affected Monitor: '"
+                                    + target.getMonitorName() + "'"));
+            final NumericalBaseMetricDescription valueMetric = getValueMetric(calculator.getMetricDesciption())
+                    .orElseThrow(() -> new IllegalStateException("Confidence stop condition cannot be initialized.\n"
+                            + "No numerical metric in '" + calculator.getMetricDesciption().getName()
+                            + "' of monitor '" + target.getMonitorName() + "'"));
+
+            final ConfidenceStopCondition condition = new ConfidenceStopCondition(target, valueMetric,
+                    target.createEstimator(), ConfidenceStopCondition.MINIMUM_BATCHES,
+                    warmupDetectors == null ? null : warmupDetectors.get());
+            calculator.addObserver(condition);
+            conditions.add(condition);
+        }
+        return new CompositeConfidenceStopCondition(mode, conditions);
+    }
+
+    private static MeasurementSpecification findMeasurementSpecification(final ConfidenceTarget target,
+            final MonitorRepository monitorRepository) {
+        final List<MeasurementSpecification> result = monitorRepository == null ? new ArrayList<>()
+                : monitorRepository.getMonitors().stream()
+                        .filter(monitor -> monitor.isActivated()
+                                && target.getMonitorName().equals(monitor.getEntityName()))
+                        .map(Monitor::getMeasurementSpecifications).flatMap(List::stream)
+                        .filter(spec -> isMetric(spec.getMetricDescription(), target.getMetricName()))
+                        .collect(Collectors.toList());
+        if (result.size() != 1) {
+            throw new IllegalStateException("Confidence stop condition cannot be initialized.\n" + "Expected exactly one "
+                    + "measurement specification of metric '" + target.getMetricName() + "' in active monitor '"
+                    + target.getMonitorName() + "', but found " + result.size());
+        }
+        return result.get(0);
+    }
+
+    private static boolean isMetric(final MetricDescription metric, final String nameOrId) {
+        return nameOrId.equals(metric.getName()) || nameOrId.equals(metric.getId());
+    }
+
+    private static Optional<Calculator> getCalculator(final RegisterCalculatorFactoryDecorator calculatorFactory,
+            final MetricDescription metric, final MeasuringPoint measuringPoint) {
+        final Calculator calculator = calculatorFactory.getCalculatorByMeasuringPointAndMetricDescription(measuringPoint,
+                metric);
+        if (calculator == null) {
+            // e.g. a response time specification observes the calculator of the response time tuple
+            final Optional<NumericalBaseMetricDescription> valueMetric = getValueMetric(metric);
+            return calculatorFactory.getCalculatorsForMeasuringPoint(measuringPoint).stream()
+                    .filter(calc -> valueMetric.isPresent() && MetricDescriptionUtility
+                            .isBaseMetricDescriptionSubsumedByMetricDescription(valueMetric.get(),
+                                    calc.getMetricDesciption()))
+                    .findAny();
+        }
+        return Optional.of(calculator);
+    }
+
+    /**
+     * Returns the metric of the values the statistic is estimated from: the last numerical base
+     * metric apart from the point in time, e.g. the response time of a tuple of point in time and
+     * response time.
+     *
+     * @param metric
+     *            the metric of the measurements of a series.
+     * @return the metric of the values, if any.
+     */
+    public static Optional<NumericalBaseMetricDescription> getValueMetric(final MetricDescription metric) {
+        NumericalBaseMetricDescription result = null;
+        for (final BaseMetricDescription baseMetric : MetricDescriptionUtility.toBaseMetricDescriptions(metric)) {
+            if (baseMetric instanceof NumericalBaseMetricDescription && !MetricDescriptionUtility
+                    .metricDescriptionIdsEqual(baseMetric, MetricDescriptionConstants.POINT_IN_TIME_METRIC)) {
+                result = (NumericalBaseMetricDescription) baseMetric;
+            }
+        }
+        return Optional.ofNullable(result);
+    }
+}
@@ -0,0 +1,18 @@
+package org.palladiosimulator.simulizar.confidence;
+
+/**
+ * How the {@link ConfidenceStopCondition}s of a {@link CompositeConfidenceStopCondition} are
+ * combined.
+ */
+public enum ConfidenceStopMode {
+
+    /**
+     * The simulation is stopped once the confidence of all series is reached.
+     */
+    ALL_OF,
+
+    /**
+     * The simulation is stopped once the confidence of any series is reached.
+     */
+    ANY_OF
+}
@@ -0,0 +1,227 @@
+package org.palladiosimulator.simulizar.confidence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
+
+/**
+ * The precision to be reached for a statistic of the series of a measurement specification: the
+ * series is identified by the name of its monitor and by its metric; the statistic is either the
+ * mean or a quantile; its confidence interval of the given level must not be wider than the given
+ * half-width, which is either absolute or relative to the estimate.
+ * <p>
+ * Targets are configured by {@link SimulizarConstants#CONFIDENCE_STOP_CONDITIONS} as a list
+ * separated by semicolons. Each target is a list of <code>key=value</code> pairs separated by
+ * commas, e.g.
+ * <code>monitor=Response Time of Login,metric=Response Time,statistic=quantile,p=0.95,level=0.95,halfWidth=0.05</code>.
+ * The keys are:
+ * <ul>
+ * <li><code>monitor</code>: the name of the monitor, required;</li>
+ * <li><code>metric</code>: the name or id of the metric of the measurement specification,
+ * required;</li>
+ * <li><code>statistic</code>: <code>mean</code> (default) or <code>quantile</code>;</li>
+ * <li><code>p</code>: the probability of the quantile, required for quantiles;</li>
+ * <li><code>level</code>: the confidence level, default 0.95;</li>
+ * <li><code>halfWidth</code>: the half-width of the confidence interval, required;</li>
+ * <li><code>relative</code>: whether the half-width is relative to the estimate, default
+ * <code>true</code>;</li>
+ * <li><code>batchSize</code>: the initial number of samples per batch, default
+ * {@value #DEFAULT_BATCH_SIZE}.</li>
+ * </ul>
+ */
+public class ConfidenceTarget {
+
+    /** Default initial number of samples per batch. */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private static final String TARGET_SEPARATOR = ";";
+    private static final String PAIR_SEPARATOR = ",";
+
+    private final String monitorName;
+    private final String metricName;
+    private final ConfidenceStatistic statistic;
+    private final double probability;
+    private final double confidenceLevel;
+    private final double halfWidth;
+    private final boolean relative;
+    private final int batchSize;
+
+    /**
+     * @param monitorName
+     *            the name of the monitor of the series.
+     * @param metricName
+     *            the name or id of the metric of the measurement specification of the series.
+     * @param statistic
+     *            the estimated statistic.
+     * @param probability
+     *            the probability of the quantile, ignored for the mean.
+     * @param confidenceLevel
+     *            the confidence level, between 0 and 1.
+     * @param halfWidth
+     *            the half-width of the confidence interval to be reached.
+     * @param relative
+     *            whether the half-width is relative to the estimate.
+     * @param batchSize
+     *            the initial number of samples per batch.
+     * @throws IllegalArgumentException
+     *             if a value is out of range.
+     */
+    public ConfidenceTarget(final String monitorName, final String metricName, final ConfidenceStatistic statistic,
+            final double probability, final double confidenceLevel, final double halfWidth, final boolean relative,
+            final int batchSize) {
+        super();
+        if (monitorName == null || monitorName.isEmpty() || metricName == null || metricName.isEmpty()) {
+            throw new IllegalArgumentException("Monitor and metric of a confidence target are required");
+        }
+        if (statistic == ConfidenceStatistic.QUANTILE && !(probability > 0 && probability < 1)) {
+            throw new IllegalArgumentException("Quantile probability must be between 0 and 1, but was " + probability);
+        }
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) {
+            throw new IllegalArgumentException("Confidence level must be between 0 and 1, but was " + confidenceLevel);
+        }
+        if (!(halfWidth > 0)) {
+            throw new IllegalArgumentException("Half-width must be positive, but was " + halfWidth);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but was " + batchSize);
+        }
+        this.monitorName = monitorName;
+        this.metricName = metricName;
+        this.statistic = statistic;
+        this.probability = probability;
+        this.confidenceLevel = confidenceLevel;
+        this.halfWidth = halfWidth;
+        this.relative = relative;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Parses a list of targets as described in the class comment.
+     *
+     * @param targets
+     *            the list of targets, may be empty.
+     * @return the parsed targets.
+     * @throws IllegalArgumentException
+     *             if a target cannot be parsed.
+     */
+    public static List<ConfidenceTarget> parse(final String targets) {
+        final List<ConfidenceTarget> result = new ArrayList<ConfidenceTarget>();
+        for (final String target : targets.split(TARGET_SEPARATOR)) {
+            if (!target.trim().isEmpty()) {
+                result.add(parseTarget(target));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static ConfidenceTarget parseTarget(final String target) {
+        final Map<String, String> values = new HashMap<String, String>();
+        for (final String pair : target.split(PAIR_SEPARATOR)) {
+            final int separator = pair.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, but got '" + pair.trim() + "' in confidence target '"
+                        + target.trim() + "'");
+            }
+            values.put(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+        }
+        try {
+            final ConfidenceStatistic statistic = ConfidenceStatistic
+                    .valueOf(getValue(values, "statistic", "mean").toUpperCase(Locale.ENGLISH));
+            return new ConfidenceTarget(getValue(values, "monitor", null), getValue(values, "metric", null), statistic,
+                    Double.parseDouble(getValue(values, "p", statistic == ConfidenceStatistic.MEAN ? "0.5" : null)),
+                    Double.parseDouble(getValue(values, "level", "0.95")),
+                    Double.parseDouble(getValue(values, "halfWidth", null)),
+                    Boolean.parseBoolean(getValue(values, "relative", "true")),
+                    Integer.parseInt(getValue(values, "batchSize", Integer.toString(DEFAULT_BATCH_SIZE))));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid confidence target '" + target.trim() + "': " + e.getMessage(),
+                    e);
+        }
+    }
+
+    private static String getValue(final Map<String, String> values, final String key, final String defaultValue) {
+        final String value = values.get(key);
+        if (value != null && !value.isEmpty()) {
+            return value;
+        }
+        if (defaultValue == null) {
+            throw new IllegalArgumentException("Missing " + key);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Creates an estimator of the statistic of this target.
+     *
+     * @return the new estimator.
+     */
+    public IOnlineEstimator createEstimator() {
+        return this.statistic.createEstimator(this.probability, this.batchSize);
+    }
+
+    /**
+     * Returns the half-width to be reached for the given estimate.
+     *
+     * @param estimate
+     *            the current estimate of the statistic.
+     * @return the absolute half-width to be reached.
+     */
+    public double getTargetHalfWidth(final double estimate) {
+        return this.relative ? this.halfWidth * Math.abs(estimate) : this.halfWidth;
+    }
+
+    public String getMonitorName() {
+        return this.monitorName;
+    }
+
+    public String getMetricName() {
+        return this.metricName;
+    }
+
+    public ConfidenceStatistic getStatistic() {
+        return this.statistic;
+    }
+
+    public double getProbability() {
+        return this.probability;
+    }
+
+    public double getConfidenceLevel() {
+        return this.confidenceLevel;
+    }
+
+    public double getHalfWidth() {
+        return this.halfWidth;
+    }
+
+    public boolean isRelative() {
+        return this.relative;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * @return the name of the statistic and the series, e.g. <code>0.95-quantile of Response Time
+     *         (Response Time of Login)</code>.
+     */
+    public String getDescription() {
+        final String statisticName = this.statistic == ConfidenceStatistic.MEAN ? "mean"
+                : this.probability + "-quantile";
+        return statisticName + " of " + this.metricName + " (" + this.monitorName + ")";
+    }
+
+    @Override
+    public String toString() {
+        return "monitor=" + this.monitorName + ",metric=" + this.metricName + ",statistic="
+                + this.statistic.name().toLowerCase(Locale.ENGLISH) + ",p=" + this.probability + ",level="
+                + this.confidenceLevel + ",halfWidth=" + this.halfWidth + ",relative=" + this.relative
+                + ",batchSize=" + this.batchSize;
+    }
+}
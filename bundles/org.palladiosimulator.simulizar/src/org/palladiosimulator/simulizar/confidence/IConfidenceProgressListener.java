@@ -0,0 +1,14 @@
+package org.palladiosimulator.simulizar.confidence;
+
+/**
+ * Listener notified about the {@link ConfidenceProgress} of a {@link ConfidenceStopCondition}
+ * whenever a batch has been completed.
+ */
+public interface IConfidenceProgressListener {
+
+    /**
+     * @param progress
+     *            the current state of the condition.
+     */
+    void progressUpdated(ConfidenceProgress progress);
+}
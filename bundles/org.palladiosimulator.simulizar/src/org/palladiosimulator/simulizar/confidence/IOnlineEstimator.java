@@ -0,0 +1,49 @@
+package org.palladiosimulator.simulizar.confidence;
+
+/**
+ * Estimator of a statistic of a series and the confidence interval around it, updated in constant
+ * time per sample. The interval is derived from the estimates of consecutive batches of samples,
+ * which are nearly independent if the batches are large enough, so that autocorrelated series
+ * such as response times are estimated correctly. It is only updated when a batch is completed.
+ */
+public interface IOnlineEstimator {
+
+    /**
+     * Offers the next sample of the series to the estimator.
+     *
+     * @param value
+     *            the value of the sample.
+     * @return whether the sample completed a batch, i.e. whether the confidence interval changed.
+     */
+    boolean offerSample(double value);
+
+    /**
+     * @return the point estimate of the statistic over all samples, or {@link Double#NaN} if no
+     *         sample has been offered.
+     */
+    double getPointEstimate();
+
+    /**
+     * Returns the half-width of the confidence interval around the point estimate.
+     *
+     * @param confidenceLevel
+     *            the confidence level, between 0 and 1.
+     * @return the half-width, or {@link Double#NaN} if there are less than two batches.
+     */
+    double getHalfWidth(double confidenceLevel);
+
+    /**
+     * @return the number of completed batches the confidence interval is derived from.
+     */
+    int getBatchCount();
+
+    /**
+     * @return the current number of samples per batch.
+     */
+    int getBatchSize();
+
+    /**
+     * @return the number of samples offered so far.
+     */
+    long getSampleCount();
+}
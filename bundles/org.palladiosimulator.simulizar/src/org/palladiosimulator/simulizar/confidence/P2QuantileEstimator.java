@@ -0,0 +1,147 @@
+package org.palladiosimulator.simulizar.confidence;
+
+import java.util.Arrays;
+
+/**
+ * Estimates a quantile of a series in constant time and memory per sample by the P2 algorithm of
+ * Jain and Chlamtac ("The P2 algorithm for dynamic calculation of quantiles and histograms without
+ * storing observations", CACM 28(10), 1985). Five markers track the minimum, the maximum, the
+ * quantile and two quantiles in between; their heights are adjusted by piecewise-parabolic
+ * interpolation as samples arrive.
+ */
+public class P2QuantileEstimator {
+
+    private static final int MARKERS = 5;
+
+    private final double probability;
+    private final double[] increments;
+    private final double[] heights = new double[MARKERS];
+    private final double[] positions = new double[MARKERS];
+    private final double[] desiredPositions = new double[MARKERS];
+    private long count;
+
+    /**
+     * @param probability
+     *            the probability of the quantile, between 0 and 1.
+     * @throws IllegalArgumentException
+     *             if the probability is not between 0 and 1.
+     */
+    public P2QuantileEstimator(final double probability) {
+        super();
+        if (!(probability > 0 && probability < 1)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1, but was " + probability);
+        }
+        this.probability = probability;
+        this.increments = new double[] { 0, probability / 2, probability, (1 + probability) / 2, 1 };
+    }
+
+    /**
+     * Offers the next sample of the series.
+     *
+     * @param value
+     *            the value of the sample.
+     */
+    public void offerSample(final double value) {
+        if (this.count < MARKERS) {
+            this.heights[(int) this.count++] = value;
+            if (this.count == MARKERS) {
+                Arrays.sort(this.heights);
+                for (int i = 0; i < MARKERS; i++) {
+                    this.positions[i] = i + 1;
+                }
+                this.desiredPositions[0] = 1;
+                this.desiredPositions[1] = 1 + 2 * this.probability;
+                this.desiredPositions[2] = 1 + 4 * this.probability;
+                this.desiredPositions[3] = 3 + 2 * this.probability;
+                this.desiredPositions[4] = 5;
+            }
+            return;
+        }
+        this.count++;
+
+        // find the cell of the sample, extending the extreme markers if necessary
+        final int cell;
+        if (value < this.heights[0]) {
+            this.heights[0] = value;
+            cell = 0;
+        } else if (value >= this.heights[MARKERS - 1]) {
+            this.heights[MARKERS - 1] = value;
+            cell = MARKERS - 2;
+        } else {
+            int i = 0;
+            while (value >= this.heights[i + 1]) {
+                i++;
+            }
+            cell = i;
+        }
+        for (int i = cell + 1; i < MARKERS; i++) {
+            this.positions[i]++;
+        }
+        for (int i = 0; i < MARKERS; i++) {
+            this.desiredPositions[i] += this.increments[i];
+        }
+
+        // move the inner markers towards their desired positions
+        for (int i = 1; i < MARKERS - 1; i++) {
+            final double offset = this.desiredPositions[i] - this.positions[i];
+            if ((offset >= 1 && this.positions[i + 1] - this.positions[i] > 1)
+                    || (offset <= -1 && this.positions[i - 1] - this.positions[i] < -1)) {
+                final int direction = offset > 0 ? 1 : -1;
+                final double height = this.parabolic(i, direction);
+                if (this.heights[i - 1] < height && height < this.heights[i + 1]) {
+                    this.heights[i] = height;
+                } else {
+                    this.heights[i] = this.linear(i, direction);
+                }
+                this.positions[i] += direction;
+            }
+        }
+    }
+
+    private double parabolic(final int i, final int direction) {
+        return this.heights[i] + direction / (this.positions[i + 1] - this.positions[i - 1])
+                * ((this.positions[i] - this.positions[i - 1] + direction) * (this.heights[i + 1] - this.heights[i])
+                        / (this.positions[i + 1] - this.positions[i])
+                        + (this.positions[i + 1] - this.positions[i] - direction)
+                                * (this.heights[i] - this.heights[i - 1]) / (this.positions[i] - this.positions[i - 1]));
+    }
+
+    private double linear(final int i, final int direction) {
+        return this.heights[i] + direction * (this.heights[i + direction] - this.heights[i])
+                / (this.positions[i + direction] - this.positions[i]);
+    }
+
+    /**
+     * @return the estimated quantile, or {@link Double#NaN} if no sample has been offered. Below
+     *         five samples, the nearest-rank quantile of the samples is returned.
+     */
+    public double getQuantile() {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        if (this.count < MARKERS) {
+            final double[] samples = Arrays.copyOf(this.heights, (int) this.count);
+            Arrays.sort(samples);
+            return samples[(int) Math.min(this.count - 1, Math.floor(this.probability * this.count))];
+        }
+        return this.heights[2];
+    }
+
+    /**
+     * Forgets all samples offered so far.
+     */
+    public void reset() {
+        this.count = 0;
+    }
+
+    public double getProbability() {
+        return this.probability;
+    }
+
+    /**
+     * @return the number of samples offered since the last reset.
+     */
+    public long getCount() {
+        return this.count;
+    }
+}
@@ -0,0 +1,108 @@
+package org.palladiosimulator.simulizar.interpreter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+
+/**
+ * Immutable path of assembly contexts from the outermost assembly context (e.g., of a subsystem) to
+ * the innermost one. Pushing an assembly context creates a new path sharing its parent path, so
+ * that forked behaviours can keep the path of their parent without copying it.
+ */
+public final class AssemblyContextPath {
+
+    /** The path not containing any assembly context. */
+    public static final AssemblyContextPath EMPTY = new AssemblyContextPath(null, null, 0);
+
+    private final AssemblyContext innermost;
+    private final AssemblyContextPath parent;
+    private final int size;
+
+    private AssemblyContextPath(final AssemblyContext innermost, final AssemblyContextPath parent, final int size) {
+        this.innermost = innermost;
+        this.parent = parent;
+        this.size = size;
+    }
+
+    /**
+     * @param assemblyContext
+     *            the assembly context to enter.
+     * @return the path extended by the given assembly context.
+     */
+    public AssemblyContextPath push(final AssemblyContext assemblyContext) {
+        return new AssemblyContextPath(assemblyContext, this, this.size + 1);
+    }
+
+    /**
+     * @return the path without its innermost assembly context.
+     * @throws NoSuchElementException
+     *             if the path is empty.
+     */
+    public AssemblyContextPath pop() {
+        this.checkNotEmpty();
+        return this.parent;
+    }
+
+    /**
+     * @return the innermost assembly context.
+     * @throws NoSuchElementException
+     *             if the path is empty.
+     */
+    public AssemblyContext peek() {
+        this.checkNotEmpty();
+        return this.innermost;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Finds the innermost assembly context of this path having the given id.
+     *
+     * @param assemblyContextId
+     *            the id to look for.
+     * @return the assembly context, or <code>null</code> if the path does not contain one with the
+     *         given id.
+     */
+    public AssemblyContext findInnermost(final String assemblyContextId) {
+        for (AssemblyContextPath path = this; !path.isEmpty(); path = path.parent) {
+            if (path.innermost.getId().equals(assemblyContextId)) {
+                return path.innermost;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the assembly contexts of this path, starting with the outermost one.
+     */
+    public List<AssemblyContext> toList() {
+        final AssemblyContext[] result = new AssemblyContext[this.size];
+        int i = this.size;
+        for (AssemblyContextPath path = this; !path.isEmpty(); path = path.parent) {
+            result[--i] = path.innermost;
+        }
+        final List<AssemblyContext> list = new ArrayList<AssemblyContext>(this.size);
+        Collections.addAll(list, result);
+        return list;
+    }
+
+    private void checkNotEmpty() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException("The assembly context path is empty");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.toList().toString();
+    }
+}
@@ -10,6 +10,7 @@ import org.palladiosimulator.pcm.core.composition.RequiredInfrastructureDelegati
 import org.palladiosimulator.pcm.core.composition.util.CompositionSwitch;
 import org.palladiosimulator.pcm.repository.RequiredRole;
 import org.palladiosimulator.pcm.repository.Signature;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
 import org.palladiosimulator.simulizar.exceptions.PCMModelInterpreterException;
 
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
@@ -34,6 +35,11 @@ class ComposedStructureInnerSwitch extends CompositionSwitch<SimulatedStackframe
     private final InterpreterDefaultContext context;
     private final Signature signature;
     private final RequiredRole requiredRole;
+    /**
+     * Resource container of the calling component, <code>null</code> if the call is not transferred
+     * over the network
+     */
+    private final ResourceContainer callingResourceContainer;
 
     /**
      * Constructor
@@ -43,17 +49,29 @@ class ComposedStructureInnerSwitch extends CompositionSwitch<SimulatedStackframe
      */
     public ComposedStructureInnerSwitch(final InterpreterDefaultContext context, final Signature operationSignature,
             final RequiredRole requiredRole) {
+        this(context, operationSignature, requiredRole, null);
+    }
+
+    /**
+     * @param callingResourceContainer
+     *            the resource container of the calling component, or <code>null</code> if the
+     *            call is not transferred over the network, see
+     *            {@link org.palladiosimulator.simulizar.network.NetworkSimulation}.
+     */
+    public ComposedStructureInnerSwitch(final InterpreterDefaultContext context, final Signature operationSignature,
+            final RequiredRole requiredRole, final ResourceContainer callingResourceContainer) {
         super();
         this.context = context;
         this.signature = operationSignature;
         this.requiredRole = requiredRole;
+        this.callingResourceContainer = callingResourceContainer;
     }
 
     @Override
     public SimulatedStackframe<Object> caseAssemblyConnector(final AssemblyConnector assemblyConnector) {
         final RepositoryComponentSwitch repositoryComponentSwitch = new RepositoryComponentSwitch(this.context,
                 assemblyConnector.getProvidingAssemblyContext_AssemblyConnector(), this.signature,
-                assemblyConnector.getProvidedRole_AssemblyConnector());
+                assemblyConnector.getProvidedRole_AssemblyConnector(), this.callingResourceContainer);
         return repositoryComponentSwitch.doSwitch(assemblyConnector.getProvidedRole_AssemblyConnector());
     }
 
@@ -69,7 +87,8 @@ class ComposedStructureInnerSwitch extends CompositionSwitch<SimulatedStackframe
             final AssemblyInfrastructureConnector assemblyInfrastructureConnector) {
         final RepositoryComponentSwitch repositoryComponentSwitch = new RepositoryComponentSwitch(this.context,
                 assemblyInfrastructureConnector.getProvidingAssemblyContext__AssemblyInfrastructureConnector(),
-                this.signature, assemblyInfrastructureConnector.getProvidedRole__AssemblyInfrastructureConnector());
+                this.signature, assemblyInfrastructureConnector.getProvidedRole__AssemblyInfrastructureConnector(),
+                this.callingResourceContainer);
         return repositoryComponentSwitch
                 .doSwitch(assemblyInfrastructureConnector.getProvidedRole__AssemblyInfrastructureConnector());
     }
@@ -77,22 +96,24 @@ class ComposedStructureInnerSwitch extends CompositionSwitch<SimulatedStackframe
     @Override
     public SimulatedStackframe<Object> caseRequiredDelegationConnector(
             final RequiredDelegationConnector requiredDelegationConnector) {
-        final AssemblyContext parentContext = this.context.getAssemblyContextStack().pop();
+        final AssemblyContext parentContext = this.context.popAssemblyContext();
         final ComposedStructureInnerSwitch composedStructureInnerSwitch = new ComposedStructureInnerSwitch(this.context,
-                this.signature, requiredDelegationConnector.getOuterRequiredRole_RequiredDelegationConnector());
+                this.signature, requiredDelegationConnector.getOuterRequiredRole_RequiredDelegationConnector(),
+                this.callingResourceContainer);
         final SimulatedStackframe<Object> result = composedStructureInnerSwitch.doSwitch(parentContext);
-        this.context.getAssemblyContextStack().push(parentContext);
+        this.context.pushAssemblyContext(parentContext);
         return result;
     }
 
     @Override
     public SimulatedStackframe<Object> caseRequiredInfrastructureDelegationConnector(
             final RequiredInfrastructureDelegationConnector requiredInfrastructureDelegationConnector) {
-        final AssemblyContext parentContext = this.context.getAssemblyContextStack().pop();
+        final AssemblyContext parentContext = this.context.popAssemblyContext();
         final ComposedStructureInnerSwitch composedStructureInnerSwitch = new ComposedStructureInnerSwitch(this.context,
-                this.signature, requiredInfrastructureDelegationConnector.getOuterRequiredRole__RequiredInfrastructureDelegationConnector());
+                this.signature, requiredInfrastructureDelegationConnector.getOuterRequiredRole__RequiredInfrastructureDelegationConnector(),
+                this.callingResourceContainer);
         final SimulatedStackframe<Object> result = composedStructureInnerSwitch.doSwitch(parentContext);
-        this.context.getAssemblyContextStack().push(parentContext);
+        this.context.pushAssemblyContext(parentContext);
         return result;
     }
 
@@ -0,0 +1,61 @@
+package org.palladiosimulator.simulizar.interpreter;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.pcm.seff.ForkedBehaviour;
+import org.palladiosimulator.simulizar.runtimestate.SimulatedBasicComponentInstance;
+
+import de.uka.ipd.sdq.simucomframework.fork.ForkedBehaviourProcess;
+
+/**
+ * Process interpreting a single {@link ForkedBehaviour} of a fork action. The context of the
+ * forked behaviour is created along with the process, i.e., while the forking process is still
+ * running, so that detached behaviours see the stack frame as of the time of the fork.
+ * <p>
+ * The switch interpreting the behaviour is taken from the idle switches of the forking context,
+ * i.e., of the forking process, for the component instance whose SEFF contains the fork action.
+ * Switches are thus neither shared between processes nor between component instances.
+ */
+class ForkedBehaviourInterpreterProcess extends ForkedBehaviourProcess {
+
+    private static final Logger LOGGER = Logger.getLogger(ForkedBehaviourInterpreterProcess.class);
+
+    private final InterpreterDefaultContext forkingContext;
+    private final SimulatedBasicComponentInstance basicComponentInstance;
+    private final ForkedBehaviour forkedBehaviour;
+    private final InterpreterDefaultContext forkedContext;
+
+    /**
+     * @param forkingContext
+     *            the context of the process interpreting the fork action.
+     * @param basicComponentInstance
+     *            the component instance whose SEFF contains the fork action.
+     * @param forkedBehaviour
+     *            the behaviour to interpret.
+     * @param isAsync
+     *            whether the behaviour is detached from the forking process.
+     */
+    ForkedBehaviourInterpreterProcess(final InterpreterDefaultContext forkingContext,
+            final SimulatedBasicComponentInstance basicComponentInstance, final ForkedBehaviour forkedBehaviour,
+            final boolean isAsync) {
+        super(forkingContext, forkingContext.peekAssemblyContext().getId(), isAsync);
+        this.forkingContext = forkingContext;
+        this.basicComponentInstance = basicComponentInstance;
+        this.forkedBehaviour = forkedBehaviour;
+        this.forkedContext = forkingContext.createChildContext(this, isAsync);
+    }
+
+    @Override
+    protected void executeBehaviour() {
+        final RDSeffSwitch seffInterpreter = this.forkingContext
+                .acquireForkedBehaviourSwitch(this.basicComponentInstance, this.forkedContext);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Interpreting " + ((this.isAsync()) ? "asynced" : "synced") + " forked behaviour: " + this);
+        }
+        try {
+            // no use of parentSwitch.doSwitch() because we want the inner switches
+            seffInterpreter.doSwitch(this.forkedBehaviour);
+        } finally {
+            this.forkingContext.releaseForkedBehaviourSwitch(this.basicComponentInstance, seffInterpreter);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package org.palladiosimulator.simulizar.interpreter;
 
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
 import org.palladiosimulator.simulizar.access.IModelAccess;
 import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulatedBasicComponentInstance;
 
 import de.uka.ipd.sdq.simucomframework.Context;
 import de.uka.ipd.sdq.simucomframework.SimuComSimProcess;
@@ -25,7 +29,7 @@ public class InterpreterDefaultContext extends Context {
     */
     private static final long serialVersionUID = -5027373777424401211L;
 
-    private final Stack<AssemblyContext> assemblyContextStack = new Stack<AssemblyContext>();
+    private AssemblyContextPath assemblyContextPath = AssemblyContextPath.EMPTY;
 
     private final AbstractSimuLizarRuntimeState runtimeState;
 
@@ -33,6 +37,13 @@ public class InterpreterDefaultContext extends Context {
 
 	private PCMResourceSetPartition localPCMModelCopy;
 
+    /**
+     * Switches which interpreted forked behaviours forked by the process of this context and can be
+     * re-targeted to interpret further forked behaviours, by component instance. Created on the
+     * first fork.
+     */
+    private Map<SimulatedBasicComponentInstance, Deque<RDSeffSwitch>> idleForkedBehaviourSwitches = null;
+
     public InterpreterDefaultContext(final AbstractSimuLizarRuntimeState simulizarModel) {
         super(simulizarModel.getModel());
         this.stack = new SimulatedStack<Object>();
@@ -71,6 +82,47 @@ public class InterpreterDefaultContext extends Context {
         this.setSimProcess(thread);
     }
 
+    /**
+     * Creates the context of a forked behaviour. The child shares the assembly context path of this
+     * context instead of copying it. Instead of a copy of the current stack frame, the child stack
+     * frame is a copy-on-write view of it: variables are looked up in the current stack frame of
+     * this context unless the child defines them itself.
+     * <p>
+     * A synchronous child blocks this context's thread until it joins, so the view is safe. An
+     * asynchronous (i.e., detached) child gets a snapshot copy of the current stack frame instead,
+     * as this context's thread may modify the frame while the child is running.
+     *
+     * @param thread
+     *            the process executing the forked behaviour.
+     * @param detached
+     *            whether the forked behaviour is executed asynchronously.
+     * @return the context of the forked behaviour.
+     */
+    public InterpreterDefaultContext createChildContext(final SimuComSimProcess thread, final boolean detached) {
+        final InterpreterDefaultContext child = new InterpreterDefaultContext(this, this.runtimeState,
+                this.localPCMModelCopy);
+        child.setSimProcess(thread);
+        child.assemblyContextPath = this.assemblyContextPath;
+        if (this.getStack().size() == 0) {
+            child.stack.pushStackFrame(new SimulatedStackframe<Object>());
+        } else if (detached) {
+            child.stack.pushStackFrame(this.getStack().currentStackFrame().copyFrame());
+        } else {
+            child.stack.pushStackFrame(new SimulatedStackframe<Object>(this.getStack().currentStackFrame()));
+        }
+        return child;
+    }
+
+    private InterpreterDefaultContext(final InterpreterDefaultContext parent,
+            final AbstractSimuLizarRuntimeState runtimeState, final PCMResourceSetPartition pcmLocalCopy) {
+        super(parent.getModel());
+        this.modelAccess = runtimeState.getModelAccess().clone();
+        this.localPCMModelCopy = pcmLocalCopy;
+        this.setEvaluationMode(parent.getEvaluationMode());
+        this.stack = new SimulatedStack<Object>();
+        this.runtimeState = runtimeState;
+    }
+
     public AbstractSimuLizarRuntimeState getRuntimeState() {
         return this.runtimeState;
     }
@@ -83,8 +135,81 @@ public class InterpreterDefaultContext extends Context {
         // Template method which is only needed in generative SimuCom
     }
 
-    public Stack<AssemblyContext> getAssemblyContextStack() {
-        return this.assemblyContextStack;
+    /**
+     * Gets a switch interpreting a forked behaviour forked by the process of this context. Switches
+     * released by forked behaviours of the same component instance which have finished are
+     * re-targeted instead of creating new ones.
+     *
+     * @param basicComponentInstance
+     *            the component instance whose SEFF contains the fork action.
+     * @param forkedContext
+     *            the context of the forked behaviour.
+     * @return the switch.
+     */
+    RDSeffSwitch acquireForkedBehaviourSwitch(final SimulatedBasicComponentInstance basicComponentInstance,
+            final InterpreterDefaultContext forkedContext) {
+        final Deque<RDSeffSwitch> idleSwitches = this.idleForkedBehaviourSwitches != null
+                ? this.idleForkedBehaviourSwitches.get(basicComponentInstance) : null;
+        final RDSeffSwitch result = idleSwitches != null ? idleSwitches.pollFirst() : null;
+        if (result == null) {
+            return new RDSeffSwitch(forkedContext, basicComponentInstance);
+        }
+        result.setContext(forkedContext);
+        return result;
+    }
+
+    /**
+     * Releases a switch obtained by {@link #acquireForkedBehaviourSwitch} once its forked behaviour
+     * has been interpreted.
+     *
+     * @param basicComponentInstance
+     *            the component instance the switch has been acquired for.
+     * @param forkedBehaviourSwitch
+     *            the switch.
+     */
+    void releaseForkedBehaviourSwitch(final SimulatedBasicComponentInstance basicComponentInstance,
+            final RDSeffSwitch forkedBehaviourSwitch) {
+        if (this.idleForkedBehaviourSwitches == null) {
+            this.idleForkedBehaviourSwitches = new IdentityHashMap<>();
+        }
+        this.idleForkedBehaviourSwitches
+                .computeIfAbsent(basicComponentInstance, instance -> new ArrayDeque<RDSeffSwitch>())
+                .addFirst(forkedBehaviourSwitch);
+    }
+
+    /**
+     * @return the path of assembly contexts the interpreter currently is in.
+     */
+    public AssemblyContextPath getAssemblyContextPath() {
+        return this.assemblyContextPath;
+    }
+
+    /**
+     * Enters the given assembly context.
+     *
+     * @param assemblyContext
+     *            the assembly context.
+     */
+    public void pushAssemblyContext(final AssemblyContext assemblyContext) {
+        this.assemblyContextPath = this.assemblyContextPath.push(assemblyContext);
+    }
+
+    /**
+     * Leaves the innermost assembly context.
+     *
+     * @return the innermost assembly context.
+     */
+    public AssemblyContext popAssemblyContext() {
+        final AssemblyContext result = this.assemblyContextPath.peek();
+        this.assemblyContextPath = this.assemblyContextPath.pop();
+        return result;
+    }
+
+    /**
+     * @return the innermost assembly context.
+     */
+    public AssemblyContext peekAssemblyContext() {
+        return this.assemblyContextPath.peek();
     }
 
     public IModelAccess getModelAccess() {
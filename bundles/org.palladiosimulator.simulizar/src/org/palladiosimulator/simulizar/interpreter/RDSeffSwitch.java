@@ -1,11 +1,6 @@
 package org.palladiosimulator.simulizar.interpreter;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.Stack;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
@@ -46,13 +41,14 @@ import org.palladiosimulator.simulizar.exceptions.PCMModelInterpreterException;
 import org.palladiosimulator.simulizar.exceptions.SimulatedStackAccessException;
 import org.palladiosimulator.simulizar.interpreter.listener.EventType;
 import org.palladiosimulator.simulizar.interpreter.listener.RDSEFFElementPassedEvent;
+import org.palladiosimulator.simulizar.network.NetworkSimulation;
 import org.palladiosimulator.simulizar.runtimestate.SimulatedBasicComponentInstance;
+import org.palladiosimulator.simulizar.utils.ParameterBindingPlan;
 import org.palladiosimulator.simulizar.utils.SimulatedStackHelper;
 import org.palladiosimulator.simulizar.utils.TransitionDeterminer;
 
 import de.uka.ipd.sdq.simucomframework.ResourceRegistry;
 import de.uka.ipd.sdq.simucomframework.fork.ForkExecutor;
-import de.uka.ipd.sdq.simucomframework.fork.ForkedBehaviourProcess;
 import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 import de.uka.ipd.sdq.simucomframework.variables.converter.NumberConverter;
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
@@ -69,11 +65,11 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
     private static final Logger LOGGER = Logger.getLogger(RDSeffSwitch.class);
 
     private ComposedSwitch<Object> parentSwitch;
-    private final TransitionDeterminer transitionDeterminer;
-    private final InterpreterDefaultContext context;
-    private final Allocation allocation;
+    private TransitionDeterminer transitionDeterminer;
+    private InterpreterDefaultContext context;
+    private Allocation allocation;
 
-    private final SimulatedStackframe<Object> resultStackFrame;
+    private SimulatedStackframe<Object> resultStackFrame;
 
     private final SimulatedBasicComponentInstance basicComponentInstance;
 
@@ -88,11 +84,22 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
     public RDSeffSwitch(final InterpreterDefaultContext context,
             final SimulatedBasicComponentInstance basicComponentInstance) {
         super();
+        this.basicComponentInstance = basicComponentInstance;
+        this.setContext(context);
+    }
+
+    /**
+     * Re-targets this switch to interpret in the given context, see
+     * {@link InterpreterDefaultContext#acquireForkedBehaviourSwitch}.
+     *
+     * @param context
+     *            the context.
+     */
+    void setContext(final InterpreterDefaultContext context) {
         this.context = context;
         this.allocation = context.getLocalPCMModelAtContextCreation().getAllocation();
-        this.transitionDeterminer = new TransitionDeterminer(context);
+        this.transitionDeterminer = null;
         this.resultStackFrame = new SimulatedStackframe<Object>();
-        this.basicComponentInstance = basicComponentInstance;
     }
 
 
@@ -202,10 +209,10 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
 
                 // create new stack frame for input parameter
                 SimulatedStackHelper.createAndPushNewStackFrame(this.context.getStack(),
-                        infrastructureCall.getInputVariableUsages__CallAction());
-                final AssemblyContext myContext = this.context.getAssemblyContextStack().pop();
+                        ParameterBindingPlan.of(infrastructureCall.getInputVariableUsages__CallAction()));
+                final AssemblyContext myContext = this.context.popAssemblyContext();
                 composedStructureSwitch.doSwitch(myContext);
-                this.context.getAssemblyContextStack().push(myContext);
+                this.context.pushAssemblyContext(myContext);
                 this.context.getStack().removeStackFrame();
             }
         }
@@ -230,26 +237,30 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
      */
     @Override
     public Object caseExternalCallAction(final ExternalCallAction externalCall) {
+        final NetworkSimulation networkSimulation = this.context.getRuntimeState().getNetworkSimulation();
         final ComposedStructureInnerSwitch composedStructureSwitch = new ComposedStructureInnerSwitch(this.context,
-                externalCall.getCalledService_ExternalService(), externalCall.getRole_ExternalService());
+                externalCall.getCalledService_ExternalService(), externalCall.getRole_ExternalService(),
+                networkSimulation != null ? networkSimulation.getResourceContainer(this.context) : null);
 
         if (externalCall instanceof DelegatingExternalCallAction) {
             final SimulatedStackframe<Object> currentFrame = this.context.getStack().currentStackFrame();
             final SimulatedStackframe<Object> callFrame = SimulatedStackHelper.createAndPushNewStackFrame(
-                    this.context.getStack(), externalCall.getInputVariableUsages__CallAction(), currentFrame);
+                    this.context.getStack(), ParameterBindingPlan.of(externalCall.getInputVariableUsages__CallAction()),
+                    currentFrame);
             callFrame.addVariables(this.resultStackFrame);
         } else {
             // create new stack frame for input parameter
             SimulatedStackHelper.createAndPushNewStackFrame(this.context.getStack(),
-                    externalCall.getInputVariableUsages__CallAction());
+                    ParameterBindingPlan.of(externalCall.getInputVariableUsages__CallAction()));
         }
-        final AssemblyContext myContext = this.context.getAssemblyContextStack().pop();
+        final AssemblyContext myContext = this.context.popAssemblyContext();
         final SimulatedStackframe<Object> outputFrame = composedStructureSwitch.doSwitch(myContext);
-        this.context.getAssemblyContextStack().push(myContext);
+        this.context.pushAssemblyContext(myContext);
         this.context.getStack().removeStackFrame();
 
         SimulatedStackHelper.addParameterToStackFrame(outputFrame,
-                externalCall.getReturnVariableUsage__CallReturnAction(), this.context.getStack().currentStackFrame());
+                ParameterBindingPlan.of(externalCall.getReturnVariableUsage__CallReturnAction()),
+                this.context.getStack().currentStackFrame());
 
         return SUCCESS;
     }
@@ -277,6 +288,9 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
 
             LOGGER.debug(sb.toString());
         }
+        if (this.transitionDeterminer == null) {
+            this.transitionDeterminer = new TransitionDeterminer(this.context);
+        }
         final AbstractBranchTransition branchTransition = this.transitionDeterminer
                 .determineTransition(abstractBranchTransitions);
 
@@ -322,19 +336,28 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
          * THIS IS CURRENTLY NOT SUPPORTED BY THE INTERPRETER
          */
 
-        // get asynced processes
-        final List<ForkedBehaviourProcess> asyncProcesses = this
-                .getProcesses(object.getAsynchronousForkedBehaviours_ForkAction(), true);
-
-        // get synced processes
-        final List<ForkedBehaviourProcess> syncProcesses = this.determineSyncedProcesses(object);
-
-        // combine both
-        final List<ForkedBehaviourProcess> combinedProcesses = this.combineProcesses(asyncProcesses, syncProcesses);
+        final List<ForkedBehaviour> asyncBehaviours = object.getAsynchronousForkedBehaviours_ForkAction();
+        final List<ForkedBehaviour> syncBehaviours = object.getSynchronisingBehaviours_ForkAction() != null
+                ? object.getSynchronisingBehaviours_ForkAction().getSynchronousForkedBehaviours_SynchronisationPoint()
+                : null;
+
+        // asynced processes first, followed by synced processes
+        final ForkedBehaviourInterpreterProcess[] processes = new ForkedBehaviourInterpreterProcess[asyncBehaviours
+                .size() + (syncBehaviours != null ? syncBehaviours.size() : 0)];
+        int i = 0;
+        for (final ForkedBehaviour forkedBehaviour : asyncBehaviours) {
+            processes[i++] = new ForkedBehaviourInterpreterProcess(this.context, this.basicComponentInstance,
+                    forkedBehaviour, true);
+        }
+        if (syncBehaviours != null) {
+            for (final ForkedBehaviour forkedBehaviour : syncBehaviours) {
+                processes[i++] = new ForkedBehaviourInterpreterProcess(this.context, this.basicComponentInstance,
+                        forkedBehaviour, false);
+            }
+        }
 
         // create and start fork executor
-        final ForkExecutor forkExecutor = new ForkExecutor(this.context.getThread(),
-                combinedProcesses.toArray(new ForkedBehaviourProcess[0]));
+        final ForkExecutor forkExecutor = new ForkExecutor(this.context.getThread(), processes);
 
         forkExecutor.run();
 
@@ -369,7 +392,7 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
     @Override
     public Object caseSetVariableAction(final SetVariableAction object) {
         SimulatedStackHelper.addParameterToStackFrame(this.context.getStack().currentStackFrame(),
-                object.getLocalVariableUsages_SetVariableAction(), this.resultStackFrame);
+                ParameterBindingPlan.of(object.getLocalVariableUsages_SetVariableAction()), this.resultStackFrame);
         /*
          * Special attention has to be paid if the random variable to set is an INNER
          * characterisation. In this case, a late evaluating random variable has to be stored with
@@ -393,11 +416,12 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
             LOGGER.debug("Process " + this.context.getThread().getId() + " tries to acquire "
                     + acquireAction.getPassiveresource_AcquireAction().getEntityName());
         }
-        this.basicComponentInstance.acquirePassiveResource(acquireAction.getPassiveresource_AcquireAction(),
-                this.context, this.context.getModel().getConfiguration().getSimulateFailures(),
-                acquireAction.getTimeoutValue());
+        final boolean acquired = this.basicComponentInstance.acquirePassiveResource(
+                acquireAction.getPassiveresource_AcquireAction(), this.context,
+                this.context.getModel().getConfiguration().getSimulateFailures(), acquireAction.getTimeoutValue());
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Process " + this.context.getThread().getId() + " successfully acquired "
+            LOGGER.debug("Process " + this.context.getThread().getId()
+                    + (acquired ? " successfully acquired " : " gave up acquiring ")
                     + acquireAction.getPassiveresource_AcquireAction().getEntityName());
         }
         return SUCCESS;
@@ -427,91 +451,7 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
      */
     private <T extends AbstractAction> void firePassedEvent(final T abstractAction, final EventType eventType) {
         this.context.getRuntimeState().getEventNotificationHelper().firePassedEvent(new RDSEFFElementPassedEvent<T>(
-                abstractAction, eventType, this.context.getThread(), this.context.getAssemblyContextStack().peek()));
-    }
-
-    /**
-     * Combines synced and asynced processes in a combined list.
-     *
-     * @param asyncProcesses
-     *            list of asynced processes.
-     * @param syncProcesses
-     *            list of synced processes.
-     * @return combined list.
-     */
-    private List<ForkedBehaviourProcess> combineProcesses(final List<ForkedBehaviourProcess> asyncProcesses,
-            final List<ForkedBehaviourProcess> syncProcesses) {
-        final List<ForkedBehaviourProcess> combinedProcesses = new LinkedList<ForkedBehaviourProcess>();
-        combinedProcesses.addAll(asyncProcesses);
-        combinedProcesses.addAll(syncProcesses);
-        return Collections.synchronizedList(combinedProcesses);
-    }
-
-    /**
-     * Determines the synced processes in a fork action.
-     *
-     * @param object
-     *            the fork action.
-     * @return a list with synced processes.
-     */
-    private List<ForkedBehaviourProcess> determineSyncedProcesses(final ForkAction object) {
-        List<ForkedBehaviourProcess> syncProcesses = new ArrayList<ForkedBehaviourProcess>();
-
-        if (object.getSynchronisingBehaviours_ForkAction() != null) {
-            syncProcesses = this.getProcesses(object.getSynchronisingBehaviours_ForkAction()
-                    .getSynchronousForkedBehaviours_SynchronisationPoint(), false);
-        }
-        return syncProcesses;
-    }
-
-    /**
-     * Creates a list of sync and async processes for given behaviors.
-     *
-     * @param forkedBehaviours
-     *            the forked behaviors, independent of their sync or async character.
-     * @param isAsync
-     *            true if processes shall be async, otherwise false.
-     * @return a list of configured forked behavior processes.
-     */
-    private List<ForkedBehaviourProcess> getProcesses(final List<ForkedBehaviour> forkedBehaviours,
-            final boolean isAsync) {
-        final List<ForkedBehaviourProcess> processes = new LinkedList<ForkedBehaviourProcess>();
-
-        // for each create process, and add to array of processes
-
-        for (final ForkedBehaviour forkedBehaviour : forkedBehaviours) {
-            @SuppressWarnings("unchecked")
-            final Stack<AssemblyContext> parentAssemblyContextStack = (Stack<AssemblyContext>) this.context
-            .getAssemblyContextStack().clone();
-            processes.add(new ForkedBehaviourProcess(this.context,
-                    this.context.getAssemblyContextStack().peek().getId(), isAsync) {
-
-                @Override
-                protected void executeBehaviour() {
-
-                    /*
-                     * The forked behavior process has its own copied stack in its context, for type
-                     * reasons we need an InterpreterDefaultContext. Thus we have to copy the
-                     * context including its stack.
-                     */
-                    final InterpreterDefaultContext seffContext = new InterpreterDefaultContext(this.myContext,
-                            RDSeffSwitch.this.context.getRuntimeState(), true,
-                            RDSeffSwitch.this.context.getLocalPCMModelAtContextCreation());
-                    seffContext.getAssemblyContextStack().addAll(parentAssemblyContextStack);
-                    final RDSeffSwitch seffInterpreter = new RDSeffSwitch(seffContext,
-                            RDSeffSwitch.this.basicComponentInstance);
-
-                    if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("Created new RDSeff interpreter for " + ((this.isAsync()) ? "asynced" : "synced")
-                                + " forked baviour: " + this);
-                    }
-                    // no use of parentSwitch.doSwitch() because we want the inner switches
-                    seffInterpreter.doSwitch(forkedBehaviour);
-                }
-
-            });
-        }
-        return processes;
+                abstractAction, eventType, this.context.getThread(), this.context.peekAssemblyContext()));
     }
 
     /**
@@ -675,8 +615,8 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
 
 
     /**
-     * Gets the allocation context for the current assembly context stack. The stack is investigated
-     * in a FIFO-manner, i.e., first upper elements are checked. This is needed for the case of sub
+     * Gets the allocation context for the current assembly context path. The path is investigated
+     * from the innermost to the outermost assembly context. This is needed for the case of sub
      * systems.
      *
      * @param allocation
@@ -686,20 +626,15 @@ class RDSeffSwitch extends SeffSwitch<Object> implements IComposableSwitch {
      *             if no allocation context could be found.
      */
     private AllocationContext getAllocationContext(final Allocation allocation) {
-        // For iterating top-down through a stack see:
-        // http://stackoverflow.com/questions/16992758/is-there-a-bug-in-java-util-stacks-iterator
         for (final AllocationContext allocationContext : allocation.getAllocationContexts_Allocation()) {
-            for (final ListIterator<AssemblyContext> iterator = this.context.getAssemblyContextStack()
-                    .listIterator(this.context.getAssemblyContextStack().size()); iterator.hasPrevious();) {
-                if (allocationContext.getAssemblyContext_AllocationContext().getId()
-                        .equals(iterator.previous().getId())) {
-                    return allocationContext;
-                }
+            if (this.context.getAssemblyContextPath()
+                    .findInnermost(allocationContext.getAssemblyContext_AllocationContext().getId()) != null) {
+                return allocationContext;
             }
         }
 
         throw new PCMModelAccessException("No AllocationContext in Allocation " + allocation + " for AssemblyContext "
-                + this.context.getAssemblyContextStack().peek() + " or its parents.");
+                + this.context.peekAssemblyContext() + " or its parents.");
     }
 
 
@@ -1,9 +1,7 @@
 package org.palladiosimulator.simulizar.interpreter;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Stack;
 import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
@@ -11,7 +9,6 @@ import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.ComposedSwitch;
-import org.palladiosimulator.commons.eclipseutils.ExtensionHelper;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
 import org.palladiosimulator.pcm.core.composition.ComposedStructure;
 import org.palladiosimulator.pcm.core.composition.CompositionFactory;
@@ -27,14 +24,18 @@ import org.palladiosimulator.pcm.repository.RepositoryComponent;
 import org.palladiosimulator.pcm.repository.RepositoryPackage;
 import org.palladiosimulator.pcm.repository.Signature;
 import org.palladiosimulator.pcm.repository.util.RepositorySwitch;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
 import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
 import org.palladiosimulator.pcm.seff.ServiceEffectSpecification;
 import org.palladiosimulator.simulizar.exceptions.PCMModelInterpreterException;
 import org.palladiosimulator.simulizar.interpreter.listener.AssemblyProvidedOperationPassedEvent;
 import org.palladiosimulator.simulizar.interpreter.listener.EventType;
+import org.palladiosimulator.simulizar.launcher.SimuLizarExtensions;
+import org.palladiosimulator.simulizar.network.NetworkSimulation;
 import org.palladiosimulator.simulizar.runtimestate.FQComponentID;
 import org.palladiosimulator.simulizar.runtimestate.SimulatedBasicComponentInstance;
 import org.palladiosimulator.simulizar.runtimestate.SimulatedCompositeComponentInstance;
+import org.palladiosimulator.simulizar.utils.ParameterBindingPlan;
 import org.palladiosimulator.simulizar.utils.SimulatedStackHelper;
 
 import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStack;
@@ -55,17 +56,30 @@ class RepositoryComponentSwitch extends RepositorySwitch<SimulatedStackframe<Obj
     private final ProvidedRole providedRole;
     private final InterpreterDefaultContext context;
     private final AssemblyContext instanceAssemblyContext;
+    private final ResourceContainer callingResourceContainer;
 
     /**
      *
      */
     public RepositoryComponentSwitch(final InterpreterDefaultContext context, final AssemblyContext assemblyContext,
             final Signature signature, final ProvidedRole providedRole) {
+        this(context, assemblyContext, signature, providedRole, null);
+    }
+
+    /**
+     * @param callingResourceContainer
+     *            the resource container of the calling component, or <code>null</code> if the
+     *            call is not transferred over the network, see {@link NetworkSimulation}.
+     */
+    public RepositoryComponentSwitch(final InterpreterDefaultContext context, final AssemblyContext assemblyContext,
+            final Signature signature, final ProvidedRole providedRole,
+            final ResourceContainer callingResourceContainer) {
         super();
         this.context = context;
         this.instanceAssemblyContext = assemblyContext;
         this.signature = signature;
         this.providedRole = providedRole;
+        this.callingResourceContainer = callingResourceContainer;
     }
 
     @Override
@@ -74,16 +88,27 @@ class RepositoryComponentSwitch extends RepositorySwitch<SimulatedStackframe<Obj
             LOGGER.debug("Entering BasicComponent: " + basicComponent);
         }
 
-        // create new stack frame for component parameters
         final SimulatedStack<Object> stack = this.context.getStack();
+
+        // transfer the call if the caller is allocated to another resource container
+        final NetworkSimulation networkSimulation = this.context.getRuntimeState().getNetworkSimulation();
+        ResourceContainer calledResourceContainer = null;
+        if (networkSimulation != null && this.callingResourceContainer != null) {
+            calledResourceContainer = networkSimulation.getResourceContainer(this.context);
+            networkSimulation.transfer(this.context, this.callingResourceContainer, calledResourceContainer,
+                    networkSimulation.getPayloadSize(stack.currentStackFrame()));
+        }
+
+        // create new stack frame for component parameters
+        final ParameterBindingPlan componentParameters = ParameterBindingPlan
+                .of(basicComponent.getComponentParameterUsage_ImplementationComponentType());
         final SimulatedStackframe<Object> componentParameterStackFrame = SimulatedStackHelper
-                .createAndPushNewStackFrame(stack,
-                        basicComponent.getComponentParameterUsage_ImplementationComponentType(),
-                        stack.currentStackFrame());
+                .createAndPushNewStackFrame(stack, componentParameters, stack.currentStackFrame());
 
         // create new stack frame for assembly context component parameters
         SimulatedStackHelper.createAndPushNewStackFrame(stack,
-                this.instanceAssemblyContext.getConfigParameterUsages__AssemblyContext(), componentParameterStackFrame);
+                ParameterBindingPlan.of(this.instanceAssemblyContext.getConfigParameterUsages__AssemblyContext()),
+                componentParameterStackFrame);
 
         final FQComponentID fqID = this.computeFQComponentID();
         if (!this.context.getRuntimeState().getComponentInstanceRegistry().hasComponentInstance(fqID)) {
@@ -92,8 +117,8 @@ class RepositoryComponentSwitch extends RepositorySwitch<SimulatedStackframe<Obj
                 LOGGER.debug("FQComponentID is " + fqID);
             }
             this.context.getRuntimeState().getComponentInstanceRegistry()
-                    .addComponentInstance(new SimulatedBasicComponentInstance(this.context, fqID,
-                            basicComponent.getPassiveResource_BasicComponent()));
+                    .addComponentInstance(new SimulatedBasicComponentInstance(this.context, fqID, this.context
+                            .getRuntimeState().getPassiveResourceIndexRegistry().getIndex(basicComponent)));
         }
 
         // get seffs for call
@@ -109,6 +134,10 @@ class RepositoryComponentSwitch extends RepositorySwitch<SimulatedStackframe<Obj
         stack.removeStackFrame();
         stack.removeStackFrame();
 
+        if (calledResourceContainer != null) {
+            networkSimulation.transfer(this.context, calledResourceContainer, this.callingResourceContainer,
+                    networkSimulation.getPayloadSize(result));
+        }
         return result;
     }
 
@@ -135,7 +164,8 @@ class RepositoryComponentSwitch extends RepositorySwitch<SimulatedStackframe<Obj
                 this.providedRole);
         final RepositoryComponentSwitch repositoryComponentSwitch = new RepositoryComponentSwitch(this.context,
                 connectedProvidedDelegationConnector.getAssemblyContext_ProvidedDelegationConnector(), this.signature,
-                connectedProvidedDelegationConnector.getInnerProvidedRole_ProvidedDelegationConnector());
+                connectedProvidedDelegationConnector.getInnerProvidedRole_ProvidedDelegationConnector(),
+                this.callingResourceContainer);
         return repositoryComponentSwitch
                 .doSwitch(connectedProvidedDelegationConnector.getInnerProvidedRole_ProvidedDelegationConnector());
     }
@@ -145,7 +175,7 @@ class RepositoryComponentSwitch extends RepositorySwitch<SimulatedStackframe<Obj
      */
     @Override
     public SimulatedStackframe<Object> caseProvidedRole(final ProvidedRole providedRole) {
-        this.context.getAssemblyContextStack().push(this.instanceAssemblyContext == SYSTEM_ASSEMBLY_CONTEXT
+        this.context.pushAssemblyContext(this.instanceAssemblyContext == SYSTEM_ASSEMBLY_CONTEXT
                 ? this.generateSystemAssemblyContext(providedRole) : this.instanceAssemblyContext);
         
         this.context.getRuntimeState().getEventNotificationHelper().firePassedEvent(
@@ -154,7 +184,7 @@ class RepositoryComponentSwitch extends RepositorySwitch<SimulatedStackframe<Obj
 
         final SimulatedStackframe<Object> result = this.doSwitch(providedRole.getProvidingEntity_ProvidedRole());
 
-        this.context.getAssemblyContextStack().pop();
+        this.context.popAssemblyContext();
         
         this.context.getRuntimeState().getEventNotificationHelper().firePassedEvent(
             	new AssemblyProvidedOperationPassedEvent<ProvidedRole, Signature>(providedRole, 
@@ -213,7 +243,7 @@ class RepositoryComponentSwitch extends RepositorySwitch<SimulatedStackframe<Obj
             final SimulatedBasicComponentInstance basicComponentInstance = (SimulatedBasicComponentInstance) this.context
                     .getRuntimeState().getComponentInstanceRegistry().getComponentInstance(componentID);
             
-            final List<AbstractRDSeffSwitchFactory> switchFactories = ExtensionHelper
+            final List<AbstractRDSeffSwitchFactory> switchFactories = SimuLizarExtensions
             		.getExecutableExtensions(RDSEFFSWITCH_EXTENSION_POINT_ID, RDSEFFSWITCH_EXTENSION_ATTRIBUTE);
             final  ExplicitDispatchComposedSwitch<Object> interpreter = new ExplicitDispatchComposedSwitch<Object>();
             switchFactories.stream().forEach(s -> interpreter.addSwitch(
@@ -230,12 +260,7 @@ class RepositoryComponentSwitch extends RepositorySwitch<SimulatedStackframe<Obj
     }
 
     private List<AssemblyContext> computeAssemblyContextPath() {
-        final Stack<AssemblyContext> stack = this.context.getAssemblyContextStack();
-        final ArrayList<AssemblyContext> result = new ArrayList<AssemblyContext>(stack.size());
-        for (int i = 0; i < stack.size(); i++) {
-            result.add(stack.get(i));
-        }
-        return result;
+        return this.context.getAssemblyContextPath().toList();
     }
     
     private Optional<AssemblyContext> getNestedComponentInstanceFromAssembly(AssemblyContext contextToFind, AssemblyContext compositeAssembly) {
@@ -1,6 +1,8 @@
 package org.palladiosimulator.simulizar.interpreter;
 
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.EList;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
 import org.palladiosimulator.pcm.repository.OperationSignature;
 import org.palladiosimulator.pcm.usagemodel.AbstractUserAction;
 import org.palladiosimulator.pcm.usagemodel.Branch;
@@ -15,6 +17,7 @@ import org.palladiosimulator.pcm.usagemodel.util.UsagemodelSwitch;
 import org.palladiosimulator.simulizar.exceptions.PCMModelInterpreterException;
 import org.palladiosimulator.simulizar.interpreter.listener.EventType;
 import org.palladiosimulator.simulizar.interpreter.listener.ModelElementPassedEvent;
+import org.palladiosimulator.simulizar.utils.ParameterBindingPlan;
 import org.palladiosimulator.simulizar.utils.SimulatedStackHelper;
 import org.palladiosimulator.simulizar.utils.TransitionDeterminer;
 
@@ -106,7 +109,7 @@ public class UsageScenarioSwitch<T> extends UsagemodelSwitch<T> {
 
         // create new stack frame for input parameter
         SimulatedStackHelper.createAndPushNewStackFrame(this.context.getStack(),
-                entryLevelSystemCall.getInputParameterUsages_EntryLevelSystemCall());
+                ParameterBindingPlan.of(this.getInputParameterUsages(entryLevelSystemCall)));
         providedDelegationSwitch.doSwitch(entryLevelSystemCall.getProvidedRole_EntryLevelSystemCall());
         this.context.getStack().removeStackFrame();
 
@@ -124,6 +127,19 @@ public class UsageScenarioSwitch<T> extends UsagemodelSwitch<T> {
         return super.caseEntryLevelSystemCall(entryLevelSystemCall);
     }
 
+    /**
+     * Gets the input parameter usages which are put on the stack frame of the given call.
+     * Subclasses may override this method to interpret a call with parameters that are not
+     * contained in the call itself.
+     *
+     * @param entryLevelSystemCall
+     *            the call to interpret.
+     * @return the input parameter usages of the call.
+     */
+    protected EList<VariableUsage> getInputParameterUsages(final EntryLevelSystemCall entryLevelSystemCall) {
+        return entryLevelSystemCall.getInputParameterUsages_EntryLevelSystemCall();
+    }
+
     /**
      * @see org.palladiosimulator.pcm.usagemodel.util.UsagemodelSwitch#caseLoop(org.palladiosimulator.pcm.usagemodel.Loop)
      */
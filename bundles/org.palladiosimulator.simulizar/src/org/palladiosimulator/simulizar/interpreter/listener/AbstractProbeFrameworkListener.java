@@ -12,7 +12,6 @@ import java.util.stream.Collectors;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
-import org.palladiosimulator.commons.eclipseutils.ExtensionHelper;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.edp2.util.MetricDescriptionUtility;
 import org.palladiosimulator.metricspec.MetricDescription;
@@ -24,6 +23,7 @@ import org.palladiosimulator.monitorrepository.MonitorRepositoryPackage;
 import org.palladiosimulator.monitorrepository.ProcessingType;
 import org.palladiosimulator.pcm.core.entity.Entity;
 import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
 import org.palladiosimulator.pcm.seff.ExternalCallAction;
 import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
@@ -32,6 +32,8 @@ import org.palladiosimulator.probeframework.probes.Probe;
 import org.palladiosimulator.probeframework.probes.TriggeredProbe;
 import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementModel;
 import org.palladiosimulator.simulizar.access.IModelAccess;
+import org.palladiosimulator.simulizar.launcher.SimuLizarExtensions;
+import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
 import org.palladiosimulator.simulizar.reconfiguration.Reconfigurator;
 import org.palladiosimulator.simulizar.utils.MonitorRepositoryUtil;
 
@@ -76,8 +78,9 @@ public abstract class AbstractProbeFrameworkListener extends AbstractInterpreter
     }
 
     private void initExtensionMeasurements() {
-        Iterable<AbstractRecordingProbeFrameworkListenerDecorator> extensions = ExtensionHelper.getExecutableExtensions(
-                "org.palladiosimulator.simulizar.interpreter.listener.probeframework", "decorator");
+        Iterable<AbstractRecordingProbeFrameworkListenerDecorator> extensions = SimuLizarExtensions
+                .getExecutableExtensions(SimulizarConstants.PROBE_FRAMEWORK_LISTENER_DECORATOR_EXTENSION_POINT_ID,
+                        SimulizarConstants.PROBE_FRAMEWORK_LISTENER_DECORATOR_EXTENSION_POINT_ATTRIBUTE);
         for (AbstractRecordingProbeFrameworkListenerDecorator decorator : extensions) {
             decorator.setProbeFrameworkListener(this);
             decorator.registerMeasurements();
@@ -156,12 +159,22 @@ public abstract class AbstractProbeFrameworkListener extends AbstractInterpreter
         this.endMeasurement(event);
     }
 
+    /**
+     * Starts the measurement of transfers over linking resources, see
+     * {@link org.palladiosimulator.simulizar.network.NetworkSimulation}.
+     */
     @Override
     public <T extends EObject> void beginUnknownElementInterpretation(final ModelElementPassedEvent<T> event) {
+        if (event.getModelElement() instanceof LinkingResource) {
+            this.startMeasurement(event);
+        }
     }
 
     @Override
     public <T extends EObject> void endUnknownElementInterpretation(final ModelElementPassedEvent<T> event) {
+        if (event.getModelElement() instanceof LinkingResource) {
+            this.endMeasurement(event);
+        }
     }
 
     /**
@@ -307,7 +320,7 @@ public abstract class AbstractProbeFrameworkListener extends AbstractInterpreter
      * @param <T>
      * @param event
      */
-    private <T extends Entity> void startMeasurement(final ModelElementPassedEvent<T> event) {
+    private <T extends EObject> void startMeasurement(final ModelElementPassedEvent<T> event) {
         if (this.currentTimeProbes.containsKey(((Entity) event.getModelElement()).getId())
                 && this.simulationIsRunning()) {
             this.currentTimeProbes.get(((Entity) event.getModelElement()).getId()).get(START_PROBE_INDEX)
@@ -318,7 +331,7 @@ public abstract class AbstractProbeFrameworkListener extends AbstractInterpreter
     /**
      * @param event
      */
-    private <T extends Entity> void endMeasurement(final ModelElementPassedEvent<T> event) {
+    private <T extends EObject> void endMeasurement(final ModelElementPassedEvent<T> event) {
         if (this.currentTimeProbes.containsKey(((Entity) event.getModelElement()).getId())
                 && this.simulationIsRunning()) {
             this.currentTimeProbes.get(((Entity) event.getModelElement()).getId()).get(STOP_PROBE_INDEX)
@@ -0,0 +1,18 @@
+package org.palladiosimulator.simulizar.launcher;
+
+/**
+ * Contributes extensions to {@link SimuLizarExtensions} when SimuLizar runs without an extension
+ * registry, e.g., from a plain Java class path. Contributors are found through
+ * {@link java.util.ServiceLoader}, i.e., they are listed in
+ * {@code META-INF/services/org.palladiosimulator.simulizar.launcher.ISimuLizarExtensionContributor}
+ * and contribute what their bundle declares in its plugin.xml.
+ */
+public interface ISimuLizarExtensionContributor {
+
+    /**
+     * Registers the extensions of this contributor by the {@code register} methods of
+     * {@link SimuLizarExtensions}.
+     */
+    void contribute();
+
+}
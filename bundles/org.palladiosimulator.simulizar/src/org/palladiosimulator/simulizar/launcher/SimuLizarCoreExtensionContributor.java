@@ -0,0 +1,23 @@
+package org.palladiosimulator.simulizar.launcher;
+
+import org.palladiosimulator.simulizar.modelobserver.ResourceEnvironmentSyncer;
+import org.palladiosimulator.simulizar.modelobserver.UsageEvolutionSyncer;
+import org.palladiosimulator.simulizar.modelobserver.UsageModelSyncer;
+
+/**
+ * Contributes the extensions the plugin.xml of this bundle declares for SimuLizar's own extension
+ * points, so that they are used without an extension registry as well.
+ */
+public class SimuLizarCoreExtensionContributor implements ISimuLizarExtensionContributor {
+
+    @Override
+    public void contribute() {
+        SimuLizarExtensions.register(SimulizarConstants.MODEL_OBSERVER_EXTENSION_POINT_ID,
+                SimulizarConstants.MODEL_OBSERVER_EXTENSION_POINT_ATTRIBUTE, ResourceEnvironmentSyncer.class);
+        SimuLizarExtensions.register(SimulizarConstants.MODEL_OBSERVER_EXTENSION_POINT_ID,
+                SimulizarConstants.MODEL_OBSERVER_EXTENSION_POINT_ATTRIBUTE, UsageModelSyncer.class);
+        SimuLizarExtensions.register(SimulizarConstants.MODEL_OBSERVER_EXTENSION_POINT_ID,
+                SimulizarConstants.MODEL_OBSERVER_EXTENSION_POINT_ATTRIBUTE, UsageEvolutionSyncer.class);
+    }
+
+}
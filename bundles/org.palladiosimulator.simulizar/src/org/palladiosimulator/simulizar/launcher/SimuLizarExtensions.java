@@ -0,0 +1,250 @@
+package org.palladiosimulator.simulizar.launcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.Platform;
+import org.palladiosimulator.commons.eclipseutils.ExtensionHelper;
+
+/**
+ * Looks up the executable extensions SimuLizar is extended by, i.e., model-load jobs,
+ * configurators, reconfiguration engines and loaders, model observers, RDSEFF switches, probe
+ * framework listener decorators and runtime state accessors.
+ * <p>
+ * Extensions declared in plugin.xml files are taken from the extension registry, if there is one.
+ * Extensions can also be registered programmatically, in which case they are looked up in
+ * addition. Without an extension registry, i.e., when SimuLizar runs from a plain Java class path,
+ * the {@link ISimuLizarExtensionContributor}s found by {@link ServiceLoader} are asked to register
+ * their extensions once, before the first lookup.
+ */
+public final class SimuLizarExtensions {
+
+    private static final Logger LOGGER = Logger.getLogger(SimuLizarExtensions.class);
+
+    /**
+     * The registered configuration elements by extension point id; an element maps attribute
+     * names to the classes instantiated for them.
+     */
+    private static final Map<String, List<Map<String, Class<?>>>> REGISTERED_ELEMENTS = new ConcurrentHashMap<>();
+
+    private static volatile boolean contributorsLoaded = false;
+
+    private SimuLizarExtensions() {
+    }
+
+    /**
+     * Registers an extension with a single executable attribute.
+     *
+     * @param extensionPointId
+     *            the id of the extended extension point.
+     * @param attribute
+     *            the name of the attribute.
+     * @param type
+     *            the class instantiated when the attribute is looked up; it needs a public
+     *            constructor without parameters.
+     */
+    public static void register(final String extensionPointId, final String attribute, final Class<?> type) {
+        register(extensionPointId, Collections.<String, Class<?>> singletonMap(attribute, type));
+    }
+
+    /**
+     * Registers an extension whose configuration element has several executable attributes, e.g.,
+     * a model-load job together with its configuration builder.
+     *
+     * @param extensionPointId
+     *            the id of the extended extension point.
+     * @param attributes
+     *            the classes instantiated for the attributes of the element by attribute name.
+     */
+    public static void register(final String extensionPointId, final Map<String, Class<?>> attributes) {
+        REGISTERED_ELEMENTS.computeIfAbsent(extensionPointId, id -> new CopyOnWriteArrayList<>())
+                .add(new HashMap<>(attributes));
+    }
+
+    /**
+     * Removes the programmatically registered extensions of an extension point.
+     *
+     * @param extensionPointId
+     *            the id of the extension point.
+     */
+    public static void unregister(final String extensionPointId) {
+        REGISTERED_ELEMENTS.remove(extensionPointId);
+    }
+
+    /**
+     * @return whether extensions declared in plugin.xml files are available through an extension
+     *         registry.
+     */
+    public static boolean isExtensionRegistryAvailable() {
+        return Platform.getExtensionRegistry() != null;
+    }
+
+    /**
+     * @param extensionPointId
+     *            the id of the extension point.
+     * @param attribute
+     *            the name of the attribute holding the class of the extension.
+     * @return new instances of the classes given by the attribute for all extensions of the
+     *         extension point.
+     */
+    public static <T> List<T> getExecutableExtensions(final String extensionPointId, final String attribute) {
+        final List<T> result = new ArrayList<>();
+        if (isExtensionRegistryAvailable()) {
+            result.addAll(ExtensionHelper.<T> getExecutableExtensions(extensionPointId, attribute));
+        }
+        result.addAll(SimuLizarExtensions.<T> getRegisteredExtensions(extensionPointId, attribute));
+        return result;
+    }
+
+    /**
+     * @param extensionPointId
+     *            the id of the extension point.
+     * @param attribute
+     *            the name of the attribute holding the class of the extension.
+     * @param elementName
+     *            the name of the configuration elements declaring the extensions in plugin.xml
+     *            files.
+     * @return new instances of the classes given by the attribute for all extensions of the
+     *         extension point.
+     */
+    public static <T> List<T> getExecutableExtensions(final String extensionPointId, final String attribute,
+            final String elementName) {
+        final List<T> result = new ArrayList<>();
+        if (isExtensionRegistryAvailable()) {
+            result.addAll(ExtensionHelper.<T> getExecutableExtensions(extensionPointId, attribute, elementName));
+        }
+        result.addAll(SimuLizarExtensions.<T> getRegisteredExtensions(extensionPointId, attribute));
+        return result;
+    }
+
+    /**
+     * @param extensionPointId
+     *            the id of the extension point.
+     * @param attribute
+     *            the name of the attribute holding the class of the extension.
+     * @param filterAttribute
+     *            the name of another attribute of the same configuration element.
+     * @param filterValue
+     *            the class name the other attribute has to refer to.
+     * @return a new instance of the class given by the attribute of the first extension whose
+     *         other attribute refers to the class name, or {@code null} if there is none.
+     */
+    public static <T> T getExecutableExtension(final String extensionPointId, final String attribute,
+            final String filterAttribute, final String filterValue) {
+        if (isExtensionRegistryAvailable()) {
+            final T extension = ExtensionHelper.<T> getExecutableExtension(extensionPointId, attribute,
+                    filterAttribute, filterValue);
+            if (extension != null) {
+                return extension;
+            }
+        }
+        for (final Map<String, Class<?>> element : getRegisteredElements(extensionPointId)) {
+            final Class<?> filterType = element.get(filterAttribute);
+            if (filterType != null && filterType.getName().equals(filterValue) && element.containsKey(attribute)) {
+                return SimuLizarExtensions.<T> instantiate(element.get(attribute));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Instantiates several attributes per extension in a single pass over the extensions, e.g., a
+     * model-load job together with its configuration builder.
+     *
+     * @param extensionPointId
+     *            the id of the extension point.
+     * @param elementName
+     *            the name of the configuration elements declaring the extensions in plugin.xml
+     *            files.
+     * @param attributes
+     *            the names of the attributes holding classes.
+     * @return per extension, new instances of the classes given by the attributes by attribute
+     *         name; optional attributes an extension does not specify are left out.
+     */
+    public static List<Map<String, Object>> getExecutableExtensionElements(final String extensionPointId,
+            final String elementName, final String... attributes) {
+        final List<Map<String, Object>> result = new ArrayList<>();
+        if (isExtensionRegistryAvailable()) {
+            for (final IConfigurationElement element : Platform.getExtensionRegistry()
+                    .getConfigurationElementsFor(extensionPointId)) {
+                if (!element.getName().equals(elementName)) {
+                    continue;
+                }
+                final Map<String, Object> instances = new HashMap<>();
+                for (final String attribute : attributes) {
+                    if (element.getAttribute(attribute) != null) {
+                        instances.put(attribute, createExecutableExtension(element, attribute));
+                    }
+                }
+                result.add(instances);
+            }
+        }
+        for (final Map<String, Class<?>> element : getRegisteredElements(extensionPointId)) {
+            final Map<String, Object> instances = new HashMap<>();
+            for (final String attribute : attributes) {
+                if (element.containsKey(attribute)) {
+                    instances.put(attribute, instantiate(element.get(attribute)));
+                }
+            }
+            result.add(instances);
+        }
+        return result;
+    }
+
+    private static <T> List<T> getRegisteredExtensions(final String extensionPointId, final String attribute) {
+        final List<T> result = new ArrayList<>();
+        for (final Map<String, Class<?>> element : getRegisteredElements(extensionPointId)) {
+            if (element.containsKey(attribute)) {
+                result.add(SimuLizarExtensions.<T> instantiate(element.get(attribute)));
+            }
+        }
+        return result;
+    }
+
+    private static List<Map<String, Class<?>>> getRegisteredElements(final String extensionPointId) {
+        if (!contributorsLoaded && !isExtensionRegistryAvailable()) {
+            loadContributors();
+        }
+        final List<Map<String, Class<?>>> elements = REGISTERED_ELEMENTS.get(extensionPointId);
+        return elements == null ? Collections.<Map<String, Class<?>>> emptyList() : elements;
+    }
+
+    private static synchronized void loadContributors() {
+        if (contributorsLoaded) {
+            return;
+        }
+        contributorsLoaded = true;
+        for (final ISimuLizarExtensionContributor contributor : ServiceLoader
+                .load(ISimuLizarExtensionContributor.class)) {
+            LOGGER.debug("Registering extensions of " + contributor.getClass().getName());
+            contributor.contribute();
+        }
+    }
+
+    private static Object createExecutableExtension(final IConfigurationElement element, final String attribute) {
+        try {
+            return element.createExecutableExtension(attribute);
+        } catch (final CoreException e) {
+            throw new IllegalStateException(
+                    "Extension " + element.getAttribute(attribute) + " could not be instantiated", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T instantiate(final Class<?> type) {
+        try {
+            return (T) type.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Extension " + type.getName() + " could not be instantiated", e);
+        }
+    }
+}
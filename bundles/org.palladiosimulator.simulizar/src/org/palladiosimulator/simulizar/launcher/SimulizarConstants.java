@@ -20,6 +20,29 @@ public class SimulizarConstants {
     public static final String USAGEEVOLUTION_FILE = "usageEvolutionFile";
     public static final String SERVICELEVELOBJECTIVEREPOSITORY_FILE = "serviceLevelObjectiveRepositoryFile";
 
+    // Warm-up detection configuration identifiers
+    public static final String WARMUP_DETECTOR = "warmupDetector";
+    public static final String WARMUP_BATCH_SIZE = "warmupBatchSize";
+    public static final String WARMUP_MINIMUM_SAMPLES = "warmupMinimumSamples";
+    public static final String WARMUP_FILTER_MODE = "warmupFilterMode";
+    public static final String WARMUP_DETECTION_TIME_LIMIT = "warmupDetectionTimeLimit";
+
+    // Confidence stop condition configuration identifiers
+    public static final String CONFIDENCE_STOP_CONDITIONS = "confidenceStopConditions";
+    public static final String CONFIDENCE_STOP_MODE = "confidenceStopMode";
+
+    // Passive resource configuration identifiers
+    public static final String PASSIVE_RESOURCE_SEMANTICS = "passiveResourceSemantics";
+
+    // Network simulation configuration identifiers
+    public static final String SIMULATE_NETWORK = "simulateNetwork";
+    public static final String NETWORK_DEFAULT_PAYLOAD_SIZE = "networkDefaultPayloadSize";
+
+    // Model loading configuration identifiers
+    public static final String PARALLEL_MODEL_LOADING = "parallelModelLoading";
+    public static final String MODEL_LOADING_THREADS = "modelLoadingThreads";
+    public static final String MODEL_CACHE_FOLDER = "modelCacheFolder";
+
     /**
      * Id of the extension point used for reconfiguration engines
      */
@@ -38,6 +61,18 @@ public class SimulizarConstants {
     public static final String CONFIGURATOR_EXTENSION_POINT_ID = "org.palladiosimulator.simulizar.configurator";
     public static final String CONFIGURATOR_EXTENSION_POINT_ATTRIBUTE = "configurator";
 
+    /**
+     * Id of the extension point used for model observers
+     */
+    public static final String MODEL_OBSERVER_EXTENSION_POINT_ID = "org.palladiosimulator.simulizar.modelobserver";
+    public static final String MODEL_OBSERVER_EXTENSION_POINT_ATTRIBUTE = "modelObserver";
+
+    /**
+     * Id of the extension point used for decorators of the probe framework listener
+     */
+    public static final String PROBE_FRAMEWORK_LISTENER_DECORATOR_EXTENSION_POINT_ID = "org.palladiosimulator.simulizar.interpreter.listener.probeframework";
+    public static final String PROBE_FRAMEWORK_LISTENER_DECORATOR_EXTENSION_POINT_ATTRIBUTE = "decorator";
+
     /*
      * Set the file extensions which the dialogs will use as selection filter and for file name
      * validation.
@@ -56,5 +91,31 @@ public class SimulizarConstants {
     public static final String DEFAULT_USAGEEVOLUTION_FILE = "";
     public static final String DEFAULT_INFRASTRUCTURE_MODEL_FILE = "";
     public static final String DEFAULT_SERVICELEVELOBJECTIVE_FILE = "";
+    /** Default warm-up detector, i.e. none. */
+    public static final String DEFAULT_WARMUP_DETECTOR = "";
+    /** Default initial number of samples per batch of the warm-up detectors. */
+    public static final String DEFAULT_WARMUP_BATCH_SIZE = "5";
+    /** Default number of samples before which the steady state of a series is never detected. */
+    public static final String DEFAULT_WARMUP_MINIMUM_SAMPLES = "100";
+    /** Default treatment of warm-up samples, i.e. tagging the measurements. */
+    public static final String DEFAULT_WARMUP_FILTER_MODE = "TAG";
+    /** Default simulated time within which the steady state has to be detected, 0 disables the limit. */
+    public static final String DEFAULT_WARMUP_DETECTION_TIME_LIMIT = "0";
+    /** Default confidence targets of the run, i.e. none. */
+    public static final String DEFAULT_CONFIDENCE_STOP_CONDITIONS = "";
+    /** Default combination of the confidence stop conditions, i.e. all targets have to be reached. */
+    public static final String DEFAULT_CONFIDENCE_STOP_MODE = "ALL_OF";
+    /** Default semantics of passive resources, i.e. FIFO for all of them. */
+    public static final String DEFAULT_PASSIVE_RESOURCE_SEMANTICS = "";
+    /** Default of the network simulation, i.e. external calls are not delayed by linking resources. */
+    public static final String DEFAULT_SIMULATE_NETWORK = "false";
+    /** Default payload size in bytes of calls and replies without BYTESIZE characterisation. */
+    public static final String DEFAULT_NETWORK_DEFAULT_PAYLOAD_SIZE = "0";
+    /** Default of the model loading, i.e. the models are parsed one after the other. */
+    public static final String DEFAULT_PARALLEL_MODEL_LOADING = "false";
+    /** Default number of threads parsing models, 0 uses one thread per processor. */
+    public static final String DEFAULT_MODEL_LOADING_THREADS = "0";
+    /** Default folder of the cache of parsed models, i.e. none. */
+    public static final String DEFAULT_MODEL_CACHE_FOLDER = "";
 
 }
@@ -4,6 +4,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.measure.unit.SI;
+
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.util.EList;
@@ -22,6 +24,7 @@ import org.palladiosimulator.edp2.models.Repository.Repository;
 import org.palladiosimulator.measurementframework.MeasuringValue;
 import org.palladiosimulator.metricspec.MetricDescription;
 import org.palladiosimulator.metricspec.MetricSetDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.recorderframework.edp2.config.AbstractEDP2RecorderConfigurationFactory;
 import org.palladiosimulator.servicelevelobjective.ServiceLevelObjective;
 import org.palladiosimulator.servicelevelobjective.edp2.filters.SLOViolationEDP2DatasourceFilter;
@@ -29,6 +32,7 @@ import org.palladiosimulator.servicelevelobjective.edp2.filters.SLOViolationEDP2
 import org.palladiosimulator.simulizar.access.ModelAccess;
 import org.palladiosimulator.simulizar.access.ModelAccessUseOriginalReferences;
 import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.warmup.WarmupFilteringRecorderConfiguration;
 
 import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
 import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
@@ -42,6 +46,8 @@ public class EvaluateResultsJob extends SequentialBlackboardInteractingJob<MDSDB
     private final SimuLizarWorkflowConfiguration configuration;
     private ExperimentSetting experimentSetting;
     private EList<ServiceLevelObjective> serviceLevelObjectives;
+    private long numberOfMeasurements = -1L;
+    private long numberOfSloViolations = -1L;
     
     public EvaluateResultsJob(final SimuLizarWorkflowConfiguration configuration) {
         super();
@@ -83,6 +89,8 @@ public class EvaluateResultsJob extends SequentialBlackboardInteractingJob<MDSDB
             this.experimentSetting.getExperimentRuns().get(lastExperiment);
 
             final long[] sloViolations = this.computeSloViolations();
+            this.numberOfMeasurements = sloViolations[0];
+            this.numberOfSloViolations = sloViolations[1];
             if(sloViolations[1] == 0){
             	this.LOGGER.info("THE STATE WITH NO SLO VIOLATIONS WAS REACHED.");
             	progressMonitor.setCanceled(true);
@@ -99,7 +107,25 @@ public class EvaluateResultsJob extends SequentialBlackboardInteractingJob<MDSDB
     }
 
     /**
-     * Computes the number of SLO violations.
+     * @return the number of measurements the service level objectives were evaluated on, or -1 if
+     *         the job has not evaluated them.
+     */
+    public long getNumberOfMeasurements() {
+        return this.numberOfMeasurements;
+    }
+
+    /**
+     * @return the number of measurements violating a service level objective, or -1 if the job has
+     *         not evaluated them.
+     */
+    public long getNumberOfSloViolations() {
+        return this.numberOfSloViolations;
+    }
+
+    /**
+     * Computes the number of SLO violations. If the warm-up period of a measurement has been
+     * detected, but its samples have not been dropped, the samples of the warm-up period are not
+     * taken into account.
      *
      * @return the number of found SLO violations.
      */
@@ -118,15 +144,16 @@ public class EvaluateResultsJob extends SequentialBlackboardInteractingJob<MDSDB
             final Map<String, Object> properties = new HashMap<String, Object>(1);
             properties.put(SLOViolationEDP2DatasourceFilterConfiguration.SLO_KEY, serviceLevelObjective);
 
+            final double truncationTime = this.getTruncationTime(measurement);
             final IDataSource dataSource = new Edp2DataTupleDataSource(rawMeasurements);
             final MetricDescription metricDescription = dataSource.getMetricDesciption();
-            totalMeasurements += dataSource.getDataStream().size();
+            totalMeasurements += this.countFrom(dataSource.getDataStream(), truncationTime);
             final SLOViolationEDP2DatasourceFilter sloFilter = new SLOViolationEDP2DatasourceFilter(dataSource,
                     metricDescription);
             sloFilter.setProperties(properties);
             final IDataStream<MeasuringValue> dataStream = sloFilter.getDataStream();
 
-            sloViolations += dataStream.size();
+            sloViolations += this.countFrom(dataStream, truncationTime);
             dataStream.close();
         }
         
@@ -137,6 +164,42 @@ public class EvaluateResultsJob extends SequentialBlackboardInteractingJob<MDSDB
         return result;
     }
 
+    /**
+     * Returns the point in time of the first steady-state sample of the given measurement, as
+     * tagged by a {@link WarmupFilteringRecorderConfiguration}.
+     *
+     * @param measurement
+     *            the measurement to be investigated.
+     * @return the point in time in seconds, or negative infinity if all samples are to be taken
+     *         into account.
+     */
+    private double getTruncationTime(final Measurement measurement) {
+        final Object truncationTime = measurement.getAdditionalInformation()
+                .get(WarmupFilteringRecorderConfiguration.TRUNCATION_TIME_KEY);
+        final Object samplesDropped = measurement.getAdditionalInformation()
+                .get(WarmupFilteringRecorderConfiguration.SAMPLES_DROPPED_KEY);
+        if (truncationTime == null || (samplesDropped != null && Boolean.parseBoolean(samplesDropped.toString()))) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        this.LOGGER.info("Skipping warm-up samples before " + truncationTime + " s of measurement "
+                + measurement.getMeasuringType().getMeasuringPoint().getStringRepresentation());
+        return Double.parseDouble(truncationTime.toString());
+    }
+
+    private long countFrom(final IDataStream<MeasuringValue> dataStream, final double truncationTime) {
+        if (truncationTime == Double.NEGATIVE_INFINITY) {
+            return dataStream.size();
+        }
+        long result = 0L;
+        for (final MeasuringValue measuringValue : dataStream) {
+            if (measuringValue.getMeasureForMetric(MetricDescriptionConstants.POINT_IN_TIME_METRIC)
+                    .doubleValue(SI.SECOND) >= truncationTime) {
+                result++;
+            }
+        }
+        return result;
+    }
+
     /**
      * Finds the measurements referenced by the SLO in the given measurements lists. For
      * identification, this methods tries to match metric IDs and measuring point names.
@@ -60,9 +60,16 @@ public class LoadPCMModelsInterpreterJob extends LoadPCMModelsJob {
         final ResourceSetPartition pcmPartition = this.blackboard
                 .getPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID);
                 
-        final ResourceSetPartition pcmOriginalPartition = new PCMResourceSetPartition();
-        this.blackboard.addPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID,
-                pcmOriginalPartition);
+        // the partition may have been filled by the parallel model loading already
+        final ResourceSetPartition pcmOriginalPartition;
+        if (this.blackboard.hasPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID)) {
+            pcmOriginalPartition = this.blackboard
+                    .getPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID);
+        } else {
+            pcmOriginalPartition = new PCMResourceSetPartition();
+            this.blackboard.addPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID,
+                    pcmOriginalPartition);
+        }
 
         // Load the PCM model and its middleware completions
         LOGGER.info("Loading PCM Model Files");
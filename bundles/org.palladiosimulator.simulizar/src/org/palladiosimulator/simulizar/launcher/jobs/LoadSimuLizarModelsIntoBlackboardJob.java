@@ -1,7 +1,10 @@
 package org.palladiosimulator.simulizar.launcher.jobs;
 
+import java.util.List;
+import java.util.Map;
+
 import org.palladiosimulator.analyzer.workflow.jobs.PreparePCMBlackboardPartitionJob;
-import org.palladiosimulator.commons.eclipseutils.ExtensionHelper;
+import org.palladiosimulator.simulizar.launcher.SimuLizarExtensions;
 import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
 import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
 
@@ -36,6 +39,10 @@ public class LoadSimuLizarModelsIntoBlackboardJob extends SequentialBlackboardIn
         super(false);
 
         this.addJob(new PreparePCMBlackboardPartitionJob());
+        if (configuration.isParallelModelLoading()) {
+            // the models are parsed in parallel upfront, the following jobs find them loaded
+            this.addJob(new ParallelLoadModelsIntoBlackboardJob(configuration));
+        }
         this.addJob(new LoadPCMModelsInterpreterJob(configuration));
         this.addJob(new LoadMonitorRepositoryModelIntoBlackboardJob(configuration));
         this.addJob(new LoadServiceLevelObjectiveRepositoryIntoBlackboardJob(configuration));
@@ -46,19 +53,19 @@ public class LoadSimuLizarModelsIntoBlackboardJob extends SequentialBlackboardIn
     }
 
     private void addModelLoadExtensionJobs(final SimuLizarWorkflowConfiguration configuration) {
-        final Iterable<AbstractWorkflowExtensionJob<MDSDBlackboard>> loadJobs = ExtensionHelper.getExecutableExtensions(
+        // jobs and their optional config builders are instantiated in a single registry pass
+        final List<Map<String, Object>> extensions = SimuLizarExtensions.getExecutableExtensionElements(
                 SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_ID,
                 SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_JOB_ATTRIBUTE,
-                SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_JOB_ATTRIBUTE);
+                SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_JOB_ATTRIBUTE,
+                SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_JOB_CONFIG_BUILDER_ATTRIBUTE);
 
-        for (final AbstractWorkflowExtensionJob<MDSDBlackboard> loadJob : loadJobs) {
-            // check if corresponding config builder is available
-            // filter available extensions by name of job class
-            // this can be improved
-            final AbstractWorkflowExtensionConfigurationBuilder builder = ExtensionHelper.getExecutableExtension(
-                    SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_ID,
-                    SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_JOB_CONFIG_BUILDER_ATTRIBUTE,
-                    SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_JOB_ATTRIBUTE, loadJob.getClass().getName());
+        for (final Map<String, Object> extension : extensions) {
+            @SuppressWarnings("unchecked")
+            final AbstractWorkflowExtensionJob<MDSDBlackboard> loadJob = (AbstractWorkflowExtensionJob<MDSDBlackboard>) extension
+                    .get(SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_JOB_ATTRIBUTE);
+            final AbstractWorkflowExtensionConfigurationBuilder builder = (AbstractWorkflowExtensionConfigurationBuilder) extension
+                    .get(SimulizarConstants.MODEL_LOAD_EXTENSION_POINT_JOB_CONFIG_BUILDER_ATTRIBUTE);
             if (builder != null) {
                 // may be null as it is an optional attribute
                 loadJob.setJobConfiguration(builder.buildConfiguration(configuration.getAttributes()));
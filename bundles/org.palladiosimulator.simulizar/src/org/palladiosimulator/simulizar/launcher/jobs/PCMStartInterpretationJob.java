@@ -4,10 +4,10 @@ import java.util.List;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.palladiosimulator.commons.eclipseutils.ExtensionHelper;
 import org.palladiosimulator.simulizar.access.ModelAccess;
 import org.palladiosimulator.simulizar.access.ModelAccessUseOriginalReferences;
 import org.palladiosimulator.simulizar.launcher.IConfigurator;
+import org.palladiosimulator.simulizar.launcher.SimuLizarExtensions;
 import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
 import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
 import org.palladiosimulator.simulizar.runtimestate.IRuntimeStateAccessor;
@@ -54,7 +54,7 @@ public class PCMStartInterpretationJob implements IBlackboardInteractingJob<MDSD
 
         LOGGER.info("Initialise Simulizar runtime state");
 
-        final List<IConfigurator> configurators = ExtensionHelper.getExecutableExtensions(
+        final List<IConfigurator> configurators = SimuLizarExtensions.getExecutableExtensions(
                 SimulizarConstants.CONFIGURATOR_EXTENSION_POINT_ID,
                 SimulizarConstants.CONFIGURATOR_EXTENSION_POINT_ATTRIBUTE);
 
@@ -79,7 +79,7 @@ public class PCMStartInterpretationJob implements IBlackboardInteractingJob<MDSD
     }
 
     private void initializeRuntimeStateAccessors(final SimuLizarRuntimeState runtimeState) {
-        final Iterable<IRuntimeStateAccessor> stateAccessors = ExtensionHelper.getExecutableExtensions(
+        final Iterable<IRuntimeStateAccessor> stateAccessors = SimuLizarExtensions.getExecutableExtensions(
                 SimulizarConstants.RUNTIME_STATE_ACCESS_EXTENSION_POINT_ID,
                 SimulizarConstants.RUNTIME_STATE_ACCESS_EXTENSION_POINT_ACCESSOR_ATTRIBUTE);
 
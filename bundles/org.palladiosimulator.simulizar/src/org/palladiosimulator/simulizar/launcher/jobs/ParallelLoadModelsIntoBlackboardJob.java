@@ -0,0 +1,135 @@
+package org.palladiosimulator.simulizar.launcher.jobs;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.analyzer.workflow.jobs.LoadPCMModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.modelloading.ModelLoadReport;
+import org.palladiosimulator.simulizar.modelloading.ModelResourceCache;
+import org.palladiosimulator.simulizar.modelloading.ParallelModelLoader;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+
+import de.uka.ipd.sdq.workflow.jobs.CleanupFailedException;
+import de.uka.ipd.sdq.workflow.jobs.IBlackboardInteractingJob;
+import de.uka.ipd.sdq.workflow.jobs.IJob;
+import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
+import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.ResourceSetPartition;
+
+/**
+ * Job for parsing the PCM models, the monitor repository, the service level objectives and the
+ * usage evolution model in parallel, together with all models they reference. The parsed models
+ * are merged into the PCM partition and the analyzed PCM partition of the blackboard, so that the
+ * jobs loading these models find them loaded and only resolve proxies.
+ *
+ * @see ParallelModelLoader
+ */
+public class ParallelLoadModelsIntoBlackboardJob implements IJob, IBlackboardInteractingJob<MDSDBlackboard> {
+
+    private static final Logger LOGGER = Logger.getLogger(ParallelLoadModelsIntoBlackboardJob.class);
+
+    private static final String FILE_PREFIX = "file:///";
+
+    private MDSDBlackboard blackboard;
+
+    private final SimuLizarWorkflowConfiguration configuration;
+
+    private ModelLoadReport report;
+
+    /**
+     * Constructor
+     *
+     * @param configuration
+     *            the SimuLizar workflow configuration.
+     */
+    public ParallelLoadModelsIntoBlackboardJob(final SimuLizarWorkflowConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * @see de.uka.ipd.sdq.workflow.IJob#execute(org.eclipse.core.runtime.IProgressMonitor)
+     */
+    @Override
+    public void execute(final IProgressMonitor monitor) throws JobFailedException, UserCanceledException {
+        final ResourceSetPartition pcmPartition = this.blackboard
+                .getPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID);
+        final ResourceSetPartition pcmAnalyzedPartition = new PCMResourceSetPartition();
+        this.blackboard.addPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID,
+                pcmAnalyzedPartition);
+
+        // the URIs are the ones the loading jobs use, so that they find the merged resources
+        final List<URI> pcmModelURIs = new ArrayList<URI>();
+        for (final String modelFile : this.configuration.getPCMModelFiles()) {
+            pcmModelURIs.add(URI.createURI(modelFile));
+        }
+        final List<URI> modelURIs = new ArrayList<URI>(pcmModelURIs);
+        for (final String path : new String[] { this.configuration.getMonitorRepositoryFile(),
+                this.configuration.getServiceLevelObjectivesFile(), this.configuration.getUsageEvolutionFile() }) {
+            if (path != null && !path.equals("")) {
+                modelURIs.add(URI.createURI(
+                        path.startsWith("platform:") || path.startsWith(FILE_PREFIX) ? path : FILE_PREFIX + path));
+            }
+        }
+
+        final String cacheFolder = this.configuration.getModelCacheFolder();
+        final ModelResourceCache cache = cacheFolder == null || cacheFolder.isEmpty() ? null
+                : new ModelResourceCache(new File(cacheFolder));
+        final ParallelModelLoader loader = new ParallelModelLoader(this.configuration.getModelLoadingThreads(), cache);
+        monitor.beginTask(this.getName(), IProgressMonitor.UNKNOWN);
+        try {
+            // the analyzed partition only gets the given models, the others are loaded on demand
+            final ParallelModelLoader.ModelBatch pcmBatch = loader.load(pcmPartition.getResourceSet(), modelURIs,
+                    true);
+            final ParallelModelLoader.ModelBatch pcmAnalyzedBatch = loader
+                    .load(pcmAnalyzedPartition.getResourceSet(), pcmModelURIs, false);
+            pcmBatch.merge(monitor);
+            pcmAnalyzedBatch.merge(monitor);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobFailedException("Loading the models was interrupted", e);
+        } finally {
+            loader.shutdown();
+            monitor.done();
+        }
+        this.report = loader.getReport();
+        this.report.log(LOGGER);
+    }
+
+    /**
+     * @return the loading times of the models, or <code>null</code> if the job was not executed.
+     */
+    public ModelLoadReport getReport() {
+        return this.report;
+    }
+
+    /**
+     * @see de.uka.ipd.sdq.workflow.IJob#getName()
+     */
+    @Override
+    public String getName() {
+        return "Parse Models in Parallel";
+    }
+
+    /**
+     * @see de.uka.ipd.sdq.workflow.IJob#rollback(org.eclipse.core.runtime.IProgressMonitor)
+     */
+    @Override
+    public void cleanup(final IProgressMonitor monitor) throws CleanupFailedException {
+
+    }
+
+    /**
+     * @see de.uka.ipd.sdq.workflow.IBlackboardInteractingJob#setBlackboard(de.uka.ipd.sdq.workflow.Blackboard)
+     */
+    @Override
+    public void setBlackboard(final MDSDBlackboard blackboard) {
+        this.blackboard = blackboard;
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.palladiosimulator.simulizar.modelloading;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * The time it took to load each model of a {@link ParallelModelLoader}, and whether it was taken
+ * from the {@link ModelResourceCache}.
+ */
+public class ModelLoadReport {
+
+    /**
+     * The loading of a single model.
+     */
+    public static final class Entry {
+
+        private final URI uri;
+        private final long nanos;
+        private final boolean cached;
+        private final boolean failed;
+
+        private Entry(final URI uri, final long nanos, final boolean cached, final boolean failed) {
+            this.uri = uri;
+            this.nanos = nanos;
+            this.cached = cached;
+            this.failed = failed;
+        }
+
+        public URI getURI() {
+            return this.uri;
+        }
+
+        /**
+         * @return the time it took to parse the model or to read its cache entry.
+         */
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        public boolean isCached() {
+            return this.cached;
+        }
+
+        /**
+         * @return whether the model could not be loaded; it is left to be loaded on demand then.
+         */
+        public boolean isFailed() {
+            return this.failed;
+        }
+
+        @Override
+        public String toString() {
+            return this.uri + ": " + this.nanos / 1000000L + " ms"
+                    + (this.failed ? " (failed)" : this.cached ? " (cached)" : "");
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<Entry>();
+    private long firstStart = Long.MAX_VALUE;
+    private long lastEnd = Long.MIN_VALUE;
+
+    synchronized void add(final URI uri, final long nanos, final boolean cached, final boolean failed) {
+        this.entries.add(new Entry(uri, nanos, cached, failed));
+    }
+
+    synchronized void addBatch(final long start, final long end) {
+        this.firstStart = Math.min(this.firstStart, start);
+        this.lastEnd = Math.max(this.lastEnd, end);
+    }
+
+    /**
+     * @return the entries in the order the models finished loading.
+     */
+    public synchronized List<Entry> getEntries() {
+        return Collections.unmodifiableList(new ArrayList<Entry>(this.entries));
+    }
+
+    /**
+     * @return the time from the start of the first batch of models until the last batch was
+     *         loaded.
+     */
+    public synchronized long getWallClockNanos() {
+        return this.lastEnd < this.firstStart ? 0L : this.lastEnd - this.firstStart;
+    }
+
+    /**
+     * @return the number of models taken from the cache.
+     */
+    public synchronized int getCacheHits() {
+        int hits = 0;
+        for (final Entry entry : this.entries) {
+            if (entry.isCached()) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Logs a summary, and the entries by descending loading time on debug level.
+     *
+     * @param logger
+     *            the logger to log to.
+     */
+    public void log(final Logger logger) {
+        final List<Entry> sortedEntries = new ArrayList<Entry>(this.getEntries());
+        logger.info("Loaded " + sortedEntries.size() + " models in " + this.getWallClockNanos() / 1000000L + " ms, "
+                + this.getCacheHits() + " of them from the cache");
+        if (logger.isDebugEnabled()) {
+            Collections.sort(sortedEntries, new Comparator<Entry>() {
+
+                @Override
+                public int compare(final Entry first, final Entry second) {
+                    return Long.compare(second.getNanos(), first.getNanos());
+                }
+            });
+            for (final Entry entry : sortedEntries) {
+                logger.debug(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.palladiosimulator.simulizar.modelloading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.CommonPlugin;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+
+/**
+ * An on-disk cache of parsed models in the binary resource format of EMF. Entries are kept by the
+ * absolute path, size and modification time of the model file, so that an entry is not found
+ * anymore once the file is changed; outdated entries are left in the cache folder.
+ * <p>
+ * Only models in local files are cached. Models with XMI ids are not cached either, because the
+ * binary format does not keep them and references into such models rely on them.
+ */
+public class ModelResourceCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ModelResourceCache.class);
+    private static final String ENTRY_FILE_EXTENSION = ".bin";
+
+    private final File folder;
+
+    /**
+     * @param folder
+     *            the folder the cache entries are kept in; it is created if necessary.
+     */
+    public ModelResourceCache(final File folder) {
+        super();
+        this.folder = folder;
+    }
+
+    public File getFolder() {
+        return this.folder;
+    }
+
+    /**
+     * Loads a model from its cache entry, if there is one.
+     *
+     * @param uri
+     *            the URI of the model.
+     * @param resourceSet
+     *            the resource set to create the resource of the model in.
+     * @return the resource of the model, created by the resource factory registered for the URI,
+     *         or <code>null</code> if there is no cache entry.
+     */
+    public Resource load(final URI uri, final ResourceSet resourceSet) {
+        final File entry = this.getEntry(uri, resourceSet);
+        if (entry == null || !entry.isFile()) {
+            return null;
+        }
+        final Resource resource = resourceSet.createResource(uri);
+        if (resource == null) {
+            return null;
+        }
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(entry.toPath()))) {
+            new BinaryResourceImpl.EObjectInputStream(input, Collections.emptyMap()).loadResource(resource);
+            return resource;
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Cache entry of " + uri + " could not be read, parsing the model instead", e);
+            resourceSet.getResources().remove(resource);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a parsed model, unless it is not cached.
+     *
+     * @param resource
+     *            the resource of the model.
+     */
+    public void store(final Resource resource) {
+        if (resource instanceof XMLResource && !((XMLResource) resource).getEObjectToIDMap().isEmpty()) {
+            return;
+        }
+        final File entry = this.getEntry(resource.getURI(), resource.getResourceSet());
+        if (entry == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(this.folder.toPath());
+            // written to a file of its own first, so that concurrent loads never read a partial entry
+            final File temporaryEntry = File.createTempFile(entry.getName(), null, this.folder);
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporaryEntry.toPath()))) {
+                final BinaryResourceImpl.EObjectOutputStream eObjectOutput = new BinaryResourceImpl.EObjectOutputStream(
+                        output, Collections.emptyMap());
+                eObjectOutput.saveResource(resource);
+                eObjectOutput.flush();
+            }
+            Files.move(temporaryEntry.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Cache entry of " + resource.getURI() + " could not be written", e);
+        }
+    }
+
+    /**
+     * @return the cache entry of the model, or <code>null</code> if the model is not in a local
+     *         file.
+     */
+    private File getEntry(final URI uri, final ResourceSet resourceSet) {
+        final URI normalizedURI = resourceSet == null ? uri : resourceSet.getURIConverter().normalize(uri);
+        final URI localURI = CommonPlugin.asLocalURI(normalizedURI);
+        if (!localURI.isFile()) {
+            return null;
+        }
+        final File file = new File(localURI.toFileString());
+        if (!file.isFile()) {
+            return null;
+        }
+        final String key = file.getAbsolutePath() + '\n' + file.length() + '\n' + file.lastModified();
+        return new File(this.folder, digest(key) + ENTRY_FILE_EXTENSION);
+    }
+
+    private static String digest(final String key) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder result = new StringBuilder(hash.length * 2);
+            for (final byte b : hash) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
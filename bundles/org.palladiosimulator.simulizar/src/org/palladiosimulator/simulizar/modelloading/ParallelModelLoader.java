@@ -0,0 +1,255 @@
+package org.palladiosimulator.simulizar.modelloading;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Parses models in parallel. Each model is parsed into a resource set of its own by a thread of
+ * the loader; the parsed resources are merged into the resource set they belong to afterwards, by
+ * the calling thread, so that no resource set is accessed by two threads at a time. Proxies are
+ * not resolved while parsing; the models referenced by a parsed model can be parsed as well,
+ * though, so that resolving the proxies after the merge does not need to parse anything.
+ * <p>
+ * Models that cannot be parsed are left out and reported as failed, so that they are loaded on
+ * demand like before, with the same errors. EMF packages are looked up under a lock, because their
+ * registry and the initialization of generated packages are not thread-safe.
+ */
+public class ParallelModelLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(ParallelModelLoader.class);
+    private static final Object PACKAGE_LOCK = new Object();
+    private static final AtomicInteger LOADER_NUMBER = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final ModelResourceCache cache;
+    private final ModelLoadReport report = new ModelLoadReport();
+
+    /**
+     * @param threads
+     *            the number of threads parsing models, or 0 for one thread per available processor.
+     * @param cache
+     *            the cache to take parsed models from and to store them in, or <code>null</code>.
+     */
+    public ParallelModelLoader(final int threads, final ModelResourceCache cache) {
+        super();
+        final int numberOfThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        final int loaderNumber = LOADER_NUMBER.incrementAndGet();
+        this.executor = Executors.newFixedThreadPool(numberOfThreads, new ThreadFactory() {
+
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable,
+                        "simulizar-model-loader-" + loaderNumber + "-" + this.threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.cache = cache;
+    }
+
+    /**
+     * Starts parsing models.
+     *
+     * @param resourceSet
+     *            the resource set the models are merged into; its URI mappings, load options,
+     *            resource factories and packages are used for parsing.
+     * @param uris
+     *            the URIs of the models.
+     * @param followReferences
+     *            whether the models referenced by the parsed models are parsed as well,
+     *            transitively.
+     * @return the models being parsed.
+     */
+    public ModelBatch load(final ResourceSet resourceSet, final List<URI> uris, final boolean followReferences) {
+        final ModelBatch batch = new ModelBatch(resourceSet, followReferences);
+        for (final URI uri : uris) {
+            batch.submit(uri);
+        }
+        return batch;
+    }
+
+    /**
+     * @return the loading times of the models parsed so far.
+     */
+    public ModelLoadReport getReport() {
+        return this.report;
+    }
+
+    /**
+     * Stops the threads of the loader; models still being parsed are discarded.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * The models parsed for a resource set.
+     */
+    public final class ModelBatch {
+
+        private final ResourceSet resourceSet;
+        private final boolean followReferences;
+        private final Set<URI> loadedURIs = new HashSet<URI>();
+        private final Map<URI, Future<Resource>> futures = new LinkedHashMap<URI, Future<Resource>>();
+        private final long start = System.nanoTime();
+
+        private ModelBatch(final ResourceSet resourceSet, final boolean followReferences) {
+            this.resourceSet = resourceSet;
+            this.followReferences = followReferences;
+            // taken before parsing starts, the resource set must not be read by the parsing threads
+            for (final Resource resource : resourceSet.getResources()) {
+                this.loadedURIs.add(resourceSet.getURIConverter().normalize(resource.getURI()));
+            }
+        }
+
+        /**
+         * Waits until all models of the batch are parsed and merges them into the resource set, in
+         * the order they were requested and discovered, respectively. Models already in the
+         * resource set are left as they are.
+         *
+         * @param monitor
+         *            the monitor the parsed models are reported to.
+         * @return the merged resources.
+         * @throws InterruptedException
+         *             if the calling thread was interrupted while waiting.
+         */
+        public List<Resource> merge(final IProgressMonitor monitor) throws InterruptedException {
+            final List<Resource> resources = new ArrayList<Resource>();
+            int awaited = 0;
+            while (true) {
+                final List<Future<Resource>> pending;
+                synchronized (this.futures) {
+                    if (awaited == this.futures.size()) {
+                        break;
+                    }
+                    pending = new ArrayList<Future<Resource>>(this.futures.values())
+                            .subList(awaited, this.futures.size());
+                }
+                for (final Future<Resource> future : pending) {
+                    final Resource resource = this.get(future);
+                    if (resource != null) {
+                        resources.add(resource);
+                        monitor.subTask(resource.getURI().lastSegment());
+                    }
+                    monitor.worked(1);
+                }
+                awaited += pending.size();
+            }
+            ParallelModelLoader.this.report.addBatch(this.start, System.nanoTime());
+
+            final List<Resource> merged = new ArrayList<Resource>(resources.size());
+            for (final Resource resource : resources) {
+                if (this.resourceSet.getResource(resource.getURI(), false) == null) {
+                    this.resourceSet.getResources().add(resource);
+                    merged.add(resource);
+                }
+            }
+            return merged;
+        }
+
+        private Resource get(final Future<Resource> future) throws InterruptedException {
+            try {
+                return future.get();
+            } catch (final ExecutionException e) {
+                LOGGER.warn("Parsing a model failed", e.getCause());
+                return null;
+            }
+        }
+
+        private void submit(final URI uri) {
+            final URI normalizedURI = this.resourceSet.getURIConverter().normalize(uri);
+            synchronized (this.futures) {
+                if (!this.futures.containsKey(normalizedURI) && !this.loadedURIs.contains(normalizedURI)) {
+                    this.futures.put(normalizedURI, ParallelModelLoader.this.executor.submit(() -> this.parse(uri)));
+                }
+            }
+        }
+
+        private Resource parse(final URI uri) {
+            final long parseStart = System.nanoTime();
+            final ResourceSet parseResourceSet = this.createParseResourceSet();
+            Resource resource = null;
+            boolean cached = false;
+            try {
+                if (ParallelModelLoader.this.cache != null) {
+                    resource = ParallelModelLoader.this.cache.load(uri, parseResourceSet);
+                    cached = resource != null;
+                }
+                if (resource == null) {
+                    resource = parseResourceSet.getResource(uri, true);
+                    if (!resource.getErrors().isEmpty()) {
+                        throw new IllegalStateException(resource.getErrors().get(0).getMessage());
+                    }
+                    if (ParallelModelLoader.this.cache != null) {
+                        ParallelModelLoader.this.cache.store(resource);
+                    }
+                }
+            } catch (final RuntimeException e) {
+                LOGGER.debug("Model " + uri + " could not be parsed, it is loaded on demand", e);
+                ParallelModelLoader.this.report.add(uri, System.nanoTime() - parseStart, false, true);
+                return null;
+            }
+            ParallelModelLoader.this.report.add(uri, System.nanoTime() - parseStart, cached, false);
+
+            if (this.followReferences) {
+                for (final EObject proxy : EcoreUtil.ProxyCrossReferencer.find(resource).keySet()) {
+                    final URI referencedURI = EcoreUtil.getURI(proxy).trimFragment();
+                    if (!referencedURI.isEmpty()) {
+                        this.submit(referencedURI);
+                    }
+                }
+            }
+            return resource;
+        }
+
+        private ResourceSet createParseResourceSet() {
+            final ResourceSet parseResourceSet = new ResourceSetImpl();
+            parseResourceSet.getURIConverter().getURIMap().putAll(this.resourceSet.getURIConverter().getURIMap());
+            parseResourceSet.getLoadOptions().putAll(this.resourceSet.getLoadOptions());
+            parseResourceSet.setResourceFactoryRegistry(this.resourceSet.getResourceFactoryRegistry());
+            parseResourceSet.setPackageRegistry(new EPackageRegistryImpl(this.resourceSet.getPackageRegistry()) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected EPackage delegatedGetEPackage(final String nsURI) {
+                    synchronized (PACKAGE_LOCK) {
+                        return super.delegatedGetEPackage(nsURI);
+                    }
+                }
+
+                @Override
+                protected EFactory delegatedGetEFactory(final String nsURI) {
+                    synchronized (PACKAGE_LOCK) {
+                        return super.delegatedGetEFactory(nsURI);
+                    }
+                }
+            });
+            return parseResourceSet;
+        }
+    }
+}
@@ -2,26 +2,41 @@ package org.palladiosimulator.simulizar.modelobserver;
 
 import static org.palladiosimulator.edp2.util.MetricDescriptionUtility.metricDescriptionIdsEqual;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.metricspec.MetricDescription;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
 import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.Monitor;
 import org.palladiosimulator.monitorrepository.MonitorRepository;
 import org.palladiosimulator.monitorrepository.MonitorRepositoryPackage;
 import org.palladiosimulator.pcm.core.CorePackage;
 import org.palladiosimulator.pcm.core.PCMRandomVariable;
+import org.palladiosimulator.pcm.resourceenvironment.CommunicationLinkResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
 import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
 import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
 import org.palladiosimulator.pcm.resourceenvironment.ResourceenvironmentPackage;
 import org.palladiosimulator.pcmmeasuringpoint.ActiveResourceMeasuringPoint;
 import org.palladiosimulator.pcmmeasuringpoint.util.PcmmeasuringpointSwitch;
 import org.palladiosimulator.probeframework.calculator.Calculator;
+import org.palladiosimulator.simulizar.network.NetworkSimulation;
 import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
-import org.palladiosimulator.simulizar.utils.MonitorRepositoryUtil;
 
+import de.uka.ipd.sdq.simucomframework.resources.AbstractScheduledResource;
 import de.uka.ipd.sdq.simucomframework.resources.AbstractSimulatedResourceContainer;
 import de.uka.ipd.sdq.simucomframework.resources.CalculatorHelper;
 import de.uka.ipd.sdq.simucomframework.resources.ScheduledResource;
@@ -40,6 +55,44 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
     private static final Logger LOGGER = Logger.getLogger(ResourceEnvironmentSyncer.class.getName());
     private MonitorRepository monitorRepository;
 
+    /**
+     * Simulated resources keyed by the (identity of the) processing resource specification they
+     * simulate.
+     */
+    private final Map<ProcessingResourceSpecification, ScheduledResource> scheduledResources = new HashMap<>();
+
+    /**
+     * Calculators attached to the simulated resources, keyed like {@link #scheduledResources}. Kept
+     * so that they can be detached once the resource is removed.
+     */
+    private final Map<ProcessingResourceSpecification, List<Calculator>> attachedCalculators = new HashMap<>();
+
+    /**
+     * Simulated resources replaced after the number of replicas of their processing resource
+     * specification has changed. They complete the requests queued at them and are deactivated
+     * once this syncer is unregistered.
+     */
+    private final List<ScheduledResource> replacedResources = new ArrayList<>();
+
+    /**
+     * Measurement specifications of active monitors with an {@link ActiveResourceMeasuringPoint},
+     * keyed by the id of the monitored processing resource specification. Built lazily and
+     * discarded whenever the monitor repository changes.
+     */
+    private Map<String, List<MeasurementSpecification>> activeResourceMeasurementSpecifications = null;
+
+    private final Adapter monitorRepositoryListener = new EContentAdapter() {
+
+        @Override
+        public void notifyChanged(final Notification notification) {
+            super.notifyChanged(notification);
+            if (notification.getEventType() != Notification.RESOLVE
+                    && notification.getEventType() != Notification.REMOVING_ADAPTER) {
+                ResourceEnvironmentSyncer.this.activeResourceMeasurementSpecifications = null;
+            }
+        }
+    };
+
     /*
      * (non-Javadoc)
      *
@@ -50,18 +103,31 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
         super.initialize(runtimeState);
 
         this.monitorRepository = runtimeState.getModelAccess().getMonitorRepositoryModel();
+        if (this.monitorRepository != null) {
+            this.monitorRepository.eAdapters().add(this.monitorRepositoryListener);
+        }
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Initializing Simulated ResourcesContainer");
         }
 
-        this.model.getResourceContainer_ResourceEnvironment().forEach(this::createSimulatedResourceContainer);
+        this.createSimulatedResourceContainers(this.model.getResourceContainer_ResourceEnvironment());
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Initialization done");
         }
     }
 
+    @Override
+    public void unregister() {
+        super.unregister();
+        if (this.monitorRepository != null) {
+            this.monitorRepository.eAdapters().remove(this.monitorRepositoryListener);
+        }
+        this.replacedResources.forEach(ScheduledResource::deactivateResource);
+        this.replacedResources.clear();
+    }
+
     @Override
     protected void add(final Notification notification) {
         ResourceenvironmentPackage resourceenvironmentPackage = ResourceenvironmentPackage.eINSTANCE;
@@ -69,7 +135,7 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
 
         if (changedFeature == resourceenvironmentPackage
                 .getResourceEnvironment_ResourceContainer_ResourceEnvironment()) {
-            this.addSimulatedResource((ResourceContainer) notification.getNewValue());
+            this.createSimulatedResourceContainer((ResourceContainer) notification.getNewValue());
         } else if (changedFeature == resourceenvironmentPackage
                 .getResourceContainer_ActiveResourceSpecifications_ResourceContainer()) {
             this.createSimulatedActiveResource((ProcessingResourceSpecification) notification.getNewValue());
@@ -79,9 +145,7 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
                         .getLinkingResource_CommunicationLinkResourceSpecifications_LinkingResource()
                 || changedFeature == resourceenvironmentPackage
                         .getLinkingResource_ConnectedResourceContainers_LinkingResource()) {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Ignoring sync (add) of linking resources");
-            }
+            this.invalidateRoutes();
         } else {
             this.logDebugInfo(notification);
         }
@@ -95,20 +159,72 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
         if (changedFeature == resourceenvironmentPackage
                 .getResourceEnvironment_ResourceContainer_ResourceEnvironment()) {
             this.removeSimulatedResource((ResourceContainer) notification.getOldValue());
+        } else if (changedFeature == resourceenvironmentPackage
+                .getResourceContainer_ActiveResourceSpecifications_ResourceContainer()) {
+            this.removeSimulatedActiveResource((ProcessingResourceSpecification) notification.getOldValue());
         } else if (changedFeature == resourceenvironmentPackage
                 .getResourceEnvironment_LinkingResources__ResourceEnvironment()
                 || changedFeature == resourceenvironmentPackage
                         .getLinkingResource_CommunicationLinkResourceSpecifications_LinkingResource()
                 || changedFeature == resourceenvironmentPackage
                         .getLinkingResource_ConnectedResourceContainers_LinkingResource()) {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Ignoring sync (remove) of linking resources");
-            }
+            this.invalidateRoutes();
         } else {
             this.logDebugInfo(notification);
         }
     }
 
+    @Override
+    protected void addMany(final Notification notification) {
+        final ResourceenvironmentPackage resourceenvironmentPackage = ResourceenvironmentPackage.eINSTANCE;
+        final Object changedFeature = notification.getFeature();
+
+        if (changedFeature == resourceenvironmentPackage
+                .getResourceEnvironment_ResourceContainer_ResourceEnvironment()) {
+            this.createSimulatedResourceContainers(this.<ResourceContainer> getNewValues(notification));
+        } else if (changedFeature == resourceenvironmentPackage
+                .getResourceContainer_ActiveResourceSpecifications_ResourceContainer()) {
+            this.<ProcessingResourceSpecification> getNewValues(notification)
+                    .forEach(this::createSimulatedActiveResource);
+        } else if (changedFeature == resourceenvironmentPackage
+                .getResourceEnvironment_LinkingResources__ResourceEnvironment()
+                || changedFeature == resourceenvironmentPackage
+                        .getLinkingResource_ConnectedResourceContainers_LinkingResource()) {
+            this.invalidateRoutes();
+        } else {
+            this.logDebugInfo(notification);
+        }
+    }
+
+    @Override
+    protected void removeMany(final Notification notification) {
+        if (notification.getFeature() == ResourceenvironmentPackage.eINSTANCE
+                .getResourceEnvironment_ResourceContainer_ResourceEnvironment()) {
+            this.<ResourceContainer> getOldValues(notification).forEach(this::removeSimulatedResource);
+        } else if (notification.getFeature() == ResourceenvironmentPackage.eINSTANCE
+                .getResourceContainer_ActiveResourceSpecifications_ResourceContainer()) {
+            this.<ProcessingResourceSpecification> getOldValues(notification)
+                    .forEach(this::removeSimulatedActiveResource);
+        } else if (notification.getFeature() == ResourceenvironmentPackage.eINSTANCE
+                .getResourceEnvironment_LinkingResources__ResourceEnvironment()
+                || notification.getFeature() == ResourceenvironmentPackage.eINSTANCE
+                        .getLinkingResource_ConnectedResourceContainers_LinkingResource()) {
+            this.invalidateRoutes();
+        } else {
+            this.logDebugInfo(notification);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Collection<T> getNewValues(final Notification notification) {
+        return (Collection<T>) notification.getNewValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Collection<T> getOldValues(final Notification notification) {
+        return (Collection<T>) notification.getOldValue();
+    }
+
     @Override
     protected void set(final Notification notification) {
         Object changedFeature = notification.getFeature();
@@ -117,6 +233,9 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
                 .getProcessingResourceSpecification_ProcessingRate_ProcessingResourceSpecification()) {
             this.syncProcessingRate((ProcessingResourceSpecification) notification.getNotifier(),
                     notification.getNewStringValue());
+        } else if (changedFeature == ResourceenvironmentPackage.eINSTANCE
+                .getProcessingResourceSpecification_NumberOfReplicas()) {
+            this.syncNumberOfReplicas((ProcessingResourceSpecification) notification.getNotifier());
         } else if (changedFeature == CorePackage.eINSTANCE
                 .getPCMRandomVariable_ProcessingResourceSpecification_processingRate_PCMRandomVariable()) {
             final PCMRandomVariable pcmRandomVariable = (PCMRandomVariable) notification.getNotifier();
@@ -134,9 +253,16 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
 
             if (ResourceenvironmentPackage.Literals.PROCESSING_RESOURCE_SPECIFICATION.isInstance(parent)) {
                 this.syncProcessingRate((ProcessingResourceSpecification) parent, notification.getNewStringValue());
+            } else if (ResourceenvironmentPackage.Literals.COMMUNICATION_LINK_RESOURCE_SPECIFICATION
+                    .isInstance(parent)) {
+                this.syncLinkingResource(((CommunicationLinkResourceSpecification) parent)
+                        .getLinkingResource_CommunicationLinkResourceSpecification());
             } else {
                 throw new RuntimeException("Unsupported Notification.SET for a RandomVariable with parent " + parent);
             }
+        } else if (changedFeature == ResourceenvironmentPackage.eINSTANCE
+                .getLinkingResource_CommunicationLinkResourceSpecifications_LinkingResource()) {
+            this.syncLinkingResource((LinkingResource) notification.getNotifier());
         } else if (changedFeature == ResourceenvironmentPackage.eINSTANCE
                 .getResourceContainer_ResourceEnvironment_ResourceContainer()) {
             if (LOGGER.isDebugEnabled()) {
@@ -147,10 +273,22 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
         }
     }
 
+    /**
+     * Creates the simulated resource containers of a batch of added resource containers. All
+     * containers are registered before their active resources are created.
+     */
+    private void createSimulatedResourceContainers(final Collection<ResourceContainer> resourceContainers) {
+        resourceContainers.forEach(this::addSimulatedResource);
+        resourceContainers.forEach(this::addActiveResources);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Added " + resourceContainers.size() + " SimulatedResourceContainers");
+        }
+    }
+
     private void createSimulatedResourceContainer(final ResourceContainer resourceContainer) {
         final AbstractSimulatedResourceContainer simulatedResourceContainer = this
                 .addSimulatedResource(resourceContainer);
-        this.addActiveResources(resourceContainer, simulatedResourceContainer);
+        this.addActiveResources(resourceContainer);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Added SimulatedResourceContainer: ID: " + resourceContainer.getId() + " "
                     + simulatedResourceContainer);
@@ -164,15 +302,68 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
         return this.runtimeModel.getModel().getResourceRegistry().createResourceContainer(resourceContainer.getId());
     }
 
+    /**
+     * Shuts down the simulated resource container of a removed resource container: its active
+     * resources are deactivated, their calculators are detached and the container is removed from
+     * the resource registry. Requests still queued at the container's resources are not completed;
+     * they are expected to have been moved away (e.g., by reallocating the components deployed on
+     * the container) before the container is removed.
+     */
     private void removeSimulatedResource(final ResourceContainer resourceContainer) {
-        // FIXME shutdown the simulated resource container now (...somehow ;) )
-        // AbstractSimulatedResourceContainer simulatedResourceContainer =
-        // findSimuComFrameworkResourceContainer();
-        // simulatedResourceContainer.shutdown() ???
+        final AbstractSimulatedResourceContainer simulatedResourceContainer = this.runtimeModel.getModel()
+                .getResourceRegistry().getResourceContainer(resourceContainer.getId());
+        if (simulatedResourceContainer == null) {
+            LOGGER.warn("No simulated resource container found for removed container " + resourceContainer.getId());
+            return;
+        }
+        final Set<AbstractScheduledResource> deactivatedResources = Collections
+                .newSetFromMap(new IdentityHashMap<AbstractScheduledResource, Boolean>());
+        for (final ProcessingResourceSpecification processingResource : resourceContainer
+                .getActiveResourceSpecifications_ResourceContainer()) {
+            final ScheduledResource scheduledResource = this.removeSimulatedActiveResource(processingResource);
+            if (scheduledResource != null) {
+                deactivatedResources.add(scheduledResource);
+            }
+        }
+        // resources not created by this syncer (e.g., added by the SimuCom framework itself)
+        for (final AbstractScheduledResource activeResource : simulatedResourceContainer.getActiveResources()) {
+            if (!deactivatedResources.contains(activeResource)) {
+                activeResource.deactivateResource();
+            }
+        }
+        this.runtimeModel.getModel().getResourceRegistry()
+                .removeResourceContainerFromRegistry(resourceContainer.getId());
+        // routes may have passed the removed container
+        this.invalidateRoutes();
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Removed SimulatedResourceContainer: ID: " + resourceContainer.getId() + " "
+                    + simulatedResourceContainer);
+        }
+    }
+
+    /**
+     * Deactivates the simulated resource of a removed processing resource specification and
+     * detaches the calculators attached to it.
+     *
+     * @return the deactivated resource, or <code>null</code> if this syncer has not created one.
+     */
+    private ScheduledResource removeSimulatedActiveResource(final ProcessingResourceSpecification processingResource) {
+        final ScheduledResource scheduledResource = this.scheduledResources.remove(processingResource);
+        final List<Calculator> calculators = this.attachedCalculators.remove(processingResource);
+        if (calculators != null) {
+            calculators.forEach(Calculator::removeAllObserver);
+        }
+        if (scheduledResource != null) {
+            scheduledResource.deactivateResource();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Removed ActiveResource " + processingResource.getId());
+            }
+        }
+        return scheduledResource;
     }
 
-    private void addActiveResources(final ResourceContainer resourceContainer,
-            final AbstractSimulatedResourceContainer simulatedResourceContainer) {
+    private void addActiveResources(final ResourceContainer resourceContainer) {
         resourceContainer.getActiveResourceSpecifications_ResourceContainer()
                 .forEach(this::createSimulatedActiveResource);
     }
@@ -187,12 +378,17 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
                 .getResourceContainer_ProcessingResourceSpecification();
         final SimulatedResourceContainer simulatedResourceContainer = (SimulatedResourceContainer) this
                 .getSimulatedResourceContainer(processingResource);
+        if (this.scheduledResources.containsKey(processingResource)) {
+            LOGGER.warn("Simulated resource for " + processingResource.getId() + " already exists");
+            return;
+        }
         // ScheduledResource takes care about loading (extendend) scheduled
         // resources
         final ScheduledResource scheduledResource = simulatedResourceContainer.addActiveResourceWithoutCalculators(
                 processingResource, new String[] {}, resourceContainer.getId(),
                 processingResource.getSchedulingPolicy().getId());
         scheduledResource.activateResource();
+        this.scheduledResources.put(processingResource, scheduledResource);
 
         this.attachMonitors(processingResource, resourceContainer, scheduledResource.getSchedulingStrategyID(),
                 scheduledResource);
@@ -203,6 +399,32 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
         }
     }
 
+    /**
+     * Gets the simulated resource this syncer has created for the given processing resource
+     * specification.
+     *
+     * @param processingResource
+     *            a processing resource specification of the global PCM model.
+     * @return the simulated resource, or <code>null</code> if there is none, e.g., because the
+     *         specification has been removed.
+     */
+    public ScheduledResource getSimulatedActiveResource(final ProcessingResourceSpecification processingResource) {
+        return this.scheduledResources.get(processingResource);
+    }
+
+    /**
+     * Gets the calculators this syncer has attached to the simulated resource of the given
+     * processing resource specification.
+     *
+     * @param processingResource
+     *            a processing resource specification of the global PCM model.
+     * @return the calculators, empty if no monitor observes the resource or it has been removed.
+     */
+    public List<Calculator> getAttachedCalculators(final ProcessingResourceSpecification processingResource) {
+        return Collections.unmodifiableList(
+                this.attachedCalculators.getOrDefault(processingResource, Collections.emptyList()));
+    }
+
     private void syncProcessingRate(final ProcessingResourceSpecification processingResourceSpecification,
             final String processingRate) {
         // processingRate does not need to be evaluated, will be done in
@@ -210,6 +432,44 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
         this.getScheduledResource(processingResourceSpecification).setProcessingRate(processingRate);
     }
 
+    /**
+     * Replaces the simulated resource of a processing resource specification whose number of
+     * replicas has changed, as a simulated resource keeps the number of replicas it has been
+     * created with. New requests are served by the new resource; the replaced resource completes
+     * the requests queued at it, but its calculators are detached.
+     */
+    private void syncNumberOfReplicas(final ProcessingResourceSpecification processingResource) {
+        final ScheduledResource replacedResource = this.scheduledResources.remove(processingResource);
+        final List<Calculator> calculators = this.attachedCalculators.remove(processingResource);
+        if (calculators != null) {
+            calculators.forEach(Calculator::removeAllObserver);
+        }
+        if (replacedResource != null) {
+            this.replacedResources.add(replacedResource);
+        }
+        this.createSimulatedActiveResource(processingResource);
+    }
+
+    /**
+     * Discards the routes of the network simulation, if the network is simulated, after linking
+     * resources or the containers they connect have changed.
+     */
+    private void invalidateRoutes() {
+        final NetworkSimulation networkSimulation = this.runtimeModel.getNetworkSimulation();
+        if (networkSimulation != null) {
+            networkSimulation.invalidateRoutes();
+        } else if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Ignoring sync of linking resources, the network is not simulated");
+        }
+    }
+
+    private void syncLinkingResource(final LinkingResource linkingResource) {
+        final NetworkSimulation networkSimulation = this.runtimeModel.getNetworkSimulation();
+        if (networkSimulation != null) {
+            networkSimulation.syncLinkingResource(linkingResource);
+        }
+    }
+
     private String getActiveResourceTypeID(final ProcessingResourceSpecification processingResource) {
         return processingResource.getActiveResourceType_ActiveResourceSpecification().getId();
     }
@@ -221,11 +481,16 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
     }
 
     /**
-     * Gets the simulated resource by type id in given simulated resource container.
+     * Gets the simulated resource of the given processing resource specification. Resources not
+     * created by this syncer are looked up by type id in the simulated resource container.
      *
      * @return the ScheduledResource.
      */
     private ScheduledResource getScheduledResource(final ProcessingResourceSpecification processingResource) {
+        final ScheduledResource scheduledResource = this.scheduledResources.get(processingResource);
+        if (scheduledResource != null) {
+            return scheduledResource;
+        }
         final String typeId = this.getActiveResourceTypeID(processingResource);
 
         return getSimulatedResourceContainer(processingResource).getActiveResources().stream()
@@ -241,10 +506,10 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
     private void attachMonitors(final ProcessingResourceSpecification processingResource,
             final ResourceContainer resourceContainer, final String schedulingStrategy,
             final ScheduledResource scheduledResource) {
-        for (final MeasurementSpecification measurementSpecification : MonitorRepositoryUtil
-                .getMeasurementSpecificationsForElement(this.monitorRepository, processingResource)) {
+        for (final MeasurementSpecification measurementSpecification : this
+                .getMeasurementSpecifications(processingResource)) {
 
-            new PcmmeasuringpointSwitch<Calculator>() {
+            final Calculator calculator = new PcmmeasuringpointSwitch<Calculator>() {
 
                 @Override
                 public Calculator caseActiveResourceMeasuringPoint(
@@ -254,9 +519,44 @@ public class ResourceEnvironmentSyncer extends AbstractResourceEnvironmentObserv
                 };
 
             }.doSwitch(measurementSpecification.getMonitor().getMeasuringPoint());
+            if (calculator != null) {
+                this.attachedCalculators.computeIfAbsent(processingResource, key -> new ArrayList<>()).add(calculator);
+            }
         }
     }
 
+    /**
+     * Gets the measurement specifications of active monitors observing the given processing
+     * resource through an {@link ActiveResourceMeasuringPoint}. Only these are considered by
+     * {@link #attachMonitors}, so other monitors of the repository are not matched.
+     */
+    private List<MeasurementSpecification> getMeasurementSpecifications(
+            final ProcessingResourceSpecification processingResource) {
+        if (this.activeResourceMeasurementSpecifications == null) {
+            this.activeResourceMeasurementSpecifications = this.indexActiveResourceMeasurementSpecifications();
+        }
+        return this.activeResourceMeasurementSpecifications.getOrDefault(processingResource.getId(),
+                Collections.emptyList());
+    }
+
+    private Map<String, List<MeasurementSpecification>> indexActiveResourceMeasurementSpecifications() {
+        final Map<String, List<MeasurementSpecification>> result = new HashMap<>();
+        if (this.monitorRepository == null) {
+            return result;
+        }
+        for (final Monitor monitor : this.monitorRepository.getMonitors()) {
+            if (monitor.isActivated() && monitor.getMeasuringPoint() instanceof ActiveResourceMeasuringPoint) {
+                final ProcessingResourceSpecification activeResource = ((ActiveResourceMeasuringPoint) monitor
+                        .getMeasuringPoint()).getActiveResource();
+                if (activeResource != null) {
+                    result.computeIfAbsent(activeResource.getId(), id -> new ArrayList<>())
+                            .addAll(monitor.getMeasurementSpecifications());
+                }
+            }
+        }
+        return result;
+    }
+
     private Calculator attachMonitorForActiveResourceMeasuringPoint(
             final ActiveResourceMeasuringPoint activeResourceMeasuringPoint,
             final MeasurementSpecification measurementSpecification, final ResourceContainer resourceContainer,
@@ -0,0 +1,111 @@
+package org.palladiosimulator.simulizar.network;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
+
+/**
+ * The routes between the resource containers of a resource environment, i.e., the shortest
+ * sequences of linking resources connecting two containers. The route between two containers is
+ * searched once, breadth-first, and kept by the ids of the containers until the routing table is
+ * invalidated because linking resources or containers were changed.
+ */
+public class NetworkRoutingTable {
+
+    private final ResourceEnvironment resourceEnvironment;
+    private final Map<String, Map<String, List<LinkingResource>>> routesBySourceId = new HashMap<String, Map<String, List<LinkingResource>>>();
+    private Map<String, List<LinkingResource>> linksByContainerId = null;
+
+    /**
+     * @param resourceEnvironment
+     *            the resource environment whose linking resources are routed over.
+     */
+    public NetworkRoutingTable(final ResourceEnvironment resourceEnvironment) {
+        super();
+        this.resourceEnvironment = resourceEnvironment;
+    }
+
+    /**
+     * @param sourceId
+     *            the id of the container a transfer starts at.
+     * @param targetId
+     *            the id of the container a transfer ends at.
+     * @return the linking resources a transfer passes, in order; empty if both ids are the same,
+     *         <code>null</code> if the containers are not connected.
+     */
+    public List<LinkingResource> getRoute(final String sourceId, final String targetId) {
+        if (sourceId.equals(targetId)) {
+            return Collections.emptyList();
+        }
+        Map<String, List<LinkingResource>> routes = this.routesBySourceId.get(sourceId);
+        if (routes == null) {
+            routes = new HashMap<String, List<LinkingResource>>();
+            this.routesBySourceId.put(sourceId, routes);
+        }
+        if (!routes.containsKey(targetId)) {
+            routes.put(targetId, this.searchRoute(sourceId, targetId));
+        }
+        return routes.get(targetId);
+    }
+
+    /**
+     * Discards all routes, so that they are searched again in the current resource environment.
+     */
+    public void invalidate() {
+        this.routesBySourceId.clear();
+        this.linksByContainerId = null;
+    }
+
+    private List<LinkingResource> searchRoute(final String sourceId, final String targetId) {
+        if (this.linksByContainerId == null) {
+            this.linksByContainerId = this.indexLinks();
+        }
+        // the link over which each reached container was reached first
+        final Map<String, LinkingResource> reachedBy = new HashMap<String, LinkingResource>();
+        final Map<String, String> predecessors = new HashMap<String, String>();
+        final Deque<String> queue = new ArrayDeque<String>();
+        predecessors.put(sourceId, null);
+        queue.add(sourceId);
+        while (!queue.isEmpty() && !predecessors.containsKey(targetId)) {
+            final String containerId = queue.poll();
+            for (final LinkingResource link : this.linksByContainerId.getOrDefault(containerId,
+                    Collections.<LinkingResource> emptyList())) {
+                for (final ResourceContainer neighbour : link.getConnectedResourceContainers_LinkingResource()) {
+                    if (!predecessors.containsKey(neighbour.getId())) {
+                        predecessors.put(neighbour.getId(), containerId);
+                        reachedBy.put(neighbour.getId(), link);
+                        queue.add(neighbour.getId());
+                    }
+                }
+            }
+        }
+        if (!predecessors.containsKey(targetId)) {
+            return null;
+        }
+        final List<LinkingResource> route = new ArrayList<LinkingResource>();
+        for (String containerId = targetId; !containerId.equals(sourceId); containerId = predecessors
+                .get(containerId)) {
+            route.add(reachedBy.get(containerId));
+        }
+        Collections.reverse(route);
+        return Collections.unmodifiableList(route);
+    }
+
+    private Map<String, List<LinkingResource>> indexLinks() {
+        final Map<String, List<LinkingResource>> result = new HashMap<String, List<LinkingResource>>();
+        for (final LinkingResource link : this.resourceEnvironment.getLinkingResources__ResourceEnvironment()) {
+            for (final ResourceContainer container : link.getConnectedResourceContainers_LinkingResource()) {
+                result.computeIfAbsent(container.getId(), id -> new ArrayList<LinkingResource>()).add(link);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,276 @@
+package org.palladiosimulator.simulizar.network;
+
+import static org.palladiosimulator.edp2.util.MetricDescriptionUtility.metricDescriptionIdsEqual;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.Monitor;
+import org.palladiosimulator.monitorrepository.MonitorRepository;
+import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.allocation.AllocationContext;
+import org.palladiosimulator.pcm.core.CoreFactory;
+import org.palladiosimulator.pcm.core.PCMRandomVariable;
+import org.palladiosimulator.pcm.resourceenvironment.CommunicationLinkResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
+import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceenvironmentFactory;
+import org.palladiosimulator.pcm.resourcetype.ProcessingResourceType;
+import org.palladiosimulator.pcm.resourcetype.ResourcetypeFactory;
+import org.palladiosimulator.pcmmeasuringpoint.LinkingResourceMeasuringPoint;
+import org.palladiosimulator.simulizar.interpreter.AssemblyContextPath;
+import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
+import org.palladiosimulator.simulizar.interpreter.listener.EventType;
+import org.palladiosimulator.simulizar.interpreter.listener.ModelElementPassedEvent;
+import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
+
+import de.uka.ipd.sdq.simucomframework.resources.CalculatorHelper;
+import de.uka.ipd.sdq.simucomframework.resources.ScheduledResource;
+import de.uka.ipd.sdq.simucomframework.resources.SchedulingStrategy;
+import de.uka.ipd.sdq.simucomframework.resources.SimulatedResourceContainer;
+import de.uka.ipd.sdq.simucomframework.variables.StackContext;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+
+/**
+ * Simulates the transfer of calls and replies between components allocated to different resource
+ * containers. A transfer passes the linking resources of the route between the containers, see
+ * {@link NetworkRoutingTable}; on each link, the simulated process is delayed by the latency of
+ * the link and then demands the payload size in bytes from a simulated FCFS resource processing
+ * the throughput of the link.
+ * <p>
+ * The simulated link resources are not registered as resource containers of the run, so they are
+ * not counted as such. Monitors of the state of active resources at linking resource measuring
+ * points observe them, and response time monitors at linking resource measuring points observe
+ * the time each transfer spends on the link.
+ */
+public class NetworkSimulation {
+
+    private static final Logger LOGGER = Logger.getLogger(NetworkSimulation.class);
+    private static final String NETWORK_CONTAINER_ID = "_simulizarNetwork";
+    private static final String BYTESIZE_SUFFIX = ".BYTESIZE";
+
+    private final AbstractSimuLizarRuntimeState runtimeState;
+    private final NetworkRoutingTable routingTable;
+    private final double defaultPayloadSize;
+    private final Map<String, ScheduledResource> linkResources = new HashMap<String, ScheduledResource>();
+    private final Set<String> unconnectedContainerPairs = new HashSet<String>();
+    /**
+     * Resource containers by the ids of the assembly contexts allocated to them, by allocation.
+     * Reconfigurations do not change the allocation of a local PCM model copy but create a new
+     * copy, so the index of an allocation never becomes stale.
+     */
+    private final Map<Allocation, Map<String, ResourceContainer>> resourceContainerIndices =
+            new WeakHashMap<Allocation, Map<String, ResourceContainer>>();
+    private SimulatedResourceContainer networkContainer = null;
+
+    /**
+     * @param runtimeState
+     *            the runtime state of the run.
+     * @param defaultPayloadSize
+     *            the payload size in bytes of calls and replies without <code>BYTESIZE</code>
+     *            characterisations.
+     */
+    public NetworkSimulation(final AbstractSimuLizarRuntimeState runtimeState, final double defaultPayloadSize) {
+        super();
+        this.runtimeState = runtimeState;
+        this.routingTable = new NetworkRoutingTable(runtimeState.getModelAccess().getGlobalPCMModel().getAllocation()
+                .getTargetResourceEnvironment_Allocation());
+        this.defaultPayloadSize = defaultPayloadSize;
+    }
+
+    /**
+     * @param context
+     *            the context interpreting a component.
+     * @return the resource container the component is allocated to, or <code>null</code> if it is
+     *         not allocated.
+     */
+    public ResourceContainer getResourceContainer(final InterpreterDefaultContext context) {
+        final Map<String, ResourceContainer> index = this.resourceContainerIndices.computeIfAbsent(
+                context.getLocalPCMModelAtContextCreation().getAllocation(), NetworkSimulation::indexAllocation);
+        for (AssemblyContextPath path = context.getAssemblyContextPath(); !path.isEmpty(); path = path.pop()) {
+            final ResourceContainer resourceContainer = index.get(path.peek().getId());
+            if (resourceContainer != null) {
+                return resourceContainer;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, ResourceContainer> indexAllocation(final Allocation allocation) {
+        final Map<String, ResourceContainer> index = new HashMap<String, ResourceContainer>();
+        for (final AllocationContext allocationContext : allocation.getAllocationContexts_Allocation()) {
+            index.put(allocationContext.getAssemblyContext_AllocationContext().getId(),
+                    allocationContext.getResourceContainer_AllocationContext());
+        }
+        return index;
+    }
+
+    /**
+     * @param stackFrame
+     *            the stack frame of the parameters of a call, or of the results of a call.
+     * @return the sum of the <code>BYTESIZE</code> characterisations in the stack frame, or the
+     *         default payload size if there are none.
+     */
+    public double getPayloadSize(final SimulatedStackframe<Object> stackFrame) {
+        double payloadSize = 0.0;
+        boolean characterised = false;
+        for (final Entry<String, Object> variable : stackFrame.getContents()) {
+            if (variable.getKey().endsWith(BYTESIZE_SUFFIX) && variable.getValue() instanceof Number) {
+                payloadSize += ((Number) variable.getValue()).doubleValue();
+                characterised = true;
+            }
+        }
+        return characterised ? payloadSize : this.defaultPayloadSize;
+    }
+
+    /**
+     * Transfers a payload from one resource container to another; the process of the context is
+     * suspended until the transfer is completed. Nothing is transferred between components on the
+     * same container, nor between containers which are not connected.
+     *
+     * @param context
+     *            the context of the transferring process.
+     * @param source
+     *            the container the transfer starts at.
+     * @param target
+     *            the container the transfer ends at.
+     * @param payloadSize
+     *            the payload size in bytes.
+     */
+    public void transfer(final InterpreterDefaultContext context, final ResourceContainer source,
+            final ResourceContainer target, final double payloadSize) {
+        if (source == null || target == null) {
+            return;
+        }
+        final List<LinkingResource> route = this.routingTable.getRoute(source.getId(), target.getId());
+        if (route == null) {
+            if (this.unconnectedContainerPairs.add(source.getId() + "->" + target.getId())) {
+                LOGGER.warn("No linking resources connect " + source.getEntityName() + " and "
+                        + target.getEntityName() + ", transfers between them are not simulated");
+            }
+            return;
+        }
+        for (final LinkingResource link : route) {
+            this.runtimeState.getEventNotificationHelper().firePassedEvent(
+                    new ModelElementPassedEvent<LinkingResource>(link, EventType.BEGIN, context.getThread()));
+
+            final CommunicationLinkResourceSpecification specification = link
+                    .getCommunicationLinkResourceSpecifications_LinkingResource();
+            final Double latency = StackContext.evaluateStatic(
+                    specification.getLatency_CommunicationLinkResourceSpecification().getSpecification(),
+                    Double.class, new SimulatedStackframe<Object>());
+            if (latency > 0.0) {
+                context.getThread().hold(latency);
+            }
+            if (payloadSize > 0.0) {
+                this.createLinkResourceIfAbsent(link);
+                this.networkContainer.loadActiveResource(context.getThread(), link.getId(), payloadSize);
+            }
+
+            this.runtimeState.getEventNotificationHelper().firePassedEvent(
+                    new ModelElementPassedEvent<LinkingResource>(link, EventType.END, context.getThread()));
+        }
+    }
+
+    /**
+     * Discards the routes between containers, e.g., because linking resources were added or
+     * removed.
+     */
+    public void invalidateRoutes() {
+        this.routingTable.invalidate();
+        this.unconnectedContainerPairs.clear();
+    }
+
+    /**
+     * Updates the throughput of the simulated resource of a linking resource.
+     *
+     * @param link
+     *            the linking resource whose specification was changed.
+     */
+    public void syncLinkingResource(final LinkingResource link) {
+        final ScheduledResource linkResource = this.linkResources.get(link.getId());
+        if (linkResource != null) {
+            linkResource.setProcessingRate(link.getCommunicationLinkResourceSpecifications_LinkingResource()
+                    .getThroughput_CommunicationLinkResourceSpecification().getSpecification());
+        }
+    }
+
+    /**
+     * Deactivates the simulated link resources.
+     */
+    public void cleanUp() {
+        this.linkResources.values().forEach(ScheduledResource::deactivateResource);
+        this.linkResources.clear();
+        this.resourceContainerIndices.clear();
+    }
+
+    private void createLinkResourceIfAbsent(final LinkingResource link) {
+        if (!this.linkResources.containsKey(link.getId())) {
+            if (this.networkContainer == null) {
+                this.networkContainer = new SimulatedResourceContainer(this.runtimeState.getModel(),
+                        NETWORK_CONTAINER_ID);
+            }
+            final ScheduledResource linkResource = this.networkContainer.addActiveResourceWithoutCalculators(
+                    createProcessingResourceSpecification(link), new String[] {}, NETWORK_CONTAINER_ID,
+                    SchedulingStrategy.FCFS);
+            linkResource.activateResource();
+            this.linkResources.put(link.getId(), linkResource);
+            this.attachMonitors(link, linkResource);
+        }
+    }
+
+    /**
+     * @return a processing resource of the throughput of the link, in a container of its own, whose
+     *         resource type has the id of the link.
+     */
+    private static ProcessingResourceSpecification createProcessingResourceSpecification(final LinkingResource link) {
+        final ProcessingResourceType resourceType = ResourcetypeFactory.eINSTANCE.createProcessingResourceType();
+        resourceType.setId(link.getId());
+        resourceType.setEntityName(link.getEntityName());
+        final PCMRandomVariable throughput = CoreFactory.eINSTANCE.createPCMRandomVariable();
+        throughput.setSpecification(link.getCommunicationLinkResourceSpecifications_LinkingResource()
+                .getThroughput_CommunicationLinkResourceSpecification().getSpecification());
+
+        final ProcessingResourceSpecification specification = ResourceenvironmentFactory.eINSTANCE
+                .createProcessingResourceSpecification();
+        specification.setId(link.getId());
+        specification.setActiveResourceType_ActiveResourceSpecification(resourceType);
+        specification.setProcessingRate_ProcessingResourceSpecification(throughput);
+        specification.setNumberOfReplicas(1);
+        final ResourceContainer container = ResourceenvironmentFactory.eINSTANCE.createResourceContainer();
+        container.setId(NETWORK_CONTAINER_ID);
+        container.setEntityName(link.getEntityName());
+        container.getActiveResourceSpecifications_ResourceContainer().add(specification);
+        return specification;
+    }
+
+    private void attachMonitors(final LinkingResource link, final ScheduledResource linkResource) {
+        final MonitorRepository monitorRepository = this.runtimeState.getModelAccess().getMonitorRepositoryModel();
+        if (monitorRepository == null) {
+            return;
+        }
+        for (final Monitor monitor : monitorRepository.getMonitors()) {
+            if (monitor.isActivated() && monitor.getMeasuringPoint() instanceof LinkingResourceMeasuringPoint
+                    && link.getId().equals(((LinkingResourceMeasuringPoint) monitor.getMeasuringPoint())
+                            .getLinkingResource().getId())) {
+                for (final MeasurementSpecification measurementSpecification : monitor
+                        .getMeasurementSpecifications()) {
+                    if (metricDescriptionIdsEqual(measurementSpecification.getMetricDescription(),
+                            MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC)) {
+                        CalculatorHelper.setupActiveResourceStateCalculator(linkResource,
+                                this.runtimeState.getModel(), monitor.getMeasuringPoint(), 0);
+                    }
+                }
+            }
+        }
+    }
+}
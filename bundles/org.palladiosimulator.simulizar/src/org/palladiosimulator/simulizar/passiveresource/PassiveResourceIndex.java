@@ -0,0 +1,138 @@
+package org.palladiosimulator.simulizar.passiveresource;
+
+import java.util.List;
+import java.util.Map;
+
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MonitorRepository;
+import org.palladiosimulator.pcm.repository.PassiveResource;
+import org.palladiosimulator.simulizar.utils.MonitorRepositoryUtil;
+
+/**
+ * The passive resources of a basic component, compiled once per component type and shared by all
+ * of its instances: each passive resource is assigned a slot, which holds its semantics and
+ * whether its state, waiting time and holding time are monitored. The instances keep their
+ * simulated resources in arrays indexed by slot.
+ * <p>
+ * The slot of a passive resource is found by its id. As the interpreter works on copies of the
+ * models, the passive resources of actions are not the ones the index was compiled from; but the
+ * copies share the id strings, so the ids are compared by identity first.
+ */
+public final class PassiveResourceIndex {
+
+    private final PassiveResource[] passiveResources;
+    private final String[] ids;
+    private final PassiveResourceSemantics[] semantics;
+    private final boolean[] stateMonitored;
+    private final boolean[] waitingTimeMonitored;
+    private final boolean[] holdingTimeMonitored;
+
+    /**
+     * Compiles the index of passive resources.
+     *
+     * @param passiveResources
+     *            the passive resources of the component.
+     * @param semanticsByResource
+     *            the semantics by id or name of passive resources; others are simulated by
+     *            {@link PassiveResourceSemanticsType#FIFO}.
+     * @param monitorRepository
+     *            the monitors of the run, or <code>null</code>.
+     */
+    public PassiveResourceIndex(final List<PassiveResource> passiveResources,
+            final Map<String, PassiveResourceSemantics> semanticsByResource,
+            final MonitorRepository monitorRepository) {
+        super();
+        final int size = passiveResources.size();
+        this.passiveResources = passiveResources.toArray(new PassiveResource[size]);
+        this.ids = new String[size];
+        this.semantics = new PassiveResourceSemantics[size];
+        this.stateMonitored = new boolean[size];
+        this.waitingTimeMonitored = new boolean[size];
+        this.holdingTimeMonitored = new boolean[size];
+        for (int slot = 0; slot < size; slot++) {
+            final PassiveResource passiveResource = this.passiveResources[slot];
+            this.ids[slot] = passiveResource.getId();
+            PassiveResourceSemantics resourceSemantics = semanticsByResource.get(passiveResource.getId());
+            if (resourceSemantics == null) {
+                resourceSemantics = semanticsByResource.get(passiveResource.getEntityName());
+            }
+            this.semantics[slot] = resourceSemantics == null ? PassiveResourceSemanticsType.FIFO : resourceSemantics;
+            this.stateMonitored[slot] = MonitorRepositoryUtil.isMonitored(monitorRepository, passiveResource,
+                    MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC) != null;
+            this.waitingTimeMonitored[slot] = MonitorRepositoryUtil.isMonitored(monitorRepository, passiveResource,
+                    MetricDescriptionConstants.WAITING_TIME_METRIC) != null;
+            this.holdingTimeMonitored[slot] = MonitorRepositoryUtil.isMonitored(monitorRepository, passiveResource,
+                    MetricDescriptionConstants.HOLDING_TIME_METRIC) != null;
+        }
+    }
+
+    /**
+     * @return the number of slots.
+     */
+    public int size() {
+        return this.ids.length;
+    }
+
+    /**
+     * @param passiveResource
+     *            a passive resource of the component, or a copy of it.
+     * @return the slot of the passive resource, or -1 if it is not a passive resource of the
+     *         component.
+     */
+    public int slotOf(final PassiveResource passiveResource) {
+        final String id = passiveResource.getId();
+        for (int slot = 0; slot < this.ids.length; slot++) {
+            if (this.ids[slot] == id) {
+                return slot;
+            }
+        }
+        if (id != null) {
+            for (int slot = 0; slot < this.ids.length; slot++) {
+                if (id.equals(this.ids[slot])) {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the passive resource the slot was compiled from.
+     */
+    public PassiveResource getPassiveResource(final int slot) {
+        return this.passiveResources[slot];
+    }
+
+    public PassiveResourceSemantics getSemantics(final int slot) {
+        return this.semantics[slot];
+    }
+
+    public boolean isStateMonitored(final int slot) {
+        return this.stateMonitored[slot];
+    }
+
+    public boolean isWaitingTimeMonitored(final int slot) {
+        return this.waitingTimeMonitored[slot];
+    }
+
+    public boolean isHoldingTimeMonitored(final int slot) {
+        return this.holdingTimeMonitored[slot];
+    }
+
+    /**
+     * @return whether the index is still valid for the given passive resources, i.e., it was
+     *         compiled from passive resources with the same ids in the same order.
+     */
+    boolean isCompiledFrom(final List<PassiveResource> passiveResources) {
+        if (this.ids.length != passiveResources.size()) {
+            return false;
+        }
+        for (int slot = 0; slot < this.ids.length; slot++) {
+            final String id = passiveResources.get(slot).getId();
+            if (this.ids[slot] != id && (id == null || !id.equals(this.ids[slot]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
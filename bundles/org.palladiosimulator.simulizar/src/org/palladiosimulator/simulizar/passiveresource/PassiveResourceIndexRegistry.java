@@ -0,0 +1,75 @@
+package org.palladiosimulator.simulizar.passiveresource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.palladiosimulator.monitorrepository.MonitorRepository;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.PassiveResource;
+import org.palladiosimulator.simulizar.access.IModelAccess;
+
+/**
+ * The {@link PassiveResourceIndex}es of the basic components of a run, so that the semantics and
+ * monitoring of passive resources are decided once per component type instead of once per
+ * component instance. An index is compiled again if the passive resources of its component are
+ * changed by a reconfiguration.
+ */
+public class PassiveResourceIndexRegistry {
+
+    private final Map<String, PassiveResourceIndex> indicesByComponentId = new HashMap<String, PassiveResourceIndex>();
+    private final Map<String, PassiveResourceSemantics> semanticsByResource;
+    private final IModelAccess modelAccess;
+    private MonitorRepository monitorRepository;
+    private boolean monitorRepositoryRetrieved = false;
+
+    /**
+     * @param semanticsByResource
+     *            the semantics by id or name of passive resources, see
+     *            {@link PassiveResourceSemanticsType#parse(String)}; others are simulated by
+     *            {@link PassiveResourceSemanticsType#FIFO}.
+     * @param modelAccess
+     *            the access to the monitors of the run.
+     */
+    public PassiveResourceIndexRegistry(final Map<String, PassiveResourceSemantics> semanticsByResource,
+            final IModelAccess modelAccess) {
+        super();
+        this.semanticsByResource = semanticsByResource;
+        this.modelAccess = modelAccess;
+    }
+
+    /**
+     * @param basicComponent
+     *            the basic component, or a copy of it.
+     * @return the index of the passive resources of the component.
+     */
+    public PassiveResourceIndex getIndex(final BasicComponent basicComponent) {
+        final List<PassiveResource> passiveResources = basicComponent.getPassiveResource_BasicComponent();
+        PassiveResourceIndex index = this.indicesByComponentId.get(basicComponent.getId());
+        if (index == null || !index.isCompiledFrom(passiveResources)) {
+            index = this.compileIndex(passiveResources);
+            this.indicesByComponentId.put(basicComponent.getId(), index);
+        }
+        return index;
+    }
+
+    /**
+     * Compiles an index which is not registered, e.g., for passive resources which do not belong
+     * to a single basic component.
+     *
+     * @param passiveResources
+     *            the passive resources.
+     * @return the index of the passive resources.
+     */
+    public PassiveResourceIndex compileIndex(final List<PassiveResource> passiveResources) {
+        return new PassiveResourceIndex(passiveResources, this.semanticsByResource, this.getMonitorRepository());
+    }
+
+    private MonitorRepository getMonitorRepository() {
+        if (!this.monitorRepositoryRetrieved) {
+            this.monitorRepository = this.modelAccess.getMonitorRepositoryModel();
+            this.monitorRepositoryRetrieved = true;
+        }
+        return this.monitorRepository;
+    }
+}
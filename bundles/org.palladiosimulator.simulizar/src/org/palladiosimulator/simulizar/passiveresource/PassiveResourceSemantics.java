@@ -0,0 +1,53 @@
+package org.palladiosimulator.simulizar.passiveresource;
+
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.repository.PassiveResource;
+import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
+
+import de.uka.ipd.sdq.scheduler.IPassiveResource;
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+
+/**
+ * Strategy deciding how a {@link PassiveResource} is simulated, e.g., in which order waiting
+ * processes are served. The semantics of a passive resource are selected once per component type,
+ * see {@link PassiveResourceIndexRegistry}; the standard semantics are listed in
+ * {@link PassiveResourceSemanticsType}.
+ */
+public interface PassiveResourceSemantics {
+
+    /**
+     * Creates the simulated resource of a passive resource of a basic component instance.
+     *
+     * @param passiveResource
+     *            the simulated passive resource.
+     * @param assemblyContext
+     *            the assembly context of the basic component instance.
+     * @param model
+     *            the model of the run.
+     * @param capacity
+     *            the initial capacity of the resource in the component instance.
+     * @return the simulated resource.
+     */
+    IPassiveResource createResource(PassiveResource passiveResource, AssemblyContext assemblyContext,
+            SimuComModel model, long capacity);
+
+    /**
+     * Acquires a single unit of a simulated resource created by
+     * {@link #createResource(PassiveResource, AssemblyContext, SimuComModel, long)} for the process
+     * of the given context. The process is passivated until the unit is granted.
+     *
+     * @param resource
+     *            the simulated resource.
+     * @param context
+     *            the context of the acquiring process.
+     * @param timeout
+     *            whether the acquisition may time out.
+     * @param timeoutValue
+     *            the timeout of the acquire action.
+     * @return <code>false</code> if the process gave up waiting, <code>true</code> otherwise.
+     */
+    default boolean acquire(final IPassiveResource resource, final InterpreterDefaultContext context,
+            final boolean timeout, final double timeoutValue) {
+        return resource.acquire(context.getThread(), 1, timeout, timeoutValue);
+    }
+}
@@ -0,0 +1,129 @@
+package org.palladiosimulator.simulizar.passiveresource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.repository.PassiveResource;
+import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
+
+import de.uka.ipd.sdq.scheduler.IPassiveResource;
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+import de.uka.ipd.sdq.simucomframework.resources.SimSimpleFairPassiveResource;
+import de.uka.ipd.sdq.simucomframework.variables.exceptions.ValueNotInFrameException;
+
+/**
+ * The standard semantics of passive resources.
+ */
+public enum PassiveResourceSemanticsType implements PassiveResourceSemantics {
+
+    /**
+     * Waiting processes are served in the order of their arrival by the passive resource of
+     * SimuCom. These are the default semantics.
+     */
+    FIFO {
+        @Override
+        public IPassiveResource createResource(final PassiveResource passiveResource,
+                final AssemblyContext assemblyContext, final SimuComModel model, final long capacity) {
+            return new SimSimpleFairPassiveResource(passiveResource, assemblyContext, model, capacity);
+        }
+    },
+
+    /**
+     * The latest waiting process is served first.
+     */
+    LIFO {
+        @Override
+        public IPassiveResource createResource(final PassiveResource passiveResource,
+                final AssemblyContext assemblyContext, final SimuComModel model, final long capacity) {
+            return new QueueingPassiveResource(passiveResource, assemblyContext, model, capacity,
+                    WaitingDiscipline.LIFO, false);
+        }
+    },
+
+    /**
+     * Waiting processes of higher priority are served first. The priority of a process is the
+     * value of the variable {@value #PRIORITY_VARIABLE} in its current stack frame, e.g., an input
+     * parameter <code>priority</code> of the service acquiring the resource; it is 0 if there is no
+     * such variable.
+     */
+    PRIORITY {
+        @Override
+        public IPassiveResource createResource(final PassiveResource passiveResource,
+                final AssemblyContext assemblyContext, final SimuComModel model, final long capacity) {
+            return new QueueingPassiveResource(passiveResource, assemblyContext, model, capacity,
+                    WaitingDiscipline.PRIORITY, false);
+        }
+
+        @Override
+        public boolean acquire(final IPassiveResource resource, final InterpreterDefaultContext context,
+                final boolean timeout, final double timeoutValue) {
+            return ((QueueingPassiveResource) resource).acquire(context.getThread(), 1, getPriority(context),
+                    timeout, timeoutValue);
+        }
+    },
+
+    /**
+     * Waiting processes are served in the order of their arrival, but give up waiting after the
+     * timeout of their acquire action if it is positive, regardless of whether failures are
+     * simulated. The abandonments are counted by the {@link QueueingPassiveResource}.
+     */
+    ABANDONING_FIFO {
+        @Override
+        public IPassiveResource createResource(final PassiveResource passiveResource,
+                final AssemblyContext assemblyContext, final SimuComModel model, final long capacity) {
+            return new QueueingPassiveResource(passiveResource, assemblyContext, model, capacity,
+                    WaitingDiscipline.FIFO, true);
+        }
+
+        @Override
+        public boolean acquire(final IPassiveResource resource, final InterpreterDefaultContext context,
+                final boolean timeout, final double timeoutValue) {
+            return resource.acquire(context.getThread(), 1, timeoutValue > 0, timeoutValue);
+        }
+    };
+
+    /**
+     * Variable holding the priority of a process for {@link #PRIORITY}.
+     */
+    public static final String PRIORITY_VARIABLE = "priority.VALUE";
+
+    private static double getPriority(final InterpreterDefaultContext context) {
+        if (context.getStack().size() == 0) {
+            return 0;
+        }
+        try {
+            final Object priority = context.getStack().currentStackFrame().getValue(PRIORITY_VARIABLE);
+            return priority instanceof Number ? ((Number) priority).doubleValue() : 0;
+        } catch (final ValueNotInFrameException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parses the selection of semantics of a run, e.g.,
+     * <code>Connections=PRIORITY;_x7Dd0AbcEd2=LIFO</code>. Each entry maps the id or the name of
+     * a passive resource to the name of its semantics.
+     *
+     * @param value
+     *            the semicolon-separated entries; may be empty.
+     * @return the semantics by id or name of the passive resources.
+     * @throws IllegalArgumentException
+     *             if an entry is malformed or names unknown semantics.
+     */
+    public static Map<String, PassiveResourceSemantics> parse(final String value) {
+        final Map<String, PassiveResourceSemantics> result = new LinkedHashMap<String, PassiveResourceSemantics>();
+        for (final String entry : value.split(";")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            final int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected <passive resource>=<semantics>, but got " + entry);
+            }
+            result.put(entry.substring(0, separator).trim(), valueOf(entry.substring(separator + 1).trim()));
+        }
+        return result.isEmpty() ? Collections.<String, PassiveResourceSemantics> emptyMap() : result;
+    }
+}
@@ -0,0 +1,402 @@
+package org.palladiosimulator.simulizar.passiveresource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.repository.PassiveResource;
+
+import de.uka.ipd.sdq.scheduler.IPassiveResource;
+import de.uka.ipd.sdq.scheduler.ISchedulableProcess;
+import de.uka.ipd.sdq.scheduler.processes.IWaitingProcess;
+import de.uka.ipd.sdq.scheduler.sensors.IPassiveResourceSensor;
+import de.uka.ipd.sdq.simucomframework.entities.SimuComEntity;
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
+
+/**
+ * Passive resource serving its waiting requests in the order of a {@link WaitingDiscipline}. A
+ * request is granted as soon as it is the next one to be served and enough units are available;
+ * so, a request arriving while others are waiting is only granted at once if the discipline
+ * serves it first. Waiting processes are passivated until their request is granted, like by the
+ * FIFO resource of SimuCom.
+ * <p>
+ * If abandonment is enabled, a request waiting longer than its timeout is abandoned: the process
+ * continues without holding the resource, and its next release of the resource is ignored. The
+ * abandoned requests are counted, see {@link #getNumberOfAbandonments()}.
+ */
+public class QueueingPassiveResource implements IPassiveResource {
+
+    private static final Logger LOGGER = Logger.getLogger(QueueingPassiveResource.class);
+
+    private final PassiveResource resource;
+    private final AssemblyContext assemblyContext;
+    private final SimuComModel model;
+    private final long capacity;
+    private final WaitingDiscipline discipline;
+    private final boolean abandonment;
+    private final Queue<WaitingRequest> waitingQueue;
+    private final List<IPassiveResourceSensor> observers = new ArrayList<IPassiveResourceSensor>();
+    private final Map<ISchedulableProcess, Long> abandonedUnits = new HashMap<ISchedulableProcess, Long>();
+    private SimuComEntity abandonmentEntity;
+
+    private long available;
+    private int numberOfWaitingRequests = 0;
+    private long nextSequenceNumber = 0;
+    private long numberOfRequests = 0;
+    private long numberOfAbandonments = 0;
+
+    /**
+     * @param resource
+     *            the simulated passive resource.
+     * @param assemblyContext
+     *            the assembly context of the component instance owning the resource.
+     * @param model
+     *            the model of the run.
+     * @param capacity
+     *            the initial capacity of the resource.
+     * @param discipline
+     *            the order in which waiting requests are served.
+     * @param abandonment
+     *            whether requests are abandoned after their timeout.
+     */
+    public QueueingPassiveResource(final PassiveResource resource, final AssemblyContext assemblyContext,
+            final SimuComModel model, final long capacity, final WaitingDiscipline discipline,
+            final boolean abandonment) {
+        super();
+        this.resource = resource;
+        this.assemblyContext = assemblyContext;
+        this.model = model;
+        this.capacity = capacity;
+        this.available = capacity;
+        this.discipline = discipline;
+        this.abandonment = abandonment;
+        this.waitingQueue = discipline.createQueue();
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * The request is of the lowest priority, 0.
+     */
+    @Override
+    public boolean acquire(final ISchedulableProcess process, final long num, final boolean timeout,
+            final double timeoutValue) {
+        return this.acquire(process, num, 0, timeout, timeoutValue);
+    }
+
+    /**
+     * Acquires units of the resource, passivating the process until they are granted.
+     *
+     * @param process
+     *            the acquiring process.
+     * @param num
+     *            the number of units to acquire.
+     * @param priority
+     *            the priority of the request; only used by {@link WaitingDiscipline#PRIORITY}.
+     * @param timeout
+     *            whether the request may time out; only used if abandonment is enabled.
+     * @param timeoutValue
+     *            the time after which the request is abandoned.
+     * @return <code>false</code> if the request was abandoned or the process was woken up at the
+     *         end of the run, <code>true</code> if the units were granted.
+     */
+    public boolean acquire(final ISchedulableProcess process, final long num, final double priority,
+            final boolean timeout, final double timeoutValue) {
+        this.numberOfRequests++;
+        this.fireRequest(process, num);
+        if (this.numberOfWaitingRequests == 0 && num <= this.available) {
+            this.available -= num;
+            this.fireAcquire(process, num);
+            return true;
+        }
+
+        final WaitingRequest request = new WaitingRequest(process, num, priority, this.nextSequenceNumber++);
+        this.waitingQueue.offer(request);
+        this.numberOfWaitingRequests++;
+        // the discipline may serve the new request first
+        this.grantWaitingRequests(request);
+        if (request.state == RequestState.GRANTED) {
+            return true;
+        }
+        if (this.abandonment && timeout) {
+            if (this.abandonmentEntity == null) {
+                this.abandonmentEntity = new SimuComEntity(this.model, "QueueingPassiveResource") {
+                };
+            }
+            request.abandonmentEvent = new AbandonmentEvent(this.model, this, request);
+            request.abandonmentEvent.schedule(this.abandonmentEntity, timeoutValue);
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Process " + process.getId() + " is waiting for " + num + " of " + this.getName());
+        }
+        process.passivate();
+        return request.state == RequestState.GRANTED;
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * Units of a request the process abandoned are not released again.
+     */
+    @Override
+    public void release(final ISchedulableProcess process, final long num) {
+        long released = num;
+        if (!this.abandonedUnits.isEmpty()) {
+            final Long abandonedUnits = this.abandonedUnits.remove(process);
+            if (abandonedUnits != null) {
+                final long ignored = Math.min(abandonedUnits, num);
+                if (abandonedUnits > ignored) {
+                    this.abandonedUnits.put(process, abandonedUnits - ignored);
+                }
+                released -= ignored;
+            }
+        }
+        if (released > 0) {
+            this.available += released;
+            this.fireRelease(process, released);
+            this.grantWaitingRequests(null);
+        }
+    }
+
+    /**
+     * Grants the waiting requests which are next to be served as long as enough units are
+     * available, and activates their processes.
+     *
+     * @param current
+     *            the request of the currently acquiring process, which is not passivated yet, or
+     *            <code>null</code>.
+     */
+    private void grantWaitingRequests(final WaitingRequest current) {
+        WaitingRequest next = this.peekWaitingRequest();
+        while (next != null && next.num <= this.available) {
+            this.waitingQueue.poll();
+            this.numberOfWaitingRequests--;
+            next.state = RequestState.GRANTED;
+            next.removeAbandonmentEvent();
+            this.available -= next.num;
+            this.fireAcquire(next.process, next.num);
+            if (next != current) {
+                next.process.activate();
+            }
+            next = this.peekWaitingRequest();
+        }
+    }
+
+    /**
+     * @return the next request to be served; requests which are no longer waiting are removed
+     *         from the queue on the way.
+     */
+    private WaitingRequest peekWaitingRequest() {
+        WaitingRequest next = this.waitingQueue.peek();
+        while (next != null && next.state != RequestState.WAITING) {
+            this.waitingQueue.poll();
+            next = this.waitingQueue.peek();
+        }
+        return next;
+    }
+
+    /**
+     * Abandons a request if it is still waiting and activates its process.
+     */
+    private void abandon(final WaitingRequest request) {
+        if (request.state != RequestState.WAITING) {
+            return;
+        }
+        request.state = RequestState.ABANDONED;
+        request.abandonmentEvent = null;
+        this.numberOfWaitingRequests--;
+        this.numberOfAbandonments++;
+        final Long abandonedUnits = this.abandonedUnits.get(request.process);
+        this.abandonedUnits.put(request.process, abandonedUnits == null ? request.num : abandonedUnits + request.num);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Process " + request.process.getId() + " abandoned waiting for " + request.num + " of "
+                    + this.getName());
+        }
+        request.process.activate();
+        // the abandoned request may have blocked smaller ones
+        this.grantWaitingRequests(null);
+    }
+
+    /**
+     * Removes all waiting requests and activates their processes, e.g., at the end of the run.
+     * The {@link #acquire(ISchedulableProcess, long, double, boolean, double)} calls of the
+     * processes return <code>false</code>.
+     */
+    public void cancelWaitingRequests() {
+        WaitingRequest request;
+        while ((request = this.waitingQueue.poll()) != null) {
+            if (request.state == RequestState.WAITING) {
+                request.state = RequestState.CANCELED;
+                request.removeAbandonmentEvent();
+                request.process.activate();
+            }
+        }
+        this.numberOfWaitingRequests = 0;
+    }
+
+    private void fireRequest(final ISchedulableProcess process, final long num) {
+        for (int i = 0; i < this.observers.size(); i++) {
+            this.observers.get(i).request(this, process, num);
+        }
+    }
+
+    private void fireAcquire(final ISchedulableProcess process, final long num) {
+        for (int i = 0; i < this.observers.size(); i++) {
+            this.observers.get(i).acquire(this, process, num);
+        }
+    }
+
+    private void fireRelease(final ISchedulableProcess process, final long num) {
+        for (int i = 0; i < this.observers.size(); i++) {
+            this.observers.get(i).release(this, process, num);
+        }
+    }
+
+    @Override
+    public void addObserver(final IPassiveResourceSensor observer) {
+        this.observers.add(observer);
+    }
+
+    @Override
+    public void removeObserver(final IPassiveResourceSensor observer) {
+        this.observers.remove(observer);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * The requests are in the order they are served, except for
+     * {@link WaitingDiscipline#PRIORITY}, where their order is unspecified.
+     */
+    @Override
+    public Queue<IWaitingProcess> getWaitingProcesses() {
+        final Queue<IWaitingProcess> result = new ArrayDeque<IWaitingProcess>(this.numberOfWaitingRequests + 1);
+        for (final WaitingRequest request : this.waitingQueue) {
+            if (request.state == RequestState.WAITING) {
+                result.add(request);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getAvailable() {
+        return this.available;
+    }
+
+    @Override
+    public long getCapacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public String getName() {
+        return this.resource.getEntityName();
+    }
+
+    @Override
+    public String getId() {
+        return this.resource.getId();
+    }
+
+    public PassiveResource getResource() {
+        return this.resource;
+    }
+
+    public AssemblyContext getAssemblyContext() {
+        return this.assemblyContext;
+    }
+
+    public WaitingDiscipline getDiscipline() {
+        return this.discipline;
+    }
+
+    /**
+     * @return the number of requests of the resource so far.
+     */
+    public long getNumberOfRequests() {
+        return this.numberOfRequests;
+    }
+
+    /**
+     * @return the number of requests abandoned after their timeout so far.
+     */
+    public long getNumberOfAbandonments() {
+        return this.numberOfAbandonments;
+    }
+
+    private enum RequestState {
+        WAITING, GRANTED, ABANDONED, CANCELED
+    }
+
+    /**
+     * A request waiting for units of the resource.
+     */
+    static final class WaitingRequest implements IWaitingProcess {
+
+        private final ISchedulableProcess process;
+        private final long num;
+        private final double priority;
+        private final long sequenceNumber;
+        private RequestState state = RequestState.WAITING;
+        private AbandonmentEvent abandonmentEvent;
+
+        private WaitingRequest(final ISchedulableProcess process, final long num, final double priority,
+                final long sequenceNumber) {
+            super();
+            this.process = process;
+            this.num = num;
+            this.priority = priority;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public ISchedulableProcess getProcess() {
+            return this.process;
+        }
+
+        @Override
+        public long getNumRequested() {
+            return this.num;
+        }
+
+        double getPriority() {
+            return this.priority;
+        }
+
+        long getSequenceNumber() {
+            return this.sequenceNumber;
+        }
+
+        private void removeAbandonmentEvent() {
+            if (this.abandonmentEvent != null) {
+                this.abandonmentEvent.removeEvent();
+                this.abandonmentEvent = null;
+            }
+        }
+    }
+
+    /**
+     * Abandons a waiting request once its timeout has passed.
+     */
+    private static final class AbandonmentEvent extends AbstractSimEventDelegator<SimuComEntity> {
+
+        private final QueueingPassiveResource resource;
+        private final WaitingRequest request;
+
+        private AbandonmentEvent(final SimuComModel model, final QueueingPassiveResource resource,
+                final WaitingRequest request) {
+            super(model, "AbandonmentEvent");
+            this.resource = resource;
+            this.request = request;
+        }
+
+        @Override
+        public void eventRoutine(final SimuComEntity who) {
+            this.resource.abandon(this.request);
+        }
+    }
+}
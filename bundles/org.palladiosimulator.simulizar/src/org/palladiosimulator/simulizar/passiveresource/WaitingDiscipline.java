@@ -0,0 +1,54 @@
+package org.palladiosimulator.simulizar.passiveresource;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * Order in which a {@link QueueingPassiveResource} serves its waiting requests.
+ */
+public enum WaitingDiscipline {
+
+    /**
+     * Requests are served in the order of their arrival.
+     */
+    FIFO {
+        @Override
+        Queue<QueueingPassiveResource.WaitingRequest> createQueue() {
+            return new ArrayDeque<QueueingPassiveResource.WaitingRequest>();
+        }
+    },
+
+    /**
+     * The latest request is served first.
+     */
+    LIFO {
+        @Override
+        Queue<QueueingPassiveResource.WaitingRequest> createQueue() {
+            return Collections.asLifoQueue(new ArrayDeque<QueueingPassiveResource.WaitingRequest>());
+        }
+    },
+
+    /**
+     * Requests of higher priority are served first, requests of equal priority in the order of
+     * their arrival.
+     */
+    PRIORITY {
+        @Override
+        Queue<QueueingPassiveResource.WaitingRequest> createQueue() {
+            return new PriorityQueue<QueueingPassiveResource.WaitingRequest>(BY_PRIORITY);
+        }
+    };
+
+    private static final Comparator<QueueingPassiveResource.WaitingRequest> BY_PRIORITY = (first, second) -> {
+        final int result = Double.compare(second.getPriority(), first.getPriority());
+        return result != 0 ? result : Long.compare(first.getSequenceNumber(), second.getSequenceNumber());
+    };
+
+    /**
+     * @return an empty queue of waiting requests; its head is the request to be served next.
+     */
+    abstract Queue<QueueingPassiveResource.WaitingRequest> createQueue();
+}
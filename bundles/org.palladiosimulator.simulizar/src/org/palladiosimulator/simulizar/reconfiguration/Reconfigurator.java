@@ -8,7 +8,6 @@ import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.palladiosimulator.commons.designpatterns.AbstractObservable;
-import org.palladiosimulator.commons.eclipseutils.ExtensionHelper;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.runtimemeasurement.RuntimeMeasurement;
 import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementModel;
@@ -17,6 +16,7 @@ import org.palladiosimulator.simulizar.access.IModelAccess;
 import org.palladiosimulator.simulizar.interpreter.listener.BeginReconfigurationEvent;
 import org.palladiosimulator.simulizar.interpreter.listener.EndReconfigurationEvent;
 import org.palladiosimulator.simulizar.interpreter.listener.ReconfigurationExecutedEvent;
+import org.palladiosimulator.simulizar.launcher.SimuLizarExtensions;
 import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
 import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
 
@@ -97,7 +97,7 @@ public class Reconfigurator extends AbstractObservable<IReconfigurationListener>
 		this.reconfiguratorEngines = reconfigurators;
 		this.configuration = configuration;
 
-		this.reconfigurationLoaders = ExtensionHelper.getExecutableExtensions(
+		this.reconfigurationLoaders = SimuLizarExtensions.getExecutableExtensions(
 				SimulizarConstants.RECONFIGURATION_LOADER_EXTENSION_POINT_ID,
 				SimulizarConstants.RECONFIGURATION_LOADER_EXTENSION_POINT_LOADER_ATTRIBUTE);
 		reconfigurationLoaders.forEach(r -> {
@@ -233,6 +233,10 @@ public class Reconfigurator extends AbstractObservable<IReconfigurationListener>
 	public List<IReconfigurationLoader> getReconfigurationLoaders() {
 		return reconfigurationLoaders;
 	}
+
+	public List<IReconfigurationEngine> getReconfigurationEngines() {
+		return reconfiguratorEngines;
+	}
 	
 	
 
@@ -1,9 +1,22 @@
 package org.palladiosimulator.simulizar.runconfig;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.palladiosimulator.analyzer.workflow.ConstantsContainer;
+import org.palladiosimulator.simulizar.Activator;
+import org.palladiosimulator.simulizar.launcher.SimuLizarExtensions;
 import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStopMode;
+import org.palladiosimulator.simulizar.confidence.ConfidenceTarget;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceSemanticsType;
+import org.palladiosimulator.simulizar.warmup.WarmupDetectorType;
+import org.palladiosimulator.simulizar.warmup.WarmupFilterMode;
+import org.palladiosimulator.simulizar.warmup.WarmupFilteringRecorderConfigurationFactory;
 
 import de.uka.ipd.sdq.codegen.simucontroller.runconfig.SimuComExtensionConfigurationBuilder;
 import de.uka.ipd.sdq.codegen.simucontroller.runconfig.SimuComLaunchConfigurationBasedConfigBuilder;
@@ -24,29 +37,116 @@ public class SimuLizarLaunchConfigurationBasedConfigBuilder extends SimuComLaunc
 
     @Override
     public void fillConfiguration(final AbstractWorkflowBasedRunConfiguration configuration) throws CoreException {
-        final SimuLizarWorkflowConfiguration config = (SimuLizarWorkflowConfiguration) configuration;
-        config.setSimulateFailures(this.getBooleanAttribute(SimuComConfig.SIMULATE_FAILURES));
+        fillFromProperties((SimuLizarWorkflowConfiguration) configuration, this.properties);
+    }
+
+    /**
+     * Fills a configuration from the attributes of a launch configuration, or from properties
+     * given otherwise, e.g., by a run specification of a headless run. Boolean and number
+     * attributes may be given as strings. The SimuCom configuration extensions of workflow
+     * extensions are only derived if there is an extension registry.
+     *
+     * @param config
+     *            the configuration to fill.
+     * @param properties
+     *            the attributes; the recorder attributes are changed if a warm-up detector is
+     *            configured.
+     * @throws CoreException
+     *             if a required attribute is missing.
+     */
+    public static void fillFromProperties(final SimuLizarWorkflowConfiguration config,
+            final Map<String, Object> properties) throws CoreException {
+        config.setSimulateFailures(getBooleanAttribute(properties, SimuComConfig.SIMULATE_FAILURES));
 
         // accuracy analysis
-        config.setAccuracyInfluenceAnalysisEnabled(this.getBooleanAttribute(ConstantsContainer.ANALYSE_ACCURACY));
+        config.setAccuracyInfluenceAnalysisEnabled(
+                getBooleanAttribute(properties, ConstantsContainer.ANALYSE_ACCURACY));
         config.setAccuracyInformationModelFile(
-                this.getStringAttribute(ConstantsContainer.ACCURACY_QUALITY_ANNOTATION_FILE));
+                getStringAttribute(properties, ConstantsContainer.ACCURACY_QUALITY_ANNOTATION_FILE));
 
-        config.setMonitorRepositoryFile(this.getStringAttribute(SimulizarConstants.MONITOR_REPOSITORY_FILE));
-        config.setReconfigurationRulesFolder(this.getStringAttribute(SimulizarConstants.RECONFIGURATION_RULES_FOLDER));
+        config.setMonitorRepositoryFile(getStringAttribute(properties, SimulizarConstants.MONITOR_REPOSITORY_FILE));
+        config.setReconfigurationRulesFolder(
+                getStringAttribute(properties, SimulizarConstants.RECONFIGURATION_RULES_FOLDER));
         config.setServiceLevelObjectivesFile(
-                this.getStringAttribute(SimulizarConstants.SERVICELEVELOBJECTIVEREPOSITORY_FILE));
-        config.setUsageEvolutionFile(this.getStringAttribute(SimulizarConstants.USAGEEVOLUTION_FILE));
+                getStringAttribute(properties, SimulizarConstants.SERVICELEVELOBJECTIVEREPOSITORY_FILE));
+        config.setUsageEvolutionFile(getStringAttribute(properties, SimulizarConstants.USAGEEVOLUTION_FILE));
+
+        // warm-up detection is optional, launch configurations of earlier versions do not have it
+        if (properties.containsKey(SimulizarConstants.WARMUP_DETECTOR)
+                && !getStringAttribute(properties, SimulizarConstants.WARMUP_DETECTOR).isEmpty()) {
+            config.setWarmupDetector(
+                    WarmupDetectorType.valueOf(getStringAttribute(properties, SimulizarConstants.WARMUP_DETECTOR)));
+        }
+        if (properties.containsKey(SimulizarConstants.WARMUP_BATCH_SIZE)) {
+            config.setWarmupBatchSize(
+                    Integer.parseInt(getStringAttribute(properties, SimulizarConstants.WARMUP_BATCH_SIZE)));
+        }
+        if (properties.containsKey(SimulizarConstants.WARMUP_MINIMUM_SAMPLES)) {
+            config.setWarmupMinimumSamples(
+                    Long.parseLong(getStringAttribute(properties, SimulizarConstants.WARMUP_MINIMUM_SAMPLES)));
+        }
+        if (properties.containsKey(SimulizarConstants.WARMUP_FILTER_MODE)) {
+            config.setWarmupFilterMode(
+                    WarmupFilterMode.valueOf(
+                            getStringAttribute(properties, SimulizarConstants.WARMUP_FILTER_MODE)));
+        }
+        if (properties.containsKey(SimulizarConstants.WARMUP_DETECTION_TIME_LIMIT)) {
+            config.setWarmupDetectionTimeLimit(
+                    Double.parseDouble(
+                            getStringAttribute(properties, SimulizarConstants.WARMUP_DETECTION_TIME_LIMIT)));
+        }
+        if (config.getWarmupDetector() != null) {
+            // the filter passes the measurements on to the configured recorder
+            WarmupFilteringRecorderConfigurationFactory.decorateRecorder(properties);
+        }
+
+        // and so are confidence stop conditions
+        if (properties.containsKey(SimulizarConstants.CONFIDENCE_STOP_CONDITIONS)) {
+            config.setConfidenceTargets(
+                    ConfidenceTarget.parse(
+                            getStringAttribute(properties, SimulizarConstants.CONFIDENCE_STOP_CONDITIONS)));
+        }
+        if (properties.containsKey(SimulizarConstants.CONFIDENCE_STOP_MODE)) {
+            config.setConfidenceStopMode(
+                    ConfidenceStopMode.valueOf(
+                            getStringAttribute(properties, SimulizarConstants.CONFIDENCE_STOP_MODE)));
+        }
+        if (properties.containsKey(SimulizarConstants.PASSIVE_RESOURCE_SEMANTICS)) {
+            config.setPassiveResourceSemantics(PassiveResourceSemanticsType
+                    .parse(getStringAttribute(properties, SimulizarConstants.PASSIVE_RESOURCE_SEMANTICS)));
+        }
+        if (properties.containsKey(SimulizarConstants.SIMULATE_NETWORK)) {
+            config.setSimulateNetwork(getBooleanAttribute(properties, SimulizarConstants.SIMULATE_NETWORK));
+        }
+        if (properties.containsKey(SimulizarConstants.NETWORK_DEFAULT_PAYLOAD_SIZE)) {
+            config.setNetworkDefaultPayloadSize(
+                    Double.parseDouble(
+                            getStringAttribute(properties, SimulizarConstants.NETWORK_DEFAULT_PAYLOAD_SIZE)));
+        }
+        if (properties.containsKey(SimulizarConstants.PARALLEL_MODEL_LOADING)) {
+            config.setParallelModelLoading(
+                    getBooleanAttribute(properties, SimulizarConstants.PARALLEL_MODEL_LOADING));
+        }
+        if (properties.containsKey(SimulizarConstants.MODEL_LOADING_THREADS)) {
+            config.setModelLoadingThreads(
+                    Integer.parseInt(getStringAttribute(properties, SimulizarConstants.MODEL_LOADING_THREADS)));
+        }
+        if (properties.containsKey(SimulizarConstants.MODEL_CACHE_FOLDER)) {
+            config.setModelCacheFolder(getStringAttribute(properties, SimulizarConstants.MODEL_CACHE_FOLDER));
+        }
 
-        final SimuComConfig simuComConfig = new SimuComConfig(this.properties, config.isDebug());
+        final SimuComConfig simuComConfig = new SimuComConfig(properties, config.isDebug());
 
         // Set SimuCom config extensions based on registered extensions
-        for (final String workflowHookId : WorkflowHooks.getAllWorkflowHookIDs()) {
+        final Iterable<String> workflowHookIds = SimuLizarExtensions.isExtensionRegistryAvailable()
+                ? WorkflowHooks.getAllWorkflowHookIDs()
+                : Collections.<String> emptyList();
+        for (final String workflowHookId : workflowHookIds) {
             for (final WorkflowExtension<?> workflowExtension : ExtensionHelper.getWorkflowExtensions(workflowHookId)) {
                 if ((workflowExtension.getExtensionConfigurationBuilder() != null) && (workflowExtension
                         .getExtensionConfigurationBuilder() instanceof SimuComExtensionConfigurationBuilder)) {
                     final SimuComConfigExtension simuComConfigExtension = ((SimuComExtensionConfigurationBuilder) workflowExtension
-                            .getExtensionConfigurationBuilder()).deriveSimuComConfigExtension(this.properties);
+                            .getExtensionConfigurationBuilder()).deriveSimuComConfigExtension(properties);
                     if (simuComConfigExtension != null) {
                         simuComConfig.addSimuComConfigExtension(workflowExtension.getId(), simuComConfigExtension);
                     }
@@ -56,4 +156,19 @@ public class SimuLizarLaunchConfigurationBasedConfigBuilder extends SimuComLaunc
 
         config.setSimuComConfiguration(simuComConfig);
     }
+
+    private static String getStringAttribute(final Map<String, Object> properties, final String key)
+            throws CoreException {
+        if (!properties.containsKey(key)) {
+            throw new CoreException(
+                    new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Setting " + key + " is missing"));
+        }
+        final Object value = properties.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    private static boolean getBooleanAttribute(final Map<String, Object> properties, final String key)
+            throws CoreException {
+        return Boolean.parseBoolean(getStringAttribute(properties, key));
+    }
 }
@@ -1,8 +1,15 @@
 package org.palladiosimulator.simulizar.runconfig;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStopMode;
+import org.palladiosimulator.simulizar.confidence.ConfidenceTarget;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceSemantics;
+import org.palladiosimulator.simulizar.warmup.WarmupDetectorType;
+import org.palladiosimulator.simulizar.warmup.WarmupFilterMode;
 
 import de.uka.ipd.sdq.codegen.simucontroller.runconfig.SimuComWorkflowConfiguration;
 
@@ -15,6 +22,19 @@ public class SimuLizarWorkflowConfiguration extends SimuComWorkflowConfiguration
     protected String reconfigurationRulesFolder;
     protected String usageEvolutionFile;
     protected String serviceLevelObjectivesFile;
+    protected WarmupDetectorType warmupDetector;
+    protected int warmupBatchSize = 5;
+    protected long warmupMinimumSamples = 100;
+    protected WarmupFilterMode warmupFilterMode = WarmupFilterMode.TAG;
+    protected double warmupDetectionTimeLimit;
+    protected List<ConfidenceTarget> confidenceTargets = Collections.emptyList();
+    protected ConfidenceStopMode confidenceStopMode = ConfidenceStopMode.ALL_OF;
+    protected Map<String, PassiveResourceSemantics> passiveResourceSemantics = Collections.emptyMap();
+    protected boolean simulateNetwork;
+    protected double networkDefaultPayloadSize;
+    protected boolean parallelModelLoading;
+    protected int modelLoadingThreads;
+    protected String modelCacheFolder = "";
 
     public SimuLizarWorkflowConfiguration(final Map<String, Object> attributes) {
         super(attributes);
@@ -52,6 +72,158 @@ public class SimuLizarWorkflowConfiguration extends SimuComWorkflowConfiguration
         this.serviceLevelObjectivesFile = serviceLevelObjectivesFile;
     }
 
+    /**
+     * @return the detector of the end of the warm-up period of the recorded series and of the
+     *         series of the confidence targets, or <code>null</code> if the warm-up is not
+     *         detected.
+     */
+    public WarmupDetectorType getWarmupDetector() {
+        return this.warmupDetector;
+    }
+
+    public void setWarmupDetector(final WarmupDetectorType warmupDetector) {
+        this.warmupDetector = warmupDetector;
+    }
+
+    /**
+     * @return the initial number of samples per batch of the warm-up detectors.
+     */
+    public int getWarmupBatchSize() {
+        return this.warmupBatchSize;
+    }
+
+    public void setWarmupBatchSize(final int warmupBatchSize) {
+        this.warmupBatchSize = warmupBatchSize;
+    }
+
+    /**
+     * @return the number of samples before which the steady state of a series is never detected.
+     */
+    public long getWarmupMinimumSamples() {
+        return this.warmupMinimumSamples;
+    }
+
+    public void setWarmupMinimumSamples(final long warmupMinimumSamples) {
+        this.warmupMinimumSamples = warmupMinimumSamples;
+    }
+
+    /**
+     * @return how the samples of the warm-up period are passed on to the recorder.
+     */
+    public WarmupFilterMode getWarmupFilterMode() {
+        return this.warmupFilterMode;
+    }
+
+    public void setWarmupFilterMode(final WarmupFilterMode warmupFilterMode) {
+        this.warmupFilterMode = warmupFilterMode;
+    }
+
+    /**
+     * @return the simulated time in seconds after which the run is stopped if the steady state of
+     *         some series has not been detected; there is no limit if it is not positive.
+     */
+    public double getWarmupDetectionTimeLimit() {
+        return this.warmupDetectionTimeLimit;
+    }
+
+    public void setWarmupDetectionTimeLimit(final double warmupDetectionTimeLimit) {
+        this.warmupDetectionTimeLimit = warmupDetectionTimeLimit;
+    }
+
+    /**
+     * @return the precision to be reached per series before the run is stopped; empty if the run
+     *         is not stopped by confidence.
+     */
+    public List<ConfidenceTarget> getConfidenceTargets() {
+        return this.confidenceTargets;
+    }
+
+    public void setConfidenceTargets(final List<ConfidenceTarget> confidenceTargets) {
+        this.confidenceTargets = confidenceTargets;
+    }
+
+    /**
+     * @return whether all or any of the confidence targets have to be reached.
+     */
+    public ConfidenceStopMode getConfidenceStopMode() {
+        return this.confidenceStopMode;
+    }
+
+    public void setConfidenceStopMode(final ConfidenceStopMode confidenceStopMode) {
+        this.confidenceStopMode = confidenceStopMode;
+    }
+
+    /**
+     * @return the semantics by id or name of passive resources; others are simulated in FIFO
+     *         order.
+     */
+    public Map<String, PassiveResourceSemantics> getPassiveResourceSemantics() {
+        return this.passiveResourceSemantics;
+    }
+
+    public void setPassiveResourceSemantics(final Map<String, PassiveResourceSemantics> passiveResourceSemantics) {
+        this.passiveResourceSemantics = passiveResourceSemantics;
+    }
+
+    /**
+     * @return whether calls between components on different resource containers are delayed by
+     *         the linking resources connecting the containers.
+     */
+    public boolean isSimulateNetwork() {
+        return this.simulateNetwork;
+    }
+
+    public void setSimulateNetwork(final boolean simulateNetwork) {
+        this.simulateNetwork = simulateNetwork;
+    }
+
+    /**
+     * @return the payload size in bytes transferred for calls and replies without
+     *         <code>BYTESIZE</code> characterisations of their parameters.
+     */
+    public double getNetworkDefaultPayloadSize() {
+        return this.networkDefaultPayloadSize;
+    }
+
+    public void setNetworkDefaultPayloadSize(final double networkDefaultPayloadSize) {
+        this.networkDefaultPayloadSize = networkDefaultPayloadSize;
+    }
+
+    /**
+     * @return whether the models are parsed in parallel before they are loaded into the
+     *         blackboard.
+     */
+    public boolean isParallelModelLoading() {
+        return this.parallelModelLoading;
+    }
+
+    public void setParallelModelLoading(final boolean parallelModelLoading) {
+        this.parallelModelLoading = parallelModelLoading;
+    }
+
+    /**
+     * @return the number of threads parsing models, 0 for one thread per available processor.
+     */
+    public int getModelLoadingThreads() {
+        return this.modelLoadingThreads;
+    }
+
+    public void setModelLoadingThreads(final int modelLoadingThreads) {
+        this.modelLoadingThreads = modelLoadingThreads;
+    }
+
+    /**
+     * @return the folder parsed models are cached in if they are parsed in parallel, or an empty
+     *         string if they are not cached.
+     */
+    public String getModelCacheFolder() {
+        return this.modelCacheFolder;
+    }
+
+    public void setModelCacheFolder(final String modelCacheFolder) {
+        this.modelCacheFolder = modelCacheFolder;
+    }
+
     @Override
     public void setDefaults() {
         throw new RuntimeException("Not implemented. No defaults defined.");
@@ -63,6 +235,19 @@ public class SimuLizarWorkflowConfiguration extends SimuComWorkflowConfiguration
         config.monitorRepositoryFile = this.monitorRepositoryFile;
         config.reconfigurationRulesFolder = this.reconfigurationRulesFolder;
         config.usageEvolutionFile = this.usageEvolutionFile;
+        config.warmupDetector = this.warmupDetector;
+        config.warmupBatchSize = this.warmupBatchSize;
+        config.warmupMinimumSamples = this.warmupMinimumSamples;
+        config.warmupFilterMode = this.warmupFilterMode;
+        config.warmupDetectionTimeLimit = this.warmupDetectionTimeLimit;
+        config.confidenceTargets = this.confidenceTargets;
+        config.confidenceStopMode = this.confidenceStopMode;
+        config.passiveResourceSemantics = this.passiveResourceSemantics;
+        config.simulateNetwork = this.simulateNetwork;
+        config.networkDefaultPayloadSize = this.networkDefaultPayloadSize;
+        config.parallelModelLoading = this.parallelModelLoading;
+        config.modelLoadingThreads = this.modelLoadingThreads;
+        config.modelCacheFolder = this.modelCacheFolder;
         return config;
     }
 
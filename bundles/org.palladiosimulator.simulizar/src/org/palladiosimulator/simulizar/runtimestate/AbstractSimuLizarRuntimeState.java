@@ -4,34 +4,47 @@ import static org.palladiosimulator.metricspec.constants.MetricDescriptionConsta
 import static org.palladiosimulator.metricspec.constants.MetricDescriptionConstants.NUMBER_OF_RESOURCE_CONTAINERS_OVER_TIME;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.log4j.Logger;
-import org.palladiosimulator.commons.eclipseutils.ExtensionHelper;
 import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
 import org.palladiosimulator.edp2.util.MetricDescriptionUtility;
 import org.palladiosimulator.monitorrepository.MeasurementSpecification;
 import org.palladiosimulator.monitorrepository.MonitorRepository;
 import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
 import org.palladiosimulator.probeframework.probes.TriggeredProbe;
+import org.palladiosimulator.probeframework.calculator.RegisterCalculatorFactoryDecorator;
 import org.palladiosimulator.probeframework.probes.TriggeredProbeList;
+import org.palladiosimulator.recorderframework.config.IRecorderConfigurationFactory;
 import org.palladiosimulator.simulizar.access.IModelAccess;
 import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.confidence.CompositeConfidenceStopCondition;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStopConditionFactory;
 import org.palladiosimulator.simulizar.interpreter.EventNotificationHelper;
 import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
 import org.palladiosimulator.simulizar.interpreter.listener.BeginReconfigurationEvent;
 import org.palladiosimulator.simulizar.interpreter.listener.EndReconfigurationEvent;
 import org.palladiosimulator.simulizar.interpreter.listener.EventResult;
 import org.palladiosimulator.simulizar.interpreter.listener.ReconfigurationExecutedEvent;
+import org.palladiosimulator.simulizar.launcher.SimuLizarExtensions;
 import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
 import org.palladiosimulator.simulizar.modelobserver.IModelObserver;
+import org.palladiosimulator.simulizar.network.NetworkSimulation;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceIndexRegistry;
 import org.palladiosimulator.simulizar.reconfiguration.IReconfigurationEngine;
 import org.palladiosimulator.simulizar.reconfiguration.IReconfigurationListener;
 import org.palladiosimulator.simulizar.reconfiguration.Reconfigurator;
 import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicTaskScheduler;
 import org.palladiosimulator.simulizar.usagemodel.SimulatedUsageModels;
 import org.palladiosimulator.simulizar.usagemodel.UsageEvolverFacade;
 import org.palladiosimulator.simulizar.utils.MonitorRepositoryUtil;
+import org.palladiosimulator.simulizar.warmup.SteadyStateStopCondition;
+import org.palladiosimulator.simulizar.warmup.WarmupDetectionRegistry;
+import org.palladiosimulator.simulizar.warmup.WarmupDetectorType;
+import org.palladiosimulator.simulizar.warmup.WarmupFilteringRecorderConfigurationFactory;
 
 import de.uka.ipd.sdq.simucomframework.ExperimentRunner;
 import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
@@ -56,7 +69,9 @@ public abstract class AbstractSimuLizarRuntimeState {
     private static final Logger LOGGER = Logger.getLogger(SimuLizarRuntimeState.class);
 
     protected final SimuComModel model;
+    private final PeriodicTaskScheduler periodicTaskScheduler;
     protected final EventNotificationHelper eventHelper;
+    private final UsersInFlight usersInFlight;
     private final ComponentInstanceRegistry componentInstanceRegistry;
     private final InterpreterDefaultContext mainContext;
     private final SimulatedUsageModels usageModels;
@@ -65,6 +80,9 @@ public abstract class AbstractSimuLizarRuntimeState {
     private final List<IModelObserver> modelObservers;
     protected final SimulationCancelationDelegate cancelationDelegate;
     protected final UsageEvolverFacade usageEvolverFacade;
+    private final CompositeConfidenceStopCondition confidenceStopCondition;
+    private final PassiveResourceIndexRegistry passiveResourceIndexRegistry;
+    private final NetworkSimulation networkSimulation;
 
     private long numberOfContainers = 0;
 
@@ -78,14 +96,22 @@ public abstract class AbstractSimuLizarRuntimeState {
         this.modelAccess = modelAccess;
         this.cancelationDelegate = cancelationDelegate;
         this.model = SimuComModelFactory.createSimuComModel(configuration);
+        this.periodicTaskScheduler = PeriodicTaskScheduler.getScheduler(this.model);
 
         this.eventHelper = new EventNotificationHelper();
+        this.usersInFlight = new UsersInFlight();
+        this.eventHelper.addObserver(this.usersInFlight);
         this.componentInstanceRegistry = new ComponentInstanceRegistry();
+        this.passiveResourceIndexRegistry = new PassiveResourceIndexRegistry(
+                configuration.getPassiveResourceSemantics(), modelAccess);
         this.mainContext = new InterpreterDefaultContext(this);
         this.usageModels = new SimulatedUsageModels(this.mainContext);
         this.initializeWorkloadDrivers();
 
         this.reconfigurator = this.initializeReconfiguratorEngines(configuration, this.model.getSimulationControl());
+        // the ResourceEnvironmentSyncer invalidates the routes of the network simulation
+        this.networkSimulation = configuration.isSimulateNetwork()
+                ? new NetworkSimulation(this, configuration.getNetworkDefaultPayloadSize()) : null;
         this.modelObservers = this.initializeModelObservers();
         // ensure to initialize model syncers (in particular
         // ResourceEnvironmentSyncer) prior to
@@ -94,7 +120,10 @@ public abstract class AbstractSimuLizarRuntimeState {
         // calculators of
         // resources created in ResourceEnvironmentSyncer!
         this.initializeCancelation();
+        this.initializeWarmupDetection(configuration);
         this.initializeInterpreterListeners(this.reconfigurator);
+        // confidence stop conditions observe calculators created by the ProbeFrameworkListener
+        this.confidenceStopCondition = this.initializeConfidenceStopConditions(configuration);
         this.usageEvolverFacade = new UsageEvolverFacade(this);
         this.initializeUsageEvolver();
         this.modelAccess.startObservingPcmChanges();
@@ -107,6 +136,14 @@ public abstract class AbstractSimuLizarRuntimeState {
         return this.model;
     }
 
+    /**
+     * @return the scheduler of the periodic tasks of the run, e.g., of the sliding windows and
+     *         usage evolvers.
+     */
+    public final PeriodicTaskScheduler getPeriodicTaskScheduler() {
+        return this.periodicTaskScheduler;
+    }
+
     public EventNotificationHelper getEventNotificationHelper() {
         return this.eventHelper;
     }
@@ -118,6 +155,32 @@ public abstract class AbstractSimuLizarRuntimeState {
         return this.componentInstanceRegistry;
     }
 
+    /**
+     * @return the indices of the passive resources of the basic components, shared by their
+     *         instances.
+     */
+    public PassiveResourceIndexRegistry getPassiveResourceIndexRegistry() {
+        return this.passiveResourceIndexRegistry;
+    }
+
+    /**
+     * @return the simulation of transfers between resource containers, or <code>null</code> if the
+     *         network is not simulated in this run.
+     */
+    public NetworkSimulation getNetworkSimulation() {
+        return this.networkSimulation;
+    }
+
+    /**
+     * @param usageScenario
+     *            a usage scenario of the global PCM model.
+     * @return the number of users which have started the usage scenario and have not finished it
+     *         yet.
+     */
+    public int getNumberOfUsersInFlight(final UsageScenario usageScenario) {
+        return this.usersInFlight.get(usageScenario.getId());
+    }
+
     public InterpreterDefaultContext getMainContext() {
         return this.mainContext;
     }
@@ -130,6 +193,13 @@ public abstract class AbstractSimuLizarRuntimeState {
         return this.modelAccess;
     }
 
+    /**
+     * @return the observers keeping the simulation in sync with the global PCM model.
+     */
+    public List<IModelObserver> getModelObservers() {
+        return Collections.unmodifiableList(this.modelObservers);
+    }
+
     public boolean isCanceled() {
         return this.cancelationDelegate.isCanceled();
     }
@@ -151,15 +221,46 @@ public abstract class AbstractSimuLizarRuntimeState {
                 "Finished Simulation. Simulator took " + (simRealTimeNano / Math.pow(10, 9)) + " real time seconds");
     }
 
+    /**
+     * @return the warm-up detectors of the recorded series, or <code>null</code> if the warm-up is
+     *         not detected in this run, see {@link WarmupFilteringRecorderConfigurationFactory}.
+     */
+    public WarmupDetectionRegistry getWarmupDetectionRegistry() {
+        final IRecorderConfigurationFactory recorderConfigurationFactory = this.model.getConfiguration()
+                .getRecorderConfigurationFactory();
+        if (recorderConfigurationFactory instanceof WarmupFilteringRecorderConfigurationFactory) {
+            return ((WarmupFilteringRecorderConfigurationFactory) recorderConfigurationFactory).getRegistry();
+        }
+        return null;
+    }
+
+    /**
+     * @return the condition stopping the run once the configured confidence is reached, or
+     *         <code>null</code> if no confidence target is configured. Progress listeners may be
+     *         added to it before the simulation is run.
+     */
+    public CompositeConfidenceStopCondition getConfidenceStopCondition() {
+        return this.confidenceStopCondition;
+    }
+
     public void cleanUp() {
         LOGGER.debug("Deregister all listeners and execute cleanup code");
         this.eventHelper.removeAllListener();
         this.reconfigurator.removeAllObserver();
         this.reconfigurator.cleanUp();
         this.modelAccess.stopObservingPcmChanges();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Local PCM copies regenerated " + this.modelAccess.getNumberOfSnapshots()
+                    + " times (causes: " + this.modelAccess.getSnapshotInvalidationCauses() + "), "
+                    + this.modelAccess.getNumberOfIgnoredWorkloadChanges() + " workload changes synced directly");
+        }
         this.model.getProbeFrameworkContext().finish();
         this.model.getConfiguration().getRecorderConfigurationFactory().finalizeRecorderConfigurationFactory();
         this.modelObservers.forEach(IModelObserver::unregister);
+        if (this.networkSimulation != null) {
+            this.networkSimulation.cleanUp();
+        }
+        this.periodicTaskScheduler.dispose();
     }
 
     private void initializeWorkloadDrivers() {
@@ -175,7 +276,7 @@ public abstract class AbstractSimuLizarRuntimeState {
 
         final TriggeredProbe numberOfResourceCalculatorsProbes = initNumberOfResourceContainersCalculator();
 
-        final List<IReconfigurationEngine> reconfigEngines = ExtensionHelper.getExecutableExtensions(
+        final List<IReconfigurationEngine> reconfigEngines = SimuLizarExtensions.getExecutableExtensions(
                 SimulizarConstants.RECONFIGURATION_ENGINE_EXTENSION_POINT_ID,
                 SimulizarConstants.RECONFIGURATION_ENGINE_EXTENSION_POINT_ENGINE_ATTRIBUTE);
 
@@ -265,8 +366,9 @@ public abstract class AbstractSimuLizarRuntimeState {
         LOGGER.debug(
                 "Initialize model observers, e.g., to keep simucom framework objects in sync with global PCM model");
 
-        final List<IModelObserver> modelObservers = ExtensionHelper
-                .getExecutableExtensions("org.palladiosimulator.simulizar.modelobserver", "modelObserver");
+        final List<IModelObserver> modelObservers = SimuLizarExtensions.getExecutableExtensions(
+                SimulizarConstants.MODEL_OBSERVER_EXTENSION_POINT_ID,
+                SimulizarConstants.MODEL_OBSERVER_EXTENSION_POINT_ATTRIBUTE);
         modelObservers.forEach(m -> m.initialize(this));
 
         return modelObservers;
@@ -284,6 +386,37 @@ public abstract class AbstractSimuLizarRuntimeState {
         this.model.getSimulationControl().addStopCondition(this::isCanceled);
     }
 
+    private void initializeWarmupDetection(final SimuLizarWorkflowConfiguration configuration) {
+        final WarmupDetectionRegistry registry = this.getWarmupDetectionRegistry();
+        if (registry != null && configuration.getWarmupDetectionTimeLimit() > 0) {
+            LOGGER.debug("Stop the simulation if no steady state is detected within "
+                    + configuration.getWarmupDetectionTimeLimit() + " simulated seconds");
+            this.model.getSimulationControl().addStopCondition(new SteadyStateStopCondition(registry,
+                    this.model.getSimulationControl(), configuration.getWarmupDetectionTimeLimit()));
+        }
+    }
+
+    private CompositeConfidenceStopCondition initializeConfidenceStopConditions(
+            final SimuLizarWorkflowConfiguration configuration) {
+        if (configuration.getConfidenceTargets().isEmpty()) {
+            return null;
+        }
+        LOGGER.debug("Stop the simulation once the confidence of " + configuration.getConfidenceStopMode() + " "
+                + configuration.getConfidenceTargets() + " is reached");
+        // the warm-up of the series is excluded from the estimates if it is detected
+        final WarmupDetectorType warmupDetector = configuration.getWarmupDetector();
+        final CompositeConfidenceStopCondition stopCondition = ConfidenceStopConditionFactory.createStopCondition(
+                configuration.getConfidenceTargets(), configuration.getConfidenceStopMode(),
+                this.modelAccess.getMonitorRepositoryModel(),
+                RegisterCalculatorFactoryDecorator.class
+                        .cast(this.model.getProbeFrameworkContext().getCalculatorFactory()),
+                warmupDetector == null ? null
+                        : () -> warmupDetector.createDetector(configuration.getWarmupBatchSize(),
+                                configuration.getWarmupMinimumSamples()));
+        this.model.getSimulationControl().addStopCondition(stopCondition);
+        return stopCondition;
+    }
+
     public UsageEvolverFacade getUsageEvolverFacade() {
         return this.usageEvolverFacade;
     }
@@ -1,107 +1,119 @@
 package org.palladiosimulator.simulizar.runtimestate;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 
-import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
-import org.palladiosimulator.monitorrepository.MeasurementSpecification;
 import org.palladiosimulator.pcm.core.composition.AssemblyContext;
 import org.palladiosimulator.pcm.repository.PassiveResource;
 import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
-import org.palladiosimulator.simulizar.utils.MonitorRepositoryUtil;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceIndex;
+import org.palladiosimulator.simulizar.passiveresource.QueueingPassiveResource;
 
 import de.uka.ipd.sdq.scheduler.IPassiveResource;
-import de.uka.ipd.sdq.scheduler.ISchedulableProcess;
 import de.uka.ipd.sdq.scheduler.processes.IWaitingProcess;
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
 import de.uka.ipd.sdq.simucomframework.resources.CalculatorHelper;
-import de.uka.ipd.sdq.simucomframework.resources.SimSimpleFairPassiveResource;
 import de.uka.ipd.sdq.simucomframework.variables.StackContext;
 
 public class SimulatedBasicComponentInstance extends SimulatedComponentInstance {
 
-    private final Map<String, IPassiveResource> passiveResourcesMap;
+    private final PassiveResourceIndex passiveResourceIndex;
+    private final IPassiveResource[] passiveResources;
 
+    /**
+     * Creates an instance whose passive resources are indexed for this instance only; prefer
+     * {@link #SimulatedBasicComponentInstance(InterpreterDefaultContext, FQComponentID, PassiveResourceIndex)}
+     * with the index of the component type.
+     */
     public SimulatedBasicComponentInstance(final InterpreterDefaultContext context, final FQComponentID fqID,
             final List<PassiveResource> passiveResources) {
+        this(context, fqID,
+                context.getRuntimeState().getPassiveResourceIndexRegistry().compileIndex(passiveResources));
+    }
+
+    /**
+     * @param context
+     *            the context creating the instance; the capacities of the passive resources are
+     *            evaluated in its current stack frame.
+     * @param fqID
+     *            the id of the instance.
+     * @param passiveResourceIndex
+     *            the index of the passive resources of the component type, see
+     *            {@link org.palladiosimulator.simulizar.passiveresource.PassiveResourceIndexRegistry}.
+     */
+    public SimulatedBasicComponentInstance(final InterpreterDefaultContext context, final FQComponentID fqID,
+            final PassiveResourceIndex passiveResourceIndex) {
         super(context.getRuntimeState(), fqID.getFQIDString());
 
-        this.passiveResourcesMap = new HashMap<String, IPassiveResource>();
+        this.passiveResourceIndex = passiveResourceIndex;
+        this.passiveResources = new IPassiveResource[passiveResourceIndex.size()];
         final AssemblyContext myAssCtx = fqID.getAssembyContextPath().get(fqID.getAssembyContextPath().size() - 1);
-        for (final PassiveResource passiveResource : passiveResources) {
+        final SimuComModel model = this.getRuntimeState().getModel();
+        for (int slot = 0; slot < this.passiveResources.length; slot++) {
+            final PassiveResource passiveResource = passiveResourceIndex.getPassiveResource(slot);
             final long initialCount = (long) StackContext.evaluateStatic(
                     passiveResource.getCapacity_PassiveResource().getSpecification(), Long.class,
                     context.getStack().currentStackFrame());
-            final IPassiveResource simulatedResource = new SimSimpleFairPassiveResource(passiveResource, myAssCtx,
-                    this.getRuntimeState().getModel(), initialCount);
-            this.passiveResourcesMap.put(passiveResource.getId(), simulatedResource);
+            final IPassiveResource simulatedResource = passiveResourceIndex.getSemantics(slot)
+                    .createResource(passiveResource, myAssCtx, model, initialCount);
+            this.passiveResources[slot] = simulatedResource;
 
-            MeasurementSpecification measurementSpecification = MonitorRepositoryUtil.isMonitored(
-                    context.getRuntimeState().getModelAccess().getMonitorRepositoryModel(), passiveResource,
-                    MetricDescriptionConstants.STATE_OF_PASSIVE_RESOURCE_METRIC);
-            if (this.isMonitored(measurementSpecification)) {
-                CalculatorHelper.setupPassiveResourceStateCalculator(simulatedResource,
-                        this.getRuntimeState().getModel());
+            if (passiveResourceIndex.isStateMonitored(slot)) {
+                CalculatorHelper.setupPassiveResourceStateCalculator(simulatedResource, model);
             }
-
-            measurementSpecification = MonitorRepositoryUtil.isMonitored(
-                    context.getRuntimeState().getModelAccess().getMonitorRepositoryModel(), passiveResource,
-                    MetricDescriptionConstants.WAITING_TIME_METRIC);
-            if (this.isMonitored(measurementSpecification)) {
-                CalculatorHelper.setupWaitingTimeCalculator(simulatedResource, this.getRuntimeState().getModel());
+            if (passiveResourceIndex.isWaitingTimeMonitored(slot)) {
+                CalculatorHelper.setupWaitingTimeCalculator(simulatedResource, model);
             }
-
-            measurementSpecification = MonitorRepositoryUtil.isMonitored(
-                    context.getRuntimeState().getModelAccess().getMonitorRepositoryModel(), passiveResource,
-                    MetricDescriptionConstants.HOLDING_TIME_METRIC);
-            if (this.isMonitored(measurementSpecification)) {
-                CalculatorHelper.setupHoldTimeCalculator(simulatedResource, this.getRuntimeState().getModel());
+            if (passiveResourceIndex.isHoldingTimeMonitored(slot)) {
+                CalculatorHelper.setupHoldTimeCalculator(simulatedResource, model);
             }
         }
     }
 
     /**
-     * @param measurementSpecification
-     *            the measurement specification to check
-     * @return true if it is monitored
+     * Acquires a unit of a passive resource as decided by its semantics.
+     *
+     * @return <code>false</code> if the process gave up waiting for the resource, see
+     *         {@link org.palladiosimulator.simulizar.passiveresource.PassiveResourceSemantics#acquire(IPassiveResource, InterpreterDefaultContext, boolean, double)}.
      */
-    private boolean isMonitored(final MeasurementSpecification measurementSpecification) {
-        return measurementSpecification != null;
-    }
-
-    public void acquirePassiveResource(final PassiveResource passiveResource, final InterpreterDefaultContext context,
-            final boolean timeout, final double timeoutValue) {
-        this.checkAcquireReleasePrecondition(passiveResource);
-
-        this.passiveResourcesMap.get(passiveResource.getId()).acquire(context.getThread(), 1, timeout, timeoutValue);
+    public boolean acquirePassiveResource(final PassiveResource passiveResource,
+            final InterpreterDefaultContext context, final boolean timeout, final double timeoutValue) {
+        final int slot = this.getSlot(passiveResource);
+        return this.passiveResourceIndex.getSemantics(slot).acquire(this.passiveResources[slot], context, timeout,
+                timeoutValue);
     }
 
     public void releasePassiveResource(final PassiveResource passiveResource, final InterpreterDefaultContext context) {
-        this.checkAcquireReleasePrecondition(passiveResource);
-
-        this.passiveResourcesMap.get(passiveResource.getId()).release(context.getThread(), 1);
+        this.passiveResources[this.getSlot(passiveResource)].release(context.getThread(), 1);
     }
 
     public long getAvailablePassiveResource(final PassiveResource passiveResource, final InterpreterDefaultContext context) {
-        this.checkAcquireReleasePrecondition(passiveResource);
-
-        return this.passiveResourcesMap.get(passiveResource.getId()).getAvailable();
+        return this.passiveResources[this.getSlot(passiveResource)].getAvailable();
     }
 
     /**
-     * @param passiveResource
+     * @return the slot of the passive resource in this instance.
+     * @throws IllegalArgumentException
+     *             if the passive resource does not belong to this instance.
      */
-    private void checkAcquireReleasePrecondition(final PassiveResource passiveResource) {
-        if (passiveResource == null || !this.passiveResourcesMap.containsKey(passiveResource.getId())) {
+    private int getSlot(final PassiveResource passiveResource) {
+        final int slot = passiveResource == null ? -1 : this.passiveResourceIndex.slotOf(passiveResource);
+        if (slot < 0) {
             throw new IllegalArgumentException("Illegal passive resource for this basic component instance passed");
         }
+        return slot;
     }
 
     @Override
     public void cleanUp() {
-    	this.passiveResourcesMap.values().stream().map(IPassiveResource::getWaitingProcesses)
-    		.flatMap(Queue::stream).map(IWaitingProcess::getProcess).forEach(ISchedulableProcess::activate);
-    	super.cleanUp();
+        for (final IPassiveResource passiveResource : this.passiveResources) {
+            if (passiveResource instanceof QueueingPassiveResource) {
+                ((QueueingPassiveResource) passiveResource).cancelWaitingRequests();
+            } else {
+                for (final IWaitingProcess waitingProcess : passiveResource.getWaitingProcesses()) {
+                    waitingProcess.getProcess().activate();
+                }
+            }
+        }
+        super.cleanUp();
     }
 }
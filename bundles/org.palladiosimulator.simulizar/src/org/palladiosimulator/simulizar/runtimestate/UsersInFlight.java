@@ -0,0 +1,32 @@
+package org.palladiosimulator.simulizar.runtimestate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.simulizar.interpreter.listener.AbstractInterpreterListener;
+import org.palladiosimulator.simulizar.interpreter.listener.ModelElementPassedEvent;
+
+/**
+ * Counts the users currently interpreting a usage scenario, i.e., the users which have started a
+ * scenario and have not finished it yet.
+ */
+final class UsersInFlight extends AbstractInterpreterListener {
+
+    private final Map<String, Integer> usersByScenarioId = new HashMap<String, Integer>();
+
+    @Override
+    public void beginUsageScenarioInterpretation(final ModelElementPassedEvent<UsageScenario> event) {
+        this.usersByScenarioId.merge(event.getModelElement().getId(), 1, Integer::sum);
+    }
+
+    @Override
+    public void endUsageScenarioInterpretation(final ModelElementPassedEvent<UsageScenario> event) {
+        this.usersByScenarioId.computeIfPresent(event.getModelElement().getId(),
+                (id, users) -> users > 1 ? users - 1 : null);
+    }
+
+    int get(final String usageScenarioId) {
+        return this.usersByScenarioId.getOrDefault(usageScenarioId, 0);
+    }
+}
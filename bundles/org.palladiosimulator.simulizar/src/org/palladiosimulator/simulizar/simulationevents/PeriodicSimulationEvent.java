@@ -5,6 +5,14 @@ import org.apache.log4j.Logger;
 import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
 import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
 
+/**
+ * Self-rescheduling event which triggers a single entity.
+ *
+ * @deprecated {@link PeriodicallyTriggeredSimulationEntity}s are triggered by the
+ *             {@link PeriodicTaskScheduler} of their model, which needs a single event for all of
+ *             them. Register a {@link PeriodicTask} instead.
+ */
+@Deprecated
 public class PeriodicSimulationEvent extends AbstractSimEventDelegator<PeriodicallyTriggeredSimulationEntity> {
 
     private static final Logger LOGGER = Logger.getLogger(PeriodicSimulationEvent.class);
@@ -0,0 +1,91 @@
+package org.palladiosimulator.simulizar.simulationevents;
+
+/**
+ * A task registered at a {@link PeriodicTaskScheduler}, which runs its action periodically until
+ * it is cancelled. Cancelling a task or changing its period does not discard simulation events,
+ * they are reused by the scheduler.
+ */
+public final class PeriodicTask {
+
+    private final PeriodicTaskScheduler scheduler;
+    private final Runnable action;
+    private final int priority;
+    private final long sequence;
+
+    PeriodicTaskScheduler.PhaseGroup group;
+    long firingTick;
+    double lastDueTime = Double.NaN;
+
+    PeriodicTask(final PeriodicTaskScheduler scheduler, final Runnable action, final int priority,
+            final long sequence) {
+        super();
+        this.scheduler = scheduler;
+        this.action = action;
+        this.priority = priority;
+        this.sequence = sequence;
+    }
+
+    /**
+     * @return the priority; of the tasks due at the same time, the ones with higher priority run
+     *         first.
+     */
+    public int getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * @return the simulation time between two runs of the task.
+     */
+    public double getPeriod() {
+        return this.group != null ? this.group.getPeriod() : Double.NaN;
+    }
+
+    /**
+     * @return the simulation time of the next run of the task; of the last one it was due at, if
+     *         the task is cancelled.
+     */
+    public double getNextDueTime() {
+        return this.group != null ? this.group.getNextDueTime() : this.lastDueTime;
+    }
+
+    /**
+     * @return whether the task is still scheduled, i.e., not cancelled.
+     */
+    public boolean isScheduled() {
+        return this.group != null;
+    }
+
+    /**
+     * Stops running the task. The task is not run anymore, even if it is due at the current
+     * simulation time and has not been run yet. Does nothing if the task is already cancelled.
+     */
+    public void cancel() {
+        if (this.group != null) {
+            this.scheduler.unschedule(this);
+        }
+    }
+
+    /**
+     * Changes when the task is run. Schedules the task again if it was cancelled.
+     *
+     * @param nextOccurrence
+     *            the simulation time from now until the next run of the task.
+     * @param period
+     *            the simulation time between two runs of the task.
+     * @throws IllegalArgumentException
+     *             if the period is not greater than 0.
+     */
+    public void reschedule(final double nextOccurrence, final double period) {
+        PeriodicTaskScheduler.checkPeriod(period);
+        this.cancel();
+        this.scheduler.schedule(this, nextOccurrence, period);
+    }
+
+    long getSequence() {
+        return this.sequence;
+    }
+
+    void run() {
+        this.action.run();
+    }
+}
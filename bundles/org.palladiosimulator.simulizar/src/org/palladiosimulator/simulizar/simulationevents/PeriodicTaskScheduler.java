@@ -0,0 +1,406 @@
+package org.palladiosimulator.simulizar.simulationevents;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.WeakHashMap;
+
+import org.apache.log4j.Logger;
+
+import de.uka.ipd.sdq.simucomframework.entities.SimuComEntity;
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
+
+/**
+ * Runs the {@link PeriodicTask}s of a simulation run, instead of a self-rescheduling event per
+ * task. Tasks with the same period and the same next due time form a phase group, e.g., the
+ * sliding windows of a monitor repository which share their length and increment. Each phase group
+ * has a single simulation event, so that the event list holds as many periodic events as there are
+ * phase groups instead of tasks. The events are reused when groups are dissolved, so cancelling
+ * tasks or changing their periods does not create simulation events.
+ * <p>
+ * The first event due at a time runs the tasks of all groups due at that time in a single batch,
+ * in the order of their priority and then in the order of their registration. The events of the
+ * other groups are scheduled again right away, so each time at which tasks are due costs a single
+ * event dispatch.
+ * <p>
+ * Like a self-rescheduling event, the event of a group due at time {@code t} is scheduled with the
+ * period as delay at {@code t}, so the simulation engine computes the same due times, and no task
+ * runs once the simulation is not running anymore.
+ *
+ * @see #getScheduler(SimuComModel)
+ */
+public final class PeriodicTaskScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(PeriodicTaskScheduler.class);
+
+    // the schedulers reference their models, so the map must not reference the schedulers strongly
+    private static final Map<SimuComModel, WeakReference<PeriodicTaskScheduler>> SCHEDULERS = new WeakHashMap<>();
+
+    private static final Comparator<PeriodicTask> TASK_ORDER = Comparator
+            .comparingInt(PeriodicTask::getPriority).reversed().thenComparingLong(PeriodicTask::getSequence);
+
+    private final SimuComModel model;
+    private final SimuComEntity entity;
+    private final PriorityQueue<PhaseGroup> groups = new PriorityQueue<PhaseGroup>();
+    private final Map<PhaseKey, PhaseGroup> groupsByPhase = new HashMap<PhaseKey, PhaseGroup>();
+    private final Deque<GroupEvent> unusedEvents = new ArrayDeque<GroupEvent>();
+    private final List<PhaseGroup> dueGroups = new ArrayList<PhaseGroup>();
+    private final List<PeriodicTask> dueTasks = new ArrayList<PeriodicTask>();
+
+    private long nextTaskSequence = 0;
+    private long nextGroupSequence = 0;
+    private long tick = 0;
+    private int numberOfTasks = 0;
+
+    // the due time computed for the last task, reused for tasks scheduled with the same delay at the same time
+    private double lastSchedulingTime = Double.NaN;
+    private double lastNextOccurrence = Double.NaN;
+    private double lastDueTime = Double.NaN;
+
+    private PeriodicTaskScheduler(final SimuComModel model) {
+        super();
+        this.model = model;
+        this.entity = new SimuComEntity(model, "PeriodicTaskScheduler") {
+        };
+    }
+
+    /**
+     * @param model
+     *            the simulation model.
+     * @return the scheduler of the periodic tasks of the model; created if the model has none
+     *         yet. The runtime state of a SimuLizar run owns the scheduler of its model.
+     */
+    public static PeriodicTaskScheduler getScheduler(final SimuComModel model) {
+        synchronized (SCHEDULERS) {
+            final WeakReference<PeriodicTaskScheduler> reference = SCHEDULERS.get(model);
+            PeriodicTaskScheduler scheduler = reference != null ? reference.get() : null;
+            if (scheduler == null) {
+                scheduler = new PeriodicTaskScheduler(model);
+                SCHEDULERS.put(model, new WeakReference<PeriodicTaskScheduler>(scheduler));
+            }
+            return scheduler;
+        }
+    }
+
+    /**
+     * Registers a task with the default priority 0.
+     *
+     * @see #register(Runnable, double, double, int)
+     */
+    public PeriodicTask register(final Runnable action, final double firstOccurrence, final double period) {
+        return this.register(action, firstOccurrence, period, 0);
+    }
+
+    /**
+     * Registers a task.
+     *
+     * @param action
+     *            the action the task runs.
+     * @param firstOccurrence
+     *            the simulation time from now until the first run of the task.
+     * @param period
+     *            the simulation time between two runs of the task.
+     * @param priority
+     *            of the tasks due at the same time, the ones with higher priority run first.
+     * @return the task, e.g., to cancel it.
+     * @throws IllegalArgumentException
+     *             if the period is not greater than 0.
+     */
+    public PeriodicTask register(final Runnable action, final double firstOccurrence, final double period,
+            final int priority) {
+        checkPeriod(period);
+        final PeriodicTask task = new PeriodicTask(this, action, priority, this.nextTaskSequence++);
+        this.schedule(task, firstOccurrence, period);
+        return task;
+    }
+
+    /**
+     * @return the number of scheduled tasks.
+     */
+    public int getNumberOfTasks() {
+        return this.numberOfTasks;
+    }
+
+    /**
+     * @return the number of distinct combinations of period and next due time of the scheduled
+     *         tasks, i.e., the number of simulation events the scheduler keeps scheduled.
+     */
+    public int getNumberOfPhaseGroups() {
+        return this.groups.size();
+    }
+
+    /**
+     * Cancels all tasks and releases the scheduler from its model. Tasks registered afterwards are
+     * run by a new scheduler.
+     */
+    public void dispose() {
+        for (final PhaseGroup group : this.groups) {
+            for (final PeriodicTask task : group.tasks) {
+                task.lastDueTime = group.nextDueTime;
+                task.group = null;
+            }
+            this.releaseEvent(group);
+        }
+        this.groups.clear();
+        this.groupsByPhase.clear();
+        this.numberOfTasks = 0;
+        synchronized (SCHEDULERS) {
+            final WeakReference<PeriodicTaskScheduler> reference = SCHEDULERS.get(this.model);
+            if (reference != null && reference.get() == this) {
+                SCHEDULERS.remove(this.model);
+            }
+        }
+    }
+
+    static void checkPeriod(final double period) {
+        if (!(period > 0)) {
+            throw new IllegalArgumentException("The period must be greater than 0, but is " + period);
+        }
+    }
+
+    void schedule(final PeriodicTask task, final double nextOccurrence, final double period) {
+        final double now = this.getCurrentSimulationTime();
+        GroupEvent event = null;
+        if (now != this.lastSchedulingTime || nextOccurrence != this.lastNextOccurrence) {
+            // let the simulation engine compute the due time
+            event = this.scheduleEvent(nextOccurrence);
+            this.lastSchedulingTime = now;
+            this.lastNextOccurrence = nextOccurrence;
+            this.lastDueTime = event.scheduledAtTime();
+        }
+        final PhaseKey key = new PhaseKey(period, this.lastDueTime);
+        PhaseGroup group = this.groupsByPhase.get(key);
+        if (group == null) {
+            if (event == null) {
+                event = this.scheduleEvent(nextOccurrence);
+            }
+            group = new PhaseGroup(period, this.lastDueTime, this.nextGroupSequence++);
+            group.setEvent(event);
+            this.groupsByPhase.put(key, group);
+            this.groups.add(group);
+        } else if (event != null) {
+            event.removeEvent();
+            this.unusedEvents.push(event);
+        }
+        group.add(task);
+        this.numberOfTasks++;
+    }
+
+    void unschedule(final PeriodicTask task) {
+        final PhaseGroup group = task.group;
+        group.remove(task);
+        task.firingTick = 0;
+        this.numberOfTasks--;
+        if (group.tasks.isEmpty()) {
+            this.groups.remove(group);
+            this.groupsByPhase.remove(group.getKey());
+            this.releaseEvent(group);
+        }
+    }
+
+    private void fire(final PhaseGroup firedGroup) {
+        firedGroup.eventScheduled = false;
+        if (!this.model.getSimulationControl().isRunning()) {
+            return;
+        }
+        final double now = this.getCurrentSimulationTime();
+        final long currentTick = ++this.tick;
+        while (!this.groups.isEmpty() && this.groups.peek().getNextDueTime() <= now) {
+            this.collect(this.groups.poll(), currentTick);
+        }
+        if (firedGroup.dueTick != currentTick && this.groups.remove(firedGroup)) {
+            this.collect(firedGroup, currentTick);
+        }
+        if (this.dueGroups.size() > 1) {
+            this.dueTasks.sort(TASK_ORDER);
+        }
+        for (final PhaseGroup group : this.dueGroups) {
+            if (group.eventScheduled) {
+                // the group is run by the event fired first
+                group.event.removeEvent();
+            }
+            group.event.schedule(this.entity, group.period);
+            group.eventScheduled = true;
+            group.nextDueTime = group.event.scheduledAtTime();
+            this.join(group);
+        }
+        this.dueGroups.clear();
+
+        try {
+            for (final PeriodicTask task : this.dueTasks) {
+                // a task run before may have cancelled or rescheduled this one
+                if (task.firingTick == currentTick) {
+                    task.firingTick = 0;
+                    task.run();
+                }
+            }
+        } finally {
+            this.dueTasks.clear();
+        }
+    }
+
+    private void collect(final PhaseGroup group, final long currentTick) {
+        group.dueTick = currentTick;
+        this.groupsByPhase.remove(group.getKey());
+        for (final PeriodicTask task : group.tasks) {
+            task.firingTick = currentTick;
+            this.dueTasks.add(task);
+        }
+        this.dueGroups.add(group);
+    }
+
+    /**
+     * Adds the group to the phase groups, or merges it into the group of the same phase.
+     */
+    private void join(final PhaseGroup group) {
+        final PhaseKey key = group.getKey();
+        final PhaseGroup samePhase = this.groupsByPhase.get(key);
+        if (samePhase == null) {
+            this.groupsByPhase.put(key, group);
+            this.groups.add(group);
+        } else {
+            for (final PeriodicTask task : group.tasks) {
+                samePhase.add(task);
+            }
+            this.releaseEvent(group);
+        }
+    }
+
+    private GroupEvent scheduleEvent(final double delay) {
+        final GroupEvent event = this.unusedEvents.isEmpty() ? new GroupEvent(this.model, this)
+                : this.unusedEvents.pop();
+        event.schedule(this.entity, delay);
+        return event;
+    }
+
+    private void releaseEvent(final PhaseGroup group) {
+        if (group.eventScheduled) {
+            group.event.removeEvent();
+            group.eventScheduled = false;
+        }
+        group.event.group = null;
+        this.unusedEvents.push(group.event);
+    }
+
+    private double getCurrentSimulationTime() {
+        return this.model.getSimulationControl().getCurrentSimulationTime();
+    }
+
+    /**
+     * The tasks sharing their period and next due time, ordered by {@link #TASK_ORDER}.
+     */
+    static final class PhaseGroup implements Comparable<PhaseGroup> {
+
+        private final double period;
+        private final long sequence;
+        private final List<PeriodicTask> tasks = new ArrayList<PeriodicTask>();
+        private double nextDueTime;
+        private GroupEvent event;
+        private boolean eventScheduled;
+        private long dueTick;
+
+        private PhaseGroup(final double period, final double nextDueTime, final long sequence) {
+            super();
+            this.period = period;
+            this.nextDueTime = nextDueTime;
+            this.sequence = sequence;
+        }
+
+        private void setEvent(final GroupEvent event) {
+            this.event = event;
+            this.eventScheduled = true;
+            event.group = this;
+        }
+
+        double getPeriod() {
+            return this.period;
+        }
+
+        double getNextDueTime() {
+            return this.nextDueTime;
+        }
+
+        private PhaseKey getKey() {
+            return new PhaseKey(this.period, this.nextDueTime);
+        }
+
+        private void add(final PeriodicTask task) {
+            // tasks are mostly registered in order, i.e., appended
+            final int size = this.tasks.size();
+            if (size == 0 || TASK_ORDER.compare(this.tasks.get(size - 1), task) < 0) {
+                this.tasks.add(task);
+            } else {
+                this.tasks.add(-Collections.binarySearch(this.tasks, task, TASK_ORDER) - 1, task);
+            }
+            task.group = this;
+        }
+
+        private void remove(final PeriodicTask task) {
+            this.tasks.remove(Collections.binarySearch(this.tasks, task, TASK_ORDER));
+            task.lastDueTime = this.nextDueTime;
+            task.group = null;
+        }
+
+        @Override
+        public int compareTo(final PhaseGroup other) {
+            final int byDueTime = Double.compare(this.nextDueTime, other.nextDueTime);
+            return byDueTime != 0 ? byDueTime : Long.compare(this.sequence, other.sequence);
+        }
+    }
+
+    private static final class PhaseKey {
+
+        private final double period;
+        private final double dueTime;
+
+        private PhaseKey(final double period, final double dueTime) {
+            super();
+            this.period = period;
+            this.dueTime = dueTime;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof PhaseKey)) {
+                return false;
+            }
+            final PhaseKey other = (PhaseKey) obj;
+            return Double.compare(this.period, other.period) == 0 && Double.compare(this.dueTime, other.dueTime) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Double.hashCode(this.period) + Double.hashCode(this.dueTime);
+        }
+    }
+
+    private static final class GroupEvent extends AbstractSimEventDelegator<SimuComEntity> {
+
+        private final PeriodicTaskScheduler scheduler;
+        private PhaseGroup group;
+
+        private GroupEvent(final SimuComModel model, final PeriodicTaskScheduler scheduler) {
+            super(model, "PeriodicTaskSchedulerEvent");
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void eventRoutine(final SimuComEntity who) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Periodic tasks due at simulation time "
+                        + this.getModel().getSimulationControl().getCurrentSimulationTime());
+            }
+            if (this.group != null) {
+                this.scheduler.fire(this.group);
+            }
+        }
+    }
+}
@@ -5,16 +5,21 @@ import org.apache.log4j.Logger;
 import de.uka.ipd.sdq.simucomframework.entities.SimuComEntity;
 import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
 
+/**
+ * Entity which is triggered periodically. The entity is a task of the
+ * {@link PeriodicTaskScheduler} of its model, which triggers all entities due at the same time
+ * with a single simulation event.
+ */
 public class PeriodicallyTriggeredSimulationEntity extends SimuComEntity {
 
-    private PeriodicSimulationEvent myTriggerEvent;
+    private final PeriodicTask myTriggerTask;
     private static final Logger LOGGER = Logger.getLogger(PeriodicallyTriggeredSimulationEntity.class);
 
     public PeriodicallyTriggeredSimulationEntity(final SimuComModel model, final double firstOccurrence,
             final double delay) {
         super(model, "PeriodicallyTriggeredSimulationEntity");
-        this.myTriggerEvent = new PeriodicSimulationEvent(model, delay);
-        this.myTriggerEvent.schedule(this, firstOccurrence);
+        this.myTriggerTask = PeriodicTaskScheduler.getScheduler(model).register(this::trigger, firstOccurrence,
+                delay);
     }
 
     public final void trigger() {
@@ -25,14 +30,16 @@ public class PeriodicallyTriggeredSimulationEntity extends SimuComEntity {
         this.triggerInternal();
     }
 
+    /**
+     * @return the simulation time at which the entity is triggered next; while it is triggered,
+     *         the time of the following trigger.
+     */
     public double getSimulationTimeOfNextEventTrigger() {
-        return this.myTriggerEvent.scheduledAtTime();
+        return this.myTriggerTask.getNextDueTime();
     }
 
     public void setDelayAndReinitialize(final double nextOccurrence, final double delay) {
-        this.removeEvent();
-        this.myTriggerEvent = new PeriodicSimulationEvent(this.getModel(), delay);
-        this.myTriggerEvent.schedule(this, nextOccurrence);
+        this.myTriggerTask.reschedule(nextOccurrence, delay);
     }
 
     public void stopScheduling() {
@@ -43,7 +50,7 @@ public class PeriodicallyTriggeredSimulationEntity extends SimuComEntity {
     }
 
     protected void removeEvent() {
-        this.myTriggerEvent.removeEvent();
+        this.myTriggerTask.cancel();
     }
 
 }
@@ -4,8 +4,6 @@ import org.apache.log4j.Logger;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
 import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
 
-import tools.descartes.dlim.generator.ModelEvaluator;
-
 /**
  * Looping usage evolver. Assumes that the time unit of the DLIM sequence and simulation are
  * equivalent. Repeats the DLIM sequence once its end has been reached.
@@ -42,8 +40,13 @@ public class LoopingUsageEvolver extends PeriodicallyTriggeredUsageEvolver {
     }
 
     @Override
-    protected double getNewRate(final ModelEvaluator evaluator) {
-        return evaluator.getArrivalRateAtTime(floorMod(this.getCurrentTime() - this.simulationTimeOffset, this.getDLIMFinalDuration()));
+    protected double getEvaluationTime() {
+        return floorMod(this.getCurrentTime() - this.simulationTimeOffset, this.getDLIMFinalDuration());
+    }
+
+    @Override
+    protected double getEvaluationStepWidth() {
+        return this.deltaTime;
     }
 
     /**
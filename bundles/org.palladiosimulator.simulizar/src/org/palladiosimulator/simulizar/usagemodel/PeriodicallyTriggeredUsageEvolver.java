@@ -1,7 +1,9 @@
 package org.palladiosimulator.simulizar.usagemodel;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
@@ -19,7 +21,6 @@ import org.scaledl.usageevolution.UsageEvolution;
 import org.scaledl.usageevolution.WorkParameterEvolution;
 
 import tools.descartes.dlim.Sequence;
-import tools.descartes.dlim.generator.ModelEvaluator;
 
 /**
  * Usage evolver which updates the workload according to a Usage Evolution model.
@@ -35,9 +36,15 @@ public abstract class PeriodicallyTriggeredUsageEvolver extends PeriodicallyTrig
     protected final String evolvedScenarioId;
     protected final double deltaTime;
 
-    private final Map<Usage, ModelEvaluator> cachedLoadEvaluators = new HashMap<Usage, ModelEvaluator>();
+    private final Map<Usage, UsageEvolutionCurve> cachedLoadCurves = new HashMap<Usage, UsageEvolutionCurve>();
 
-    private final Map<Usage, Map<VariableCharacterisation, ModelEvaluator>> cachedWorkEvaluators = new HashMap<Usage, Map<VariableCharacterisation, ModelEvaluator>>();
+    private final Map<Usage, List<WorkParameterCurve>> cachedWorkCurves = new HashMap<Usage, List<WorkParameterCurve>>();
+
+    private Usage correspondingUsage;
+
+    private double appliedInterArrivalTime = Double.NaN;
+
+    private int appliedPopulation = -1;
 
     /**
      * Constructs the looping usage evolver.
@@ -67,29 +74,38 @@ public abstract class PeriodicallyTriggeredUsageEvolver extends PeriodicallyTrig
     }
 
     /**
-     * Get the load evaluator for <code>this</code>.
+     * Get the pre-sampled load curve for <code>this</code>.
      *
-     * @return The load evaluator.
+     * @return The load curve, or <code>null</code> if the usage does not evolve the load.
      */
-    protected ModelEvaluator getLoadEvaluator() {
+    protected UsageEvolutionCurve getLoadCurve() {
         final Usage usage = this.getCorrespondingUsage();
-        ModelEvaluator evaluator = this.cachedLoadEvaluators.get(usage);
-        if (evaluator == null) {
+        UsageEvolutionCurve curve = this.cachedLoadCurves.get(usage);
+        if (curve == null) {
             final Sequence loadEvolutionSequence = usage.getLoadEvolution();
             if (loadEvolutionSequence != null) {
-                evaluator = new ModelEvaluator(loadEvolutionSequence);
-                this.cachedLoadEvaluators.put(usage, evaluator);
+                curve = new UsageEvolutionCurve(loadEvolutionSequence, this.getEvaluationStepWidth());
+                this.cachedLoadCurves.put(usage, curve);
             }
         }
-        return evaluator;
+        return curve;
     }
 
     /**
-     * Get the Usage updated by <code>this</code>.
+     * Get the Usage updated by <code>this</code>. The Usage is resolved once and only looked up
+     * again if it has been removed from the Usage Evolution model in the meantime.
      *
      * @return the Usage updated by <code>this</code>.
      */
     protected Usage getCorrespondingUsage() {
+        if (this.correspondingUsage == null || this.correspondingUsage.eContainer() == null
+                || !this.correspondingUsage.getScenario().getId().equals(this.evolvedScenarioId)) {
+            this.correspondingUsage = this.findCorrespondingUsage();
+        }
+        return this.correspondingUsage;
+    }
+
+    private Usage findCorrespondingUsage() {
         final UsageEvolution usageEvolution = this.rtState.getModelAccess().getUsageEvolutionModel();
         for (final Usage usage : usageEvolution.getUsages()) {
             if (usage.getScenario().getId().equals(this.evolvedScenarioId)) {
@@ -100,22 +116,17 @@ public abstract class PeriodicallyTriggeredUsageEvolver extends PeriodicallyTrig
     }
 
     /**
-     * Gets all the Work Evaluators for the Work Parameter evolutions of <code>this</code>.
+     * Gets the pre-sampled curves for the Work Parameter evolutions of <code>this</code>. The
+     * evolved parameters are resolved in the global PCM model once, when the curves are built.
      *
-     * @return The Work Evaluators for the Work Parameter evolutions of <code>this</code>.
+     * @return The curves for the Work Parameter evolutions of <code>this</code>.
      */
-    protected Map<VariableCharacterisation, ModelEvaluator> getWorkEvaluators() {
-        // TODO: consider optimizing this by changing workEvaluators to be an instance variable that
-        // is lazily initialized by this call. Must first determine whether this has side
-        // effects on the simulation.
-
-        // Build the hashmap from work parameters of the first usage in the usage evolution
-        // and to their corresponding model evaluators
+    protected List<WorkParameterCurve> getWorkCurves() {
         final Usage usage = this.getCorrespondingUsage();
-        Map<VariableCharacterisation, ModelEvaluator> workEvaluators = this.cachedWorkEvaluators.get(usage);
-        if (workEvaluators == null) {
+        List<WorkParameterCurve> workCurves = this.cachedWorkCurves.get(usage);
+        if (workCurves == null) {
             if (usage != null && usage.getWorkEvolutions() != null && usage.getWorkEvolutions().size() > 0) {
-                workEvaluators = new HashMap<VariableCharacterisation, ModelEvaluator>();
+                workCurves = new ArrayList<WorkParameterCurve>(usage.getWorkEvolutions().size());
                 for (final WorkParameterEvolution workParam : usage.getWorkEvolutions()) {
                     final VariableCharacterisation varChar = workParam.getVariableCharacterisation();
                     final Sequence paramSequence = workParam.getEvolution();
@@ -128,32 +139,31 @@ public abstract class PeriodicallyTriggeredUsageEvolver extends PeriodicallyTrig
                         continue;
                     }
 
-                    // Add parameter and model evaluator for the work parameter
-                    workEvaluators.put(varChar, new ModelEvaluator(paramSequence));
+                    // Add parameter and pre-sampled curve for the work parameter
+                    workCurves.add(new WorkParameterCurve(this.getGlobalWorkParameter(varChar),
+                            new UsageEvolutionCurve(paramSequence, this.getEvaluationStepWidth())));
                 }
-                this.cachedWorkEvaluators.put(usage, workEvaluators);
+                this.cachedWorkCurves.put(usage, workCurves);
             } else {
-                workEvaluators = Collections.emptyMap();
+                workCurves = Collections.emptyList();
             }
         }
 
-        return workEvaluators;
+        return workCurves;
     }
 
     @Override
     protected void triggerInternal() {
-        // First, evolve load if load evaluator exists
-        final ModelEvaluator loadEvaluator = this.getLoadEvaluator();
+        // First, evolve load if load curve exists
+        final UsageEvolutionCurve loadCurve = this.getLoadCurve();
 
-        if (loadEvaluator != null) {
-            this.evolveLoad(loadEvaluator);
+        if (loadCurve != null) {
+            this.evolveLoad(loadCurve);
         }
 
         // Then, iterate through work parameters to evolve
-        final Map<VariableCharacterisation, ModelEvaluator> workEvaluators = this.getWorkEvaluators();
-        for (final VariableCharacterisation workParam : workEvaluators.keySet()) {
-            final VariableCharacterisation globalWorkParam = getGlobalWorkParameter(workParam);
-            this.evolveWork(globalWorkParam, workEvaluators.get(workParam));
+        for (final WorkParameterCurve workCurve : this.getWorkCurves()) {
+            this.evolveWork(workCurve.parameter, workCurve.curve);
         }
     }
 
@@ -182,18 +192,19 @@ public abstract class PeriodicallyTriggeredUsageEvolver extends PeriodicallyTrig
     }
 
     /**
-     * Evolve the load.
+     * Evolve the load. The new load is applied to the workload driver of the evolved scenario
+     * directly. The workload of the global usage model keeps its initial specification, so evolution
+     * steps neither notify the model observers nor re-parse the specification of the model.
      *
-     * @param loadEvaluator
-     *            DLIM evaluator used to fetch the load at the current point in time.
+     * @param loadCurve
+     *            DLIM curve used to fetch the load at the current point in time.
      */
-    protected void evolveLoad(final ModelEvaluator loadEvaluator) {
+    protected void evolveLoad(final UsageEvolutionCurve loadCurve) {
 
-        double newRate = this.getNewRate(loadEvaluator);
+        double newRate = this.getNewRate(loadCurve);
         final Workload wl = this.getCorrespondingUsage().getScenario().getWorkload_UsageScenario();
         if (wl != null) {
             if (wl instanceof OpenWorkload) {
-                final PCMRandomVariable openwl = ((OpenWorkload) wl).getInterArrivalTime_OpenWorkload();
                 if (newRate != 0) {
                     // Using inverse value to convert from arrival rate to inter arrival
                     // time
@@ -204,57 +215,97 @@ public abstract class PeriodicallyTriggeredUsageEvolver extends PeriodicallyTrig
                     newRate = Integer.MAX_VALUE;
                 }
 
-                final String newRateStr = Double.toString(newRate);
-                if (newRateStr.equals(openwl.getSpecification())) {
-                    LOGGER.debug("Inter arrival time is still: " + newRateStr);
+                if (newRate == this.appliedInterArrivalTime) {
+                    LOGGER.debug("Inter arrival time is still: " + newRate);
                 } else {
-                    LOGGER.debug(
-                            "Changing inter arrival time from: " + openwl.getSpecification() + " to :" + newRateStr);
-                    openwl.setSpecification(newRateStr);
+                    LOGGER.debug("Changing inter arrival time from: " + this.appliedInterArrivalTime + " to :"
+                            + newRate);
+                    // The driver takes the inter arrival time as stochastic expression
+                    this.rtState.getUsageModels().getOpenWorkloadDriver((OpenWorkload) wl)
+                            .setInterarrivalTime(Double.toString(newRate));
+                    this.appliedInterArrivalTime = newRate;
                 }
             } else if (wl instanceof ClosedWorkload) {
                 final int newRateInt = (int) Math.round(newRate);
-                final int oldRate = ((ClosedWorkload) wl).getPopulation();
-                if (newRateInt == oldRate) {
+                if (newRateInt == this.appliedPopulation) {
                     LOGGER.debug("Closed workload population is still: " + newRateInt);
                 } else {
-                    LOGGER.debug("Changing closed workload population from: " + oldRate + " to " + newRateInt);
-                    ((ClosedWorkload) wl).setPopulation(newRateInt);
+                    LOGGER.debug("Changing closed workload population from: " + this.appliedPopulation + " to "
+                            + newRateInt);
+                    this.rtState.getUsageModels().getClosedWorkloadDriver((ClosedWorkload) wl)
+                            .setPopulation(newRateInt);
+                    this.appliedPopulation = newRateInt;
                 }
             }
         }
     }
 
+    /**
+     * Get the point in time of the DLIM sequence which corresponds to the current simulation time.
+     *
+     * @return The evaluation time, given in the time unit of the DLIM sequence.
+     */
+    protected abstract double getEvaluationTime();
+
+    /**
+     * Get the distance between two consecutive evaluations of the DLIM sequence, i.e., the
+     * evolution step width given in the time unit of the DLIM sequence. Used as sampling width of
+     * the pre-sampled curves.
+     *
+     * @return The step width in the time unit of the DLIM sequence.
+     */
+    protected abstract double getEvaluationStepWidth();
+
     /**
      * Get the new rate of the Usage or workload parameter characterization.
      *
-     * @param loadEvaluator
-     *            The DLIM evaluator used for the evaluation.
+     * @param curve
+     *            The DLIM curve used for the evaluation.
      * @return The new Usage or workload parameter characterization.
      */
-    protected abstract double getNewRate(ModelEvaluator loadEvaluator);
+    protected double getNewRate(final UsageEvolutionCurve curve) {
+        return curve.getValueAt(this.getEvaluationTime());
+    }
 
     /**
-     * Evolves a workload parameter.
+     * Evolves a workload parameter. Unlike the load, work parameters are written to the global
+     * model: simulated users evaluate them from their local model copy, so there is no driver to
+     * hand the value to, and the specification has to be a stochastic expression.
      *
      * @param workParameter
      *            The evolved parameter.
-     * @param evaluator
-     *            The evaluator used for evaluating DLIM sequence.
+     * @param curve
+     *            The curve used for evaluating DLIM sequence.
      */
-    protected void evolveWork(final VariableCharacterisation workParameter, final ModelEvaluator evaluator) {
-        if (evaluator == null) {
+    protected void evolveWork(final VariableCharacterisation workParameter, final UsageEvolutionCurve curve) {
+        if (curve == null || workParameter == null) {
             return;
         }
 
         // Support only long values for now
-        final long newRate = Math.round(this.getNewRate(evaluator));
+        final long newRate = Math.round(this.getNewRate(curve));
         final String newRateStr = Long.toString(newRate);
+        final PCMRandomVariable specification = workParameter.getSpecification_VariableCharacterisation();
 
-        LOGGER.debug("Changing work from "
-                + workParameter.getSpecification_VariableCharacterisation().getSpecification() + " to " + newRateStr);
+        if (newRateStr.equals(specification.getSpecification())) {
+            LOGGER.debug("Work is still: " + newRateStr);
+        } else {
+            LOGGER.debug("Changing work from " + specification.getSpecification() + " to " + newRateStr);
+            specification.setSpecification(newRateStr);
+        }
+    }
 
-        workParameter.getSpecification_VariableCharacterisation().setSpecification(newRateStr);
+    /**
+     * Pre-sampled evolution of a single work parameter of the global model.
+     */
+    protected static final class WorkParameterCurve {
+        private final VariableCharacterisation parameter;
+        private final UsageEvolutionCurve curve;
+
+        private WorkParameterCurve(final VariableCharacterisation parameter, final UsageEvolutionCurve curve) {
+            this.parameter = parameter;
+            this.curve = curve;
+        }
     }
 
-}
\ No newline at end of file
+}
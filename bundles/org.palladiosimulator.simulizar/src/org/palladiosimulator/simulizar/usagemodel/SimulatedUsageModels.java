@@ -98,17 +98,41 @@ public class SimulatedUsageModels {
         }
         final OpenWorkload openWorkload = (OpenWorkload) workload;
 
-        final IUserFactory userFactory = new OpenWorkloadUserFactory(this.rootContext.getModel(), usageScenario) {
+        // create workload driver by using given factory
+        return new de.uka.ipd.sdq.simucomframework.usage.OpenWorkload(this.rootContext.getModel(),
+                this.createOpenWorkloadUserFactory(usageScenario),
+                openWorkload.getInterArrivalTime_OpenWorkload().getSpecification());
+    }
+
+    private IUserFactory createOpenWorkloadUserFactory(final UsageScenario usageScenario) {
+        return new OpenWorkloadUserFactory(this.rootContext.getModel(), usageScenario) {
 
             @Override
             public IScenarioRunner createScenarioRunner() {
                 return SimulatedUsageModels.this.getScenarioRunner(usageScenario);
             }
         };
+    }
 
-        // create workload driver by using given factory
-        return new de.uka.ipd.sdq.simucomframework.usage.OpenWorkload(this.rootContext.getModel(), userFactory,
-                openWorkload.getInterArrivalTime_OpenWorkload().getSpecification());
+    /**
+     * Starts users of a usage scenario in addition to the ones spawned by its workload driver, e.g.,
+     * to re-inject the users in flight at the time a run has been forked. The users start at the
+     * current simulation time and leave the system once they have finished the scenario, like the
+     * users of an open workload.
+     *
+     * @param usageScenario
+     *            the usage scenario of the global PCM model the users execute.
+     * @param numberOfUsers
+     *            the number of users to start.
+     */
+    public void startUsers(final UsageScenario usageScenario, final int numberOfUsers) {
+        if (numberOfUsers <= 0) {
+            return;
+        }
+        final IUserFactory userFactory = this.createOpenWorkloadUserFactory(usageScenario);
+        for (int i = 0; i < numberOfUsers; i++) {
+            userFactory.createUser().startUserLife();
+        }
     }
 
     private IScenarioRunner getScenarioRunner(final UsageScenario scenario) {
@@ -3,8 +3,6 @@ package org.palladiosimulator.simulizar.usagemodel;
 import org.palladiosimulator.pcm.usagemodel.UsageScenario;
 import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
 
-import tools.descartes.dlim.generator.ModelEvaluator;
-
 /**
  * Encapsulates a Usage evolver that stretches the DLIM curve to the simulation time.
  *
@@ -16,6 +14,9 @@ public class StretchedUsageEvolver extends PeriodicallyTriggeredUsageEvolver {
     // Stretching factor.
     private final double timeFactor;
 
+    // Point in time of the stretched DLIM curve corresponding to the start of the simulation
+    private final double timeOrigin;
+
     // Value subtracted for evaluation of last interval
     private final static double DELTA = 0.000001;
 
@@ -33,20 +34,49 @@ public class StretchedUsageEvolver extends PeriodicallyTriggeredUsageEvolver {
      */
     public StretchedUsageEvolver(final AbstractSimuLizarRuntimeState rtState, final double firstOccurrence, final double delay,
             final UsageScenario evolvedScenario) {
+        this(rtState, firstOccurrence, delay, evolvedScenario, 0d, rtState.getModel().getConfiguration().getSimuTime());
+    }
+
+    /**
+     * Creates a stretching usage evolver continuing the evolution of another run, e.g., of the run
+     * a what-if fork has been taken from.
+     *
+     * @param rtState
+     *            The SimuLizar runtime state.
+     * @param firstOccurrence
+     *            The first point in time at which the usage evolution should be executed.
+     * @param delay
+     *            The repeating interval in which usage evolution should be executed.
+     * @param evolvedScenario
+     *            The scenario evolved by <code>this</code>.
+     * @param timeOrigin
+     *            The simulation time of the other run corresponding to the start of this run.
+     * @param stretchedSimulationTime
+     *            The simulation time the DLIM curve is stretched to, i.e., the one of the other run.
+     */
+    public StretchedUsageEvolver(final AbstractSimuLizarRuntimeState rtState, final double firstOccurrence, final double delay,
+            final UsageScenario evolvedScenario, final double timeOrigin, final double stretchedSimulationTime) {
         super(rtState, firstOccurrence, delay, evolvedScenario);
-        this.timeFactor = this.getModel().getConfiguration().getSimuTime() / this.getDLIMFinalDuration();
+        this.timeFactor = stretchedSimulationTime / this.getDLIMFinalDuration();
+        this.timeOrigin = timeOrigin;
     }
 
     @Override
-    protected double getNewRate(final ModelEvaluator loadEvaluator) {
-        final double evaluationTime = this.getCurrentTime() / this.timeFactor;
-        if (evaluationTime == this.getDLIMFinalDuration()) {
+    protected double getEvaluationTime() {
+        final double evaluationTime = (this.timeOrigin + this.getCurrentTime()) / this.timeFactor;
+        if (evaluationTime >= this.getDLIMFinalDuration()) {
             // The LIMBO evaluator do not define a value at the total duration
             // time, so get a value close to end of the simulation by requesting
-            // the value one millionth of a time unit before the total duration
-            return loadEvaluator.getArrivalRateAtTime(evaluationTime - DELTA);
+            // the value one millionth of a time unit before the total duration. A continued
+            // evolution may run beyond the total duration, it keeps the last value then.
+            return this.getDLIMFinalDuration() - DELTA;
         }
-        return loadEvaluator.getArrivalRateAtTime(this.getCurrentTime() / this.timeFactor);
+        return evaluationTime;
+    }
+
+    @Override
+    protected double getEvaluationStepWidth() {
+        return this.deltaTime / this.timeFactor;
     }
 
 }
@@ -0,0 +1,76 @@
+package org.palladiosimulator.simulizar.usagemodel;
+
+import tools.descartes.dlim.Sequence;
+import tools.descartes.dlim.generator.ModelEvaluator;
+
+/**
+ * Pre-sampled DLIM sequence. The sequence is evaluated once at every multiple of the evolution
+ * step width within its final duration and stored in a primitive lookup table, so that periodic
+ * usage evolution does not need to evaluate the DLIM model on each trigger. Evaluation times which
+ * do not fall onto the sampling grid (e.g. due to a simulation time offset) are delegated to the
+ * underlying {@link ModelEvaluator}.
+ */
+public class UsageEvolutionCurve {
+
+    /** Upper bound for the lookup table size; longer curves are evaluated on demand. */
+    static final int MAX_SAMPLES = 1 << 20;
+
+    /** Relative tolerance used to decide whether an evaluation time lies on the sampling grid. */
+    private static final double GRID_TOLERANCE = 1e-9;
+
+    private final ModelEvaluator evaluator;
+    private final double stepWidth;
+    private final double[] samples;
+
+    /**
+     * Creates the curve and samples the given sequence.
+     *
+     * @param sequence
+     *            The DLIM sequence to sample.
+     * @param stepWidth
+     *            Distance between two samples, given in the time unit of the DLIM sequence.
+     */
+    public UsageEvolutionCurve(final Sequence sequence, final double stepWidth) {
+        this.evaluator = new ModelEvaluator(sequence);
+        this.stepWidth = stepWidth;
+        this.samples = sample(this.evaluator, sequence.getFinalDuration(), stepWidth);
+    }
+
+    private static double[] sample(final ModelEvaluator evaluator, final double duration, final double stepWidth) {
+        if (!(stepWidth > 0d) || !(duration >= 0d) || duration / stepWidth >= MAX_SAMPLES) {
+            return new double[0];
+        }
+        // The DLIM evaluator does not define a value at the final duration, so the table only
+        // covers [0, duration).
+        final int numberOfSamples = (int) Math.ceil(duration / stepWidth);
+        final double[] result = new double[numberOfSamples];
+        for (int i = 0; i < numberOfSamples; i++) {
+            result[i] = evaluator.getArrivalRateAtTime(i * stepWidth);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the value of the curve at the given point in time.
+     *
+     * @param time
+     *            The point in time, given in the time unit of the DLIM sequence.
+     * @return The value of the sequence at <code>time</code>.
+     */
+    public double getValueAt(final double time) {
+        final double position = time / this.stepWidth;
+        final long index = Math.round(position);
+        if (index >= 0 && index < this.samples.length
+                && Math.abs(position - index) <= GRID_TOLERANCE * Math.max(1d, index)) {
+            return this.samples[(int) index];
+        }
+        return this.evaluator.getArrivalRateAtTime(time);
+    }
+
+    /**
+     * @return The number of pre-computed samples.
+     */
+    public int getNumberOfSamples() {
+        return this.samples.length;
+    }
+}
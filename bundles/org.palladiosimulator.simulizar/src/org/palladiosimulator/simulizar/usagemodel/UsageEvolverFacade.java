@@ -1,5 +1,6 @@
 package org.palladiosimulator.simulizar.usagemodel;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -13,6 +14,12 @@ public class UsageEvolverFacade {
     /** Runtime state of the simulation. Required to start evolution(s). */
     private final AbstractSimuLizarRuntimeState runtimeState;
 
+    /** Simulation time of the continued run corresponding to the start of this run. */
+    private double timeOrigin = 0d;
+
+    /** Simulation time non-repeating usages are stretched to, NaN for the one of this run. */
+    private double stretchedSimulationTime = Double.NaN;
+
     public UsageEvolverFacade(final AbstractSimuLizarRuntimeState runtimeState) {
         this.runtimeState = runtimeState;
         this.usageEvolvers = new HashMap<Usage, PeriodicallyTriggeredUsageEvolver>();
@@ -32,6 +39,26 @@ public class UsageEvolverFacade {
     public void stopUsageEvolution(Usage usage) {
         this.usageEvolvers.remove(usage).stop();
     }
+
+    /**
+     * Makes the usage evolution continue the one of another run at the given point in time, e.g.,
+     * the one of the run a what-if fork has been taken from. The evolution of all started usages
+     * is restarted accordingly.
+     *
+     * @param timeOrigin
+     *            the simulation time of the other run corresponding to the start of this run.
+     * @param stretchedSimulationTime
+     *            the simulation time of the other run, to which the load evolutions of
+     *            non-repeating usages are stretched.
+     */
+    public void continueAt(final double timeOrigin, final double stretchedSimulationTime) {
+        this.timeOrigin = timeOrigin;
+        this.stretchedSimulationTime = stretchedSimulationTime;
+        for (final Usage usage : new ArrayList<Usage>(this.usageEvolvers.keySet())) {
+            this.stopUsageEvolution(usage);
+            this.startUsageEvolution(usage);
+        }
+    }
     
     protected PeriodicallyTriggeredUsageEvolver createUsageEvolver(Usage usage) {
         double timePerStep = 1d;
@@ -45,12 +72,15 @@ public class UsageEvolverFacade {
         }
         
         if (usage.isRepeatingPattern()) {
-            return new LoopingUsageEvolver(this.runtimeState, 0d, timePerStep, usage.getScenario(), simulationTimeOffset);
+            return new LoopingUsageEvolver(this.runtimeState, 0d, timePerStep, usage.getScenario(),
+                    simulationTimeOffset - this.timeOrigin);
         } else {
+            final double stretchedTime = Double.isNaN(this.stretchedSimulationTime)
+                    ? this.runtimeState.getModel().getConfiguration().getSimuTime() : this.stretchedSimulationTime;
             // TODO remove this line once 'legacy' support is no longer needed.
-            timePerStep = this.runtimeState.getModel().getConfiguration().getSimuTime()
-                    / (usage.getLoadEvolution().getFinalDuration() + 1);
-            return new StretchedUsageEvolver(this.runtimeState, 0d, timePerStep, usage.getScenario());
+            timePerStep = stretchedTime / (usage.getLoadEvolution().getFinalDuration() + 1);
+            return new StretchedUsageEvolver(this.runtimeState, 0d, timePerStep, usage.getScenario(),
+                    this.timeOrigin, stretchedTime);
         }
     }
 }
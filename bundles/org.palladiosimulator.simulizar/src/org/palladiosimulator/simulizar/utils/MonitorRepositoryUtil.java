@@ -17,6 +17,7 @@ import org.palladiosimulator.monitorrepository.Monitor;
 import org.palladiosimulator.monitorrepository.MonitorRepository;
 import org.palladiosimulator.pcm.repository.PassiveResource;
 import org.palladiosimulator.pcm.repository.util.RepositorySwitch;
+import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
 import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
 import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
 import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
@@ -31,6 +32,7 @@ import org.palladiosimulator.pcmmeasuringpoint.AssemblyOperationMeasuringPoint;
 import org.palladiosimulator.pcmmeasuringpoint.AssemblyPassiveResourceMeasuringPoint;
 import org.palladiosimulator.pcmmeasuringpoint.EntryLevelSystemCallMeasuringPoint;
 import org.palladiosimulator.pcmmeasuringpoint.ExternalCallActionMeasuringPoint;
+import org.palladiosimulator.pcmmeasuringpoint.LinkingResourceMeasuringPoint;
 import org.palladiosimulator.pcmmeasuringpoint.ResourceContainerMeasuringPoint;
 import org.palladiosimulator.pcmmeasuringpoint.ResourceEnvironmentMeasuringPoint;
 import org.palladiosimulator.pcmmeasuringpoint.SubSystemOperationMeasuringPoint;
@@ -185,6 +187,11 @@ public final class MonitorRepositoryUtil {
                 return object.getExternalCall();
             };
 
+            @Override
+            public EObject caseLinkingResourceMeasuringPoint(final LinkingResourceMeasuringPoint object) {
+                return object.getLinkingResource();
+            }
+
         }.doSwitch(measuringPoint);
     }
 
@@ -280,6 +287,12 @@ public final class MonitorRepositoryUtil {
                 return this.checkEntryLevelSystemCallMeasuringPoint(element, mp);
             }
 
+            @Override
+            public Boolean caseLinkingResourceMeasuringPoint(final LinkingResourceMeasuringPoint mp) {
+                return element instanceof LinkingResource
+                        && ((LinkingResource) element).getId().equals(mp.getLinkingResource().getId());
+            }
+
             private boolean checkActiveResourceMeasuringPoint(final ActiveResourceMeasuringPoint mp) {
                 final ProcessingResourceSpecification activeResource = mp.getActiveResource();
 
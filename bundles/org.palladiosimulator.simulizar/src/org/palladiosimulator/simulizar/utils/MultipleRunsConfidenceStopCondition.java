@@ -9,6 +9,7 @@ import org.apache.log4j.Logger;
 import org.palladiosimulator.measurementframework.MeasuringValue;
 import org.palladiosimulator.measurementframework.listener.IMeasurementSourceListener;
 import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStopCondition;
 
 import de.uka.ipd.sdq.simulation.abstractsimengine.SimCondition;
 import de.uka.ipd.sdq.statistics.IBatchAlgorithm;
@@ -20,8 +21,11 @@ import de.uka.ipd.sdq.statistics.estimation.IConfidenceEstimator;
  * point estimation (e.g. mean) for multiple runs.
  *
  * @author Matthias Becker
- *
+ * @deprecated Use {@link ConfidenceStopCondition}, which supports any measurement specification,
+ *             re-estimates the confidence interval in constant time per sample and can exclude the
+ *             warm-up period of the series.
  */
+@Deprecated
 public class MultipleRunsConfidenceStopCondition implements SimCondition, IMeasurementSourceListener {
 
     private static final Logger LOGGER = Logger.getLogger(MultipleRunsConfidenceStopCondition.class);
@@ -0,0 +1,203 @@
+package org.palladiosimulator.simulizar.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.palladiosimulator.pcm.parameter.VariableCharacterisation;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+import de.uka.ipd.sdq.stoex.AbstractNamedReference;
+import de.uka.ipd.sdq.stoex.analyser.visitors.StoExPrettyPrintVisitor;
+
+/**
+ * Compiled form of a list of {@link VariableUsage}s which are bound to a stack frame, e.g., the
+ * input parameters of a call. The stack frame keys (such as <code>request.BYTESIZE</code>) and
+ * whether a characterisation refers to an <code>INNER</code> element only depend on the model, so
+ * they are computed once when the plan is compiled.
+ * <p>
+ * Plans of variable usages contained in a model element are cached at the model element and are
+ * discarded as soon as the variable usages change. Hence, the cache is released along with the
+ * model.
+ *
+ * @see SimulatedStackHelper#addParameterToStackFrame(SimulatedStackframe, ParameterBindingPlan,
+ *      SimulatedStackframe)
+ */
+public final class ParameterBindingPlan {
+
+    /** The plan binding no parameters. */
+    public static final ParameterBindingPlan EMPTY = new ParameterBindingPlan(new BindingStep[0]);
+
+    private final BindingStep[] steps;
+
+    private ParameterBindingPlan(final BindingStep[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * Gets the plan of the given variable usages. If the variable usages are contained in a model
+     * element, the plan is compiled on first request and cached until the variable usages change.
+     *
+     * @param variableUsages
+     *            the variable usages to bind.
+     * @return the plan.
+     */
+    public static ParameterBindingPlan of(final EList<VariableUsage> variableUsages) {
+        if (variableUsages.isEmpty()) {
+            return EMPTY;
+        }
+        if (!(variableUsages instanceof EStructuralFeature.Setting)) {
+            return compile(variableUsages);
+        }
+        final EStructuralFeature.Setting setting = (EStructuralFeature.Setting) variableUsages;
+        final EObject owner = setting.getEObject();
+        for (final Adapter adapter : owner.eAdapters()) {
+            if (adapter instanceof PlanCacheAdapter
+                    && ((PlanCacheAdapter) adapter).feature == setting.getEStructuralFeature()) {
+                return ((PlanCacheAdapter) adapter).getPlan(variableUsages);
+            }
+        }
+        final PlanCacheAdapter adapter = new PlanCacheAdapter(owner, setting.getEStructuralFeature());
+        owner.eAdapters().add(adapter);
+        return adapter.getPlan(variableUsages);
+    }
+
+    /**
+     * Compiles the given variable usages without caching the result.
+     *
+     * @param variableUsages
+     *            the variable usages to bind.
+     * @return the plan.
+     */
+    public static ParameterBindingPlan compile(final List<VariableUsage> variableUsages) {
+        final List<BindingStep> steps = new ArrayList<BindingStep>();
+        for (final VariableUsage variableUsage : variableUsages) {
+            final AbstractNamedReference namedReference = variableUsage.getNamedReference__VariableUsage();
+            final String referenceName = new StoExPrettyPrintVisitor().doSwitch(namedReference).toString();
+            final boolean isInnerReference = SimulatedStackHelper.isInnerReference(namedReference);
+            for (final VariableCharacterisation variableCharacterisation : variableUsage
+                    .getVariableCharacterisation_VariableUsage()) {
+                final String id = (referenceName + "." + variableCharacterisation.getType().getLiteral()).intern();
+                steps.add(new BindingStep(id, isInnerReference,
+                        variableCharacterisation.getSpecification_VariableCharacterisation().getSpecification()));
+            }
+        }
+        return new ParameterBindingPlan(steps.toArray(new BindingStep[steps.size()]));
+    }
+
+    BindingStep[] getSteps() {
+        return this.steps;
+    }
+
+    /**
+     * @return the number of values bound by this plan.
+     */
+    public int size() {
+        return this.steps.length;
+    }
+
+    /**
+     * Binding of a single variable characterisation.
+     */
+    static final class BindingStep {
+
+        private final String id;
+        private final boolean isInnerReference;
+        private final String specification;
+
+        private BindingStep(final String id, final boolean isInnerReference, final String specification) {
+            this.id = id;
+            this.isInnerReference = isInnerReference;
+            this.specification = specification;
+        }
+
+        String getId() {
+            return this.id;
+        }
+
+        boolean isInnerReference() {
+            return this.isInnerReference;
+        }
+
+        String getSpecification() {
+            return this.specification;
+        }
+    }
+
+    /**
+     * Caches the plan of the variable usages of a feature of a model element. The adapter is
+     * attached to the model element and to all contents of the variable usages, so that any change
+     * of the variable usages discards the plan.
+     */
+    private static final class PlanCacheAdapter implements Adapter {
+
+        private final EObject owner;
+        private final EStructuralFeature feature;
+        private final List<Notifier> observedContents = new ArrayList<Notifier>();
+        private ParameterBindingPlan plan;
+
+        private PlanCacheAdapter(final EObject owner, final EStructuralFeature feature) {
+            this.owner = owner;
+            this.feature = feature;
+        }
+
+        private ParameterBindingPlan getPlan(final EList<VariableUsage> variableUsages) {
+            if (this.plan == null) {
+                this.plan = compile(variableUsages);
+                for (final VariableUsage variableUsage : variableUsages) {
+                    this.observe(variableUsage);
+                    for (final TreeIterator<EObject> contents = variableUsage.eAllContents(); contents.hasNext();) {
+                        this.observe(contents.next());
+                    }
+                }
+            }
+            return this.plan;
+        }
+
+        private void observe(final Notifier notifier) {
+            notifier.eAdapters().add(this);
+            this.observedContents.add(notifier);
+        }
+
+        @Override
+        public void notifyChanged(final Notification notification) {
+            if (notification.getEventType() == Notification.REMOVING_ADAPTER
+                    || (notification.getNotifier() == this.owner && notification.getFeature() != this.feature)) {
+                return;
+            }
+            this.invalidate();
+        }
+
+        private void invalidate() {
+            if (this.plan != null) {
+                this.plan = null;
+                final List<Notifier> observed = new ArrayList<Notifier>(this.observedContents);
+                this.observedContents.clear();
+                for (final Notifier notifier : observed) {
+                    notifier.eAdapters().remove(this);
+                }
+            }
+        }
+
+        @Override
+        public Notifier getTarget() {
+            return this.owner;
+        }
+
+        @Override
+        public void setTarget(final Notifier newTarget) {
+        }
+
+        @Override
+        public boolean isAdapterForType(final Object type) {
+            return type == ParameterBindingPlan.class;
+        }
+    }
+}
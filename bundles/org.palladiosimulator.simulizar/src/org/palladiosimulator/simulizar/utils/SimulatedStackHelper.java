@@ -70,6 +70,45 @@ public final class SimulatedStackHelper {
         }
     }
 
+    /**
+     * Adds the parameters of the given plan to the given stack frame. In contrast to
+     * {@link #addParameterToStackFrame(SimulatedStackframe, EList, SimulatedStackframe)}, all INNER
+     * characterisations of the plan share a single copy of the context stack frame.
+     *
+     * @param contextStackFrame
+     *            the stack frame to evaluate the parameters in.
+     * @param plan
+     *            the compiled parameters.
+     * @param targetStackFrame
+     *            the stack frame.
+     */
+    public static final void addParameterToStackFrame(final SimulatedStackframe<Object> contextStackFrame,
+            final ParameterBindingPlan plan, final SimulatedStackframe<Object> targetStackFrame) {
+        // the copy has to reflect values added by this plan if both frames are the same
+        final boolean shareContextCopy = contextStackFrame != targetStackFrame;
+        SimulatedStackframe<Object> contextCopy = null;
+        for (final ParameterBindingPlan.BindingStep step : plan.getSteps()) {
+            if (step.isInnerReference()) {
+                if (contextCopy == null || !shareContextCopy) {
+                    contextCopy = contextStackFrame.copyFrame();
+                }
+                targetStackFrame.addValue(step.getId(), new EvaluationProxy(step.getSpecification(), contextCopy));
+            } else {
+                targetStackFrame.addValue(step.getId(),
+                        StackContext.evaluateStatic(step.getSpecification(), contextStackFrame));
+            }
+
+            if (LOGGER.isDebugEnabled()) {
+                try {
+                    LOGGER.debug("Added value " + targetStackFrame.getValue(step.getId()) + " for id " + step.getId()
+                            + " to stackframe " + targetStackFrame);
+                } catch (final ValueNotInFrameException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
     /**
      * Returns whether the specified reference belongs to an INNER variable characterisation.
      *
@@ -132,4 +171,44 @@ public final class SimulatedStackHelper {
         stack.pushStackFrame(stackFrame);
         return stackFrame;
     }
+
+    /**
+     * Convenience method creating new stack frame, adds it to stack and puts the parameters of the
+     * given plan into frame. This method uses own stack for parameter evaluation.
+     *
+     * @param plan
+     *            the compiled parameters.
+     * @return the created stack frame.
+     */
+    public static final SimulatedStackframe<Object> createAndPushNewStackFrame(final SimulatedStack<Object> stack,
+            final ParameterBindingPlan plan) {
+        return createAndPushNewStackFrame(stack, plan, null);
+    }
+
+    /**
+     * Convenience method creating new stack frame with parent, adds it to stack and puts the
+     * parameters of the given plan into frame. This method uses own stack for parameter
+     * evaluation.
+     *
+     * @param plan
+     *            the compiled parameters.
+     * @param parent
+     *            the parent, if null no parent will be set.
+     * @return the created stack frame.
+     */
+    public static final SimulatedStackframe<Object> createAndPushNewStackFrame(final SimulatedStack<Object> stack,
+            final ParameterBindingPlan plan, final SimulatedStackframe<Object> parent) {
+        SimulatedStackframe<Object> stackFrame;
+        if (parent == null) {
+            stackFrame = new SimulatedStackframe<Object>();
+        } else {
+            stackFrame = new SimulatedStackframe<Object>(parent);
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Added new stack frame: " + stackFrame);
+        }
+        addParameterToStackFrame(stack.size() == 0 ? null : stack.currentStackFrame(), plan, stackFrame);
+        stack.pushStackFrame(stackFrame);
+        return stackFrame;
+    }
 }
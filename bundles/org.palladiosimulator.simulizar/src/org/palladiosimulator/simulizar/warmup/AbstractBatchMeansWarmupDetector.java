@@ -0,0 +1,81 @@
+package org.palladiosimulator.simulizar.warmup;
+
+/**
+ * Base class of warm-up detectors working on batch means, see {@link BatchMeansBuffer}. The
+ * series is evaluated whenever enough new batches have been completed, so that the amortized cost
+ * per sample is constant: the interval between two evaluations grows with the number of batches.
+ */
+public abstract class AbstractBatchMeansWarmupDetector implements IWarmupDetector {
+
+    /** Default maximum number of batch means kept by a detector. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int MINIMUM_BATCHES = 20;
+    private static final int EVALUATION_FRACTION = 16;
+
+    private final BatchMeansBuffer batches;
+    private final long minimumSamples;
+    private long samples = 0;
+    private int batchesUntilEvaluation = MINIMUM_BATCHES;
+    private TruncationPoint truncationPoint;
+
+    /**
+     * @param batchSize
+     *            the initial number of samples per batch.
+     * @param minimumSamples
+     *            the number of samples before which the steady state is never detected.
+     * @param capacity
+     *            the maximum number of batch means kept, an even number.
+     */
+    protected AbstractBatchMeansWarmupDetector(final int batchSize, final long minimumSamples, final int capacity) {
+        super();
+        this.batches = new BatchMeansBuffer(batchSize, capacity);
+        this.minimumSamples = minimumSamples;
+    }
+
+    @Override
+    public void offerSample(final double pointInTime, final double value) {
+        this.samples++;
+        if (this.truncationPoint != null || !this.batches.offer(pointInTime, value)) {
+            return;
+        }
+        if (--this.batchesUntilEvaluation > 0 || this.samples < this.minimumSamples) {
+            return;
+        }
+        final int size = this.batches.size();
+        this.batchesUntilEvaluation = Math.max(1, size / EVALUATION_FRACTION);
+        final int truncationBatch = this.findTruncationBatch(this.batches.getMeans(), size);
+        if (truncationBatch >= 0) {
+            this.truncationPoint = new TruncationPoint(truncationBatch * this.batches.getBatchSize(),
+                    this.batches.getStartTime(truncationBatch));
+        }
+    }
+
+    /**
+     * Determines the truncation point of the given batch means.
+     *
+     * @param means
+     *            the batch means in the order of the series; only the first <code>size</code>
+     *            entries are valid, and they must not be modified.
+     * @param size
+     *            the number of batch means, at least 20.
+     * @return the index of the first steady-state batch, or -1 if the batch means do not reach a
+     *         steady state yet.
+     */
+    protected abstract int findTruncationBatch(double[] means, int size);
+
+    @Override
+    public boolean isSteadyStateDetected() {
+        return this.truncationPoint != null;
+    }
+
+    @Override
+    public TruncationPoint getTruncationPoint() {
+        return this.truncationPoint;
+    }
+
+    @Override
+    public long getSampleCount() {
+        return this.samples;
+    }
+}
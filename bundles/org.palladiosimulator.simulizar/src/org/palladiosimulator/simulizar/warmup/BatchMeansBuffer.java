@@ -0,0 +1,89 @@
+package org.palladiosimulator.simulizar.warmup;
+
+/**
+ * Means of consecutive, equally sized batches of a series, held in a primitive buffer of fixed
+ * capacity. When the buffer is full, adjacent batches are merged, doubling the batch size, so the
+ * memory needed is bounded no matter how long the series is.
+ */
+final class BatchMeansBuffer {
+
+    private final double[] means;
+    private final double[] startTimes;
+    private int size = 0;
+    private long batchSize;
+
+    private double partialSum = 0.0;
+    private long partialCount = 0;
+    private double partialStartTime;
+
+    /**
+     * @param batchSize
+     *            the initial number of samples per batch.
+     * @param capacity
+     *            the maximum number of batches, an even number.
+     */
+    BatchMeansBuffer(final int batchSize, final int capacity) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, but was " + batchSize);
+        }
+        if (capacity < 2 || capacity % 2 != 0) {
+            throw new IllegalArgumentException("Capacity must be a positive even number, but was " + capacity);
+        }
+        this.batchSize = batchSize;
+        this.means = new double[capacity];
+        this.startTimes = new double[capacity];
+    }
+
+    /**
+     * @return whether the sample completed a batch.
+     */
+    boolean offer(final double pointInTime, final double value) {
+        if (this.partialCount == 0) {
+            this.partialStartTime = pointInTime;
+        }
+        this.partialSum += value;
+        if (++this.partialCount < this.batchSize) {
+            return false;
+        }
+        if (this.size == this.means.length) {
+            this.mergeBatches();
+        }
+        this.means[this.size] = this.partialSum / this.partialCount;
+        this.startTimes[this.size] = this.partialStartTime;
+        this.size++;
+        this.partialSum = 0.0;
+        this.partialCount = 0;
+        return true;
+    }
+
+    private void mergeBatches() {
+        for (int i = 0; i < this.size / 2; i++) {
+            this.means[i] = (this.means[2 * i] + this.means[2 * i + 1]) / 2;
+            this.startTimes[i] = this.startTimes[2 * i];
+        }
+        this.size /= 2;
+        this.batchSize *= 2;
+    }
+
+    /**
+     * @return the means of the complete batches; only the first {@link #size()} entries are valid.
+     */
+    double[] getMeans() {
+        return this.means;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    long getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * @return the point in time of the first sample of the given batch.
+     */
+    double getStartTime(final int batch) {
+        return this.startTimes[batch];
+    }
+}
@@ -0,0 +1,33 @@
+package org.palladiosimulator.simulizar.warmup;
+
+/**
+ * Online detector of the initial transient (warm-up period) of a series of measurements. Samples
+ * are offered one by one; as soon as the detector decides that the series has reached its steady
+ * state, it provides the point at which the series is to be truncated. This decision is final.
+ */
+public interface IWarmupDetector {
+
+    /**
+     * @param pointInTime
+     *            the simulation time of the sample.
+     * @param value
+     *            the measured value.
+     */
+    void offerSample(double pointInTime, double value);
+
+    /**
+     * @return whether the steady state of the series has been detected.
+     */
+    boolean isSteadyStateDetected();
+
+    /**
+     * @return the point from which on the series is in steady state, or <code>null</code> if the
+     *         steady state has not been detected yet.
+     */
+    TruncationPoint getTruncationPoint();
+
+    /**
+     * @return the number of offered samples.
+     */
+    long getSampleCount();
+}
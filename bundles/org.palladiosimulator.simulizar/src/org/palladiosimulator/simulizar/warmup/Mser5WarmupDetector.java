@@ -0,0 +1,48 @@
+package org.palladiosimulator.simulizar.warmup;
+
+/**
+ * Marginal Standard Error Rule on batch means (MSER-5 for the default batch size of 5). For each
+ * candidate truncation batch d, the rule computes the squared standard error of the mean of the
+ * remaining batches, <code>sum((Z_j - mean_d)^2) / (k - d)^2</code>, and truncates at the
+ * minimum. As the minimum tends towards the end of a series that is still in its transient, the
+ * steady state is only detected if the minimum lies in the first half of the batches.
+ */
+public class Mser5WarmupDetector extends AbstractBatchMeansWarmupDetector {
+
+    /** Default number of samples per batch, which gives the rule its name. */
+    public static final int DEFAULT_BATCH_SIZE = 5;
+
+    /** Batches at the end of the series that are never truncated at, as their error is unstable. */
+    private static final int MINIMUM_TAIL_BATCHES = 5;
+
+    public Mser5WarmupDetector(final long minimumSamples) {
+        this(DEFAULT_BATCH_SIZE, minimumSamples);
+    }
+
+    public Mser5WarmupDetector(final int batchSize, final long minimumSamples) {
+        super(batchSize, minimumSamples, DEFAULT_CAPACITY);
+    }
+
+    @Override
+    protected int findTruncationBatch(final double[] means, final int size) {
+        // suffix sums of the batch means and their squares
+        final double[] sums = new double[size + 1];
+        final double[] squareSums = new double[size + 1];
+        for (int j = size - 1; j >= 0; j--) {
+            sums[j] = sums[j + 1] + means[j];
+            squareSums[j] = squareSums[j + 1] + means[j] * means[j];
+        }
+
+        int best = -1;
+        double minimum = Double.POSITIVE_INFINITY;
+        for (int d = 0; d < size - MINIMUM_TAIL_BATCHES; d++) {
+            final double n = size - d;
+            final double statistic = (squareSums[d] - sums[d] * sums[d] / n) / (n * n);
+            if (statistic < minimum) {
+                minimum = statistic;
+                best = d;
+            }
+        }
+        return best < size / 2 ? best : -1;
+    }
+}
@@ -0,0 +1,51 @@
+package org.palladiosimulator.simulizar.warmup;
+
+import org.apache.log4j.Logger;
+
+import de.uka.ipd.sdq.simulation.abstractsimengine.ISimulationControl;
+import de.uka.ipd.sdq.simulation.abstractsimengine.SimCondition;
+
+/**
+ * Stops the simulation if the steady state of some series has not been detected within a limit of
+ * simulated time, as the results of such a run are dominated by its warm-up period. The condition
+ * is decided once when the limit is reached; afterwards, the run continues as configured.
+ */
+public class SteadyStateStopCondition implements SimCondition {
+
+    private static final Logger LOGGER = Logger.getLogger(SteadyStateStopCondition.class);
+
+    private final WarmupDetectionRegistry registry;
+    private final ISimulationControl simulationControl;
+    private final double timeLimit;
+    private boolean decided = false;
+    private boolean stop = false;
+
+    /**
+     * @param registry
+     *            the warm-up detectors of the run.
+     * @param simulationControl
+     *            the control of the run.
+     * @param timeLimit
+     *            the simulated time in seconds within which the steady state has to be detected.
+     */
+    public SteadyStateStopCondition(final WarmupDetectionRegistry registry,
+            final ISimulationControl simulationControl, final double timeLimit) {
+        super();
+        this.registry = registry;
+        this.simulationControl = simulationControl;
+        this.timeLimit = timeLimit;
+    }
+
+    @Override
+    public boolean check() {
+        if (!this.decided && this.simulationControl.getCurrentSimulationTime() >= this.timeLimit) {
+            this.decided = true;
+            this.stop = !this.registry.isSteadyStateDetected();
+            if (this.stop) {
+                LOGGER.warn("No steady state detected within " + this.timeLimit + " simulated seconds for "
+                        + this.registry.getSeriesInTransient() + ", stopping the simulation");
+            }
+        }
+        return this.stop;
+    }
+}
@@ -0,0 +1,36 @@
+package org.palladiosimulator.simulizar.warmup;
+
+/**
+ * The point at which a series of measurements leaves its initial transient: the samples before it
+ * belong to the warm-up period and bias estimates of the steady state.
+ */
+public final class TruncationPoint {
+
+    private final long sampleIndex;
+    private final double pointInTime;
+
+    public TruncationPoint(final long sampleIndex, final double pointInTime) {
+        super();
+        this.sampleIndex = sampleIndex;
+        this.pointInTime = pointInTime;
+    }
+
+    /**
+     * @return the index of the first steady-state sample, i.e. the number of warm-up samples.
+     */
+    public long getSampleIndex() {
+        return this.sampleIndex;
+    }
+
+    /**
+     * @return the simulation time of the first steady-state sample.
+     */
+    public double getPointInTime() {
+        return this.pointInTime;
+    }
+
+    @Override
+    public String toString() {
+        return "TruncationPoint [sampleIndex=" + this.sampleIndex + ", pointInTime=" + this.pointInTime + "]";
+    }
+}
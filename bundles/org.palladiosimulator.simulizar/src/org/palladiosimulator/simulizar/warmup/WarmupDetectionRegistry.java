@@ -0,0 +1,66 @@
+package org.palladiosimulator.simulizar.warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPoint;
+import org.palladiosimulator.metricspec.MetricDescription;
+
+/**
+ * The warm-up detectors of the series of a simulation run, one per measuring point and metric.
+ * Series are identified by the string representation of their measuring point and the id of their
+ * metric, so that measuring points of copied models match as well.
+ */
+public final class WarmupDetectionRegistry {
+
+    private final Map<String, IWarmupDetector> detectors = new LinkedHashMap<String, IWarmupDetector>();
+
+    synchronized void register(final MeasuringPoint measuringPoint, final MetricDescription metric,
+            final IWarmupDetector detector) {
+        this.detectors.put(key(measuringPoint, metric), detector);
+    }
+
+    /**
+     * @param measuringPoint
+     *            the measuring point of the series.
+     * @param metric
+     *            the metric of the series, as accepted by its recorder.
+     * @return the truncation point of the series, or <code>null</code> if its steady state has not
+     *         been detected yet or the series is unknown.
+     */
+    public synchronized TruncationPoint getTruncationPoint(final MeasuringPoint measuringPoint,
+            final MetricDescription metric) {
+        final IWarmupDetector detector = this.detectors.get(key(measuringPoint, metric));
+        return detector == null ? null : detector.getTruncationPoint();
+    }
+
+    /**
+     * @return whether the steady state of all series has been detected; <code>true</code> if there
+     *         are no series.
+     */
+    public synchronized boolean isSteadyStateDetected() {
+        return this.detectors.values().stream().allMatch(IWarmupDetector::isSteadyStateDetected);
+    }
+
+    /**
+     * @return the series whose steady state has not been detected yet, as measuring point and
+     *         metric id.
+     */
+    public synchronized List<String> getSeriesInTransient() {
+        final List<String> result = new ArrayList<String>();
+        for (final Entry<String, IWarmupDetector> entry : this.detectors.entrySet()) {
+            if (!entry.getValue().isSteadyStateDetected()) {
+                result.add(entry.getKey());
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static String key(final MeasuringPoint measuringPoint, final MetricDescription metric) {
+        return measuringPoint.getStringRepresentation() + " | " + metric.getId();
+    }
+}
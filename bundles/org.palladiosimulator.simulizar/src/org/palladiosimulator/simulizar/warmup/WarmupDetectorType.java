@@ -0,0 +1,33 @@
+package org.palladiosimulator.simulizar.warmup;
+
+/**
+ * The available warm-up detectors, as selected by
+ * {@link org.palladiosimulator.simulizar.launcher.SimulizarConstants#WARMUP_DETECTOR}.
+ */
+public enum WarmupDetectorType {
+
+    /** See {@link Mser5WarmupDetector}. */
+    MSER5 {
+        @Override
+        public IWarmupDetector createDetector(final int batchSize, final long minimumSamples) {
+            return new Mser5WarmupDetector(batchSize, minimumSamples);
+        }
+    },
+
+    /** See {@link WelchWarmupDetector}. */
+    WELCH {
+        @Override
+        public IWarmupDetector createDetector(final int batchSize, final long minimumSamples) {
+            return new WelchWarmupDetector(batchSize, minimumSamples);
+        }
+    };
+
+    /**
+     * @param batchSize
+     *            the initial number of samples per batch.
+     * @param minimumSamples
+     *            the number of samples before which the steady state is never detected.
+     * @return a new detector for a single series.
+     */
+    public abstract IWarmupDetector createDetector(int batchSize, long minimumSamples);
+}
@@ -0,0 +1,19 @@
+package org.palladiosimulator.simulizar.warmup;
+
+/**
+ * How a {@link WarmupFilteringRecorder} treats the samples of the warm-up period.
+ */
+public enum WarmupFilterMode {
+
+    /**
+     * Samples are withheld until the steady state is detected; then, the warm-up samples are
+     * dropped and the others are passed on.
+     */
+    DROP,
+
+    /**
+     * All samples are passed on immediately; the truncation point is only recorded as metadata of
+     * the measurement, so that evaluations can skip the warm-up samples.
+     */
+    TAG
+}
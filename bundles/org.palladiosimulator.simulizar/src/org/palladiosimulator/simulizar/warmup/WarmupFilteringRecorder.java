@@ -0,0 +1,164 @@
+package org.palladiosimulator.simulizar.warmup;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.measure.Measure;
+import javax.measure.quantity.Quantity;
+import javax.measure.unit.SI;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.edp2.util.MetricDescriptionUtility;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.metricspec.BaseMetricDescription;
+import org.palladiosimulator.metricspec.NumericalBaseMetricDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.recorderframework.IRecorder;
+import org.palladiosimulator.recorderframework.config.IRecorderConfiguration;
+import org.palladiosimulator.recorderframework.utils.RecorderExtensionHelper;
+
+/**
+ * Recorder detecting the end of the warm-up period of a single measuring point and metric, and
+ * passing the measurements on to another recorder. The detector is fed with the last numerical
+ * base metric of the accepted metric apart from the point in time, e.g. the response time of a
+ * tuple of point in time and response time.
+ * <p>
+ * In {@link WarmupFilterMode#TAG} mode, all measurements are passed on immediately. In
+ * {@link WarmupFilterMode#DROP} mode, measurements are withheld until the steady state is
+ * detected, and the warm-up measurements are dropped then. At most {@value #MAXIMUM_WITHHELD}
+ * measurements are withheld; if the steady state is not detected before, the oldest ones are
+ * passed on. If the steady state is not detected at all, the withheld measurements are passed on
+ * at the end of the run.
+ */
+public class WarmupFilteringRecorder implements IRecorder {
+
+    /** Maximum number of measurements withheld in {@link WarmupFilterMode#DROP} mode. */
+    public static final int MAXIMUM_WITHHELD = 1 << 16;
+
+    private static final Logger LOGGER = Logger.getLogger(WarmupFilteringRecorder.class);
+
+    private final Deque<MeasuringValue> withheld = new ArrayDeque<MeasuringValue>();
+    private WarmupFilteringRecorderConfiguration configuration;
+    private IRecorder delegate;
+    private IWarmupDetector detector;
+    private NumericalBaseMetricDescription valueMetric;
+    private boolean filtering;
+    private long nextWithheldIndex;
+    private boolean overflowReported;
+
+    /**
+     * {@inheritDoc}<br>
+     * Instantiates and initializes the recorder the measurements are passed on to.
+     *
+     * @throws IllegalArgumentException
+     *             In case the configuration is not a {@link WarmupFilteringRecorderConfiguration}.
+     */
+    @Override
+    public void initialize(final IRecorderConfiguration recorderConfiguration) {
+        if (!(recorderConfiguration instanceof WarmupFilteringRecorderConfiguration)) {
+            throw new IllegalArgumentException("Expected a "
+                    + WarmupFilteringRecorderConfiguration.class.getSimpleName() + ", but got "
+                    + recorderConfiguration);
+        }
+        this.configuration = (WarmupFilteringRecorderConfiguration) recorderConfiguration;
+        this.delegate = RecorderExtensionHelper
+                .instantiateRecorderImplementationForRecorder(this.configuration.getDelegateRecorderName());
+        this.delegate.initialize(this.configuration.getDelegateConfiguration());
+
+        for (final BaseMetricDescription baseMetric : MetricDescriptionUtility
+                .toBaseMetricDescriptions(this.configuration.getRecorderAcceptedMetric())) {
+            if (baseMetric instanceof NumericalBaseMetricDescription && !MetricDescriptionUtility
+                    .metricDescriptionIdsEqual(baseMetric, MetricDescriptionConstants.POINT_IN_TIME_METRIC)) {
+                this.valueMetric = (NumericalBaseMetricDescription) baseMetric;
+            }
+        }
+        this.filtering = this.valueMetric != null;
+        if (this.filtering) {
+            this.detector = this.configuration.getDetector();
+            this.configuration.getRegistry().register(this.configuration.getMeasuringPoint(),
+                    this.configuration.getRecorderAcceptedMetric(), this.detector);
+        } else {
+            LOGGER.warn("No numerical metric to detect the warm-up of "
+                    + this.configuration.getMeasuringPoint().getStringRepresentation()
+                    + ", passing all measurements on");
+        }
+        this.nextWithheldIndex = 0;
+        this.overflowReported = false;
+    }
+
+    @Override
+    public void writeData(final MeasuringValue measurement) {
+        if (!this.filtering) {
+            this.delegate.writeData(measurement);
+            return;
+        }
+        final double pointInTime = measurement.getMeasureForMetric(MetricDescriptionConstants.POINT_IN_TIME_METRIC)
+                .doubleValue(SI.SECOND);
+        final Measure<Double, Quantity> value = measurement.getMeasureForMetric(this.valueMetric);
+        this.detector.offerSample(pointInTime, value.doubleValue(this.valueMetric.getDefaultUnit()));
+
+        if (this.configuration.getMode() == WarmupFilterMode.TAG) {
+            this.delegate.writeData(measurement);
+            if (this.detector.isSteadyStateDetected()) {
+                this.configuration.recordTruncationPoint(this.detector.getTruncationPoint(), false);
+                this.filtering = false;
+            }
+        } else {
+            this.withheld.addLast(measurement);
+            if (this.detector.isSteadyStateDetected()) {
+                this.releaseWithheld(this.detector.getTruncationPoint());
+            } else if (this.withheld.size() > MAXIMUM_WITHHELD) {
+                if (!this.overflowReported) {
+                    LOGGER.warn("Steady state of " + this.configuration.getMeasuringPoint().getStringRepresentation()
+                            + " not detected within " + MAXIMUM_WITHHELD
+                            + " measurements, passing on warm-up measurements");
+                    this.overflowReported = true;
+                }
+                this.delegate.writeData(this.withheld.removeFirst());
+                this.nextWithheldIndex++;
+            }
+        }
+    }
+
+    /**
+     * Drops the withheld warm-up measurements and passes the others on. From now on, measurements
+     * are passed on immediately.
+     */
+    private void releaseWithheld(final TruncationPoint truncationPoint) {
+        while (!this.withheld.isEmpty()) {
+            final MeasuringValue measurement = this.withheld.removeFirst();
+            if (this.nextWithheldIndex++ >= truncationPoint.getSampleIndex()) {
+                this.delegate.writeData(measurement);
+            }
+        }
+        this.configuration.recordTruncationPoint(truncationPoint, true);
+        this.filtering = false;
+    }
+
+    @Override
+    public void flush() {
+        this.delegate.flush();
+    }
+
+    @Override
+    public void newMeasurementAvailable(final MeasuringValue newMeasurement) {
+        this.writeData(newMeasurement);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * This implementation passes the withheld measurements on if the steady state has not been
+     * detected, and unregisters the recorder they are passed on to.
+     */
+    @Override
+    public void preUnregister() {
+        if (!this.withheld.isEmpty()) {
+            LOGGER.warn("Steady state of " + this.configuration.getMeasuringPoint().getStringRepresentation()
+                    + " not detected, passing on " + this.withheld.size() + " warm-up measurements");
+            while (!this.withheld.isEmpty()) {
+                this.delegate.writeData(this.withheld.removeFirst());
+            }
+        }
+        this.delegate.preUnregister();
+    }
+}
@@ -0,0 +1,89 @@
+package org.palladiosimulator.simulizar.warmup;
+
+import org.palladiosimulator.edp2.models.ExperimentData.Measurement;
+import org.palladiosimulator.recorderframework.config.AbstractRecorderConfiguration;
+import org.palladiosimulator.recorderframework.config.IRecorderConfiguration;
+import org.palladiosimulator.recorderframework.edp2.config.EDP2RecorderConfiguration;
+
+/**
+ * Configuration of a {@link WarmupFilteringRecorder}: in addition to the accepted metric and the
+ * measuring point, it holds the recorder and configuration the filtered measurements are passed on
+ * to, and the warm-up detector of the series.
+ */
+public class WarmupFilteringRecorderConfiguration extends AbstractRecorderConfiguration {
+
+    /**
+     * Key of the point in time of the first steady-state sample in the additional information of
+     * an EDP2 measurement.
+     */
+    public static final String TRUNCATION_TIME_KEY = "warmupTruncationTime";
+
+    /**
+     * Key of the index of the first steady-state sample in the additional information of an EDP2
+     * measurement.
+     */
+    public static final String TRUNCATION_INDEX_KEY = "warmupTruncationIndex";
+
+    /**
+     * Key of the flag whether the warm-up samples have been dropped in the additional information
+     * of an EDP2 measurement.
+     */
+    public static final String SAMPLES_DROPPED_KEY = "warmupSamplesDropped";
+
+    private final String delegateRecorderName;
+    private final IRecorderConfiguration delegateConfiguration;
+    private final IWarmupDetector detector;
+    private final WarmupFilterMode mode;
+    private final WarmupDetectionRegistry registry;
+
+    WarmupFilteringRecorderConfiguration(final String delegateRecorderName,
+            final IRecorderConfiguration delegateConfiguration, final IWarmupDetector detector,
+            final WarmupFilterMode mode, final WarmupDetectionRegistry registry) {
+        super();
+        this.delegateRecorderName = delegateRecorderName;
+        this.delegateConfiguration = delegateConfiguration;
+        this.detector = detector;
+        this.mode = mode;
+        this.registry = registry;
+    }
+
+    public String getDelegateRecorderName() {
+        return this.delegateRecorderName;
+    }
+
+    public IRecorderConfiguration getDelegateConfiguration() {
+        return this.delegateConfiguration;
+    }
+
+    public IWarmupDetector getDetector() {
+        return this.detector;
+    }
+
+    public WarmupFilterMode getMode() {
+        return this.mode;
+    }
+
+    WarmupDetectionRegistry getRegistry() {
+        return this.registry;
+    }
+
+    /**
+     * Records the truncation point as additional information of the measurement if the
+     * measurements are passed on to EDP2.
+     *
+     * @param truncationPoint
+     *            the detected truncation point.
+     * @param samplesDropped
+     *            whether the warm-up samples have been dropped.
+     */
+    void recordTruncationPoint(final TruncationPoint truncationPoint, final boolean samplesDropped) {
+        if (this.delegateConfiguration instanceof EDP2RecorderConfiguration) {
+            final Measurement measurement = ((EDP2RecorderConfiguration) this.delegateConfiguration).getMeasurement();
+            if (measurement != null) {
+                measurement.getAdditionalInformation().put(TRUNCATION_TIME_KEY, truncationPoint.getPointInTime());
+                measurement.getAdditionalInformation().put(TRUNCATION_INDEX_KEY, truncationPoint.getSampleIndex());
+                measurement.getAdditionalInformation().put(SAMPLES_DROPPED_KEY, samplesDropped);
+            }
+        }
+    }
+}
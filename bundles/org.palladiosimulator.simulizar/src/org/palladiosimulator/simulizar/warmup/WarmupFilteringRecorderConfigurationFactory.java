@@ -0,0 +1,120 @@
+package org.palladiosimulator.simulizar.warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.palladiosimulator.recorderframework.config.IRecorderConfiguration;
+import org.palladiosimulator.recorderframework.config.IRecorderConfigurationFactory;
+import org.palladiosimulator.recorderframework.utils.RecorderExtensionHelper;
+import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
+
+import de.uka.ipd.sdq.simucomframework.SimuComConfig;
+
+/**
+ * Creates the configurations of the {@link WarmupFilteringRecorder}s of a run. The factory wraps
+ * the configuration factory of the recorder the filtered measurements are passed on to, which is
+ * given by {@link #DELEGATE_RECORDER_NAME}, and owns the {@link WarmupDetectionRegistry} of the
+ * run.
+ * <p>
+ * The detector is configured by the keys {@link SimulizarConstants#WARMUP_DETECTOR},
+ * {@link SimulizarConstants#WARMUP_BATCH_SIZE}, {@link SimulizarConstants#WARMUP_MINIMUM_SAMPLES}
+ * and {@link SimulizarConstants#WARMUP_FILTER_MODE}.
+ */
+public class WarmupFilteringRecorderConfigurationFactory implements IRecorderConfigurationFactory {
+
+    /**
+     * Name of the recorder in the recorder framework extension.
+     */
+    public static final String RECORDER_NAME = "Warm-up Filter";
+
+    /**
+     * Key of the name of the recorder the filtered measurements are passed on to.
+     */
+    public static final String DELEGATE_RECORDER_NAME = "warmupDelegateRecorderName";
+
+    private static final Logger LOGGER = Logger.getLogger(WarmupFilteringRecorderConfigurationFactory.class);
+
+    private String delegateRecorderName;
+    private IRecorderConfigurationFactory delegateFactory;
+    private WarmupDetectorType detectorType;
+    private int batchSize;
+    private long minimumSamples;
+    private WarmupFilterMode mode;
+    private WarmupDetectionRegistry registry;
+
+    /**
+     * Puts the warm-up filter in front of the recorder configured by the given attributes of a
+     * run: the configured recorder becomes the delegate of the filter. Has no effect if the filter
+     * is already configured.
+     *
+     * @param attributes
+     *            the attributes of the run, before the {@link SimuComConfig} is created from them.
+     */
+    public static void decorateRecorder(final Map<String, Object> attributes) {
+        final Object recorderName = attributes.get(SimuComConfig.PERSISTENCE_RECORDER_NAME);
+        if (!RECORDER_NAME.equals(recorderName)) {
+            attributes.put(DELEGATE_RECORDER_NAME, recorderName);
+            attributes.put(SimuComConfig.PERSISTENCE_RECORDER_NAME, RECORDER_NAME);
+        }
+    }
+
+    @Override
+    public void initialize(final Map<String, Object> configuration) {
+        final Object delegateName = configuration.get(DELEGATE_RECORDER_NAME);
+        if (delegateName == null || RECORDER_NAME.equals(delegateName.toString())) {
+            throw new IllegalArgumentException("Missing recorder to pass filtered measurements on to");
+        }
+        this.delegateRecorderName = delegateName.toString();
+        this.delegateFactory = RecorderExtensionHelper
+                .getRecorderConfigurationFactoryForName(this.delegateRecorderName);
+        this.delegateFactory.initialize(configuration);
+
+        // the filter is only configured if a detector is selected, fall back to MSER-5 otherwise
+        final String detector = getString(configuration, SimulizarConstants.WARMUP_DETECTOR,
+                SimulizarConstants.DEFAULT_WARMUP_DETECTOR);
+        this.detectorType = detector.isEmpty() ? WarmupDetectorType.MSER5 : WarmupDetectorType.valueOf(detector);
+        this.batchSize = Integer.parseInt(getString(configuration, SimulizarConstants.WARMUP_BATCH_SIZE,
+                SimulizarConstants.DEFAULT_WARMUP_BATCH_SIZE));
+        this.minimumSamples = Long.parseLong(getString(configuration, SimulizarConstants.WARMUP_MINIMUM_SAMPLES,
+                SimulizarConstants.DEFAULT_WARMUP_MINIMUM_SAMPLES));
+        this.mode = WarmupFilterMode.valueOf(getString(configuration, SimulizarConstants.WARMUP_FILTER_MODE,
+                SimulizarConstants.DEFAULT_WARMUP_FILTER_MODE));
+        this.registry = new WarmupDetectionRegistry();
+        LOGGER.info("Detecting warm-up by " + this.detectorType + " in " + this.mode
+                + " mode, passing measurements on to " + this.delegateRecorderName);
+    }
+
+    private static String getString(final Map<String, Object> configuration, final String key,
+            final String defaultValue) {
+        final Object value = configuration.get(key);
+        return value == null ? defaultValue : value.toString().trim();
+    }
+
+    @Override
+    public IRecorderConfiguration createRecorderConfiguration(final Map<String, Object> configuration) {
+        if (this.registry == null) {
+            throw new IllegalStateException("Factory has not been initialized");
+        }
+        final WarmupFilteringRecorderConfiguration result = new WarmupFilteringRecorderConfiguration(
+                this.delegateRecorderName, this.delegateFactory.createRecorderConfiguration(configuration),
+                this.detectorType.createDetector(this.batchSize, this.minimumSamples), this.mode, this.registry);
+        result.setConfiguration(new HashMap<String, Object>(configuration));
+        return result;
+    }
+
+    @Override
+    public void finalizeRecorderConfigurationFactory() {
+        if (this.delegateFactory != null) {
+            this.delegateFactory.finalizeRecorderConfigurationFactory();
+        }
+    }
+
+    /**
+     * @return the warm-up detectors of the run, or <code>null</code> if the factory has not been
+     *         initialized.
+     */
+    public WarmupDetectionRegistry getRegistry() {
+        return this.registry;
+    }
+}
@@ -0,0 +1,84 @@
+package org.palladiosimulator.simulizar.warmup;
+
+/**
+ * Automated variant of Welch's graphical procedure: the batch means are smoothed by a centered
+ * moving average. The second half of the batches serves as reference of the steady state: its mean
+ * is the steady-state level, and the largest deviation of its moving average from this level is
+ * the noise envelope. The series is truncated after the last batch whose moving average leaves the
+ * envelope, widened by a tolerance. The steady state is only detected if the second half has no
+ * trend, i.e. the means of its two quarters do not differ significantly, and if the truncation
+ * point lies in the first third of the batches; otherwise, the reference may still contain parts
+ * of the transient.
+ */
+public class WelchWarmupDetector extends AbstractBatchMeansWarmupDetector {
+
+    /** Default number of samples per batch. */
+    public static final int DEFAULT_BATCH_SIZE = 5;
+
+    /** Half width of the moving average in batches. */
+    private static final int WINDOW = 10;
+
+    /** Relative widening of the noise envelope. */
+    private static final double TOLERANCE = 0.5;
+
+    /** Number of standard errors by which the quarters of the reference may differ. */
+    private static final double TREND_STANDARD_ERRORS = 3.0;
+
+    public WelchWarmupDetector(final long minimumSamples) {
+        this(DEFAULT_BATCH_SIZE, minimumSamples);
+    }
+
+    public WelchWarmupDetector(final int batchSize, final long minimumSamples) {
+        super(batchSize, minimumSamples, DEFAULT_CAPACITY);
+    }
+
+    @Override
+    protected int findTruncationBatch(final double[] means, final int size) {
+        if (size < 4 * WINDOW) {
+            return -1;
+        }
+        final double[] prefixSums = new double[size + 1];
+        for (int j = 0; j < size; j++) {
+            prefixSums[j + 1] = prefixSums[j] + means[j];
+        }
+        final int half = size / 2;
+        if (hasTrend(means, prefixSums, half, size)) {
+            return -1;
+        }
+        final double level = (prefixSums[size] - prefixSums[half]) / (size - half);
+
+        double envelope = 0.0;
+        for (int i = half; i < size; i++) {
+            envelope = Math.max(envelope, Math.abs(movingAverage(prefixSums, i, size) - level));
+        }
+        final double threshold = envelope * (1 + TOLERANCE);
+
+        for (int i = half - 1; i >= 0; i--) {
+            if (Math.abs(movingAverage(prefixSums, i, size) - level) > threshold) {
+                return i + 1 < size / 3 ? i + 1 : -1;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean hasTrend(final double[] means, final double[] prefixSums, final int from,
+            final int to) {
+        final int middle = from + (to - from) / 2;
+        final double mean = (prefixSums[to] - prefixSums[from]) / (to - from);
+        double squares = 0.0;
+        for (int j = from; j < to; j++) {
+            squares += (means[j] - mean) * (means[j] - mean);
+        }
+        final double variance = squares / (to - from - 1);
+        final double standardError = Math.sqrt(variance / (middle - from) + variance / (to - middle));
+        final double difference = (prefixSums[middle] - prefixSums[from]) / (middle - from)
+                - (prefixSums[to] - prefixSums[middle]) / (to - middle);
+        return Math.abs(difference) > TREND_STANDARD_ERRORS * standardError;
+    }
+
+    private static double movingAverage(final double[] prefixSums, final int batch, final int size) {
+        final int from = Math.max(0, batch - WINDOW);
+        final int to = Math.min(size, batch + WINDOW + 1);
+        return (prefixSums[to] - prefixSums[from]) / (to - from);
+    }
+}
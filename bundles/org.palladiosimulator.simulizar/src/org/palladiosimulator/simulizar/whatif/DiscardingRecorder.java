@@ -0,0 +1,32 @@
+package org.palladiosimulator.simulizar.whatif;
+
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.recorderframework.IRecorder;
+import org.palladiosimulator.recorderframework.config.IRecorderConfiguration;
+
+/**
+ * Recorder dropping all measurements. The measurements of a fork are only evaluated through its
+ * runtime measurements, see {@link RuntimeStateFork#getSamples()}.
+ */
+public class DiscardingRecorder implements IRecorder {
+
+    @Override
+    public void initialize(final IRecorderConfiguration recorderConfiguration) {
+    }
+
+    @Override
+    public void writeData(final MeasuringValue measurement) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void newMeasurementAvailable(final MeasuringValue newMeasurement) {
+    }
+
+    @Override
+    public void preUnregister() {
+    }
+}
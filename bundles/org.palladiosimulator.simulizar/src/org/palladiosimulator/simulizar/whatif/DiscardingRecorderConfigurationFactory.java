@@ -0,0 +1,43 @@
+package org.palladiosimulator.simulizar.whatif;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.palladiosimulator.recorderframework.config.AbstractRecorderConfiguration;
+import org.palladiosimulator.recorderframework.config.IRecorderConfiguration;
+import org.palladiosimulator.recorderframework.config.IRecorderConfigurationFactory;
+
+/**
+ * Creates the configurations of the {@link DiscardingRecorder}s of a run. Forks record their
+ * measurements with this recorder, so that they neither write to the repository of the forked run
+ * nor keep their measurements in memory.
+ */
+public class DiscardingRecorderConfigurationFactory implements IRecorderConfigurationFactory {
+
+    /**
+     * Name of the recorder in the recorder framework extension.
+     */
+    public static final String RECORDER_NAME = "Discarded (What-if Fork)";
+
+    @Override
+    public void initialize(final Map<String, Object> configuration) {
+    }
+
+    @Override
+    public IRecorderConfiguration createRecorderConfiguration(final Map<String, Object> configuration) {
+        final DiscardingRecorderConfiguration result = new DiscardingRecorderConfiguration();
+        result.setConfiguration(new HashMap<String, Object>(configuration));
+        return result;
+    }
+
+    @Override
+    public void finalizeRecorderConfigurationFactory() {
+    }
+
+    /**
+     * Configuration of a {@link DiscardingRecorder}, holding the accepted metric and the measuring
+     * point only.
+     */
+    static final class DiscardingRecorderConfiguration extends AbstractRecorderConfiguration {
+    }
+}
@@ -0,0 +1,418 @@
+package org.palladiosimulator.simulizar.whatif;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.analyzer.workflow.configurations.AbstractPCMWorkflowRunConfiguration;
+import org.palladiosimulator.analyzer.workflow.jobs.LoadPCMModelsIntoBlackboardJob;
+import org.palladiosimulator.pcm.usagemodel.OpenWorkload;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurement;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementModel;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementPackage;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.launcher.jobs.LoadSimuLizarModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicallyTriggeredSimulationEntity;
+import org.palladiosimulator.simulizar.warmup.WarmupFilteringRecorderConfigurationFactory;
+
+import de.uka.ipd.sdq.simucomframework.SimuComConfig;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.ResourceSetPartition;
+
+/**
+ * An independent child simulation forked from a running simulation, e.g., to evaluate what would
+ * happen if a candidate reconfiguration was applied.
+ * <p>
+ * {@link #fork(AbstractSimuLizarRuntimeState, long, long)} takes a snapshot of the forked run:
+ * copies of its global PCM models, of its analyzed PCM models and of its runtime measurements, the
+ * number of users in flight per usage scenario and the simulation time.
+ * {@link #simulate(WhatIfCandidate)} creates a new runtime state from the snapshot, applies a
+ * candidate and simulates the given horizon, starting at simulation time 0 with random number
+ * streams of its own. The fork
+ * <ul>
+ * <li>continues the usage evolution at the simulation time of the snapshot,</li>
+ * <li>starts the users in flight of open workloads again at its start, as the state of simulated
+ * users, resource queues and scheduled events is owned by the simulation engine and cannot be
+ * copied; closed workloads start their whole population,</li>
+ * <li>does not execute reconfiguration rules, i.e., it only evaluates the candidate,</li>
+ * <li>does not record its measurements, see {@link DiscardingRecorder}; changes of its runtime
+ * measurements are kept as {@link #getSamples() samples} instead.</li>
+ * </ul>
+ * A fork never changes the forked run, and {@link #close()} releases the runtime state and the
+ * models of the fork. A fork simulated by another thread is stopped by {@link #cancel()}; it must
+ * not be closed before {@link #simulate(WhatIfCandidate)} has returned.
+ */
+public final class RuntimeStateFork implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(RuntimeStateFork.class);
+
+    /** Number of seeds of the random number streams of a run. */
+    private static final int NUMBER_OF_SEEDS = 6;
+
+    private final double forkTime;
+    private final long horizon;
+    private final double forkedSimulationTime;
+    private final Map<String, Integer> usersInFlight;
+    private final SimuLizarWorkflowConfiguration configuration;
+    private final List<Sample> samples = new ArrayList<Sample>();
+    private final Adapter sampleRecorder = new EContentAdapter() {
+
+        @Override
+        public void notifyChanged(final Notification notification) {
+            super.notifyChanged(notification);
+            if (notification.getEventType() == Notification.SET && notification
+                    .getFeature() == RuntimeMeasurementPackage.Literals.RUNTIME_MEASUREMENT__MEASURING_VALUE) {
+                RuntimeStateFork.this.record((RuntimeMeasurement) notification.getNotifier());
+            }
+        }
+    };
+
+    private MDSDBlackboard blackboard;
+    private PCMResourceSetPartition partition;
+    private PCMResourceSetPartition analyzedPartition;
+    private Collection<EObject> measurements;
+    private SimuLizarRuntimeState runtimeState;
+    private volatile boolean cancelled = false;
+    private volatile boolean closed = false;
+
+    private RuntimeStateFork(final AbstractSimuLizarRuntimeState parent, final long horizon, final long seed) {
+        super();
+        this.forkTime = parent.getModel().getSimulationControl().getCurrentSimulationTime();
+        this.horizon = horizon;
+        this.forkedSimulationTime = parent.getModel().getConfiguration().getSimuTime();
+        this.configuration = createConfiguration(parent.getReconfigurator().getConfiguration(), horizon, seed);
+
+        this.partition = new PCMResourceSetPartition();
+        this.partition.initialiseResourceSetEPackages(AbstractPCMWorkflowRunConfiguration.PCM_EPACKAGES);
+        final EcoreUtil.Copier copier = new EcoreUtil.Copier();
+        final List<Resource> resources = new ArrayList<Resource>(
+                parent.getModelAccess().getGlobalPCMModel().getResourceSet().getResources());
+        final List<Collection<EObject>> copiedContents = new ArrayList<Collection<EObject>>(resources.size());
+        for (final Resource resource : resources) {
+            copiedContents.add(copier.copyAll(resource.getContents()));
+        }
+        this.measurements = copier.copyAll(parent.getModelAccess().getRuntimeMeasurementModel().getMeasurements());
+        copier.copyReferences();
+        for (int i = 0; i < resources.size(); i++) {
+            this.partition.getResourceSet().createResource(resources.get(i).getURI()).getContents()
+                    .addAll(copiedContents.get(i));
+        }
+
+        this.usersInFlight = new LinkedHashMap<String, Integer>();
+        for (final UsageScenario scenario : parent.getModelAccess().getGlobalPCMModel().getUsageModel()
+                .getUsageScenario_UsageModel()) {
+            this.usersInFlight.put(scenario.getId(), parent.getNumberOfUsersInFlight(scenario));
+        }
+
+        this.blackboard = new MDSDBlackboard();
+        this.blackboard.addPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID, this.partition);
+        final MDSDBlackboard parentBlackboard = parent.getModelAccess().getBlackboard();
+        final String analyzedPartitionId = LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID;
+        if (parentBlackboard != null && parentBlackboard.hasPartition(analyzedPartitionId)) {
+            this.analyzedPartition = copyPartition(parentBlackboard.getPartition(analyzedPartitionId));
+            this.blackboard.addPartition(analyzedPartitionId, this.analyzedPartition);
+        }
+    }
+
+    /**
+     * Copies all models of the given partition, keeping the URIs of their resources.
+     */
+    private static PCMResourceSetPartition copyPartition(final ResourceSetPartition partition) {
+        final PCMResourceSetPartition result = new PCMResourceSetPartition();
+        result.initialiseResourceSetEPackages(AbstractPCMWorkflowRunConfiguration.PCM_EPACKAGES);
+        final EcoreUtil.Copier copier = new EcoreUtil.Copier();
+        final List<Resource> resources = new ArrayList<Resource>(partition.getResourceSet().getResources());
+        final List<Collection<EObject>> copiedContents = new ArrayList<Collection<EObject>>(resources.size());
+        for (final Resource resource : resources) {
+            copiedContents.add(copier.copyAll(resource.getContents()));
+        }
+        copier.copyReferences();
+        for (int i = 0; i < resources.size(); i++) {
+            result.getResourceSet().createResource(resources.get(i).getURI()).getContents()
+                    .addAll(copiedContents.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Forks the given run at its current simulation time. Has to be called by the simulation
+     * thread of the forked run, e.g., by a reconfiguration engine, or while it is not running.
+     *
+     * @param parent
+     *            the runtime state of the forked run.
+     * @param horizon
+     *            the simulation time the fork simulates.
+     * @param seed
+     *            the seed the random number streams of the fork are derived from; forks with the
+     *            same seed use the same streams.
+     * @return the fork; call {@link #simulate(WhatIfCandidate)} to run it.
+     * @throws IllegalArgumentException
+     *             if the horizon is not positive.
+     */
+    public static RuntimeStateFork fork(final AbstractSimuLizarRuntimeState parent, final long horizon,
+            final long seed) {
+        if (horizon <= 0) {
+            throw new IllegalArgumentException("The horizon of a fork has to be positive");
+        }
+        return new RuntimeStateFork(parent, horizon, seed);
+    }
+
+    private static SimuLizarWorkflowConfiguration createConfiguration(final SimuLizarWorkflowConfiguration parent,
+            final long horizon, final long seed) {
+        final Map<String, Object> attributes = new HashMap<String, Object>(parent.getAttributes());
+        attributes.put(SimuComConfig.SIMULATION_TIME, Long.toString(horizon));
+        attributes.put(SimuComConfig.MAXIMUM_MEASUREMENT_COUNT, Long.toString(Long.MAX_VALUE));
+        attributes.put(SimuComConfig.PERSISTENCE_RECORDER_NAME, DiscardingRecorderConfigurationFactory.RECORDER_NAME);
+        attributes.remove(WarmupFilteringRecorderConfigurationFactory.DELEGATE_RECORDER_NAME);
+        attributes.put(SimuComConfig.USE_FIXED_SEED, true);
+        final Random random = new Random(seed);
+        for (int i = 0; i < NUMBER_OF_SEEDS; i++) {
+            attributes.put(SimuComConfig.FIXED_SEED_PREFIX + i,
+                    Integer.toString(1 + random.nextInt(Integer.MAX_VALUE - 1)));
+        }
+
+        // warm-up detection and confidence stop conditions are not configured
+        final SimuLizarWorkflowConfiguration configuration = new SimuLizarWorkflowConfiguration(attributes);
+        configuration.setMonitorRepositoryFile(parent.getMonitorRepositoryFile());
+        configuration.setReconfigurationRulesFolder(parent.getReconfigurationRulesFolder());
+        configuration.setUsageEvolutionFile(parent.getUsageEvolutionFile());
+        configuration.setServiceLevelObjectivesFile(parent.getServiceLevelObjectivesFile());
+        configuration.setPassiveResourceSemantics(parent.getPassiveResourceSemantics());
+        configuration.setSimulateNetwork(parent.isSimulateNetwork());
+        configuration.setNetworkDefaultPayloadSize(parent.getNetworkDefaultPayloadSize());
+        configuration.setSimuComConfiguration(new SimuComConfig(attributes, parent.isDebug()));
+        return configuration;
+    }
+
+    /**
+     * Creates the runtime state of the fork, applies the given candidate and simulates the
+     * horizon. May be called by any thread, but only once per fork.
+     *
+     * @param candidate
+     *            the candidate to apply before the fork is simulated. While it is applied, the
+     *            runtime measurement model of the fork holds the copies of the runtime
+     *            measurements of the forked run.
+     * @return whether the candidate changed the models of the fork.
+     * @throws IllegalStateException
+     *             if the fork has already been simulated or closed.
+     */
+    public boolean simulate(final WhatIfCandidate candidate) {
+        synchronized (this) {
+            if (this.runtimeState != null || this.closed) {
+                throw new IllegalStateException("A fork can only be simulated once");
+            }
+            final ModelAccess modelAccess = new ModelAccess(this.blackboard);
+            final RuntimeMeasurementModel runtimeMeasurementModel = modelAccess.getRuntimeMeasurementModel();
+            for (final EObject measurement : this.measurements) {
+                runtimeMeasurementModel.getMeasurements().add((RuntimeMeasurement) measurement);
+            }
+            this.runtimeState = new SimuLizarRuntimeState(this.configuration, modelAccess,
+                    new SimulationCancelationDelegate(() -> this.cancelled || this.closed));
+        }
+        // the fork only evaluates the candidate, reconfiguration rules are not executed
+        this.runtimeState.getReconfigurator().getReconfigurationEngines().clear();
+        this.runtimeState.getUsageEvolverFacade().continueAt(this.forkTime, this.forkedSimulationTime);
+        this.startUsersInFlight();
+
+        final RuntimeMeasurementModel runtimeMeasurementModel = this.runtimeState.getModelAccess()
+                .getRuntimeMeasurementModel();
+        final boolean changed = candidate.apply(this.runtimeState, runtimeMeasurementModel);
+        runtimeMeasurementModel.getMeasurements().removeAll(this.measurements);
+        this.measurements = null;
+        runtimeMeasurementModel.eAdapters().add(this.sampleRecorder);
+
+        LOGGER.debug("Simulating " + candidate.getName() + " for " + this.horizon + " from " + this.forkTime);
+        this.runtimeState.runSimulation();
+        return changed;
+    }
+
+    private void startUsersInFlight() {
+        final List<UsageScenario> scenarios = new ArrayList<UsageScenario>();
+        final List<Integer> users = new ArrayList<Integer>();
+        for (final UsageScenario scenario : this.runtimeState.getModelAccess().getGlobalPCMModel().getUsageModel()
+                .getUsageScenario_UsageModel()) {
+            final int inFlight = this.usersInFlight.getOrDefault(scenario.getId(), 0);
+            if (inFlight > 0 && scenario.getWorkload_UsageScenario() instanceof OpenWorkload) {
+                scenarios.add(scenario);
+                users.add(inFlight);
+            }
+        }
+        if (scenarios.isEmpty()) {
+            return;
+        }
+        new PeriodicallyTriggeredSimulationEntity(this.runtimeState.getModel(), 0, this.horizon) {
+
+            @Override
+            protected void triggerInternal() {
+                this.stopScheduling();
+                for (int i = 0; i < scenarios.size(); i++) {
+                    RuntimeStateFork.this.runtimeState.getUsageModels().startUsers(scenarios.get(i), users.get(i));
+                }
+            }
+        };
+    }
+
+    private void record(final RuntimeMeasurement measurement) {
+        this.samples.add(new Sample(this.runtimeState.getModel().getSimulationControl().getCurrentSimulationTime(),
+                measurement.getMeasuringPoint() == null ? ""
+                        : measurement.getMeasuringPoint().getStringRepresentation(),
+                measurement.getMeasurementSpecification() == null ? ""
+                        : measurement.getMeasurementSpecification().getMetricDescription().getId(),
+                measurement.getMeasuringValue()));
+    }
+
+    /**
+     * @return the simulation time of the forked run at which the fork has been taken.
+     */
+    public double getForkTime() {
+        return this.forkTime;
+    }
+
+    /**
+     * @return the simulation time the fork simulates.
+     */
+    public long getHorizon() {
+        return this.horizon;
+    }
+
+    /**
+     * @return the number of users in flight per id of the usage scenarios of the forked run at the
+     *         time the fork has been taken.
+     */
+    public Map<String, Integer> getUsersInFlight() {
+        return Collections.unmodifiableMap(this.usersInFlight);
+    }
+
+    /**
+     * @return the runtime state of the fork, or <code>null</code> if the fork has not been
+     *         simulated yet.
+     */
+    public SimuLizarRuntimeState getRuntimeState() {
+        return this.runtimeState;
+    }
+
+    /**
+     * @return the changes of the runtime measurements of the fork while it has been simulated, in
+     *         order of their simulation time.
+     */
+    public List<Sample> getSamples() {
+        return Collections.unmodifiableList(this.samples);
+    }
+
+    /**
+     * Stops the simulation of the fork at its next event if it is running, or right after its start
+     * if it has not been started yet. Unlike {@link #close()}, the runtime state and the models of
+     * the fork are kept, so this may be called by any thread while the fork is simulated.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Releases the runtime state and the models of the fork. The samples are kept. Does nothing if
+     * the fork is already closed. Has to be called by the thread simulating the fork, or once
+     * {@link #simulate(WhatIfCandidate)} has returned; use {@link #cancel()} to stop a fork
+     * simulated by another thread.
+     */
+    @Override
+    public void close() {
+        final SimuLizarRuntimeState closedRuntimeState;
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            closedRuntimeState = this.runtimeState;
+        }
+        if (closedRuntimeState != null) {
+            closedRuntimeState.getModelAccess().getRuntimeMeasurementModel().eAdapters().remove(this.sampleRecorder);
+            closedRuntimeState.cleanUp();
+        }
+        unload(this.partition);
+        if (this.analyzedPartition != null) {
+            unload(this.analyzedPartition);
+        }
+        this.partition = null;
+        this.analyzedPartition = null;
+        this.blackboard = null;
+        this.measurements = null;
+        this.runtimeState = null;
+    }
+
+    private static void unload(final PCMResourceSetPartition partition) {
+        final ResourceSet resourceSet = partition.getResourceSet();
+        for (final Resource resource : new ArrayList<Resource>(resourceSet.getResources())) {
+            resource.unload();
+        }
+        resourceSet.getResources().clear();
+    }
+
+    /**
+     * A runtime measurement of a fork which has been set while the fork has been simulated.
+     */
+    public static final class Sample {
+
+        private final double simulationTime;
+        private final String measuringPoint;
+        private final String metricId;
+        private final double value;
+
+        private Sample(final double simulationTime, final String measuringPoint, final String metricId,
+                final double value) {
+            super();
+            this.simulationTime = simulationTime;
+            this.measuringPoint = measuringPoint;
+            this.metricId = metricId;
+            this.value = value;
+        }
+
+        /**
+         * @return the simulation time of the fork at which the measurement has been set.
+         */
+        public double getSimulationTime() {
+            return this.simulationTime;
+        }
+
+        /**
+         * @return the string representation of the measuring point of the measurement.
+         */
+        public String getMeasuringPoint() {
+            return this.measuringPoint;
+        }
+
+        /**
+         * @return the id of the metric of the measurement specification of the measurement.
+         */
+        public String getMetricId() {
+            return this.metricId;
+        }
+
+        public double getValue() {
+            return this.value;
+        }
+
+        @Override
+        public String toString() {
+            return this.measuringPoint + "|" + this.metricId + "@" + this.simulationTime + "=" + this.value;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.palladiosimulator.simulizar.whatif;
+
+import java.util.function.Supplier;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.simulizar.reconfiguration.IReconfigurationEngine;
+import org.palladiosimulator.simulizar.reconfigurationrule.ModelTransformation;
+import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
+
+/**
+ * A candidate reconfiguration evaluated by a {@link WhatIfReconfigurationEngine}. The candidate is
+ * applied to a {@link RuntimeStateFork} for each evaluation, and to the simulated run once it has
+ * been chosen. Thus, it must only change the models of the runtime state it is applied to.
+ */
+public interface WhatIfCandidate {
+
+    /**
+     * @return the name of the candidate, e.g., for logging.
+     */
+    String getName();
+
+    /**
+     * Applies the candidate to the global PCM model of the given runtime state.
+     *
+     * @param runtimeState
+     *            the runtime state of the simulated run or of a fork.
+     * @param monitoredElement
+     *            the element whose measurement triggered the reconfiguration; the runtime
+     *            measurement model of the given runtime state when applied to a fork.
+     * @return whether the candidate changed the models.
+     */
+    boolean apply(AbstractSimuLizarRuntimeState runtimeState, EObject monitoredElement);
+
+    /**
+     * @return a candidate which does not change anything, i.e., to keep the current configuration.
+     */
+    static WhatIfCandidate noReconfiguration() {
+        return new WhatIfCandidate() {
+
+            @Override
+            public String getName() {
+                return "No reconfiguration";
+            }
+
+            @Override
+            public boolean apply(final AbstractSimuLizarRuntimeState runtimeState, final EObject monitoredElement) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates a candidate adding a replica to a processing resource, e.g., a core to a CPU. Requests
+     * queued at the processing resource when the candidate is applied are completed by the
+     * replicas it had before, see
+     * {@link org.palladiosimulator.simulizar.modelobserver.ResourceEnvironmentSyncer}.
+     *
+     * @param resourceContainerId
+     *            the id of the resource container of the processing resource.
+     * @param resourceTypeId
+     *            the id of the active resource type of the processing resource.
+     * @return the candidate; it does not change anything if the container has no processing
+     *         resource of the given type.
+     */
+    static WhatIfCandidate addReplica(final String resourceContainerId, final String resourceTypeId) {
+        return new WhatIfCandidate() {
+
+            @Override
+            public String getName() {
+                return "Add replica of " + resourceTypeId + " to " + resourceContainerId;
+            }
+
+            @Override
+            public boolean apply(final AbstractSimuLizarRuntimeState runtimeState, final EObject monitoredElement) {
+                for (final ResourceContainer container : runtimeState.getModelAccess().getGlobalPCMModel()
+                        .getAllocation().getTargetResourceEnvironment_Allocation()
+                        .getResourceContainer_ResourceEnvironment()) {
+                    if (!container.getId().equals(resourceContainerId)) {
+                        continue;
+                    }
+                    for (final ProcessingResourceSpecification processingResource : container
+                            .getActiveResourceSpecifications_ResourceContainer()) {
+                        if (processingResource.getActiveResourceType_ActiveResourceSpecification().getId()
+                                .equals(resourceTypeId)) {
+                            processingResource.setNumberOfReplicas(processingResource.getNumberOfReplicas() + 1);
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates a candidate executing a reconfiguration rule, e.g., a QVTo or Henshin transformation.
+     * A new engine is created for every application, as engines keep the model access they have
+     * been given.
+     *
+     * @param name
+     *            the name of the candidate.
+     * @param engineFactory
+     *            creates the engine executing the transformation.
+     * @param transformation
+     *            the transformation to execute.
+     * @return the candidate.
+     */
+    static WhatIfCandidate of(final String name, final Supplier<? extends IReconfigurationEngine> engineFactory,
+            final ModelTransformation<? extends Object> transformation) {
+        return new WhatIfCandidate() {
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public boolean apply(final AbstractSimuLizarRuntimeState runtimeState, final EObject monitoredElement) {
+                final IReconfigurationEngine engine = engineFactory.get();
+                engine.setConfiguration(runtimeState.getReconfigurator().getConfiguration());
+                engine.setModelAccess(runtimeState.getModelAccess());
+                final EList<ModelTransformation<? extends Object>> transformations =
+                        new BasicEList<ModelTransformation<? extends Object>>();
+                transformations.add(transformation);
+                return engine.runCheck(transformations, monitoredElement);
+            }
+        };
+    }
+}
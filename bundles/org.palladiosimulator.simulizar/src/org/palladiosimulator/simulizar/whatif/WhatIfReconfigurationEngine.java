@@ -0,0 +1,287 @@
+package org.palladiosimulator.simulizar.whatif;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.palladiosimulator.simulizar.reconfiguration.AbstractReconfigurator;
+import org.palladiosimulator.simulizar.reconfigurationrule.ModelTransformation;
+import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
+
+/**
+ * Reconfiguration engine choosing between candidate reconfigurations by simulating their effect.
+ * <p>
+ * Whenever a reconfiguration is triggered, the engine forks the simulated run once per candidate,
+ * applies the candidate to its fork and simulates the fork for a fixed horizon. Forks are simulated
+ * by a bounded pool of threads which the simulated run waits for, by default one fork at a time,
+ * see {@link #setParallelism(int)}. All forks of a round use the same random number streams, so
+ * that the candidates are compared under the same arrivals and demands. The fork with the lowest
+ * value of the objective wins, and its candidate is applied to the simulated run; ties are resolved
+ * in favour of the candidate listed first. The reconfiguration rules given to the engine are not
+ * executed.
+ * <p>
+ * Forks simulate copies of the models of the run, see {@link RuntimeStateFork}. They are not
+ * continuations of the run, which limits the fidelity of the evaluation:
+ * <ul>
+ * <li>a fork is a cold start: resource queues are empty and passive resources are free, the users
+ * in flight of open workloads arrive again at the start of the fork and closed workloads start
+ * their whole population, so the backlog of an overloaded run is underestimated;</li>
+ * <li>the random number streams of a fork are not those of the run, so a fork predicts a sample
+ * of the future of the run, not the future itself;</li>
+ * <li>reconfiguration rules are not executed within a fork, so each candidate is evaluated as if
+ * nothing else was reconfigured within the horizon.</li>
+ * </ul>
+ * Objectives should therefore compare candidates relative to each other, e.g., by their mean
+ * utilization, rather than predict absolute values. The simulated run is suspended while the forks
+ * are simulated.
+ */
+public class WhatIfReconfigurationEngine extends AbstractReconfigurator {
+
+    private static final Logger LOGGER = Logger.getLogger(WhatIfReconfigurationEngine.class);
+
+    private final AbstractSimuLizarRuntimeState runtimeState;
+    private final List<WhatIfCandidate> candidates;
+    private final ToDoubleFunction<RuntimeStateFork> objective;
+    private final long horizon;
+    private int parallelism = 1;
+    private long seed = 0;
+    private double replanningPeriod = 0;
+    private double lastEvaluation = Double.NEGATIVE_INFINITY;
+    private long numberOfEvaluations = 0;
+    private WhatIfCandidate lastChoice;
+
+    /**
+     * Constructor.
+     *
+     * @param runtimeState
+     *            the runtime state of the simulated run.
+     * @param candidates
+     *            the candidates to choose between; usually including
+     *            {@link WhatIfCandidate#noReconfiguration()}.
+     * @param objective
+     *            scores a simulated fork, e.g., by the mean of its response time samples; lower is
+     *            better.
+     * @param horizon
+     *            the simulation time each fork simulates.
+     * @throws IllegalArgumentException
+     *             if there are no candidates or the horizon is not positive.
+     */
+    public WhatIfReconfigurationEngine(final AbstractSimuLizarRuntimeState runtimeState,
+            final List<WhatIfCandidate> candidates, final ToDoubleFunction<RuntimeStateFork> objective,
+            final long horizon) {
+        super();
+        if (candidates == null || candidates.isEmpty()) {
+            throw new IllegalArgumentException("At least one candidate is required");
+        }
+        if (horizon <= 0) {
+            throw new IllegalArgumentException("The horizon of the forks has to be positive");
+        }
+        this.runtimeState = runtimeState;
+        this.candidates = new ArrayList<WhatIfCandidate>(candidates);
+        this.objective = objective;
+        this.horizon = horizon;
+    }
+
+    /**
+     * @param parallelism
+     *            the maximum number of forks simulated at the same time. Each fork holds a copy of
+     *            the models of the simulated run while it is simulated.
+     * @throws IllegalArgumentException
+     *             if the parallelism is not positive.
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("At least one fork has to be simulated at a time");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param seed
+     *            the seed the random number streams of the forks are derived from; each round uses
+     *            different streams.
+     */
+    public void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param replanningPeriod
+     *            the minimum simulation time between two rounds; reconfigurations triggered
+     *            earlier are ignored.
+     */
+    public void setReplanningPeriod(final double replanningPeriod) {
+        this.replanningPeriod = replanningPeriod;
+    }
+
+    @Override
+    public boolean runCheck(final EList<? extends ModelTransformation<? extends Object>> checks,
+            final EObject monitoredElement) {
+        return this.runExecute(checks, monitoredElement);
+    }
+
+    @Override
+    public boolean runExecute(final EList<? extends ModelTransformation<? extends Object>> actions,
+            final EObject monitoredElement) {
+        final double now = this.runtimeState.getModel().getSimulationControl().getCurrentSimulationTime();
+        if (now < this.lastEvaluation + this.replanningPeriod) {
+            return false;
+        }
+        this.lastEvaluation = now;
+        final long roundSeed = this.seed + this.numberOfEvaluations++;
+
+        final ExecutorService executor = Executors
+                .newFixedThreadPool(Math.min(this.parallelism, this.candidates.size()));
+        final List<RuntimeStateFork> forks = new ArrayList<RuntimeStateFork>(this.candidates.size());
+        final List<Future<Double>> scores = new ArrayList<Future<Double>>(this.candidates.size());
+        try {
+            for (int i = 0; i < this.candidates.size(); i++) {
+                if (i >= this.parallelism) {
+                    // bounds the number of forks holding copies of the models
+                    awaitCompletion(scores.get(i - this.parallelism));
+                }
+                scores.add(this.submit(executor, forks, this.candidates.get(i), roundSeed, now));
+            }
+            this.lastChoice = this.choose(now, scores);
+        } catch (final InterruptedException e) {
+            LOGGER.warn("Interrupted while evaluating the candidates at simulation time " + now);
+            this.lastChoice = null;
+            Thread.currentThread().interrupt();
+        } finally {
+            stop(executor, forks);
+        }
+
+        if (this.lastChoice == null) {
+            LOGGER.warn("No candidate could be evaluated at simulation time " + now);
+            return false;
+        }
+        LOGGER.info("Applying " + this.lastChoice.getName() + " at simulation time " + now);
+        return this.lastChoice.apply(this.runtimeState, monitoredElement);
+    }
+
+    /**
+     * Forks the simulated run and submits the simulation of the fork with the candidate applied. The
+     * fork is taken by the calling simulation thread, as the runtime state must not change
+     * meanwhile, and simulated by the executor, so that its simulation engine does not run within
+     * an event of the simulated run. The fork is closed by the thread simulating it.
+     *
+     * @return the future objective of the simulated fork, or <code>null</code> if the run could not
+     *         be forked.
+     */
+    private Future<Double> submit(final ExecutorService executor, final List<RuntimeStateFork> forks,
+            final WhatIfCandidate candidate, final long roundSeed, final double now) {
+        final RuntimeStateFork fork;
+        try {
+            fork = RuntimeStateFork.fork(this.runtimeState, this.horizon, roundSeed);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not fork " + candidate.getName() + " at simulation time " + now, e);
+            return null;
+        }
+        forks.add(fork);
+        return executor.submit(() -> {
+            try {
+                fork.simulate(candidate);
+                return this.objective.applyAsDouble(fork);
+            } finally {
+                fork.close();
+            }
+        });
+    }
+
+    private WhatIfCandidate choose(final double now, final List<Future<Double>> scores)
+            throws InterruptedException {
+        WhatIfCandidate best = null;
+        double bestScore = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < scores.size(); i++) {
+            final WhatIfCandidate candidate = this.candidates.get(i);
+            if (scores.get(i) == null) {
+                continue;
+            }
+            final double score;
+            try {
+                score = scores.get(i).get();
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                LOGGER.error("Could not evaluate " + candidate.getName() + " at simulation time " + now,
+                        e.getCause());
+                continue;
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Objective of " + candidate.getName() + " at simulation time " + now + ": " + score);
+            }
+            if (best == null || score < bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static void awaitCompletion(final Future<Double> score) throws InterruptedException {
+        if (score == null) {
+            return;
+        }
+        try {
+            score.get();
+        } catch (final ExecutionException e) {
+            // reported when the candidates are chosen between
+        }
+    }
+
+    /**
+     * Cancels the forks still being simulated and closes all forks once their threads have
+     * terminated, as closing a fork releases the models its simulation uses. Waits for the threads
+     * even if the calling thread is interrupted, and keeps its interrupt status.
+     */
+    private static void stop(final ExecutorService executor, final List<RuntimeStateFork> forks) {
+        forks.forEach(RuntimeStateFork::cancel);
+        executor.shutdown();
+        boolean interrupted = Thread.interrupted();
+        while (true) {
+            try {
+                if (executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        forks.forEach(RuntimeStateFork::close);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the candidates the engine chooses between.
+     */
+    public List<WhatIfCandidate> getCandidates() {
+        return Collections.unmodifiableList(this.candidates);
+    }
+
+    /**
+     * @return the candidate chosen in the last round, or <code>null</code> if there has not been a
+     *         round yet or no candidate could be evaluated.
+     */
+    public WhatIfCandidate getLastChoice() {
+        return this.lastChoice;
+    }
+
+    /**
+     * @return the number of rounds in which the candidates have been evaluated.
+     */
+    public long getNumberOfEvaluations() {
+        return this.numberOfEvaluations;
+    }
+}
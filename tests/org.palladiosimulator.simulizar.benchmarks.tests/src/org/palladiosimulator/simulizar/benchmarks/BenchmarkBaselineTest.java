@@ -0,0 +1,57 @@
+package org.palladiosimulator.simulizar.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BenchmarkBaselineTest {
+
+    private BenchmarkReport report;
+
+    @Before
+    public void setUp() {
+        this.report = new BenchmarkReport(new BenchmarkSettings(BenchmarkSettings.SMOKE_MODE, 0, 1, 0,
+                new File("target/benchmark-baseline-test.json"), null, 0.1));
+    }
+
+    @Test
+    public void testReportRoundTrip() throws Exception {
+        this.report.add(result("Foo.bar", "Foo.bar", 100, 200));
+        this.report.add(result("Foo.\"quoted\\\"", "Foo.quoted", 42));
+
+        final BenchmarkBaseline baseline = BenchmarkBaseline.parse(this.report.toJson());
+
+        assertEquals(150, baseline.getScore("Foo.bar"), 1e-6);
+        assertEquals(42, baseline.getScore("Foo.\"quoted\\\""), 1e-6);
+        assertNull(baseline.getScore("Foo.missing"));
+    }
+
+    @Test
+    public void testResultWithinThreshold() throws Exception {
+        this.report.add(result("Foo.bar", "Foo.bar", 100));
+        final BenchmarkBaseline baseline = BenchmarkBaseline.parse(this.report.toJson());
+
+        baseline.check(result("Foo.bar", "Foo.bar", 91), 0.1);
+        baseline.check(result("Foo.other", "Foo.other", 1), 0.1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testRegression() throws Exception {
+        this.report.add(result("Foo.bar", "Foo.bar", 100));
+        final BenchmarkBaseline baseline = BenchmarkBaseline.parse(this.report.toJson());
+
+        baseline.check(result("Foo.bar", "Foo.bar", 89), 0.1);
+    }
+
+    private static BenchmarkResult result(final String id, final String name, final double... scores) {
+        final Map<String, String> parameters = new LinkedHashMap<String, String>();
+        parameters.put("size", "1");
+        return new BenchmarkResult(id, name, parameters, scores, Double.NaN);
+    }
+}
@@ -0,0 +1,162 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import javax.measure.Measure;
+import javax.measure.unit.SI;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.edp2.models.measuringpoint.StringMeasuringPoint;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.measurementframework.TupleMeasurement;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.recorderframework.config.AbstractRecorderConfiguration;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkResult;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorder;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorderConfiguration;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentCursor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+
+/**
+ * Measures recording response times, i.e., samples of a point in time and a value, with the
+ * columnar recorder. In full mode, the recorder must sustain 20M samples per second, and a segment
+ * of 50M samples must round-trip bit-exactly; smoke mode only checks a segment of 1M samples.
+ */
+public class ColumnarRecorderBenchmarkTest {
+
+    private static final double REQUIRED_SAMPLES_PER_SECOND = 20e6;
+    private static final int LARGE_SAMPLE_COUNT = 50000000;
+    private static final int SMOKE_SAMPLE_COUNT = 1000000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRecordSamples() throws Exception {
+        final BenchmarkRunner runner = BenchmarkRunner.getDefault();
+        for (final boolean compressValues : new boolean[] { false, true }) {
+            final BenchmarkResult result = runner.run(new RecordBenchmark(compressValues));
+            if (!runner.getSettings().isSmokeMode()) {
+                assertTrue(result.toString(), result.getScore() >= REQUIRED_SAMPLES_PER_SECOND);
+            }
+        }
+    }
+
+    @Test
+    public void testLargeSegmentRoundTripsBitExactly() throws IOException {
+        final int samples = BenchmarkRunner.getDefault().getSettings().isSmokeMode() ? SMOKE_SAMPLE_COUNT
+                : LARGE_SAMPLE_COUNT;
+        final File file = this.folder.newFile();
+        final ColumnarRecorder recorder = new ColumnarRecorder();
+        recorder.initialize(createConfiguration(file, true));
+        final Random random = new Random(42);
+        long ticks = 0;
+        for (int i = 0; i < samples; i++) {
+            ticks += random.nextInt(1000);
+            recorder.writeData(new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                    Measure.valueOf(ticks / (double) ColumnarRecorderConfiguration.DEFAULT_TICKS_PER_SECOND,
+                            SI.SECOND),
+                    Measure.valueOf(Double.longBitsToDouble(random.nextLong()), SI.SECOND)));
+        }
+        recorder.preUnregister();
+
+        try (final SegmentReader reader = new SegmentReader(file)) {
+            assertEquals(samples, reader.countSamples());
+            final SegmentCursor cursor = reader.cursor();
+            final Random expected = new Random(42);
+            ticks = 0;
+            for (int i = 0; i < samples; i++) {
+                ticks += expected.nextInt(1000);
+                assertTrue(cursor.next());
+                if (cursor.getLong(0) != ticks
+                        || Double.doubleToRawLongBits(cursor.getDouble(1)) != expected.nextLong()) {
+                    throw new AssertionError("Sample " + i + " differs");
+                }
+            }
+            assertFalse(cursor.next());
+            assertFalse(cursor.isTruncated());
+        }
+    }
+
+    private static ColumnarRecorderConfiguration createConfiguration(final File file, final boolean compressValues) {
+        final StringMeasuringPoint measuringPoint = MeasuringpointFactory.eINSTANCE.createStringMeasuringPoint();
+        measuringPoint.setMeasuringPoint("Benchmark");
+        final Map<String, Object> configuration = new HashMap<String, Object>();
+        configuration.put(AbstractRecorderConfiguration.RECORDER_ACCEPTED_METRIC,
+                MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE);
+        configuration.put(AbstractRecorderConfiguration.MEASURING_POINT, measuringPoint);
+        configuration.put(ColumnarRecorderConfiguration.SEGMENT_FILE, file);
+        configuration.put(ColumnarRecorderConfiguration.COMPRESS_VALUES, compressValues);
+        final ColumnarRecorderConfiguration result = new ColumnarRecorderConfiguration();
+        result.setConfiguration(configuration);
+        return result;
+    }
+
+    private static final class RecordBenchmark extends Benchmark {
+
+        private static final int SAMPLES = 1 << 16;
+        private static final int INVOCATIONS_PER_SEGMENT = 256;
+
+        private final boolean compressValues;
+        private final MeasuringValue[] measurements = new MeasuringValue[SAMPLES];
+        private File file;
+        private ColumnarRecorder recorder;
+        private int invocations;
+
+        private RecordBenchmark(final boolean compressValues) {
+            super("ColumnarRecorder.writeData");
+            this.compressValues = compressValues;
+            this.addParameter("compressValues", compressValues);
+            // arrivals every half second, response times switching between a few values
+            final Random random = new Random(1);
+            for (int i = 0; i < SAMPLES; i++) {
+                this.measurements[i] = new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                        Measure.valueOf(i * 0.5, SI.SECOND), Measure.valueOf(random.nextInt(8) / 4.0, SI.SECOND));
+            }
+        }
+
+        @Override
+        public int getOperationsPerInvocation() {
+            return SAMPLES;
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            this.file = File.createTempFile("benchmark", ".segment");
+            this.recorder = new ColumnarRecorder();
+            this.recorder.initialize(createConfiguration(this.file, this.compressValues));
+        }
+
+        @Override
+        public Object invoke() throws Exception {
+            // start over from time to time, so that the file does not grow without bounds
+            if (++this.invocations % INVOCATIONS_PER_SEGMENT == 0) {
+                this.recorder.preUnregister();
+                this.recorder.initialize(createConfiguration(this.file, this.compressValues));
+            }
+            for (int i = 0; i < SAMPLES; i++) {
+                this.recorder.writeData(this.measurements[i]);
+            }
+            return this.recorder;
+        }
+
+        @Override
+        public void tearDown() throws Exception {
+            this.recorder.preUnregister();
+            this.file.delete();
+        }
+    }
+}
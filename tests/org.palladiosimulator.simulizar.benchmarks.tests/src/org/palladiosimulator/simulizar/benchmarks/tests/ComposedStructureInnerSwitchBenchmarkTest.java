@@ -0,0 +1,45 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import org.junit.Test;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.interpreter.UsageScenarioSwitch;
+
+/**
+ * Measures a call through a system whose components are wrapped into nested composite components.
+ * The call enters the system through the provided delegation connectors of the composites, and
+ * the external call of the calling component leaves them through their required delegation
+ * connectors, which the <code>ComposedStructureInnerSwitch</code> follows.
+ */
+public class ComposedStructureInnerSwitchBenchmarkTest {
+
+    @Test
+    public void testCallThroughComposites() throws Exception {
+        for (final int compositeNesting : new int[] { 0, 1, 4 }) {
+            BenchmarkRunner.getDefault().run(new CompositeCallBenchmark(compositeNesting));
+        }
+    }
+
+    private static final class CompositeCallBenchmark extends InterpreterBenchmark {
+
+        private UsageScenario usageScenario;
+
+        private CompositeCallBenchmark(final int compositeNesting) {
+            super("ComposedStructureInnerSwitch.callThroughComposites",
+                    new PCMModelBuilder().assemblyContexts(2).compositeNesting(compositeNesting).build());
+            this.addParameter("compositeNesting", compositeNesting);
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+            this.usageScenario = this.getLocalPCMModel().getUsageModel().getUsageScenario_UsageModel().get(0);
+        }
+
+        @Override
+        public Object invoke() {
+            return new UsageScenarioSwitch<Object>(this.getContext()).doSwitch(this.usageScenario);
+        }
+    }
+}
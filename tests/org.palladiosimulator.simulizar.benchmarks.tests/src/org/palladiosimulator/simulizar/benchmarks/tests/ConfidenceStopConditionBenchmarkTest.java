@@ -0,0 +1,88 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkResult;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStatistic;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStopCondition;
+import org.palladiosimulator.simulizar.confidence.ConfidenceTarget;
+
+/**
+ * Measures offering samples to a {@link ConfidenceStopCondition} after short and long runs. In
+ * full mode, the cost per sample must not grow with the length of the run.
+ */
+public class ConfidenceStopConditionBenchmarkTest {
+
+    private static final long SHORT_RUN = 1000;
+    private static final long LONG_RUN = 10000000;
+    private static final double MAXIMUM_SLOWDOWN = 0.8;
+
+    @Test
+    public void testMean() throws Exception {
+        this.assertConstantCostPerSample(ConfidenceStatistic.MEAN);
+    }
+
+    @Test
+    public void testQuantile() throws Exception {
+        this.assertConstantCostPerSample(ConfidenceStatistic.QUANTILE);
+    }
+
+    private void assertConstantCostPerSample(final ConfidenceStatistic statistic) throws Exception {
+        final BenchmarkRunner runner = BenchmarkRunner.getDefault();
+        final BenchmarkResult shortRun = runner.run(new OfferSampleBenchmark(statistic, SHORT_RUN));
+        final BenchmarkResult longRun = runner.run(new OfferSampleBenchmark(statistic, LONG_RUN));
+        if (!runner.getSettings().isSmokeMode()) {
+            assertTrue(shortRun + " vs. " + longRun, longRun.getScore() >= MAXIMUM_SLOWDOWN * shortRun.getScore());
+        }
+    }
+
+    private static final class OfferSampleBenchmark extends Benchmark {
+
+        private static final int SAMPLES = 1 << 16;
+
+        private final ConfidenceStatistic statistic;
+        private final long runLength;
+        private final double[] values = new double[SAMPLES];
+        private ConfidenceStopCondition condition;
+
+        private OfferSampleBenchmark(final ConfidenceStatistic statistic, final long runLength) {
+            super("ConfidenceStopCondition.offerSample");
+            this.addParameter("statistic", statistic);
+            this.addParameter("runLength", runLength);
+            this.statistic = statistic;
+            this.runLength = runLength;
+            final Random random = new Random(1);
+            for (int i = 0; i < SAMPLES; i++) {
+                this.values[i] = -Math.log(1 - random.nextDouble());
+            }
+        }
+
+        @Override
+        public int getOperationsPerInvocation() {
+            return SAMPLES;
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            // a target which is never reached, so that the condition keeps estimating
+            this.condition = new ConfidenceStopCondition(new ConfidenceTarget("Benchmark", "Benchmark",
+                    this.statistic, 0.9, 0.95, 1e-9, true, ConfidenceTarget.DEFAULT_BATCH_SIZE), null);
+            for (long i = 0; i < this.runLength; i++) {
+                this.condition.offerSample(this.values[(int) (i % SAMPLES)]);
+            }
+        }
+
+        @Override
+        public Object invoke() throws Exception {
+            for (int i = 0; i < SAMPLES; i++) {
+                this.condition.offerSample(this.values[i]);
+            }
+            return this.condition;
+        }
+    }
+}
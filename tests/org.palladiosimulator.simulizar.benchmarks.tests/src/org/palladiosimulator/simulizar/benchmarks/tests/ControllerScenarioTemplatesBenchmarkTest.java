@@ -0,0 +1,66 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
+import org.palladiosimulator.simulizar.action.core.ControllerCall;
+import org.palladiosimulator.simulizar.action.core.CoreFactory;
+import org.palladiosimulator.simulizar.action.interpreter.util.ControllerScenarioTemplates;
+import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsage;
+import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsageCollection;
+import org.palladiosimulator.simulizar.action.parameter.ParameterFactory;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkResult;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+
+/**
+ * Measures looking up the usage scenario and the input variable usages of a controller call once
+ * they have been created, as done for each user of a ResourceDemandingStep. Lookups must not
+ * allocate; the bytes allocated by the runner itself amount to less than a byte per operation.
+ */
+public class ControllerScenarioTemplatesBenchmarkTest {
+
+    @Test
+    public void testLookUpTemplate() throws Exception {
+        final BenchmarkResult result = BenchmarkRunner.getDefault().run(new TemplateLookupBenchmark());
+        final double allocatedBytes = result.getAllocatedBytesPerOperation();
+        assertTrue("Allocated bytes per lookup: " + allocatedBytes,
+                Double.isNaN(allocatedBytes) || allocatedBytes < 1);
+    }
+
+    private static final class TemplateLookupBenchmark extends Benchmark {
+
+        private ControllerScenarioTemplates templates;
+        private ControllerCall controllerCall;
+        private OperationProvidedRole controllerRole;
+        private ControllerCallInputVariableUsageCollection inputVariableUsages;
+
+        private TemplateLookupBenchmark() {
+            super("ControllerScenarioTemplates.getTemplate");
+        }
+
+        @Override
+        public void setUp() {
+            this.templates = new ControllerScenarioTemplates();
+            this.controllerCall = CoreFactory.eINSTANCE.createControllerCall();
+            this.controllerRole = RepositoryFactory.eINSTANCE.createOperationProvidedRole();
+            final ControllerCallInputVariableUsage inputVariableUsage = ParameterFactory.eINSTANCE
+                    .createControllerCallInputVariableUsage();
+            inputVariableUsage.setCorrespondingControllerCall(this.controllerCall);
+            inputVariableUsage.setVariableUsage(PCMModelBuilder.inputUsage("1"));
+            this.inputVariableUsages = ParameterFactory.eINSTANCE.createControllerCallInputVariableUsageCollection();
+            this.inputVariableUsages.getControllerCallInputVariableUsages().add(inputVariableUsage);
+            this.invoke();
+        }
+
+        @Override
+        public Object invoke() {
+            this.templates.getInputVariableUsagesPerControllerCall(this.inputVariableUsages)
+                    .get(this.controllerCall);
+            return this.templates.getTemplate(this.controllerCall, this.controllerRole);
+        }
+    }
+}
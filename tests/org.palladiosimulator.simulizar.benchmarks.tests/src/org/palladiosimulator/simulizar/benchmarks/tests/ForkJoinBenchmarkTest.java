@@ -0,0 +1,87 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkResult;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
+
+/**
+ * Measures forks of {@value #BRANCHES} synchronous behaviours. The allocations of a fork are
+ * measured by creating the contexts of its forked behaviours, as the forked behaviours themselves
+ * are interpreted by simulated processes whose allocations are not counted. Complete simulation
+ * runs measure the throughput of forks, an operation being a simulated request.
+ * <p>
+ * Synchronous forked behaviours read the stack frame of the forking process through a view, so
+ * creating their contexts has to allocate less than creating the contexts of detached ones, which
+ * copy the stack frame.
+ */
+public class ForkJoinBenchmarkTest {
+
+    private static final int BRANCHES = 16;
+    private static final long SIMULATION_TIME = 1000;
+    private static final int VARIABLES = 16;
+
+    @Test
+    public void testCreateChildContexts() throws Exception {
+        final BenchmarkResult synchronous = BenchmarkRunner.getDefault().run(new ChildContextBenchmark(false));
+        final BenchmarkResult detached = BenchmarkRunner.getDefault().run(new ChildContextBenchmark(true));
+        final double synchronousBytes = synchronous.getAllocatedBytesPerOperation();
+        final double detachedBytes = detached.getAllocatedBytesPerOperation();
+        assertTrue("Allocated bytes per fork: " + synchronousBytes + " synchronous, " + detachedBytes + " detached",
+                Double.isNaN(synchronousBytes) || synchronousBytes < detachedBytes);
+    }
+
+    @Test
+    public void testSimulateForks() throws Exception {
+        BenchmarkRunner.getDefault().run(new ForkRunBenchmark());
+    }
+
+    private static final class ChildContextBenchmark extends InterpreterBenchmark {
+
+        private final boolean detached;
+
+        private ChildContextBenchmark(final boolean detached) {
+            super("InterpreterDefaultContext.createChildContext", new PCMModelBuilder().build());
+            this.detached = detached;
+            this.addParameter("branches", BRANCHES);
+            this.addParameter("detached", detached);
+            this.addParameter("variables", VARIABLES);
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+            for (int i = 0; i < VARIABLES; i++) {
+                this.getContext().getStack().currentStackFrame().addValue("variable" + i + ".VALUE", i);
+            }
+        }
+
+        @Override
+        public Object invoke() {
+            InterpreterDefaultContext result = null;
+            for (int i = 0; i < BRANCHES; i++) {
+                result = this.getContext().createChildContext(null, this.detached);
+            }
+            return result;
+        }
+    }
+
+    private static final class ForkRunBenchmark extends SimulationBenchmark {
+
+        private ForkRunBenchmark() {
+            super("RDSeffSwitch.simulateForks", new PCMModelBuilder().forkWidth(BRANCHES)
+                    .cpuDemand(PCMModelBuilder.INPUT_PARAMETER + ".VALUE * 0.001").interArrivalTime("1.0").build(),
+                    SIMULATION_TIME);
+            this.addParameter("forkWidth", BRANCHES);
+        }
+
+        @Override
+        public int getOperationsPerInvocation() {
+            // one request arrives per simulated time unit
+            return (int) SIMULATION_TIME;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import org.junit.Test;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+
+/**
+ * Measures complete simulation runs of an open workload on a chain of components with resource
+ * demands, branches and, optionally, forks, monitored on every processor. An operation is a
+ * simulated second, so the score is the ratio of simulated to wall-clock time.
+ */
+public class FullRunBenchmarkTest {
+
+    private static final long SIMULATION_TIME = 100;
+
+    @Test
+    public void testRunSimulation() throws Exception {
+        for (final int forkWidth : new int[] { 0, 2 }) {
+            BenchmarkRunner.getDefault().run(new FullRunBenchmark(forkWidth));
+        }
+    }
+
+    private static final class FullRunBenchmark extends SimulationBenchmark {
+
+        private FullRunBenchmark(final int forkWidth) {
+            super("SimuLizarRuntimeState.runSimulation",
+                    new PCMModelBuilder().assemblyContexts(3).seffDepth(5).branchFanOut(2).forkWidth(forkWidth)
+                            .monitors(3).cpuDemand("10").interArrivalTime("0.1").build(),
+                    SIMULATION_TIME);
+            this.addParameter("forkWidth", forkWidth);
+        }
+
+        @Override
+        public int getOperationsPerInvocation() {
+            return (int) SIMULATION_TIME;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import java.util.Collections;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
+import org.palladiosimulator.simulizar.utils.ParameterBindingPlan;
+import org.palladiosimulator.simulizar.utils.SimulatedStackHelper;
+
+/**
+ * A benchmark of the interpreter. The interpreter runs in the main context of a runtime state
+ * whose simulation is not started, so the interpreted models must not contain resource demands or
+ * forks. The stack of the context holds a frame with the input parameter of the service.
+ */
+abstract class InterpreterBenchmark extends Benchmark {
+
+    private final PCMModels models;
+    private SimulationFixture fixture;
+    private InterpreterDefaultContext context;
+
+    protected InterpreterBenchmark(final String name, final PCMModels models) {
+        super(name);
+        this.models = models;
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        this.fixture = new SimulationFixture(this.models, 1);
+        this.context = this.fixture.getRuntimeState().getMainContext();
+        SimulatedStackHelper.createAndPushNewStackFrame(this.context.getStack(),
+                ParameterBindingPlan.of(
+                        new BasicEList<VariableUsage>(Collections.singletonList(PCMModelBuilder.inputUsage("1")))));
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        if (this.fixture != null) {
+            this.fixture.cleanUp();
+        }
+    }
+
+    protected InterpreterDefaultContext getContext() {
+        return this.context;
+    }
+
+    /**
+     * @return the models as seen by the interpreter.
+     */
+    protected PCMResourceSetPartition getLocalPCMModel() {
+        return this.context.getLocalPCMModelAtContextCreation();
+    }
+}
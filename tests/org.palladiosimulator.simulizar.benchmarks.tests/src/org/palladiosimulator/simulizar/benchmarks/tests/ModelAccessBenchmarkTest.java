@@ -0,0 +1,122 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import org.junit.Test;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+
+/**
+ * Measures the cost of the local PCM copies of the {@link ModelAccess}: a snapshot of the global
+ * PCM models, and the request of the local copy after each change of the global models, which
+ * makes the model access take a snapshot, or without any change.
+ */
+public class ModelAccessBenchmarkTest {
+
+    private static final int[] ASSEMBLY_CONTEXTS = { 1, 10, 50 };
+
+    @Test
+    public void testSnapshot() throws Exception {
+        for (final int assemblyContexts : ASSEMBLY_CONTEXTS) {
+            BenchmarkRunner.getDefault().run(new SnapshotBenchmark(assemblyContexts));
+        }
+    }
+
+    @Test
+    public void testLocalModelAfterChange() throws Exception {
+        for (final int assemblyContexts : ASSEMBLY_CONTEXTS) {
+            BenchmarkRunner.getDefault().run(new LocalModelBenchmark(assemblyContexts, true));
+        }
+    }
+
+    @Test
+    public void testLocalModelUnchanged() throws Exception {
+        for (final int assemblyContexts : ASSEMBLY_CONTEXTS) {
+            BenchmarkRunner.getDefault().run(new LocalModelBenchmark(assemblyContexts, false));
+        }
+    }
+
+    private static PCMModels createModels(final int assemblyContexts) {
+        return new PCMModelBuilder().assemblyContexts(assemblyContexts).seffDepth(5).branchFanOut(2)
+                .monitors(assemblyContexts).build();
+    }
+
+    private static final class SnapshotBenchmark extends Benchmark {
+
+        private final PCMModels models;
+        private SnapshotModelAccess modelAccess;
+
+        private SnapshotBenchmark(final int assemblyContexts) {
+            super("ModelAccess.copyPCMPartition");
+            this.addParameter("assemblyContexts", assemblyContexts);
+            this.models = createModels(assemblyContexts);
+        }
+
+        @Override
+        public void setUp() {
+            this.modelAccess = new SnapshotModelAccess(this.models.createBlackboard());
+        }
+
+        @Override
+        public Object invoke() {
+            return this.modelAccess.snapshot();
+        }
+    }
+
+    private static final class LocalModelBenchmark extends Benchmark {
+
+        private final PCMModels models;
+        private final boolean change;
+        private ModelAccess modelAccess;
+        private ResourceContainer changedContainer;
+        private long revision;
+
+        private LocalModelBenchmark(final int assemblyContexts, final boolean change) {
+            super("ModelAccess.getLocalPCMModel");
+            this.addParameter("assemblyContexts", assemblyContexts);
+            this.addParameter("change", change);
+            this.models = createModels(assemblyContexts);
+            this.change = change;
+        }
+
+        @Override
+        public void setUp() {
+            this.modelAccess = new ModelAccess(this.models.createBlackboard());
+            this.modelAccess.startObservingPcmChanges();
+            this.changedContainer = this.modelAccess.getGlobalPCMModel().getResourceEnvironment()
+                    .getResourceContainer_ResourceEnvironment().get(0);
+        }
+
+        @Override
+        public Object invoke() {
+            if (this.change) {
+                this.changedContainer.setEntityName("Server " + this.revision++);
+            }
+            return this.modelAccess.getLocalPCMModel();
+        }
+
+        @Override
+        public void tearDown() {
+            this.modelAccess.stopObservingPcmChanges();
+        }
+    }
+
+    /**
+     * Exposes the snapshots of the global PCM models.
+     */
+    private static final class SnapshotModelAccess extends ModelAccess {
+
+        private SnapshotModelAccess(final MDSDBlackboard blackboard) {
+            super(blackboard);
+        }
+
+        private PCMResourceSetPartition snapshot() {
+            return this.copyPCMPartition();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Test;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkResult;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.launcher.jobs.LoadSimuLizarModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+
+/**
+ * Measures loading a model set of {@value #MODEL_SETS} allocations, each with all models it
+ * references, into a blackboard: one model after the other, in parallel, and in parallel from a
+ * warm cache of parsed models. In full mode on a machine with several processors, parallel loading
+ * has to be faster than sequential loading, and loading from the cache faster still.
+ */
+public class ModelLoadingBenchmarkTest {
+
+    private static final int MODEL_SETS = 40;
+    private static final int ASSEMBLY_CONTEXTS = 20;
+
+    @Test
+    public void testParallelModelLoading() throws Exception {
+        final File folder = Files.createTempDirectory("simulizar-model-loading").toFile();
+        try {
+            final PCMModels models = new PCMModelBuilder().assemblyContexts(ASSEMBLY_CONTEXTS).seffDepth(5)
+                    .branchFanOut(2).monitors(ASSEMBLY_CONTEXTS).build();
+            final List<String> allocationFiles = new ArrayList<String>();
+            String usageModelFile = null;
+            for (int i = 0; i < MODEL_SETS; i++) {
+                final Map<String, URI> uris = models.save(new File(folder, "models" + i));
+                allocationFiles.add("file://" + uris.get("allocation").toFileString());
+                usageModelFile = "file://" + uris.get("usagemodel").toFileString();
+            }
+
+            final BenchmarkRunner runner = BenchmarkRunner.getDefault();
+            final BenchmarkResult sequential = runner
+                    .run(new LoadModelsBenchmark(allocationFiles, usageModelFile, false, null));
+            final BenchmarkResult parallel = runner
+                    .run(new LoadModelsBenchmark(allocationFiles, usageModelFile, true, null));
+            final BenchmarkResult cached = runner.run(
+                    new LoadModelsBenchmark(allocationFiles, usageModelFile, true, new File(folder, "cache")));
+            if (!runner.getSettings().isSmokeMode() && Runtime.getRuntime().availableProcessors() > 1) {
+                assertTrue(sequential + " vs. " + parallel, parallel.getScore() > sequential.getScore());
+                assertTrue(parallel + " vs. " + cached, cached.getScore() > parallel.getScore());
+            }
+        } finally {
+            SimulationFixture.delete(folder.toPath());
+        }
+    }
+
+    private static final class LoadModelsBenchmark extends Benchmark {
+
+        private final SimuLizarWorkflowConfiguration configuration;
+
+        private LoadModelsBenchmark(final List<String> allocationFiles, final String usageModelFile,
+                final boolean parallel, final File cacheFolder) {
+            super("LoadSimuLizarModelsIntoBlackboardJob.execute");
+            this.addParameter("modelSets", allocationFiles.size());
+            this.addParameter("parallel", parallel);
+            this.addParameter("cached", cacheFolder != null);
+            this.configuration = new SimuLizarWorkflowConfiguration(new HashMap<String, Object>());
+            this.configuration.setAllocationFiles(allocationFiles);
+            this.configuration.setUsageModelFile(usageModelFile);
+            this.configuration.setMonitorRepositoryFile("");
+            this.configuration.setServiceLevelObjectivesFile("");
+            this.configuration.setUsageEvolutionFile("");
+            this.configuration.setParallelModelLoading(parallel);
+            this.configuration.setModelCacheFolder(cacheFolder == null ? "" : cacheFolder.getAbsolutePath());
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            // fills the cache, if any, so that all measured invocations load from a warm cache
+            this.invoke();
+        }
+
+        @Override
+        public Object invoke() throws Exception {
+            final MDSDBlackboard blackboard = new MDSDBlackboard();
+            final LoadSimuLizarModelsIntoBlackboardJob job = new LoadSimuLizarModelsIntoBlackboardJob(
+                    this.configuration, false);
+            job.setBlackboard(blackboard);
+            job.execute(new NullProgressMonitor());
+            return blackboard;
+        }
+    }
+}
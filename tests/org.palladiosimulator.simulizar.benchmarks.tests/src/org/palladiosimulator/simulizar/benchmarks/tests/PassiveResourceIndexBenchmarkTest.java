@@ -0,0 +1,95 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.PassiveResource;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkResult;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceIndex;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceIndexRegistry;
+import org.palladiosimulator.simulizar.runtimestate.FQComponentID;
+import org.palladiosimulator.simulizar.runtimestate.SimulatedBasicComponentInstance;
+
+/**
+ * Measures the creation of basic component instances with passive resources while monitors are
+ * present, once with the passive resources indexed per instance and once with the index shared
+ * by the component type. In full mode, the shared index has to be at least
+ * {@value #MINIMUM_SPEEDUP} times faster.
+ */
+public class PassiveResourceIndexBenchmarkTest {
+
+    private static final int MONITORS = 200;
+    private static final int PASSIVE_RESOURCES = 3;
+    private static final double MINIMUM_SPEEDUP = 5;
+
+    @Test
+    public void testSharedIndex() throws Exception {
+        final BenchmarkRunner runner = BenchmarkRunner.getDefault();
+        final BenchmarkResult perInstance = runner.run(new CreateInstancesBenchmark(false));
+        final BenchmarkResult shared = runner.run(new CreateInstancesBenchmark(true));
+        if (!runner.getSettings().isSmokeMode()) {
+            assertTrue(perInstance + " vs. " + shared,
+                    shared.getScore() >= MINIMUM_SPEEDUP * perInstance.getScore());
+        }
+    }
+
+    private static final class CreateInstancesBenchmark extends InterpreterBenchmark {
+
+        private static final int INSTANCES = 10000;
+
+        private final boolean shared;
+        private BasicComponent component;
+        private FQComponentID fqID;
+        private PassiveResourceIndexRegistry registry;
+
+        private CreateInstancesBenchmark(final boolean shared) {
+            super("SimulatedBasicComponentInstance.create",
+                    new PCMModelBuilder().assemblyContexts(MONITORS).monitors(MONITORS).build());
+            this.addParameter("sharedIndex", shared);
+            this.addParameter("monitors", MONITORS);
+            this.shared = shared;
+        }
+
+        @Override
+        public int getOperationsPerInvocation() {
+            return INSTANCES;
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+            this.component = RepositoryFactory.eINSTANCE.createBasicComponent();
+            this.component.setId("_benchmarkComponent");
+            for (int i = 0; i < PASSIVE_RESOURCES; i++) {
+                final PassiveResource passiveResource = RepositoryFactory.eINSTANCE.createPassiveResource();
+                passiveResource.setId("_benchmarkPassiveResource" + i);
+                passiveResource.setEntityName("Passive resource " + i);
+                passiveResource.setCapacity_PassiveResource(PCMModelBuilder.randomVariable("10"));
+                this.component.getPassiveResource_BasicComponent().add(passiveResource);
+            }
+            this.getContext().pushAssemblyContext(
+                    this.getLocalPCMModel().getSystem().getAssemblyContexts__ComposedStructure().get(0));
+            this.fqID = new FQComponentID(this.getContext().getAssemblyContextPath().toList());
+            this.registry = this.getContext().getRuntimeState().getPassiveResourceIndexRegistry();
+        }
+
+        @Override
+        public Object invoke() {
+            SimulatedBasicComponentInstance instance = null;
+            for (int i = 0; i < INSTANCES; i++) {
+                if (this.shared) {
+                    final PassiveResourceIndex index = this.registry.getIndex(this.component);
+                    instance = new SimulatedBasicComponentInstance(this.getContext(), this.fqID, index);
+                } else {
+                    instance = new SimulatedBasicComponentInstance(this.getContext(), this.fqID,
+                            this.component.getPassiveResource_BasicComponent());
+                }
+            }
+            return instance;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkResult;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.SelfReschedulingSimulationEntity;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicTaskScheduler;
+
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+
+/**
+ * Measures moving on {@value #WINDOWS} sliding windows during a simulation run, once with a
+ * self-rescheduling event per window and once with the {@link PeriodicTaskScheduler}. The windows
+ * have {@value #PHASES} distinct lengths and all move on every second, so the scheduler keeps
+ * {@value #PHASES} events instead of {@value #WINDOWS}. An operation is a single move of a window.
+ * In full mode, the scheduler has to be faster.
+ */
+public class PeriodicTaskSchedulerBenchmarkTest {
+
+    private static final int WINDOWS = 5000;
+    private static final int PHASES = 5;
+    private static final int LAST_MOVE = 100;
+    private static final double INCREMENT = 1.0;
+
+    @Test
+    public void testWindowMoves() throws Exception {
+        final BenchmarkRunner runner = BenchmarkRunner.getDefault();
+        final BenchmarkResult selfRescheduling = runner.run(new WindowMovesBenchmark(false));
+        final BenchmarkResult scheduled = runner.run(new WindowMovesBenchmark(true));
+        if (!runner.getSettings().isSmokeMode()) {
+            assertTrue(selfRescheduling + " vs. " + scheduled, scheduled.getScore() > selfRescheduling.getScore());
+        }
+    }
+
+    private static final class WindowMovesBenchmark extends SimulationBenchmark {
+
+        private final boolean scheduled;
+        private long moves;
+
+        private WindowMovesBenchmark(final boolean scheduled) {
+            super("PeriodicTaskScheduler.moveOn", new PCMModelBuilder().interArrivalTime("1000").build(), 1000);
+            this.scheduled = scheduled;
+            this.addParameter("scheduler", scheduled);
+            this.addParameter("windows", WINDOWS);
+        }
+
+        @Override
+        public int getOperationsPerInvocation() {
+            // a window of length l moves on at l, l + 1, ..., LAST_MOVE
+            int operations = 0;
+            for (int length = 1; length <= PHASES; length++) {
+                operations += WINDOWS / PHASES * (LAST_MOVE - length + 1);
+            }
+            return operations;
+        }
+
+        @Override
+        protected void prepare(final SimuLizarRuntimeState runtimeState) {
+            final SimuComModel model = runtimeState.getModel();
+            final PeriodicTaskScheduler scheduler = runtimeState.getPeriodicTaskScheduler();
+            final int groups = scheduler.getNumberOfPhaseGroups();
+            this.moves = 0;
+            for (int i = 0; i < WINDOWS; i++) {
+                final double length = 1 + i % PHASES;
+                if (this.scheduled) {
+                    scheduler.register(this::moveOn, length, INCREMENT);
+                } else {
+                    new SelfReschedulingSimulationEntity(model, length, INCREMENT, this::moveOn);
+                }
+            }
+            assertEquals(groups + (this.scheduled ? PHASES : 0), scheduler.getNumberOfPhaseGroups());
+            new SelfReschedulingSimulationEntity(model, LAST_MOVE + INCREMENT / 2, LAST_MOVE,
+                    () -> model.getSimulationControl().stop());
+        }
+
+        private void moveOn() {
+            this.moves++;
+        }
+
+        @Override
+        protected void cleanUp(final SimuLizarRuntimeState runtimeState) {
+            assertEquals(this.getOperationsPerInvocation(), this.moves);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import org.junit.Test;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.interpreter.UsageScenarioSwitch;
+
+/**
+ * Measures the interpretation of a SEFF chain by the <code>RDSeffSwitch</code>, once with internal
+ * actions only and once with a probabilistic branch in each block. The switch is not part of the
+ * API, so the chain is interpreted by calling the service of the system through the
+ * {@link UsageScenarioSwitch}; the fixed cost of the call is measured by the chain of depth 1.
+ */
+public class RDSeffSwitchBenchmarkTest {
+
+    @Test
+    public void testInternalActionChain() throws Exception {
+        for (final int seffDepth : new int[] { 1, 10, 100 }) {
+            BenchmarkRunner.getDefault().run(new SeffChainBenchmark(seffDepth, 0));
+        }
+    }
+
+    @Test
+    public void testBranchChain() throws Exception {
+        for (final int seffDepth : new int[] { 1, 10, 100 }) {
+            BenchmarkRunner.getDefault().run(new SeffChainBenchmark(seffDepth, 4));
+        }
+    }
+
+    private static final class SeffChainBenchmark extends InterpreterBenchmark {
+
+        private UsageScenario usageScenario;
+
+        private SeffChainBenchmark(final int seffDepth, final int branchFanOut) {
+            super("RDSeffSwitch.interpretSeffChain",
+                    new PCMModelBuilder().seffDepth(seffDepth).branchFanOut(branchFanOut).build());
+            this.addParameter("seffDepth", seffDepth);
+            this.addParameter("branchFanOut", branchFanOut);
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+            this.usageScenario = this.getLocalPCMModel().getUsageModel().getUsageScenario_UsageModel().get(0);
+        }
+
+        @Override
+        public Object invoke() {
+            return new UsageScenarioSwitch<Object>(this.getContext()).doSwitch(this.usageScenario);
+        }
+    }
+}
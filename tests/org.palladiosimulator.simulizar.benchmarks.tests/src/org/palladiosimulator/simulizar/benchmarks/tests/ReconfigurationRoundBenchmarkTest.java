@@ -0,0 +1,108 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.junit.Test;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.edp2.models.measuringpoint.StringMeasuringPoint;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurement;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementFactory;
+import org.palladiosimulator.simulizar.access.IModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.reconfiguration.IReconfigurationEngine;
+import org.palladiosimulator.simulizar.reconfiguration.ReconfigurationProcess;
+import org.palladiosimulator.simulizar.reconfiguration.Reconfigurator;
+import org.palladiosimulator.simulizar.reconfigurationrule.ModelTransformation;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+
+/**
+ * Measures reconfiguration rounds: a new runtime measurement makes the {@link Reconfigurator}
+ * schedule the {@link ReconfigurationProcess}, which runs the checks of its engines. The engines
+ * do not reconfigure anything, so an operation is the overhead of a single round.
+ */
+public class ReconfigurationRoundBenchmarkTest {
+
+    private static final int ROUNDS = 200;
+
+    @Test
+    public void testReconfigurationRound() throws Exception {
+        for (final int engines : new int[] { 1, 4 }) {
+            BenchmarkRunner.getDefault().run(new ReconfigurationRoundBenchmark(engines));
+        }
+    }
+
+    private static final class ReconfigurationRoundBenchmark extends SimulationBenchmark {
+
+        private final int engines;
+        private Reconfigurator reconfigurator;
+
+        private ReconfigurationRoundBenchmark(final int engines) {
+            super("ReconfigurationProcess.reconfigurationRound",
+                    new PCMModelBuilder().interArrivalTime("1000").build(), 1000);
+            this.engines = engines;
+            this.addParameter("engines", engines);
+        }
+
+        @Override
+        public int getOperationsPerInvocation() {
+            return ROUNDS;
+        }
+
+        @Override
+        protected void prepare(final SimuLizarRuntimeState runtimeState) {
+            final SimuComModel model = runtimeState.getModel();
+            // replace the reconfigurator of the runtime state by one with no-op engines only
+            runtimeState.getReconfigurator().cleanUp();
+            final List<IReconfigurationEngine> noOpEngines = new ArrayList<IReconfigurationEngine>();
+            for (int i = 0; i < this.engines; i++) {
+                noOpEngines.add(new NoOpReconfigurationEngine());
+            }
+            this.reconfigurator = new Reconfigurator(model, runtimeState.getModelAccess(),
+                    model.getSimulationControl(), noOpEngines, runtimeState.getReconfigurator().getConfiguration());
+            this.reconfigurator.startListening();
+
+            final StringMeasuringPoint measuringPoint = MeasuringpointFactory.eINSTANCE.createStringMeasuringPoint();
+            measuringPoint.setMeasuringPoint("Benchmark");
+            final RuntimeMeasurement measurement = RuntimeMeasurementFactory.eINSTANCE.createRuntimeMeasurement();
+            measurement.setMeasuringPoint(measuringPoint);
+            runtimeState.getModelAccess().getRuntimeMeasurementModel().getMeasurements().add(measurement);
+
+            scheduleRounds(model, 1.0, ROUNDS, () -> measurement.setMeasuringValue(measurement.getMeasuringValue() + 1));
+        }
+
+        @Override
+        protected void cleanUp(final SimuLizarRuntimeState runtimeState) {
+            this.reconfigurator.cleanUp();
+        }
+    }
+
+    private static final class NoOpReconfigurationEngine implements IReconfigurationEngine {
+
+        @Override
+        public boolean runCheck(final EList<? extends ModelTransformation<? extends Object>> checks,
+                final EObject monitoredElement) {
+            return false;
+        }
+
+        @Override
+        public boolean runExecute(final EList<? extends ModelTransformation<? extends Object>> actions,
+                final EObject monitoredElement) {
+            return false;
+        }
+
+        @Override
+        public void setModelAccess(final IModelAccess modelAccess) {
+        }
+
+        @Override
+        public void setConfiguration(final SimuLizarWorkflowConfiguration configuration) {
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import javax.measure.Measure;
+import javax.measure.unit.SI;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.junit.Test;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.edp2.models.measuringpoint.StringMeasuringPoint;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.measurementframework.TupleMeasurement;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.MonitorRepositoryFactory;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementFactory;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementModel;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.metrics.PRMRecorder;
+import org.palladiosimulator.simulizar.slidingwindow.runtimemeasurement.SlidingWindowRuntimeMeasurementsRecorder;
+
+/**
+ * Measures the propagation of aggregated measurements into the {@link RuntimeMeasurementModel} by
+ * a {@link PRMRecorder}. Listeners are attached to the model the way the reconfigurator attaches
+ * to it.
+ */
+public class RuntimeMeasurementBenchmarkTest {
+
+    @Test
+    public void testUpdateMeasurementValue() throws Exception {
+        for (final int listeners : new int[] { 0, 1, 4 }) {
+            BenchmarkRunner.getDefault().run(new RuntimeMeasurementBenchmark(listeners));
+        }
+    }
+
+    private static final class RuntimeMeasurementBenchmark extends Benchmark {
+
+        private static final int DISTINCT_VALUES = 1024;
+
+        private final int listeners;
+        private final MeasuringValue[] measurements = new MeasuringValue[DISTINCT_VALUES];
+        private SlidingWindowRuntimeMeasurementsRecorder recorder;
+        private long notifications;
+        private int nextMeasurement;
+
+        private RuntimeMeasurementBenchmark(final int listeners) {
+            super("PRMRecorder.updateMeasurementValue");
+            this.listeners = listeners;
+            this.addParameter("listeners", listeners);
+            for (int i = 0; i < DISTINCT_VALUES; i++) {
+                this.measurements[i] = new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                        Measure.valueOf((double) i, SI.SECOND), Measure.valueOf(i * 0.001, SI.SECOND));
+            }
+        }
+
+        @Override
+        public void setUp() {
+            final RuntimeMeasurementModel runtimeMeasurementModel = RuntimeMeasurementFactory.eINSTANCE
+                    .createRuntimeMeasurementModel();
+            for (int i = 0; i < this.listeners; i++) {
+                runtimeMeasurementModel.eAdapters().add(new EContentAdapter() {
+
+                    @Override
+                    public void notifyChanged(final Notification notification) {
+                        super.notifyChanged(notification);
+                        RuntimeMeasurementBenchmark.this.notifications++;
+                    }
+                });
+            }
+            final MeasurementSpecification measurementSpecification = MonitorRepositoryFactory.eINSTANCE
+                    .createMeasurementSpecification();
+            measurementSpecification.setMetricDescription(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE);
+            measurementSpecification.setTriggersSelfAdaptations(true);
+            final StringMeasuringPoint measuringPoint = MeasuringpointFactory.eINSTANCE.createStringMeasuringPoint();
+            measuringPoint.setMeasuringPoint("Benchmark");
+            this.recorder = new SlidingWindowRuntimeMeasurementsRecorder(runtimeMeasurementModel,
+                    measurementSpecification, measuringPoint);
+        }
+
+        @Override
+        public Object invoke() {
+            this.recorder.newMeasurementAvailable(this.measurements[this.nextMeasurement]);
+            this.nextMeasurement = (this.nextMeasurement + 1) % DISTINCT_VALUES;
+            return this.notifications;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import org.eclipse.emf.common.util.EList;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+import org.palladiosimulator.pcm.seff.ExternalCallAction;
+import org.palladiosimulator.pcm.seff.SeffFactory;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.utils.ParameterBindingPlan;
+import org.palladiosimulator.simulizar.utils.SimulatedStackHelper;
+
+import de.uka.ipd.sdq.probfunction.math.IProbabilityFunctionFactory;
+import de.uka.ipd.sdq.probfunction.math.impl.DefaultRandomGenerator;
+import de.uka.ipd.sdq.probfunction.math.impl.ProbabilityFunctionFactoryImpl;
+import de.uka.ipd.sdq.simucomframework.variables.cache.StoExCache;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStack;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+
+/**
+ * Measures the binding of the input parameters of an external call into a new stack frame by the
+ * {@link SimulatedStackHelper}, both by evaluating the variable usages and by a
+ * {@link ParameterBindingPlan}.
+ */
+public class SimulatedStackHelperBenchmarkTest {
+
+    @BeforeClass
+    public static void initialiseStoExCache() {
+        final IProbabilityFunctionFactory probFunctionFactory = ProbabilityFunctionFactoryImpl.getInstance();
+        probFunctionFactory.setRandomGenerator(new DefaultRandomGenerator());
+        StoExCache.initialiseStoExCache(probFunctionFactory);
+    }
+
+    @Test
+    public void testBindVariableUsages() throws Exception {
+        for (final int parameters : new int[] { 1, 8 }) {
+            BenchmarkRunner.getDefault().run(new ParameterBindingBenchmark(parameters, false));
+        }
+    }
+
+    @Test
+    public void testBindPlan() throws Exception {
+        for (final int parameters : new int[] { 1, 8 }) {
+            BenchmarkRunner.getDefault().run(new ParameterBindingBenchmark(parameters, true));
+        }
+    }
+
+    private static final class ParameterBindingBenchmark extends Benchmark {
+
+        private final boolean plan;
+        private final EList<VariableUsage> variableUsages;
+        private final SimulatedStack<Object> stack = new SimulatedStack<Object>();
+
+        private ParameterBindingBenchmark(final int parameters, final boolean plan) {
+            super("SimulatedStackHelper.createAndPushNewStackFrame");
+            this.addParameter("parameters", parameters);
+            this.addParameter("plan", plan);
+            this.plan = plan;
+            final ExternalCallAction externalCall = SeffFactory.eINSTANCE.createExternalCallAction();
+            for (int i = 0; i < parameters; i++) {
+                externalCall.getInputVariableUsages__CallAction().add(PCMModelBuilder.variableUsage("p" + i,
+                        PCMModelBuilder.INPUT_PARAMETER + ".VALUE + " + i));
+            }
+            this.variableUsages = externalCall.getInputVariableUsages__CallAction();
+        }
+
+        @Override
+        public void setUp() {
+            final SimulatedStackframe<Object> frame = this.stack.createAndPushNewStackFrame();
+            frame.addValue(PCMModelBuilder.INPUT_PARAMETER + ".VALUE", 1);
+        }
+
+        @Override
+        public Object invoke() {
+            final SimulatedStackframe<Object> frame;
+            if (this.plan) {
+                frame = SimulatedStackHelper.createAndPushNewStackFrame(this.stack,
+                        ParameterBindingPlan.of(this.variableUsages));
+            } else {
+                frame = SimulatedStackHelper.createAndPushNewStackFrame(this.stack, this.variableUsages);
+            }
+            this.stack.removeStackFrame();
+            return frame;
+        }
+    }
+}
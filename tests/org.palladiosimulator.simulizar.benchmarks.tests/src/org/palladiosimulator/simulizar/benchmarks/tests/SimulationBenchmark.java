@@ -0,0 +1,109 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicallyTriggeredSimulationEntity;
+
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+
+/**
+ * A benchmark whose operation is a simulation run. Each invocation simulates a fresh runtime
+ * state, which is set up before and cleaned up after the invocation without being measured.
+ */
+abstract class SimulationBenchmark extends Benchmark {
+
+    private final PCMModels models;
+    private final long simulationTime;
+    private SimulationFixture fixture;
+
+    protected SimulationBenchmark(final String name, final PCMModels models, final long simulationTime) {
+        super(name);
+        this.models = models;
+        this.simulationTime = simulationTime;
+    }
+
+    @Override
+    public final boolean hasInvocationSetUp() {
+        return true;
+    }
+
+    @Override
+    public final void setUpInvocation() throws Exception {
+        this.fixture = new SimulationFixture(this.models, this.simulationTime);
+        this.prepare(this.fixture.getRuntimeState());
+    }
+
+    /**
+     * Prepares the runtime state before the simulation is started, e.g., by scheduling further
+     * simulation entities.
+     *
+     * @param runtimeState
+     *            the runtime state.
+     */
+    protected void prepare(final SimuLizarRuntimeState runtimeState) {
+    }
+
+    @Override
+    public final Object invoke() {
+        this.fixture.run();
+        return this.fixture.getRuntimeState().getModel().getSimulationControl().getCurrentSimulationTime();
+    }
+
+    @Override
+    public final void tearDownInvocation() throws Exception {
+        final SimulationFixture finishedFixture = this.fixture;
+        this.fixture = null;
+        this.cleanUp(finishedFixture.getRuntimeState());
+        finishedFixture.cleanUp();
+    }
+
+    /**
+     * Cleans up what {@link #prepare(SimuLizarRuntimeState)} set up.
+     *
+     * @param runtimeState
+     *            the runtime state.
+     */
+    protected void cleanUp(final SimuLizarRuntimeState runtimeState) {
+    }
+
+    @Override
+    public final void tearDown() throws Exception {
+        if (this.fixture != null) {
+            this.tearDownInvocation();
+        }
+    }
+
+    /**
+     * Schedules the given number of rounds, one per period of simulation time. The simulation is
+     * stopped one period after the last round.
+     *
+     * @param model
+     *            the simulation model.
+     * @param period
+     *            the simulation time between two rounds.
+     * @param rounds
+     *            the number of rounds.
+     * @param round
+     *            the action performed in each round.
+     */
+    protected static void scheduleRounds(final SimuComModel model, final double period, final int rounds,
+            final Runnable round) {
+        new PeriodicallyTriggeredSimulationEntity(model, period, period) {
+
+            private int performedRounds = 0;
+
+            @Override
+            protected void triggerInternal() {
+                if (this.performedRounds < rounds) {
+                    round.run();
+                    this.performedRounds++;
+                } else {
+                    this.stopScheduling();
+                    model.getSimulationControl().stop();
+                }
+            }
+        };
+    }
+}
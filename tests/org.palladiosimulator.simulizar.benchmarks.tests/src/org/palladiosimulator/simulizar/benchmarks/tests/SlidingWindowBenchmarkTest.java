@@ -0,0 +1,118 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import javax.measure.Measure;
+import javax.measure.unit.SI;
+
+import org.junit.Test;
+import org.palladiosimulator.experimentanalysis.DiscardAllElementsPriorToLowerBoundStrategy;
+import org.palladiosimulator.experimentanalysis.ISlidingWindowMoveOnStrategy;
+import org.palladiosimulator.experimentanalysis.KeepLastElementPriorToLowerBoundStrategy;
+import org.palladiosimulator.experimentanalysis.SlidingWindowRecorder;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.measurementframework.TupleMeasurement;
+import org.palladiosimulator.metricspec.NumericalBaseMetricDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.statisticalcharacterization.ArithmeticMeanAggregator;
+import org.palladiosimulator.recorderframework.IRecorder;
+import org.palladiosimulator.recorderframework.config.IRecorderConfiguration;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.slidingwindow.aggregators.SlidingWindowStatisticalCharacterizationAggregator;
+import org.palladiosimulator.simulizar.slidingwindow.impl.SimulizarSlidingWindow;
+
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+
+/**
+ * Measures a {@link SimulizarSlidingWindow} aggregating response times to their arithmetic mean
+ * under a high sample rate. The samples are written during a simulation run, so that the window
+ * moves on as it does in SimuLizar. An operation is a single sample.
+ */
+public class SlidingWindowBenchmarkTest {
+
+    private static final double PERIOD = 0.01;
+    private static final int ROUNDS = 2000;
+
+    @Test
+    public void testDiscardAllElementsPriorToLowerBound() throws Exception {
+        for (final int samplesPerRound : new int[] { 1, 100 }) {
+            BenchmarkRunner.getDefault().run(new SlidingWindowBenchmark(samplesPerRound, false));
+        }
+    }
+
+    @Test
+    public void testKeepLastElementPriorToLowerBound() throws Exception {
+        for (final int samplesPerRound : new int[] { 1, 100 }) {
+            BenchmarkRunner.getDefault().run(new SlidingWindowBenchmark(samplesPerRound, true));
+        }
+    }
+
+    private static final class SlidingWindowBenchmark extends SimulationBenchmark {
+
+        private final int samplesPerRound;
+        private final boolean keepLastElement;
+
+        private SlidingWindowBenchmark(final int samplesPerRound, final boolean keepLastElement) {
+            super("SimulizarSlidingWindow.addMeasurement", new PCMModelBuilder().interArrivalTime("1000").build(),
+                    1000);
+            this.samplesPerRound = samplesPerRound;
+            this.keepLastElement = keepLastElement;
+            this.addParameter("samplesPerSecond", Math.round(samplesPerRound / PERIOD));
+            this.addParameter("keepLastElement", keepLastElement);
+        }
+
+        @Override
+        public int getOperationsPerInvocation() {
+            return ROUNDS * this.samplesPerRound;
+        }
+
+        @Override
+        protected void prepare(final SimuLizarRuntimeState runtimeState) {
+            final SimuComModel model = runtimeState.getModel();
+            final ISlidingWindowMoveOnStrategy moveOnStrategy = this.keepLastElement
+                    ? new KeepLastElementPriorToLowerBoundStrategy() : new DiscardAllElementsPriorToLowerBoundStrategy();
+            final SimulizarSlidingWindow window = new SimulizarSlidingWindow(Measure.valueOf(10d, SI.SECOND),
+                    Measure.valueOf(1d, SI.SECOND), MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                    moveOnStrategy, model);
+            final SlidingWindowStatisticalCharacterizationAggregator aggregator = new SlidingWindowStatisticalCharacterizationAggregator(
+                    new DiscardingRecorder(), new ArithmeticMeanAggregator(
+                            (NumericalBaseMetricDescription) MetricDescriptionConstants.RESPONSE_TIME_METRIC));
+            final SlidingWindowRecorder recorder = new SlidingWindowRecorder(window, aggregator);
+
+            scheduleRounds(model, PERIOD, ROUNDS, () -> {
+                final double now = model.getSimulationControl().getCurrentSimulationTime();
+                for (int i = 0; i < this.samplesPerRound; i++) {
+                    recorder.newMeasurementAvailable(
+                            new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                                    Measure.valueOf(now, SI.SECOND), Measure.valueOf(0.1 * (i % 10), SI.SECOND)));
+                }
+            });
+        }
+    }
+
+    /**
+     * Receives the aggregated values of the window and drops them.
+     */
+    private static final class DiscardingRecorder implements IRecorder {
+
+        @Override
+        public void initialize(final IRecorderConfiguration recorderConfiguration) {
+        }
+
+        @Override
+        public void writeData(final MeasuringValue measurement) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void newMeasurementAvailable(final MeasuringValue newMeasurement) {
+        }
+
+        @Override
+        public void preUnregister() {
+        }
+    }
+}
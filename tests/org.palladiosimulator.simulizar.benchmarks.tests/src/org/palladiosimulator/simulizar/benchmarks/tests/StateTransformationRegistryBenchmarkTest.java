@@ -0,0 +1,65 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import org.junit.Test;
+import org.palladiosimulator.simulizar.action.instance.InstanceFactory;
+import org.palladiosimulator.simulizar.action.instance.RoleSet;
+import org.palladiosimulator.simulizar.action.interpreter.AbstractStateTransformation;
+import org.palladiosimulator.simulizar.action.interpreter.util.StateTransformationRegistry;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+
+/**
+ * Measures resolving and executing the state transformation of a State Transforming Step, which
+ * this fragment contributes to the extension registry. Without caching, every execution queries the
+ * extension registry; with caching, a {@link StateTransformationRegistry} queries it once and
+ * only creates a new transformation per execution. An operation is a single execution.
+ */
+public class StateTransformationRegistryBenchmarkTest {
+
+    // the extensions of a fragment belong to the namespace of its host
+    private static final String EXTENSION_ID = "org.palladiosimulator.simulizar.benchmarks.noOpStateTransformation";
+
+    @Test
+    public void testGetStateTransformation() throws Exception {
+        for (final boolean cached : new boolean[] { false, true }) {
+            BenchmarkRunner.getDefault().run(new StateTransformationBenchmark(cached));
+        }
+    }
+
+    private static final class StateTransformationBenchmark extends Benchmark {
+
+        private final boolean cached;
+        private StateTransformationRegistry registry;
+        private RoleSet roleSet;
+
+        private StateTransformationBenchmark(final boolean cached) {
+            super("StateTransformationRegistry.getStateTransformation");
+            this.cached = cached;
+            this.addParameter("cached", cached);
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            this.registry = new StateTransformationRegistry();
+            this.roleSet = InstanceFactory.eINSTANCE.createRoleSet();
+        }
+
+        @Override
+        public Object invoke() {
+            final StateTransformationRegistry registry = this.cached ? this.registry
+                    : new StateTransformationRegistry();
+            return registry.getStateTransformation(EXTENSION_ID).execute(this.roleSet);
+        }
+    }
+
+    /**
+     * State transformation contributed by this fragment, created by the extension registry.
+     */
+    public static class NoOpStateTransformation extends AbstractStateTransformation {
+
+        @Override
+        public boolean execute(final RoleSet roleSet) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.Benchmark;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkResult;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.StoryDiagrams;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.SDExecutor;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess.StoryDiagramCache;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess.StoryDiagramModelAccess;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+
+/**
+ * Measures a story diagram reconfiguration check of a new runtime state, as in exploration runs:
+ * the story diagrams are made available to the blackboard of the runtime state, and a rule is
+ * executed for a monitored element. The story diagrams are either loaded from disk for each
+ * runtime state, or taken from the {@link StoryDiagramCache}. In full mode, the cached check has
+ * to be faster.
+ */
+public class StoryDiagramCheckBenchmarkTest {
+
+    private static final int RULES = 5;
+
+    @Test
+    public void testReconfigurationCheck() throws Exception {
+        final BenchmarkRunner runner = BenchmarkRunner.getDefault();
+        final BenchmarkResult uncached = runner.run(new ReconfigurationCheckBenchmark(false));
+        final BenchmarkResult cached = runner.run(new ReconfigurationCheckBenchmark(true));
+        if (!runner.getSettings().isSmokeMode()) {
+            assertTrue(uncached + " vs. " + cached, cached.getScore() > uncached.getScore());
+        }
+    }
+
+    private static final class ReconfigurationCheckBenchmark extends Benchmark {
+
+        private final boolean cached;
+        private final PCMModels models;
+        private Path folder;
+        private SimuLizarWorkflowConfiguration configuration;
+
+        private ReconfigurationCheckBenchmark(final boolean cached) {
+            super("SDExecutor.reconfigurationCheck");
+            this.addParameter("cached", cached);
+            this.addParameter("rules", RULES);
+            this.cached = cached;
+            this.models = new PCMModelBuilder().build();
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            this.folder = Files.createTempDirectory("simulizar-sdm-benchmark");
+            for (int i = 0; i < RULES; i++) {
+                StoryDiagrams.writeNoOpStoryDiagram(this.folder, "rule" + i);
+            }
+            this.configuration = new SimuLizarWorkflowConfiguration(new HashMap<String, Object>());
+            this.configuration.setReconfigurationRulesFolder(this.folder.toString());
+            StoryDiagramCache.getInstance().clear();
+        }
+
+        @Override
+        public void tearDown() throws Exception {
+            StoryDiagramCache.getInstance().clear();
+            if (this.folder != null) {
+                for (final File file : this.folder.toFile().listFiles()) {
+                    Files.delete(file.toPath());
+                }
+                Files.delete(this.folder);
+            }
+        }
+
+        @Override
+        public Object invoke() {
+            if (!this.cached) {
+                StoryDiagramCache.getInstance().clear();
+            }
+            final StoryDiagramModelAccess modelAccess = new StoryDiagramModelAccess(
+                    new ModelAccess(this.models.createBlackboard()), this.configuration);
+            return SDExecutor.create(modelAccess).executeTransformations(modelAccess.getTransformations(),
+                    modelAccess.getGlobalPCMModel().getUsageModel());
+        }
+    }
+}
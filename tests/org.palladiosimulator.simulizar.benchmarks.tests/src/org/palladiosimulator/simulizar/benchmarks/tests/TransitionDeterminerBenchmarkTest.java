@@ -0,0 +1,71 @@
+package org.palladiosimulator.simulizar.benchmarks.tests;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.junit.Test;
+import org.palladiosimulator.pcm.seff.AbstractBranchTransition;
+import org.palladiosimulator.pcm.seff.GuardedBranchTransition;
+import org.palladiosimulator.pcm.seff.ProbabilisticBranchTransition;
+import org.palladiosimulator.pcm.seff.SeffFactory;
+import org.palladiosimulator.simulizar.benchmarks.BenchmarkRunner;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.utils.TransitionDeterminer;
+
+/**
+ * Measures the selection of a branch transition by the {@link TransitionDeterminer}, both for
+ * probabilistic transitions and for guarded transitions. The guards are evaluated in order and
+ * only the last one holds.
+ */
+public class TransitionDeterminerBenchmarkTest {
+
+    @Test
+    public void testProbabilisticTransitions() throws Exception {
+        for (final int branchFanOut : new int[] { 2, 8, 32 }) {
+            BenchmarkRunner.getDefault().run(new TransitionBenchmark(branchFanOut, false));
+        }
+    }
+
+    @Test
+    public void testGuardedTransitions() throws Exception {
+        for (final int branchFanOut : new int[] { 2, 8, 32 }) {
+            BenchmarkRunner.getDefault().run(new TransitionBenchmark(branchFanOut, true));
+        }
+    }
+
+    private static final class TransitionBenchmark extends InterpreterBenchmark {
+
+        private final EList<AbstractBranchTransition> transitions = new BasicEList<AbstractBranchTransition>();
+        private TransitionDeterminer transitionDeterminer;
+
+        private TransitionBenchmark(final int branchFanOut, final boolean guarded) {
+            super("TransitionDeterminer.determineTransition", new PCMModelBuilder().build());
+            this.addParameter("branchFanOut", branchFanOut);
+            this.addParameter("guarded", guarded);
+            for (int i = 0; i < branchFanOut; i++) {
+                if (guarded) {
+                    final GuardedBranchTransition transition = SeffFactory.eINSTANCE.createGuardedBranchTransition();
+                    // the input parameter is 1, so only the last guard holds
+                    transition.setBranchCondition_GuardedBranchTransition(PCMModelBuilder.randomVariable(
+                            PCMModelBuilder.INPUT_PARAMETER + ".VALUE == " + (i - branchFanOut + 2)));
+                    this.transitions.add(transition);
+                } else {
+                    final ProbabilisticBranchTransition transition = SeffFactory.eINSTANCE
+                            .createProbabilisticBranchTransition();
+                    transition.setBranchProbability(1.0 / branchFanOut);
+                    this.transitions.add(transition);
+                }
+            }
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+            this.transitionDeterminer = new TransitionDeterminer(this.getContext());
+        }
+
+        @Override
+        public Object invoke() {
+            return this.transitionDeterminer.determineTransition(this.transitions);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.palladiosimulator.simulizar.benchmarks;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A benchmark measuring the throughput of a single operation, see {@link #invoke()}. The
+ * {@link BenchmarkRunner} invokes the operation repeatedly during a number of warm-up and
+ * measurement iterations.
+ * <p>
+ * {@link #setUp()} and {@link #tearDown()} are called once around all iterations. Benchmarks
+ * whose operation changes the state it depends on (e.g., a simulation run) can in addition
+ * prepare each single invocation in {@link #setUpInvocation()}. The time spent there is not
+ * measured.
+ */
+public abstract class Benchmark {
+
+    private final String name;
+    private final Map<String, String> parameters = new LinkedHashMap<String, String>();
+
+    /**
+     * @param name
+     *            the name of the benchmark, e.g., <code>RDSeffSwitch.interpretSeffChain</code>.
+     */
+    protected Benchmark(final String name) {
+        super();
+        this.name = name;
+    }
+
+    /**
+     * Adds a parameter of this benchmark. Parameters are part of the id of the benchmark, so that
+     * results of differently parameterised runs are kept apart.
+     *
+     * @param key
+     *            the name of the parameter.
+     * @param value
+     *            the value of the parameter.
+     */
+    protected final void addParameter(final String key, final Object value) {
+        this.parameters.put(key, String.valueOf(value));
+    }
+
+    public final String getName() {
+        return this.name;
+    }
+
+    public final Map<String, String> getParameters() {
+        return Collections.unmodifiableMap(this.parameters);
+    }
+
+    /**
+     * @return the name of this benchmark followed by its parameters, e.g.,
+     *         <code>RDSeffSwitch.interpretSeffChain[seffDepth=10]</code>.
+     */
+    public final String getId() {
+        if (this.parameters.isEmpty()) {
+            return this.name;
+        }
+        final StringBuilder result = new StringBuilder(this.name).append('[');
+        for (final Entry<String, String> parameter : this.parameters.entrySet()) {
+            if (result.charAt(result.length() - 1) != '[') {
+                result.append(',');
+            }
+            result.append(parameter.getKey()).append('=').append(parameter.getValue());
+        }
+        return result.append(']').toString();
+    }
+
+    /**
+     * @return the number of operations performed by a single invocation of {@link #invoke()}.
+     */
+    public int getOperationsPerInvocation() {
+        return 1;
+    }
+
+    /**
+     * Called once before the warm-up iterations.
+     *
+     * @throws Exception
+     *             if the benchmark cannot be set up.
+     */
+    public void setUp() throws Exception {
+    }
+
+    /**
+     * Called once after the last measurement iteration, even if the benchmark failed.
+     *
+     * @throws Exception
+     *             if the benchmark cannot be torn down.
+     */
+    public void tearDown() throws Exception {
+    }
+
+    /**
+     * @return whether {@link #setUpInvocation()} and {@link #tearDownInvocation()} have to be
+     *         called around each invocation. Such benchmarks are timed invocation by invocation.
+     */
+    public boolean hasInvocationSetUp() {
+        return false;
+    }
+
+    /**
+     * Prepares a single invocation, if {@link #hasInvocationSetUp()}.
+     *
+     * @throws Exception
+     *             if the invocation cannot be prepared.
+     */
+    public void setUpInvocation() throws Exception {
+    }
+
+    /**
+     * Cleans up after a single invocation, if {@link #hasInvocationSetUp()}.
+     *
+     * @throws Exception
+     *             if the invocation cannot be cleaned up.
+     */
+    public void tearDownInvocation() throws Exception {
+    }
+
+    /**
+     * Performs the measured operation.
+     *
+     * @return the result of the operation. It is consumed by the runner, so that the operation
+     *         cannot be optimised away.
+     * @throws Exception
+     *             if the operation fails, which aborts the benchmark.
+     */
+    public abstract Object invoke() throws Exception;
+
+    @Override
+    public String toString() {
+        return this.getId();
+    }
+}
@@ -0,0 +1,84 @@
+package org.palladiosimulator.simulizar.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scores of an earlier benchmark run, read from a file written by {@link BenchmarkReport}. A
+ * result regresses if its throughput is lower than the baseline score by more than a given
+ * fraction. Benchmarks missing from the baseline are not checked.
+ */
+public final class BenchmarkBaseline {
+
+    private static final Pattern RESULT_PATTERN = Pattern.compile(
+            "\"id\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\".*?\"primaryMetric\"\\s*:\\s*\\{\\s*\"score\"\\s*:\\s*"
+                    + "(-?[0-9.]+(?:[eE][-+]?[0-9]+)?)",
+            Pattern.DOTALL);
+
+    private final Map<String, Double> scores;
+
+    BenchmarkBaseline(final Map<String, Double> scores) {
+        super();
+        this.scores = Collections.unmodifiableMap(new HashMap<String, Double>(scores));
+    }
+
+    /**
+     * @param file
+     *            a result file written by {@link BenchmarkReport}.
+     * @return the baseline.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    public static BenchmarkBaseline load(final File file) throws IOException {
+        return parse(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    static BenchmarkBaseline parse(final String json) {
+        final Map<String, Double> scores = new HashMap<String, Double>();
+        final Matcher matcher = RESULT_PATTERN.matcher(json);
+        while (matcher.find()) {
+            scores.put(matcher.group(1).replaceAll("\\\\(.)", "$1"), Double.parseDouble(matcher.group(2)));
+        }
+        return new BenchmarkBaseline(scores);
+    }
+
+    /**
+     * @param id
+     *            the id of a benchmark, see {@link Benchmark#getId()}.
+     * @return the baseline score of the benchmark, or <code>null</code> if it is not part of the
+     *         baseline.
+     */
+    public Double getScore(final String id) {
+        return this.scores.get(id);
+    }
+
+    /**
+     * Checks the given result against this baseline.
+     *
+     * @param result
+     *            the result.
+     * @param threshold
+     *            the tolerated relative loss of throughput.
+     * @throws AssertionError
+     *             if the result regressed by more than the threshold.
+     */
+    public void check(final BenchmarkResult result, final double threshold) {
+        final Double baselineScore = this.scores.get(result.getId());
+        if (baselineScore == null) {
+            return;
+        }
+        final double minimum = baselineScore * (1 - threshold);
+        if (result.getScore() < minimum) {
+            throw new AssertionError(String.format(
+                    "Benchmark %s regressed: %.3f ops/s, baseline %.3f ops/s, tolerated minimum %.3f ops/s",
+                    result.getId(), result.getScore(), baselineScore, minimum));
+        }
+    }
+}
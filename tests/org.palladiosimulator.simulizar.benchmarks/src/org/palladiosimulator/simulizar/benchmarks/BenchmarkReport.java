@@ -0,0 +1,135 @@
+package org.palladiosimulator.simulizar.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map.Entry;
+
+/**
+ * Collects benchmark results and writes them as JSON. The file is rewritten whenever a result is
+ * added, so that it is complete no matter which benchmarks of a test run are executed.
+ * <p>
+ * The format follows the JSON output of JMH: an array with an object per benchmark holding the
+ * <code>primaryMetric</code> (throughput) and the normalised allocation rate as secondary metric.
+ * In addition, each object has the <code>id</code> of the benchmark, which
+ * {@link BenchmarkBaseline} uses to match results of different runs.
+ */
+public final class BenchmarkReport {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private final BenchmarkSettings settings;
+    private final List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+
+    /**
+     * @param settings
+     *            the settings of the run, providing the result file.
+     */
+    public BenchmarkReport(final BenchmarkSettings settings) {
+        super();
+        this.settings = settings;
+    }
+
+    /**
+     * Adds the given result, replacing an earlier result of the same benchmark, and writes the
+     * report.
+     *
+     * @param result
+     *            the result.
+     * @throws IOException
+     *             if the report cannot be written.
+     */
+    public synchronized void add(final BenchmarkResult result) throws IOException {
+        this.results.removeIf(r -> r.getId().equals(result.getId()));
+        this.results.add(result);
+        this.write();
+    }
+
+    public synchronized List<BenchmarkResult> getResults() {
+        return new ArrayList<BenchmarkResult>(this.results);
+    }
+
+    private void write() throws IOException {
+        final File file = this.settings.getResultFile();
+        final File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+        try (final Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(this.toJson());
+        }
+    }
+
+    String toJson() {
+        final StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < this.results.size(); i++) {
+            final BenchmarkResult result = this.results.get(i);
+            json.append("    {\n");
+            json.append("        \"id\" : ").append(quote(result.getId())).append(",\n");
+            json.append("        \"benchmark\" : ").append(quote(result.getName())).append(",\n");
+            json.append("        \"mode\" : \"thrpt\",\n");
+            json.append("        \"runMode\" : ").append(quote(this.settings.getMode())).append(",\n");
+            json.append("        \"warmupIterations\" : ").append(this.settings.getWarmupIterations()).append(",\n");
+            json.append("        \"measurementIterations\" : ").append(result.getIterationScores().length)
+                    .append(",\n");
+            json.append("        \"measurementTime\" : ")
+                    .append(quote(this.settings.getIterationTimeMillis() + " ms")).append(",\n");
+            json.append("        \"params\" : {");
+            boolean first = true;
+            for (final Entry<String, String> parameter : result.getParameters().entrySet()) {
+                json.append(first ? "\n" : ",\n");
+                json.append("            ").append(quote(parameter.getKey())).append(" : ")
+                        .append(quote(parameter.getValue()));
+                first = false;
+            }
+            json.append(first ? "},\n" : "\n        },\n");
+            json.append("        \"primaryMetric\" : {\n");
+            json.append("            \"score\" : ").append(number(result.getScore())).append(",\n");
+            json.append("            \"scoreError\" : ").append(number(result.getScoreError())).append(",\n");
+            json.append("            \"scoreUnit\" : \"ops/s\",\n");
+            json.append("            \"rawData\" : [");
+            final double[] scores = result.getIterationScores();
+            for (int j = 0; j < scores.length; j++) {
+                json.append(j == 0 ? "" : ", ").append(number(scores[j]));
+            }
+            json.append("]\n");
+            json.append("        },\n");
+            json.append("        \"secondaryMetrics\" : {\n");
+            json.append("            ").append(quote(ALLOCATION_METRIC)).append(" : {\n");
+            json.append("                \"score\" : ").append(number(result.getAllocatedBytesPerOperation()))
+                    .append(",\n");
+            json.append("                \"scoreUnit\" : \"B/op\"\n");
+            json.append("            }\n");
+            json.append("        }\n");
+            json.append(i == this.results.size() - 1 ? "    }\n" : "    },\n");
+        }
+        return json.append("]\n").toString();
+    }
+
+    private static String number(final double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return "\"NaN\"";
+        }
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static String quote(final String value) {
+        final StringBuilder result = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            } else if (c < ' ') {
+                result.append(String.format("\\u%04x", (int) c));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.append('"').toString();
+    }
+}
@@ -0,0 +1,113 @@
+package org.palladiosimulator.simulizar.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of a benchmark, i.e., the throughput measured in each measurement iteration and the
+ * number of bytes allocated per operation.
+ */
+public final class BenchmarkResult {
+
+    /**
+     * Quantile of the standard normal distribution used for the error of the score, resulting in
+     * a 99.9% confidence interval as reported by JMH.
+     */
+    private static final double CONFIDENCE_QUANTILE = 3.291;
+
+    private final String id;
+    private final String name;
+    private final Map<String, String> parameters;
+    private final double[] iterationScores;
+    private final double allocatedBytesPerOperation;
+
+    /**
+     * @param benchmark
+     *            the benchmark.
+     * @param iterationScores
+     *            the throughput of each measurement iteration, in operations per second.
+     * @param allocatedBytesPerOperation
+     *            the number of bytes allocated per operation, or {@link Double#NaN} if the JVM does
+     *            not provide allocation counters.
+     */
+    public BenchmarkResult(final Benchmark benchmark, final double[] iterationScores,
+            final double allocatedBytesPerOperation) {
+        this(benchmark.getId(), benchmark.getName(), benchmark.getParameters(), iterationScores,
+                allocatedBytesPerOperation);
+    }
+
+    BenchmarkResult(final String id, final String name, final Map<String, String> parameters,
+            final double[] iterationScores, final double allocatedBytesPerOperation) {
+        super();
+        if (iterationScores.length == 0) {
+            throw new IllegalArgumentException("At least one iteration score required");
+        }
+        this.id = id;
+        this.name = name;
+        this.parameters = Collections.unmodifiableMap(new LinkedHashMap<String, String>(parameters));
+        this.iterationScores = iterationScores.clone();
+        this.allocatedBytesPerOperation = allocatedBytesPerOperation;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Map<String, String> getParameters() {
+        return this.parameters;
+    }
+
+    /**
+     * @return the throughput of each measurement iteration, in operations per second.
+     */
+    public double[] getIterationScores() {
+        return this.iterationScores.clone();
+    }
+
+    /**
+     * @return the mean throughput, in operations per second.
+     */
+    public double getScore() {
+        double sum = 0;
+        for (final double score : this.iterationScores) {
+            sum += score;
+        }
+        return sum / this.iterationScores.length;
+    }
+
+    /**
+     * @return the half width of the 99.9% confidence interval of the score, or {@link Double#NaN}
+     *         if there was only one measurement iteration.
+     */
+    public double getScoreError() {
+        final int n = this.iterationScores.length;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        final double mean = this.getScore();
+        double squares = 0;
+        for (final double score : this.iterationScores) {
+            squares += (score - mean) * (score - mean);
+        }
+        return CONFIDENCE_QUANTILE * Math.sqrt(squares / (n - 1)) / Math.sqrt(n);
+    }
+
+    /**
+     * @return the number of bytes allocated per operation, or {@link Double#NaN} if unknown.
+     */
+    public double getAllocatedBytesPerOperation() {
+        return this.allocatedBytesPerOperation;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.3f +- %.3f ops/s, %.1f B/op %s", this.id, this.getScore(),
+                this.getScoreError(), this.allocatedBytesPerOperation, Arrays.toString(this.iterationScores));
+    }
+}
@@ -0,0 +1,214 @@
+package org.palladiosimulator.simulizar.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Runs benchmarks headlessly, in the spirit of JMH: the measured operation is invoked repeatedly
+ * during warm-up iterations, whose results are discarded, and measurement iterations of a fixed
+ * duration. Each measurement iteration yields a throughput. Allocations are counted with the
+ * per-thread allocation counters of the JVM, if available.
+ * <p>
+ * Results are added to a {@link BenchmarkReport}. If a baseline is configured, each result is
+ * compared with it and a regression beyond the configured threshold fails the benchmark.
+ */
+public final class BenchmarkRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(BenchmarkRunner.class);
+
+    private static BenchmarkRunner defaultRunner;
+
+    private final BenchmarkSettings settings;
+    private final BenchmarkReport report;
+    private final BenchmarkBaseline baseline;
+    private final AllocationCounter allocationCounter = new AllocationCounter();
+
+    private volatile boolean iterationFinished;
+    private volatile Object sink;
+
+    /**
+     * @param settings
+     *            the settings of the run.
+     * @param report
+     *            the report the results are added to.
+     * @throws IOException
+     *             if the configured baseline cannot be read.
+     */
+    public BenchmarkRunner(final BenchmarkSettings settings, final BenchmarkReport report) throws IOException {
+        super();
+        this.settings = settings;
+        this.report = report;
+        this.baseline = settings.getBaselineFile() == null ? null : BenchmarkBaseline.load(settings.getBaselineFile());
+    }
+
+    /**
+     * @return the runner configured by the system properties, see {@link BenchmarkSettings}. All
+     *         benchmarks of a test run share it and thereby the result file.
+     * @throws IOException
+     *             if the configured baseline cannot be read.
+     */
+    public static synchronized BenchmarkRunner getDefault() throws IOException {
+        if (defaultRunner == null) {
+            final BenchmarkSettings settings = BenchmarkSettings.fromSystemProperties();
+            defaultRunner = new BenchmarkRunner(settings, new BenchmarkReport(settings));
+        }
+        return defaultRunner;
+    }
+
+    public BenchmarkSettings getSettings() {
+        return this.settings;
+    }
+
+    /**
+     * Runs the given benchmark and adds its result to the report.
+     *
+     * @param benchmark
+     *            the benchmark.
+     * @return the result.
+     * @throws Exception
+     *             if the benchmark fails.
+     * @throws AssertionError
+     *             if the benchmark regressed compared to the baseline.
+     */
+    public BenchmarkResult run(final Benchmark benchmark) throws Exception {
+        LOGGER.info("Running benchmark " + benchmark.getId() + " (" + this.settings.getMode() + " mode)");
+        final double[] scores = new double[this.settings.getMeasurementIterations()];
+        final Iteration total = new Iteration();
+        final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "Benchmark iteration timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        benchmark.setUp();
+        try {
+            for (int i = 0; i < this.settings.getWarmupIterations(); i++) {
+                this.runIteration(benchmark, timer);
+            }
+            for (int i = 0; i < scores.length; i++) {
+                final Iteration iteration = this.runIteration(benchmark, timer);
+                scores[i] = iteration.getThroughput();
+                total.add(iteration);
+            }
+        } finally {
+            timer.shutdownNow();
+            benchmark.tearDown();
+        }
+
+        final BenchmarkResult result = new BenchmarkResult(benchmark, scores, total.getAllocatedBytesPerOperation());
+        LOGGER.info(result);
+        this.report.add(result);
+        if (this.baseline != null) {
+            this.baseline.check(result, this.settings.getThreshold());
+        }
+        return result;
+    }
+
+    private Iteration runIteration(final Benchmark benchmark, final ScheduledExecutorService timer)
+            throws Exception {
+        final Iteration iteration = new Iteration();
+        final long allocatedBytes;
+        this.iterationFinished = false;
+        final ScheduledFuture<?> timeout = timer.schedule(() -> {
+            this.iterationFinished = true;
+        }, this.settings.getIterationTimeMillis(), TimeUnit.MILLISECONDS);
+        if (benchmark.hasInvocationSetUp()) {
+            long bytes = 0;
+            do {
+                benchmark.setUpInvocation();
+                final long allocatedBefore = this.allocationCounter.getAllocatedBytes();
+                final long start = System.nanoTime();
+                this.sink = benchmark.invoke();
+                iteration.nanos += System.nanoTime() - start;
+                bytes += this.allocationCounter.getAllocatedBytes() - allocatedBefore;
+                iteration.invocations++;
+                benchmark.tearDownInvocation();
+            } while (!this.iterationFinished);
+            allocatedBytes = bytes;
+        } else {
+            final long allocatedBefore = this.allocationCounter.getAllocatedBytes();
+            final long start = System.nanoTime();
+            do {
+                this.sink = benchmark.invoke();
+                iteration.invocations++;
+            } while (!this.iterationFinished);
+            iteration.nanos = System.nanoTime() - start;
+            allocatedBytes = this.allocationCounter.getAllocatedBytes() - allocatedBefore;
+        }
+        timeout.cancel(false);
+        iteration.operations = iteration.invocations * benchmark.getOperationsPerInvocation();
+        iteration.allocatedBytes = this.allocationCounter.isSupported() ? allocatedBytes : -1;
+        this.sink = null;
+        return iteration;
+    }
+
+    private static final class Iteration {
+
+        private long invocations;
+        private long operations;
+        private long nanos;
+        private long allocatedBytes;
+
+        private double getThroughput() {
+            return this.operations / (Math.max(this.nanos, 1) / 1e9);
+        }
+
+        private double getAllocatedBytesPerOperation() {
+            return this.allocatedBytes < 0 || this.operations == 0 ? Double.NaN
+                    : (double) this.allocatedBytes / this.operations;
+        }
+
+        private void add(final Iteration iteration) {
+            this.invocations += iteration.invocations;
+            this.operations += iteration.operations;
+            this.nanos += iteration.nanos;
+            this.allocatedBytes = this.allocatedBytes < 0 || iteration.allocatedBytes < 0 ? -1
+                    : this.allocatedBytes + iteration.allocatedBytes;
+        }
+    }
+
+    /**
+     * Reads the number of bytes allocated by the current thread. The counter is part of the
+     * <code>com.sun.management</code> extension of the thread MX bean, so it is accessed
+     * reflectively and reported as unsupported on other JVMs.
+     */
+    private static final class AllocationCounter {
+
+        private final Object threadBean = ManagementFactory.getThreadMXBean();
+        private final Method allocatedBytesMethod;
+
+        private AllocationCounter() {
+            Method method = null;
+            try {
+                method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes",
+                        long.class);
+                method.invoke(this.threadBean, Thread.currentThread().getId());
+            } catch (final ReflectiveOperationException | RuntimeException e) {
+                LOGGER.info("Allocation counters not available, allocations are not reported");
+                method = null;
+            }
+            this.allocatedBytesMethod = method;
+        }
+
+        private boolean isSupported() {
+            return this.allocatedBytesMethod != null;
+        }
+
+        private long getAllocatedBytes() {
+            if (this.allocatedBytesMethod == null) {
+                return 0;
+            }
+            try {
+                return (Long) this.allocatedBytesMethod.invoke(this.threadBean, Thread.currentThread().getId());
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
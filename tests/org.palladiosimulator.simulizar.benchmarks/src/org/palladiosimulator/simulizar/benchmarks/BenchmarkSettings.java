@@ -0,0 +1,122 @@
+package org.palladiosimulator.simulizar.benchmarks;
+
+import java.io.File;
+
+/**
+ * Settings of a benchmark run. By default, benchmarks run in smoke mode, i.e., with very short
+ * iterations that only check that every benchmark works. The <code>benchmarks</code> Maven profile
+ * switches to full mode by setting the system property {@value #MODE_PROPERTY}.
+ * <p>
+ * All settings can be overridden by the system properties declared by this class.
+ */
+public final class BenchmarkSettings {
+
+    public static final String MODE_PROPERTY = "simulizar.benchmarks.mode";
+    public static final String WARMUP_ITERATIONS_PROPERTY = "simulizar.benchmarks.warmupIterations";
+    public static final String MEASUREMENT_ITERATIONS_PROPERTY = "simulizar.benchmarks.measurementIterations";
+    public static final String ITERATION_TIME_PROPERTY = "simulizar.benchmarks.iterationTime";
+    public static final String RESULT_FILE_PROPERTY = "simulizar.benchmarks.resultFile";
+    public static final String BASELINE_FILE_PROPERTY = "simulizar.benchmarks.baseline";
+    public static final String THRESHOLD_PROPERTY = "simulizar.benchmarks.threshold";
+
+    public static final String SMOKE_MODE = "smoke";
+    public static final String FULL_MODE = "full";
+
+    private static final String DEFAULT_RESULT_FILE = "target/benchmark-results.json";
+    private static final double DEFAULT_THRESHOLD = 0.1;
+
+    private final String mode;
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationTimeMillis;
+    private final File resultFile;
+    private final File baselineFile;
+    private final double threshold;
+
+    /**
+     * @param mode
+     *            the mode, i.e., {@link #SMOKE_MODE} or {@link #FULL_MODE}.
+     * @param warmupIterations
+     *            the number of iterations run before measuring.
+     * @param measurementIterations
+     *            the number of measured iterations.
+     * @param iterationTimeMillis
+     *            the minimum duration of an iteration. Each iteration invokes the benchmark at
+     *            least once.
+     * @param resultFile
+     *            the file the results are written to.
+     * @param baselineFile
+     *            the results of an earlier run to compare with, or <code>null</code>.
+     * @param threshold
+     *            the relative loss of throughput compared to the baseline which is reported as a
+     *            regression, e.g., <code>0.1</code> for 10%.
+     */
+    public BenchmarkSettings(final String mode, final int warmupIterations, final int measurementIterations,
+            final long iterationTimeMillis, final File resultFile, final File baselineFile, final double threshold) {
+        super();
+        if (warmupIterations < 0 || measurementIterations <= 0 || iterationTimeMillis < 0) {
+            throw new IllegalArgumentException("At least one measurement iteration of non-negative length required");
+        }
+        if (threshold < 0 || threshold >= 1) {
+            throw new IllegalArgumentException("Threshold must be within [0, 1)");
+        }
+        this.mode = mode;
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationTimeMillis = iterationTimeMillis;
+        this.resultFile = resultFile;
+        this.baselineFile = baselineFile;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return the settings defined by the system properties.
+     */
+    public static BenchmarkSettings fromSystemProperties() {
+        final String mode = System.getProperty(MODE_PROPERTY, SMOKE_MODE);
+        final boolean full = FULL_MODE.equals(mode);
+        final String baseline = System.getProperty(BASELINE_FILE_PROPERTY, "");
+        return new BenchmarkSettings(mode, Integer.getInteger(WARMUP_ITERATIONS_PROPERTY, full ? 5 : 1),
+                Integer.getInteger(MEASUREMENT_ITERATIONS_PROPERTY, full ? 10 : 2),
+                Long.getLong(ITERATION_TIME_PROPERTY, full ? 1000 : 10),
+                new File(System.getProperty(RESULT_FILE_PROPERTY, DEFAULT_RESULT_FILE)),
+                baseline.isEmpty() ? null : new File(baseline),
+                Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY, String.valueOf(DEFAULT_THRESHOLD))));
+    }
+
+    public String getMode() {
+        return this.mode;
+    }
+
+    public boolean isSmokeMode() {
+        return !FULL_MODE.equals(this.mode);
+    }
+
+    public int getWarmupIterations() {
+        return this.warmupIterations;
+    }
+
+    public int getMeasurementIterations() {
+        return this.measurementIterations;
+    }
+
+    public long getIterationTimeMillis() {
+        return this.iterationTimeMillis;
+    }
+
+    public File getResultFile() {
+        return this.resultFile;
+    }
+
+    /**
+     * @return the results of an earlier run to compare with, or <code>null</code> if there is no
+     *         baseline.
+     */
+    public File getBaselineFile() {
+        return this.baselineFile;
+    }
+
+    public double getThreshold() {
+        return this.threshold;
+    }
+}
@@ -0,0 +1,647 @@
+package org.palladiosimulator.simulizar.benchmarks.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPointRepository;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.Monitor;
+import org.palladiosimulator.monitorrepository.MonitorRepository;
+import org.palladiosimulator.monitorrepository.MonitorRepositoryFactory;
+import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.allocation.AllocationContext;
+import org.palladiosimulator.pcm.allocation.AllocationFactory;
+import org.palladiosimulator.pcm.core.CoreFactory;
+import org.palladiosimulator.pcm.core.PCMRandomVariable;
+import org.palladiosimulator.pcm.core.composition.AssemblyConnector;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.core.composition.ComposedStructure;
+import org.palladiosimulator.pcm.core.composition.CompositionFactory;
+import org.palladiosimulator.pcm.core.composition.ProvidedDelegationConnector;
+import org.palladiosimulator.pcm.core.composition.RequiredDelegationConnector;
+import org.palladiosimulator.pcm.core.entity.InterfaceProvidingRequiringEntity;
+import org.palladiosimulator.pcm.parameter.ParameterFactory;
+import org.palladiosimulator.pcm.parameter.VariableCharacterisation;
+import org.palladiosimulator.pcm.parameter.VariableCharacterisationType;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.CompositeComponent;
+import org.palladiosimulator.pcm.repository.OperationInterface;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.OperationRequiredRole;
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.repository.RepositoryComponent;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
+import org.palladiosimulator.pcm.resourceenvironment.CommunicationLinkResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.LinkingResource;
+import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceenvironmentFactory;
+import org.palladiosimulator.pcm.resourcetype.CommunicationLinkResourceType;
+import org.palladiosimulator.pcm.resourcetype.ProcessingResourceType;
+import org.palladiosimulator.pcm.resourcetype.ResourceRepository;
+import org.palladiosimulator.pcm.resourcetype.ResourcetypeFactory;
+import org.palladiosimulator.pcm.resourcetype.SchedulingPolicy;
+import org.palladiosimulator.pcm.seff.AbstractAction;
+import org.palladiosimulator.pcm.seff.BranchAction;
+import org.palladiosimulator.pcm.seff.ExternalCallAction;
+import org.palladiosimulator.pcm.seff.ForkAction;
+import org.palladiosimulator.pcm.seff.ForkedBehaviour;
+import org.palladiosimulator.pcm.seff.InternalAction;
+import org.palladiosimulator.pcm.seff.ProbabilisticBranchTransition;
+import org.palladiosimulator.pcm.seff.ResourceDemandingBehaviour;
+import org.palladiosimulator.pcm.seff.ResourceDemandingSEFF;
+import org.palladiosimulator.pcm.seff.SeffFactory;
+import org.palladiosimulator.pcm.seff.SynchronisationPoint;
+import org.palladiosimulator.pcm.seff.seff_performance.ParametricResourceDemand;
+import org.palladiosimulator.pcm.seff.seff_performance.SeffPerformanceFactory;
+import org.palladiosimulator.pcm.system.System;
+import org.palladiosimulator.pcm.system.SystemFactory;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
+import org.palladiosimulator.pcm.usagemodel.OpenWorkload;
+import org.palladiosimulator.pcm.usagemodel.ScenarioBehaviour;
+import org.palladiosimulator.pcm.usagemodel.Start;
+import org.palladiosimulator.pcm.usagemodel.Stop;
+import org.palladiosimulator.pcm.usagemodel.UsageModel;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.pcm.usagemodel.UsagemodelFactory;
+import org.palladiosimulator.pcmmeasuringpoint.ActiveResourceMeasuringPoint;
+import org.palladiosimulator.pcmmeasuringpoint.PcmmeasuringpointFactory;
+import org.palladiosimulator.pcmmeasuringpoint.UsageScenarioMeasuringPoint;
+
+import de.uka.ipd.sdq.identifier.Identifier;
+import de.uka.ipd.sdq.stoex.StoexFactory;
+import de.uka.ipd.sdq.stoex.VariableReference;
+
+/**
+ * Builds PCM models in memory, so that benchmarks do not depend on model files in a workspace.
+ * <p>
+ * The system consists of a chain of assembly contexts, each calling the next one through an
+ * assembly connector; the last one does not call any further. Each assembly context is allocated
+ * to a resource container of its own, unless they are co-located; the containers can be connected
+ * by a single linking resource. The components can be wrapped into nested composite
+ * components, delegating both the provided and the required role. The SEFF of each basic component
+ * is a chain of blocks, each consisting of an internal action, optionally followed by a
+ * probabilistic branch and a synchronous fork. The usage model is an open workload calling the
+ * service of the system, passing the input parameter {@value #INPUT_PARAMETER}.
+ * <p>
+ * Models with internal actions without resource demands (the default) can be interpreted outside
+ * of a simulated process, which is what the micro-benchmarks of the interpreter do.
+ */
+public class PCMModelBuilder {
+
+    /** Id of the CPU resource type of the default Palladio resource types. */
+    public static final String CPU_RESOURCE_TYPE_ID = "_oro4gG3fEdy4YaaT-RYrLQ";
+    /** Id of the processor sharing scheduling policy of the default Palladio resource types. */
+    public static final String PROCESSOR_SHARING_POLICY_ID = "ProcessorSharing";
+    /** Name of the input parameter of the service. */
+    public static final String INPUT_PARAMETER = "input";
+
+    private int seffDepth = 1;
+    private int branchFanOut = 0;
+    private int forkWidth = 0;
+    private int assemblyContexts = 1;
+    private int compositeNesting = 0;
+    private int monitors = 0;
+    private boolean responseTimeMonitor = false;
+    private String cpuDemand = null;
+    private String interArrivalTime = "1.0";
+    private boolean colocated = false;
+    private String linkLatency = null;
+    private String linkThroughput = null;
+    private String payloadSize = null;
+
+    private int nextId;
+
+    /**
+     * @param seffDepth
+     *            the number of blocks of each SEFF, at least 1.
+     * @return this builder.
+     */
+    public PCMModelBuilder seffDepth(final int seffDepth) {
+        this.seffDepth = checkAtLeast(seffDepth, 1, "SEFF depth");
+        return this;
+    }
+
+    /**
+     * @param branchFanOut
+     *            the number of transitions of the branch of each block, or 0 for blocks without
+     *            branch.
+     * @return this builder.
+     */
+    public PCMModelBuilder branchFanOut(final int branchFanOut) {
+        this.branchFanOut = checkAtLeast(branchFanOut, 0, "Branch fan-out");
+        return this;
+    }
+
+    /**
+     * Forks have to be interpreted by a simulated process, so they can only be used in simulation
+     * runs.
+     *
+     * @param forkWidth
+     *            the number of forked behaviours of the fork of each block, or 0 for blocks without
+     *            fork.
+     * @return this builder.
+     */
+    public PCMModelBuilder forkWidth(final int forkWidth) {
+        this.forkWidth = checkAtLeast(forkWidth, 0, "Fork width");
+        return this;
+    }
+
+    /**
+     * @param assemblyContexts
+     *            the length of the call chain in the system, at least 1.
+     * @return this builder.
+     */
+    public PCMModelBuilder assemblyContexts(final int assemblyContexts) {
+        this.assemblyContexts = checkAtLeast(assemblyContexts, 1, "Number of assembly contexts");
+        return this;
+    }
+
+    /**
+     * @param compositeNesting
+     *            the number of composite components wrapped around each basic component.
+     * @return this builder.
+     */
+    public PCMModelBuilder compositeNesting(final int compositeNesting) {
+        this.compositeNesting = checkAtLeast(compositeNesting, 0, "Composite nesting");
+        return this;
+    }
+
+    /**
+     * @param monitors
+     *            the number of monitors observing the state of the CPUs, at most one per assembly
+     *            context.
+     * @return this builder.
+     */
+    public PCMModelBuilder monitors(final int monitors) {
+        this.monitors = checkAtLeast(monitors, 0, "Number of monitors");
+        return this;
+    }
+
+    /**
+     * @param responseTimeMonitor
+     *            whether a monitor observes the response time of the usage scenario.
+     * @return this builder.
+     */
+    public PCMModelBuilder responseTimeMonitor(final boolean responseTimeMonitor) {
+        this.responseTimeMonitor = responseTimeMonitor;
+        return this;
+    }
+
+    /**
+     * Resource demands have to be interpreted by a simulated process, so they can only be used in
+     * simulation runs.
+     *
+     * @param cpuDemand
+     *            the CPU demand of each internal action, or <code>null</code> for internal actions
+     *            without demand.
+     * @return this builder.
+     */
+    public PCMModelBuilder cpuDemand(final String cpuDemand) {
+        this.cpuDemand = cpuDemand;
+        return this;
+    }
+
+    /**
+     * @param interArrivalTime
+     *            the inter-arrival time of the open workload.
+     * @return this builder.
+     */
+    public PCMModelBuilder interArrivalTime(final String interArrivalTime) {
+        this.interArrivalTime = interArrivalTime;
+        return this;
+    }
+
+    /**
+     * @param colocated
+     *            whether all assembly contexts are allocated to the same resource container.
+     * @return this builder.
+     */
+    public PCMModelBuilder colocated(final boolean colocated) {
+        this.colocated = colocated;
+        return this;
+    }
+
+    /**
+     * @param latency
+     *            the latency of the linking resource connecting all resource containers.
+     * @param throughput
+     *            the throughput of the linking resource in bytes per second.
+     * @return this builder.
+     */
+    public PCMModelBuilder linkingResource(final String latency, final String throughput) {
+        this.linkLatency = latency;
+        this.linkThroughput = throughput;
+        return this;
+    }
+
+    /**
+     * @param payloadSize
+     *            the byte size of the input parameter passed by each external call, or
+     *            <code>null</code> for calls without byte size.
+     * @return this builder.
+     */
+    public PCMModelBuilder payloadSize(final String payloadSize) {
+        this.payloadSize = payloadSize;
+        return this;
+    }
+
+    /**
+     * @return the models.
+     * @throws IllegalArgumentException
+     *             if there are more monitors than assembly contexts.
+     */
+    public PCMModels build() {
+        if (this.monitors > this.assemblyContexts) {
+            throw new IllegalArgumentException("At most one monitor per assembly context supported");
+        }
+        final ResourceRepository resourceTypes = ResourcetypeFactory.eINSTANCE.createResourceRepository();
+        final ProcessingResourceType cpu = ResourcetypeFactory.eINSTANCE.createProcessingResourceType();
+        cpu.setId(CPU_RESOURCE_TYPE_ID);
+        cpu.setEntityName("CPU");
+        resourceTypes.getAvailableResourceTypes_ResourceRepository().add(cpu);
+        final SchedulingPolicy processorSharing = ResourcetypeFactory.eINSTANCE.createSchedulingPolicy();
+        processorSharing.setId(PROCESSOR_SHARING_POLICY_ID);
+        processorSharing.setEntityName("Processor Sharing");
+        resourceTypes.getSchedulingPolicies__ResourceRepository().add(processorSharing);
+
+        final Repository repository = this.named(RepositoryFactory.eINSTANCE.createRepository(), "Repository");
+        final OperationInterface operationInterface = this
+                .named(RepositoryFactory.eINSTANCE.createOperationInterface(), "IService");
+        final OperationSignature signature = this.named(RepositoryFactory.eINSTANCE.createOperationSignature(),
+                "call");
+        operationInterface.getSignatures__OperationInterface().add(signature);
+        repository.getInterfaces__Repository().add(operationInterface);
+
+        final RepositoryComponent caller = this.wrap(repository,
+                this.createBasicComponent(repository, operationInterface, signature, cpu, true), operationInterface,
+                true);
+        final RepositoryComponent leaf = this.wrap(repository,
+                this.createBasicComponent(repository, operationInterface, signature, cpu, false), operationInterface,
+                false);
+
+        final System system = this.named(SystemFactory.eINSTANCE.createSystem(), "System");
+        final OperationProvidedRole systemRole = this.addProvidedRole(system, operationInterface);
+        final List<AssemblyContext> contexts = new ArrayList<AssemblyContext>(this.assemblyContexts);
+        for (int i = 0; i < this.assemblyContexts; i++) {
+            final AssemblyContext context = this.addAssemblyContext(system,
+                    i < this.assemblyContexts - 1 ? caller : leaf, "Assembly " + i);
+            if (i == 0) {
+                this.addProvidedDelegation(system, systemRole, context);
+            } else {
+                final AssemblyConnector connector = this
+                        .named(CompositionFactory.eINSTANCE.createAssemblyConnector(), "Connector " + i);
+                connector.setRequiringAssemblyContext_AssemblyConnector(contexts.get(i - 1));
+                connector.setRequiredRole_AssemblyConnector(requiredRole(caller));
+                connector.setProvidingAssemblyContext_AssemblyConnector(context);
+                connector.setProvidedRole_AssemblyConnector(providedRole(context.getEncapsulatedComponent__AssemblyContext()));
+                system.getConnectors__ComposedStructure().add(connector);
+            }
+            contexts.add(context);
+        }
+
+        final ResourceEnvironment resourceEnvironment = this
+                .named(ResourceenvironmentFactory.eINSTANCE.createResourceEnvironment(), "Resource Environment");
+        final Allocation allocation = this.named(AllocationFactory.eINSTANCE.createAllocation(), "Allocation");
+        allocation.setSystem_Allocation(system);
+        allocation.setTargetResourceEnvironment_Allocation(resourceEnvironment);
+        final List<ProcessingResourceSpecification> cpus = new ArrayList<ProcessingResourceSpecification>();
+        ResourceContainer container = null;
+        for (final AssemblyContext context : contexts) {
+            if (container == null || !this.colocated) {
+                container = this.named(ResourceenvironmentFactory.eINSTANCE.createResourceContainer(),
+                        "Server of " + context.getEntityName());
+                final ProcessingResourceSpecification processingResource = this
+                        .identified(ResourceenvironmentFactory.eINSTANCE.createProcessingResourceSpecification());
+                processingResource.setActiveResourceType_ActiveResourceSpecification(cpu);
+                processingResource.setSchedulingPolicy(processorSharing);
+                processingResource.setNumberOfReplicas(1);
+                processingResource.setProcessingRate_ProcessingResourceSpecification(randomVariable("1000"));
+                container.getActiveResourceSpecifications_ResourceContainer().add(processingResource);
+                resourceEnvironment.getResourceContainer_ResourceEnvironment().add(container);
+                cpus.add(processingResource);
+            }
+
+            final AllocationContext allocationContext = this
+                    .named(AllocationFactory.eINSTANCE.createAllocationContext(), "Allocation of " + context.getEntityName());
+            allocationContext.setAssemblyContext_AllocationContext(context);
+            allocationContext.setResourceContainer_AllocationContext(container);
+            allocation.getAllocationContexts_Allocation().add(allocationContext);
+        }
+        if (this.linkLatency != null) {
+            resourceEnvironment.getLinkingResources__ResourceEnvironment()
+                    .add(this.createLinkingResource(resourceTypes, resourceEnvironment));
+        }
+
+        final UsageModel usageModel = UsagemodelFactory.eINSTANCE.createUsageModel();
+        usageModel.getUsageScenario_UsageModel().add(this.createUsageScenario(systemRole, signature));
+
+        final MeasuringPointRepository measuringPoints = MeasuringpointFactory.eINSTANCE
+                .createMeasuringPointRepository();
+        final MonitorRepository monitorRepository = this
+                .named(MonitorRepositoryFactory.eINSTANCE.createMonitorRepository(), "Monitors");
+        for (int i = 0; i < this.monitors; i++) {
+            final ActiveResourceMeasuringPoint measuringPoint = PcmmeasuringpointFactory.eINSTANCE
+                    .createActiveResourceMeasuringPoint();
+            measuringPoint.setActiveResource(cpus.get(i));
+            measuringPoint.setReplicaID(0);
+            measuringPoints.getMeasuringPoints().add(measuringPoint);
+
+            final Monitor monitor = this.named(MonitorRepositoryFactory.eINSTANCE.createMonitor(), "CPU " + i);
+            monitor.setActivated(true);
+            monitor.setMeasuringPoint(measuringPoint);
+            final MeasurementSpecification specification = MonitorRepositoryFactory.eINSTANCE
+                    .createMeasurementSpecification();
+            specification.setMetricDescription(MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC);
+            specification.setProcessingType(MonitorRepositoryFactory.eINSTANCE.createFeedThrough());
+            monitor.getMeasurementSpecifications().add(specification);
+            monitorRepository.getMonitors().add(monitor);
+        }
+        if (this.responseTimeMonitor) {
+            final UsageScenarioMeasuringPoint measuringPoint = PcmmeasuringpointFactory.eINSTANCE
+                    .createUsageScenarioMeasuringPoint();
+            measuringPoint.setUsageScenario(usageModel.getUsageScenario_UsageModel().get(0));
+            measuringPoints.getMeasuringPoints().add(measuringPoint);
+
+            final Monitor monitor = this.named(MonitorRepositoryFactory.eINSTANCE.createMonitor(), "Response time");
+            monitor.setActivated(true);
+            monitor.setMeasuringPoint(measuringPoint);
+            final MeasurementSpecification specification = MonitorRepositoryFactory.eINSTANCE
+                    .createMeasurementSpecification();
+            specification.setMetricDescription(MetricDescriptionConstants.RESPONSE_TIME_METRIC);
+            specification.setProcessingType(MonitorRepositoryFactory.eINSTANCE.createFeedThrough());
+            monitor.getMeasurementSpecifications().add(specification);
+            monitorRepository.getMonitors().add(monitor);
+        }
+
+        return new PCMModels(resourceTypes, repository, system, resourceEnvironment, allocation, usageModel,
+                measuringPoints, monitorRepository);
+    }
+
+    private LinkingResource createLinkingResource(final ResourceRepository resourceTypes,
+            final ResourceEnvironment resourceEnvironment) {
+        final CommunicationLinkResourceType lan = this
+                .named(ResourcetypeFactory.eINSTANCE.createCommunicationLinkResourceType(), "LAN");
+        resourceTypes.getAvailableResourceTypes_ResourceRepository().add(lan);
+        final CommunicationLinkResourceSpecification specification = this
+                .identified(ResourceenvironmentFactory.eINSTANCE.createCommunicationLinkResourceSpecification());
+        specification.setCommunicationLinkResourceType_CommunicationLinkResourceSpecification(lan);
+        specification.setLatency_CommunicationLinkResourceSpecification(randomVariable(this.linkLatency));
+        specification.setThroughput_CommunicationLinkResourceSpecification(randomVariable(this.linkThroughput));
+        specification.setFailureProbability(0.0);
+
+        final LinkingResource link = this.named(ResourceenvironmentFactory.eINSTANCE.createLinkingResource(),
+                "Network");
+        link.setCommunicationLinkResourceSpecifications_LinkingResource(specification);
+        link.getConnectedResourceContainers_LinkingResource()
+                .addAll(resourceEnvironment.getResourceContainer_ResourceEnvironment());
+        return link;
+    }
+
+    private BasicComponent createBasicComponent(final Repository repository,
+            final OperationInterface operationInterface, final OperationSignature signature,
+            final ProcessingResourceType cpu, final boolean calling) {
+        final BasicComponent component = this.named(RepositoryFactory.eINSTANCE.createBasicComponent(),
+                calling ? "Caller" : "Leaf");
+        this.addProvidedRole(component, operationInterface);
+        OperationRequiredRole requiredRole = null;
+        if (calling) {
+            requiredRole = this.named(RepositoryFactory.eINSTANCE.createOperationRequiredRole(), "Required IService");
+            requiredRole.setRequiredInterface__OperationRequiredRole(operationInterface);
+            component.getRequiredRoles_InterfaceRequiringEntity().add(requiredRole);
+        }
+
+        final ResourceDemandingSEFF seff = this.identified(SeffFactory.eINSTANCE.createResourceDemandingSEFF());
+        seff.setDescribedService__SEFF(signature);
+        final List<AbstractAction> actions = new ArrayList<AbstractAction>();
+        actions.add(this.named(SeffFactory.eINSTANCE.createStartAction(), "Start"));
+        for (int block = 0; block < this.seffDepth; block++) {
+            actions.add(this.createInternalAction(cpu, "Internal " + block));
+            if (this.branchFanOut > 0) {
+                final BranchAction branch = this.named(SeffFactory.eINSTANCE.createBranchAction(), "Branch " + block);
+                for (int i = 0; i < this.branchFanOut; i++) {
+                    final ProbabilisticBranchTransition transition = this
+                            .named(SeffFactory.eINSTANCE.createProbabilisticBranchTransition(), "Transition " + i);
+                    transition.setBranchProbability(1.0 / this.branchFanOut);
+                    transition.setBranchBehaviour_BranchTransition(this.fillBehaviour(
+                            this.identified(SeffFactory.eINSTANCE.createResourceDemandingBehaviour()), cpu));
+                    branch.getBranches_Branch().add(transition);
+                }
+                actions.add(branch);
+            }
+            if (this.forkWidth > 0) {
+                final ForkAction fork = this.named(SeffFactory.eINSTANCE.createForkAction(), "Fork " + block);
+                final SynchronisationPoint synchronisationPoint = SeffFactory.eINSTANCE.createSynchronisationPoint();
+                for (int i = 0; i < this.forkWidth; i++) {
+                    final ForkedBehaviour forkedBehaviour = this
+                            .identified(SeffFactory.eINSTANCE.createForkedBehaviour());
+                    synchronisationPoint.getSynchronousForkedBehaviours_SynchronisationPoint()
+                            .add((ForkedBehaviour) this.fillBehaviour(forkedBehaviour, cpu));
+                }
+                fork.setSynchronisingBehaviours_ForkAction(synchronisationPoint);
+                actions.add(fork);
+            }
+        }
+        if (calling) {
+            final ExternalCallAction call = this.named(SeffFactory.eINSTANCE.createExternalCallAction(), "Call");
+            call.setCalledService_ExternalService(signature);
+            call.setRole_ExternalService(requiredRole);
+            final VariableUsage input = inputUsage(INPUT_PARAMETER + ".VALUE + 1");
+            if (this.payloadSize != null) {
+                final VariableCharacterisation byteSize = ParameterFactory.eINSTANCE.createVariableCharacterisation();
+                byteSize.setType(VariableCharacterisationType.BYTESIZE);
+                byteSize.setSpecification_VariableCharacterisation(randomVariable(this.payloadSize));
+                input.getVariableCharacterisation_VariableUsage().add(byteSize);
+            }
+            call.getInputVariableUsages__CallAction().add(input);
+            actions.add(call);
+        }
+        actions.add(this.named(SeffFactory.eINSTANCE.createStopAction(), "Stop"));
+        link(seff, actions);
+        component.getServiceEffectSpecifications__BasicComponent().add(seff);
+        repository.getComponents__Repository().add(component);
+        return component;
+    }
+
+    private ResourceDemandingBehaviour fillBehaviour(final ResourceDemandingBehaviour behaviour,
+            final ProcessingResourceType cpu) {
+        final List<AbstractAction> actions = new ArrayList<AbstractAction>();
+        actions.add(this.named(SeffFactory.eINSTANCE.createStartAction(), "Start"));
+        actions.add(this.createInternalAction(cpu, "Internal"));
+        actions.add(this.named(SeffFactory.eINSTANCE.createStopAction(), "Stop"));
+        link(behaviour, actions);
+        return behaviour;
+    }
+
+    private InternalAction createInternalAction(final ProcessingResourceType cpu, final String name) {
+        final InternalAction action = this.named(SeffFactory.eINSTANCE.createInternalAction(), name);
+        if (this.cpuDemand != null) {
+            final ParametricResourceDemand demand = SeffPerformanceFactory.eINSTANCE.createParametricResourceDemand();
+            demand.setRequiredResource_ParametricResourceDemand(cpu);
+            demand.setSpecification_ParametericResourceDemand(randomVariable(this.cpuDemand));
+            action.getResourceDemand_Action().add(demand);
+        }
+        return action;
+    }
+
+    private static void link(final ResourceDemandingBehaviour behaviour, final List<AbstractAction> actions) {
+        for (int i = 0; i < actions.size() - 1; i++) {
+            actions.get(i).setSuccessor_AbstractAction(actions.get(i + 1));
+        }
+        behaviour.getSteps_Behaviour().addAll(actions);
+    }
+
+    /**
+     * Wraps the given component into {@link #compositeNesting} composite components.
+     */
+    private RepositoryComponent wrap(final Repository repository, final RepositoryComponent component,
+            final OperationInterface operationInterface, final boolean calling) {
+        RepositoryComponent inner = component;
+        for (int level = 1; level <= this.compositeNesting; level++) {
+            final CompositeComponent composite = this.named(RepositoryFactory.eINSTANCE.createCompositeComponent(),
+                    component.getEntityName() + " Composite " + level);
+            final OperationProvidedRole providedRole = this.addProvidedRole(composite, operationInterface);
+            final AssemblyContext innerContext = this.addAssemblyContext(composite, inner, "Inner " + level);
+            this.addProvidedDelegation(composite, providedRole, innerContext);
+            if (calling) {
+                final OperationRequiredRole requiredRole = this
+                        .named(RepositoryFactory.eINSTANCE.createOperationRequiredRole(), "Required IService");
+                requiredRole.setRequiredInterface__OperationRequiredRole(operationInterface);
+                composite.getRequiredRoles_InterfaceRequiringEntity().add(requiredRole);
+                final RequiredDelegationConnector connector = this
+                        .identified(CompositionFactory.eINSTANCE.createRequiredDelegationConnector());
+                connector.setAssemblyContext_RequiredDelegationConnector(innerContext);
+                connector.setInnerRequiredRole_RequiredDelegationConnector(requiredRole(inner));
+                connector.setOuterRequiredRole_RequiredDelegationConnector(requiredRole);
+                composite.getConnectors__ComposedStructure().add(connector);
+            }
+            repository.getComponents__Repository().add(composite);
+            inner = composite;
+        }
+        return inner;
+    }
+
+    private OperationProvidedRole addProvidedRole(final InterfaceProvidingRequiringEntity entity,
+            final OperationInterface operationInterface) {
+        final OperationProvidedRole role = this.named(RepositoryFactory.eINSTANCE.createOperationProvidedRole(),
+                "Provided IService");
+        role.setProvidedInterface__OperationProvidedRole(operationInterface);
+        entity.getProvidedRoles_InterfaceProvidingEntity().add(role);
+        return role;
+    }
+
+    private AssemblyContext addAssemblyContext(final ComposedStructure structure,
+            final RepositoryComponent component, final String name) {
+        final AssemblyContext context = this.named(CompositionFactory.eINSTANCE.createAssemblyContext(), name);
+        context.setEncapsulatedComponent__AssemblyContext(component);
+        structure.getAssemblyContexts__ComposedStructure().add(context);
+        return context;
+    }
+
+    private void addProvidedDelegation(final ComposedStructure structure, final OperationProvidedRole outerRole,
+            final AssemblyContext innerContext) {
+        final ProvidedDelegationConnector connector = this
+                .identified(CompositionFactory.eINSTANCE.createProvidedDelegationConnector());
+        connector.setOuterProvidedRole_ProvidedDelegationConnector(outerRole);
+        connector.setInnerProvidedRole_ProvidedDelegationConnector(
+                providedRole(innerContext.getEncapsulatedComponent__AssemblyContext()));
+        connector.setAssemblyContext_ProvidedDelegationConnector(innerContext);
+        structure.getConnectors__ComposedStructure().add(connector);
+    }
+
+    private UsageScenario createUsageScenario(final OperationProvidedRole systemRole,
+            final OperationSignature signature) {
+        final UsageScenario scenario = this.named(UsagemodelFactory.eINSTANCE.createUsageScenario(), "Scenario");
+        final OpenWorkload workload = UsagemodelFactory.eINSTANCE.createOpenWorkload();
+        workload.setInterArrivalTime_OpenWorkload(randomVariable(this.interArrivalTime));
+        scenario.setWorkload_UsageScenario(workload);
+
+        final ScenarioBehaviour behaviour = this.named(UsagemodelFactory.eINSTANCE.createScenarioBehaviour(),
+                "Behaviour");
+        final Start start = this.named(UsagemodelFactory.eINSTANCE.createStart(), "Start");
+        final EntryLevelSystemCall call = this.named(UsagemodelFactory.eINSTANCE.createEntryLevelSystemCall(),
+                "Call");
+        call.setProvidedRole_EntryLevelSystemCall(systemRole);
+        call.setOperationSignature__EntryLevelSystemCall(signature);
+        call.getInputParameterUsages_EntryLevelSystemCall().add(inputUsage("1"));
+        final Stop stop = this.named(UsagemodelFactory.eINSTANCE.createStop(), "Stop");
+        start.setSuccessor(call);
+        call.setSuccessor(stop);
+        behaviour.getActions_ScenarioBehaviour().add(start);
+        behaviour.getActions_ScenarioBehaviour().add(call);
+        behaviour.getActions_ScenarioBehaviour().add(stop);
+        scenario.setScenarioBehaviour_UsageScenario(behaviour);
+        return scenario;
+    }
+
+    /**
+     * @param value
+     *            the specification of the value.
+     * @return a usage characterising the value of the input parameter.
+     */
+    public static VariableUsage inputUsage(final String value) {
+        return variableUsage(INPUT_PARAMETER, value);
+    }
+
+    /**
+     * @param name
+     *            the name of the variable.
+     * @param value
+     *            the specification of the value.
+     * @return a usage characterising the value of the given variable.
+     */
+    public static VariableUsage variableUsage(final String name, final String value) {
+        final VariableReference reference = StoexFactory.eINSTANCE.createVariableReference();
+        reference.setReferenceName(name);
+        final VariableCharacterisation characterisation = ParameterFactory.eINSTANCE
+                .createVariableCharacterisation();
+        characterisation.setType(VariableCharacterisationType.VALUE);
+        characterisation.setSpecification_VariableCharacterisation(randomVariable(value));
+        final VariableUsage usage = ParameterFactory.eINSTANCE.createVariableUsage();
+        usage.setNamedReference__VariableUsage(reference);
+        usage.getVariableCharacterisation_VariableUsage().add(characterisation);
+        return usage;
+    }
+
+    /**
+     * @param specification
+     *            the stochastic expression.
+     * @return a random variable with the given specification.
+     */
+    public static PCMRandomVariable randomVariable(final String specification) {
+        final PCMRandomVariable randomVariable = CoreFactory.eINSTANCE.createPCMRandomVariable();
+        randomVariable.setSpecification(specification);
+        return randomVariable;
+    }
+
+    private static OperationProvidedRole providedRole(final RepositoryComponent component) {
+        return (OperationProvidedRole) component.getProvidedRoles_InterfaceProvidingEntity().get(0);
+    }
+
+    private static OperationRequiredRole requiredRole(final RepositoryComponent component) {
+        return (OperationRequiredRole) component.getRequiredRoles_InterfaceRequiringEntity().get(0);
+    }
+
+    private <T extends Identifier> T identified(final T element) {
+        element.setId("_benchmark" + this.nextId++);
+        return element;
+    }
+
+    private <T extends Identifier & org.palladiosimulator.pcm.core.entity.NamedElement> T named(final T element,
+            final String name) {
+        element.setEntityName(name);
+        return this.identified(element);
+    }
+
+    private static int checkAtLeast(final int value, final int minimum, final String description) {
+        if (value < minimum) {
+            throw new IllegalArgumentException(description + " must be at least " + minimum);
+        }
+        return value;
+    }
+}
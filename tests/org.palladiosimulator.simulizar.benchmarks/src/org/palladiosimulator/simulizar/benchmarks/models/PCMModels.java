@@ -0,0 +1,180 @@
+package org.palladiosimulator.simulizar.benchmarks.models;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.analyzer.workflow.configurations.AbstractPCMWorkflowRunConfiguration;
+import org.palladiosimulator.analyzer.workflow.jobs.LoadPCMModelsIntoBlackboardJob;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringPointRepository;
+import org.palladiosimulator.monitorrepository.MonitorRepository;
+import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.OperationSignature;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
+import org.palladiosimulator.pcm.resourcetype.ResourceRepository;
+import org.palladiosimulator.pcm.system.System;
+import org.palladiosimulator.pcm.usagemodel.UsageModel;
+
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+
+/**
+ * The in-memory models created by a {@link PCMModelBuilder}.
+ */
+public final class PCMModels {
+
+    private final ResourceRepository resourceTypes;
+    private final Repository repository;
+    private final System system;
+    private final ResourceEnvironment resourceEnvironment;
+    private final Allocation allocation;
+    private final UsageModel usageModel;
+    private final MeasuringPointRepository measuringPoints;
+    private final MonitorRepository monitorRepository;
+
+    PCMModels(final ResourceRepository resourceTypes, final Repository repository, final System system,
+            final ResourceEnvironment resourceEnvironment, final Allocation allocation, final UsageModel usageModel,
+            final MeasuringPointRepository measuringPoints, final MonitorRepository monitorRepository) {
+        super();
+        this.resourceTypes = resourceTypes;
+        this.repository = repository;
+        this.system = system;
+        this.resourceEnvironment = resourceEnvironment;
+        this.allocation = allocation;
+        this.usageModel = usageModel;
+        this.measuringPoints = measuringPoints;
+        this.monitorRepository = monitorRepository;
+    }
+
+    public ResourceRepository getResourceTypes() {
+        return this.resourceTypes;
+    }
+
+    public Repository getRepository() {
+        return this.repository;
+    }
+
+    public System getSystem() {
+        return this.system;
+    }
+
+    public ResourceEnvironment getResourceEnvironment() {
+        return this.resourceEnvironment;
+    }
+
+    public Allocation getAllocation() {
+        return this.allocation;
+    }
+
+    public UsageModel getUsageModel() {
+        return this.usageModel;
+    }
+
+    public MeasuringPointRepository getMeasuringPoints() {
+        return this.measuringPoints;
+    }
+
+    public MonitorRepository getMonitorRepository() {
+        return this.monitorRepository;
+    }
+
+    /**
+     * @return the role through which the system provides its service.
+     */
+    public OperationProvidedRole getSystemProvidedRole() {
+        return (OperationProvidedRole) this.system.getProvidedRoles_InterfaceProvidingEntity().get(0);
+    }
+
+    /**
+     * @return the signature of the service provided by the system.
+     */
+    public OperationSignature getSignature() {
+        return this.getSystemProvidedRole().getProvidedInterface__OperationProvidedRole()
+                .getSignatures__OperationInterface().get(0);
+    }
+
+    /**
+     * Creates a blackboard holding a copy of the models in its PCM partition, as
+     * {@link LoadPCMModelsIntoBlackboardJob} would do. The models of this instance are not
+     * modified, so that any number of blackboards can be created.
+     *
+     * @return the blackboard.
+     */
+    public MDSDBlackboard createBlackboard() {
+        final List<EObject> models = Arrays.asList(this.resourceTypes, this.repository, this.system,
+                this.resourceEnvironment, this.allocation, this.usageModel, this.measuringPoints,
+                this.monitorRepository);
+        final EcoreUtil.Copier copier = new EcoreUtil.Copier();
+        final Collection<EObject> copies = new ArrayList<EObject>(copier.copyAll(models));
+        copier.copyReferences();
+
+        final PCMResourceSetPartition partition = new PCMResourceSetPartition();
+        partition.initialiseResourceSetEPackages(AbstractPCMWorkflowRunConfiguration.PCM_EPACKAGES);
+        for (final EObject copy : copies) {
+            final Resource resource = new XMIResourceImpl(
+                    URI.createURI("benchmark:/models/" + copy.eClass().getName().toLowerCase()));
+            resource.getContents().add(copy);
+            partition.getResourceSet().getResources().add(resource);
+        }
+
+        final MDSDBlackboard blackboard = new MDSDBlackboard();
+        blackboard.addPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID, partition);
+        return blackboard;
+    }
+
+    /**
+     * Saves a copy of the models into files of their own in a folder, named <code>model</code>
+     * with the usual file extensions of the models, e.g., <code>model.allocation</code>. The
+     * models reference each other by relative URIs, so that the folder can be loaded like a model
+     * set created by the editors.
+     *
+     * @param folder
+     *            the folder to save the models into.
+     * @return the file URIs of the saved models by file extension.
+     * @throws IOException
+     *             if a model cannot be saved.
+     */
+    public Map<String, URI> save(final File folder) throws IOException {
+        final Map<String, EObject> models = new LinkedHashMap<String, EObject>();
+        models.put("resourcetype", this.resourceTypes);
+        models.put("repository", this.repository);
+        models.put("system", this.system);
+        models.put("resourceenvironment", this.resourceEnvironment);
+        models.put("allocation", this.allocation);
+        models.put("usagemodel", this.usageModel);
+        models.put("measuringpoint", this.measuringPoints);
+        models.put("monitorrepository", this.monitorRepository);
+        final EcoreUtil.Copier copier = new EcoreUtil.Copier();
+        final List<EObject> copies = new ArrayList<EObject>(copier.copyAll(models.values()));
+        copier.copyReferences();
+
+        final ResourceSet resourceSet = new ResourceSetImpl();
+        final Map<String, URI> uris = new LinkedHashMap<String, URI>();
+        int index = 0;
+        for (final String fileExtension : models.keySet()) {
+            final URI uri = URI.createFileURI(new File(folder, "model." + fileExtension).getAbsolutePath());
+            final Resource resource = new XMIResourceImpl(uri);
+            resource.getContents().add(copies.get(index++));
+            resourceSet.getResources().add(resource);
+            uris.put(fileExtension, uri);
+        }
+        for (final Resource resource : resourceSet.getResources()) {
+            resource.save(null);
+        }
+        return uris;
+    }
+}
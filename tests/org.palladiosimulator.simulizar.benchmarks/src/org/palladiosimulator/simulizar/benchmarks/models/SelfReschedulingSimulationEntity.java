@@ -0,0 +1,66 @@
+package org.palladiosimulator.simulizar.benchmarks.models;
+
+import de.uka.ipd.sdq.simucomframework.entities.SimuComEntity;
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+import de.uka.ipd.sdq.simulation.abstractsimengine.AbstractSimEventDelegator;
+
+/**
+ * A periodically triggered entity with an event of its own, which reschedules itself after each
+ * trigger, the way PeriodicallyTriggeredSimulationEntity was triggered before it was migrated onto
+ * the PeriodicTaskScheduler. The reference for the trigger times of the scheduler and the baseline
+ * of its benchmark.
+ */
+public final class SelfReschedulingSimulationEntity extends SimuComEntity {
+
+    private final Runnable action;
+    private TriggerEvent triggerEvent;
+
+    /**
+     * @param model
+     *            the simulation model.
+     * @param firstOccurrence
+     *            the simulation time from now until the first trigger.
+     * @param delay
+     *            the simulation time between two triggers.
+     * @param action
+     *            the action performed on each trigger.
+     */
+    public SelfReschedulingSimulationEntity(final SimuComModel model, final double firstOccurrence,
+            final double delay, final Runnable action) {
+        super(model, "SelfReschedulingSimulationEntity");
+        this.action = action;
+        this.triggerEvent = new TriggerEvent(model, delay);
+        this.triggerEvent.schedule(this, firstOccurrence);
+    }
+
+    /**
+     * Discards the event and schedules a new one.
+     */
+    public void setDelayAndReinitialize(final double nextOccurrence, final double delay) {
+        this.triggerEvent.removeEvent();
+        this.triggerEvent = new TriggerEvent(this.getModel(), delay);
+        this.triggerEvent.schedule(this, nextOccurrence);
+    }
+
+    public void stopScheduling() {
+        this.triggerEvent.removeEvent();
+    }
+
+    private static final class TriggerEvent extends AbstractSimEventDelegator<SelfReschedulingSimulationEntity> {
+
+        private final double delay;
+
+        private TriggerEvent(final SimuComModel model, final double delay) {
+            super(model, "SelfReschedulingEvent");
+            this.delay = delay;
+        }
+
+        @Override
+        public void eventRoutine(final SelfReschedulingSimulationEntity who) {
+            if (this.getModel().getSimulationControl().isRunning()) {
+                who.action.run();
+                this.schedule(who, this.delay);
+            }
+        }
+    }
+}
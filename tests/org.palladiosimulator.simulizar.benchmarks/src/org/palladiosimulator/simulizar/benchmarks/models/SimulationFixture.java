@@ -0,0 +1,240 @@
+package org.palladiosimulator.simulizar.benchmarks.models;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.palladiosimulator.edp2.impl.RepositoryManager;
+import org.palladiosimulator.edp2.models.Repository.Repository;
+import org.palladiosimulator.edp2.repository.local.LocalDirectoryRepositoryHelper;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorder;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorderConfigurationFactory;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentCursor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+
+import de.uka.ipd.sdq.simucomframework.SimuComConfig;
+
+/**
+ * A simulation run of in-memory models, set up the way {@link SimuLizarRuntimeState} is set up by
+ * the interpretation job, using the preferred simulation engine. Measurements are recorded into a
+ * temporary local EDP2 repository, which is removed by {@link #cleanUp()}.
+ * <p>
+ * Besides full simulation runs, the fixture provides the runtime state for micro-benchmarks of
+ * the interpreter. Tests configuring runs of their own build their configuration with the static
+ * methods of the fixture.
+ */
+public final class SimulationFixture {
+
+    /** Id of the SimuLizar simulator. */
+    public static final String SIMULATOR_ID = "de.uka.ipd.sdq.codegen.simucontroller.simulizar";
+    /** Name of the recorder writing columnar binary segments. */
+    public static final String COLUMNAR_RECORDER_NAME = "Columnar Binary Segments";
+
+    private static final int NUMBER_OF_SEEDS = 6;
+
+    private final File repositoryFolder;
+    private final Repository repository;
+    private final SimuLizarRuntimeState runtimeState;
+
+    /**
+     * @param models
+     *            the models to simulate; they are copied, so the fixture does not modify them.
+     * @param simulationTime
+     *            the simulation time after which the run stops; the number of measurements does not
+     *            stop the run.
+     * @throws IOException
+     *             if the temporary repository cannot be created.
+     */
+    public SimulationFixture(final PCMModels models, final long simulationTime) throws IOException {
+        super();
+        this.repositoryFolder = Files.createTempDirectory("simulizar-benchmark").toFile();
+        this.repository = LocalDirectoryRepositoryHelper.initializeLocalDirectoryRepository(this.repositoryFolder);
+        RepositoryManager.addRepository(RepositoryManager.getCentralRepository(), this.repository);
+
+        final Map<String, Object> properties = createSimulationProperties(simulationTime);
+        properties.put(SimuComConfig.PERSISTENCE_RECORDER_NAME,
+                org.palladiosimulator.recorderframework.edp2.Activator.EDP2_ID);
+        properties.put("EDP2RepositoryID", this.repository.getId());
+
+        this.runtimeState = new SimuLizarRuntimeState(createConfiguration(properties),
+                new ModelAccess(models.createBlackboard()), new SimulationCancelationDelegate(() -> false));
+    }
+
+    /**
+     * Creates the properties of a simulation run without failures and linking resources, using
+     * random seeds. The recorder is not set.
+     *
+     * @param simulationTime
+     *            the simulation time after which the run stops; the number of measurements does not
+     *            stop the run.
+     * @return the properties, which may be modified before creating the configuration.
+     */
+    public static Map<String, Object> createSimulationProperties(final long simulationTime) {
+        final Map<String, Object> properties = new HashMap<>();
+
+        properties.put(SimuComConfig.SIMULATE_FAILURES, false);
+        properties.put(SimuComConfig.SIMULATE_LINKING_RESOURCES, false);
+        properties.put(SimuComConfig.USE_FIXED_SEED, false);
+        properties.put(SimuComConfig.SIMULATOR_ID, SIMULATOR_ID);
+        properties.put(SimuComConfig.EXPERIMENT_RUN, SimuComConfig.DEFAULT_EXPERIMENT_RUN);
+        properties.put(SimuComConfig.SIMULATION_TIME, Long.toString(simulationTime));
+        properties.put(SimuComConfig.MAXIMUM_MEASUREMENT_COUNT, Long.toString(Long.MAX_VALUE));
+        properties.put(SimuComConfig.VERBOSE_LOGGING, false);
+        properties.put(SimuComConfig.VARIATION_ID, SimuComConfig.DEFAULT_VARIATION_NAME);
+        properties.put(SimulizarConstants.RECONFIGURATION_RULES_FOLDER,
+                SimulizarConstants.DEFAULT_RECONFIGURATION_RULES_FOLDER);
+
+        return properties;
+    }
+
+    /**
+     * Makes the run use fixed seeds, the seeds being consecutive numbers.
+     *
+     * @param properties
+     *            the properties of the run.
+     * @param firstSeed
+     *            the first seed.
+     */
+    public static void useFixedSeeds(final Map<String, Object> properties, final int firstSeed) {
+        properties.put(SimuComConfig.USE_FIXED_SEED, true);
+        for (int i = 0; i < NUMBER_OF_SEEDS; i++) {
+            properties.put(SimuComConfig.FIXED_SEED_PREFIX + i, Integer.toString(firstSeed + i));
+        }
+    }
+
+    /**
+     * Makes the run record its measurements into columnar binary segments.
+     *
+     * @param properties
+     *            the properties of the run.
+     * @param outputDirectory
+     *            the directory below which the segments of the run are written.
+     */
+    public static void useColumnarRecorder(final Map<String, Object> properties, final Path outputDirectory) {
+        properties.put(SimuComConfig.PERSISTENCE_RECORDER_NAME, COLUMNAR_RECORDER_NAME);
+        properties.put(ColumnarRecorderConfigurationFactory.OUTPUT_DIRECTORY, outputDirectory.toString());
+    }
+
+    /**
+     * Creates the configuration of a run of in-memory models, i.e., the models are not read from
+     * files.
+     *
+     * @param properties
+     *            the properties of the run, see {@link #createSimulationProperties(long)}.
+     * @return the configuration.
+     */
+    public static SimuLizarWorkflowConfiguration createConfiguration(final Map<String, Object> properties) {
+        final SimuLizarWorkflowConfiguration configuration = new SimuLizarWorkflowConfiguration(properties);
+        configuration.setMonitorRepositoryFile(SimulizarConstants.DEFAULT_MONITOR_REPOSITORY_FILE);
+        configuration.setServiceLevelObjectivesFile(SimulizarConstants.DEFAULT_SERVICELEVELOBJECTIVE_FILE);
+        configuration.setUsageEvolutionFile(SimulizarConstants.DEFAULT_USAGEEVOLUTION_FILE);
+        configuration.setSimuComConfiguration(new SimuComConfig(properties, false));
+        return configuration;
+    }
+
+    /**
+     * Reads the measurements of a run recorded by the columnar recorder, see
+     * {@link #useColumnarRecorder(Map, Path)}. The run must have recorded a single series.
+     *
+     * @param outputDirectory
+     *            the output directory of the run.
+     * @param metricId
+     *            the id of the measured metric besides the point in time.
+     * @return the point in time in seconds and the measured value of each measurement.
+     * @throws IOException
+     *             if the segment cannot be read.
+     * @throws IllegalStateException
+     *             if the directory does not hold a single run with a single segment.
+     */
+    public static List<double[]> readMeasurements(final Path outputDirectory, final String metricId)
+            throws IOException {
+        final File[] runs = outputDirectory.toFile().listFiles();
+        if (runs == null || runs.length != 1) {
+            throw new IllegalStateException("Expected a single run in " + outputDirectory);
+        }
+        final File[] segments = runs[0].listFiles((directory, name) -> name.endsWith(".segment"));
+        if (segments == null || segments.length != 1) {
+            throw new IllegalStateException("Expected a single segment in " + runs[0]);
+        }
+
+        try (final SegmentReader reader = new SegmentReader(segments[0])) {
+            final int timeColumn = reader.getHeader().indexOf(MetricDescriptionConstants.POINT_IN_TIME_METRIC.getId());
+            final int column = reader.getHeader().indexOf(metricId);
+            final double ticksPerSecond = ColumnarRecorder.getTicksPerSecond(reader.getHeader());
+            final SegmentCursor cursor = reader.cursor();
+            final List<double[]> result = new ArrayList<>();
+            while (cursor.next()) {
+                result.add(new double[] { cursor.getLong(timeColumn) / ticksPerSecond, cursor.getDouble(column) });
+            }
+            return result;
+        }
+    }
+
+    public SimuLizarRuntimeState getRuntimeState() {
+        return this.runtimeState;
+    }
+
+    /**
+     * Runs the simulation until the simulation time is reached or the simulation is stopped
+     * through its simulation control.
+     */
+    public void run() {
+        this.runtimeState.runSimulation();
+    }
+
+    /**
+     * Cleans up the runtime state and removes the temporary repository.
+     *
+     * @throws IOException
+     *             if the temporary repository cannot be removed.
+     */
+    public void cleanUp() throws IOException {
+        try {
+            this.runtimeState.cleanUp();
+        } finally {
+            RepositoryManager.removeRepository(RepositoryManager.getCentralRepository(), this.repository);
+            delete(this.repositoryFolder.toPath());
+        }
+    }
+
+    /**
+     * Deletes a folder and its contents.
+     *
+     * @param folder
+     *            the folder.
+     * @throws IOException
+     *             if a file or folder cannot be deleted.
+     */
+    public static void delete(final Path folder) throws IOException {
+        Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes)
+                    throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path directory, final IOException exception)
+                    throws IOException {
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
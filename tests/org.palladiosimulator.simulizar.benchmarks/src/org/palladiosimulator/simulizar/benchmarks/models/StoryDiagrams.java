@@ -0,0 +1,61 @@
+package org.palladiosimulator.simulizar.benchmarks.models;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.storydriven.storydiagrams.activities.ActivitiesFactory;
+import org.storydriven.storydiagrams.activities.Activity;
+import org.storydriven.storydiagrams.activities.ActivityEdge;
+import org.storydriven.storydiagrams.activities.ActivityFinalNode;
+import org.storydriven.storydiagrams.activities.InitialNode;
+
+/**
+ * Writes story diagram reconfiguration rules for benchmarks and tests.
+ */
+public final class StoryDiagrams {
+
+    private static final String STORYDIAGRAMS_FILE_EXTENSION = "sdm";
+
+    private StoryDiagrams() {
+    }
+
+    /**
+     * Writes a story diagram whose activity goes from its initial node straight to its final node,
+     * i.e., a rule which always fires without changing anything.
+     *
+     * @param folder
+     *            the reconfiguration rules folder.
+     * @param name
+     *            the name of the activity and of its file.
+     * @return the file of the story diagram.
+     * @throws IOException
+     *             if the file cannot be written.
+     */
+    public static File writeNoOpStoryDiagram(final Path folder, final String name) throws IOException {
+        Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap().putIfAbsent(STORYDIAGRAMS_FILE_EXTENSION,
+                new XMIResourceFactoryImpl());
+        final File file = folder.resolve(name + "." + STORYDIAGRAMS_FILE_EXTENSION).toFile();
+
+        final Activity activity = ActivitiesFactory.eINSTANCE.createActivity();
+        activity.setName(name);
+        final InitialNode start = ActivitiesFactory.eINSTANCE.createInitialNode();
+        final ActivityFinalNode stop = ActivitiesFactory.eINSTANCE.createActivityFinalNode();
+        final ActivityEdge edge = ActivitiesFactory.eINSTANCE.createActivityEdge();
+        edge.setSource(start);
+        edge.setTarget(stop);
+        activity.getOwnedActivityNodes().add(start);
+        activity.getOwnedActivityNodes().add(stop);
+        activity.getOwnedActivityEdges().add(edge);
+
+        final Resource resource = new XMIResourceImpl(URI.createFileURI(file.getPath()));
+        resource.getContents().add(activity);
+        resource.save(Collections.emptyMap());
+        return file;
+    }
+}
@@ -0,0 +1,122 @@
+package org.palladiosimulator.simulizar.recorder.columnar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.measure.Measure;
+import javax.measure.unit.SI;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.edp2.models.measuringpoint.StringMeasuringPoint;
+import org.palladiosimulator.measurementframework.TupleMeasurement;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.recorderframework.config.AbstractRecorderConfiguration;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorder;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorderConfiguration;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorderConfigurationFactory;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+
+public class ColumnarRecorderConfigurationFactoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ColumnarRecorderConfigurationFactory factory;
+    private Map<String, Object> runConfiguration;
+
+    @Before
+    public void setUp() {
+        this.factory = new ColumnarRecorderConfigurationFactory();
+        this.runConfiguration = new HashMap<String, Object>();
+        this.runConfiguration.put(ColumnarRecorderConfigurationFactory.OUTPUT_DIRECTORY,
+                this.folder.getRoot().getAbsolutePath());
+        this.runConfiguration.put("experimentRun", "Run 1");
+        this.runConfiguration.put("simulationTime", 100);
+        this.runConfiguration.put("measuringPoints", new Object());
+    }
+
+    @Test
+    public void testRunDirectoryIsCreatedBelowOutputDirectory() {
+        this.factory.initialize(this.runConfiguration);
+
+        final File runDirectory = this.factory.getRunDirectory();
+        assertTrue(runDirectory.isDirectory());
+        assertEquals(this.folder.getRoot().getAbsoluteFile(), runDirectory.getParentFile().getAbsoluteFile());
+        assertTrue(runDirectory.getName().startsWith("run-"));
+    }
+
+    @Test
+    public void testSegmentsAreNumberedWithinRunDirectory() {
+        this.factory.initialize(this.runConfiguration);
+
+        final ColumnarRecorderConfiguration first = this.createRecorderConfiguration();
+        final ColumnarRecorderConfiguration second = this.createRecorderConfiguration();
+
+        assertEquals(this.factory.getRunDirectory(), first.getSegmentFile().getParentFile());
+        assertEquals(this.factory.getRunDirectory(), second.getSegmentFile().getParentFile());
+        assertTrue(first.getSegmentFile().getName().matches("00000-Operation_call-.*\\.segment"));
+        assertTrue(second.getSegmentFile().getName().matches("00001-Operation_call-.*\\.segment"));
+    }
+
+    @Test
+    public void testSimpleRunAttributesBecomeMetadata() {
+        this.factory.initialize(this.runConfiguration);
+
+        final Map<String, String> metadata = this.createRecorderConfiguration().getRunMetadata();
+
+        assertTrue(metadata.containsKey(ColumnarRecorderConfigurationFactory.START_TIME_METADATA));
+        assertEquals("Run 1", metadata.get("experimentRun"));
+        assertEquals("100", metadata.get("simulationTime"));
+        assertFalse(metadata.containsKey("measuringPoints"));
+    }
+
+    @Test
+    public void testCompressValuesIsPassedOn() {
+        this.runConfiguration.put(ColumnarRecorderConfiguration.COMPRESS_VALUES, Boolean.FALSE);
+        this.factory.initialize(this.runConfiguration);
+
+        assertFalse(this.createRecorderConfiguration().isCompressValues());
+    }
+
+    @Test
+    public void testFinalizeClosesOpenSegments() throws IOException {
+        this.factory.initialize(this.runConfiguration);
+        final ColumnarRecorderConfiguration configuration = this.createRecorderConfiguration();
+        final ColumnarRecorder recorder = new ColumnarRecorder();
+        recorder.initialize(configuration);
+        recorder.writeData(new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                Measure.valueOf(1.0, SI.SECOND), Measure.valueOf(0.5, SI.SECOND)));
+
+        this.factory.finalizeRecorderConfigurationFactory();
+
+        try (final SegmentReader reader = new SegmentReader(configuration.getSegmentFile())) {
+            assertEquals("Run 1", reader.getHeader().getMetadata().get("experimentRun"));
+            assertEquals(1, reader.countSamples());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCreateBeforeInitializeFails() {
+        this.createRecorderConfiguration();
+    }
+
+    private ColumnarRecorderConfiguration createRecorderConfiguration() {
+        final StringMeasuringPoint measuringPoint = MeasuringpointFactory.eINSTANCE.createStringMeasuringPoint();
+        measuringPoint.setMeasuringPoint("Operation call");
+        final Map<String, Object> configuration = new HashMap<String, Object>();
+        configuration.put(AbstractRecorderConfiguration.RECORDER_ACCEPTED_METRIC,
+                MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE);
+        configuration.put(AbstractRecorderConfiguration.MEASURING_POINT, measuringPoint);
+        return (ColumnarRecorderConfiguration) this.factory.createRecorderConfiguration(configuration);
+    }
+}
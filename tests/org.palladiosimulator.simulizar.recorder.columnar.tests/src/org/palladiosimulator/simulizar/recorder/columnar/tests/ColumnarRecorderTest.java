@@ -0,0 +1,214 @@
+package org.palladiosimulator.simulizar.recorder.columnar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.measure.Measure;
+import javax.measure.quantity.Dimensionless;
+import javax.measure.unit.SI;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.edp2.models.measuringpoint.StringMeasuringPoint;
+import org.palladiosimulator.measurementframework.TupleMeasurement;
+import org.palladiosimulator.metricspec.MetricDescription;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.recorderframework.config.AbstractRecorderConfiguration;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorder;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorderConfiguration;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnDescriptor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnEncoding;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnType;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentCursor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+
+public class ColumnarRecorderTest {
+
+    private static final int SAMPLES = 2500;
+    private static final int RAW_PAIR_BYTES = 16;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPointsInTimeAreQuantizedAndResponseTimesRoundTripBitExactly() throws IOException {
+        final ColumnarRecorderConfiguration configuration = this
+                .createConfiguration(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE, null, null);
+        final ColumnarRecorder recorder = new ColumnarRecorder();
+        recorder.initialize(configuration);
+        final Random random = new Random(3);
+        double pointInTime = 0.0;
+        for (int i = 0; i < SAMPLES; i++) {
+            pointInTime += random.nextDouble();
+            recorder.writeData(new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                    Measure.valueOf(pointInTime, SI.SECOND), Measure.valueOf(random.nextDouble(), SI.SECOND)));
+        }
+        recorder.preUnregister();
+
+        try (final SegmentReader reader = new SegmentReader(configuration.getSegmentFile())) {
+            assertEquals("Operation call", reader.getHeader().getMeasuringPoint());
+            assertEquals(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE.getId(),
+                    reader.getHeader().getMetricId());
+            assertEquals(ColumnarRecorderConfiguration.DEFAULT_TICKS_PER_SECOND,
+                    ColumnarRecorder.getTicksPerSecond(reader.getHeader()));
+            final List<ColumnDescriptor> columns = reader.getHeader().getColumns();
+            assertEquals(2, columns.size());
+            assertColumn(columns.get(0), MetricDescriptionConstants.POINT_IN_TIME_METRIC, ColumnType.LONG,
+                    ColumnEncoding.DELTA_OF_DELTA);
+            assertColumn(columns.get(1), MetricDescriptionConstants.RESPONSE_TIME_METRIC, ColumnType.DOUBLE,
+                    ColumnEncoding.XOR);
+
+            final SegmentCursor cursor = reader.cursor();
+            final Random expected = new Random(3);
+            pointInTime = 0.0;
+            for (int i = 0; i < SAMPLES; i++) {
+                pointInTime += expected.nextDouble();
+                assertTrue(cursor.next());
+                assertEquals(Math.round(pointInTime * ColumnarRecorderConfiguration.DEFAULT_TICKS_PER_SECOND),
+                        cursor.getLong(0));
+                assertEquals(Double.doubleToRawLongBits(expected.nextDouble()),
+                        Double.doubleToRawLongBits(cursor.getDouble(1)));
+            }
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    public void testTicksPerSecondCanBeConfigured() throws IOException {
+        final ColumnarRecorderConfiguration configuration = this
+                .createConfiguration(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE, null, 1000L);
+        final ColumnarRecorder recorder = new ColumnarRecorder();
+        recorder.initialize(configuration);
+        recorder.writeData(new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                Measure.valueOf(2.0004, SI.SECOND), Measure.valueOf(1.0, SI.SECOND)));
+        recorder.writeData(new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                Measure.valueOf(2.0006, SI.SECOND), Measure.valueOf(1.0, SI.SECOND)));
+        recorder.preUnregister();
+
+        try (final SegmentReader reader = new SegmentReader(configuration.getSegmentFile())) {
+            assertEquals(1000L, ColumnarRecorder.getTicksPerSecond(reader.getHeader()));
+            final SegmentCursor cursor = reader.cursor();
+            assertTrue(cursor.next());
+            assertEquals(2000L, cursor.getLong(0));
+            assertTrue(cursor.next());
+            assertEquals(2001L, cursor.getLong(0));
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    public void testUncompressedValuesArePlainEncoded() throws IOException {
+        final ColumnarRecorderConfiguration configuration = this
+                .createConfiguration(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE, Boolean.FALSE, null);
+        final ColumnarRecorder recorder = new ColumnarRecorder();
+        recorder.initialize(configuration);
+        recorder.preUnregister();
+
+        try (final SegmentReader reader = new SegmentReader(configuration.getSegmentFile())) {
+            final List<ColumnDescriptor> columns = reader.getHeader().getColumns();
+            assertColumn(columns.get(0), MetricDescriptionConstants.POINT_IN_TIME_METRIC, ColumnType.LONG,
+                    ColumnEncoding.DELTA_OF_DELTA);
+            assertColumn(columns.get(1), MetricDescriptionConstants.RESPONSE_TIME_METRIC, ColumnType.DOUBLE,
+                    ColumnEncoding.PLAIN);
+            assertEquals(0, reader.countSamples());
+        }
+    }
+
+    @Test
+    public void testIntegralValuesAreDeltaOfDeltaEncoded() throws IOException {
+        final ColumnarRecorderConfiguration configuration = this.createConfiguration(
+                MetricDescriptionConstants.NUMBER_OF_RESOURCE_CONTAINERS_OVER_TIME, null, null);
+        final ColumnarRecorder recorder = new ColumnarRecorder();
+        recorder.initialize(configuration);
+        for (int i = 0; i < SAMPLES; i++) {
+            recorder.writeData(
+                    new TupleMeasurement(MetricDescriptionConstants.NUMBER_OF_RESOURCE_CONTAINERS_OVER_TIME,
+                            Measure.valueOf(i * 60.0, SI.SECOND), Measure.valueOf(i % 7L, Dimensionless.UNIT)));
+        }
+        recorder.preUnregister();
+
+        try (final SegmentReader reader = new SegmentReader(configuration.getSegmentFile())) {
+            final List<ColumnDescriptor> columns = reader.getHeader().getColumns();
+            assertColumn(columns.get(0), MetricDescriptionConstants.POINT_IN_TIME_METRIC, ColumnType.LONG,
+                    ColumnEncoding.DELTA_OF_DELTA);
+            assertColumn(columns.get(1), MetricDescriptionConstants.NUMBER_OF_RESOURCE_CONTAINERS, ColumnType.LONG,
+                    ColumnEncoding.DELTA_OF_DELTA);
+
+            final SegmentCursor cursor = reader.cursor();
+            for (int i = 0; i < SAMPLES; i++) {
+                assertTrue(cursor.next());
+                assertEquals(i * 60L * ColumnarRecorderConfiguration.DEFAULT_TICKS_PER_SECOND, cursor.getLong(0));
+                assertEquals(i % 7L, cursor.getLong(1));
+            }
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    public void testRecordedResponseTimesCompressAtLeastThreefold() throws IOException {
+        final int samples = 1000000;
+        final ColumnarRecorderConfiguration configuration = this
+                .createConfiguration(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE, null, null);
+        final ColumnarRecorder recorder = new ColumnarRecorder();
+        recorder.initialize(configuration);
+        // arrivals with jitter around a period of a millisecond, response times of a few distinct values
+        final Random random = new Random(7);
+        double pointInTime = 0.0;
+        for (int i = 0; i < samples; i++) {
+            pointInTime += (900 + random.nextInt(200)) / 1e6;
+            recorder.writeData(new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                    Measure.valueOf(pointInTime, SI.SECOND), Measure.valueOf(random.nextInt(8) / 4.0, SI.SECOND)));
+        }
+        recorder.preUnregister();
+
+        final long rawSize = (long) samples * RAW_PAIR_BYTES;
+        final long size = configuration.getSegmentFile().length();
+        assertTrue("Segment of " + size + " bytes is not 3x smaller than " + rawSize + " bytes", size * 3 <= rawSize);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWriteDataAfterUnregisterFails() throws IOException {
+        final ColumnarRecorder recorder = new ColumnarRecorder();
+        recorder.initialize(
+                this.createConfiguration(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE, null, null));
+        recorder.preUnregister();
+
+        recorder.writeData(new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                Measure.valueOf(1.0, SI.SECOND), Measure.valueOf(1.0, SI.SECOND)));
+    }
+
+    private ColumnarRecorderConfiguration createConfiguration(final MetricDescription metric,
+            final Boolean compressValues, final Long ticksPerSecond) throws IOException {
+        final StringMeasuringPoint measuringPoint = MeasuringpointFactory.eINSTANCE.createStringMeasuringPoint();
+        measuringPoint.setMeasuringPoint("Operation call");
+        final Map<String, Object> configuration = new HashMap<String, Object>();
+        configuration.put(AbstractRecorderConfiguration.RECORDER_ACCEPTED_METRIC, metric);
+        configuration.put(AbstractRecorderConfiguration.MEASURING_POINT, measuringPoint);
+        configuration.put(ColumnarRecorderConfiguration.SEGMENT_FILE, this.folder.newFile());
+        if (compressValues != null) {
+            configuration.put(ColumnarRecorderConfiguration.COMPRESS_VALUES, compressValues);
+        }
+        if (ticksPerSecond != null) {
+            configuration.put(ColumnarRecorderConfiguration.TICKS_PER_SECOND, ticksPerSecond);
+        }
+        final ColumnarRecorderConfiguration result = new ColumnarRecorderConfiguration();
+        result.setConfiguration(configuration);
+        return result;
+    }
+
+    private static void assertColumn(final ColumnDescriptor column, final MetricDescription metric,
+            final ColumnType type, final ColumnEncoding encoding) {
+        assertEquals(metric.getId(), column.getMetricId());
+        assertEquals(type, column.getType());
+        assertEquals(encoding, column.getEncoding());
+    }
+}
@@ -0,0 +1,132 @@
+package org.palladiosimulator.simulizar.recorder.columnar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.measure.Measure;
+import javax.measure.quantity.Quantity;
+import javax.measure.unit.SI;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.palladiosimulator.edp2.datastream.IDataStream;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.edp2.models.measuringpoint.StringMeasuringPoint;
+import org.palladiosimulator.measurementframework.MeasuringValue;
+import org.palladiosimulator.measurementframework.TupleMeasurement;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.recorderframework.config.AbstractRecorderConfiguration;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorder;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorderConfiguration;
+import org.palladiosimulator.simulizar.recorder.columnar.edp2.SegmentDataSource;
+
+public class SegmentDataSourceTest {
+
+    // more than a block of samples
+    private static final int SAMPLES = 100000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File segment;
+
+    @Before
+    public void setUp() throws IOException {
+        this.segment = this.folder.newFile();
+        final StringMeasuringPoint measuringPoint = MeasuringpointFactory.eINSTANCE.createStringMeasuringPoint();
+        measuringPoint.setMeasuringPoint("Operation call");
+        final Map<String, Object> configuration = new HashMap<String, Object>();
+        configuration.put(AbstractRecorderConfiguration.RECORDER_ACCEPTED_METRIC,
+                MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE);
+        configuration.put(AbstractRecorderConfiguration.MEASURING_POINT, measuringPoint);
+        configuration.put(ColumnarRecorderConfiguration.SEGMENT_FILE, this.segment);
+        final ColumnarRecorderConfiguration recorderConfiguration = new ColumnarRecorderConfiguration();
+        recorderConfiguration.setConfiguration(configuration);
+
+        final ColumnarRecorder recorder = new ColumnarRecorder();
+        recorder.initialize(recorderConfiguration);
+        for (int i = 0; i < SAMPLES; i++) {
+            recorder.writeData(new TupleMeasurement(MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE,
+                    Measure.valueOf(i * 0.5, SI.SECOND), Measure.valueOf(i % 10 / 4.0, SI.SECOND)));
+        }
+        recorder.preUnregister();
+    }
+
+    @Test
+    public void testTupleStreamReadsAllSamples() {
+        final IDataStream<MeasuringValue> stream = new SegmentDataSource(this.segment,
+                MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE).getDataStream();
+
+        assertTrue(stream.isCountKnown());
+        assertEquals(SAMPLES, stream.size());
+        int i = 0;
+        for (final MeasuringValue measurement : stream) {
+            final Measure<Double, Quantity> pointInTime = measurement
+                    .getMeasureForMetric(MetricDescriptionConstants.POINT_IN_TIME_METRIC);
+            final Measure<Double, Quantity> responseTime = measurement
+                    .getMeasureForMetric(MetricDescriptionConstants.RESPONSE_TIME_METRIC);
+            assertEquals(i * 0.5, pointInTime.doubleValue(SI.SECOND), 0.0);
+            assertEquals(i % 10 / 4.0, responseTime.doubleValue(SI.SECOND), 0.0);
+            i++;
+        }
+        assertEquals(SAMPLES, i);
+        stream.close();
+    }
+
+    @Test
+    public void testStreamCanBeIteratedRepeatedly() {
+        final IDataStream<MeasuringValue> stream = new SegmentDataSource(this.segment,
+                MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE).getDataStream();
+
+        assertEquals(count(stream.iterator()), count(stream.iterator()));
+        stream.close();
+    }
+
+    @Test
+    public void testBaseMetricStreamReadsSingleColumn() {
+        final IDataStream<MeasuringValue> stream = new SegmentDataSource(this.segment,
+                MetricDescriptionConstants.RESPONSE_TIME_METRIC).getDataStream();
+
+        final Iterator<MeasuringValue> iterator = stream.iterator();
+        iterator.next();
+        final MeasuringValue second = iterator.next();
+        final Measure<Double, Quantity> responseTime = second
+                .getMeasureForMetric(MetricDescriptionConstants.RESPONSE_TIME_METRIC);
+        assertEquals(0.25, responseTime.doubleValue(SI.SECOND), 0.0);
+        stream.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingColumnIsRejected() {
+        new SegmentDataSource(this.segment, MetricDescriptionConstants.WAITING_TIME_METRIC).getDataStream()
+                .iterator();
+    }
+
+    @Test
+    public void testExhaustedIteratorHasNoNext() {
+        final IDataStream<MeasuringValue> stream = new SegmentDataSource(this.segment,
+                MetricDescriptionConstants.RESPONSE_TIME_METRIC_TUPLE).getDataStream();
+
+        final Iterator<MeasuringValue> iterator = stream.iterator();
+        assertEquals(SAMPLES, count(iterator));
+        assertFalse(iterator.hasNext());
+    }
+
+    private static int count(final Iterator<MeasuringValue> iterator) {
+        int result = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            result++;
+        }
+        return result;
+    }
+}
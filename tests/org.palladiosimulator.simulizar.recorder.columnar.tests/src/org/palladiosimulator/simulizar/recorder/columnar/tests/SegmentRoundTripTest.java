@@ -0,0 +1,178 @@
+package org.palladiosimulator.simulizar.recorder.columnar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnDescriptor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnEncoding;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnType;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentCursor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentHeader;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentWriter;
+
+public class SegmentRoundTripTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testHeaderRoundTrip() throws IOException {
+        final Map<String, String> metadata = new LinkedHashMap<String, String>();
+        metadata.put("experimentRun", "Run 1");
+        metadata.put("startTime", "2016-01-01T00:00:00.000+0000");
+        final SegmentHeader header = new SegmentHeader("Response Time of Operation Call", "_responseTimeTuple",
+                metadata,
+                Arrays.asList(
+                        new ColumnDescriptor("_pointInTime", "us", ColumnType.LONG, ColumnEncoding.DELTA_OF_DELTA),
+                        new ColumnDescriptor("_responseTime", "s", ColumnType.DOUBLE, ColumnEncoding.XOR),
+                        new ColumnDescriptor("_count", "", ColumnType.LONG, ColumnEncoding.PLAIN)));
+        final File file = this.folder.newFile();
+        new SegmentWriter(file, header).close();
+
+        try (final SegmentReader reader = new SegmentReader(file)) {
+            final SegmentHeader readHeader = reader.getHeader();
+            assertEquals(header.getMeasuringPoint(), readHeader.getMeasuringPoint());
+            assertEquals(header.getMetricId(), readHeader.getMetricId());
+            assertEquals(metadata, readHeader.getMetadata());
+            assertEquals(header.getColumns(), readHeader.getColumns());
+            assertEquals(1, readHeader.indexOf("_responseTime"));
+            assertEquals(0, reader.countSamples());
+            assertFalse(reader.cursor().next());
+        }
+    }
+
+    @Test
+    public void testSpecialValuesRoundTripBitExactly() throws IOException {
+        final double[] values = { 0.0, -0.0, Double.NaN, Double.longBitsToDouble(0x7ff8dead0000beefL),
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE, 1.0, 1.0,
+                -Double.MAX_VALUE, 1e-300, 3.0, 3.0, 3.0, Long.MIN_VALUE, Long.MAX_VALUE };
+        final long[] longs = { 0, Long.MIN_VALUE, Long.MAX_VALUE, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE, 7, 7, 7, 8,
+                9, 10, 1L << 40, -(1L << 40), 1L << 62, -5 };
+        final File file = this.folder.newFile();
+        final SegmentHeader header = new SegmentHeader("mp", "metric", Collections.<String, String> emptyMap(),
+                Arrays.asList(new ColumnDescriptor("a", "", ColumnType.DOUBLE, ColumnEncoding.DELTA_OF_DELTA),
+                        new ColumnDescriptor("b", "", ColumnType.DOUBLE, ColumnEncoding.XOR),
+                        new ColumnDescriptor("c", "", ColumnType.DOUBLE, ColumnEncoding.PLAIN),
+                        new ColumnDescriptor("d", "", ColumnType.LONG, ColumnEncoding.DELTA_OF_DELTA),
+                        new ColumnDescriptor("e", "", ColumnType.LONG, ColumnEncoding.XOR)));
+        try (final SegmentWriter writer = new SegmentWriter(file, header, 5)) {
+            for (int i = 0; i < values.length; i++) {
+                writer.writeDouble(0, values[i]);
+                writer.writeDouble(1, values[i]);
+                writer.writeDouble(2, values[i]);
+                writer.writeLong(3, longs[i]);
+                writer.writeLong(4, longs[i]);
+                writer.endSample();
+            }
+        }
+
+        try (final SegmentReader reader = new SegmentReader(file)) {
+            final SegmentCursor cursor = reader.cursor();
+            for (int i = 0; i < values.length; i++) {
+                assertTrue(cursor.next());
+                for (int column = 0; column < 3; column++) {
+                    assertEquals(Double.doubleToRawLongBits(values[i]),
+                            Double.doubleToRawLongBits(cursor.getDouble(column)));
+                }
+                assertEquals(longs[i], cursor.getLong(3));
+                assertEquals(longs[i], cursor.getLong(4));
+            }
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    public void testTruncatedTailIsIgnored() throws IOException {
+        final File file = this.writeSequence(2500, 1000);
+        try (final RandomAccessFile truncated = new RandomAccessFile(file, "rw")) {
+            truncated.setLength(truncated.length() - 10);
+        }
+
+        this.assertSequence(file, 2000, true);
+    }
+
+    @Test
+    public void testCorruptedTailIsIgnored() throws IOException {
+        final File file = this.writeSequence(2500, 1000);
+        try (final RandomAccessFile corrupted = new RandomAccessFile(file, "rw")) {
+            final long position = corrupted.length() - 20;
+            corrupted.seek(position);
+            final int value = corrupted.read();
+            corrupted.seek(position);
+            corrupted.write(~value);
+        }
+
+        this.assertSequence(file, 2000, true);
+    }
+
+    @Test
+    public void testGarbageAfterLastBlockIsIgnored() throws IOException {
+        final File file = this.writeSequence(2500, 1000);
+        try (final RandomAccessFile appended = new RandomAccessFile(file, "rw")) {
+            appended.seek(appended.length());
+            appended.write(new byte[] { 1, 2, 3 });
+        }
+
+        this.assertSequence(file, 2500, true);
+    }
+
+    @Test
+    public void testFlushedBlocksAreReadableWhileWriting() throws IOException {
+        final File file = this.folder.newFile();
+        try (final SegmentWriter writer = new SegmentWriter(file, longTimestampHeader(ColumnEncoding.PLAIN), 100)) {
+            for (int i = 0; i < 150; i++) {
+                writer.writeLong(0, i * 10L);
+                writer.writeDouble(1, i / 2.0);
+                writer.endSample();
+            }
+            this.assertSequence(file, 100, false);
+            writer.flush();
+            this.assertSequence(file, 150, false);
+        }
+    }
+
+    private File writeSequence(final int samples, final int blockSize) throws IOException {
+        final File file = this.folder.newFile();
+        try (final SegmentWriter writer = new SegmentWriter(file, longTimestampHeader(ColumnEncoding.XOR), blockSize)) {
+            for (int i = 0; i < samples; i++) {
+                writer.writeLong(0, i * 10L);
+                writer.writeDouble(1, i / 2.0);
+                writer.endSample();
+            }
+        }
+        return file;
+    }
+
+    private void assertSequence(final File file, final int samples, final boolean truncated) throws IOException {
+        try (final SegmentReader reader = new SegmentReader(file)) {
+            assertEquals(samples, reader.countSamples());
+            final SegmentCursor cursor = reader.cursor();
+            for (int i = 0; i < samples; i++) {
+                assertTrue(cursor.next());
+                assertEquals(i * 10L, cursor.getLong(0));
+                assertEquals(i / 2.0, cursor.getDouble(1), 0.0);
+            }
+            assertFalse(cursor.next());
+            assertEquals(truncated, cursor.isTruncated());
+        }
+    }
+
+    private static SegmentHeader longTimestampHeader(final ColumnEncoding valueEncoding) {
+        return new SegmentHeader("mp", "metric", Collections.<String, String> emptyMap(),
+                Arrays.asList(new ColumnDescriptor("time", "us", ColumnType.LONG, ColumnEncoding.DELTA_OF_DELTA),
+                        new ColumnDescriptor("value", "", ColumnType.DOUBLE, valueEncoding)));
+    }
+}
@@ -0,0 +1,67 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.core.composition.CompositionFactory;
+import org.palladiosimulator.simulizar.interpreter.AssemblyContextPath;
+
+public class AssemblyContextPathTest {
+
+    private AssemblyContext outer;
+    private AssemblyContext inner;
+
+    @Before
+    public void setUp() {
+        this.outer = createAssemblyContext("outer");
+        this.inner = createAssemblyContext("inner");
+    }
+
+    @Test
+    public void testPushDoesNotModifyParentPath() {
+        final AssemblyContextPath parent = AssemblyContextPath.EMPTY.push(this.outer);
+        final AssemblyContextPath child = parent.push(this.inner);
+
+        assertEquals(1, parent.size());
+        assertSame(this.outer, parent.peek());
+        assertEquals(2, child.size());
+        assertSame(this.inner, child.peek());
+        assertSame(parent, child.pop());
+        assertTrue(AssemblyContextPath.EMPTY.isEmpty());
+    }
+
+    @Test
+    public void testToListStartsWithOutermostAssemblyContext() {
+        final AssemblyContextPath path = AssemblyContextPath.EMPTY.push(this.outer).push(this.inner);
+
+        assertEquals(Arrays.asList(this.outer, this.inner), path.toList());
+    }
+
+    @Test
+    public void testFindInnermost() {
+        final AssemblyContext innerWithOuterId = createAssemblyContext("outer");
+        final AssemblyContextPath path = AssemblyContextPath.EMPTY.push(this.outer).push(innerWithOuterId);
+
+        assertSame(innerWithOuterId, path.findInnermost("outer"));
+        assertNull(path.findInnermost("inner"));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPeekEmptyPath() {
+        AssemblyContextPath.EMPTY.peek();
+    }
+
+    private static AssemblyContext createAssemblyContext(final String id) {
+        final AssemblyContext assemblyContext = CompositionFactory.eINSTANCE.createAssemblyContext();
+        assemblyContext.setId(id);
+        return assemblyContext;
+    }
+}
@@ -0,0 +1,315 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.palladiosimulator.simulizar.confidence.AbstractBatchEstimator;
+import org.palladiosimulator.simulizar.confidence.BatchMeansEstimator;
+import org.palladiosimulator.simulizar.confidence.CompositeConfidenceStopCondition;
+import org.palladiosimulator.simulizar.confidence.ConfidenceProgress;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStatistic;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStopCondition;
+import org.palladiosimulator.simulizar.confidence.ConfidenceStopMode;
+import org.palladiosimulator.simulizar.confidence.ConfidenceTarget;
+import org.palladiosimulator.simulizar.confidence.P2QuantileEstimator;
+import org.palladiosimulator.simulizar.warmup.IWarmupDetector;
+import org.palladiosimulator.simulizar.warmup.WarmupDetectorType;
+
+/**
+ * Feeds confidence stop conditions with i.i.d. and autocorrelated series whose statistics are
+ * known analytically.
+ */
+public class ConfidenceStopConditionTest {
+
+    private static final int SEEDS = 40;
+    private static final long SAMPLE_LIMIT = 10000000;
+
+    /** 0.975-quantile of Student's t distribution with 31 degrees of freedom. */
+    private static final double STUDENT_QUANTILE_31 = 2.0395134463964;
+
+    @Test
+    public void testHalfWidthOfBatchMeans() {
+        final BatchMeansEstimator estimator = new BatchMeansEstimator(10);
+        final Random random = new Random(1);
+        final double[] samples = new double[1280];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = random.nextGaussian();
+            estimator.offerSample(samples[i]);
+        }
+        // the batches have been merged twice, to 32 batches of 40 samples
+        assertEquals(32, estimator.getBatchCount());
+        assertEquals(40, estimator.getBatchSize());
+
+        final double[] batchMeans = new double[32];
+        double mean = 0;
+        for (int i = 0; i < samples.length; i++) {
+            batchMeans[i / 40] += samples[i] / 40;
+            mean += samples[i] / samples.length;
+        }
+        double squaredDeviations = 0;
+        for (final double batchMean : batchMeans) {
+            squaredDeviations += (batchMean - mean) * (batchMean - mean);
+        }
+        final double expected = STUDENT_QUANTILE_31 * Math.sqrt(squaredDeviations / 31 / 32);
+        assertEquals(mean, estimator.getPointEstimate(), 1e-12);
+        assertEquals(expected, estimator.getHalfWidth(0.95), 1e-9);
+    }
+
+    /**
+     * The half-width of the mean of i.i.d. normal samples is z * sigma / sqrt(n), so the stop has
+     * to fire at about n = (z * sigma / h)^2 samples.
+     */
+    @Test
+    public void testStopAtAnalyticHalfWidthOfIndependentSamples() {
+        final double mean = 10.0;
+        final double sigma = 2.0;
+        final double halfWidth = 0.05;
+        final double expectedSamples = Math.pow(1.959964 * sigma / halfWidth, 2);
+
+        double ratios = 0;
+        for (int seed = 0; seed < SEEDS; seed++) {
+            final ConfidenceStopCondition condition = new ConfidenceStopCondition(
+                    new ConfidenceTarget("Monitor", "Metric", ConfidenceStatistic.MEAN, 0.5, 0.95, halfWidth, false, 20),
+                    null);
+            final Random random = new Random(seed);
+            final long samples = runUntilStop(condition, () -> mean + sigma * random.nextGaussian());
+
+            final ConfidenceProgress progress = condition.getProgress();
+            assertTrue(progress.isConfidenceReached());
+            assertTrue(progress.getHalfWidth() <= halfWidth);
+            assertTrue(progress.getBatchCount() >= ConfidenceStopCondition.MINIMUM_BATCHES);
+            assertEquals(mean, progress.getEstimate(), 3 * halfWidth);
+            final double ratio = samples / expectedSamples;
+            assertTrue("Stopped after " + samples + " samples, expected about " + expectedSamples,
+                    ratio > 0.3 && ratio < 3);
+            ratios += ratio;
+        }
+        assertEquals(1.0, ratios / SEEDS, 0.15);
+    }
+
+    /**
+     * The variance of the mean of an AR(1) series is sigma^2 / (1 - phi)^2 / n; an estimate from
+     * the variance of the samples would be too small by (1 + phi) / (1 - phi), i.e. 19 for phi =
+     * 0.9. Batch means have to estimate the larger variance, so that the intervals still cover the
+     * mean.
+     */
+    @Test
+    public void testBatchMeansOfAutocorrelatedSamples() {
+        final double mean = 10.0;
+        final double phi = 0.9;
+        final double relativeHalfWidth = 0.01;
+        final double expectedSamples = Math.pow(1.644854 / (1 - phi) / (relativeHalfWidth * mean), 2);
+
+        int covered = 0;
+        double ratios = 0;
+        for (int seed = 0; seed < SEEDS; seed++) {
+            final ConfidenceStopCondition condition = new ConfidenceStopCondition(new ConfidenceTarget("Monitor",
+                    "Metric", ConfidenceStatistic.MEAN, 0.5, 0.9, relativeHalfWidth, true, 10), null);
+            final Random random = new Random(seed);
+            final double[] state = { random.nextGaussian() / Math.sqrt(1 - phi * phi) };
+            final double[] variance = new double[3];
+            final long samples = runUntilStop(condition, () -> {
+                state[0] = phi * state[0] + random.nextGaussian();
+                final double value = mean + state[0];
+                // Welford over the samples, as if they were independent
+                variance[0]++;
+                final double deviation = value - variance[1];
+                variance[1] += deviation / variance[0];
+                variance[2] += deviation * (value - variance[1]);
+                return value;
+            });
+
+            final ConfidenceProgress progress = condition.getProgress();
+            if (Math.abs(progress.getEstimate() - mean) <= progress.getHalfWidth()) {
+                covered++;
+            }
+            final double naiveHalfWidth = 1.644854 * Math.sqrt(variance[2] / (variance[0] - 1) / variance[0]);
+            assertTrue(naiveHalfWidth < progress.getHalfWidth() / 2);
+            ratios += samples / expectedSamples;
+        }
+        assertTrue("Intervals covered the mean in " + covered + " of " + SEEDS + " runs", covered >= 0.8 * SEEDS);
+        assertEquals(1.0, ratios / SEEDS, 0.3);
+    }
+
+    @Test
+    public void testQuantileOfExponentialSamples() {
+        final double probability = 0.9;
+        final double quantile = -Math.log(1 - probability);
+
+        int covered = 0;
+        for (int seed = 0; seed < SEEDS; seed++) {
+            final ConfidenceStopCondition condition = new ConfidenceStopCondition(new ConfidenceTarget("Monitor",
+                    "Metric", ConfidenceStatistic.QUANTILE, probability, 0.9, 0.02, true, 200), null);
+            final Random random = new Random(seed);
+            runUntilStop(condition, () -> -Math.log(1 - random.nextDouble()));
+
+            final ConfidenceProgress progress = condition.getProgress();
+            assertEquals(quantile, progress.getEstimate(), 0.05 * quantile);
+            if (Math.abs(progress.getEstimate() - quantile) <= progress.getHalfWidth()) {
+                covered++;
+            }
+        }
+        assertTrue("Intervals covered the quantile in " + covered + " of " + SEEDS + " runs", covered >= 0.75 * SEEDS);
+    }
+
+    @Test
+    public void testP2QuantileOfUniformSamples() {
+        final Random random = new Random(4);
+        for (final double probability : new double[] { 0.1, 0.5, 0.99 }) {
+            final P2QuantileEstimator estimator = new P2QuantileEstimator(probability);
+            assertTrue(Double.isNaN(estimator.getQuantile()));
+            for (int i = 0; i < 100000; i++) {
+                estimator.offerSample(random.nextDouble());
+            }
+            assertEquals(probability, estimator.getQuantile(), 0.01);
+        }
+    }
+
+    @Test
+    public void testBatchesAreBounded() {
+        final BatchMeansEstimator estimator = new BatchMeansEstimator(1);
+        for (int i = 0; i < 1000000; i++) {
+            estimator.offerSample(i % 7);
+            assertTrue(estimator.getBatchCount() < AbstractBatchEstimator.MAXIMUM_BATCHES);
+        }
+        assertEquals(1000000, estimator.getSampleCount());
+        assertEquals(3.0, estimator.getPointEstimate(), 1e-3);
+    }
+
+    @Test
+    public void testCompositeCondition() {
+        final ConfidenceStopCondition precise = new ConfidenceStopCondition(
+                new ConfidenceTarget("Monitor", "Metric", ConfidenceStatistic.MEAN, 0.5, 0.95, 0.001, false, 10), null);
+        final ConfidenceStopCondition coarse = new ConfidenceStopCondition(
+                new ConfidenceTarget("Monitor", "Metric", ConfidenceStatistic.MEAN, 0.5, 0.95, 0.1, false, 10), null);
+        final CompositeConfidenceStopCondition allOf = new CompositeConfidenceStopCondition(ConfidenceStopMode.ALL_OF,
+                Arrays.asList(precise, coarse));
+        final CompositeConfidenceStopCondition anyOf = new CompositeConfidenceStopCondition(ConfidenceStopMode.ANY_OF,
+                Arrays.asList(precise, coarse));
+        final List<ConfidenceProgress> progress = new ArrayList<ConfidenceProgress>();
+        allOf.addProgressListener(progress::add);
+
+        final Random random = new Random(8);
+        while (!coarse.check()) {
+            assertFalse(anyOf.check());
+            precise.offerSample(random.nextGaussian());
+            coarse.offerSample(random.nextGaussian());
+        }
+        assertTrue(anyOf.check());
+        assertFalse(allOf.check());
+        while (!precise.check()) {
+            precise.offerSample(random.nextGaussian());
+            coarse.offerSample(random.nextGaussian());
+        }
+        assertTrue(allOf.check());
+
+        // both conditions report their batches
+        assertTrue(progress.contains(coarse.getProgress()));
+        assertTrue(progress.contains(precise.getProgress()));
+        assertTrue(progress.get(progress.size() - 1).isConfidenceReached());
+        assertNotNull(progress.get(0).toString());
+        assertFalse(new CompositeConfidenceStopCondition(ConfidenceStopMode.ANY_OF,
+                new ArrayList<ConfidenceStopCondition>()).check());
+    }
+
+    @Test
+    public void testMinimumBatches() {
+        final ConfidenceTarget target = new ConfidenceTarget("Monitor", "Metric", ConfidenceStatistic.MEAN, 0.5, 0.95,
+                0.1, true, 5);
+        final ConfidenceStopCondition condition = new ConfidenceStopCondition(target, null, target.createEstimator(),
+                5, null);
+        for (int i = 0; i < 24; i++) {
+            condition.offerSample(1.0);
+        }
+        assertFalse(condition.check());
+        condition.offerSample(1.0);
+        assertTrue(condition.check());
+        assertEquals(5, condition.getProgress().getBatchCount());
+    }
+
+    /**
+     * An exponential decay precedes i.i.d. normal samples; with a warm-up detector, the mean is
+     * only estimated from the steady state.
+     */
+    @Test
+    public void testWarmupIsExcludedFromEstimate() {
+        final double level = 10.0;
+        final ConfidenceTarget target = new ConfidenceTarget("Monitor", "Metric", ConfidenceStatistic.MEAN, 0.5, 0.95,
+                0.01, true, 10);
+        final IWarmupDetector detector = WarmupDetectorType.MSER5.createDetector(5, 1000);
+        final ConfidenceStopCondition condition = new ConfidenceStopCondition(target, null, target.createEstimator(),
+                ConfidenceStopCondition.MINIMUM_BATCHES, detector);
+
+        final Random random = new Random(4);
+        long samples = 0;
+        while (!condition.check()) {
+            if (++samples > SAMPLE_LIMIT) {
+                fail("Confidence not reached within " + SAMPLE_LIMIT + " samples");
+            }
+            condition.offerSample(samples * 0.5, level + 1000.0 * Math.exp(-samples / 200.0) + random.nextGaussian());
+        }
+
+        assertTrue(detector.isSteadyStateDetected());
+        assertEquals(samples, detector.getSampleCount() + condition.getEstimator().getSampleCount() - 1);
+        assertEquals(level, condition.getProgress().getEstimate(), 0.2);
+    }
+
+    @Test
+    public void testParseTargets() {
+        final List<ConfidenceTarget> targets = ConfidenceTarget.parse(
+                "monitor=Response Time of Login, metric=Response Time, halfWidth=0.05; "
+                        + "monitor=Utilization,metric=_id,statistic=quantile,p=0.95,level=0.9,halfWidth=0.5,"
+                        + "relative=false,batchSize=500;");
+        assertEquals(2, targets.size());
+        assertEquals("Response Time of Login", targets.get(0).getMonitorName());
+        assertEquals("Response Time", targets.get(0).getMetricName());
+        assertEquals(ConfidenceStatistic.MEAN, targets.get(0).getStatistic());
+        assertEquals(0.95, targets.get(0).getConfidenceLevel(), 0);
+        assertTrue(targets.get(0).isRelative());
+        assertEquals(ConfidenceTarget.DEFAULT_BATCH_SIZE, targets.get(0).getBatchSize());
+        assertEquals(0.5, targets.get(0).getTargetHalfWidth(10.0), 1e-12);
+
+        assertEquals(ConfidenceStatistic.QUANTILE, targets.get(1).getStatistic());
+        assertEquals(0.95, targets.get(1).getProbability(), 0);
+        assertEquals(0.9, targets.get(1).getConfidenceLevel(), 0);
+        assertEquals(0.5, targets.get(1).getTargetHalfWidth(10.0), 0);
+        assertEquals(500, targets.get(1).getBatchSize());
+        assertEquals(targets.get(1).toString(), ConfidenceTarget.parse(targets.get(1).toString()).get(0).toString());
+
+        assertTrue(ConfidenceTarget.parse(" ").isEmpty());
+        for (final String invalid : new String[] { "monitor=A,metric=B", "monitor=A,halfWidth=0.1",
+                "monitor=A,metric=B,halfWidth=0.1,statistic=quantile", "monitor=A,metric=B,halfWidth=0.1,level=1",
+                "monitor=A,metric=B,halfWidth" }) {
+            try {
+                ConfidenceTarget.parse(invalid);
+                fail("Parsed " + invalid);
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    private static long runUntilStop(final ConfidenceStopCondition condition, final SampleSource source) {
+        long samples = 0;
+        while (!condition.check()) {
+            if (++samples > SAMPLE_LIMIT) {
+                fail("Confidence not reached within " + SAMPLE_LIMIT + " samples");
+            }
+            condition.offerSample(source.next());
+        }
+        return samples;
+    }
+
+    private interface SampleSource {
+        double next();
+    }
+}
@@ -0,0 +1,82 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
+import org.palladiosimulator.pcm.usagemodel.UsageScenario;
+import org.palladiosimulator.simulizar.action.core.ControllerCall;
+import org.palladiosimulator.simulizar.action.core.CoreFactory;
+import org.palladiosimulator.simulizar.action.interpreter.util.ControllerScenarioTemplates;
+import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsage;
+import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsageCollection;
+import org.palladiosimulator.simulizar.action.parameter.ParameterFactory;
+
+public class ControllerScenarioTemplatesTest {
+
+    private static final int EXECUTIONS = 3;
+
+    private ControllerScenarioTemplates templates;
+    private ControllerCall controllerCall;
+    private OperationProvidedRole controllerRole;
+    private ControllerCallInputVariableUsage inputVariableUsage;
+    private ControllerCallInputVariableUsageCollection inputVariableUsages;
+
+    @Before
+    public void setUp() {
+        this.templates = new ControllerScenarioTemplates();
+        this.controllerCall = CoreFactory.eINSTANCE.createControllerCall();
+        this.controllerRole = RepositoryFactory.eINSTANCE.createOperationProvidedRole();
+
+        this.inputVariableUsage = ParameterFactory.eINSTANCE.createControllerCallInputVariableUsage();
+        this.inputVariableUsage.setCorrespondingControllerCall(this.controllerCall);
+        this.inputVariableUsage
+                .setVariableUsage(org.palladiosimulator.pcm.parameter.ParameterFactory.eINSTANCE.createVariableUsage());
+        this.inputVariableUsages = ParameterFactory.eINSTANCE.createControllerCallInputVariableUsageCollection();
+        this.inputVariableUsages.getControllerCallInputVariableUsages().add(this.inputVariableUsage);
+    }
+
+    @Test
+    public void testInputVariableUsagesArePresentOnEveryExecution() {
+        final VariableUsage variableUsage = this.inputVariableUsage.getVariableUsage();
+        for (int i = 0; i < EXECUTIONS; i++) {
+            final List<VariableUsage> usages = this.templates
+                    .getInputVariableUsagesPerControllerCall(this.inputVariableUsages).get(this.controllerCall);
+            final UsageScenario scenario = this.templates.getTemplate(this.controllerCall, this.controllerRole);
+
+            assertEquals(Collections.singletonList(variableUsage), usages);
+            assertSame(variableUsage, this.inputVariableUsage.getVariableUsage());
+            assertTrue(getEntryLevelSystemCall(scenario).getInputParameterUsages_EntryLevelSystemCall().isEmpty());
+        }
+    }
+
+    @Test
+    public void testTemplateIsCreatedOncePerCallAndRole() {
+        final UsageScenario scenario = this.templates.getTemplate(this.controllerCall, this.controllerRole);
+        for (int i = 0; i < EXECUTIONS; i++) {
+            assertSame(scenario, this.templates.getTemplate(this.controllerCall, this.controllerRole));
+        }
+        assertEquals(1, this.templates.getNumberOfCreatedTemplates());
+
+        final OperationProvidedRole otherRole = RepositoryFactory.eINSTANCE.createOperationProvidedRole();
+        final UsageScenario otherScenario = this.templates.getTemplate(this.controllerCall, otherRole);
+        assertNotSame(scenario, otherScenario);
+        assertSame(otherRole, getEntryLevelSystemCall(otherScenario).getProvidedRole_EntryLevelSystemCall());
+        assertEquals(2, this.templates.getNumberOfCreatedTemplates());
+    }
+
+    private static EntryLevelSystemCall getEntryLevelSystemCall(final UsageScenario scenario) {
+        return (EntryLevelSystemCall) scenario.getScenarioBehaviour_UsageScenario().getActions_ScenarioBehaviour()
+                .get(1);
+    }
+}
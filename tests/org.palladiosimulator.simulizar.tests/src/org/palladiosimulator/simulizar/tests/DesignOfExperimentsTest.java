@@ -0,0 +1,165 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.analyzer.workflow.jobs.LoadPCMModelsIntoBlackboardJob;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.pcm.usagemodel.OpenWorkload;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.elasticity.doe.DesignOfExperimentsConfiguration;
+import org.palladiosimulator.simulizar.elasticity.doe.DesignParameter;
+import org.palladiosimulator.simulizar.elasticity.doe.FullFactorialDesign;
+import org.palladiosimulator.simulizar.elasticity.doe.ModelDesignParameter;
+import org.palladiosimulator.simulizar.elasticity.jobs.RunDesignOfExperimentsJob;
+import org.palladiosimulator.simulizar.launcher.jobs.LoadSimuLizarModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorderConfigurationFactory;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentCursor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+
+import de.uka.ipd.sdq.simucomframework.SimuComConfig;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+
+/**
+ * Simulates the design points of a design of experiments concurrently, each design point varying
+ * the inter-arrival time of the open workload. The design points must neither see each other's
+ * models nor modify the models of the blackboard.
+ */
+public class DesignOfExperimentsTest {
+
+    private static final long SIMULATION_TIME = 200;
+    private static final String INTER_ARRIVAL_TIME = "5.0";
+
+    private PCMModels models;
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        this.models = new PCMModelBuilder().monitors(1).cpuDemand("0.1").interArrivalTime(INTER_ARRIVAL_TIME)
+                .build();
+        this.folder = Files.createTempDirectory("simulizar-doe");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SimulationFixture.delete(this.folder);
+    }
+
+    @Test
+    public void testConcurrentDesignPointsAreIsolated() throws Exception {
+        final MDSDBlackboard blackboard = this.models.createBlackboard();
+        blackboard.addPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID,
+                this.models.createBlackboard().getPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID));
+        final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+        final DesignParameter interArrivalTime = new ModelDesignParameter("interArrivalTime",
+                this.getWorkload().getId(),
+                "interArrivalTime_OpenWorkload.specification", "%.1f", 1.0, 20.0) {
+
+            @Override
+            public void apply(final Map<String, Object> attributes, final ResourceSet models, final String value) {
+                super.apply(attributes, models, value);
+                threads.add(Thread.currentThread().getName());
+                attributes.put(ColumnarRecorderConfigurationFactory.OUTPUT_DIRECTORY,
+                        new File(DesignOfExperimentsTest.this.folder.toFile(), value).getPath());
+            }
+        };
+
+        final RunDesignOfExperimentsJob job = new RunDesignOfExperimentsJob(this.createConfiguration(),
+                Arrays.asList(interArrivalTime), new FullFactorialDesign(), 2);
+        job.setBlackboard(blackboard);
+        job.execute(new NullProgressMonitor());
+
+        assertEquals(2, job.getExecutedDesignPoints().size());
+        assertEquals("Both design points have to be simulated at the same time", 2, threads.size());
+        // about 200 and 10 users arrive, each changing the state of the CPU twice
+        final long fast = this.countCpuStateSamples("1.0");
+        final long slow = this.countCpuStateSamples("20.0");
+        assertTrue("Samples of the short inter-arrival time: " + fast, fast >= 2 * 150);
+        assertTrue("Samples of the long inter-arrival time: " + slow, slow <= 2 * 11);
+
+        for (final String partitionId : Arrays.asList(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID,
+                LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID)) {
+            final PCMResourceSetPartition partition = (PCMResourceSetPartition) blackboard.getPartition(partitionId);
+            final OpenWorkload workload = (OpenWorkload) partition.getUsageModel().getUsageScenario_UsageModel()
+                    .get(0).getWorkload_UsageScenario();
+            assertEquals("The design points must not modify " + partitionId, INTER_ARRIVAL_TIME,
+                    workload.getInterArrivalTime_OpenWorkload().getSpecification());
+        }
+    }
+
+    @Test
+    public void testParametersAreReadFromAttributes() {
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(DesignOfExperimentsConfiguration.PARAMETERS,
+                "arrivals;model:_workload#interArrivalTime_OpenWorkload.specification;Exp(%s);0.5, 1,2\n\n"
+                        + "time;config:" + SimuComConfig.SIMULATION_TIME + ";%.0f;100,200");
+        attributes.put(DesignOfExperimentsConfiguration.PARALLELISM, "4");
+
+        final DesignOfExperimentsConfiguration configuration = new DesignOfExperimentsConfiguration(attributes);
+
+        assertEquals(2, configuration.getParameters().size());
+        assertEquals("arrivals", configuration.getParameters().get(0).getName());
+        assertTrue(Arrays.equals(new double[] { 0.5, 1, 2 }, configuration.getParameters().get(0).getLevels()));
+        assertEquals(SimuComConfig.SIMULATION_TIME, configuration.getParameters().get(1).getName());
+        assertTrue(configuration.getDesign() instanceof FullFactorialDesign);
+        assertEquals(4, configuration.getParallelism());
+        assertEquals(6, configuration.getDesign().createDesignPoints(configuration.getParameters()).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedParameterIsRejected() {
+        DesignOfExperimentsConfiguration.parseParameters("arrivals;_workload;%s;1,2");
+    }
+
+    private OpenWorkload getWorkload() {
+        return (OpenWorkload) this.models.getUsageModel().getUsageScenario_UsageModel().get(0)
+                .getWorkload_UsageScenario();
+    }
+
+    private long countCpuStateSamples(final String value) throws IOException {
+        final File[] runs = new File(this.folder.toFile(), value).listFiles();
+        assertEquals(1, runs.length);
+        long result = 0;
+        for (final File segment : runs[0].listFiles((directory, name) -> name.endsWith(".segment"))) {
+            try (final SegmentReader reader = new SegmentReader(segment)) {
+                if (!MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC_TUPLE.getId()
+                        .equals(reader.getHeader().getMetricId())) {
+                    continue;
+                }
+                final SegmentCursor cursor = reader.cursor();
+                while (cursor.next()) {
+                    result++;
+                }
+            }
+        }
+        return result;
+    }
+
+    private SimuLizarWorkflowConfiguration createConfiguration() {
+        final Map<String, Object> properties = SimulationFixture.createSimulationProperties(SIMULATION_TIME);
+        SimulationFixture.useFixedSeeds(properties, 1);
+        // the design points write their segments to directories of their own
+        SimulationFixture.useColumnarRecorder(properties, this.folder);
+        return SimulationFixture.createConfiguration(properties);
+    }
+}
@@ -0,0 +1,262 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.analyzer.workflow.ConstantsContainer;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.analyzer.workflow.configurations.AbstractPCMWorkflowRunConfiguration;
+import org.palladiosimulator.analyzer.workflow.jobs.LoadPCMModelsIntoBlackboardJob;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.Repository;
+import org.palladiosimulator.pcm.repository.RepositoryComponent;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.events.EventsTransformationConfiguration;
+import org.palladiosimulator.simulizar.events.EventsTransformationWorkflowExtensionJob;
+
+import de.uka.ipd.sdq.workflow.jobs.JobFailedException;
+import de.uka.ipd.sdq.workflow.jobs.UserCanceledException;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+
+/**
+ * Runs the events transformation job twice on the same models. The second run has to take the
+ * transformed models from the cache instead of transforming the models again, and has to end up
+ * with the same models. Most tests replace the transformation by one adding a component to the
+ * repository and loading the event middleware repository, so that they run on builder models
+ * without events; one test transforms the event models of the test resources.
+ */
+public class EventsTransformationCacheTest {
+
+    private static final String MIDDLEWARE_COMPONENT_ID = "_eventMiddlewareComponent";
+    private static final String EVENT_MODELS = "/org.palladiosimulator.simulizar.tests/testmodel/events/events.";
+
+    private PCMModels models;
+    private Path folder;
+    private Path storageFolder;
+    private String cacheFolder;
+    private String middlewareFile;
+
+    @Before
+    public void setUp() throws IOException {
+        this.models = new PCMModelBuilder().build();
+        this.folder = Files.createTempDirectory("simulizar-events-cache");
+        this.storageFolder = this.folder.resolve("storage");
+        this.cacheFolder = this.folder.resolve("cache").toString();
+
+        final File middleware = this.folder.resolve("middleware.repository").toFile();
+        final Repository repository = RepositoryFactory.eINSTANCE.createRepository();
+        repository.setId("_eventMiddlewareRepository");
+        repository.setEntityName("Event Middleware");
+        final Resource resource = new XMIResourceImpl(URI.createFileURI(middleware.getAbsolutePath()));
+        resource.getContents().add(repository);
+        resource.save(Collections.emptyMap());
+        this.middlewareFile = middleware.getAbsolutePath();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SimulationFixture.delete(this.folder);
+    }
+
+    @Test
+    public void testSecondRunTakesTransformedModelsFromCache() throws Exception {
+        final MDSDBlackboard transformed = this.models.createBlackboard();
+        assertEquals(1, this.run(transformed));
+        final MDSDBlackboard cached = this.models.createBlackboard();
+        assertEquals(0, this.run(cached));
+
+        assertSameModels(resourceSet(transformed), resourceSet(cached));
+        assertNotNull(resourceSet(cached).getEObject(
+                URI.createURI("benchmark:/models/repository#" + MIDDLEWARE_COMPONENT_ID), false));
+    }
+
+    @Test
+    public void testEventModelsAreTransformedOnceUntilASubscriberChanges() throws Exception {
+        final MDSDBlackboard transformed = loadEventModels();
+        assertEquals(1, this.runTransformation(transformed));
+        assertFalse(EcoreUtil.equals(partition(loadEventModels()).getSystem(), partition(transformed).getSystem()));
+        final MDSDBlackboard cached = loadEventModels();
+        assertEquals(0, this.runTransformation(cached));
+        assertSameModels(resourceSet(transformed), resourceSet(cached));
+
+        final MDSDBlackboard changed = loadEventModels();
+        for (final RepositoryComponent component : partition(changed).getRepositories().get(0)
+                .getComponents__Repository()) {
+            if ("Subscriber".equals(component.getEntityName())) {
+                component.setEntityName("Changed subscriber");
+            }
+        }
+        assertEquals(1, this.runTransformation(changed));
+    }
+
+    @Test
+    public void testChangedComponentInvalidatesCache() throws Exception {
+        assertEquals(1, this.run(this.models.createBlackboard()));
+        this.models.getRepository().getComponents__Repository().get(0).setEntityName("Changed component");
+        assertEquals(1, this.run(this.models.createBlackboard()));
+    }
+
+    @Test
+    public void testChangedUsageModelKeepsCache() throws Exception {
+        assertEquals(1, this.run(this.models.createBlackboard()));
+        this.models.getUsageModel().getUsageScenario_UsageModel().get(0).setEntityName("Changed scenario");
+        assertEquals(0, this.run(this.models.createBlackboard()));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsDeleted() throws Exception {
+        final String originalName = this.models.getRepository().getComponents__Repository().get(0).getEntityName();
+        assertEquals(1, this.run(this.models.createBlackboard(), 0));
+        this.models.getRepository().getComponents__Repository().get(0).setEntityName("Changed component");
+        assertEquals(1, this.run(this.models.createBlackboard(), 0));
+        assertEquals(0, this.run(this.models.createBlackboard(), 0));
+
+        // the first entry has been deleted to keep the cache within its size limit
+        this.models.getRepository().getComponents__Repository().get(0).setEntityName(originalName);
+        assertEquals(1, this.run(this.models.createBlackboard(), 0));
+    }
+
+    @Test
+    public void testCacheHitStoresTransformedModels() throws Exception {
+        assertEquals(1, this.run(this.models.createBlackboard(),
+                EventsTransformationWorkflowExtensionJob.DEFAULT_CACHE_SIZE, true));
+        final List<String> stored = this.storedModels();
+        assertTrue(stored.contains("middleware.repository"));
+
+        SimulationFixture.delete(this.storageFolder);
+        assertEquals(0, this.run(this.models.createBlackboard(),
+                EventsTransformationWorkflowExtensionJob.DEFAULT_CACHE_SIZE, true));
+        assertEquals(stored, this.storedModels());
+    }
+
+    private List<String> storedModels() {
+        final String[] names = this.storageFolder.toFile().list();
+        if (names == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(names);
+        return Arrays.asList(names);
+    }
+
+    private int run(final MDSDBlackboard blackboard) throws Exception {
+        return this.run(blackboard, EventsTransformationWorkflowExtensionJob.DEFAULT_CACHE_SIZE);
+    }
+
+    private int run(final MDSDBlackboard blackboard, final long cacheSize) throws Exception {
+        return this.run(blackboard, cacheSize, false);
+    }
+
+    private int run(final MDSDBlackboard blackboard, final long cacheSize, final boolean storeTransformedModels)
+            throws Exception {
+        return this.run(new StubEventsTransformationJob(), blackboard, this.middlewareFile, cacheSize,
+                storeTransformedModels);
+    }
+
+    private int runTransformation(final MDSDBlackboard blackboard) throws Exception {
+        return this.run(new CountingEventsTransformationJob(), blackboard,
+                ConstantsContainer.DEFAULT_EVENT_MIDDLEWARE_FILE,
+                EventsTransformationWorkflowExtensionJob.DEFAULT_CACHE_SIZE, false);
+    }
+
+    /**
+     * @return the number of times the models have been transformed.
+     */
+    private int run(final CountingEventsTransformationJob job, final MDSDBlackboard blackboard,
+            final String middlewareFile, final long cacheSize, final boolean storeTransformedModels)
+            throws Exception {
+        job.setBlackboard(blackboard);
+        job.setJobConfiguration(new EventsTransformationConfiguration(true, middlewareFile,
+                this.storageFolder.toString(), storeTransformedModels, this.cacheFolder, cacheSize));
+        job.execute(new NullProgressMonitor());
+        return job.transformations;
+    }
+
+    private static MDSDBlackboard loadEventModels() {
+        final PCMResourceSetPartition partition = new PCMResourceSetPartition();
+        partition.initialiseResourceSetEPackages(AbstractPCMWorkflowRunConfiguration.PCM_EPACKAGES);
+        for (final String extension : Arrays.asList("repository", "system", "resourceenvironment", "allocation")) {
+            partition.loadModel(URI.createPlatformPluginURI(EVENT_MODELS + extension, true));
+        }
+        final MDSDBlackboard blackboard = new MDSDBlackboard();
+        blackboard.addPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID, partition);
+        return blackboard;
+    }
+
+    private static void assertSameModels(final ResourceSet expected, final ResourceSet actual) {
+        assertEquals(expected.getResources().size(), actual.getResources().size());
+        for (final Resource expectedResource : expected.getResources()) {
+            final Resource actualResource = actual.getResource(expectedResource.getURI(), false);
+            assertNotNull(expectedResource.getURI().toString(), actualResource);
+            assertTrue(expectedResource.getURI().toString(),
+                    EcoreUtil.equals(expectedResource.getContents(), actualResource.getContents()));
+        }
+    }
+
+    private static PCMResourceSetPartition partition(final MDSDBlackboard blackboard) {
+        return (PCMResourceSetPartition) blackboard
+                .getPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID);
+    }
+
+    private static ResourceSet resourceSet(final MDSDBlackboard blackboard) {
+        return partition(blackboard).getResourceSet();
+    }
+
+    /**
+     * Counts the transformations of the models.
+     */
+    private static class CountingEventsTransformationJob extends EventsTransformationWorkflowExtensionJob {
+
+        protected int transformations = 0;
+
+        @Override
+        protected void transform(final EventsTransformationConfiguration configuration,
+                final IProgressMonitor monitor) throws JobFailedException, UserCanceledException {
+            this.transformations++;
+            super.transform(configuration, monitor);
+        }
+    }
+
+    /**
+     * Adds a middleware component to the repository and loads the event middleware repository
+     * instead of transforming the models.
+     */
+    private static final class StubEventsTransformationJob extends CountingEventsTransformationJob {
+
+        @Override
+        protected void transform(final EventsTransformationConfiguration configuration,
+                final IProgressMonitor monitor) {
+            this.transformations++;
+            final ResourceSet resourceSet = resourceSet(this.myBlackboard);
+            resourceSet.getResource(URI.createFileURI(configuration.eventMiddlewareFile), true);
+            final Repository repository = (Repository) resourceSet
+                    .getResource(URI.createURI("benchmark:/models/repository"), false).getContents().get(0);
+            final BasicComponent component = RepositoryFactory.eINSTANCE.createBasicComponent();
+            component.setId(MIDDLEWARE_COMPONENT_ID);
+            component.setEntityName("Event Middleware Adapter");
+            repository.getComponents__Repository().add(component);
+        }
+    }
+}
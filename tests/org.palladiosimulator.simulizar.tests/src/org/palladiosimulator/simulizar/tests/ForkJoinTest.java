@@ -0,0 +1,163 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+import org.junit.After;
+import org.junit.Test;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.pcm.core.composition.CompositionFactory;
+import org.palladiosimulator.pcm.seff.ForkAction;
+import org.palladiosimulator.pcm.seff.ForkedBehaviour;
+import org.palladiosimulator.pcm.seff.InternalAction;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.interpreter.InterpreterDefaultContext;
+import org.palladiosimulator.simulizar.interpreter.listener.AbstractInterpreterListener;
+import org.palladiosimulator.simulizar.interpreter.listener.ModelElementPassedEvent;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+
+/**
+ * Simulates requests each forking {@value #BRANCHES} synchronous behaviours. Forked behaviours
+ * share switches and read the stack frame of the forking process through a copy-on-write view;
+ * the results have to be the same as if each forked behaviour had a switch and a copy of the stack
+ * frame of its own: each forked behaviour is interpreted once per fork, evaluates the input
+ * parameter of the service in its resource demand, and the request continues after the join.
+ */
+public class ForkJoinTest {
+
+    private static final int BRANCHES = 16;
+    private static final int ITERATIONS = 100000;
+    private static final long SERIES_SIMULATION_TIME = 1000;
+    private static final String BRANCH_DEMAND = PCMModelBuilder.INPUT_PARAMETER + ".VALUE * 10";
+    private static final double DELTA = 1e-6;
+    private static final String VARIABLE = "forked.VALUE";
+
+    private SimulationFixture fixture;
+    private Path folder;
+
+    @After
+    public void tearDown() throws IOException {
+        if (this.fixture != null) {
+            this.fixture.cleanUp();
+        }
+        if (this.folder != null) {
+            SimulationFixture.delete(this.folder);
+        }
+    }
+
+    @Test
+    public void testForkedBehavioursAreInterpretedOncePerFork() throws IOException {
+        // arrivals do not coincide with the end of the run, so that no fork is cut off
+        this.fixture = new SimulationFixture(new PCMModelBuilder().forkWidth(BRANCHES)
+                .cpuDemand(PCMModelBuilder.INPUT_PARAMETER + ".VALUE * 0.001").interArrivalTime("0.999").build(),
+                ITERATIONS);
+        final Map<EObject, long[]> passedForkedBehaviours = new HashMap<EObject, long[]>();
+        final long[] joinedForks = new long[1];
+        this.fixture.getRuntimeState().getEventNotificationHelper().addObserver(new AbstractInterpreterListener() {
+
+            @Override
+            public <T extends EObject> void endUnknownElementInterpretation(final ModelElementPassedEvent<T> event) {
+                final T element = event.getModelElement();
+                if (element instanceof ForkAction) {
+                    joinedForks[0]++;
+                } else if (element instanceof InternalAction && element.eContainer() instanceof ForkedBehaviour) {
+                    passedForkedBehaviours.computeIfAbsent(element.eContainer(), behaviour -> new long[1])[0]++;
+                }
+            }
+        });
+        this.fixture.run();
+
+        assertTrue("Joined forks: " + joinedForks[0], joinedForks[0] >= ITERATIONS);
+        assertEquals(BRANCHES, passedForkedBehaviours.size());
+        for (final long[] passed : passedForkedBehaviours.values()) {
+            assertEquals(joinedForks[0], passed[0]);
+        }
+    }
+
+    /**
+     * The requests do not overlap and the CPU is shared by the forked behaviours, so a request
+     * forking two blocks of {@value #BRANCHES} behaviours takes as long as a request without forks
+     * demanding the total demand of the forked behaviours sequentially. The second block of each
+     * request is interpreted by the switches released by the first one.
+     */
+    @Test
+    public void testResponseTimesMatchSequentialDemand() throws IOException {
+        this.folder = Files.createTempDirectory("simulizar-fork-join");
+        final List<double[]> forked = simulateResponseTimes(new PCMModelBuilder().seffDepth(2)
+                .forkWidth(BRANCHES).cpuDemand(BRANCH_DEMAND).responseTimeMonitor(true).build(),
+                this.folder.resolve("forked"));
+        // the internal action of each block plus the forked behaviours of each block
+        final int demandsPerBlock = BRANCHES + 1;
+        final List<double[]> sequential = simulateResponseTimes(new PCMModelBuilder().seffDepth(2)
+                .cpuDemand(demandsPerBlock + " * " + BRANCH_DEMAND).responseTimeMonitor(true).build(),
+                this.folder.resolve("sequential"));
+
+        assertTrue(forked.size() > 0);
+        assertEquals(sequential.size(), forked.size());
+        for (int i = 0; i < forked.size(); i++) {
+            assertEquals("Point in time of request " + i, sequential.get(i)[0], forked.get(i)[0], DELTA);
+            assertEquals("Response time of request " + i, sequential.get(i)[1], forked.get(i)[1], DELTA);
+            assertEquals(2 * demandsPerBlock * 10.0 / 1000, forked.get(i)[1], DELTA);
+        }
+    }
+
+    /**
+     * Synchronous forked behaviours share the assembly context path of the forking context and
+     * read its stack frame through a view instead of copying either; detached ones get a copy of
+     * the stack frame as of the time of the fork.
+     */
+    @Test
+    public void testChildContextsShareInsteadOfCopying() throws Exception {
+        this.fixture = new SimulationFixture(new PCMModelBuilder().build(), 1);
+        final InterpreterDefaultContext context = this.fixture.getRuntimeState().getMainContext();
+        context.pushAssemblyContext(CompositionFactory.eINSTANCE.createAssemblyContext());
+        final SimulatedStackframe<Object> frame = context.getStack().createAndPushNewStackFrame();
+        frame.addValue(VARIABLE, 1);
+
+        final InterpreterDefaultContext synchronous = context.createChildContext(null, false);
+        final InterpreterDefaultContext detached = context.createChildContext(null, true);
+        frame.addValue(VARIABLE, 2);
+
+        assertSame(context.getAssemblyContextPath(), synchronous.getAssemblyContextPath());
+        assertSame(context.getAssemblyContextPath(), detached.getAssemblyContextPath());
+        assertEquals(2, synchronous.getStack().currentStackFrame().getValue(VARIABLE));
+        assertEquals(1, detached.getStack().currentStackFrame().getValue(VARIABLE));
+
+        synchronous.getStack().currentStackFrame().addValue(VARIABLE, 3);
+        synchronous.pushAssemblyContext(CompositionFactory.eINSTANCE.createAssemblyContext());
+        assertEquals(2, frame.getValue(VARIABLE));
+        assertEquals(1, context.getAssemblyContextPath().size());
+    }
+
+    private static List<double[]> simulateResponseTimes(final PCMModels models, final Path outputDirectory)
+            throws IOException {
+        final Map<String, Object> properties = SimulationFixture.createSimulationProperties(SERIES_SIMULATION_TIME);
+        SimulationFixture.useFixedSeeds(properties, 1);
+        SimulationFixture.useColumnarRecorder(properties, outputDirectory);
+        final SimuLizarRuntimeState runtimeState = new SimuLizarRuntimeState(
+                SimulationFixture.createConfiguration(properties), new ModelAccess(models.createBlackboard()),
+                new SimulationCancelationDelegate(() -> false));
+        try {
+            runtimeState.runSimulation();
+        } finally {
+            runtimeState.cleanUp();
+        }
+        return SimulationFixture.readMeasurements(outputDirectory,
+                MetricDescriptionConstants.RESPONSE_TIME_METRIC.getId());
+    }
+}
@@ -0,0 +1,141 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.headless.ExitCode;
+import org.palladiosimulator.simulizar.headless.RunResult;
+import org.palladiosimulator.simulizar.headless.SimuLizarHeadless;
+
+/**
+ * Runs the headless runner in a JVM of its own, whose flat class path consists of the bundles of
+ * the test platform, on the server test model.
+ */
+public class HeadlessRunnerTest {
+
+    private static final String SERVER_SPECIFICATION = "testmodel/headless/server.properties";
+    private static final String BROKEN_SPECIFICATION = "testmodel/headless/broken.properties";
+    private static final long TIMEOUT_MINUTES = 10;
+
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        this.folder = Files.createTempDirectory("simulizar-headless");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SimulationFixture.delete(this.folder);
+    }
+
+    @Test
+    public void testRunWritesResultsAndSummary() throws Exception {
+        final Path output = this.folder.resolve("results");
+        final Path summary = this.folder.resolve("summary.csv");
+
+        final int exitCode = this.runHeadless("--output", output.toString(), "--summary", summary.toString(),
+                testFile(SERVER_SPECIFICATION));
+
+        assertEquals(ExitCode.SUCCESS.getCode(), exitCode);
+        final File[] results = output.resolve("server").toFile().listFiles();
+        assertTrue("No results recorded", results != null && results.length > 0);
+        final List<String> lines = Files.readAllLines(summary, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals(RunResult.CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(1).startsWith("server," + ExitCode.SUCCESS.getCode() + ","));
+    }
+
+    @Test
+    public void testBrokenModelFailsBatch() throws Exception {
+        final Path summary = this.folder.resolve("summary.csv");
+
+        final int exitCode = this.runHeadless("--output", this.folder.resolve("results").toString(), "--summary",
+                summary.toString(), testFile(SERVER_SPECIFICATION), testFile(BROKEN_SPECIFICATION));
+
+        assertEquals(ExitCode.MODEL_LOAD_FAILURE.getCode(), exitCode);
+        final List<String> lines = Files.readAllLines(summary, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith("server," + ExitCode.SUCCESS.getCode() + ","));
+        assertTrue(lines.get(2).startsWith("broken," + ExitCode.MODEL_LOAD_FAILURE.getCode() + ","));
+    }
+
+    @Test
+    public void testMissingSpecificationIsUsageError() throws Exception {
+        final int exitCode = this.runHeadless("--summary", this.folder.resolve("summary.csv").toString(),
+                this.folder.resolve("missing.properties").toString());
+
+        assertEquals(ExitCode.USAGE_ERROR.getCode(), exitCode);
+        assertTrue(!Files.exists(this.folder.resolve("summary.csv")));
+    }
+
+    private int runHeadless(final String... args) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Djava.awt.headless=true");
+        command.add("-cp");
+        command.add(String.join(File.pathSeparator, classPath()));
+        command.add(SimuLizarHeadless.class.getName());
+        command.addAll(Arrays.asList(args));
+
+        final Process process = new ProcessBuilder(command).directory(this.folder.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(this.folder.resolve("headless.log").toFile())
+            .start();
+        if (!process.waitFor(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new AssertionError("Headless runner did not finish in time");
+        }
+        return process.exitValue();
+    }
+
+    /**
+     * The locations of the installed bundles; for bundles in folders, their class folders as well.
+     */
+    private static List<String> classPath() throws IOException {
+        final Set<String> entries = new LinkedHashSet<>();
+        for (final Bundle bundle : FrameworkUtil.getBundle(HeadlessRunnerTest.class).getBundleContext()
+            .getBundles()) {
+            final File location = FileLocator.getBundleFile(bundle);
+            if (location == null) {
+                continue;
+            }
+            entries.add(location.getAbsolutePath());
+            if (location.isDirectory()) {
+                for (final String classFolder : new String[] { "bin", "target/classes" }) {
+                    final File folder = new File(location, classFolder);
+                    if (folder.isDirectory()) {
+                        entries.add(folder.getAbsolutePath());
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(entries);
+    }
+
+    private static String testFile(final String path) throws IOException {
+        final URL entry = FrameworkUtil.getBundle(HeadlessRunnerTest.class).getEntry(path);
+        return new File(FileLocator.toFileURL(entry).getPath()).getAbsolutePath();
+    }
+}
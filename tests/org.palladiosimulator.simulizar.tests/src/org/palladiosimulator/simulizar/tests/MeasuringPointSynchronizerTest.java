@@ -0,0 +1,236 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.simulizar.measuringpoint.create.FileSystemMeasuringPointWorkspace;
+import org.palladiosimulator.simulizar.measuringpoint.create.MeasuringPointChanges;
+import org.palladiosimulator.simulizar.measuringpoint.create.MeasuringPointFiles;
+import org.palladiosimulator.simulizar.measuringpoint.create.MeasuringPointSynchronizer;
+import org.palladiosimulator.simulizar.measuringpoint.create.MeasuringPointSynchronizer.FileChange;
+
+/**
+ * Synchronises the measuring points of a generated tree of {@value #PROJECTS} projects with
+ * {@value #MEASURING_POINTS_PER_PROJECT} measuring points each in the file system, and checks that
+ * a delta of a single file reads only that file and leads to the same index as a full rescan.
+ */
+public class MeasuringPointSynchronizerTest {
+
+    private static final int PROJECTS = 50;
+    private static final int MEASURING_POINTS_PER_PROJECT = 100;
+
+    private Path root;
+    private RecordingWorkspace workspace;
+    private MeasuringPointSynchronizer synchronizer;
+
+    @Before
+    public void setUp() throws IOException {
+        this.root = Files.createTempDirectory("simulizar-measuringpoints");
+        for (int project = 0; project < PROJECTS; project++) {
+            final Path projectFolder = Files.createDirectory(this.root.resolve(projectName(project)));
+            final List<String> resourceURIs = new ArrayList<String>();
+            for (int component = 0; component < MEASURING_POINTS_PER_PROJECT; component++) {
+                final String resourceURI = resourceURI(project, "_c" + component);
+                resourceURIs.add(resourceURI);
+                Files.write(projectFolder.resolve("model_c" + component + ".measuringpoint"),
+                        measuringPoint(resourceURI).getBytes(StandardCharsets.UTF_8));
+            }
+            this.writeStereotypeApplications(project, resourceURIs);
+            Files.write(projectFolder.resolve("model.repository"), "<repository/>".getBytes(StandardCharsets.UTF_8));
+        }
+        this.workspace = new RecordingWorkspace(this.root);
+        this.synchronizer = new MeasuringPointSynchronizer(this.workspace);
+        this.synchronizer.initialize();
+        assertEquals(PROJECTS + PROJECTS * MEASURING_POINTS_PER_PROJECT, this.workspace.touched.size());
+        assertEquals(PROJECTS * MEASURING_POINTS_PER_PROJECT,
+                this.synchronizer.getIndex().getMeasuringPoints().size());
+        this.workspace.touched.clear();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(this.root)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testDeletedMeasuringPointRemovesStereotypeApplication() throws IOException {
+        final String measuringPoint = "/p7/model_c42.measuringpoint";
+        final String applications = stereotypeApplicationFile(7);
+        Files.delete(this.workspace.resolve(measuringPoint));
+
+        final MeasuringPointChanges changes = this.process(measuringPoint, FileChange.Kind.REMOVED);
+        assertEquals(Collections.emptyList(), this.workspace.touched);
+        assertEquals(Collections.singletonMap(applications, Collections.singleton(resourceURI(7, "_c42"))),
+                changes.getStereotypeApplicationsToRemove());
+        assertEquals(Collections.singleton("p7"), changes.getAffectedProjects());
+
+        this.applyAndProcess(changes, applications);
+        assertEquals(Arrays.asList(applications, applications, applications), this.workspace.touched);
+        this.assertMatchesRescan();
+    }
+
+    @Test
+    public void testAppliedStereotypeCreatesMeasuringPoint() throws IOException {
+        final String applications = stereotypeApplicationFile(3);
+        final List<String> resourceURIs = new ArrayList<String>();
+        for (int component = 0; component < MEASURING_POINTS_PER_PROJECT; component++) {
+            resourceURIs.add(resourceURI(3, "_c" + component));
+        }
+        resourceURIs.add(resourceURI(3, "_new"));
+        this.writeStereotypeApplications(3, resourceURIs);
+
+        final MeasuringPointChanges changes = this.process(applications, FileChange.Kind.CHANGED);
+        assertEquals(Collections.singletonList(applications), this.workspace.touched);
+        assertEquals(Collections.singletonMap("/p3/model_new.measuringpoint", resourceURI(3, "_new")),
+                changes.getMeasuringPointsToCreate());
+        assertTrue(changes.getMeasuringPointsToDelete().isEmpty());
+
+        this.workspace.touched.clear();
+        this.applyAndProcess(changes, "/p3/model_new.measuringpoint");
+        assertEquals(Arrays.asList("/p3/model_new.measuringpoint", "/p3/model_new.measuringpoint"),
+                this.workspace.touched);
+        this.assertMatchesRescan();
+    }
+
+    @Test
+    public void testRemovedStereotypeApplicationsDeleteMeasuringPoints() throws IOException {
+        final String applications = stereotypeApplicationFile(5);
+        Files.delete(this.workspace.resolve(applications));
+
+        final MeasuringPointChanges changes = this.process(applications, FileChange.Kind.REMOVED);
+        assertEquals(Collections.emptyList(), this.workspace.touched);
+        assertEquals(MEASURING_POINTS_PER_PROJECT, changes.getMeasuringPointsToDelete().size());
+        assertEquals(Collections.singleton("p5"), changes.getAffectedProjects());
+
+        changes.applyTo(this.workspace, this.synchronizer.getFiles());
+        // the deletions made by the changes do not lead to further changes
+        final List<FileChange> deleted = changes.getMeasuringPointsToDelete().stream()
+                .map(path -> new FileChange(path, FileChange.Kind.REMOVED)).collect(Collectors.toList());
+        assertTrue(this.synchronizer.process(deleted).isEmpty());
+        this.assertMatchesRescan();
+    }
+
+    @Test
+    public void testUnrelatedChangesAreSkipped() throws IOException {
+        assertTrue(this.process("/p1/model.repository", FileChange.Kind.CHANGED).isEmpty());
+        assertTrue(this.process("/p1/model.allocation", FileChange.Kind.ADDED).isEmpty());
+        assertEquals(Collections.emptyList(), this.workspace.touched);
+    }
+
+    private MeasuringPointChanges process(final String path, final FileChange.Kind kind) throws IOException {
+        return this.synchronizer.process(Collections.singletonList(new FileChange(path, kind)));
+    }
+
+    /**
+     * Applies the changes, and processes the change of the file they changed, as the workspace
+     * reports it.
+     */
+    private void applyAndProcess(final MeasuringPointChanges changes, final String changedFile) throws IOException {
+        changes.applyTo(this.workspace, this.synchronizer.getFiles());
+        final FileChange.Kind kind = changes.getMeasuringPointsToCreate().containsKey(changedFile)
+                ? FileChange.Kind.ADDED
+                : FileChange.Kind.CHANGED;
+        assertTrue(this.process(changedFile, kind).isEmpty());
+    }
+
+    private void assertMatchesRescan() throws IOException {
+        final MeasuringPointSynchronizer rescan = new MeasuringPointSynchronizer(
+                new FileSystemMeasuringPointWorkspace(this.root));
+        rescan.initialize();
+        assertEquals(rescan.getIndex().getApplications(), this.synchronizer.getIndex().getApplications());
+        assertEquals(rescan.getIndex().getMeasuringPoints(), this.synchronizer.getIndex().getMeasuringPoints());
+    }
+
+    private void writeStereotypeApplications(final int project, final List<String> resourceURIs)
+            throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        contents.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        contents.append("<xmi:XMI xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\"");
+        contents.append(" xmlns:SimulizarProfile=\"http://simulizar.palladiosimulator.org/profile\">\n");
+        for (final String resourceURI : resourceURIs) {
+            contents.append("  <SimulizarProfile:MeasuringPoint>\n");
+            contents.append("    <appliedTo href=\"").append(resourceURI).append("\"/>\n");
+            contents.append("  </SimulizarProfile:MeasuringPoint>\n");
+        }
+        contents.append("</xmi:XMI>\n");
+        Files.write(this.root.resolve(stereotypeApplicationFile(project).substring(1)),
+                contents.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String measuringPoint(final String resourceURI) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<measuringpoint:ResourceURIMeasuringPoint xmi:version=\"2.0\""
+                + " xmlns:xmi=\"http://www.omg.org/XMI\""
+                + " xmlns:measuringpoint=\"http://palladiosimulator.org/EDP2/MeasuringPoint/1.0\" resourceURI=\""
+                + resourceURI + "\"/>\n";
+    }
+
+    private static String projectName(final int project) {
+        return "p" + project;
+    }
+
+    private static String resourceURI(final int project, final String id) {
+        return "platform:/resource/" + projectName(project) + "/model.repository#" + id;
+    }
+
+    private static String stereotypeApplicationFile(final int project) {
+        return "/" + projectName(project) + "/model"
+                + MeasuringPointFiles.MEASURING_POINT_STEREOTYPE_APPLICATION_FILE_EXTENSION;
+    }
+
+    /**
+     * Records the files read and changed.
+     */
+    private static final class RecordingWorkspace extends FileSystemMeasuringPointWorkspace {
+
+        private final List<String> touched = new ArrayList<String>();
+
+        private RecordingWorkspace(final Path root) {
+            super(root);
+        }
+
+        @Override
+        public InputStream read(final String path) throws IOException {
+            this.touched.add(path);
+            return super.read(path);
+        }
+
+        @Override
+        public void write(final String path, final byte[] contents) throws IOException {
+            this.touched.add(path);
+            super.write(path, contents);
+        }
+
+        @Override
+        public void createMeasuringPoint(final String path, final String resourceURI) throws IOException {
+            this.touched.add(path);
+            super.createMeasuringPoint(path, resourceURI);
+        }
+
+        @Override
+        public void delete(final String path) throws IOException {
+            this.touched.add(path);
+            super.delete(path);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.edp2.models.measuringpoint.MeasuringpointFactory;
+import org.palladiosimulator.edp2.models.measuringpoint.StringMeasuringPoint;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.Monitor;
+import org.palladiosimulator.monitorrepository.MonitorRepositoryFactory;
+import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.pcm.allocation.AllocationContext;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcmmeasuringpoint.PcmmeasuringpointFactory;
+import org.palladiosimulator.pcmmeasuringpoint.UsageScenarioMeasuringPoint;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurement;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementFactory;
+import org.palladiosimulator.simulizar.access.IModelAccess;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
+import org.palladiosimulator.simulizar.reconfiguration.IReconfigurationEngine;
+import org.palladiosimulator.simulizar.reconfigurationrule.ModelTransformation;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicallyTriggeredSimulationEntity;
+
+/**
+ * Simulates a component calling another one once per user, with deterministic demands and without
+ * contention. If the components are allocated to containers connected by a linking resource, the
+ * response time has to include the latency of the link for the call and the reply, and the
+ * payload of the call divided by the throughput of the link; if they are co-located, it must not.
+ * A reconfiguration moving the called component to the container of the calling one makes later
+ * calls local.
+ */
+public class NetworkSimulationTest {
+
+    private static final long SIMULATION_TIME = 1000;
+    private static final double LOCAL_RESPONSE_TIME = 2 * 10.0 / 1000;
+    private static final double LATENCY = 0.002;
+    private static final double PAYLOAD_SIZE = 1000;
+    private static final double THROUGHPUT = 100000;
+    private static final double DELTA = 1e-6;
+    private static final double MOVE_TIME = 500.0;
+
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        this.folder = Files.createTempDirectory("simulizar-network");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SimulationFixture.delete(this.folder);
+    }
+
+    @Test
+    public void testRemoteCallsPassTheLink() throws IOException {
+        final double responseTime = this.simulate(createModels(false), this.folder.resolve("remote"));
+        assertEquals(LOCAL_RESPONSE_TIME + 2 * LATENCY + PAYLOAD_SIZE / THROUGHPUT, responseTime, DELTA);
+    }
+
+    @Test
+    public void testColocatedCallsAreNotCharged() throws IOException {
+        final double responseTime = this.simulate(createModels(true), this.folder.resolve("colocated"));
+        assertEquals(LOCAL_RESPONSE_TIME, responseTime, DELTA);
+    }
+
+    @Test
+    public void testMovedComponentIsCalledLocally() throws IOException {
+        final Path outputDirectory = this.folder.resolve("moved");
+        this.run(createModels(false), outputDirectory, true);
+        int remoteCalls = 0;
+        int localCalls = 0;
+        for (final double[] measurement : readResponseTimes(outputDirectory)) {
+            if (measurement[0] < MOVE_TIME) {
+                assertEquals(LOCAL_RESPONSE_TIME + 2 * LATENCY + PAYLOAD_SIZE / THROUGHPUT, measurement[1], DELTA);
+                remoteCalls++;
+            } else if (measurement[0] > MOVE_TIME + 1.0) {
+                assertEquals(LOCAL_RESPONSE_TIME, measurement[1], DELTA);
+                localCalls++;
+            }
+        }
+        assertTrue(remoteCalls > 0);
+        assertTrue(localCalls > 0);
+    }
+
+    /**
+     * @return the mean of the recorded response times.
+     */
+    private double simulate(final PCMModels models, final Path outputDirectory) throws IOException {
+        this.run(models, outputDirectory, false);
+        double sum = 0.0;
+        final List<double[]> responseTimes = readResponseTimes(outputDirectory);
+        for (final double[] measurement : responseTimes) {
+            sum += measurement[1];
+        }
+        return sum / responseTimes.size();
+    }
+
+    /**
+     * Runs a simulation; if a component is moved, a periodically changed runtime measurement
+     * triggers the reconfiguration at {@link #MOVE_TIME}.
+     */
+    private void run(final PCMModels models, final Path outputDirectory, final boolean moveComponent) {
+        final SimuLizarRuntimeState runtimeState = new SimuLizarRuntimeState(
+                this.createConfiguration(outputDirectory), new ModelAccess(models.createBlackboard()),
+                new SimulationCancelationDelegate(() -> false));
+        if (moveComponent) {
+            runtimeState.getReconfigurator().getReconfigurationEngines()
+                    .add(new ColocateReconfigurationEngine(runtimeState.getModelAccess()));
+
+            final StringMeasuringPoint measuringPoint = MeasuringpointFactory.eINSTANCE.createStringMeasuringPoint();
+            measuringPoint.setMeasuringPoint("Move trigger");
+            final RuntimeMeasurement measurement = RuntimeMeasurementFactory.eINSTANCE.createRuntimeMeasurement();
+            measurement.setMeasuringPoint(measuringPoint);
+            runtimeState.getModelAccess().getRuntimeMeasurementModel().getMeasurements().add(measurement);
+            new PeriodicallyTriggeredSimulationEntity(runtimeState.getModel(), MOVE_TIME, SIMULATION_TIME) {
+
+                @Override
+                protected void triggerInternal() {
+                    measurement.setMeasuringValue(measurement.getMeasuringValue() + 1);
+                }
+            };
+        }
+        try {
+            assertNotNull(runtimeState.getNetworkSimulation());
+            runtimeState.runSimulation();
+        } finally {
+            runtimeState.cleanUp();
+        }
+    }
+
+    /**
+     * @return two components, the first calling the second with a payload, and a monitor of the
+     *         response time of their usage scenario.
+     */
+    private static PCMModels createModels(final boolean colocated) {
+        final PCMModels models = new PCMModelBuilder().assemblyContexts(2).cpuDemand("10").interArrivalTime("10.0")
+                .colocated(colocated)
+                .linkingResource(Double.toString(LATENCY), Double.toString(THROUGHPUT))
+                .payloadSize(Double.toString(PAYLOAD_SIZE)).build();
+
+        final UsageScenarioMeasuringPoint measuringPoint = PcmmeasuringpointFactory.eINSTANCE
+                .createUsageScenarioMeasuringPoint();
+        measuringPoint.setUsageScenario(models.getUsageModel().getUsageScenario_UsageModel().get(0));
+        models.getMeasuringPoints().getMeasuringPoints().add(measuringPoint);
+
+        final Monitor monitor = MonitorRepositoryFactory.eINSTANCE.createMonitor();
+        monitor.setEntityName("Response time");
+        monitor.setActivated(true);
+        monitor.setMeasuringPoint(measuringPoint);
+        final MeasurementSpecification specification = MonitorRepositoryFactory.eINSTANCE
+                .createMeasurementSpecification();
+        specification.setMetricDescription(MetricDescriptionConstants.RESPONSE_TIME_METRIC);
+        specification.setProcessingType(MonitorRepositoryFactory.eINSTANCE.createFeedThrough());
+        monitor.getMeasurementSpecifications().add(specification);
+        models.getMonitorRepository().getMonitors().add(monitor);
+        return models;
+    }
+
+    private SimuLizarWorkflowConfiguration createConfiguration(final Path outputDirectory) {
+        final Map<String, Object> properties = SimulationFixture.createSimulationProperties(SIMULATION_TIME);
+        SimulationFixture.useFixedSeeds(properties, 1);
+        SimulationFixture.useColumnarRecorder(properties, outputDirectory);
+        properties.put(SimulizarConstants.SIMULATE_NETWORK, true);
+
+        final SimuLizarWorkflowConfiguration configuration = SimulationFixture.createConfiguration(properties);
+        configuration.setSimulateNetwork(true);
+        return configuration;
+    }
+
+    /**
+     * @return the recorded points in time and response times.
+     */
+    private static List<double[]> readResponseTimes(final Path outputDirectory) throws IOException {
+        final List<double[]> result = SimulationFixture.readMeasurements(outputDirectory,
+                MetricDescriptionConstants.RESPONSE_TIME_METRIC.getId());
+        assertTrue(result.size() > 0);
+        return result;
+    }
+
+    /**
+     * Allocates all components to the container of the first one in the first reconfiguration
+     * round, and does not reconfigure anything afterwards.
+     */
+    private static final class ColocateReconfigurationEngine implements IReconfigurationEngine {
+
+        private final IModelAccess modelAccess;
+        private boolean executed = false;
+
+        private ColocateReconfigurationEngine(final IModelAccess modelAccess) {
+            super();
+            this.modelAccess = modelAccess;
+        }
+
+        @Override
+        public boolean runCheck(final EList<? extends ModelTransformation<? extends Object>> checks,
+                final EObject monitoredElement) {
+            if (this.executed) {
+                return false;
+            }
+            final Allocation allocation = this.modelAccess.getGlobalPCMModel().getAllocation();
+            final ResourceContainer container = allocation.getAllocationContexts_Allocation().get(0)
+                    .getResourceContainer_AllocationContext();
+            for (final AllocationContext allocationContext : allocation.getAllocationContexts_Allocation()) {
+                allocationContext.setResourceContainer_AllocationContext(container);
+            }
+            this.executed = true;
+            return true;
+        }
+
+        @Override
+        public boolean runExecute(final EList<? extends ModelTransformation<? extends Object>> actions,
+                final EObject monitoredElement) {
+            return false;
+        }
+
+        @Override
+        public void setModelAccess(final IModelAccess modelAccess) {
+        }
+
+        @Override
+        public void setConfiguration(final SimuLizarWorkflowConfiguration configuration) {
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.palladiosimulator.analyzer.workflow.jobs.LoadPCMModelsIntoBlackboardJob;
+import org.palladiosimulator.analyzer.workflow.jobs.PreparePCMBlackboardPartitionJob;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.launcher.jobs.LoadSimuLizarModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.launcher.jobs.ParallelLoadModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.modelloading.ModelLoadReport;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.ResourceSetPartition;
+
+/**
+ * Loads a synthetic model set of {@value #MODEL_SETS} allocations, each in a folder of its own
+ * with all models it references, one model after the other and in parallel. The resulting
+ * blackboards have to hold the same resources with equal contents.
+ */
+public class ParallelModelLoadingTest {
+
+    private static final int MODEL_SETS = 20;
+    private static final String[] PARTITION_IDS = { LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID,
+            LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID };
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final List<String> allocationFiles = new ArrayList<String>();
+    private String usageModelFile;
+    private String monitorRepositoryFile;
+
+    @Before
+    public void setUp() throws IOException {
+        final PCMModels models = new PCMModelBuilder().assemblyContexts(10).seffDepth(3).branchFanOut(2)
+                .monitors(10).build();
+        for (int i = 0; i < MODEL_SETS; i++) {
+            final Map<String, URI> uris = models.save(this.tempFolder.newFolder("models" + i));
+            this.allocationFiles.add(toFileURI(uris.get("allocation")));
+            if (i == 0) {
+                this.usageModelFile = toFileURI(uris.get("usagemodel"));
+                this.monitorRepositoryFile = toFileURI(uris.get("monitorrepository"));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelLoadingEqualsSequentialLoading() throws Exception {
+        final MDSDBlackboard sequential = this.load(this.createConfiguration(false, ""));
+        final MDSDBlackboard parallel = this.load(this.createConfiguration(true, ""));
+
+        for (final String partitionId : PARTITION_IDS) {
+            assertPartitionsEqual(sequential.getPartition(partitionId), parallel.getPartition(partitionId));
+        }
+    }
+
+    @Test
+    public void testCachedLoadingEqualsSequentialLoading() throws Exception {
+        final String cacheFolder = this.tempFolder.newFolder("cache").getAbsolutePath();
+        final SimuLizarWorkflowConfiguration configuration = this.createConfiguration(true, cacheFolder);
+
+        final ModelLoadReport coldReport = this.parse(configuration);
+        final ModelLoadReport warmReport = this.parse(configuration);
+        assertEquals(coldReport.getEntries().size(), warmReport.getEntries().size());
+        assertEquals(warmReport.getEntries().size(), warmReport.getCacheHits());
+
+        final MDSDBlackboard sequential = this.load(this.createConfiguration(false, ""));
+        final MDSDBlackboard cached = this.load(configuration);
+        for (final String partitionId : PARTITION_IDS) {
+            assertPartitionsEqual(sequential.getPartition(partitionId), cached.getPartition(partitionId));
+        }
+    }
+
+    @Test
+    public void testChangedModelIsParsedAgain() throws Exception {
+        final String cacheFolder = this.tempFolder.newFolder("cache").getAbsolutePath();
+        final SimuLizarWorkflowConfiguration configuration = this.createConfiguration(true, cacheFolder);
+        this.parse(configuration);
+
+        final File usageModel = new File(URI.createURI(this.usageModelFile).toFileString());
+        assertTrue(usageModel.setLastModified(usageModel.lastModified() + 2000L));
+        final ModelLoadReport report = this.parse(configuration);
+
+        // the usage model is parsed for both PCM partitions, the second parse may find the new entry
+        boolean usageModelParsed = false;
+        for (final ModelLoadReport.Entry entry : report.getEntries()) {
+            assertFalse(entry.isFailed());
+            if (entry.getURI().toString().equals(this.usageModelFile)) {
+                usageModelParsed |= !entry.isCached();
+            } else {
+                assertTrue(entry.toString(), entry.isCached());
+            }
+        }
+        assertTrue(usageModelParsed);
+    }
+
+    private SimuLizarWorkflowConfiguration createConfiguration(final boolean parallel, final String cacheFolder) {
+        final SimuLizarWorkflowConfiguration configuration = new SimuLizarWorkflowConfiguration(
+                new HashMap<String, Object>());
+        configuration.setAllocationFiles(this.allocationFiles);
+        configuration.setUsageModelFile(this.usageModelFile);
+        configuration.setMonitorRepositoryFile(this.monitorRepositoryFile);
+        configuration.setServiceLevelObjectivesFile("");
+        configuration.setUsageEvolutionFile("");
+        configuration.setParallelModelLoading(parallel);
+        configuration.setModelCacheFolder(cacheFolder);
+        return configuration;
+    }
+
+    private MDSDBlackboard load(final SimuLizarWorkflowConfiguration configuration) throws Exception {
+        final MDSDBlackboard blackboard = new MDSDBlackboard();
+        final LoadSimuLizarModelsIntoBlackboardJob job = new LoadSimuLizarModelsIntoBlackboardJob(configuration,
+                false);
+        job.setBlackboard(blackboard);
+        job.execute(new NullProgressMonitor());
+        return blackboard;
+    }
+
+    private ModelLoadReport parse(final SimuLizarWorkflowConfiguration configuration) throws Exception {
+        final MDSDBlackboard blackboard = new MDSDBlackboard();
+        final PreparePCMBlackboardPartitionJob prepareJob = new PreparePCMBlackboardPartitionJob();
+        prepareJob.setBlackboard(blackboard);
+        prepareJob.execute(new NullProgressMonitor());
+        final ParallelLoadModelsIntoBlackboardJob parseJob = new ParallelLoadModelsIntoBlackboardJob(configuration);
+        parseJob.setBlackboard(blackboard);
+        parseJob.execute(new NullProgressMonitor());
+        return parseJob.getReport();
+    }
+
+    private static void assertPartitionsEqual(final ResourceSetPartition expected,
+            final ResourceSetPartition actual) {
+        final Map<URI, Resource> expectedResources = resourcesByURI(expected);
+        final Map<URI, Resource> actualResources = resourcesByURI(actual);
+        assertEquals(expectedResources.keySet(), actualResources.keySet());
+        for (final Map.Entry<URI, Resource> expectedResource : expectedResources.entrySet()) {
+            assertTrue(expectedResource.getKey().toString(), new EcoreUtil.EqualityHelper().equals(
+                    expectedResource.getValue().getContents(),
+                    actualResources.get(expectedResource.getKey()).getContents()));
+        }
+    }
+
+    /**
+     * @return the URI in the form of the launch configurations, which the loading jobs keep as it is.
+     */
+    private static String toFileURI(final URI uri) {
+        return "file://" + uri.toFileString();
+    }
+
+    private static Map<URI, Resource> resourcesByURI(final ResourceSetPartition partition) {
+        final Map<URI, Resource> resources = new HashMap<URI, Resource>();
+        for (final Resource resource : partition.getResourceSet().getResources()) {
+            resources.put(resource.getURI(), resource);
+        }
+        return resources;
+    }
+}
@@ -0,0 +1,176 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map.Entry;
+
+import org.eclipse.emf.common.util.EList;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.palladiosimulator.pcm.core.CoreFactory;
+import org.palladiosimulator.pcm.core.PCMRandomVariable;
+import org.palladiosimulator.pcm.parameter.ParameterFactory;
+import org.palladiosimulator.pcm.parameter.VariableCharacterisation;
+import org.palladiosimulator.pcm.parameter.VariableCharacterisationType;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+import org.palladiosimulator.pcm.seff.ExternalCallAction;
+import org.palladiosimulator.pcm.seff.SeffFactory;
+import org.palladiosimulator.simulizar.utils.ParameterBindingPlan;
+import org.palladiosimulator.simulizar.utils.SimulatedStackHelper;
+
+import de.uka.ipd.sdq.probfunction.math.IProbabilityFunctionFactory;
+import de.uka.ipd.sdq.probfunction.math.impl.DefaultRandomGenerator;
+import de.uka.ipd.sdq.probfunction.math.impl.ProbabilityFunctionFactoryImpl;
+import de.uka.ipd.sdq.simucomframework.variables.EvaluationProxy;
+import de.uka.ipd.sdq.simucomframework.variables.cache.StoExCache;
+import de.uka.ipd.sdq.simucomframework.variables.exceptions.ValueNotInFrameException;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStack;
+import de.uka.ipd.sdq.simucomframework.variables.stackframe.SimulatedStackframe;
+import de.uka.ipd.sdq.stoex.AbstractNamedReference;
+import de.uka.ipd.sdq.stoex.NamespaceReference;
+import de.uka.ipd.sdq.stoex.StoexFactory;
+import de.uka.ipd.sdq.stoex.VariableReference;
+
+public class ParameterBindingPlanTest {
+
+    private ExternalCallAction externalCall;
+    private SimulatedStackframe<Object> contextFrame;
+
+    @BeforeClass
+    public static void initialiseStoExCache() {
+        final IProbabilityFunctionFactory probFunctionFactory = ProbabilityFunctionFactoryImpl.getInstance();
+        probFunctionFactory.setRandomGenerator(new DefaultRandomGenerator());
+        StoExCache.initialiseStoExCache(probFunctionFactory);
+    }
+
+    @Before
+    public void setUp() {
+        this.externalCall = SeffFactory.eINSTANCE.createExternalCallAction();
+        this.contextFrame = new SimulatedStackframe<Object>();
+        this.contextFrame.addValue("x.VALUE", 4);
+    }
+
+    @Test
+    public void testVariableReference() throws ValueNotInFrameException {
+        this.addUsage(variable("x"), VariableCharacterisationType.VALUE, "5");
+        this.assertPlanBindsLikeLegacyPath();
+    }
+
+    @Test
+    public void testNamespaceReferenceEvaluatedInContext() throws ValueNotInFrameException {
+        this.addUsage(namespace("request", variable("data")), VariableCharacterisationType.BYTESIZE, "x.VALUE * 2");
+        this.assertPlanBindsLikeLegacyPath();
+    }
+
+    @Test
+    public void testInnerCollection() throws ValueNotInFrameException {
+        final VariableUsage usage = this.addUsage(namespace("list", variable("INNER")),
+                VariableCharacterisationType.VALUE, "x.VALUE + 1");
+        addCharacterisation(usage, VariableCharacterisationType.BYTESIZE, "x.VALUE");
+        this.assertPlanBindsLikeLegacyPath();
+    }
+
+    @Test
+    public void testNestedNumberOfElements() throws ValueNotInFrameException {
+        final VariableUsage usage = this.addUsage(namespace("a", namespace("b", variable("c"))),
+                VariableCharacterisationType.NUMBER_OF_ELEMENTS, "3");
+        addCharacterisation(usage, VariableCharacterisationType.BYTESIZE, "x.VALUE * 8");
+        this.addUsage(namespace("a", namespace("b", namespace("c", variable("INNER")))),
+                VariableCharacterisationType.BYTESIZE, "x.VALUE");
+        this.assertPlanBindsLikeLegacyPath();
+    }
+
+    @Test
+    public void testPlanIsCachedUntilVariableUsagesChange() throws ValueNotInFrameException {
+        final VariableUsage usage = this.addUsage(variable("x"), VariableCharacterisationType.VALUE, "5");
+        final EList<VariableUsage> usages = this.externalCall.getInputVariableUsages__CallAction();
+
+        final ParameterBindingPlan plan = ParameterBindingPlan.of(usages);
+        assertSame(plan, ParameterBindingPlan.of(usages));
+
+        usage.getVariableCharacterisation_VariableUsage().get(0).getSpecification_VariableCharacterisation()
+                .setSpecification("6");
+        final ParameterBindingPlan changedPlan = ParameterBindingPlan.of(usages);
+        assertNotSame(plan, changedPlan);
+        final SimulatedStackframe<Object> frame = new SimulatedStackframe<Object>();
+        SimulatedStackHelper.addParameterToStackFrame(this.contextFrame, changedPlan, frame);
+        assertEquals(6, frame.getValue("x.VALUE"));
+
+        this.addUsage(variable("y"), VariableCharacterisationType.VALUE, "7");
+        assertEquals(2, ParameterBindingPlan.of(usages).size());
+    }
+
+    @Test
+    public void testCreateAndPushNewStackFrame() throws ValueNotInFrameException {
+        this.addUsage(variable("y"), VariableCharacterisationType.VALUE, "x.VALUE");
+        final SimulatedStack<Object> stack = new SimulatedStack<Object>();
+        stack.pushStackFrame(this.contextFrame);
+
+        final SimulatedStackframe<Object> frame = SimulatedStackHelper.createAndPushNewStackFrame(stack,
+                ParameterBindingPlan.of(this.externalCall.getInputVariableUsages__CallAction()), this.contextFrame);
+
+        assertSame(frame, stack.currentStackFrame());
+        assertEquals(4, frame.getValue("y.VALUE"));
+        assertEquals(4, frame.getValue("x.VALUE"));
+    }
+
+    private void assertPlanBindsLikeLegacyPath() throws ValueNotInFrameException {
+        final EList<VariableUsage> usages = this.externalCall.getInputVariableUsages__CallAction();
+        final SimulatedStackframe<Object> legacyFrame = new SimulatedStackframe<Object>();
+        SimulatedStackHelper.addParameterToStackFrame(this.contextFrame, usages, legacyFrame);
+        final SimulatedStackframe<Object> planFrame = new SimulatedStackframe<Object>();
+        SimulatedStackHelper.addParameterToStackFrame(this.contextFrame, ParameterBindingPlan.of(usages), planFrame);
+
+        assertEquals(legacyFrame.getContents().size(), planFrame.getContents().size());
+        for (final Entry<String, Object> entry : legacyFrame.getContents()) {
+            final Object legacyValue = entry.getValue();
+            final Object planValue = planFrame.getValue(entry.getKey());
+            if (legacyValue instanceof EvaluationProxy) {
+                assertTrue(planValue instanceof EvaluationProxy);
+                final EvaluationProxy legacyProxy = (EvaluationProxy) legacyValue;
+                final EvaluationProxy planProxy = (EvaluationProxy) planValue;
+                assertEquals(legacyProxy.getStoEx(), planProxy.getStoEx());
+                assertEquals(legacyProxy.getStackFrame().getValue("x.VALUE"),
+                        planProxy.getStackFrame().getValue("x.VALUE"));
+            } else {
+                assertEquals(legacyValue, planValue);
+            }
+        }
+    }
+
+    private VariableUsage addUsage(final AbstractNamedReference reference, final VariableCharacterisationType type,
+            final String specification) {
+        final VariableUsage usage = ParameterFactory.eINSTANCE.createVariableUsage();
+        usage.setNamedReference__VariableUsage(reference);
+        addCharacterisation(usage, type, specification);
+        this.externalCall.getInputVariableUsages__CallAction().add(usage);
+        return usage;
+    }
+
+    private static void addCharacterisation(final VariableUsage usage, final VariableCharacterisationType type,
+            final String specification) {
+        final PCMRandomVariable randomVariable = CoreFactory.eINSTANCE.createPCMRandomVariable();
+        randomVariable.setSpecification(specification);
+        final VariableCharacterisation characterisation = ParameterFactory.eINSTANCE.createVariableCharacterisation();
+        characterisation.setType(type);
+        characterisation.setSpecification_VariableCharacterisation(randomVariable);
+        usage.getVariableCharacterisation_VariableUsage().add(characterisation);
+    }
+
+    private static VariableReference variable(final String name) {
+        final VariableReference reference = StoexFactory.eINSTANCE.createVariableReference();
+        reference.setReferenceName(name);
+        return reference;
+    }
+
+    private static NamespaceReference namespace(final String name, final AbstractNamedReference inner) {
+        final NamespaceReference reference = StoexFactory.eINSTANCE.createNamespaceReference();
+        reference.setReferenceName(name);
+        reference.setInnerReference_NamespaceReference(inner);
+        return reference;
+    }
+}
@@ -0,0 +1,250 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.pcm.core.composition.AssemblyContext;
+import org.palladiosimulator.pcm.core.composition.CompositionFactory;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.PassiveResource;
+import org.palladiosimulator.pcm.repository.RepositoryFactory;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceIndex;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceIndexRegistry;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceSemantics;
+import org.palladiosimulator.simulizar.passiveresource.PassiveResourceSemanticsType;
+import org.palladiosimulator.simulizar.passiveresource.QueueingPassiveResource;
+import org.palladiosimulator.simulizar.passiveresource.WaitingDiscipline;
+
+import de.uka.ipd.sdq.scheduler.IPassiveResource;
+import de.uka.ipd.sdq.scheduler.ISchedulableProcess;
+import de.uka.ipd.sdq.scheduler.sensors.IPassiveResourceSensor;
+
+/**
+ * Drives passive resources of the different semantics by processes which record their activation
+ * instead of being suspended, so that the order in which waiting processes are served can be
+ * observed without running a simulation.
+ */
+public class PassiveResourceSemanticsTest {
+
+    private SimulationFixture fixture;
+    private PassiveResource passiveResource;
+    private AssemblyContext assemblyContext;
+    private List<String> events;
+
+    @Before
+    public void setUp() throws IOException {
+        this.fixture = new SimulationFixture(new PCMModelBuilder().build(), 1);
+        this.passiveResource = passiveResource("_connections", "Connections");
+        this.assemblyContext = CompositionFactory.eINSTANCE.createAssemblyContext();
+        this.events = new ArrayList<String>();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.fixture.cleanUp();
+    }
+
+    @Test
+    public void testFifoReproducesSimuComResource() {
+        final IPassiveResource simuComResource = PassiveResourceSemanticsType.FIFO
+                .createResource(this.passiveResource, this.assemblyContext, this.fixture.getRuntimeState().getModel(), 2);
+        this.runFifoScenario(simuComResource);
+        final List<String> expected = new ArrayList<String>(this.events);
+
+        this.events.clear();
+        this.runFifoScenario(new QueueingPassiveResource(this.passiveResource, this.assemblyContext,
+                this.fixture.getRuntimeState().getModel(), 2, WaitingDiscipline.FIFO, false));
+        // the waiting and holding time calculators only observe these events
+        assertEquals(expected, this.events);
+        assertTrue(this.events.contains("activate p2"));
+    }
+
+    private void runFifoScenario(final IPassiveResource resource) {
+        resource.addObserver(this.createSensor());
+        final ISchedulableProcess[] processes = this.createProcesses(5);
+        resource.acquire(processes[0], 1, false, 0);
+        resource.acquire(processes[1], 1, false, 0);
+        resource.acquire(processes[2], 1, false, 0);
+        resource.acquire(processes[3], 1, false, 0);
+        resource.release(processes[0], 1);
+        resource.acquire(processes[4], 1, false, 0);
+        resource.release(processes[1], 1);
+        resource.release(processes[2], 1);
+        resource.release(processes[3], 1);
+        resource.release(processes[4], 1);
+        assertEquals(2, resource.getAvailable());
+    }
+
+    @Test
+    public void testPriorityServesHighPriorityFirst() {
+        final QueueingPassiveResource resource = new QueueingPassiveResource(this.passiveResource,
+                this.assemblyContext, this.fixture.getRuntimeState().getModel(), 1, WaitingDiscipline.PRIORITY,
+                false);
+        final ISchedulableProcess[] processes = this.createProcesses(5);
+        assertTrue(resource.acquire(processes[0], 1, 0, false, 0));
+        resource.acquire(processes[1], 1, 1, false, 0);
+        resource.acquire(processes[2], 1, 5, false, 0);
+        resource.acquire(processes[3], 1, 3, false, 0);
+        resource.acquire(processes[4], 1, 5, false, 0);
+        assertEquals(Arrays.asList("passivate p1", "passivate p2", "passivate p3", "passivate p4"), this.events);
+        assertEquals(4, resource.getWaitingProcesses().size());
+
+        this.events.clear();
+        for (final int holder : new int[] { 0, 2, 4, 3, 1 }) {
+            resource.release(processes[holder], 1);
+        }
+        // equal priorities are served in the order of arrival
+        assertEquals(Arrays.asList("activate p2", "activate p4", "activate p3", "activate p1"), this.events);
+        assertEquals(1, resource.getAvailable());
+    }
+
+    @Test
+    public void testLifoServesLatestFirst() {
+        final IPassiveResource resource = PassiveResourceSemanticsType.LIFO.createResource(this.passiveResource,
+                this.assemblyContext, this.fixture.getRuntimeState().getModel(), 1);
+        final ISchedulableProcess[] processes = this.createProcesses(4);
+        for (final ISchedulableProcess process : processes) {
+            resource.acquire(process, 1, false, 0);
+        }
+        this.events.clear();
+        resource.release(processes[0], 1);
+        resource.release(processes[3], 1);
+        resource.release(processes[2], 1);
+        assertEquals(Arrays.asList("activate p3", "activate p2", "activate p1"), this.events);
+    }
+
+    @Test
+    public void testCancelWaitingRequests() {
+        final QueueingPassiveResource resource = new QueueingPassiveResource(this.passiveResource,
+                this.assemblyContext, this.fixture.getRuntimeState().getModel(), 1, WaitingDiscipline.PRIORITY,
+                false);
+        final ISchedulableProcess[] processes = this.createProcesses(3);
+        for (final ISchedulableProcess process : processes) {
+            resource.acquire(process, 1, 0, false, 0);
+        }
+        this.events.clear();
+        resource.cancelWaitingRequests();
+        assertEquals(Arrays.asList("activate p1", "activate p2"), this.events);
+        assertTrue(resource.getWaitingProcesses().isEmpty());
+
+        // the canceled requests are not granted by later releases
+        this.events.clear();
+        resource.release(processes[0], 1);
+        assertTrue(this.events.isEmpty());
+        assertEquals(1, resource.getAvailable());
+    }
+
+    @Test
+    public void testIndexFindsCopiesOfPassiveResources() {
+        final BasicComponent component = RepositoryFactory.eINSTANCE.createBasicComponent();
+        component.setId("_component");
+        component.getPassiveResource_BasicComponent().add(this.passiveResource);
+        component.getPassiveResource_BasicComponent().add(passiveResource("_locks", "Locks"));
+        final Map<String, PassiveResourceSemantics> semantics = PassiveResourceSemanticsType
+                .parse("Locks=PRIORITY; _connections = LIFO;");
+        final PassiveResourceIndexRegistry registry = new PassiveResourceIndexRegistry(semantics,
+                this.fixture.getRuntimeState().getModelAccess());
+
+        final PassiveResourceIndex index = registry.getIndex(component);
+        assertEquals(2, index.size());
+        assertSame(PassiveResourceSemanticsType.LIFO, index.getSemantics(0));
+        assertSame(PassiveResourceSemanticsType.PRIORITY, index.getSemantics(1));
+        assertFalse(index.isStateMonitored(0));
+
+        final BasicComponent copy = EcoreUtil.copy(component);
+        assertSame(index, registry.getIndex(copy));
+        assertEquals(1, index.slotOf(copy.getPassiveResource_BasicComponent().get(1)));
+        assertEquals(-1, index.slotOf(passiveResource("_other", "Locks")));
+
+        // a reconfiguration adding a passive resource invalidates the index
+        copy.getPassiveResource_BasicComponent().add(passiveResource("_threads", "Threads"));
+        final PassiveResourceIndex changed = registry.getIndex(copy);
+        assertNotSame(index, changed);
+        assertSame(PassiveResourceSemanticsType.FIFO, changed.getSemantics(2));
+        assertEquals(Collections.emptyMap(), PassiveResourceSemanticsType.parse(" "));
+    }
+
+    private static PassiveResource passiveResource(final String id, final String name) {
+        final PassiveResource passiveResource = RepositoryFactory.eINSTANCE.createPassiveResource();
+        passiveResource.setId(id);
+        passiveResource.setEntityName(name);
+        passiveResource.setCapacity_PassiveResource(PCMModelBuilder.randomVariable("1"));
+        return passiveResource;
+    }
+
+    private ISchedulableProcess[] createProcesses(final int count) {
+        final ISchedulableProcess[] processes = new ISchedulableProcess[count];
+        for (int i = 0; i < count; i++) {
+            final String id = "p" + i;
+            processes[i] = (ISchedulableProcess) Proxy.newProxyInstance(this.getClass().getClassLoader(),
+                    new Class<?>[] { ISchedulableProcess.class }, (proxy, method, arguments) -> {
+                        switch (method.getName()) {
+                        case "activate":
+                        case "passivate":
+                            this.events.add(method.getName() + " " + id);
+                            return null;
+                        case "getId":
+                        case "toString":
+                            return id;
+                        case "equals":
+                            return proxy == arguments[0];
+                        case "hashCode":
+                            return id.hashCode();
+                        default:
+                            return defaultValue(method.getReturnType());
+                        }
+                    });
+        }
+        return processes;
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0.0;
+        }
+        return null;
+    }
+
+    private IPassiveResourceSensor createSensor() {
+        return new IPassiveResourceSensor() {
+
+            @Override
+            public void request(final IPassiveResource resource, final ISchedulableProcess process, final long num) {
+                PassiveResourceSemanticsTest.this.events.add("request " + process.getId() + " " + num);
+            }
+
+            @Override
+            public void acquire(final IPassiveResource resource, final ISchedulableProcess process, final long num) {
+                PassiveResourceSemanticsTest.this.events.add("acquire " + process.getId() + " " + num);
+            }
+
+            @Override
+            public void release(final IPassiveResource resource, final ISchedulableProcess process, final long num) {
+                PassiveResourceSemanticsTest.this.events.add("release " + process.getId() + " " + num);
+            }
+        };
+    }
+}
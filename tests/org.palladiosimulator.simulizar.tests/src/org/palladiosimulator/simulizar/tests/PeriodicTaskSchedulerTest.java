@@ -0,0 +1,159 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.SelfReschedulingSimulationEntity;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicTask;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicTaskScheduler;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicallyTriggeredSimulationEntity;
+
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+
+/**
+ * Runs periodic tasks of a {@link PeriodicTaskScheduler} in a simulation, partly side by side with
+ * {@link SelfReschedulingSimulationEntity}s, which trigger the way periodically triggered entities
+ * did before the scheduler.
+ */
+public class PeriodicTaskSchedulerTest {
+
+    private static final long SIMULATION_TIME = 100;
+    private static final double PERIOD_CHANGE = 30.25;
+    private static final double CANCELLATION = 60.25;
+
+    private SimulationFixture fixture;
+    private SimuComModel model;
+    private PeriodicTaskScheduler scheduler;
+
+    @Before
+    public void setUp() throws IOException {
+        this.fixture = new SimulationFixture(new PCMModelBuilder().build(), SIMULATION_TIME);
+        this.model = this.fixture.getRuntimeState().getModel();
+        this.scheduler = this.fixture.getRuntimeState().getPeriodicTaskScheduler();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.fixture.cleanUp();
+    }
+
+    @Test
+    public void testTriggerTimesMatchSelfReschedulingEntities() {
+        // first occurrence and delay; changes and cancellations happen in between triggers
+        final double[][] phases = { { 1.0, 1.0 }, { 0.5, 2.5 }, { 0.1, 0.1 }, { 2.5, 2.5 }, { 0.3, 0.7 } };
+        final List<List<Double>> expected = new ArrayList<List<Double>>();
+        final List<List<Double>> actual = new ArrayList<List<Double>>();
+        final List<SelfReschedulingSimulationEntity> references = new ArrayList<>();
+        final List<PeriodicallyTriggeredSimulationEntity> entities = new ArrayList<>();
+        for (final double[] phase : phases) {
+            final List<Double> expectedTimes = new ArrayList<Double>();
+            expected.add(expectedTimes);
+            references.add(new SelfReschedulingSimulationEntity(this.model, phase[0], phase[1],
+                    () -> expectedTimes.add(this.now())));
+            final List<Double> actualTimes = new ArrayList<Double>();
+            actual.add(actualTimes);
+            entities.add(new PeriodicallyTriggeredSimulationEntity(this.model, phase[0], phase[1]) {
+
+                @Override
+                protected void triggerInternal() {
+                    actualTimes.add(PeriodicTaskSchedulerTest.this.now());
+                }
+            });
+        }
+        new SelfReschedulingSimulationEntity(this.model, PERIOD_CHANGE, SIMULATION_TIME, () -> {
+            for (final int changed : new int[] { 1, 2 }) {
+                references.get(changed).setDelayAndReinitialize(0.2, 0.4 * changed);
+                entities.get(changed).setDelayAndReinitialize(0.2, 0.4 * changed);
+            }
+        });
+        new SelfReschedulingSimulationEntity(this.model, CANCELLATION, SIMULATION_TIME, () -> {
+            for (final int cancelled : new int[] { 0, 2 }) {
+                references.get(cancelled).stopScheduling();
+                entities.get(cancelled).stopScheduling();
+            }
+        });
+
+        this.fixture.run();
+
+        for (int i = 0; i < phases.length; i++) {
+            assertFalse(expected.get(i).isEmpty());
+            assertEquals("Entity " + i, expected.get(i), actual.get(i));
+        }
+        for (final int cancelled : new int[] { 0, 2 }) {
+            final List<Double> times = actual.get(cancelled);
+            assertTrue(times.get(times.size() - 1) < CANCELLATION);
+        }
+    }
+
+    @Test
+    public void testTasksDueAtTheSameTimeRunInOrderOfPriorityAndRegistration() {
+        final int groups = this.scheduler.getNumberOfPhaseGroups();
+        final List<String> runs = new ArrayList<String>();
+        final int[] groupsWhileRunning = new int[1];
+        this.scheduler.register(() -> runs.add("a"), 0.25, 0.25);
+        this.scheduler.register(() -> {
+            runs.add("b");
+            groupsWhileRunning[0] = this.scheduler.getNumberOfPhaseGroups();
+        }, 0.5, 0.5);
+        this.scheduler.register(() -> runs.add("c"), 0.25, 0.25);
+        this.scheduler.register(() -> runs.add("d"), 0.5, 0.5, 1);
+        // joins the phase group of a and c after their first run
+        this.scheduler.register(() -> runs.add("e"), 0.5, 0.25);
+        assertEquals(groups + 3, this.scheduler.getNumberOfPhaseGroups());
+
+        this.fixture.run();
+
+        assertEquals(Arrays.asList("a", "c", "d", "a", "b", "c", "e"), runs.subList(0, 7));
+        assertEquals(groups + 2, groupsWhileRunning[0]);
+    }
+
+    @Test
+    public void testCancelAndRescheduleWhileRunning() {
+        final int tasks = this.scheduler.getNumberOfTasks();
+        final List<Double> firstRuns = new ArrayList<Double>();
+        final List<Double> secondRuns = new ArrayList<Double>();
+        final List<Double> rescheduledRuns = new ArrayList<Double>();
+        final PeriodicTask[] cancelled = new PeriodicTask[2];
+        cancelled[0] = this.scheduler.register(() -> {
+            firstRuns.add(this.now());
+            if (firstRuns.size() == 3) {
+                // the second task is due at the same time, but has not run yet
+                cancelled[1].cancel();
+                cancelled[0].cancel();
+            }
+        }, 1.0, 1.0);
+        cancelled[1] = this.scheduler.register(() -> secondRuns.add(this.now()), 1.0, 1.0);
+        final PeriodicTask[] rescheduled = new PeriodicTask[1];
+        rescheduled[0] = this.scheduler.register(() -> {
+            rescheduledRuns.add(this.now());
+            if (rescheduledRuns.size() == 1) {
+                rescheduled[0].reschedule(0.25, 2.0);
+            }
+        }, 0.5, 0.5);
+        assertEquals(tasks + 3, this.scheduler.getNumberOfTasks());
+
+        this.fixture.run();
+
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), firstRuns);
+        assertEquals(Arrays.asList(1.0, 2.0), secondRuns);
+        assertFalse(cancelled[0].isScheduled());
+        assertFalse(cancelled[1].isScheduled());
+        assertEquals(Arrays.asList(0.5, 0.75, 2.75, 4.75), rescheduledRuns.subList(0, 4));
+        assertEquals(2.0, rescheduled[0].getPeriod(), 0);
+    }
+
+    private double now() {
+        return this.model.getSimulationControl().getCurrentSimulationTime();
+    }
+}
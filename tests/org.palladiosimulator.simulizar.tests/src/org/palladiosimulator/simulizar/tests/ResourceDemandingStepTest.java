@@ -0,0 +1,151 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.pcm.parameter.VariableUsage;
+import org.palladiosimulator.pcm.repository.BasicComponent;
+import org.palladiosimulator.pcm.repository.OperationProvidedRole;
+import org.palladiosimulator.pcm.usagemodel.EntryLevelSystemCall;
+import org.palladiosimulator.simulizar.action.core.AdaptationBehavior;
+import org.palladiosimulator.simulizar.action.core.AdaptationBehaviorRepository;
+import org.palladiosimulator.simulizar.action.core.ControllerCall;
+import org.palladiosimulator.simulizar.action.core.CoreFactory;
+import org.palladiosimulator.simulizar.action.core.ResourceDemandingStep;
+import org.palladiosimulator.simulizar.action.instance.InstanceFactory;
+import org.palladiosimulator.simulizar.action.instance.RoleSet;
+import org.palladiosimulator.simulizar.action.interpreter.ActionRuntimeState;
+import org.palladiosimulator.simulizar.action.interpreter.util.TransientEffectRuntimeStateCache;
+import org.palladiosimulator.simulizar.action.interpreter.util.TransientEffectTransformationCacheKeeper;
+import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsage;
+import org.palladiosimulator.simulizar.action.parameter.ControllerCallInputVariableUsageCollection;
+import org.palladiosimulator.simulizar.action.parameter.ParameterFactory;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.interpreter.listener.AbstractInterpreterListener;
+import org.palladiosimulator.simulizar.interpreter.listener.ModelElementPassedEvent;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicallyTriggeredSimulationEntity;
+
+/**
+ * Executes an adaptation behavior consisting of a {@link ResourceDemandingStep} {@value #EXECUTIONS}
+ * times through the transient effect interpreter during a simulation run. The controller call of
+ * the step is executed by the component of the simulated system; its resource demand depends on
+ * the input parameter of the call, which must be supplied on every execution.
+ */
+public class ResourceDemandingStepTest {
+
+    private static final int EXECUTIONS = 3;
+    private static final double PERIOD = 100;
+    private static final long SIMULATION_TIME = 400;
+    private static final String CONTROLLER_COMPLETION_URI = "platform:/plugin/org.palladiosimulator.simulizar.tests/"
+            + "testmodel/actions/controllercompletion.qvto";
+
+    private SimulationFixture fixture;
+    private ControllerCallInputVariableUsage inputVariableUsage;
+    private ControllerCallInputVariableUsageCollection inputVariableUsages;
+    private AdaptationBehavior adaptationBehavior;
+
+    @Before
+    public void setUp() throws IOException {
+        // the workload only issues its first request, so that it does not compete with the controller
+        this.fixture = new SimulationFixture(new PCMModelBuilder()
+                .cpuDemand(PCMModelBuilder.INPUT_PARAMETER + ".VALUE * 0.001").interArrivalTime("1000").build(),
+                SIMULATION_TIME);
+        final PCMResourceSetPartition models = this.fixture.getRuntimeState().getModelAccess().getGlobalPCMModel();
+        final OperationProvidedRole systemRole = (OperationProvidedRole) models.getSystem()
+                .getProvidedRoles_InterfaceProvidingEntity().get(0);
+
+        final ControllerCall controllerCall = CoreFactory.eINSTANCE.createControllerCall();
+        controllerCall.setEntityName("Controller call");
+        controllerCall.setComponent((BasicComponent) models.getAllocation().getAllocationContexts_Allocation().get(0)
+                .getAssemblyContext_AllocationContext().getEncapsulatedComponent__AssemblyContext());
+        controllerCall.setCalledSignature(systemRole.getProvidedInterface__OperationProvidedRole()
+                .getSignatures__OperationInterface().get(0));
+        final ResourceDemandingStep step = CoreFactory.eINSTANCE.createResourceDemandingStep();
+        step.setEntityName("Resource demanding step");
+        step.setControllerCompletionURI(CONTROLLER_COMPLETION_URI);
+        step.getControllerCalls().add(controllerCall);
+        this.adaptationBehavior = CoreFactory.eINSTANCE.createAdaptationBehavior();
+        this.adaptationBehavior.setEntityName("Adaptation behavior");
+        this.adaptationBehavior.getAdaptationSteps().add(step);
+        final AdaptationBehaviorRepository repository = CoreFactory.eINSTANCE.createAdaptationBehaviorRepository();
+        repository.getActions().add(this.adaptationBehavior);
+
+        this.inputVariableUsage = ParameterFactory.eINSTANCE.createControllerCallInputVariableUsage();
+        this.inputVariableUsage.setCorrespondingControllerCall(controllerCall);
+        this.inputVariableUsage.setVariableUsage(PCMModelBuilder.inputUsage("2"));
+        this.inputVariableUsages = ParameterFactory.eINSTANCE.createControllerCallInputVariableUsageCollection();
+        this.inputVariableUsages.getControllerCallInputVariableUsages().add(this.inputVariableUsage);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.fixture.cleanUp();
+    }
+
+    @Test
+    public void testResourceDemandingStepIsExecutedWithInputParameters() {
+        final SimuLizarRuntimeState runtimeState = this.fixture.getRuntimeState();
+        new ActionRuntimeState().setRuntimeStateModel(runtimeState);
+        final RoleSet roleSet = InstanceFactory.eINSTANCE.createRoleSet();
+        final int[] executions = new int[1];
+        final PeriodicallyTriggeredSimulationEntity trigger = new PeriodicallyTriggeredSimulationEntity(
+                runtimeState.getModel(), PERIOD / 2, PERIOD) {
+
+            @Override
+            protected void triggerInternal() {
+                if (executions[0]++ < EXECUTIONS) {
+                    ActionRuntimeState
+                            .getInterpreterBuilder(roleSet, ResourceDemandingStepTest.this.adaptationBehavior
+                                    .getRepository())
+                            .addControllerCallVariableUsages(ResourceDemandingStepTest.this.inputVariableUsages)
+                            .isAsync().build().doSwitch(ResourceDemandingStepTest.this.adaptationBehavior);
+                }
+            }
+        };
+        final List<Double> controllerCallDurations = new ArrayList<>();
+        runtimeState.getEventNotificationHelper().addObserver(new AbstractInterpreterListener() {
+
+            private double start;
+
+            @Override
+            public void beginEntryLevelSystemCallInterpretation(
+                    final ModelElementPassedEvent<EntryLevelSystemCall> event) {
+                this.start = event.getPassageTime();
+            }
+
+            @Override
+            public void endEntryLevelSystemCallInterpretation(
+                    final ModelElementPassedEvent<EntryLevelSystemCall> event) {
+                // the scenarios of controller calls are not part of the usage model
+                if (event.getModelElement().eResource() == null) {
+                    controllerCallDurations.add(event.getPassageTime() - this.start);
+                }
+            }
+        });
+        final TransientEffectRuntimeStateCache cache = TransientEffectTransformationCacheKeeper
+                .getCacheForRuntimeState(runtimeState);
+        final VariableUsage variableUsage = this.inputVariableUsage.getVariableUsage();
+
+        this.fixture.run();
+        trigger.stopScheduling();
+
+        assertEquals(EXECUTIONS, controllerCallDurations.size());
+        assertTrue(controllerCallDurations.get(0) > 0);
+        for (final double duration : controllerCallDurations) {
+            assertEquals(controllerCallDurations.get(0), duration, 1e-9);
+        }
+        assertSame(variableUsage, this.inputVariableUsage.getVariableUsage());
+        assertEquals(1, cache.getControllerScenarioTemplates().getNumberOfCreatedTemplates());
+    }
+}
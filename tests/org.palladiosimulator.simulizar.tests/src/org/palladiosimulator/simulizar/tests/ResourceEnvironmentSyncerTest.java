@@ -0,0 +1,227 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.Monitor;
+import org.palladiosimulator.monitorrepository.MonitorRepositoryFactory;
+import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceenvironmentFactory;
+import org.palladiosimulator.pcmmeasuringpoint.ActiveResourceMeasuringPoint;
+import org.palladiosimulator.pcmmeasuringpoint.PcmmeasuringpointFactory;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.modelobserver.ResourceEnvironmentSyncer;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+
+import de.uka.ipd.sdq.simucomframework.resources.ScheduledResource;
+
+/**
+ * Changes the resource environment of a runtime state and checks the simulated resources and
+ * attached calculators the {@link ResourceEnvironmentSyncer} keeps for its processing resources.
+ */
+public class ResourceEnvironmentSyncerTest {
+
+
+    private Path folder;
+    private SimuLizarRuntimeState runtimeState;
+    private ResourceEnvironmentSyncer syncer;
+    private ResourceEnvironment resourceEnvironment;
+
+    @Before
+    public void setUp() throws IOException {
+        this.folder = Files.createTempDirectory("simulizar-resources");
+        // the CPU of the first container is monitored, the one of the second is not
+        this.runtimeState = new SimuLizarRuntimeState(this.createConfiguration(),
+                new ModelAccess(new PCMModelBuilder().assemblyContexts(2).monitors(1).build().createBlackboard()),
+                new SimulationCancelationDelegate(() -> false));
+        this.syncer = this.runtimeState.getModelObservers().stream()
+                .filter(ResourceEnvironmentSyncer.class::isInstance).map(ResourceEnvironmentSyncer.class::cast)
+                .findFirst().get();
+        this.resourceEnvironment = this.runtimeState.getModelAccess().getGlobalPCMModel().getAllocation()
+                .getTargetResourceEnvironment_Allocation();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.runtimeState.cleanUp();
+        SimulationFixture.delete(this.folder);
+    }
+
+    @Test
+    public void testLookupOfInitialResources() {
+        final ProcessingResourceSpecification monitored = this.cpu(0);
+        final ProcessingResourceSpecification unmonitored = this.cpu(1);
+
+        this.assertSimulated(monitored);
+        assertEquals(1, this.syncer.getAttachedCalculators(monitored).size());
+        this.assertSimulated(unmonitored);
+        assertTrue(this.syncer.getAttachedCalculators(unmonitored).isEmpty());
+    }
+
+    @Test
+    public void testAddedContainerIsIndexed() {
+        final ResourceContainer container = this.createContainer();
+        final ProcessingResourceSpecification cpu = container.getActiveResourceSpecifications_ResourceContainer()
+                .get(0);
+        this.resourceEnvironment.getResourceContainer_ResourceEnvironment().add(container);
+
+        this.assertSimulated(cpu);
+        assertTrue(this.syncer.getAttachedCalculators(cpu).isEmpty());
+    }
+
+    @Test
+    public void testMonitorOfAddedContainerIsAttached() {
+        final ResourceContainer container = this.createContainer();
+        final ProcessingResourceSpecification cpu = container.getActiveResourceSpecifications_ResourceContainer()
+                .get(0);
+        // the monitor is added after the index of the monitors has been built
+        this.runtimeState.getModelAccess().getMonitorRepositoryModel().getMonitors().add(createMonitor(cpu));
+        this.resourceEnvironment.getResourceContainer_ResourceEnvironment().add(container);
+
+        this.assertSimulated(cpu);
+        assertEquals(1, this.syncer.getAttachedCalculators(cpu).size());
+    }
+
+    @Test
+    public void testAddedResourceIsIndexed() {
+        final ResourceContainer container = this.resourceEnvironment.getResourceContainer_ResourceEnvironment()
+                .get(1);
+        final ProcessingResourceSpecification cpu = createCpu(this.cpu(1));
+        container.getActiveResourceSpecifications_ResourceContainer().add(cpu);
+
+        this.assertSimulated(cpu);
+        this.assertSimulated(this.cpu(1));
+    }
+
+    @Test
+    public void testRemovedResourceIsNotIndexed() {
+        final ProcessingResourceSpecification monitored = this.cpu(0);
+        this.assertSimulated(monitored);
+        monitored.getResourceContainer_ProcessingResourceSpecification()
+                .getActiveResourceSpecifications_ResourceContainer().remove(monitored);
+
+        assertNull(this.syncer.getSimulatedActiveResource(monitored));
+        assertTrue(this.syncer.getAttachedCalculators(monitored).isEmpty());
+        // the other container is not affected
+        this.assertSimulated(this.cpu(1));
+    }
+
+    @Test
+    public void testRemovedContainerIsShutDown() {
+        final ResourceContainer container = this.resourceEnvironment.getResourceContainer_ResourceEnvironment()
+                .get(0);
+        final ProcessingResourceSpecification monitored = this.cpu(0);
+        // a second resource of the container, without monitor
+        final ProcessingResourceSpecification unmonitored = createCpu(monitored);
+        container.getActiveResourceSpecifications_ResourceContainer().add(unmonitored);
+        this.assertSimulated(monitored);
+        this.assertSimulated(unmonitored);
+        assertEquals(1, this.syncer.getAttachedCalculators(monitored).size());
+
+        this.resourceEnvironment.getResourceContainer_ResourceEnvironment().remove(container);
+
+        assertNull(this.runtimeState.getModel().getResourceRegistry().getResourceContainer(container.getId()));
+        for (final ProcessingResourceSpecification cpu : container
+                .getActiveResourceSpecifications_ResourceContainer()) {
+            assertNull(this.syncer.getSimulatedActiveResource(cpu));
+            assertTrue(this.syncer.getAttachedCalculators(cpu).isEmpty());
+        }
+        // the other container is not affected
+        this.assertSimulated(this.cpu(0));
+    }
+
+    @Test
+    public void testChangedNumberOfReplicasReplacesResource() {
+        final ProcessingResourceSpecification monitored = this.cpu(0);
+        final ScheduledResource replaced = this.syncer.getSimulatedActiveResource(monitored);
+        monitored.setNumberOfReplicas(2);
+
+        final ScheduledResource replacement = this.syncer.getSimulatedActiveResource(monitored);
+        assertNotSame(replaced, replacement);
+        this.assertSimulated(monitored);
+        assertEquals(2, replacement.getNumberOfInstances());
+        assertFalse(this.runtimeState.getModel().getResourceRegistry()
+                .getResourceContainer(monitored.getResourceContainer_ProcessingResourceSpecification().getId())
+                .getActiveResources().contains(replaced));
+        assertFalse(this.syncer.getAttachedCalculators(monitored).isEmpty());
+    }
+
+    private void assertSimulated(final ProcessingResourceSpecification cpu) {
+        final ScheduledResource scheduledResource = this.syncer.getSimulatedActiveResource(cpu);
+        assertNotNull("No simulated resource for " + cpu.getId(), scheduledResource);
+        assertTrue(this.runtimeState.getModel().getResourceRegistry()
+                .getResourceContainer(cpu.getResourceContainer_ProcessingResourceSpecification().getId())
+                .getActiveResources().contains(scheduledResource));
+    }
+
+    private ProcessingResourceSpecification cpu(final int container) {
+        return this.resourceEnvironment.getResourceContainer_ResourceEnvironment().get(container)
+                .getActiveResourceSpecifications_ResourceContainer().get(0);
+    }
+
+    /**
+     * @return a container with a CPU like the ones of the model, not added to the environment.
+     */
+    private ResourceContainer createContainer() {
+        final ResourceContainer container = ResourceenvironmentFactory.eINSTANCE.createResourceContainer();
+        container.setEntityName("Added server");
+        container.getActiveResourceSpecifications_ResourceContainer().add(createCpu(this.cpu(0)));
+        return container;
+    }
+
+    private static ProcessingResourceSpecification createCpu(final ProcessingResourceSpecification template) {
+        final ProcessingResourceSpecification cpu = ResourceenvironmentFactory.eINSTANCE
+                .createProcessingResourceSpecification();
+        cpu.setActiveResourceType_ActiveResourceSpecification(
+                template.getActiveResourceType_ActiveResourceSpecification());
+        cpu.setSchedulingPolicy(template.getSchedulingPolicy());
+        cpu.setNumberOfReplicas(1);
+        cpu.setProcessingRate_ProcessingResourceSpecification(
+                EcoreUtil.copy(template.getProcessingRate_ProcessingResourceSpecification()));
+        return cpu;
+    }
+
+    private static Monitor createMonitor(final ProcessingResourceSpecification cpu) {
+        final ActiveResourceMeasuringPoint measuringPoint = PcmmeasuringpointFactory.eINSTANCE
+                .createActiveResourceMeasuringPoint();
+        measuringPoint.setActiveResource(cpu);
+        measuringPoint.setReplicaID(0);
+        final MeasurementSpecification specification = MonitorRepositoryFactory.eINSTANCE
+                .createMeasurementSpecification();
+        specification.setMetricDescription(MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC);
+        specification.setProcessingType(MonitorRepositoryFactory.eINSTANCE.createFeedThrough());
+        final Monitor monitor = MonitorRepositoryFactory.eINSTANCE.createMonitor();
+        monitor.setEntityName("Added CPU");
+        monitor.setActivated(true);
+        monitor.setMeasuringPoint(measuringPoint);
+        monitor.getMeasurementSpecifications().add(specification);
+        return monitor;
+    }
+
+    private SimuLizarWorkflowConfiguration createConfiguration() {
+        final Map<String, Object> properties = SimulationFixture.createSimulationProperties(100);
+        SimulationFixture.useColumnarRecorder(properties, this.folder);
+        return SimulationFixture.createConfiguration(properties);
+    }
+}
@@ -0,0 +1,102 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.simulizar.action.instance.InstanceFactory;
+import org.palladiosimulator.simulizar.action.instance.RoleSet;
+import org.palladiosimulator.simulizar.action.interpreter.AbstractStateTransformation;
+import org.palladiosimulator.simulizar.action.interpreter.util.StateTransformationRegistry;
+
+/**
+ * Resolves stateful state transformations through a {@link StateTransformationRegistry}. The
+ * registry must behave like resolving each transformation from the extension registry on every
+ * execution, while querying the extension registry only once per extension id.
+ */
+public class StateTransformationRegistryTest {
+
+    private static final int EXECUTIONS = 1000;
+    private static final String[] EXTENSION_IDS = { "scaleOut", "scaleIn" };
+
+    private Map<String, Integer> resolutionsPerId;
+    private StateTransformationRegistry registry;
+    private RoleSet roleSet;
+
+    @Before
+    public void setUp() {
+        this.resolutionsPerId = new HashMap<>();
+        this.registry = new StateTransformationRegistry(extensionId -> {
+            this.resolutionsPerId.merge(extensionId, 1, Integer::sum);
+            return AlternatingStateTransformation::new;
+        });
+        this.roleSet = InstanceFactory.eINSTANCE.createRoleSet();
+    }
+
+    @Test
+    public void testRegistryIsQueriedOncePerExtensionId() {
+        for (int i = 0; i < EXECUTIONS; i++) {
+            for (final String extensionId : EXTENSION_IDS) {
+                this.registry.getStateTransformation(extensionId).execute(this.roleSet);
+            }
+        }
+
+        for (final String extensionId : EXTENSION_IDS) {
+            assertEquals(Integer.valueOf(1), this.resolutionsPerId.get(extensionId));
+        }
+        assertEquals(EXTENSION_IDS.length, this.registry.getNumberOfResolutions());
+        assertEquals(EXECUTIONS * EXTENSION_IDS.length, this.registry.getNumberOfLookups());
+    }
+
+    @Test
+    public void testCachedExecutionYieldsSameResultsAsUncachedExecution() {
+        for (int i = 0; i < EXECUTIONS; i++) {
+            // without the registry, each execution created the transformation from the extension
+            final AbstractStateTransformation uncached = new AlternatingStateTransformation();
+            final boolean expected = uncached.execute(this.roleSet);
+            assertTrue(expected);
+            assertEquals("Execution " + i, expected,
+                    this.registry.getStateTransformation(EXTENSION_IDS[0]).execute(this.roleSet));
+        }
+        assertEquals(Integer.valueOf(1), this.resolutionsPerId.get(EXTENSION_IDS[0]));
+    }
+
+    @Test
+    public void testEachRequestCreatesNewTransformation() {
+        final AbstractStateTransformation first = this.registry.getStateTransformation(EXTENSION_IDS[0]);
+        assertNotSame(first, this.registry.getStateTransformation(EXTENSION_IDS[0]));
+        assertSame(this.registry.getStateTransformationFactory(EXTENSION_IDS[0]),
+                this.registry.getStateTransformationFactory(EXTENSION_IDS[0]));
+    }
+
+    @Test
+    public void testClearInvalidatesResolvedTransformations() {
+        this.registry.getStateTransformation(EXTENSION_IDS[0]);
+        this.registry.getStateTransformation(EXTENSION_IDS[0]);
+        assertEquals(Integer.valueOf(1), this.resolutionsPerId.get(EXTENSION_IDS[0]));
+
+        this.registry.clear();
+        this.registry.getStateTransformation(EXTENSION_IDS[0]);
+
+        assertEquals(Integer.valueOf(2), this.resolutionsPerId.get(EXTENSION_IDS[0]));
+    }
+
+    /**
+     * State transformation whose result depends on the number of its executions.
+     */
+    private static class AlternatingStateTransformation extends AbstractStateTransformation {
+
+        private int executions = 0;
+
+        @Override
+        public boolean execute(final RoleSet roleSet) {
+            return this.executions++ % 2 == 0;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.pcm.allocation.Allocation;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.StoryDiagrams;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.SDActivityOutcome;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.SDExecutor;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess.StoryDiagramCache;
+import org.palladiosimulator.simulizar.reconfiguration.storydiagram.modelaccess.StoryDiagramModelAccess;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+
+import de.mdelab.sdm.interpreter.core.variables.Variable;
+
+/**
+ * Executes a story diagram which does nothing as a reconfiguration rule of many runtime states,
+ * each with a blackboard of its own, as exploration runs do.
+ */
+public class StoryDiagramExecutorTest {
+
+    private static final int CHECKS = 500;
+    private static final String ALLOCATION_MODEL = "allocationModel";
+
+    private Path folder;
+    private File storyDiagram;
+    private PCMModels models;
+    private SimuLizarWorkflowConfiguration configuration;
+
+    @Before
+    public void setUp() throws IOException {
+        this.folder = Files.createTempDirectory("simulizar-sdm");
+        this.storyDiagram = StoryDiagrams.writeNoOpStoryDiagram(this.folder, "noop");
+
+        this.models = new PCMModelBuilder().build();
+        this.configuration = new SimuLizarWorkflowConfiguration(new HashMap<String, Object>());
+        this.configuration.setReconfigurationRulesFolder(this.folder.toString());
+        StoryDiagramCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        StoryDiagramCache.getInstance().clear();
+        Files.delete(this.storyDiagram.toPath());
+        Files.delete(this.folder);
+    }
+
+    @Test
+    public void testStoryDiagramsAreLoadedOnce() {
+        final long loadedBefore = StoryDiagramCache.getInstance().getLoadedFileCount();
+        for (int i = 0; i < CHECKS; i++) {
+            final StoryDiagramModelAccess modelAccess = new StoryDiagramModelAccess(
+                    new ModelAccess(this.models.createBlackboard()), this.configuration);
+            assertEquals(1, modelAccess.getTransformations().size());
+            final List<SDActivityOutcome> outcomes = SDExecutor.create(modelAccess).executeTransformations(
+                    modelAccess.getTransformations(), modelAccess.getGlobalPCMModel().getUsageModel());
+            assertEquals(1, outcomes.size());
+        }
+        assertEquals(1, StoryDiagramCache.getInstance().getLoadedFileCount() - loadedBefore);
+
+        // a modified story diagram is loaded again
+        assertTrue(this.storyDiagram.setLastModified(this.storyDiagram.lastModified() - 10000));
+        new StoryDiagramModelAccess(new ModelAccess(this.models.createBlackboard()), this.configuration);
+        assertEquals(2, StoryDiagramCache.getInstance().getLoadedFileCount() - loadedBefore);
+    }
+
+    @Test
+    public void testReplacedRootIsSeen() {
+        final StoryDiagramModelAccess modelAccess = new StoryDiagramModelAccess(
+                new ModelAccess(this.models.createBlackboard()), this.configuration);
+        final SDExecutor executor = SDExecutor.create(modelAccess);
+        final EObject monitoredElement = modelAccess.getGlobalPCMModel().getUsageModel();
+        final Allocation allocation = modelAccess.getGlobalPCMModel().getAllocation();
+        executor.executeTransformations(modelAccess.getTransformations(), monitoredElement);
+        assertSame(allocation, getValue(executor.getParameters(monitoredElement), ALLOCATION_MODEL));
+
+        // a reconfiguration replacing the root of the allocation model
+        final Allocation replacement = EcoreUtil.copy(allocation);
+        final Resource resource = allocation.eResource();
+        resource.getContents().set(resource.getContents().indexOf(allocation), replacement);
+
+        executor.executeTransformations(modelAccess.getTransformations(), monitoredElement);
+        final Object bound = getValue(executor.getParameters(monitoredElement), ALLOCATION_MODEL);
+        assertNotSame(allocation, bound);
+        assertSame(replacement, bound);
+    }
+
+    private static Object getValue(final List<Variable<EClassifier>> parameters, final String name) {
+        for (final Variable<EClassifier> parameter : parameters) {
+            if (parameter.getName().equals(name)) {
+                return parameter.getValue();
+            }
+        }
+        throw new AssertionError("No parameter " + name);
+    }
+}
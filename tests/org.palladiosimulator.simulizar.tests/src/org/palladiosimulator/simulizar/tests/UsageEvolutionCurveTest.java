@@ -0,0 +1,115 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.simulizar.usagemodel.UsageEvolutionCurve;
+
+import tools.descartes.dlim.Constant;
+import tools.descartes.dlim.DlimFactory;
+import tools.descartes.dlim.LinearTrend;
+import tools.descartes.dlim.Sequence;
+import tools.descartes.dlim.TimeDependentFunctionContainer;
+import tools.descartes.dlim.generator.ModelEvaluator;
+
+public class UsageEvolutionCurveTest {
+
+    private static final double STEP_WIDTH = 0.25;
+
+    private Sequence sequence;
+    private ModelEvaluator evaluator;
+
+    @Before
+    public void setUp() {
+        final LinearTrend trend = DlimFactory.eINSTANCE.createLinearTrend();
+        trend.setFunctionOutputAtStart(10);
+        trend.setFunctionOutputAtEnd(50);
+        final Constant constant = DlimFactory.eINSTANCE.createConstant();
+        constant.setConstant(20);
+
+        this.sequence = DlimFactory.eINSTANCE.createSequence();
+        this.sequence.setTerminateAfterLoops(1);
+        this.sequence.getSequenceFunctionContainers().add(container(trend, 30));
+        this.sequence.getSequenceFunctionContainers().add(container(constant, 12.5));
+        this.evaluator = new ModelEvaluator(this.sequence);
+        assertTrue(this.sequence.getFinalDuration() > 0);
+    }
+
+    @Test
+    public void testSamplesCoverFinalDuration() {
+        final UsageEvolutionCurve curve = new UsageEvolutionCurve(this.sequence, STEP_WIDTH);
+
+        assertEquals((int) Math.ceil(this.sequence.getFinalDuration() / STEP_WIDTH), curve.getNumberOfSamples());
+    }
+
+    @Test
+    public void testValuesOnSamplingGrid() {
+        final UsageEvolutionCurve curve = new UsageEvolutionCurve(this.sequence, STEP_WIDTH);
+
+        for (int i = 0; i < curve.getNumberOfSamples(); i++) {
+            final double time = i * STEP_WIDTH;
+            assertEquals("Value at " + time, this.evaluator.getArrivalRateAtTime(time), curve.getValueAt(time), 0d);
+        }
+    }
+
+    @Test
+    public void testValuesNearSamplingGrid() {
+        final UsageEvolutionCurve curve = new UsageEvolutionCurve(this.sequence, STEP_WIDTH);
+
+        // evolvers compute the evaluation time from the simulation time, which accumulates
+        // rounding errors
+        for (int i = 0; i < curve.getNumberOfSamples(); i++) {
+            final double time = i * STEP_WIDTH * (1 + 1e-12);
+            assertEquals("Value at " + time, this.evaluator.getArrivalRateAtTime(i * STEP_WIDTH),
+                    curve.getValueAt(time), 0d);
+        }
+    }
+
+    @Test
+    public void testValuesOffSamplingGridAreEvaluated() {
+        final UsageEvolutionCurve curve = new UsageEvolutionCurve(this.sequence, STEP_WIDTH);
+
+        for (int i = 0; i < curve.getNumberOfSamples(); i++) {
+            final double time = (i + 0.4) * STEP_WIDTH;
+            assertEquals("Value at " + time, this.evaluator.getArrivalRateAtTime(time), curve.getValueAt(time), 0d);
+        }
+    }
+
+    @Test
+    public void testValuesBeyondFinalDurationAreEvaluated() {
+        final UsageEvolutionCurve curve = new UsageEvolutionCurve(this.sequence, STEP_WIDTH);
+        final double time = this.sequence.getFinalDuration() + STEP_WIDTH;
+
+        assertEquals(this.evaluator.getArrivalRateAtTime(time), curve.getValueAt(time), 0d);
+    }
+
+    @Test
+    public void testTooManySamplesAreNotPreSampled() {
+        // more than 2^20 samples
+        final double stepWidth = this.sequence.getFinalDuration() / (1 << 21);
+        final UsageEvolutionCurve curve = new UsageEvolutionCurve(this.sequence, stepWidth);
+
+        assertEquals(0, curve.getNumberOfSamples());
+        for (int i = 0; i < 100; i++) {
+            final double time = i * 1000 * stepWidth;
+            assertEquals("Value at " + time, this.evaluator.getArrivalRateAtTime(time), curve.getValueAt(time), 0d);
+        }
+    }
+
+    @Test
+    public void testInvalidStepWidthIsNotPreSampled() {
+        assertEquals(0, new UsageEvolutionCurve(this.sequence, 0).getNumberOfSamples());
+        assertEquals(0, new UsageEvolutionCurve(this.sequence, -1).getNumberOfSamples());
+        assertEquals(0, new UsageEvolutionCurve(this.sequence, Double.NaN).getNumberOfSamples());
+    }
+
+    private static TimeDependentFunctionContainer container(final tools.descartes.dlim.Function function,
+            final double duration) {
+        final TimeDependentFunctionContainer container = DlimFactory.eINSTANCE.createTimeDependentFunctionContainer();
+        container.setDuration(duration);
+        container.setFunction(function);
+        return container;
+    }
+}
@@ -0,0 +1,161 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.edp2.models.measuringpoint.StringMeasuringPoint;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.MonitorRepositoryFactory;
+import org.palladiosimulator.monitorrepository.TimeDriven;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceContainer;
+import org.palladiosimulator.pcm.resourceenvironment.ResourceEnvironment;
+import org.palladiosimulator.pcmmeasuringpoint.ActiveResourceMeasuringPoint;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurement;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementModel;
+import org.palladiosimulator.runtimemeasurement.RuntimeMeasurementPackage;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SelfReschedulingSimulationEntity;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+
+import de.uka.ipd.sdq.simucomframework.model.SimuComModel;
+
+/**
+ * Simulates scale-out reconfigurations adding copies of a monitored resource container and a
+ * scale-in removing one of them. The added resources have to report their utilization based on the
+ * utilization measurement specification of the copied container, and the utilization of the group
+ * of all copies has to be the mean of the utilizations of its members whenever a window moves on.
+ */
+public class UtilizationScaleOutTest {
+
+    private static final long SIMULATION_TIME = 100;
+    private static final double WINDOW = 10.0;
+    private static final double FIRST_SCALE_OUT = 15.25;
+    private static final double SECOND_SCALE_OUT = 35.25;
+    private static final double SCALE_IN = 65.25;
+    private static final double DELTA = 1e-9;
+
+    private SimulationFixture fixture;
+    private SimuComModel model;
+    private ResourceEnvironment resourceEnvironment;
+    private RuntimeMeasurementModel runtimeMeasurementModel;
+
+    private final Set<RuntimeMeasurement> reportedMeasurements = new HashSet<>();
+    private final List<Double> expectedGroupUtilizations = new ArrayList<>();
+    private final List<Double> groupUtilizations = new ArrayList<>();
+    private int maximumGroupSize = 0;
+
+    @Before
+    public void setUp() throws IOException {
+        final PCMModels models = new PCMModelBuilder().monitors(1).cpuDemand("100").build();
+        final MeasurementSpecification utilization = MonitorRepositoryFactory.eINSTANCE
+                .createMeasurementSpecification();
+        utilization.setMetricDescription(MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE);
+        utilization.setTriggersSelfAdaptations(true);
+        final TimeDriven timeDriven = MonitorRepositoryFactory.eINSTANCE.createTimeDriven();
+        timeDriven.setWindowLength(WINDOW);
+        timeDriven.setWindowIncrement(WINDOW);
+        utilization.setProcessingType(timeDriven);
+        models.getMonitorRepository().getMonitors().get(0).getMeasurementSpecifications().add(utilization);
+
+        this.fixture = new SimulationFixture(models, SIMULATION_TIME);
+        this.model = this.fixture.getRuntimeState().getModel();
+        this.resourceEnvironment = this.fixture.getRuntimeState().getModelAccess().getGlobalPCMModel()
+                .getAllocation().getTargetResourceEnvironment_Allocation();
+        this.runtimeMeasurementModel = this.fixture.getRuntimeState().getModelAccess()
+                .getRuntimeMeasurementModel();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.fixture.cleanUp();
+    }
+
+    @Test
+    public void testAddedResourcesReportUtilizationAndGroupUtilizationIsTheMean() {
+        final ResourceContainer template = this.resourceEnvironment.getResourceContainer_ResourceEnvironment()
+                .get(0);
+        final List<ResourceContainer> copies = Arrays.asList(copy(template), copy(template), copy(template));
+        new SelfReschedulingSimulationEntity(this.model, FIRST_SCALE_OUT, SIMULATION_TIME,
+                () -> this.resourceEnvironment.getResourceContainer_ResourceEnvironment()
+                        .addAll(copies.subList(0, 2)));
+        new SelfReschedulingSimulationEntity(this.model, SECOND_SCALE_OUT, SIMULATION_TIME,
+                () -> this.resourceEnvironment.getResourceContainer_ResourceEnvironment().add(copies.get(2)));
+        new SelfReschedulingSimulationEntity(this.model, SCALE_IN, SIMULATION_TIME,
+                () -> this.resourceEnvironment.getResourceContainer_ResourceEnvironment().remove(copies.get(0)));
+        this.runtimeMeasurementModel.eAdapters().add(new EContentAdapter() {
+
+            @Override
+            public void notifyChanged(final Notification notification) {
+                super.notifyChanged(notification);
+                if (notification.getEventType() == Notification.SET && notification
+                        .getFeature() == RuntimeMeasurementPackage.Literals.RUNTIME_MEASUREMENT__MEASURING_VALUE) {
+                    onMeasuringValueSet((RuntimeMeasurement) notification.getNotifier());
+                }
+            }
+        });
+
+        this.fixture.run();
+
+        for (final ResourceContainer copy : copies) {
+            final String processingResourceId = copy.getActiveResourceSpecifications_ResourceContainer().get(0)
+                    .getId();
+            assertTrue("No utilization reported for " + copy.getId(), this.reportedMeasurements.stream()
+                    .anyMatch(measurement -> isMemberOf(measurement, processingResourceId)));
+        }
+        assertFalse(this.groupUtilizations.isEmpty());
+        for (int i = 0; i < this.groupUtilizations.size(); i++) {
+            assertEquals("Update " + i, this.expectedGroupUtilizations.get(i), this.groupUtilizations.get(i),
+                    DELTA);
+        }
+        // the template and all three copies
+        assertEquals(4, this.maximumGroupSize);
+    }
+
+    private void onMeasuringValueSet(final RuntimeMeasurement measurement) {
+        if (measurement.getMeasuringPoint() instanceof StringMeasuringPoint) {
+            // members forward their utilization before the group does, removed members are detached
+            final double[] memberUtilizations = this.runtimeMeasurementModel.getMeasurements().stream()
+                    .filter(member -> member.getMeasuringPoint() instanceof ActiveResourceMeasuringPoint
+                            && this.reportedMeasurements.contains(member))
+                    .mapToDouble(RuntimeMeasurement::getMeasuringValue).toArray();
+            this.maximumGroupSize = Math.max(this.maximumGroupSize, memberUtilizations.length);
+            this.expectedGroupUtilizations.add(Arrays.stream(memberUtilizations).average().getAsDouble());
+            this.groupUtilizations.add(measurement.getMeasuringValue());
+        } else if (measurement.getMeasuringPoint() instanceof ActiveResourceMeasuringPoint) {
+            assertTrue(measurement.getMeasuringValue() >= 0 && measurement.getMeasuringValue() <= 1);
+            this.reportedMeasurements.add(measurement);
+        }
+    }
+
+    private static boolean isMemberOf(final RuntimeMeasurement measurement, final String processingResourceId) {
+        return processingResourceId
+                .equals(((ActiveResourceMeasuringPoint) measurement.getMeasuringPoint()).getActiveResource().getId());
+    }
+
+    /**
+     * @return a copy of the resource container with new ids, as created by a scale-out rule.
+     */
+    private static ResourceContainer copy(final ResourceContainer template) {
+        final ResourceContainer copy = EcoreUtil.copy(template);
+        copy.setId(EcoreUtil.generateUUID());
+        copy.getActiveResourceSpecifications_ResourceContainer()
+                .forEach(processingResource -> processingResource.setId(EcoreUtil.generateUUID()));
+        return copy;
+    }
+}
@@ -0,0 +1,87 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.palladiosimulator.simulizar.warmup.IWarmupDetector;
+import org.palladiosimulator.simulizar.warmup.TruncationPoint;
+import org.palladiosimulator.simulizar.warmup.WarmupDetectorType;
+
+/**
+ * Feeds the warm-up detectors with an exponential decay into a stationary AR(1) process, whose
+ * transient ends when the decay falls below half the standard deviation of the process.
+ */
+public class WarmupDetectorTest {
+
+    private static final double LEVEL = 10.0;
+    private static final double AMPLITUDE = 1000.0;
+    private static final double DECAY = 200.0;
+    private static final double PHI = 0.5;
+    private static final int SAMPLES = 20000;
+    private static final double INTERVAL = 0.5;
+    private static final long[] SEEDS = { 1, 2, 5, 6, 7 };
+
+    /** Index of the first sample whose decay is below half the standard deviation of the process. */
+    private static final double TRUNCATION = DECAY * Math.log(AMPLITUDE / (0.5 / Math.sqrt(1 - PHI * PHI)));
+
+    @Test
+    public void testMser5DetectsEndOfDecay() {
+        for (final long seed : SEEDS) {
+            assertTruncationNearTruth(WarmupDetectorType.MSER5, seed);
+        }
+    }
+
+    @Test
+    public void testWelchDetectsEndOfDecay() {
+        for (final long seed : SEEDS) {
+            assertTruncationNearTruth(WarmupDetectorType.WELCH, seed);
+        }
+    }
+
+    @Test
+    public void testStationarySeriesIsBarelyTruncated() {
+        for (final WarmupDetectorType type : WarmupDetectorType.values()) {
+            final IWarmupDetector detector = type.createDetector(5, 1000);
+            final Random random = new Random(3);
+            double noise = 0.0;
+            for (int i = 0; i < 5000; i++) {
+                noise = PHI * noise + random.nextGaussian();
+                detector.offerSample(i, LEVEL + noise);
+            }
+            assertTrue(type.name(), detector.isSteadyStateDetected());
+            assertTrue(type.name(), detector.getTruncationPoint().getSampleIndex() < 500);
+        }
+    }
+
+    @Test
+    public void testNoDetectionBeforeMinimumSamples() {
+        for (final WarmupDetectorType type : WarmupDetectorType.values()) {
+            final IWarmupDetector detector = type.createDetector(5, 1000);
+            for (int i = 0; i < 999; i++) {
+                detector.offerSample(i, LEVEL);
+            }
+            assertFalse(type.name(), detector.isSteadyStateDetected());
+            assertEquals(999, detector.getSampleCount());
+        }
+    }
+
+    private static void assertTruncationNearTruth(final WarmupDetectorType type, final long seed) {
+        final IWarmupDetector detector = type.createDetector(5, 1000);
+        final Random random = new Random(seed);
+        double noise = 0.0;
+        for (int i = 0; i < SAMPLES; i++) {
+            noise = PHI * noise + random.nextGaussian();
+            detector.offerSample(i * INTERVAL, LEVEL + AMPLITUDE * Math.exp(-i / DECAY) + noise);
+        }
+
+        final TruncationPoint truncationPoint = detector.getTruncationPoint();
+        assertNotNull(type + ", seed " + seed, truncationPoint);
+        assertEquals(type + ", seed " + seed, TRUNCATION, truncationPoint.getSampleIndex(), 0.1 * TRUNCATION);
+        assertEquals(truncationPoint.getSampleIndex() * INTERVAL, truncationPoint.getPointInTime(), 0.0);
+    }
+}
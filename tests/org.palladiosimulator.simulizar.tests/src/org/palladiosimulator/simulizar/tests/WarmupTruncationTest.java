@@ -0,0 +1,187 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.Monitor;
+import org.palladiosimulator.monitorrepository.MonitorRepositoryFactory;
+import org.palladiosimulator.pcm.resourceenvironment.ProcessingResourceSpecification;
+import org.palladiosimulator.pcmmeasuringpoint.PcmmeasuringpointFactory;
+import org.palladiosimulator.pcmmeasuringpoint.UsageScenarioMeasuringPoint;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.launcher.SimulizarConstants;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentCursor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicallyTriggeredSimulationEntity;
+import org.palladiosimulator.simulizar.warmup.WarmupDetectionRegistry;
+import org.palladiosimulator.simulizar.warmup.WarmupDetectorType;
+import org.palladiosimulator.simulizar.warmup.WarmupFilterMode;
+import org.palladiosimulator.simulizar.warmup.WarmupFilteringRecorderConfigurationFactory;
+
+/**
+ * Simulates an M/M/1 processor-sharing queue with a utilization of 0.8, whose CPU runs at half
+ * speed for the first {@value #SLOW_START} seconds. The resulting backlog is the initial transient:
+ * the mean response time of the recorded samples has to be closer to the analytic value of 4
+ * seconds if the warm-up samples are dropped.
+ */
+public class WarmupTruncationTest {
+
+    private static final long SIMULATION_TIME = 4000;
+    private static final double SLOW_START = 160.0;
+    private static final double STEADY_STATE_RESPONSE_TIME = 0.8 / (1 - 0.8);
+    private static final int REPLICATIONS = 3;
+
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        this.folder = Files.createTempDirectory("simulizar-warmup");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SimulationFixture.delete(this.folder);
+    }
+
+    @Test
+    public void testDroppingWarmupReducesBias() throws IOException {
+        double untruncatedMean = 0.0;
+        double truncatedMean = 0.0;
+        for (int replication = 0; replication < REPLICATIONS; replication++) {
+            untruncatedMean += this.simulate(replication, this.folder.resolve("untruncated-" + replication), false)
+                    / REPLICATIONS;
+            truncatedMean += this.simulate(replication, this.folder.resolve("truncated-" + replication), true)
+                    / REPLICATIONS;
+        }
+
+        final double untruncatedBias = Math.abs(untruncatedMean - STEADY_STATE_RESPONSE_TIME);
+        final double truncatedBias = Math.abs(truncatedMean - STEADY_STATE_RESPONSE_TIME);
+        assertTrue("Bias " + truncatedBias + " with truncation, " + untruncatedBias + " without",
+                truncatedBias < untruncatedBias);
+    }
+
+    /**
+     * @return the mean of the recorded response times.
+     */
+    private double simulate(final int replication, final Path outputDirectory, final boolean dropWarmup)
+            throws IOException {
+        final PCMModels models = createModels();
+        final SimuLizarRuntimeState runtimeState = new SimuLizarRuntimeState(
+                this.createConfiguration(replication, outputDirectory, dropWarmup),
+                new ModelAccess(models.createBlackboard()), new SimulationCancelationDelegate(() -> false));
+
+        final ProcessingResourceSpecification cpu = runtimeState.getModelAccess().getGlobalPCMModel().getAllocation()
+                .getTargetResourceEnvironment_Allocation().getResourceContainer_ResourceEnvironment().get(0)
+                .getActiveResourceSpecifications_ResourceContainer().get(0);
+        // the second trigger lies beyond the end of the simulation
+        new PeriodicallyTriggeredSimulationEntity(runtimeState.getModel(), SLOW_START, SIMULATION_TIME) {
+
+            @Override
+            protected void triggerInternal() {
+                cpu.getProcessingRate_ProcessingResourceSpecification().setSpecification("1000");
+            }
+        };
+
+        try {
+            runtimeState.runSimulation();
+            final WarmupDetectionRegistry registry = runtimeState.getWarmupDetectionRegistry();
+            if (dropWarmup) {
+                assertNotNull(registry);
+                assertTrue(registry.getSeriesInTransient().toString(), registry.isSteadyStateDetected());
+            } else {
+                assertNull(registry);
+            }
+        } finally {
+            runtimeState.cleanUp();
+        }
+        return meanResponseTime(outputDirectory);
+    }
+
+    /**
+     * @return an M/M/1 queue with a mean service time of 0.8 seconds, whose CPU runs at half speed,
+     *         and a monitor of the response time of its usage scenario.
+     */
+    private static PCMModels createModels() {
+        final PCMModels models = new PCMModelBuilder().cpuDemand("Exp(0.00125)").interArrivalTime("Exp(1.0)").build();
+        models.getResourceEnvironment().getResourceContainer_ResourceEnvironment().get(0)
+                .getActiveResourceSpecifications_ResourceContainer().get(0)
+                .getProcessingRate_ProcessingResourceSpecification().setSpecification("500");
+
+        final UsageScenarioMeasuringPoint measuringPoint = PcmmeasuringpointFactory.eINSTANCE
+                .createUsageScenarioMeasuringPoint();
+        measuringPoint.setUsageScenario(models.getUsageModel().getUsageScenario_UsageModel().get(0));
+        models.getMeasuringPoints().getMeasuringPoints().add(measuringPoint);
+
+        final Monitor monitor = MonitorRepositoryFactory.eINSTANCE.createMonitor();
+        monitor.setEntityName("Response time");
+        monitor.setActivated(true);
+        monitor.setMeasuringPoint(measuringPoint);
+        final MeasurementSpecification specification = MonitorRepositoryFactory.eINSTANCE
+                .createMeasurementSpecification();
+        specification.setMetricDescription(MetricDescriptionConstants.RESPONSE_TIME_METRIC);
+        specification.setProcessingType(MonitorRepositoryFactory.eINSTANCE.createFeedThrough());
+        monitor.getMeasurementSpecifications().add(specification);
+        models.getMonitorRepository().getMonitors().add(monitor);
+        return models;
+    }
+
+    private SimuLizarWorkflowConfiguration createConfiguration(final int replication, final Path outputDirectory,
+            final boolean dropWarmup) {
+        final Map<String, Object> properties = SimulationFixture.createSimulationProperties(SIMULATION_TIME);
+        SimulationFixture.useFixedSeeds(properties, 10 * replication + 1);
+        SimulationFixture.useColumnarRecorder(properties, outputDirectory);
+        if (dropWarmup) {
+            properties.put(SimulizarConstants.WARMUP_DETECTOR, WarmupDetectorType.MSER5.name());
+            properties.put(SimulizarConstants.WARMUP_MINIMUM_SAMPLES, "1000");
+            properties.put(SimulizarConstants.WARMUP_FILTER_MODE, WarmupFilterMode.DROP.name());
+            WarmupFilteringRecorderConfigurationFactory.decorateRecorder(properties);
+        }
+
+        final SimuLizarWorkflowConfiguration configuration = SimulationFixture.createConfiguration(properties);
+        if (dropWarmup) {
+            configuration.setWarmupDetector(WarmupDetectorType.MSER5);
+            configuration.setWarmupMinimumSamples(1000);
+            configuration.setWarmupFilterMode(WarmupFilterMode.DROP);
+        }
+        return configuration;
+    }
+
+    private static double meanResponseTime(final Path outputDirectory) throws IOException {
+        final File[] runs = outputDirectory.toFile().listFiles();
+        assertEquals(1, runs.length);
+        final File[] segments = runs[0].listFiles((directory, name) -> name.endsWith(".segment"));
+        assertEquals(1, segments.length);
+
+        try (final SegmentReader reader = new SegmentReader(segments[0])) {
+            final int column = reader.getHeader().indexOf(MetricDescriptionConstants.RESPONSE_TIME_METRIC.getId());
+            final SegmentCursor cursor = reader.cursor();
+            double sum = 0.0;
+            long count = 0;
+            while (cursor.next()) {
+                sum += cursor.getDouble(column);
+                count++;
+            }
+            assertTrue(count > 0);
+            return sum / count;
+        }
+    }
+}
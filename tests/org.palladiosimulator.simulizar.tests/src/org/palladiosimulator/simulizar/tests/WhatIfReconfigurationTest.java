@@ -0,0 +1,301 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.analyzer.workflow.jobs.LoadPCMModelsIntoBlackboardJob;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.monitorrepository.MeasurementSpecification;
+import org.palladiosimulator.monitorrepository.MonitorRepositoryFactory;
+import org.palladiosimulator.monitorrepository.TimeDriven;
+import org.palladiosimulator.simulizar.access.IModelAccess;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.launcher.jobs.LoadSimuLizarModelsIntoBlackboardJob;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.ColumnType;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentCursor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+import org.palladiosimulator.simulizar.reconfiguration.IReconfigurationEngine;
+import org.palladiosimulator.simulizar.reconfigurationrule.ModelTransformation;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.runtimestate.AbstractSimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+import org.palladiosimulator.simulizar.whatif.RuntimeStateFork;
+import org.palladiosimulator.simulizar.whatif.WhatIfCandidate;
+import org.palladiosimulator.simulizar.whatif.WhatIfReconfigurationEngine;
+
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.MDSDBlackboard;
+import de.uka.ipd.sdq.workflow.mdsd.blackboard.ResourceSetPartition;
+
+/**
+ * Runs an overloaded system with a what-if reconfiguration engine choosing between keeping the
+ * configuration and adding a replica to the CPU. The engine has to choose the replica, and the run
+ * has to measure the same as a run adding the replica directly, i.e., the forks must not change the
+ * forked run.
+ */
+public class WhatIfReconfigurationTest {
+
+    private static final long SIMULATION_TIME = 200;
+    private static final long HORIZON = 200;
+    private static final double WINDOW = 50.0;
+
+    private PCMModels models;
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        // the CPU is utilized by 150% unless a replica is added
+        this.models = new PCMModelBuilder().monitors(1).cpuDemand("Exp(0.0015)").interArrivalTime("Exp(1.0)")
+                .build();
+        final MeasurementSpecification utilization = MonitorRepositoryFactory.eINSTANCE
+                .createMeasurementSpecification();
+        utilization.setMetricDescription(MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE);
+        utilization.setTriggersSelfAdaptations(true);
+        final TimeDriven timeDriven = MonitorRepositoryFactory.eINSTANCE.createTimeDriven();
+        timeDriven.setWindowLength(WINDOW);
+        timeDriven.setWindowIncrement(WINDOW);
+        utilization.setProcessingType(timeDriven);
+        this.models.getMonitorRepository().getMonitors().get(0).getMeasurementSpecifications().add(utilization);
+        this.folder = Files.createTempDirectory("simulizar-whatif");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SimulationFixture.delete(this.folder);
+    }
+
+    @Test
+    public void testChoosesReplicaWithoutChangingTheForkedRun() throws IOException {
+        final WhatIfCandidate keep = WhatIfCandidate.noReconfiguration();
+        final WhatIfCandidate addReplica = WhatIfCandidate.addReplica(
+                this.models.getResourceEnvironment().getResourceContainer_ResourceEnvironment().get(0).getId(),
+                PCMModelBuilder.CPU_RESOURCE_TYPE_ID);
+        final SimuLizarRuntimeState whatIf = this.createRuntimeState(this.folder.resolve("what-if"));
+        final WhatIfReconfigurationEngine engine = new WhatIfReconfigurationEngine(whatIf,
+                Arrays.asList(keep, addReplica), WhatIfReconfigurationTest::meanUtilization, HORIZON);
+        engine.setSeed(42);
+        engine.setParallelism(2);
+        // a single round at the end of the first window
+        engine.setReplanningPeriod(2 * SIMULATION_TIME);
+        this.run(whatIf, engine);
+
+        assertEquals(1, engine.getNumberOfEvaluations());
+        assertSame(addReplica, engine.getLastChoice());
+        assertEquals(2, whatIf.getModelAccess().getGlobalPCMModel().getAllocation()
+                .getTargetResourceEnvironment_Allocation().getResourceContainer_ResourceEnvironment().get(0)
+                .getActiveResourceSpecifications_ResourceContainer().get(0).getNumberOfReplicas());
+
+        final SimuLizarRuntimeState direct = this.createRuntimeState(this.folder.resolve("direct"));
+        this.run(direct, new DirectReconfigurationEngine(direct, addReplica));
+
+        final List<File> whatIfSegments = segments(this.folder.resolve("what-if"));
+        final List<File> directSegments = segments(this.folder.resolve("direct"));
+        assertFalse(whatIfSegments.isEmpty());
+        assertEquals(directSegments.size(), whatIfSegments.size());
+        for (int i = 0; i < directSegments.size(); i++) {
+            assertEquals(directSegments.get(i).getName(), whatIfSegments.get(i).getName());
+            assertSameSamples(directSegments.get(i), whatIfSegments.get(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForkRequiresPositiveHorizon() {
+        final SimuLizarRuntimeState runtimeState = this.createRuntimeState(this.folder.resolve("fork"));
+        try {
+            RuntimeStateFork.fork(runtimeState, 0, 42).close();
+        } finally {
+            runtimeState.cleanUp();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelismHasToBePositive() {
+        final SimuLizarRuntimeState runtimeState = this.createRuntimeState(this.folder.resolve("fork"));
+        try {
+            new WhatIfReconfigurationEngine(runtimeState, Arrays.asList(WhatIfCandidate.noReconfiguration()),
+                    WhatIfReconfigurationTest::meanUtilization, HORIZON).setParallelism(0);
+        } finally {
+            runtimeState.cleanUp();
+        }
+    }
+
+    @Test
+    public void testInterruptedRoundClosesForksAfterTheirSimulation() {
+        final SimuLizarRuntimeState runtimeState = this.createRuntimeState(this.folder.resolve("interrupted"));
+        final List<Boolean> openWhenScored = Collections.synchronizedList(new ArrayList<Boolean>());
+        final WhatIfReconfigurationEngine engine = new WhatIfReconfigurationEngine(runtimeState,
+                Arrays.asList(WhatIfCandidate.noReconfiguration(), WhatIfCandidate.noReconfiguration()), fork -> {
+                    try {
+                        // keeps the fork busy after the simulated run has been interrupted
+                        Thread.sleep(500);
+                    } catch (final InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    openWhenScored.add(fork.getRuntimeState() != null);
+                    return 0.0;
+                }, HORIZON);
+        engine.setParallelism(2);
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(engine.runExecute(null, null));
+            assertTrue(Thread.interrupted());
+        } finally {
+            Thread.interrupted();
+            runtimeState.cleanUp();
+        }
+        assertNull(engine.getLastChoice());
+        assertEquals(Arrays.asList(true, true), openWhenScored);
+    }
+
+    @Test
+    public void testForkCopiesAnalyzedModels() {
+        final MDSDBlackboard blackboard = this.models.createBlackboard();
+        final ResourceSetPartition analyzedPartition = this.models.createBlackboard()
+                .getPartition(LoadPCMModelsIntoBlackboardJob.PCM_MODELS_PARTITION_ID);
+        blackboard.addPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID,
+                analyzedPartition);
+        final SimuLizarRuntimeState runtimeState = this.createRuntimeState(this.folder.resolve("fork"), blackboard);
+        try (final RuntimeStateFork fork = RuntimeStateFork.fork(runtimeState, 1, 42)) {
+            fork.simulate(WhatIfCandidate.noReconfiguration());
+            final ResourceSetPartition forkedPartition = fork.getRuntimeState().getModelAccess().getBlackboard()
+                    .getPartition(LoadSimuLizarModelsIntoBlackboardJob.PCM_MODELS_ANALYZED_PARTITION_ID);
+            assertNotSame(analyzedPartition, forkedPartition);
+            assertEquals(uris(analyzedPartition), uris(forkedPartition));
+            for (int i = 0; i < analyzedPartition.getResourceSet().getResources().size(); i++) {
+                assertNotSame(analyzedPartition.getResourceSet().getResources().get(i).getContents().get(0),
+                        forkedPartition.getResourceSet().getResources().get(i).getContents().get(0));
+            }
+        } finally {
+            runtimeState.cleanUp();
+        }
+    }
+
+    private static List<URI> uris(final ResourceSetPartition partition) {
+        return partition.getResourceSet().getResources().stream().map(Resource::getURI)
+                .collect(Collectors.toList());
+    }
+
+    private static double meanUtilization(final RuntimeStateFork fork) {
+        return fork.getSamples().stream()
+                .filter(sample -> MetricDescriptionConstants.UTILIZATION_OF_ACTIVE_RESOURCE_TUPLE.getId()
+                        .equals(sample.getMetricId()))
+                .mapToDouble(RuntimeStateFork.Sample::getValue).average().orElse(Double.POSITIVE_INFINITY);
+    }
+
+    private void run(final SimuLizarRuntimeState runtimeState, final IReconfigurationEngine engine) {
+        runtimeState.getReconfigurator().getReconfigurationEngines().add(engine);
+        try {
+            runtimeState.runSimulation();
+        } finally {
+            runtimeState.cleanUp();
+        }
+    }
+
+    private SimuLizarRuntimeState createRuntimeState(final Path outputDirectory) {
+        return this.createRuntimeState(outputDirectory, this.models.createBlackboard());
+    }
+
+    private SimuLizarRuntimeState createRuntimeState(final Path outputDirectory, final MDSDBlackboard blackboard) {
+        final Map<String, Object> properties = SimulationFixture.createSimulationProperties(SIMULATION_TIME);
+        SimulationFixture.useFixedSeeds(properties, 1);
+        SimulationFixture.useColumnarRecorder(properties, outputDirectory);
+        return new SimuLizarRuntimeState(SimulationFixture.createConfiguration(properties),
+                new ModelAccess(blackboard), new SimulationCancelationDelegate(() -> false));
+    }
+
+    private static List<File> segments(final Path outputDirectory) {
+        final File[] runs = outputDirectory.toFile().listFiles();
+        assertEquals(1, runs.length);
+        final File[] segments = runs[0].listFiles((directory, name) -> name.endsWith(".segment"));
+        Arrays.sort(segments);
+        return new ArrayList<File>(Arrays.asList(segments));
+    }
+
+    private static void assertSameSamples(final File expected, final File actual) throws IOException {
+        try (final SegmentReader expectedReader = new SegmentReader(expected);
+                final SegmentReader actualReader = new SegmentReader(actual)) {
+            assertEquals(expectedReader.getHeader().getColumns(), actualReader.getHeader().getColumns());
+            final SegmentCursor expectedCursor = expectedReader.cursor();
+            final SegmentCursor actualCursor = actualReader.cursor();
+            boolean hasNext = expectedCursor.next();
+            assertEquals(expected.getName(), hasNext, actualCursor.next());
+            while (hasNext) {
+                for (int column = 0; column < expectedReader.getHeader().getColumns().size(); column++) {
+                    if (expectedReader.getHeader().getColumns().get(column).getType() == ColumnType.LONG) {
+                        assertEquals(expectedCursor.getLong(column), actualCursor.getLong(column));
+                    } else {
+                        assertEquals(expectedCursor.getDouble(column), actualCursor.getDouble(column), 0.0);
+                    }
+                }
+                hasNext = expectedCursor.next();
+                assertEquals(expected.getName(), hasNext, actualCursor.next());
+            }
+        }
+    }
+
+    /**
+     * Applies a candidate in the first reconfiguration round, without evaluating it.
+     */
+    private static final class DirectReconfigurationEngine implements IReconfigurationEngine {
+
+        private final AbstractSimuLizarRuntimeState runtimeState;
+        private final WhatIfCandidate candidate;
+        private boolean executed = false;
+
+        private DirectReconfigurationEngine(final AbstractSimuLizarRuntimeState runtimeState,
+                final WhatIfCandidate candidate) {
+            super();
+            this.runtimeState = runtimeState;
+            this.candidate = candidate;
+        }
+
+        @Override
+        public boolean runCheck(final EList<? extends ModelTransformation<? extends Object>> checks,
+                final EObject monitoredElement) {
+            if (this.executed) {
+                return false;
+            }
+            this.executed = true;
+            return this.candidate.apply(this.runtimeState, monitoredElement);
+        }
+
+        @Override
+        public boolean runExecute(final EList<? extends ModelTransformation<? extends Object>> actions,
+                final EObject monitoredElement) {
+            return false;
+        }
+
+        @Override
+        public void setModelAccess(final IModelAccess modelAccess) {
+        }
+
+        @Override
+        public void setConfiguration(final SimuLizarWorkflowConfiguration configuration) {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.palladiosimulator.simulizar.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.palladiosimulator.analyzer.workflow.blackboard.PCMResourceSetPartition;
+import org.palladiosimulator.metricspec.constants.MetricDescriptionConstants;
+import org.palladiosimulator.pcm.usagemodel.OpenWorkload;
+import org.palladiosimulator.simulizar.access.ModelAccess;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModelBuilder;
+import org.palladiosimulator.simulizar.benchmarks.models.PCMModels;
+import org.palladiosimulator.simulizar.benchmarks.models.SimulationFixture;
+import org.palladiosimulator.simulizar.recorder.columnar.ColumnarRecorder;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentCursor;
+import org.palladiosimulator.simulizar.recorder.columnar.segment.SegmentReader;
+import org.palladiosimulator.simulizar.runconfig.SimuLizarWorkflowConfiguration;
+import org.palladiosimulator.simulizar.runtimestate.SimuLizarRuntimeState;
+import org.palladiosimulator.simulizar.runtimestate.SimulationCancelationDelegate;
+import org.palladiosimulator.simulizar.simulationevents.PeriodicallyTriggeredSimulationEntity;
+
+/**
+ * Changes the inter-arrival time of the open workload in the middle of a run. The simulated users
+ * have to arrive at the new rate, while the local PCM copies the interpreter works on stay valid.
+ */
+public class WorkloadChangeTest {
+
+    private static final long SIMULATION_TIME = 200;
+    private static final double CHANGE_TIME = 100.0;
+
+    private PCMModels models;
+    private Path folder;
+
+    @Before
+    public void setUp() throws IOException {
+        // a user arrives every 10 time units, and every time unit after the change
+        this.models = new PCMModelBuilder().monitors(1).cpuDemand("1.0").interArrivalTime("10.0").build();
+        this.folder = Files.createTempDirectory("simulizar-workload");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        SimulationFixture.delete(this.folder);
+    }
+
+    @Test
+    public void testInterpreterSeesChangedInterArrivalTime() throws IOException {
+        final ModelAccess modelAccess = new ModelAccess(this.models.createBlackboard());
+        final SimuLizarRuntimeState runtimeState = new SimuLizarRuntimeState(this.createConfiguration(),
+                modelAccess, new SimulationCancelationDelegate(() -> false));
+        final PCMResourceSetPartition[] localModels = new PCMResourceSetPartition[2];
+        new PeriodicallyTriggeredSimulationEntity(runtimeState.getModel(), CHANGE_TIME, CHANGE_TIME) {
+
+            @Override
+            protected void triggerInternal() {
+                this.removeEvent();
+                localModels[0] = modelAccess.getLocalPCMModel();
+                final OpenWorkload workload = (OpenWorkload) modelAccess.getGlobalPCMModel().getUsageModel()
+                        .getUsageScenario_UsageModel().get(0).getWorkload_UsageScenario();
+                workload.getInterArrivalTime_OpenWorkload().setSpecification("1.0");
+                localModels[1] = modelAccess.getLocalPCMModel();
+            }
+        };
+        try {
+            runtimeState.runSimulation();
+        } finally {
+            runtimeState.cleanUp();
+        }
+
+        assertSame("The workload change must not invalidate the local PCM copy", localModels[0], localModels[1]);
+        assertEquals(0, modelAccess.getNumberOfSnapshots());
+        assertTrue(modelAccess.getNumberOfIgnoredWorkloadChanges() > 0);
+
+        // each job changes the state of the CPU twice; 10 jobs before and 100 after the change
+        final long[] samples = this.countCpuStateSamples();
+        assertTrue("Samples before the change: " + samples[0], samples[0] <= 2 * 10);
+        assertTrue("Samples after the change: " + samples[1], samples[1] >= 2 * 90);
+    }
+
+    /**
+     * @return the number of samples before and after the change.
+     */
+    private long[] countCpuStateSamples() throws IOException {
+        final File[] runs = this.folder.toFile().listFiles();
+        assertEquals(1, runs.length);
+        final File[] segments = runs[0].listFiles((directory, name) -> name.endsWith(".segment"));
+        final long[] result = new long[2];
+        for (final File segment : segments) {
+            try (final SegmentReader reader = new SegmentReader(segment)) {
+                if (!MetricDescriptionConstants.STATE_OF_ACTIVE_RESOURCE_METRIC_TUPLE.getId()
+                        .equals(reader.getHeader().getMetricId())) {
+                    continue;
+                }
+                final int timeColumn = reader.getHeader()
+                        .indexOf(MetricDescriptionConstants.POINT_IN_TIME_METRIC.getId());
+                final double changeTicks = CHANGE_TIME * ColumnarRecorder.getTicksPerSecond(reader.getHeader());
+                final SegmentCursor cursor = reader.cursor();
+                while (cursor.next()) {
+                    result[cursor.getLong(timeColumn) < changeTicks ? 0 : 1]++;
+                }
+            }
+        }
+        return result;
+    }
+
+    private SimuLizarWorkflowConfiguration createConfiguration() {
+        final Map<String, Object> properties = SimulationFixture.createSimulationProperties(SIMULATION_TIME);
+        SimulationFixture.useFixedSeeds(properties, 1);
+        SimulationFixture.useColumnarRecorder(properties, this.folder);
+        return SimulationFixture.createConfiguration(properties);
+    }
+}